@@ -19,6 +19,7 @@ package com.hazelcast.jet.sql.impl;
 import com.hazelcast.function.ComparatorEx;
 import com.hazelcast.function.FunctionEx;
 import com.hazelcast.function.PredicateEx;
+import com.hazelcast.jet.sql.impl.expression.codegen.RowEvaluator;
 import com.hazelcast.jet.sql.impl.opt.FieldCollation;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
@@ -49,6 +50,13 @@ public final class ExpressionUtil {
         };
     }
 
+    public static PredicateEx<Object[]> filterFn(
+            @Nonnull RowEvaluator evaluator,
+            @Nonnull ExpressionEvalContext context
+    ) {
+        return values -> evaluator.test(new HeapRow(values), context);
+    }
+
     public static ComparatorEx<Object[]> comparisonFn(
             @Nonnull List<FieldCollation> fieldCollationList
     ) {
@@ -117,6 +125,13 @@ public final class ExpressionUtil {
         };
     }
 
+    public static FunctionEx<Object[], Object[]> projectionFn(
+            @Nonnull RowEvaluator evaluator,
+            @Nonnull ExpressionEvalContext context
+    ) {
+        return values -> evaluator.project(new HeapRow(values), context);
+    }
+
     /**
      * Concatenates {@code leftRow} and {@code rightRow} into one, evaluates
      * the {@code predicate} on it, and if the predicate passed, returns the
@@ -16,7 +16,8 @@
 
 package com.hazelcast.jet.sql.impl.connector;
 
-import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.jet.sql.impl.expression.codegen.ExpressionCompiler;
+import com.hazelcast.jet.sql.impl.expression.codegen.RowEvaluator;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
 import com.hazelcast.sql.impl.extract.QueryExtractor;
@@ -27,18 +28,15 @@ import com.hazelcast.sql.impl.type.QueryDataType;
 import java.util.List;
 
 import static com.hazelcast.internal.util.Preconditions.checkTrue;
-import static com.hazelcast.jet.sql.impl.ExpressionUtil.evaluate;
 
 public class RowProjector implements Row {
 
     private final QueryTarget target;
     private final QueryExtractor[] extractors;
 
-    private final Expression<Boolean> predicate;
-    private final List<Expression<?>> projection;
+    private final RowEvaluator evaluator;
     private final ExpressionEvalContext evalContext;
 
-    @SuppressWarnings("unchecked")
     public RowProjector(
             String[] paths,
             QueryDataType[] types,
@@ -46,14 +44,22 @@ public class RowProjector implements Row {
             Expression<Boolean> predicate,
             List<Expression<?>> projection,
             ExpressionEvalContext evalContext
+    ) {
+        this(paths, types, target, ExpressionCompiler.interpreted(predicate, projection), evalContext);
+    }
+
+    public RowProjector(
+            String[] paths,
+            QueryDataType[] types,
+            QueryTarget target,
+            RowEvaluator evaluator,
+            ExpressionEvalContext evalContext
     ) {
         checkTrue(paths.length == types.length, "paths.length != types.length");
         this.target = target;
         this.extractors = createExtractors(target, paths, types);
 
-        this.predicate = predicate != null ? predicate
-                : (Expression<Boolean>) ConstantExpression.create(true, QueryDataType.BOOLEAN);
-        this.projection = projection;
+        this.evaluator = evaluator;
         this.evalContext = evalContext;
     }
 
@@ -75,15 +81,7 @@ public class RowProjector implements Row {
     public Object[] project(Object object) {
         target.setTarget(object, null);
 
-        if (!Boolean.TRUE.equals(evaluate(predicate, this, evalContext))) {
-            return null;
-        }
-
-        Object[] row = new Object[projection.size()];
-        for (int i = 0; i < projection.size(); i++) {
-            row[i] = evaluate(projection.get(i), this, evalContext);
-        }
-        return row;
+        return evaluator.evaluate(this, evalContext);
     }
 
     @SuppressWarnings("unchecked")
@@ -20,6 +20,8 @@ import com.hazelcast.function.SupplierEx;
 import com.hazelcast.jet.core.ProcessorSupplier;
 import com.hazelcast.jet.pipeline.ServiceFactory;
 import com.hazelcast.jet.sql.impl.SimpleExpressionEvalContext;
+import com.hazelcast.jet.sql.impl.expression.codegen.ExpressionCompiler;
+import com.hazelcast.jet.sql.impl.expression.codegen.RowEvaluator;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.extract.QueryTarget;
 import com.hazelcast.sql.impl.type.QueryDataType;
@@ -27,7 +29,6 @@ import com.hazelcast.sql.impl.type.QueryDataType;
 import java.util.List;
 
 import static com.hazelcast.jet.core.processor.Processors.mapUsingServiceP;
-import static com.hazelcast.jet.pipeline.ServiceFactories.nonSharedService;
 
 public final class SqlProcessors {
 
@@ -41,8 +42,9 @@ public final class SqlProcessors {
             Expression<Boolean> predicate,
             List<Expression<?>> projection
     ) {
-        ServiceFactory<?, RowProjector> service =
-                nonSharedService(ctx -> new RowProjector(paths, types, targetSupplier.get(), predicate, projection,
+        ServiceFactory<RowEvaluator, RowProjector> service = ServiceFactory
+                .withCreateContextFn(ctx -> ExpressionCompiler.createEvaluator(ctx, predicate, projection))
+                .withCreateServiceFn((ctx, evaluator) -> new RowProjector(paths, types, targetSupplier.get(), evaluator,
                         SimpleExpressionEvalContext.from(ctx)));
         return mapUsingServiceP(service, RowProjector::project);
     }
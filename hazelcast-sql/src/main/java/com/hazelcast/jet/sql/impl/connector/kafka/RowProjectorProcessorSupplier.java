@@ -23,6 +23,7 @@ import com.hazelcast.jet.core.ProcessorSupplier;
 import com.hazelcast.jet.kafka.impl.StreamKafkaP;
 import com.hazelcast.jet.sql.impl.SimpleExpressionEvalContext;
 import com.hazelcast.jet.sql.impl.connector.keyvalue.KvRowProjector;
+import com.hazelcast.jet.sql.impl.expression.codegen.RowEvaluator;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.DataSerializable;
@@ -57,6 +58,7 @@ final class RowProjectorProcessorSupplier implements ProcessorSupplier, DataSeri
     private transient ExpressionEvalContext evalContext;
     private transient EventTimePolicy<Object[]> eventTimePolicy;
     private transient Extractors extractors;
+    private transient RowEvaluator evaluator;
 
     @SuppressWarnings("unused")
     private RowProjectorProcessorSupplier() {
@@ -93,6 +95,7 @@ final class RowProjectorProcessorSupplier implements ProcessorSupplier, DataSeri
                 ? EventTimePolicy.noEventTime()
                 : eventTimePolicyProvider.apply(evalContext);
         extractors = Extractors.newBuilder(evalContext.getSerializationService()).build();
+        evaluator = projectorSupplier.createEvaluator(context);
     }
 
     @Nonnull
@@ -100,7 +103,7 @@ final class RowProjectorProcessorSupplier implements ProcessorSupplier, DataSeri
     public Collection<? extends Processor> get(int count) {
         List<Processor> processors = new ArrayList<>(count);
         for (int i = 0; i < count; i++) {
-            KvRowProjector projector = projectorSupplier.get(evalContext, extractors);
+            KvRowProjector projector = projectorSupplier.get(evalContext, extractors, evaluator);
             Processor processor = new StreamKafkaP<>(
                     properties,
                     singletonList(topic),
@@ -17,11 +17,13 @@
 package com.hazelcast.jet.sql.impl.connector.keyvalue;
 
 import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.sql.impl.expression.codegen.ExpressionCompiler;
+import com.hazelcast.jet.sql.impl.expression.codegen.RowEvaluator;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.DataSerializable;
 import com.hazelcast.query.impl.getters.Extractors;
-import com.hazelcast.sql.impl.expression.ConstantExpression;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
 import com.hazelcast.sql.impl.extract.QueryExtractor;
@@ -35,12 +37,11 @@ import java.io.IOException;
 import java.util.List;
 
 import static com.hazelcast.internal.util.Preconditions.checkTrue;
-import static com.hazelcast.jet.sql.impl.ExpressionUtil.evaluate;
 
 /**
  * A utility to convert a key-value entry to a row represented as
  * {@code Object[]}. As a convenience, it also contains a
- * {@link #predicate} - it is applied before projecting.
+ * predicate - it is applied before projecting.
  * <p>
  * {@link KvProjector} does the reverse.
  */
@@ -50,11 +51,10 @@ public class KvRowProjector implements Row {
     private final QueryTarget valueTarget;
     private final QueryExtractor[] extractors;
 
-    private final Expression<Boolean> predicate;
-    private final List<Expression<?>> projections;
+    private final RowEvaluator evaluator;
+    private final int columnCount;
     private final ExpressionEvalContext evalContext;
 
-    @SuppressWarnings("unchecked")
     KvRowProjector(
             QueryPath[] paths,
             QueryDataType[] types,
@@ -63,15 +63,27 @@ public class KvRowProjector implements Row {
             Expression<Boolean> predicate,
             List<Expression<?>> projections,
             ExpressionEvalContext evalContext
+    ) {
+        this(paths, types, keyTarget, valueTarget, ExpressionCompiler.interpreted(predicate, projections),
+                projections.size(), evalContext);
+    }
+
+    KvRowProjector(
+            QueryPath[] paths,
+            QueryDataType[] types,
+            QueryTarget keyTarget,
+            QueryTarget valueTarget,
+            RowEvaluator evaluator,
+            int columnCount,
+            ExpressionEvalContext evalContext
     ) {
         checkTrue(paths.length == types.length, "paths.length != types.length");
         this.keyTarget = keyTarget;
         this.valueTarget = valueTarget;
         this.extractors = createExtractors(paths, types, keyTarget, valueTarget);
 
-        this.predicate = predicate != null ? predicate
-                : (Expression<Boolean>) ConstantExpression.create(true, QueryDataType.BOOLEAN);
-        this.projections = projections;
+        this.evaluator = evaluator;
+        this.columnCount = columnCount;
         this.evalContext = evalContext;
     }
 
@@ -105,15 +117,7 @@ public class KvRowProjector implements Row {
         keyTarget.setTarget(key, keyData);
         valueTarget.setTarget(value, valueData);
 
-        if (!Boolean.TRUE.equals(evaluate(predicate, this, evalContext))) {
-            return null;
-        }
-
-        Object[] row = new Object[projections.size()];
-        for (int i = 0; i < projections.size(); i++) {
-            row[i] = evaluate(projections.get(i), this, evalContext);
-        }
-        return row;
+        return evaluator.evaluate(this, evalContext);
     }
 
     @Override
@@ -124,7 +128,7 @@ public class KvRowProjector implements Row {
 
     @Override
     public int getColumnCount() {
-        return projections.size();
+        return columnCount;
     }
 
     public static Supplier supplier(
@@ -178,17 +182,33 @@ public class KvRowProjector implements Row {
         }
 
         public KvRowProjector get(ExpressionEvalContext evalContext, Extractors extractors) {
+            return get(evalContext, extractors, ExpressionCompiler.interpreted(predicate, projections));
+        }
+
+        /**
+         * Returns a projector that uses the given evaluator, which must be
+         * created by {@link #createEvaluator}.
+         */
+        public KvRowProjector get(ExpressionEvalContext evalContext, Extractors extractors, RowEvaluator evaluator) {
             return new KvRowProjector(
                     paths,
                     types,
                     keyDescriptor.create(evalContext.getSerializationService(), extractors, true),
                     valueDescriptor.create(evalContext.getSerializationService(), extractors, false),
-                    predicate,
-                    projections,
+                    evaluator,
+                    projections.size(),
                     evalContext
             );
         }
 
+        /**
+         * Creates the evaluator of the predicate and the projections, it can
+         * be shared by all projectors created by the processor supplier.
+         */
+        public RowEvaluator createEvaluator(ProcessorSupplier.Context context) {
+            return ExpressionCompiler.createEvaluator(context, predicate, projections);
+        }
+
         @Override
         public void writeData(ObjectDataOutput out) throws IOException {
             out.writeInt(paths.length);
@@ -22,6 +22,7 @@ import com.hazelcast.jet.core.ResettableSingletonTraverser;
 import com.hazelcast.jet.impl.processor.TransformP;
 import com.hazelcast.jet.sql.impl.SimpleExpressionEvalContext;
 import com.hazelcast.jet.sql.impl.connector.keyvalue.KvRowProjector;
+import com.hazelcast.jet.sql.impl.expression.codegen.RowEvaluator;
 import com.hazelcast.map.impl.LazyMapEntry;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
@@ -45,6 +46,7 @@ public final class RowProjectorProcessorSupplier implements ProcessorSupplier, D
 
     private transient ExpressionEvalContext evalContext;
     private transient Extractors extractors;
+    private transient RowEvaluator evaluator;
 
     @SuppressWarnings("unused")
     private RowProjectorProcessorSupplier() {
@@ -58,6 +60,7 @@ public final class RowProjectorProcessorSupplier implements ProcessorSupplier, D
     public void init(@Nonnull Context context) {
         evalContext = SimpleExpressionEvalContext.from(context);
         extractors = Extractors.newBuilder(evalContext.getSerializationService()).build();
+        evaluator = projectorSupplier.createEvaluator(context);
     }
 
     @Nonnull
@@ -66,7 +69,7 @@ public final class RowProjectorProcessorSupplier implements ProcessorSupplier, D
         List<Processor> processors = new ArrayList<>(count);
         for (int i = 0; i < count; i++) {
             ResettableSingletonTraverser<Object[]> traverser = new ResettableSingletonTraverser<>();
-            KvRowProjector projector = projectorSupplier.get(evalContext, extractors);
+            KvRowProjector projector = projectorSupplier.get(evalContext, extractors, evaluator);
             Processor processor = new TransformP<LazyMapEntry<Object, Object>, Object[]>(entry -> {
                 traverser.accept(projector.project(entry.getKeyData(), entry.getValueData()));
                 return traverser;
@@ -0,0 +1,153 @@
+/*
+ * Copyright 2021 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.expression.codegen;
+
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.SqlErrorCode;
+import com.hazelcast.sql.impl.expression.math.ExpressionMath;
+
+/**
+ * Arithmetic on primitive values called by the code generated by the
+ * {@link ExpressionCompiler}. Each method mirrors the evaluation of the
+ * interpreted function for the given result type, including the errors.
+ */
+@SuppressWarnings("unused")
+public final class CodegenMath {
+
+    private CodegenMath() {
+    }
+
+    public static long plusExact(long left, long right) {
+        try {
+            return Math.addExact(left, right);
+        } catch (ArithmeticException e) {
+            throw QueryException.error(SqlErrorCode.DATA_EXCEPTION,
+                    "BIGINT overflow in '+' operator (consider adding explicit CAST to DECIMAL)");
+        }
+    }
+
+    public static long minusExact(long left, long right) {
+        try {
+            return Math.subtractExact(left, right);
+        } catch (ArithmeticException e) {
+            throw QueryException.error(SqlErrorCode.DATA_EXCEPTION,
+                    "BIGINT overflow in '-' operator (consider adding explicit CAST to DECIMAL)");
+        }
+    }
+
+    public static long multiplyExact(long left, long right) {
+        try {
+            return Math.multiplyExact(left, right);
+        } catch (ArithmeticException e) {
+            throw QueryException.error(SqlErrorCode.DATA_EXCEPTION,
+                    "BIGINT overflow in '*' operator (consider adding explicit CAST to DECIMAL)");
+        }
+    }
+
+    public static long negateExact(long value) {
+        try {
+            return Math.negateExact(value);
+        } catch (ArithmeticException e) {
+            throw QueryException.error(SqlErrorCode.DATA_EXCEPTION,
+                    "BIGINT overflow in unary '-' operator (consider adding explicit CAST to DECIMAL)");
+        }
+    }
+
+    public static byte divideTinyint(byte left, long right) {
+        try {
+            return (byte) (left / right);
+        } catch (ArithmeticException e) {
+            throw divisionByZero(e);
+        }
+    }
+
+    public static short divideSmallint(short left, long right) {
+        try {
+            return (short) (left / right);
+        } catch (ArithmeticException e) {
+            throw divisionByZero(e);
+        }
+    }
+
+    public static int divideInteger(int left, long right) {
+        try {
+            return (int) (left / right);
+        } catch (ArithmeticException e) {
+            throw divisionByZero(e);
+        }
+    }
+
+    public static long divideBigint(long left, long right) {
+        try {
+            return ExpressionMath.divideExact(left, right);
+        } catch (ArithmeticException e) {
+            throw divisionByZero(e);
+        }
+    }
+
+    public static float divideReal(float left, float right) {
+        try {
+            return ExpressionMath.divideExact(left, right);
+        } catch (ArithmeticException e) {
+            throw divisionByZero(e);
+        }
+    }
+
+    public static double divideDouble(double left, double right) {
+        try {
+            return ExpressionMath.divideExact(left, right);
+        } catch (ArithmeticException e) {
+            throw divisionByZero(e);
+        }
+    }
+
+    public static byte remainderTinyint(byte left, byte right) {
+        try {
+            return (byte) (left % right);
+        } catch (ArithmeticException e) {
+            throw divisionByZero(e);
+        }
+    }
+
+    public static short remainderSmallint(short left, short right) {
+        try {
+            return (short) (left % right);
+        } catch (ArithmeticException e) {
+            throw divisionByZero(e);
+        }
+    }
+
+    public static int remainderInteger(int left, int right) {
+        try {
+            return left % right;
+        } catch (ArithmeticException e) {
+            throw divisionByZero(e);
+        }
+    }
+
+    public static long remainderBigint(long left, long right) {
+        try {
+            return left % right;
+        } catch (ArithmeticException e) {
+            throw divisionByZero(e);
+        }
+    }
+
+    private static QueryException divisionByZero(ArithmeticException e) {
+        return QueryException.error(SqlErrorCode.DATA_EXCEPTION, "Division by zero", e);
+    }
+}
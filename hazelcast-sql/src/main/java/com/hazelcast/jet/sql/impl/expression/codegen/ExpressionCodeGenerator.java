@@ -0,0 +1,617 @@
+/*
+ * Copyright 2021 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.expression.codegen;
+
+import com.hazelcast.sql.impl.expression.BiExpression;
+import com.hazelcast.sql.impl.expression.CaseExpression;
+import com.hazelcast.sql.impl.expression.CastExpression;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.UniExpression;
+import com.hazelcast.sql.impl.expression.math.DivideFunction;
+import com.hazelcast.sql.impl.expression.math.MinusFunction;
+import com.hazelcast.sql.impl.expression.math.MultiplyFunction;
+import com.hazelcast.sql.impl.expression.math.PlusFunction;
+import com.hazelcast.sql.impl.expression.math.RemainderFunction;
+import com.hazelcast.sql.impl.expression.math.UnaryMinusFunction;
+import com.hazelcast.sql.impl.expression.predicate.AndPredicate;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsFalsePredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNotFalsePredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNotNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNotTruePredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsTruePredicate;
+import com.hazelcast.sql.impl.expression.predicate.NotPredicate;
+import com.hazelcast.sql.impl.expression.predicate.OrPredicate;
+import com.hazelcast.sql.impl.type.QueryDataType;
+import com.hazelcast.sql.impl.type.QueryDataTypeFamily;
+
+import javax.annotation.Nullable;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Generates the body of a {@link RowEvaluator} subclass for a filter and a
+ * projection.
+ * <p>
+ * Every subexpression is translated to a block of statements that declares
+ * two local variables: a {@code boolean} null flag and the value. The value
+ * has a primitive type for the BOOLEAN and the numeric types other than
+ * DECIMAL, so that intermediate results are never boxed. The operands are
+ * evaluated in the same order as by the interpreter, and an operand is
+ * skipped whenever the interpreter would skip it, so that the errors are
+ * the same.
+ * <p>
+ * The subexpressions that aren't supported by the generator are added to
+ * the {@link RowEvaluator#interpreted} array and the generated code calls
+ * their {@link Expression#eval} method.
+ */
+@SuppressWarnings("checkstyle:methodcount")
+final class ExpressionCodeGenerator {
+
+    private static final String PARAMETERS = "(Row row, ExpressionEvalContext context)";
+    private static final String MATH = CodegenMath.class.getName();
+
+    private final String className;
+    private final List<Expression<?>> interpreted = new ArrayList<>();
+    private final StringBuilder code = new StringBuilder();
+    private int variableCounter;
+
+    ExpressionCodeGenerator(String className) {
+        this.className = className;
+    }
+
+    /**
+     * Generates the class body for the given filter and projection.
+     */
+    String generate(@Nullable Expression<Boolean> predicate, @Nullable List<Expression<?>> projection) {
+        code.append("public ").append(className).append("(Expression[] interpreted) {\n")
+            .append("super(interpreted);\n")
+            .append("}\n\n");
+
+        code.append("public boolean test").append(PARAMETERS).append(" {\n");
+        if (predicate == null) {
+            code.append("return true;\n");
+        } else {
+            Value value = generate(predicate);
+            if (value.kind == Kind.BOOLEAN) {
+                code.append("return !").append(value.isNull).append(" && ").append(value.value).append(";\n");
+            } else {
+                code.append("return Boolean.TRUE.equals(").append(value.value).append(");\n");
+            }
+        }
+        code.append("}\n\n");
+
+        code.append("public Object[] project").append(PARAMETERS).append(" {\n");
+        if (projection == null) {
+            code.append("return null;\n");
+        } else {
+            code.append("Object[] result = new Object[").append(projection.size()).append("];\n");
+            for (int i = 0; i < projection.size(); i++) {
+                code.append("result[").append(i).append("] = project").append(i).append("(row, context);\n");
+            }
+            code.append("return result;\n");
+        }
+        code.append("}\n");
+
+        // each projected field gets its own method to keep the methods small
+        // enough to be inlined and compiled by the JIT
+        for (int i = 0; projection != null && i < projection.size(); i++) {
+            code.append("\nprivate Object project").append(i).append(PARAMETERS).append(" {\n");
+            generateProjection(projection.get(i));
+            code.append("}\n");
+        }
+
+        return code.toString();
+    }
+
+    /**
+     * Returns the subexpressions which the generated code evaluates using
+     * the interpreter, in the order of their indices.
+     */
+    Expression<?>[] interpreted() {
+        return interpreted.toArray(new Expression<?>[0]);
+    }
+
+    private void generateProjection(Expression<?> expression) {
+        if (expression instanceof ColumnExpression && isPrimitive(expression.getType())) {
+            // the value is returned as it is, there's no need to unbox it
+            code.append("return row.get(").append(((ColumnExpression<?>) expression).getIndex()).append(");\n");
+            return;
+        }
+
+        Value value = generate(expression);
+        if (value.kind == Kind.OBJECT) {
+            code.append("return ").append(value.value).append(";\n");
+        } else {
+            code.append("return ").append(value.isNull).append(" ? null : ")
+                .append(value.kind.boxed).append(".valueOf(").append(value.value).append(");\n");
+        }
+    }
+
+    @SuppressWarnings({"checkstyle:CyclomaticComplexity", "checkstyle:NPathComplexity", "checkstyle:ReturnCount"})
+    private Value generate(Expression<?> expression) {
+        Kind kind = Kind.of(expression.getType());
+
+        if (expression instanceof ColumnExpression && kind != Kind.OBJECT) {
+            return generateColumn((ColumnExpression<?>) expression, kind);
+        } else if (expression instanceof ConstantExpression && kind != Kind.OBJECT) {
+            return generateConstant((ConstantExpression<?>) expression, kind);
+        } else if (expression instanceof CastExpression && isWidening(expression)) {
+            return generateCast((CastExpression<?>) expression, kind);
+        } else if (isArithmetic(expression, kind)) {
+            return generateArithmetic(expression, kind);
+        } else if (expression instanceof ComparisonPredicate && isComparisonOfPrimitives((ComparisonPredicate) expression)) {
+            return generateComparison((ComparisonPredicate) expression);
+        } else if (expression instanceof AndPredicate && areBoolean(((AndPredicate) expression).getOperands())) {
+            return generateAndOr(((AndPredicate) expression).getOperands(), false);
+        } else if (expression instanceof OrPredicate && areBoolean(((OrPredicate) expression).getOperands())) {
+            return generateAndOr(((OrPredicate) expression).getOperands(), true);
+        } else if (isBooleanTest(expression)) {
+            return generateBooleanTest((UniExpression<?>) expression);
+        } else if (expression instanceof IsNullPredicate) {
+            return generateNullTest((UniExpression<?>) expression, true);
+        } else if (expression instanceof IsNotNullPredicate) {
+            return generateNullTest((UniExpression<?>) expression, false);
+        } else if (expression instanceof CaseExpression && isUniformlyTyped((CaseExpression<?>) expression)) {
+            return generateCase((CaseExpression<?>) expression, kind);
+        } else {
+            return generateInterpreted(expression, kind);
+        }
+    }
+
+    private Value generateColumn(ColumnExpression<?> expression, Kind kind) {
+        String object = newVariable();
+        code.append("Object ").append(object).append(" = row.get(").append(expression.getIndex()).append(");\n");
+        return unbox(object, kind);
+    }
+
+    private Value generateConstant(ConstantExpression<?> expression, Kind kind) {
+        Value result = declare(kind);
+        Object value = expression.getValue();
+        if (value != null) {
+            code.append(result.isNull).append(" = false;\n")
+                .append(result.value).append(" = ").append(literal(value, kind)).append(";\n");
+        }
+        return result;
+    }
+
+    private Value generateCast(CastExpression<?> expression, Kind kind) {
+        Value operand = generate(expression.getOperand());
+        Value result = declare(kind);
+        code.append("if (!").append(operand.isNull).append(") {\n")
+            .append(result.isNull).append(" = false;\n")
+            .append(result.value).append(" = ").append(convert(operand, kind)).append(";\n")
+            .append("}\n");
+        return result;
+    }
+
+    private Value generateArithmetic(Expression<?> expression, Kind kind) {
+        Value result = declare(kind);
+        code.append("{\n");
+        if (expression instanceof UnaryMinusFunction) {
+            Value operand = generate(((UnaryMinusFunction<?>) expression).getOperand());
+            code.append("if (!").append(operand.isNull).append(") {\n")
+                .append(result.isNull).append(" = false;\n")
+                .append(result.value).append(" = ").append(negate(convert(operand, kind), kind)).append(";\n")
+                .append("}\n");
+        } else {
+            BiExpression<?> binary = (BiExpression<?>) expression;
+            Value left = generate(binary.getOperand1());
+            code.append("if (!").append(left.isNull).append(") {\n");
+            Value right = generate(binary.getOperand2());
+            code.append("if (!").append(right.isNull).append(") {\n")
+                .append(result.isNull).append(" = false;\n")
+                .append(result.value).append(" = ").append(binaryArithmetic(binary, left, right, kind)).append(";\n")
+                .append("}\n")
+                .append("}\n");
+        }
+        code.append("}\n");
+        return result;
+    }
+
+    private Value generateComparison(ComparisonPredicate expression) {
+        Kind operandKind = Kind.of(expression.getOperand1().getType());
+        Value result = declare(Kind.BOOLEAN);
+        code.append("{\n");
+        Value left = generate(expression.getOperand1());
+        code.append("if (!").append(left.isNull).append(") {\n");
+        Value right = generate(expression.getOperand2());
+        code.append("if (!").append(right.isNull).append(") {\n")
+            .append(result.isNull).append(" = false;\n")
+            .append(result.value).append(" = ")
+            .append(comparison(convert(left, operandKind), convert(right, operandKind), operandKind, expression.getMode()))
+            .append(";\n")
+            .append("}\n")
+            .append("}\n")
+            .append("}\n");
+        return result;
+    }
+
+    /**
+     * Generates AND or OR with the short-circuit of {@link
+     * com.hazelcast.sql.impl.expression.predicate.TernaryLogic}: the operands
+     * are evaluated until one of them is FALSE (for AND) or TRUE (for OR).
+     */
+    private Value generateAndOr(Expression<?>[] operands, boolean or) {
+        Value result = declare(Kind.BOOLEAN);
+        String seenUnknown = newVariable();
+        code.append("{\n")
+            .append("boolean ").append(seenUnknown).append(" = false;\n");
+        for (Expression<?> operand : operands) {
+            Value value = generate(operand);
+            code.append("if (!").append(value.isNull).append(" && ").append(or ? "" : "!").append(value.value).append(") {\n")
+                .append(result.isNull).append(" = false;\n")
+                .append(result.value).append(" = ").append(or).append(";\n")
+                .append("} else {\n")
+                .append("if (").append(value.isNull).append(") {\n")
+                .append(seenUnknown).append(" = true;\n")
+                .append("}\n");
+        }
+        code.append("if (!").append(seenUnknown).append(") {\n")
+            .append(result.isNull).append(" = false;\n")
+            .append(result.value).append(" = ").append(!or).append(";\n")
+            .append("}\n");
+        for (int i = 0; i < operands.length; i++) {
+            code.append("}\n");
+        }
+        code.append("}\n");
+        return result;
+    }
+
+    /**
+     * Generates NOT and the IS [NOT] TRUE/FALSE predicates, whose operand is
+     * BOOLEAN.
+     */
+    private Value generateBooleanTest(UniExpression<?> expression) {
+        Value operand = generate(expression.getOperand());
+        Value result = declare(Kind.BOOLEAN);
+        String isNull = operand.isNull;
+        String value = operand.value;
+        String test;
+        if (expression instanceof NotPredicate) {
+            // the only one of them which returns null for a null operand
+            code.append(result.isNull).append(" = ").append(isNull).append(";\n");
+            test = "!" + value;
+        } else {
+            code.append(result.isNull).append(" = false;\n");
+            if (expression instanceof IsTruePredicate) {
+                test = "!" + isNull + " && " + value;
+            } else if (expression instanceof IsFalsePredicate) {
+                test = "!" + isNull + " && !" + value;
+            } else if (expression instanceof IsNotTruePredicate) {
+                test = isNull + " || !" + value;
+            } else {
+                assert expression instanceof IsNotFalsePredicate;
+                test = isNull + " || " + value;
+            }
+        }
+        code.append(result.value).append(" = ").append(test).append(";\n");
+        return result;
+    }
+
+    /**
+     * Generates IS [NOT] NULL, whose operand can be of any type.
+     */
+    private Value generateNullTest(UniExpression<?> expression, boolean isNullPredicate) {
+        Value operand = generate(expression.getOperand());
+        Value result = declare(Kind.BOOLEAN);
+        code.append(result.isNull).append(" = false;\n")
+            .append(result.value).append(" = ").append(isNullPredicate ? "" : "!").append(operand.isNull).append(";\n");
+        return result;
+    }
+
+    private Value generateCase(CaseExpression<?> expression, Kind kind) {
+        Expression<Boolean>[] whenExpressions = expression.getWhenExpressions();
+        Expression<?>[] thenExpressions = expression.getThenExpressions();
+
+        Value result = declare(kind);
+        code.append("{\n");
+        for (int i = 0; i < whenExpressions.length; i++) {
+            Value condition = generate(whenExpressions[i]);
+            code.append("if (!").append(condition.isNull).append(" && ").append(condition.value).append(") {\n");
+            assign(result, generate(thenExpressions[i]));
+            code.append("} else {\n");
+        }
+        assign(result, generate(expression.getElseExpression()));
+        for (int i = 0; i < whenExpressions.length; i++) {
+            code.append("}\n");
+        }
+        code.append("}\n");
+        return result;
+    }
+
+    private Value generateInterpreted(Expression<?> expression, Kind kind) {
+        int index = interpreted.size();
+        interpreted.add(expression);
+
+        String object = newVariable();
+        code.append("Object ").append(object).append(" = interpreted[").append(index).append("].eval(row, context);\n");
+        return unbox(object, kind);
+    }
+
+    private Value unbox(String object, Kind kind) {
+        String variable = newVariable();
+        Value result = new Value("n" + variable, "v" + variable, kind);
+        code.append("boolean ").append(result.isNull).append(" = ").append(object).append(" == null;\n")
+            .append(kind.type).append(' ').append(result.value).append(" = ");
+        if (kind == Kind.OBJECT) {
+            code.append(object);
+        } else {
+            code.append(result.isNull).append(" ? ").append(kind.defaultValue).append(" : ((")
+                .append(kind == Kind.BOOLEAN ? "Boolean" : "Number").append(") ").append(object).append(").")
+                .append(kind.type).append("Value()");
+        }
+        code.append(";\n");
+        return result;
+    }
+
+    private Value declare(Kind kind) {
+        String variable = newVariable();
+        Value result = new Value("n" + variable, "v" + variable, kind);
+        code.append("boolean ").append(result.isNull).append(" = true;\n")
+            .append(kind.type).append(' ').append(result.value).append(" = ").append(kind.defaultValue).append(";\n");
+        return result;
+    }
+
+    private void assign(Value target, Value source) {
+        code.append(target.isNull).append(" = ").append(source.isNull).append(";\n")
+            .append(target.value).append(" = ").append(source.value).append(";\n");
+    }
+
+    private String newVariable() {
+        return "_" + variableCounter++;
+    }
+
+    private static String binaryArithmetic(BiExpression<?> expression, Value left, Value right, Kind kind) {
+        String l = convert(left, kind);
+        String r = convert(right, kind);
+        if (expression instanceof PlusFunction) {
+            return kind == Kind.BIGINT ? MATH + ".plusExact(" + l + ", " + r + ")" : narrow(l + " + " + r, kind);
+        } else if (expression instanceof MinusFunction) {
+            return kind == Kind.BIGINT ? MATH + ".minusExact(" + l + ", " + r + ")" : narrow(l + " - " + r, kind);
+        } else if (expression instanceof MultiplyFunction) {
+            return kind == Kind.BIGINT ? MATH + ".multiplyExact(" + l + ", " + r + ")" : narrow(l + " * " + r, kind);
+        } else if (expression instanceof DivideFunction) {
+            // the integer division widens the divisor to BIGINT, the same way as the interpreter
+            String divisor = kind.isIntegral() ? convert(right, Kind.BIGINT) : r;
+            return MATH + ".divide" + kind.suffix + "(" + l + ", " + divisor + ")";
+        } else {
+            assert expression instanceof RemainderFunction;
+            return MATH + ".remainder" + kind.suffix + "(" + l + ", " + r + ")";
+        }
+    }
+
+    private static String negate(String operand, Kind kind) {
+        return kind == Kind.BIGINT ? MATH + ".negateExact(" + operand + ")" : narrow("-" + operand, kind);
+    }
+
+    private static String narrow(String expression, Kind kind) {
+        // byte and short arithmetic is done on int in Java
+        return kind == Kind.TINYINT || kind == Kind.SMALLINT ? "(" + kind.type + ") (" + expression + ")" : expression;
+    }
+
+    private static String comparison(String left, String right, Kind kind, ComparisonMode mode) {
+        String operator;
+        switch (mode) {
+            case EQUALS:
+                operator = "==";
+                break;
+            case NOT_EQUALS:
+                operator = "!=";
+                break;
+            case GREATER_THAN:
+                operator = ">";
+                break;
+            case GREATER_THAN_OR_EQUAL:
+                operator = ">=";
+                break;
+            case LESS_THAN:
+                operator = "<";
+                break;
+            case LESS_THAN_OR_EQUAL:
+                operator = "<=";
+                break;
+            default:
+                throw new IllegalArgumentException("unexpected comparison mode: " + mode);
+        }
+
+        if (kind.isIntegral()) {
+            return left + " " + operator + " " + right;
+        } else {
+            // Double.compare() and Float.compare() order NaN and -0.0 the same
+            // way as compareTo() used by the interpreter
+            return kind.boxed + ".compare(" + left + ", " + right + ") " + operator + " 0";
+        }
+    }
+
+    private static String convert(Value value, Kind kind) {
+        return value.kind == kind ? value.value : "((" + kind.type + ") " + value.value + ")";
+    }
+
+    private static String literal(Object value, Kind kind) {
+        switch (kind) {
+            case BOOLEAN:
+                return value.toString();
+            case TINYINT:
+            case SMALLINT:
+                return "((" + kind.type + ") 0x" + Integer.toHexString(((Number) value).intValue()) + ")";
+            case INTEGER:
+                return "0x" + Integer.toHexString(((Number) value).intValue());
+            case BIGINT:
+                return "0x" + Long.toHexString(((Number) value).longValue()) + "L";
+            case REAL:
+                return "Float.intBitsToFloat(0x" + Integer.toHexString(Float.floatToRawIntBits(((Number) value).floatValue()))
+                        + ")";
+            case DOUBLE:
+                return "Double.longBitsToDouble(0x"
+                        + Long.toHexString(Double.doubleToRawLongBits(((Number) value).doubleValue())) + "L)";
+            default:
+                throw new IllegalArgumentException("unexpected kind: " + kind);
+        }
+    }
+
+    private static boolean isComparisonOfPrimitives(ComparisonPredicate expression) {
+        return isPrimitive(expression.getOperand1().getType()) && isPrimitive(expression.getOperand2().getType());
+    }
+
+    private static boolean areBoolean(Expression<?>[] expressions) {
+        for (Expression<?> expression : expressions) {
+            if (Kind.of(expression.getType()) != Kind.BOOLEAN) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static boolean isBooleanTest(Expression<?> expression) {
+        boolean booleanTest = expression instanceof NotPredicate || expression instanceof IsTruePredicate
+                || expression instanceof IsFalsePredicate || expression instanceof IsNotTruePredicate
+                || expression instanceof IsNotFalsePredicate;
+        return booleanTest && Kind.of(((UniExpression<?>) expression).getOperand().getType()) == Kind.BOOLEAN;
+    }
+
+    private static boolean isArithmetic(Expression<?> expression, Kind kind) {
+        if (!kind.isNumeric()) {
+            return false;
+        }
+
+        if (expression instanceof UnaryMinusFunction) {
+            return Kind.of(((UnaryMinusFunction<?>) expression).getOperand().getType()).isNumeric();
+        }
+
+        boolean binary = expression instanceof PlusFunction || expression instanceof MinusFunction
+                || expression instanceof MultiplyFunction || expression instanceof DivideFunction;
+        if (expression instanceof RemainderFunction) {
+            // the interpreter doesn't support REAL and DOUBLE remainder
+            binary = kind.isIntegral();
+        }
+        return binary
+                && Kind.of(((BiExpression<?>) expression).getOperand1().getType()).isNumeric()
+                && Kind.of(((BiExpression<?>) expression).getOperand2().getType()).isNumeric();
+    }
+
+    /**
+     * Returns {@code true} for the CASTs that are Java widening primitive
+     * conversions, for which the converters return the same values as the
+     * Java casts.
+     */
+    private static boolean isWidening(Expression<?> expression) {
+        Kind from = Kind.of(((CastExpression<?>) expression).getOperand().getType());
+        Kind to = Kind.of(expression.getType());
+        if (from == Kind.BOOLEAN && to == Kind.BOOLEAN) {
+            return true;
+        }
+        return from.isNumeric() && to.isNumeric() && from.ordinal() <= to.ordinal();
+    }
+
+    /**
+     * Returns {@code true} if all conditions of the CASE are BOOLEAN and all
+     * its branches have the type of its result, otherwise their values would
+     * be converted to the Java type of the result, while the interpreter
+     * returns them as they are.
+     */
+    private static boolean isUniformlyTyped(CaseExpression<?> expression) {
+        if (!areBoolean(expression.getWhenExpressions())) {
+            return false;
+        }
+        Kind kind = Kind.of(expression.getType());
+        for (Expression<?> thenExpression : expression.getThenExpressions()) {
+            if (Kind.of(thenExpression.getType()) != kind) {
+                return false;
+            }
+        }
+        return Kind.of(expression.getElseExpression().getType()) == kind;
+    }
+
+    private static boolean isPrimitive(QueryDataType type) {
+        return Kind.of(type) != Kind.OBJECT;
+    }
+
+    /**
+     * The Java types of the generated variables. The numeric kinds are
+     * declared from the narrowest to the widest.
+     */
+    private enum Kind {
+        BOOLEAN("boolean", "Boolean", "false", null),
+        TINYINT("byte", "Byte", "0", "Tinyint"),
+        SMALLINT("short", "Short", "0", "Smallint"),
+        INTEGER("int", "Integer", "0", "Integer"),
+        BIGINT("long", "Long", "0L", "Bigint"),
+        REAL("float", "Float", "0.0f", "Real"),
+        DOUBLE("double", "Double", "0.0d", "Double"),
+        OBJECT("Object", null, "null", null);
+
+        private final String type;
+        private final String boxed;
+        private final String defaultValue;
+        private final String suffix;
+
+        Kind(String type, String boxed, String defaultValue, String suffix) {
+            this.type = type;
+            this.boxed = boxed;
+            this.defaultValue = defaultValue;
+            this.suffix = suffix;
+        }
+
+        boolean isNumeric() {
+            return this != BOOLEAN && this != OBJECT;
+        }
+
+        boolean isIntegral() {
+            return this == TINYINT || this == SMALLINT || this == INTEGER || this == BIGINT;
+        }
+
+        static Kind of(QueryDataType type) {
+            QueryDataTypeFamily family = type.getTypeFamily();
+            switch (family) {
+                case BOOLEAN:
+                    return BOOLEAN;
+                case TINYINT:
+                    return TINYINT;
+                case SMALLINT:
+                    return SMALLINT;
+                case INTEGER:
+                    return INTEGER;
+                case BIGINT:
+                    return BIGINT;
+                case REAL:
+                    return REAL;
+                case DOUBLE:
+                    return DOUBLE;
+                default:
+                    return OBJECT;
+            }
+        }
+    }
+
+    private static final class Value {
+
+        private final String isNull;
+        private final String value;
+        private final Kind kind;
+
+        private Value(String isNull, String value, Kind kind) {
+            this.isNull = isNull;
+            this.value = value;
+            this.kind = kind;
+        }
+    }
+}
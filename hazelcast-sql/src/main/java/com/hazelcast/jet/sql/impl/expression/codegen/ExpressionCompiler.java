@@ -0,0 +1,136 @@
+/*
+ * Copyright 2021 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.expression.codegen;
+
+import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.row.Row;
+import org.codehaus.commons.compiler.CompileException;
+import org.codehaus.janino.ClassBodyEvaluator;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import static com.hazelcast.jet.impl.util.Util.getNodeEngine;
+
+/**
+ * Creates the {@link RowEvaluator}s for the SQL processors.
+ * <p>
+ * If {@link ClusterProperty#SQL_CODEGEN_ENABLED} is set on the member, the
+ * filter and the projection are compiled into a single class using Janino,
+ * see {@link ExpressionCodeGenerator}. The generated source depends only
+ * on the structure of the expressions and their constants, so the compiled
+ * classes are cached by their source and reused by all the vertices and
+ * jobs with the same filter and projection. The instance is shared by the
+ * processors of a processor supplier.
+ */
+public final class ExpressionCompiler {
+
+    private static final String CLASS_NAME = "GeneratedRowEvaluator";
+    private static final String[] IMPORTS = {
+            Row.class.getName(),
+            ExpressionEvalContext.class.getName(),
+            Expression.class.getName()
+    };
+    private static final int MAX_CACHED_CLASSES = 1024;
+
+    private static final ConcurrentMap<String, Class<?>> COMPILED_CLASSES = new ConcurrentHashMap<>();
+
+    private ExpressionCompiler() {
+    }
+
+    /**
+     * Returns a compiled evaluator for the given filter and projection if
+     * the compilation is enabled on the member, an interpreting one
+     * otherwise.
+     */
+    @Nonnull
+    public static RowEvaluator createEvaluator(
+            @Nonnull ProcessorSupplier.Context context,
+            @Nullable Expression<Boolean> predicate,
+            @Nullable List<Expression<?>> projection
+    ) {
+        if (!getNodeEngine(context.hazelcastInstance()).getProperties().getBoolean(ClusterProperty.SQL_CODEGEN_ENABLED)) {
+            return interpreted(predicate, projection);
+        }
+        return compile(predicate, projection, context.logger());
+    }
+
+    /**
+     * Returns an evaluator that evaluates the expression trees directly.
+     */
+    @Nonnull
+    public static RowEvaluator interpreted(
+            @Nullable Expression<Boolean> predicate,
+            @Nullable List<Expression<?>> projection
+    ) {
+        return new InterpretedRowEvaluator(predicate, projection);
+    }
+
+    /**
+     * Compiles the given filter and projection. Falls back to the
+     * interpreting evaluator if the compilation fails.
+     */
+    @Nonnull
+    static RowEvaluator compile(
+            @Nullable Expression<Boolean> predicate,
+            @Nullable List<Expression<?>> projection,
+            @Nonnull ILogger logger
+    ) {
+        ExpressionCodeGenerator generator = new ExpressionCodeGenerator(CLASS_NAME);
+        String source = generator.generate(predicate, projection);
+        if (logger.isFineEnabled()) {
+            logger.fine("Compiling filter " + predicate + " and projection " + projection + ":\n" + source);
+        }
+
+        try {
+            Class<?> clazz = COMPILED_CLASSES.get(source);
+            if (clazz == null) {
+                clazz = cook(source);
+                if (COMPILED_CLASSES.size() >= MAX_CACHED_CLASSES) {
+                    COMPILED_CLASSES.clear();
+                }
+                Class<?> previous = COMPILED_CLASSES.putIfAbsent(source, clazz);
+                clazz = previous != null ? previous : clazz;
+            }
+
+            return (RowEvaluator) clazz
+                    .getConstructor(Expression[].class)
+                    .newInstance((Object) generator.interpreted());
+        } catch (Exception e) {
+            logger.warning("Failed to compile filter " + predicate + " and projection " + projection
+                    + ", they will be interpreted: " + e, e);
+            return interpreted(predicate, projection);
+        }
+    }
+
+    private static Class<?> cook(String source) throws CompileException {
+        ClassBodyEvaluator evaluator = new ClassBodyEvaluator();
+        evaluator.setClassName(CLASS_NAME);
+        evaluator.setExtendedClass(RowEvaluator.class);
+        evaluator.setDefaultImports(IMPORTS);
+        evaluator.setParentClassLoader(RowEvaluator.class.getClassLoader());
+        evaluator.cook(source);
+        return evaluator.getClazz();
+    }
+}
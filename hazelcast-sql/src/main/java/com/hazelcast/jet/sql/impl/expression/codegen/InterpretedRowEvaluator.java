@@ -0,0 +1,61 @@
+/*
+ * Copyright 2021 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.expression.codegen;
+
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.row.Row;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.util.List;
+
+/**
+ * A {@link RowEvaluator} which evaluates the expression trees directly.
+ */
+final class InterpretedRowEvaluator extends RowEvaluator {
+
+    private static final Expression<?>[] EMPTY = new Expression<?>[0];
+
+    private final Expression<Boolean> predicate;
+    private final List<Expression<?>> projection;
+
+    InterpretedRowEvaluator(@Nullable Expression<Boolean> predicate, @Nullable List<Expression<?>> projection) {
+        super(EMPTY);
+        this.predicate = predicate;
+        this.projection = projection;
+    }
+
+    @Override
+    public boolean test(@Nonnull Row row, @Nonnull ExpressionEvalContext context) {
+        return predicate == null || Boolean.TRUE.equals(predicate.eval(row, context));
+    }
+
+    @Nullable
+    @Override
+    public Object[] project(@Nonnull Row row, @Nonnull ExpressionEvalContext context) {
+        if (projection == null) {
+            return null;
+        }
+
+        Object[] result = new Object[projection.size()];
+        for (int i = 0; i < projection.size(); i++) {
+            result[i] = projection.get(i).eval(row, context);
+        }
+        return result;
+    }
+}
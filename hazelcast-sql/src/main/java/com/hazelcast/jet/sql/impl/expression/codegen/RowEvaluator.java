@@ -0,0 +1,68 @@
+/*
+ * Copyright 2021 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.expression.codegen;
+
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.row.Row;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import javax.annotation.concurrent.ThreadSafe;
+
+/**
+ * Evaluates the filter and the projection of a relation for a single row.
+ * <p>
+ * The instances are either backed by the interpreted expression trees, or
+ * by a class generated by the {@link ExpressionCompiler}. The instances are
+ * stateless, one instance can be shared by all processors of a member.
+ */
+@ThreadSafe
+public abstract class RowEvaluator {
+
+    /**
+     * The subexpressions that are not compiled, the generated code evaluates
+     * them by calling {@link Expression#eval}.
+     */
+    protected final Expression<?>[] interpreted;
+
+    protected RowEvaluator(Expression<?>[] interpreted) {
+        this.interpreted = interpreted;
+    }
+
+    /**
+     * Returns {@code true} if the filter evaluates to {@code TRUE} for the
+     * given row, or if there's no filter.
+     */
+    public abstract boolean test(@Nonnull Row row, @Nonnull ExpressionEvalContext context);
+
+    /**
+     * Evaluates the projection for the given row. Returns {@code null} if
+     * there's no projection.
+     */
+    @Nullable
+    public abstract Object[] project(@Nonnull Row row, @Nonnull ExpressionEvalContext context);
+
+    /**
+     * Evaluates the filter and the projection for the given row. Returns
+     * {@code null} if the row is rejected by the filter.
+     */
+    @Nullable
+    public Object[] evaluate(@Nonnull Row row, @Nonnull ExpressionEvalContext context) {
+        return test(row, context) ? project(row, context) : null;
+    }
+}
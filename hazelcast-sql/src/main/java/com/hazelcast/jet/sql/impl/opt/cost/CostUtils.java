@@ -38,6 +38,12 @@ public final class CostUtils {
     /** CPU multiplier applied to index scan (hash). */
     public static final double INDEX_SCAN_CPU_MULTIPLIER_HASH = 1.1d;
 
+    /** CPU multiplier applied to the rows of the inputs of a merge join. */
+    public static final double MERGE_JOIN_CPU_MULTIPLIER = 1.0d;
+
+    /** CPU multiplier applied to the rows put into the hash table of a hash join. */
+    public static final double HASH_JOIN_BUILD_CPU_MULTIPLIER = 2.0d;
+
     /** Multiplier for the CPU part of the cost. Assumes 1ns per item. */
     public static final double CPU_COST_MULTIPLIER = 1.0d;
 
@@ -33,6 +33,7 @@ import com.hazelcast.jet.core.TimestampKind;
 import com.hazelcast.jet.core.Vertex;
 import com.hazelcast.jet.core.processor.Processors;
 import com.hazelcast.jet.pipeline.ServiceFactories;
+import com.hazelcast.jet.pipeline.ServiceFactory;
 import com.hazelcast.jet.sql.impl.ExpressionUtil;
 import com.hazelcast.jet.sql.impl.JetJoinInfo;
 import com.hazelcast.jet.sql.impl.ObjectArrayKey;
@@ -41,9 +42,11 @@ import com.hazelcast.jet.sql.impl.aggregate.WindowUtils;
 import com.hazelcast.jet.sql.impl.connector.SqlConnector.VertexWithInputConfig;
 import com.hazelcast.jet.sql.impl.connector.SqlConnectorUtil;
 import com.hazelcast.jet.sql.impl.connector.map.IMapSqlConnector;
+import com.hazelcast.jet.sql.impl.expression.codegen.ExpressionCompiler;
 import com.hazelcast.jet.sql.impl.opt.ExpressionValues;
 import com.hazelcast.jet.sql.impl.opt.metadata.WindowProperties;
 import com.hazelcast.jet.sql.impl.processors.SqlHashJoinP;
+import com.hazelcast.jet.sql.impl.processors.SqlMergeJoinP;
 import com.hazelcast.jet.sql.impl.schema.HazelcastTable;
 import com.hazelcast.spi.impl.NodeEngine;
 import com.hazelcast.sql.impl.QueryParameterMetadata;
@@ -182,8 +185,9 @@ public class CreateDagVisitor {
         Expression<Boolean> filter = rel.filter(parameterMetadata);
 
         Vertex vertex = dag.newUniqueVertex("Filter", filterUsingServiceP(
-                ServiceFactories.nonSharedService(ctx ->
-                        ExpressionUtil.filterFn(filter, SimpleExpressionEvalContext.from(ctx))),
+                ServiceFactory.withCreateContextFn(ctx -> ExpressionCompiler.createEvaluator(ctx, filter, null))
+                        .withCreateServiceFn((ctx, evaluator) ->
+                                ExpressionUtil.filterFn(evaluator, SimpleExpressionEvalContext.from(ctx))),
                 (BiPredicateEx<Predicate<Object[]>, Object[]>) Predicate::test));
         connectInputPreserveCollation(rel, vertex);
         return vertex;
@@ -193,8 +197,9 @@ public class CreateDagVisitor {
         List<Expression<?>> projection = rel.projection(parameterMetadata);
 
         Vertex vertex = dag.newUniqueVertex("Project", mapUsingServiceP(
-                ServiceFactories.nonSharedService(ctx ->
-                        ExpressionUtil.projectionFn(projection, SimpleExpressionEvalContext.from(ctx))),
+                ServiceFactory.withCreateContextFn(ctx -> ExpressionCompiler.createEvaluator(ctx, null, projection))
+                        .withCreateServiceFn((ctx, evaluator) ->
+                                ExpressionUtil.projectionFn(evaluator, SimpleExpressionEvalContext.from(ctx))),
                 (BiFunctionEx<Function<Object[], Object[]>, Object[], Object[]>) Function::apply
         ));
         connectInputPreserveCollation(rel, vertex);
@@ -414,6 +419,28 @@ public class CreateDagVisitor {
         return joinVertex;
     }
 
+    public Vertex onMergeJoin(JoinMergePhysicalRel rel) {
+        JetJoinInfo joinInfo = rel.joinInfo(parameterMetadata);
+
+        // Both inputs are single ordered streams on the local member, merge them there
+        Vertex joinVertex = dag.newUniqueVertex(
+                "Merge Join",
+                ProcessorMetaSupplier.forceTotalParallelismOne(
+                        SqlMergeJoinP.supplier(
+                                joinInfo,
+                                rel.descending(),
+                                rel.getRight().getRowType().getFieldCount()
+                        ),
+                        localMemberAddress
+                )
+        );
+        Vertex leftInput = ((PhysicalRel) rel.getLeft()).accept(this);
+        Vertex rightInput = ((PhysicalRel) rel.getRight()).accept(this);
+        dag.edge(between(leftInput, joinVertex).distributeTo(localMemberAddress).allToOne(""));
+        dag.edge(from(rightInput).to(joinVertex, 1).distributeTo(localMemberAddress).allToOne(""));
+        return joinVertex;
+    }
+
     public Vertex onUnion(UnionPhysicalRel rel) {
         // Union[all=false] rel should be never be produced, and it is always replaced by
         // UNION_TO_DISTINCT rule : Union[all=false] -> Union[all=true] + Aggregate.
@@ -18,14 +18,18 @@ package com.hazelcast.jet.sql.impl.opt.physical;
 
 import com.hazelcast.jet.core.Vertex;
 import com.hazelcast.jet.sql.impl.JetJoinInfo;
+import com.hazelcast.jet.sql.impl.opt.cost.CostUtils;
 import com.hazelcast.sql.impl.QueryParameterMetadata;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.plan.node.PlanNodeSchema;
 import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
 import org.apache.calcite.plan.RelTraitSet;
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.core.Join;
 import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
 import org.apache.calcite.rex.RexNode;
 
 import static java.util.Collections.emptyList;
@@ -71,6 +75,14 @@ public class JoinHashPhysicalRel extends Join implements PhysicalRel {
         return visitor.onHashJoin(this);
     }
 
+    @Override
+    public RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
+        // the right rows are put into a hash table, the left rows probe it
+        double cpu = mq.getRowCount(getLeft())
+                + mq.getRowCount(getRight()) * CostUtils.HASH_JOIN_BUILD_CPU_MULTIPLIER;
+        return planner.getCostFactory().makeCost(mq.getRowCount(this), cpu, 0);
+    }
+
     @Override
     public Join copy(
             RelTraitSet traitSet,
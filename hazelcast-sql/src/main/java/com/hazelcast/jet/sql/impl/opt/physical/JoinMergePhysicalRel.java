@@ -0,0 +1,188 @@
+/*
+ * Copyright 2021 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.opt.physical;
+
+import com.hazelcast.config.IndexType;
+import com.hazelcast.jet.core.Vertex;
+import com.hazelcast.jet.sql.impl.JetJoinInfo;
+import com.hazelcast.jet.sql.impl.opt.cost.CostUtils;
+import com.hazelcast.sql.impl.QueryParameterMetadata;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.plan.node.PlanNodeSchema;
+import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
+import org.apache.calcite.plan.RelTraitSet;
+import org.apache.calcite.rel.RelCollationTraitDef;
+import org.apache.calcite.rel.RelFieldCollation;
+import org.apache.calcite.rel.RelNode;
+import org.apache.calcite.rel.core.Join;
+import org.apache.calcite.rel.core.JoinInfo;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
+import org.apache.calcite.rex.RexNode;
+
+import java.util.List;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptySet;
+
+/**
+ * Join of two inputs sorted on the equi-join keys. The inputs are merged as
+ * they arrive, so only the rows of the current join key and the rows one
+ * input is ahead of the other are kept in memory.
+ * <p>
+ * The inputs must be single ordered streams, that is a {@link
+ * SortPhysicalRel} or a scan of a sorted index, both collated on all the
+ * equi-join keys, in the same order and direction.
+ */
+public class JoinMergePhysicalRel extends Join implements PhysicalRel {
+
+    JoinMergePhysicalRel(
+            RelOptCluster cluster,
+            RelTraitSet traitSet,
+            RelNode left,
+            RelNode right,
+            RexNode condition,
+            JoinRelType joinType
+    ) {
+        super(cluster, traitSet, emptyList(), left, right, condition, emptySet(), joinType);
+    }
+
+    /**
+     * Returns the join info with the equi-join keys in the order of the
+     * collation of the inputs.
+     */
+    public JetJoinInfo joinInfo(QueryParameterMetadata parameterMetadata) {
+        int[] keyOrder = keyOrder(getLeft(), getRight(), analyzeCondition());
+        assert keyOrder != null;
+        int[] leftKeys = analyzeCondition().leftKeys.toIntArray();
+        int[] rightKeys = analyzeCondition().rightKeys.toIntArray();
+        int[] leftMergeKeys = new int[keyOrder.length];
+        int[] rightMergeKeys = new int[keyOrder.length];
+        for (int i = 0; i < keyOrder.length; i++) {
+            leftMergeKeys[i] = leftKeys[keyOrder[i]];
+            rightMergeKeys[i] = rightKeys[keyOrder[i]];
+        }
+
+        Expression<Boolean> nonEquiCondition = filter(
+                schema(parameterMetadata),
+                analyzeCondition().getRemaining(getCluster().getRexBuilder()),
+                parameterMetadata
+        );
+
+        Expression<Boolean> condition = filter(schema(parameterMetadata), getCondition(), parameterMetadata);
+
+        return new JetJoinInfo(getJoinType(), leftMergeKeys, rightMergeKeys, nonEquiCondition, condition);
+    }
+
+    /**
+     * Returns for each equi-join key in the order of the {@link #joinInfo}
+     * keys whether the inputs are sorted in the descending order.
+     */
+    public boolean[] descending() {
+        List<RelFieldCollation> collations = collations(getLeft());
+        boolean[] descending = new boolean[analyzeCondition().leftKeys.size()];
+        for (int i = 0; i < descending.length; i++) {
+            descending[i] = collations.get(i).getDirection().isDescending();
+        }
+        return descending;
+    }
+
+    @Override
+    public PlanNodeSchema schema(QueryParameterMetadata parameterMetadata) {
+        PlanNodeSchema leftSchema = ((PhysicalRel) getLeft()).schema(parameterMetadata);
+        PlanNodeSchema rightSchema = ((PhysicalRel) getRight()).schema(parameterMetadata);
+        return PlanNodeSchema.combine(leftSchema, rightSchema);
+    }
+
+    @Override
+    public Vertex accept(CreateDagVisitor visitor) {
+        return visitor.onMergeJoin(this);
+    }
+
+    @Override
+    public RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
+        // both inputs are read just once and nothing is built
+        double cpu = (mq.getRowCount(getLeft()) + mq.getRowCount(getRight())) * CostUtils.MERGE_JOIN_CPU_MULTIPLIER;
+        return planner.getCostFactory().makeCost(mq.getRowCount(this), cpu, 0);
+    }
+
+    @Override
+    public Join copy(
+            RelTraitSet traitSet,
+            RexNode conditionExpr,
+            RelNode left,
+            RelNode right,
+            JoinRelType joinType,
+            boolean semiJoinDone
+    ) {
+        return new JoinMergePhysicalRel(getCluster(), traitSet, left, right, conditionExpr, joinType);
+    }
+
+    /**
+     * Returns the positions of the equi-join key pairs in the order of the
+     * collation of the inputs or {@code null}, if the inputs can't be merged.
+     */
+    static int[] keyOrder(RelNode left, RelNode right, JoinInfo joinInfo) {
+        int keyCount = joinInfo.leftKeys.size();
+        if (keyCount == 0 || !isOrderedStream(left) || !isOrderedStream(right)) {
+            return null;
+        }
+        List<RelFieldCollation> leftCollations = collations(left);
+        List<RelFieldCollation> rightCollations = collations(right);
+        if (leftCollations.size() < keyCount || rightCollations.size() < keyCount) {
+            return null;
+        }
+
+        int[] keyOrder = new int[keyCount];
+        boolean[] ordered = new boolean[keyCount];
+        for (int i = 0; i < keyCount; i++) {
+            RelFieldCollation leftCollation = leftCollations.get(i);
+            RelFieldCollation rightCollation = rightCollations.get(i);
+            if (leftCollation.getDirection() != rightCollation.getDirection()) {
+                return null;
+            }
+            int key = joinInfo.leftKeys.indexOf(leftCollation.getFieldIndex());
+            if (key < 0 || ordered[key] || joinInfo.rightKeys.get(key) != rightCollation.getFieldIndex()) {
+                return null;
+            }
+            // the values are compared directly, so the types must be the same
+            if (left.getRowType().getFieldList().get(leftCollation.getFieldIndex()).getType().getSqlTypeName()
+                    != right.getRowType().getFieldList().get(rightCollation.getFieldIndex()).getType().getSqlTypeName()) {
+                return null;
+            }
+            keyOrder[i] = key;
+            ordered[key] = true;
+        }
+        return keyOrder;
+    }
+
+    private static boolean isOrderedStream(RelNode rel) {
+        if (rel instanceof SortPhysicalRel) {
+            SortPhysicalRel sort = (SortPhysicalRel) rel;
+            // offset and fetch are applied only by the root
+            return sort.offset == null && sort.fetch == null;
+        }
+        return rel instanceof IndexScanMapPhysicalRel
+                && ((IndexScanMapPhysicalRel) rel).getIndex().getType() == IndexType.SORTED;
+    }
+
+    private static List<RelFieldCollation> collations(RelNode rel) {
+        return rel.getTraitSet().getTrait(RelCollationTraitDef.INSTANCE).getFieldCollations();
+    }
+}
@@ -22,11 +22,17 @@ import com.hazelcast.sql.impl.QueryParameterMetadata;
 import com.hazelcast.jet.sql.impl.schema.HazelcastTable;
 import com.hazelcast.sql.impl.expression.Expression;
 import com.hazelcast.sql.impl.plan.node.PlanNodeSchema;
+import com.hazelcast.sql.impl.schema.Table;
+import com.hazelcast.sql.impl.schema.TableField;
+import com.hazelcast.sql.impl.schema.map.MapTableField;
 import org.apache.calcite.plan.RelOptCluster;
+import org.apache.calcite.plan.RelOptCost;
+import org.apache.calcite.plan.RelOptPlanner;
 import org.apache.calcite.plan.RelTraitSet;
 import org.apache.calcite.rel.RelNode;
 import org.apache.calcite.rel.core.Join;
 import org.apache.calcite.rel.core.JoinRelType;
+import org.apache.calcite.rel.metadata.RelMetadataQuery;
 import org.apache.calcite.rex.RexNode;
 
 import java.util.Arrays;
@@ -83,6 +89,15 @@ public class JoinNestedLoopPhysicalRel extends Join implements PhysicalRel {
         return visitor.onNestedLoopJoin(this);
     }
 
+    @Override
+    public RelOptCost computeSelfCost(RelOptPlanner planner, RelMetadataQuery mq) {
+        // every left row either looks the right row up by the key, or queries
+        // the whole right table
+        double rightRowsPerLeftRow = isRightKeyLookup() ? 1 : getRight().getTable().getRowCount();
+        double cpu = mq.getRowCount(getLeft()) * rightRowsPerLeftRow;
+        return planner.getCostFactory().makeCost(mq.getRowCount(this), cpu, 0);
+    }
+
     @Override
     public Join copy(
             RelTraitSet traitSet,
@@ -95,6 +110,19 @@ public class JoinNestedLoopPhysicalRel extends Join implements PhysicalRel {
         return new JoinNestedLoopPhysicalRel(getCluster(), traitSet, left, right, getCondition(), joinType);
     }
 
+    private boolean isRightKeyLookup() {
+        Table table = getRight().getTable().unwrap(HazelcastTable.class).getTarget();
+        for (int key : getKeysFromRightScan()) {
+            TableField field = table.getField(key);
+            if (field instanceof MapTableField
+                    && ((MapTableField) field).getPath().isTop()
+                    && ((MapTableField) field).getPath().isKey()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     private int[] getKeysFromRightScan() {
         HazelcastTable table = getRight().getTable().unwrap(HazelcastTable.class);
         List<Integer> projects = table.getProjects();
@@ -52,6 +52,7 @@ public final class PhysicalRules {
                 // Join rules
                 JoinNestedLoopPhysicalRule.INSTANCE,
                 JoinHashPhysicalRule.INSTANCE,
+                JoinMergePhysicalRule.INSTANCE,
 
                 // Union rules
                 UnionPhysicalRule.INSTANCE,
@@ -0,0 +1,330 @@
+/*
+ * Copyright 2021 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.processors;
+
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.Traversers;
+import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.core.Watermark;
+import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+import com.hazelcast.jet.sql.impl.ExpressionUtil;
+import com.hazelcast.jet.sql.impl.JetJoinInfo;
+import com.hazelcast.jet.sql.impl.SimpleExpressionEvalContext;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.DataSerializable;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.List;
+
+import static com.hazelcast.jet.impl.util.Util.extendArray;
+
+/**
+ * Joins two inputs sorted on the equi-join keys, the left one on ordinal 0
+ * and the right one on ordinal 1.
+ * <p>
+ * The rows are queued as they arrive and merged as soon as the rows of both
+ * inputs are known: a left row is emitted once all the right rows with its key
+ * have been received. Therefore only the right rows with the current key and
+ * the rows one input is ahead of the other are kept in memory, their count is
+ * limited by the max processor accumulated records.
+ * <p>
+ * The keys are compared the way the inputs are sorted, see {@link
+ * ExpressionUtil#comparisonFn}. A row with a {@code null} key doesn't match
+ * any row.
+ */
+public class SqlMergeJoinP extends AbstractProcessor {
+
+    private final JetJoinInfo joinInfo;
+    private final boolean[] descending;
+    private final int rightInputColumnCount;
+
+    private final Deque<Object[]> leftRows = new ArrayDeque<>();
+    private final Deque<Object[]> rightRows = new ArrayDeque<>();
+    private final List<Object[]> rightGroup = new ArrayList<>();
+    private final Traverser<Object[]> resultTraverser = new MergeTraverser();
+
+    private ExpressionEvalContext evalContext;
+    private long maxQueuedRows;
+    private boolean itemQueued;
+    private boolean leftDone;
+    private boolean rightDone;
+    private boolean rightGroupComplete = true;
+
+    public SqlMergeJoinP(JetJoinInfo joinInfo, boolean[] descending, int rightInputColumnCount) {
+        this.joinInfo = joinInfo;
+        this.descending = descending;
+        this.rightInputColumnCount = rightInputColumnCount;
+    }
+
+    @Override
+    protected void init(@Nonnull Context context) throws Exception {
+        evalContext = SimpleExpressionEvalContext.from(context);
+        maxQueuedRows = context.maxProcessorAccumulatedRecords();
+    }
+
+    @Override
+    protected boolean tryProcess0(@Nonnull Object item) {
+        if (!itemQueued) {
+            queue(leftRows, (Object[]) item);
+        }
+        return emitResults();
+    }
+
+    @Override
+    protected boolean tryProcess1(@Nonnull Object item) {
+        if (!itemQueued) {
+            Object[] rightRow = (Object[]) item;
+            // a right row with a null key never matches
+            if (!hasNullKey(rightRow, joinInfo.rightEquiJoinIndices())) {
+                queue(rightRows, rightRow);
+            }
+        }
+        return emitResults();
+    }
+
+    @Override
+    public boolean tryProcessWatermark(@Nonnull Watermark watermark) {
+        return true;
+    }
+
+    @Override
+    public boolean completeEdge(int ordinal) {
+        if (ordinal == 0) {
+            leftDone = true;
+        } else {
+            rightDone = true;
+        }
+        return emitFromTraverser(resultTraverser);
+    }
+
+    @Override
+    public boolean complete() {
+        leftDone = true;
+        rightDone = true;
+        return emitFromTraverser(resultTraverser);
+    }
+
+    private void queue(Deque<Object[]> rows, Object[] row) {
+        if (leftRows.size() + rightRows.size() + rightGroup.size() == maxQueuedRows) {
+            throw new AccumulationLimitExceededException();
+        }
+        rows.add(row);
+        itemQueued = true;
+    }
+
+    private boolean emitResults() {
+        if (!emitFromTraverser(resultTraverser)) {
+            return false;
+        }
+        itemQueued = false;
+        return true;
+    }
+
+    private int compare(Object[] leftRow, Object[] rightRow) {
+        int[] leftIndices = joinInfo.leftEquiJoinIndices();
+        int[] rightIndices = joinInfo.rightEquiJoinIndices();
+        for (int i = 0; i < leftIndices.length; i++) {
+            @SuppressWarnings("unchecked")
+            Comparable<Object> leftValue = (Comparable<Object>) leftRow[leftIndices[i]];
+            Object rightValue = rightRow[rightIndices[i]];
+            int result = leftValue.compareTo(rightValue);
+            if (result != 0) {
+                return descending[i] ? -result : result;
+            }
+        }
+        return 0;
+    }
+
+    private Object[] unmatched(Object[] leftRow) {
+        return joinInfo.isLeftOuter() ? extendArray(leftRow, rightInputColumnCount) : null;
+    }
+
+    private static boolean hasNullKey(Object[] row, int[] keyIndices) {
+        for (int index : keyIndices) {
+            if (row[index] == null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Emits the joined rows which can be determined from the queued rows,
+     * returns {@code null} when more rows are needed.
+     */
+    private final class MergeTraverser implements Traverser<Object[]> {
+
+        private Traverser<Object[]> matches = Traversers.empty();
+
+        @Override
+        public Object[] next() {
+            for (Object[] result; ; ) {
+                if ((result = matches.next()) != null) {
+                    return result;
+                }
+                if (!rightGroupComplete && !collectRightGroup()) {
+                    return null;
+                }
+
+                Object[] leftRow = leftRows.peek();
+                if (leftRow == null) {
+                    if (leftDone) {
+                        // nothing will be joined to the remaining right rows
+                        rightRows.clear();
+                        rightGroup.clear();
+                    }
+                    return null;
+                }
+                if (hasNullKey(leftRow, joinInfo.leftEquiJoinIndices())) {
+                    leftRows.poll();
+                    result = unmatched(leftRow);
+                } else if (!rightGroup.isEmpty()) {
+                    int comparison = compare(leftRow, rightGroup.get(0));
+                    if (comparison == 0) {
+                        leftRows.poll();
+                        matches = join(leftRow);
+                    } else if (comparison < 0) {
+                        leftRows.poll();
+                        result = unmatched(leftRow);
+                    } else {
+                        rightGroup.clear();
+                    }
+                } else {
+                    Object[] rightRow = rightRows.peek();
+                    if (rightRow == null) {
+                        if (!rightDone) {
+                            return null;
+                        }
+                        leftRows.poll();
+                        result = unmatched(leftRow);
+                    } else {
+                        int comparison = compare(leftRow, rightRow);
+                        if (comparison < 0) {
+                            leftRows.poll();
+                            result = unmatched(leftRow);
+                        } else if (comparison > 0) {
+                            rightRows.poll();
+                        } else {
+                            rightGroup.add(rightRows.poll());
+                            rightGroupComplete = false;
+                        }
+                    }
+                }
+                if (result != null) {
+                    return result;
+                }
+            }
+        }
+
+        /**
+         * Moves the right rows with the key of the current group to the group.
+         *
+         * @return {@code true} if all the right rows with the key are in the
+         * group
+         */
+        private boolean collectRightGroup() {
+            Object[] groupRow = rightGroup.get(0);
+            for (Object[] rightRow; (rightRow = rightRows.peek()) != null; ) {
+                if (compareKeys(groupRow, rightRow, joinInfo.rightEquiJoinIndices()) != 0) {
+                    rightGroupComplete = true;
+                    return true;
+                }
+                rightGroup.add(rightRows.poll());
+            }
+            rightGroupComplete = rightDone;
+            return rightGroupComplete;
+        }
+
+        private Traverser<Object[]> join(Object[] leftRow) {
+            List<Object[]> output = new ArrayList<>();
+            for (Object[] rightRow : rightGroup) {
+                Object[] joined = ExpressionUtil.join(leftRow, rightRow, joinInfo.nonEquiCondition(), evalContext);
+                if (joined != null) {
+                    output.add(joined);
+                }
+            }
+            if (output.isEmpty() && joinInfo.isLeftOuter()) {
+                return Traversers.singleton(extendArray(leftRow, rightInputColumnCount));
+            }
+            return Traversers.traverseIterable(output);
+        }
+    }
+
+    private static int compareKeys(Object[] row1, Object[] row2, int[] keyIndices) {
+        for (int index : keyIndices) {
+            @SuppressWarnings("unchecked")
+            int result = ((Comparable<Object>) row1[index]).compareTo(row2[index]);
+            if (result != 0) {
+                return result;
+            }
+        }
+        return 0;
+    }
+
+    public static ProcessorSupplier supplier(JetJoinInfo joinInfo, boolean[] descending, int rightInputColumnCount) {
+        return new MergeJoinProcessorSupplier(joinInfo, descending, rightInputColumnCount);
+    }
+
+    private static final class MergeJoinProcessorSupplier implements ProcessorSupplier, DataSerializable {
+        private JetJoinInfo joinInfo;
+        private boolean[] descending;
+        private int rightInputColumnCount;
+
+        @SuppressWarnings("unused") // for deserialization
+        private MergeJoinProcessorSupplier() {
+        }
+
+        private MergeJoinProcessorSupplier(JetJoinInfo joinInfo, boolean[] descending, int rightInputColumnCount) {
+            this.joinInfo = joinInfo;
+            this.descending = descending;
+            this.rightInputColumnCount = rightInputColumnCount;
+        }
+
+        @Nonnull
+        @Override
+        public Collection<? extends Processor> get(int count) {
+            List<SqlMergeJoinP> processors = new ArrayList<>(count);
+            for (int i = 0; i < count; i++) {
+                processors.add(new SqlMergeJoinP(joinInfo, descending, rightInputColumnCount));
+            }
+            return processors;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) throws IOException {
+            out.writeObject(joinInfo);
+            out.writeBooleanArray(descending);
+            out.writeInt(rightInputColumnCount);
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) throws IOException {
+            joinInfo = in.readObject();
+            descending = in.readBooleanArray();
+            rightInputColumnCount = in.readInt();
+        }
+    }
+}
@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql;
+
+import com.hazelcast.config.IndexType;
+import com.hazelcast.map.IMap;
+import com.hazelcast.sql.SqlResult;
+import com.hazelcast.sql.SqlRow;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static java.util.Arrays.asList;
+import static org.assertj.core.api.Assertions.assertThat;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class SqlMergeJoinTest extends SqlTestSupport {
+
+    @BeforeClass
+    public static void setUpClass() {
+        initialize(2, null);
+    }
+
+    @Test
+    public void test_innerJoinOfSortedIndexScans() {
+        String left = randomName();
+        String right = randomName();
+        createSortedMap(left, 1, 10, 2, 20, 3, 20, 4, 30, 5, 50);
+        createSortedMap(right, 11, 20, 12, 20, 13, 30, 14, 40, 15, 50, 16, 50);
+
+        String sql = "SELECT l.__key, r.__key, l.this FROM " + left + " l JOIN " + right + " r ON l.this = r.this";
+
+        assertMergeJoinPlanned(sql);
+        assertRowsAnyOrder(sql, asList(
+                new Row(2, 11, 20),
+                new Row(2, 12, 20),
+                new Row(3, 11, 20),
+                new Row(3, 12, 20),
+                new Row(4, 13, 30),
+                new Row(5, 15, 50),
+                new Row(5, 16, 50)
+        ));
+    }
+
+    @Test
+    public void test_leftJoinOfSortedIndexScans() {
+        String left = randomName();
+        String right = randomName();
+        createSortedMap(left, 1, 10, 2, 20, 3, 20, 4, 30);
+        createSortedMap(right, 11, 20, 12, 20, 13, 40);
+
+        String sql = "SELECT l.__key, r.__key, l.this FROM " + left + " l LEFT JOIN " + right + " r ON l.this = r.this";
+
+        assertMergeJoinPlanned(sql);
+        assertRowsAnyOrder(sql, asList(
+                new Row(1, null, 10),
+                new Row(2, 11, 20),
+                new Row(2, 12, 20),
+                new Row(3, 11, 20),
+                new Row(3, 12, 20),
+                new Row(4, null, 30)
+        ));
+    }
+
+    private static void createSortedMap(String name, int... keysAndValues) {
+        createMapping(name, Integer.class, Integer.class);
+        IMap<Integer, Integer> map = instance().getMap(name);
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            map.put(keysAndValues[i], keysAndValues[i + 1]);
+        }
+        map.addIndex(IndexType.SORTED, "this");
+    }
+
+    private static void assertMergeJoinPlanned(String sql) {
+        List<String> plan = new ArrayList<>();
+        try (SqlResult result = instance().getSql().execute("EXPLAIN " + sql)) {
+            for (SqlRow row : result) {
+                plan.add(row.getObject(0));
+            }
+        }
+        assertThat(plan).anyMatch(rel -> rel.trim().startsWith("JoinMergePhysicalRel"));
+        assertThat(plan).filteredOn(rel -> rel.contains("IndexScanMapPhysicalRel")).hasSize(2);
+    }
+}
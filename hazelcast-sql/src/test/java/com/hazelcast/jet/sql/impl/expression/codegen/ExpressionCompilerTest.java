@@ -0,0 +1,184 @@
+/*
+ * Copyright 2021 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.expression.codegen;
+
+import com.hazelcast.logging.Logger;
+import com.hazelcast.sql.impl.QueryException;
+import com.hazelcast.sql.impl.expression.CaseExpression;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.ExpressionEvalContext;
+import com.hazelcast.sql.impl.expression.FunctionalPredicateExpression;
+import com.hazelcast.sql.impl.expression.math.DivideFunction;
+import com.hazelcast.sql.impl.expression.math.MultiplyFunction;
+import com.hazelcast.sql.impl.expression.math.PlusFunction;
+import com.hazelcast.sql.impl.expression.predicate.AndPredicate;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import com.hazelcast.sql.impl.expression.predicate.IsNullPredicate;
+import com.hazelcast.sql.impl.expression.predicate.OrPredicate;
+import com.hazelcast.sql.impl.row.HeapRow;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.List;
+
+import static com.hazelcast.sql.impl.type.QueryDataType.BIGINT;
+import static com.hazelcast.sql.impl.type.QueryDataType.BOOLEAN;
+import static com.hazelcast.sql.impl.type.QueryDataType.DOUBLE;
+import static com.hazelcast.sql.impl.type.QueryDataType.INT;
+import static com.hazelcast.sql.impl.type.QueryDataType.VARCHAR;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ExpressionCompilerTest {
+
+    private final ExpressionEvalContext context = mock(ExpressionEvalContext.class);
+
+    @Test
+    public void test_arithmeticProjection() {
+        List<Expression<?>> projection = asList(
+                PlusFunction.create(ColumnExpression.create(0, INT), ConstantExpression.create(1, INT), INT),
+                MultiplyFunction.create(ColumnExpression.create(1, BIGINT), ConstantExpression.create(2L, BIGINT), BIGINT),
+                DivideFunction.create(ColumnExpression.create(2, DOUBLE), ConstantExpression.create(4d, DOUBLE), DOUBLE)
+        );
+
+        RowEvaluator evaluator = compile(null, projection);
+
+        assertThat(evaluator.project(row(1, 2L, 2d), context)).containsExactly(2, 4L, 0.5d);
+        assertThat(evaluator.project(row(null, null, null), context)).containsExactly(null, null, null);
+        assertSameAsInterpreted(null, projection, row(1, 2L, 2d), row(null, 3L, null));
+    }
+
+    @Test
+    public void test_arithmeticErrors() {
+        RowEvaluator overflow = compile(null, singletonList(
+                PlusFunction.create(ColumnExpression.create(0, BIGINT), ConstantExpression.create(1L, BIGINT), BIGINT)
+        ));
+        RowEvaluator divisionByZero = compile(null, singletonList(
+                DivideFunction.create(ColumnExpression.create(0, INT), ConstantExpression.create(0, INT), INT)
+        ));
+
+        assertThatThrownBy(() -> overflow.project(row(Long.MAX_VALUE), context))
+                .isInstanceOf(QueryException.class)
+                .hasMessageContaining("BIGINT overflow");
+        assertThatThrownBy(() -> divisionByZero.project(row(1), context))
+                .isInstanceOf(QueryException.class)
+                .hasMessageContaining("Division by zero");
+    }
+
+    @Test
+    public void test_sameExpressionsCompiledOnce() {
+        List<Expression<?>> projection = singletonList(
+                PlusFunction.create(ColumnExpression.create(0, INT), ConstantExpression.create(3, INT), INT));
+        List<Expression<?>> sameProjection = singletonList(
+                PlusFunction.create(ColumnExpression.create(0, INT), ConstantExpression.create(3, INT), INT));
+        List<Expression<?>> otherProjection = singletonList(
+                PlusFunction.create(ColumnExpression.create(0, INT), ConstantExpression.create(4, INT), INT));
+
+        RowEvaluator evaluator = compile(null, projection);
+        RowEvaluator sameEvaluator = compile(null, sameProjection);
+        RowEvaluator otherEvaluator = compile(null, otherProjection);
+
+        assertThat(sameEvaluator).isNotSameAs(evaluator);
+        assertThat(sameEvaluator.getClass()).isSameAs(evaluator.getClass());
+        assertThat(otherEvaluator.getClass()).isNotSameAs(evaluator.getClass());
+        assertThat(otherEvaluator.project(row(1), context)).containsExactly(5);
+    }
+
+    @Test
+    public void test_ternaryLogicFilter() {
+        Expression<Boolean> predicate = OrPredicate.create(
+                AndPredicate.create(
+                        ComparisonPredicate.create(ColumnExpression.create(0, INT), ConstantExpression.create(10, INT),
+                                ComparisonMode.GREATER_THAN),
+                        ColumnExpression.create(1, BOOLEAN)
+                ),
+                IsNullPredicate.create(ColumnExpression.create(0, INT))
+        );
+
+        RowEvaluator evaluator = compile(predicate, null);
+
+        assertThat(evaluator.test(row(11, true), context)).isTrue();
+        assertThat(evaluator.test(row(11, null), context)).isFalse();
+        assertThat(evaluator.test(row(9, null), context)).isFalse();
+        assertThat(evaluator.test(row(null, false), context)).isTrue();
+        assertThat(evaluator.project(row(11, true), context)).isNull();
+        assertSameAsInterpreted(predicate, null, row(11, true), row(11, null), row(9, null), row(null, false));
+    }
+
+    @Test
+    public void test_case() {
+        CaseExpression<Integer> projection = CaseExpression.create(new Expression<?>[]{
+                ComparisonPredicate.create(ColumnExpression.create(0, DOUBLE), ConstantExpression.create(0d, DOUBLE),
+                        ComparisonMode.LESS_THAN),
+                ConstantExpression.create(-1, INT),
+                ComparisonPredicate.create(ColumnExpression.create(0, DOUBLE), ConstantExpression.create(0d, DOUBLE),
+                        ComparisonMode.GREATER_THAN),
+                ConstantExpression.create(1, INT),
+                ConstantExpression.create(0, INT)
+        });
+
+        assertSameAsInterpreted(null, singletonList(projection),
+                row(-2d), row(3d), row(0d), row(-0d), row(Double.NaN), row((Object) null));
+    }
+
+    @Test
+    public void test_unsupportedExpressionsAreInterpreted() {
+        Expression<Boolean> predicate = AndPredicate.create(
+                new FunctionalPredicateExpression(row -> !"b".equals(row.get(1))),
+                ComparisonPredicate.create(ColumnExpression.create(0, INT), ConstantExpression.create(0, INT),
+                        ComparisonMode.NOT_EQUALS)
+        );
+        List<Expression<?>> projection = asList(ColumnExpression.create(1, VARCHAR), ColumnExpression.create(0, INT));
+
+        RowEvaluator evaluator = compile(predicate, projection);
+
+        assertThat(evaluator.evaluate(row(1, "a"), context)).containsExactly("a", 1);
+        assertThat(evaluator.evaluate(row(1, "b"), context)).isNull();
+        assertThat(evaluator.evaluate(row(0, "a"), context)).isNull();
+    }
+
+    private static RowEvaluator compile(Expression<Boolean> predicate, List<Expression<?>> projection) {
+        RowEvaluator evaluator = ExpressionCompiler.compile(predicate, projection, Logger.getLogger(ExpressionCompilerTest.class));
+        assertThat(evaluator).isNotInstanceOf(InterpretedRowEvaluator.class);
+        return evaluator;
+    }
+
+    private void assertSameAsInterpreted(Expression<Boolean> predicate, List<Expression<?>> projection, HeapRow... rows) {
+        RowEvaluator compiled = compile(predicate, projection);
+        RowEvaluator interpreted = ExpressionCompiler.interpreted(predicate, projection);
+        for (HeapRow row : rows) {
+            assertThat(compiled.test(row, context)).isEqualTo(interpreted.test(row, context));
+            assertThat(compiled.project(row, context)).isEqualTo(interpreted.project(row, context));
+        }
+    }
+
+    private static HeapRow row(Object... values) {
+        return new HeapRow(values);
+    }
+}
@@ -17,13 +17,16 @@
 package com.hazelcast.jet.sql.impl.opt.physical;
 
 import com.hazelcast.jet.sql.impl.opt.OptimizerTestSupport;
+import com.hazelcast.config.IndexType;
 import com.hazelcast.jet.sql.impl.schema.HazelcastTable;
+import com.hazelcast.sql.impl.schema.map.MapTableIndex;
 import org.junit.Test;
 
 import static com.hazelcast.sql.impl.extract.QueryPath.KEY;
 import static com.hazelcast.sql.impl.extract.QueryPath.VALUE;
 import static com.hazelcast.sql.impl.type.QueryDataType.INT;
 import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
 
 public class PhysicalJoinTest extends OptimizerTestSupport {
 
@@ -61,4 +64,30 @@ public class PhysicalJoinTest extends OptimizerTestSupport {
                 )
         );
     }
+
+    @Test
+    public void when_bothInputsAreSortedOnJoinKey_then_useMergeJoin() {
+        HazelcastTable tableLeft = partitionedTable(
+                "l",
+                asList(field(KEY, INT), field(VALUE, INT)),
+                singletonList(new MapTableIndex("l_idx", IndexType.SORTED, 1, singletonList(1), singletonList(INT))),
+                1000
+        );
+        HazelcastTable tableRight = partitionedTable(
+                "r",
+                asList(field(KEY, INT), field(VALUE, INT)),
+                singletonList(new MapTableIndex("r_idx", IndexType.SORTED, 1, singletonList(1), singletonList(INT))),
+                1000
+        );
+
+        String query = "SELECT * FROM l JOIN r ON l.this = r.this";
+        assertPlan(
+                optimizePhysical(query, asList(INT, INT, INT, INT), tableLeft, tableRight).getPhysical(),
+                plan(
+                        planRow(0, JoinMergePhysicalRel.class),
+                        planRow(1, IndexScanMapPhysicalRel.class),
+                        planRow(1, IndexScanMapPhysicalRel.class)
+                )
+        );
+    }
 }
@@ -0,0 +1,189 @@
+/*
+ * Copyright 2021 Hazelcast Inc.
+ *
+ * Licensed under the Hazelcast Community License (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://hazelcast.com/hazelcast-community-license
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.sql.impl.processors;
+
+import com.hazelcast.jet.config.JobConfig;
+import com.hazelcast.jet.core.ProcessorSupplier;
+import com.hazelcast.jet.core.test.TestSupport;
+import com.hazelcast.jet.sql.SqlTestSupport;
+import com.hazelcast.jet.sql.impl.JetJoinInfo;
+import com.hazelcast.sql.impl.expression.ColumnExpression;
+import com.hazelcast.sql.impl.expression.ConstantExpression;
+import com.hazelcast.sql.impl.expression.Expression;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonMode;
+import com.hazelcast.sql.impl.expression.predicate.ComparisonPredicate;
+import org.apache.calcite.rel.core.JoinRelType;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.util.List;
+
+import static com.hazelcast.jet.TestContextSupport.adaptSupplier;
+import static com.hazelcast.jet.sql.impl.SimpleExpressionEvalContext.SQL_ARGUMENTS_KEY_NAME;
+import static com.hazelcast.sql.impl.type.QueryDataType.BOOLEAN;
+import static com.hazelcast.sql.impl.type.QueryDataType.VARCHAR;
+import static java.util.Arrays.asList;
+import static java.util.Collections.emptyList;
+import static org.apache.calcite.rel.core.JoinRelType.INNER;
+import static org.apache.calcite.rel.core.JoinRelType.LEFT;
+
+public class SqlMergeJoinPTest extends SqlTestSupport {
+
+    private static final Expression<Boolean> TRUE_PREDICATE =
+            (Expression<Boolean>) ConstantExpression.create(true, BOOLEAN);
+
+    private static final Expression<Boolean> LEFT_LT_RIGHT =
+            ComparisonPredicate.create(
+                    ColumnExpression.create(1, VARCHAR),
+                    ColumnExpression.create(3, VARCHAR),
+                    ComparisonMode.LESS_THAN
+            );
+
+    @BeforeClass
+    public static void beforeClass() {
+        initialize(2, null);
+    }
+
+    @Test
+    public void test_innerJoin() {
+        runTest(INNER, TRUE_PREDICATE, false,
+                asList(
+                        new Object[]{1, "left-1"},
+                        new Object[]{2, "left-2a"},
+                        new Object[]{2, "left-2b"},
+                        new Object[]{4, "left-4"},
+                        new Object[]{5, "left-5"}
+                ),
+                asList(
+                        new Object[]{2, "right-2a"},
+                        new Object[]{2, "right-2b"},
+                        new Object[]{3, "right-3"},
+                        new Object[]{5, "right-5"},
+                        new Object[]{6, "right-6"}
+                ),
+                asList(
+                        new Object[]{2, "left-2a", 2, "right-2a"},
+                        new Object[]{2, "left-2a", 2, "right-2b"},
+                        new Object[]{2, "left-2b", 2, "right-2a"},
+                        new Object[]{2, "left-2b", 2, "right-2b"},
+                        new Object[]{5, "left-5", 5, "right-5"}
+                )
+        );
+    }
+
+    @Test
+    public void test_innerJoinDescending() {
+        runTest(INNER, TRUE_PREDICATE, true,
+                asList(
+                        new Object[]{5, "left-5"},
+                        new Object[]{3, "left-3"},
+                        new Object[]{1, "left-1"}
+                ),
+                asList(
+                        new Object[]{4, "right-4"},
+                        new Object[]{3, "right-3"},
+                        new Object[]{1, "right-1"}
+                ),
+                asList(
+                        new Object[]{3, "left-3", 3, "right-3"},
+                        new Object[]{1, "left-1", 1, "right-1"}
+                )
+        );
+    }
+
+    @Test
+    public void test_innerJoinWithNonEquiCondition() {
+        runTest(INNER, LEFT_LT_RIGHT, false,
+                asList(
+                        new Object[]{1, "b"},
+                        new Object[]{2, "b"}
+                ),
+                asList(
+                        new Object[]{1, "a"},
+                        new Object[]{1, "c"},
+                        new Object[]{2, "a"}
+                ),
+                asList(
+                        new Object[]{1, "b", 1, "c"}
+                )
+        );
+    }
+
+    @Test
+    public void test_leftJoin() {
+        runTest(LEFT, TRUE_PREDICATE, false,
+                asList(
+                        new Object[]{null, "left-null"},
+                        new Object[]{1, "left-1"},
+                        new Object[]{2, "left-2"},
+                        new Object[]{3, "left-3"}
+                ),
+                asList(
+                        new Object[]{null, "right-null"},
+                        new Object[]{2, "right-2"}
+                ),
+                asList(
+                        new Object[]{null, "left-null", null, null},
+                        new Object[]{1, "left-1", null, null},
+                        new Object[]{2, "left-2", 2, "right-2"},
+                        new Object[]{3, "left-3", null, null}
+                )
+        );
+    }
+
+    @Test
+    public void test_leftJoinWithNonEquiCondition() {
+        runTest(LEFT, LEFT_LT_RIGHT, false,
+                asList(
+                        new Object[]{1, "b"},
+                        new Object[]{2, "b"}
+                ),
+                asList(
+                        new Object[]{1, "a"},
+                        new Object[]{2, "a"}
+                ),
+                asList(
+                        new Object[]{1, "b", null, null},
+                        new Object[]{2, "b", null, null}
+                )
+        );
+    }
+
+    private void runTest(
+            JoinRelType joinType,
+            Expression<Boolean> nonEquiCondition,
+            boolean descending,
+            List<Object[]> leftInput,
+            List<Object[]> rightInput,
+            List<Object[]> output
+    ) {
+        ProcessorSupplier processor = SqlMergeJoinP.supplier(
+                new JetJoinInfo(joinType, new int[]{0}, new int[]{0}, nonEquiCondition, null),
+                new boolean[]{descending},
+                2
+        );
+
+        TestSupport
+                .verifyProcessor(adaptSupplier(processor))
+                .jobConfig(new JobConfig().setArgument(SQL_ARGUMENTS_KEY_NAME, emptyList()))
+                .inputs(asList(leftInput, rightInput))
+                .hazelcastInstance(instance())
+                .outputChecker(SqlTestSupport::compareRowLists)
+                .disableSnapshots()
+                .expectOutput(output);
+    }
+}
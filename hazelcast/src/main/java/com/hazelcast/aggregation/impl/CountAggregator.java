@@ -20,11 +20,14 @@ import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.query.impl.columnar.Column;
+import com.hazelcast.query.impl.columnar.ColumnarAggregator;
 
 import java.io.IOException;
 import java.util.Objects;
 
-public final class CountAggregator<I> extends AbstractAggregator<I, Object, Long> implements IdentifiedDataSerializable {
+public final class CountAggregator<I> extends AbstractAggregator<I, Object, Long>
+        implements IdentifiedDataSerializable, ColumnarAggregator {
     private long count;
 
     public CountAggregator() {
@@ -40,6 +43,16 @@ public final class CountAggregator<I> extends AbstractAggregator<I, Object, Long
         count++;
     }
 
+    @Override
+    public boolean canAccumulate(Column column) {
+        return attributePath == null || column != null;
+    }
+
+    @Override
+    public void accumulate(Column column, int from, int size, long[] selection) {
+        count += Column.countSelected(size, selection);
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         CountAggregator countAggregator = (CountAggregator) aggregator;
@@ -19,14 +19,17 @@ package com.hazelcast.aggregation.impl;
 import com.hazelcast.aggregation.Aggregator;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.FieldKind;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.query.impl.Numbers;
+import com.hazelcast.query.impl.columnar.Column;
+import com.hazelcast.query.impl.columnar.ColumnarAggregator;
 
 import java.io.IOException;
 import java.util.Objects;
 
 public final class DoubleAverageAggregator<I> extends AbstractAggregator<I, Number, Double>
-        implements IdentifiedDataSerializable {
+        implements IdentifiedDataSerializable, ColumnarAggregator {
 
     private double sum;
 
@@ -46,6 +49,17 @@ public final class DoubleAverageAggregator<I> extends AbstractAggregator<I, Numb
         sum += Numbers.asDoubleExactly(value);
     }
 
+    @Override
+    public boolean canAccumulate(Column column) {
+        return column != null && (column.isFloatingPoint() || column.isIntegral() && column.getKind() != FieldKind.LONG);
+    }
+
+    @Override
+    public void accumulate(Column column, int from, int size, long[] selection) {
+        count += Column.countSelected(size, selection);
+        sum = column.sumDoubles(from, size, selection, sum);
+    }
+
     @Override
     public void combine(Aggregator aggregator) {
         DoubleAverageAggregator doubleAverageAggregator = (DoubleAverageAggregator) aggregator;
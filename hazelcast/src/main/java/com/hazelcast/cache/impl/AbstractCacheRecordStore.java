@@ -27,6 +27,7 @@ import com.hazelcast.config.CacheConfig;
 import com.hazelcast.config.Config;
 import com.hazelcast.config.EventJournalConfig;
 import com.hazelcast.config.EvictionConfig;
+import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.MaxSizePolicy;
 import com.hazelcast.config.WanConsumerConfig;
@@ -40,6 +41,7 @@ import com.hazelcast.internal.eviction.EvictionChecker;
 import com.hazelcast.internal.eviction.EvictionListener;
 import com.hazelcast.internal.eviction.EvictionPolicyEvaluatorProvider;
 import com.hazelcast.internal.eviction.ExpiredKey;
+import com.hazelcast.internal.eviction.impl.comparator.TinyLFUEvictionPolicyComparator;
 import com.hazelcast.internal.eviction.impl.evaluator.EvictionPolicyEvaluator;
 import com.hazelcast.internal.eviction.impl.strategy.sampling.SamplingEvictionStrategy;
 import com.hazelcast.internal.iteration.IterationPointer;
@@ -134,6 +136,7 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
     protected final ClearExpiredRecordsTask clearExpiredRecordsTask;
     protected final SamplingEvictionStrategy<Data, R, CRM> evictionStrategy;
     protected final EvictionPolicyEvaluator<Data, R> evictionPolicyEvaluator;
+    protected final TinyLFUEvictionPolicyComparator accessFrequencyComparator;
     protected final Map<CacheEventType, Set<CacheEventData>> batchEvent = new HashMap<CacheEventType, Set<CacheEventData>>();
     protected final CompositeCacheRSMutationObserver compositeCacheRSMutationObserver;
 
@@ -175,6 +178,8 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
         EvictionPolicyComparator evictionPolicyComparator = createEvictionPolicyComparator(evictionConfig);
         evictionPolicyComparator = injectDependencies(evictionPolicyComparator);
         this.evictionPolicyEvaluator = new EvictionPolicyEvaluator<>(evictionPolicyComparator);
+        this.accessFrequencyComparator = evictionPolicyComparator instanceof TinyLFUEvictionPolicyComparator
+                ? (TinyLFUEvictionPolicyComparator) evictionPolicyComparator : null;
         this.cacheContext = cacheService.getOrCreateCacheContext(cacheNameWithPrefix);
         this.records = createRecordCacheMap();
         this.evictionChecker = createCacheEvictionChecker(evictionConfig.getSize(), evictionConfig.getMaxSizePolicy());
@@ -371,6 +376,11 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
     protected EvictionPolicyComparator createEvictionPolicyComparator(EvictionConfig evictionConfig) {
         checkCacheEvictionConfig(evictionConfig);
 
+        if (evictionConfig.getEvictionPolicy() == EvictionPolicy.TINY_LFU
+                && evictionConfig.getComparator() == null && evictionConfig.getComparatorClassName() == null) {
+            // the sketch tracks the keys of a single partition
+            return new TinyLFUEvictionPolicyComparator(Math.max(1, evictionConfig.getSize() / partitionCount));
+        }
         return EvictionPolicyEvaluatorProvider.getEvictionPolicyComparator(evictionConfig, nodeEngine.getConfigClassLoader());
     }
 
@@ -396,9 +406,11 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
             return false;
         }
 
+        long start = System.nanoTime();
         boolean evicted = evictionStrategy.evict(records, evictionPolicyEvaluator, evictionChecker, this);
         if (isStatisticsEnabled() && evicted && primary) {
             statistics.increaseCacheEvictions(1);
+            statistics.addEvictionTimeNanos(System.nanoTime() - start);
         }
         return evicted;
     }
@@ -623,11 +635,18 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
     }
 
     protected long onRecordAccess(Data key, R record, ExpiryPolicy expiryPolicy, long now) {
+        recordAccessFrequency(key);
         record.setLastAccessTime(now);
         record.incrementHits();
         return updateAccessDuration(key, record, expiryPolicy, now);
     }
 
+    private void recordAccessFrequency(Data key) {
+        if (accessFrequencyComparator != null) {
+            accessFrequencyComparator.recordAccess(key);
+        }
+    }
+
     protected void updateReplaceStat(boolean result, boolean isHit, long startNanos) {
         if (isStatisticsEnabled()) {
             if (result) {
@@ -705,6 +724,7 @@ public abstract class AbstractCacheRecordStore<R extends CacheRecord, CRM extend
 
     protected R createRecord(Data key, Object value, long expiryTime, long now,
                              boolean disableWriteThrough, int completionId, UUID origin) {
+        recordAccessFrequency(key);
         R record = createRecord(value, now, expiryTime);
         try {
             doPutRecord(key, record, origin, true);
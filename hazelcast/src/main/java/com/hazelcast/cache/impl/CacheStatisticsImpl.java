@@ -59,6 +59,8 @@ public class CacheStatisticsImpl
             AtomicLongFieldUpdater.newUpdater(CacheStatisticsImpl.class, "getCacheTimeTakenNanos");
     protected static final AtomicLongFieldUpdater<CacheStatisticsImpl> REMOVE_TIME_TAKEN_NANOS =
             AtomicLongFieldUpdater.newUpdater(CacheStatisticsImpl.class, "removeTimeTakenNanos");
+    protected static final AtomicLongFieldUpdater<CacheStatisticsImpl> EVICTION_TIME_TAKEN_NANOS =
+            AtomicLongFieldUpdater.newUpdater(CacheStatisticsImpl.class, "evictionTimeTakenNanos");
 
     /**
      * This field is not mutated (read only) so no need to define it as volatile.
@@ -76,6 +78,7 @@ public class CacheStatisticsImpl
     protected volatile long putTimeTakenNanos;
     protected volatile long getCacheTimeTakenNanos;
     protected volatile long removeTimeTakenNanos;
+    protected volatile long evictionTimeTakenNanos;
 
     protected final CacheEntryCountResolver cacheEntryCountResolver;
 
@@ -155,6 +158,10 @@ public class CacheStatisticsImpl
         return evictions;
     }
 
+    public long getCacheEvictionTimeTakenNanos() {
+        return evictionTimeTakenNanos;
+    }
+
     public long getCachePutTimeTakenNanos() {
         return putTimeTakenNanos;
     }
@@ -240,6 +247,7 @@ public class CacheStatisticsImpl
         getCacheTimeTakenNanos = 0;
         putTimeTakenNanos = 0;
         removeTimeTakenNanos = 0;
+        evictionTimeTakenNanos = 0;
     }
 
     /**
@@ -368,6 +376,15 @@ public class CacheStatisticsImpl
         setLastUpdateTime(System.currentTimeMillis());
     }
 
+    /**
+     * Increments the eviction time accumulator.
+     *
+     * @param duration the time taken in nanoseconds.
+     */
+    public void addEvictionTimeNanos(long duration) {
+        EVICTION_TIME_TAKEN_NANOS.addAndGet(this, duration);
+    }
+
     /**
      * Increments the getCache time accumulator.
      *
@@ -455,6 +472,7 @@ public class CacheStatisticsImpl
                 + ", putTimeTakenNanos=" + putTimeTakenNanos
                 + ", getCacheTimeTakenNanos=" + getCacheTimeTakenNanos
                 + ", removeTimeTakenNanos=" + removeTimeTakenNanos
+                + ", evictionTimeTakenNanos=" + evictionTimeTakenNanos
                 + ", replicationStats=" + replicationStats
                 + '}';
     }
@@ -118,6 +118,11 @@ public class TcpClientConnection implements ClientConnection {
         return false;
     }
 
+    @Override
+    public boolean isWritable() {
+        return channel.isWritable();
+    }
+
     @Override
     public void setRemoteAddress(Address remoteAddress) {
         this.remoteAddress = remoteAddress;
@@ -107,6 +107,8 @@ import static com.hazelcast.client.impl.protocol.AuthenticationStatus.NOT_ALLOWE
 import static com.hazelcast.client.properties.ClientProperty.IO_BALANCER_INTERVAL_SECONDS;
 import static com.hazelcast.client.properties.ClientProperty.IO_INPUT_THREAD_COUNT;
 import static com.hazelcast.client.properties.ClientProperty.IO_OUTPUT_THREAD_COUNT;
+import static com.hazelcast.client.properties.ClientProperty.IO_WRITE_QUEUE_HIGH_WATERMARK;
+import static com.hazelcast.client.properties.ClientProperty.IO_WRITE_QUEUE_LOW_WATERMARK;
 import static com.hazelcast.client.properties.ClientProperty.IO_WRITE_THROUGH_ENABLED;
 import static com.hazelcast.client.properties.ClientProperty.SHUFFLE_MEMBER_LIST;
 import static com.hazelcast.core.LifecycleEvent.LifecycleState.CLIENT_CHANGED_CLUSTER;
@@ -286,6 +288,8 @@ public class TcpClientConnectionManager implements ClientConnectionManager {
                         .outputThreadAffinity(newSystemThreadAffinity("hazelcast.client.io.output.thread.affinity"))
                         .balancerIntervalSeconds(properties.getInteger(IO_BALANCER_INTERVAL_SECONDS))
                         .writeThroughEnabled(properties.getBoolean(IO_WRITE_THROUGH_ENABLED))
+                        .writeQueueHighWatermark(properties.getLong(IO_WRITE_QUEUE_HIGH_WATERMARK))
+                        .writeQueueLowWatermark(properties.getLong(IO_WRITE_QUEUE_LOW_WATERMARK))
                         .concurrencyDetection(client.getConcurrencyDetection())
         );
     }
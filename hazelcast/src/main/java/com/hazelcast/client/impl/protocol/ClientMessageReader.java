@@ -26,9 +26,22 @@ import java.nio.ByteBuffer;
 import static com.hazelcast.client.impl.protocol.ClientMessage.IS_FINAL_FLAG;
 import static com.hazelcast.client.impl.protocol.ClientMessage.SIZE_OF_FRAME_LENGTH_AND_FLAGS;
 
+/**
+ * Reads the frames of a {@link ClientMessage} from byte chunks.
+ * <p>
+ * The reader can be {@link #reset() reset} and reused for the next message
+ * once the message read is complete. The frames with no content, e.g. the
+ * begin, end and null frames share an empty byte array.
+ * <p>
+ * Every other frame gets a byte array of its own rather than a view over a
+ * pooled buffer. The codecs access {@code frame.content} at offsets from
+ * zero, and a message is handed over to other threads with no point at
+ * which it could be released back to a pool.
+ */
 public final class ClientMessageReader {
 
     private static final int INT_MASK = 0xffff;
+    private static final byte[] EMPTY_CONTENT = new byte[0];
     private int readOffset = -1;
     private ClientMessage clientMessage;
     private int sumUntrustedMessageLength;
@@ -56,9 +69,15 @@ public final class ClientMessageReader {
         return clientMessage;
     }
 
+    /**
+     * Prepares the reader to read the next message. The message read so far
+     * is not touched, it's still owned by whoever got it with {@link
+     * #getClientMessage()}.
+     */
     public void reset() {
         readOffset = -1;
         clientMessage = null;
+        sumUntrustedMessageLength = 0;
     }
 
     private boolean readFrame(ByteBuffer src, boolean trusted) {
@@ -92,7 +111,7 @@ public final class ClientMessageReader {
             src.position(src.position() + Bits.SHORT_SIZE_IN_BYTES);
 
             int size = frameLength - SIZE_OF_FRAME_LENGTH_AND_FLAGS;
-            byte[] bytes = new byte[size];
+            byte[] bytes = size == 0 ? EMPTY_CONTENT : new byte[size];
             ClientMessage.Frame frame = new ClientMessage.Frame(bytes, flags);
             if (clientMessage == null) {
                 clientMessage = ClientMessage.createForDecode(frame);
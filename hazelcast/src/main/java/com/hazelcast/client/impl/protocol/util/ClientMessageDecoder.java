@@ -49,10 +49,9 @@ public class ClientMessageDecoder extends InboundHandlerWithCounters<ByteBuffer,
 
     private final Connection connection;
     private final Long2ObjectHashMap<ClientMessage> builderBySessionIdMap = new Long2ObjectHashMap<>();
-    private ClientMessageReader activeReader;
+    private final ClientMessageReader activeReader;
 
     private boolean clientIsTrusted;
-    private final int maxMessageLength;
     private final ClientEndpointManager clientEndpointManager;
 
     public ClientMessageDecoder(Connection connection, Consumer<ClientMessage> dst, HazelcastProperties properties) {
@@ -61,7 +60,7 @@ public class ClientMessageDecoder extends InboundHandlerWithCounters<ByteBuffer,
             properties = new HazelcastProperties((Properties) null);
         }
         clientEndpointManager = dst instanceof ClientEngine ? ((ClientEngine) dst).getEndpointManager() : null;
-        maxMessageLength = properties.getInteger(ClusterProperty.CLIENT_PROTOCOL_UNVERIFIED_MESSAGE_BYTES);
+        int maxMessageLength = properties.getInteger(ClusterProperty.CLIENT_PROTOCOL_UNVERIFIED_MESSAGE_BYTES);
         activeReader = new ClientMessageReader(maxMessageLength);
         this.connection = connection;
     }
@@ -103,7 +102,7 @@ public class ClientMessageDecoder extends InboundHandlerWithCounters<ByteBuffer,
                     }
                 }
 
-                activeReader = new ClientMessageReader(maxMessageLength);
+                activeReader.reset();
             }
 
             return CLEAN;
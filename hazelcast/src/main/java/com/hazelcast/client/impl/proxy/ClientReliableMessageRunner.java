@@ -26,6 +26,7 @@ import com.hazelcast.ringbuffer.Ringbuffer;
 import com.hazelcast.topic.ReliableMessageListener;
 import com.hazelcast.topic.impl.reliable.MessageRunner;
 import com.hazelcast.topic.impl.reliable.ReliableTopicMessage;
+import com.hazelcast.topic.impl.reliable.SharedTopicReader;
 import com.hazelcast.version.MemberVersion;
 
 import java.util.UUID;
@@ -45,8 +46,9 @@ public class ClientReliableMessageRunner<E> extends MessageRunner<E> {
                                 Ringbuffer<ReliableTopicMessage> ringbuffer, String topicName,
                                 int batchSze, SerializationService serializationService,
                                 Executor executor, ConcurrentMap<UUID, MessageRunner<E>> runnersMap,
-                                ILogger logger) {
-        super(id, listener, ringbuffer, topicName, batchSze, serializationService, executor, runnersMap, logger);
+                                ILogger logger, SharedTopicReader sharedReader) {
+        super(id, listener, ringbuffer, topicName, batchSze, serializationService, executor, runnersMap, logger,
+                sharedReader);
     }
 
     @Override
@@ -37,6 +37,7 @@ import com.hazelcast.topic.TopicOverloadPolicy;
 import com.hazelcast.topic.impl.reliable.MessageRunner;
 import com.hazelcast.topic.impl.reliable.ReliableMessageListenerAdapter;
 import com.hazelcast.topic.impl.reliable.ReliableTopicMessage;
+import com.hazelcast.topic.impl.reliable.SharedTopicReader;
 
 import javax.annotation.Nonnull;
 import java.util.Collection;
@@ -49,6 +50,7 @@ import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 import java.util.stream.Collectors;
 
+import static com.hazelcast.client.properties.ClientProperty.RELIABLE_TOPIC_SHARED_READ_ENABLED;
 import static com.hazelcast.internal.util.ExceptionUtil.peel;
 import static com.hazelcast.internal.util.Preconditions.checkNoNullInside;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
@@ -78,7 +80,7 @@ public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E
     private final ClientReliableTopicConfig config;
     private final Executor executor;
     private final TopicOverloadPolicy overloadPolicy;
-
+    private final SharedTopicReader sharedReader;
 
     public ClientReliableTopicProxy(String objectId, ClientContext context, HazelcastClientInstanceImpl client) {
         super(SERVICE_NAME, objectId, context);
@@ -87,6 +89,9 @@ public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E
         this.config = client.getClientConfig().getReliableTopicConfig(objectId);
         this.executor = getExecutor(config);
         this.overloadPolicy = config.getTopicOverloadPolicy();
+        this.sharedReader = client.getProperties().getBoolean(RELIABLE_TOPIC_SHARED_READ_ENABLED)
+                ? new SharedTopicReader(ringbuffer, config.getReadBatchSize())
+                : null;
         logger = client.getLoggingService().getLogger(getClass());
     }
 
@@ -170,7 +175,7 @@ public class ClientReliableTopicProxy<E> extends ClientProxy implements ITopic<E
 
         MessageRunner<E> runner = new ClientReliableMessageRunner<>(id, reliableMessageListener,
                 ringbuffer, name, config.getReadBatchSize(),
-                serializationService, executor, runnersMap, logger);
+                serializationService, executor, runnersMap, logger, sharedReader);
         runnersMap.put(id, runner);
         runner.next();
         return id;
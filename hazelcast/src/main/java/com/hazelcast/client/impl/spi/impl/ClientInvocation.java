@@ -376,6 +376,16 @@ public class ClientInvocation extends BaseInvocation implements Runnable {
         return connection != null;
     }
 
+    /**
+     * Checks if this invocation can be held back while the connection it is
+     * sent over is unwritable. Urgent invocations and invocations bound to a
+     * single connection are never held back; the latter would fail instead of
+     * being retried.
+     */
+    boolean isDeferrable() {
+        return !urgent && !isBindToSingleConnection();
+    }
+
     EventHandler getEventHandler() {
         return handler;
     }
@@ -43,6 +43,7 @@ import java.util.function.Consumer;
 
 import static com.hazelcast.client.properties.ClientProperty.BACKPRESSURE_BACKOFF_TIMEOUT_MILLIS;
 import static com.hazelcast.client.properties.ClientProperty.FAIL_ON_INDETERMINATE_OPERATION_STATE;
+import static com.hazelcast.client.properties.ClientProperty.INVOCATION_COALESCING_WINDOW_MICROS;
 import static com.hazelcast.client.properties.ClientProperty.INVOCATION_RETRY_PAUSE_MILLIS;
 import static com.hazelcast.client.properties.ClientProperty.INVOCATION_TIMEOUT_SECONDS;
 import static com.hazelcast.client.properties.ClientProperty.MAX_CONCURRENT_INVOCATIONS;
@@ -97,6 +98,7 @@ public class ClientInvocationServiceImpl implements ClientInvocationService {
     private final ClientConnectionManager connectionManager;
     private final ClientPartitionService partitionService;
     private final boolean isSmartRoutingEnabled;
+    private final ClientMessageCoalescer coalescer;
 
     public ClientInvocationServiceImpl(HazelcastClientInstanceImpl client) {
         this.client = client;
@@ -117,6 +119,9 @@ public class ClientInvocationServiceImpl implements ClientInvocationService {
         this.isBackupAckToClientEnabled = isSmartRoutingEnabled && client.getClientConfig().isBackupAckToClientEnabled();
         this.connectionManager = client.getConnectionManager();
         this.partitionService = client.getClientPartitionService();
+        long coalescingWindowNanos = properties.getNanos(INVOCATION_COALESCING_WINDOW_MICROS);
+        this.coalescer = coalescingWindowNanos > 0
+                ? new ClientMessageCoalescer(this, client.getName(), coalescingWindowNanos) : null;
     }
 
     private long initInvocationRetryPauseMillis() {
@@ -158,6 +163,9 @@ public class ClientInvocationServiceImpl implements ClientInvocationService {
 
     public void start() {
         responseHandlerSupplier.start();
+        if (coalescer != null) {
+            coalescer.start();
+        }
         if (isBackupAckToClientEnabled) {
             TaskScheduler executionService = client.getTaskScheduler();
             long cleanResourcesMillis = client.getProperties().getPositiveMillisOrDefault(CLEAN_RESOURCES_MILLIS);
@@ -215,6 +223,9 @@ public class ClientInvocationServiceImpl implements ClientInvocationService {
 
     @Override
     public void onConnectionClose(ClientConnection connection) {
+        if (coalescer != null) {
+            coalescer.onConnectionClose(connection);
+        }
         for (ClientInvocation invocation : invocations.values()) {
             if (invocation.getPermissionToNotifyForDeadConnection(connection)) {
                 Exception ex = new TargetDisconnectedException(connection.getCloseReason(), connection.getCloseCause());
@@ -233,6 +244,13 @@ public class ClientInvocationServiceImpl implements ClientInvocationService {
             throw new HazelcastClientNotActiveException();
         }
 
+        if (!connection.isWritable() && invocation.isDeferrable()) {
+            if (invocationLogger.isFinestEnabled()) {
+                invocationLogger.finest("Write queue of the connection is full : " + connection);
+            }
+            return false;
+        }
+
         ClientMessage clientMessage = invocation.getClientMessage();
         if (isBackupAckToClientEnabled) {
             clientMessage.getStartFrame().flags |= ClientMessage.BACKUP_AWARE_FLAG;
@@ -244,7 +262,17 @@ public class ClientInvocationServiceImpl implements ClientInvocationService {
         //Connection could be closed. From this point on, we need to reacquire the permission to notify if needed.
         invocation.setSentConnection(connection);
 
-        if (!connection.write(clientMessage)) {
+        if (coalescer != null && !clientMessage.isUrgent()) {
+            coalescer.write(invocation, connection);
+        } else {
+            onWrite(invocation, clientMessage, connection, connection.write(clientMessage));
+        }
+
+        return true;
+    }
+
+    void onWrite(ClientInvocation invocation, ClientMessage clientMessage, ClientConnection connection, boolean written) {
+        if (!written) {
             if (invocation.getPermissionToNotifyForDeadConnection(connection)) {
                 IOException exception = new IOException("Packet not sent to " + connection.getRemoteAddress() + " "
                         + clientMessage);
@@ -253,8 +281,6 @@ public class ClientInvocationServiceImpl implements ClientInvocationService {
         } else {
             invocation.invoked();
         }
-
-        return true;
     }
 
     // package-visible for tests
@@ -283,6 +309,9 @@ public class ClientInvocationServiceImpl implements ClientInvocationService {
     public void shutdown() {
         isShutdown = true;
         responseHandlerSupplier.shutdown();
+        if (coalescer != null) {
+            coalescer.shutdown();
+        }
 
         for (ClientInvocation invocation : invocations.values()) {
             //connection manager and response handler threads are closed at this point.
@@ -0,0 +1,180 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.spi.impl;
+
+import com.hazelcast.client.impl.connection.ClientConnection;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.internal.util.executor.HazelcastManagedThread;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.hazelcast.client.impl.protocol.ClientMessage.IS_FINAL_FLAG;
+import static com.hazelcast.internal.util.EmptyStatement.ignore;
+
+/**
+ * Coalesces the requests of concurrent invocations sent to the same
+ * connection within a time window into a single outbound message.
+ * <p>
+ * The first request queued for a connection schedules a flush at the end of
+ * the window; the requests queued until then are written to the connection
+ * back-to-back as one {@link ClientMessage}. Every request keeps its own
+ * frames, correlation id and partition id, so the member reads and handles
+ * them exactly like the requests written one by one. The frames are copied
+ * when coalescing, so the client messages of the invocations are not
+ * modified and can be retried.
+ */
+class ClientMessageCoalescer {
+
+    private final ClientInvocationServiceImpl invocationService;
+    private final long windowNanos;
+    private final ConcurrentMap<ClientConnection, Batch> batches = new ConcurrentHashMap<>();
+    private final BlockingQueue<Batch> scheduledBatches = new LinkedBlockingQueue<>();
+    private final FlushThread flushThread;
+
+    ClientMessageCoalescer(ClientInvocationServiceImpl invocationService, String clientName, long windowNanos) {
+        this.invocationService = invocationService;
+        this.windowNanos = windowNanos;
+        this.flushThread = new FlushThread(clientName + ".coalescer");
+    }
+
+    void start() {
+        flushThread.start();
+    }
+
+    void shutdown() {
+        flushThread.interrupt();
+    }
+
+    /**
+     * Queues the request of the given invocation to be written to the given
+     * connection at the end of the current window.
+     */
+    void write(ClientInvocation invocation, ClientConnection connection) {
+        Batch batch = batches.computeIfAbsent(connection, Batch::new);
+        batch.pendingWrites.offer(new PendingWrite(invocation, invocation.getClientMessage()));
+        if (batch.scheduled.compareAndSet(false, true)) {
+            batch.flushDeadlineNanos = System.nanoTime() + windowNanos;
+            scheduledBatches.offer(batch);
+        }
+    }
+
+    void onConnectionClose(ClientConnection connection) {
+        batches.remove(connection);
+    }
+
+    private void flush(Batch batch) {
+        // clear the flag before draining, so a request queued concurrently
+        // is either drained now or schedules another flush
+        batch.scheduled.set(false);
+        List<PendingWrite> writes = new ArrayList<>();
+        List<ClientMessage> messages = new ArrayList<>();
+        for (PendingWrite write; (write = batch.pendingWrites.poll()) != null; ) {
+            writes.add(write);
+            messages.add(write.message);
+        }
+        if (writes.isEmpty()) {
+            return;
+        }
+
+        ClientConnection connection = batch.connection;
+        boolean written = connection.write(coalesce(messages));
+        for (PendingWrite write : writes) {
+            invocationService.onWrite(write.invocation, write.message, connection, written);
+        }
+        if (!connection.isAlive()) {
+            batches.remove(connection, batch);
+        }
+    }
+
+    /**
+     * Returns a message containing the frames of all the given messages. The
+     * last frame of each message is flagged as final, so the messages are
+     * read back separately.
+     */
+    static ClientMessage coalesce(List<ClientMessage> messages) {
+        if (messages.size() == 1) {
+            return messages.get(0);
+        }
+        ClientMessage coalesced = ClientMessage.createForEncode();
+        for (ClientMessage message : messages) {
+            ClientMessage.ForwardFrameIterator iterator = message.frameIterator();
+            while (iterator.hasNext()) {
+                ClientMessage.Frame frame = iterator.next();
+                int flags = iterator.hasNext() ? frame.flags : frame.flags | IS_FINAL_FLAG;
+                coalesced.add(new ClientMessage.Frame(frame.content, flags));
+            }
+        }
+        return coalesced;
+    }
+
+    private static final class Batch {
+        private final ClientConnection connection;
+        private final Queue<PendingWrite> pendingWrites = new ConcurrentLinkedQueue<>();
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+        private volatile long flushDeadlineNanos;
+
+        Batch(ClientConnection connection) {
+            this.connection = connection;
+        }
+    }
+
+    private static final class PendingWrite {
+        private final ClientInvocation invocation;
+        private final ClientMessage message;
+
+        PendingWrite(ClientInvocation invocation, ClientMessage message) {
+            this.invocation = invocation;
+            this.message = message;
+        }
+    }
+
+    private class FlushThread extends HazelcastManagedThread {
+
+        FlushThread(String name) {
+            super(name);
+            setDaemon(true);
+        }
+
+        @Override
+        public void executeRun() {
+            while (!invocationService.isShutdown()) {
+                try {
+                    Batch batch = scheduledBatches.take();
+                    // the batches are scheduled in the order of their deadlines
+                    long remainingNanos;
+                    while ((remainingNanos = batch.flushDeadlineNanos - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(remainingNanos);
+                    }
+                    flush(batch);
+                } catch (InterruptedException e) {
+                    ignore(e);
+                } catch (Throwable t) {
+                    invocationService.invocationLogger.severe(t);
+                }
+            }
+        }
+    }
+}
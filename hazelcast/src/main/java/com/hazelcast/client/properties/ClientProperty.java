@@ -21,6 +21,7 @@ import com.hazelcast.config.MetricsJmxConfig;
 import com.hazelcast.core.IndeterminateOperationStateException;
 import com.hazelcast.spi.properties.HazelcastProperty;
 
+import static java.util.concurrent.TimeUnit.MICROSECONDS;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
@@ -157,6 +158,25 @@ public final class ClientProperty {
     public static final HazelcastProperty IO_WRITE_THROUGH_ENABLED
             = new HazelcastProperty("hazelcast.client.io.write.through", true);
 
+    /**
+     * The number of bytes pending in the write queue of a connection at which the connection stops accepting new
+     * invocations. Invocations that aren't urgent and that are sent over such a connection are retried until the
+     * write queue has drained to {@link #IO_WRITE_QUEUE_LOW_WATERMARK}.
+     * <p>
+     * The default is 0, which disables the write queue backpressure.
+     */
+    public static final HazelcastProperty IO_WRITE_QUEUE_HIGH_WATERMARK
+            = new HazelcastProperty("hazelcast.client.io.write.queue.high.watermark", 0);
+
+    /**
+     * The number of bytes pending in the write queue of a connection at which a connection that reached
+     * {@link #IO_WRITE_QUEUE_HIGH_WATERMARK} accepts new invocations again.
+     * <p>
+     * The default is 0, which means half of the high watermark.
+     */
+    public static final HazelcastProperty IO_WRITE_QUEUE_LOW_WATERMARK
+            = new HazelcastProperty("hazelcast.client.io.write.queue.low.watermark", 0);
+
     /**
      * Property needed for concurrency detection so that write through and dynamic response handling
      * can be done correctly. This property sets the window the concurrency detection will signalling
@@ -201,6 +221,35 @@ public final class ClientProperty {
     public static final HazelcastProperty RESPONSE_THREAD_DYNAMIC
             = new HazelcastProperty("hazelcast.client.response.thread.dynamic", true);
 
+    /**
+     * The time window in microseconds in which the requests sent to the same
+     * member are coalesced into a single write.
+     * <p>
+     * When set to a positive value, the requests of concurrent invocations are
+     * not written to the connection one by one. Instead, the requests sent to
+     * a member within the window are written back-to-back as a single outbound
+     * message, which reduces the number of socket writes and wake-ups when
+     * many small operations are issued concurrently. The member handles the
+     * coalesced requests the same way as the requests sent one by one.
+     * <p>
+     * Coalescing adds up to the window to the latency of each request, so it
+     * should only be enabled for clients issuing many concurrent operations.
+     * Disabled by default.
+     */
+    public static final HazelcastProperty INVOCATION_COALESCING_WINDOW_MICROS
+            = new HazelcastProperty("hazelcast.client.invocation.coalescing.window.micros", 0, MICROSECONDS);
+
+    /**
+     * Enables sharing the ringbuffer reads of the reliable topic listeners
+     * registered on the same client. The listeners reading from the same
+     * sequence wait on a single read, so the messages are sent to the client
+     * once instead of once per listener.
+     *
+     * @since 5.1
+     */
+    public static final HazelcastProperty RELIABLE_TOPIC_SHARED_READ_ENABLED
+            = new HazelcastProperty("hazelcast.client.reliabletopic.shared.read.enabled", false);
+
     /**
      * Token to use when discovering cluster via hazelcast.cloud
      */
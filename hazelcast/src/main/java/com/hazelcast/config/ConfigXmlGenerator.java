@@ -1612,6 +1612,8 @@ public class ConfigXmlGenerator {
                 .node("uncommitted-entry-count-to-reject-new-appends",
                         raftAlgorithmConfig.getUncommittedEntryCountToRejectNewAppends())
                 .node("append-request-backoff-timeout-in-millis", raftAlgorithmConfig.getAppendRequestBackoffTimeoutInMillis())
+                .node("leader-lease-reads-enabled", raftAlgorithmConfig.isLeaderLeaseReadsEnabled())
+                .node("leader-lease-clock-drift-bound-in-millis", raftAlgorithmConfig.getLeaderLeaseClockDriftBoundInMillis())
                 .close();
 
         gen.open("semaphores");
@@ -35,7 +35,15 @@ public enum EvictionPolicy {
     /**
      * Randomly
      */
-    RANDOM(3);
+    RANDOM(3),
+    /**
+     * Least Frequently Used, estimated with a frequency sketch which keeps
+     * the access history of the keys after they are evicted. Entries with
+     * the same estimated frequency are evicted in Least Recently Used order.
+     * Protects frequently used entries from being evicted by a scan of
+     * entries which are used once.
+     */
+    TINY_LFU(4);
 
     private static final EvictionPolicy[] VALUES = values();
 
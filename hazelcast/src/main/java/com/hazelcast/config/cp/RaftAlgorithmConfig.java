@@ -18,6 +18,7 @@ package com.hazelcast.config.cp;
 
 import java.util.Objects;
 
+import static com.hazelcast.internal.util.Preconditions.checkNotNegative;
 import static com.hazelcast.internal.util.Preconditions.checkPositive;
 
 /**
@@ -65,6 +66,11 @@ public class RaftAlgorithmConfig {
      */
     public static final long DEFAULT_APPEND_REQUEST_BACKOFF_TIMEOUT_IN_MILLIS = 100;
 
+    /**
+     * Default clock drift bound in millis for the leader leases.
+     * See {@link #leaderLeaseClockDriftBoundInMillis}.
+     */
+    public static final long DEFAULT_LEADER_LEASE_CLOCK_DRIFT_BOUND_IN_MILLIS = 500;
 
     /**
      * Leader election timeout in milliseconds. If a candidate cannot win
@@ -141,6 +147,29 @@ public class RaftAlgorithmConfig {
      */
     private long appendRequestBackoffTimeoutInMillis = DEFAULT_APPEND_REQUEST_BACKOFF_TIMEOUT_IN_MILLIS;
 
+    /**
+     * Enables serving linearizable queries locally on Raft leaders while they
+     * hold a lease. A Raft leader holds a lease until the leader election
+     * timeout, reduced by {@link #leaderLeaseClockDriftBoundInMillis}, passes
+     * after sending the append entries requests acknowledged by the majority,
+     * since followers do not vote for another candidate in this duration.
+     * Leases are renewed by the append entries requests and heartbeats.
+     * Queries are served with a round-trip to the majority when the lease
+     * is expired. Leader leases rely on the bounded clock drift of the CP
+     * members, so they should not be enabled if the clocks of the CP members
+     * can run at significantly different rates, e.g. due to pauses of
+     * virtual machines.
+     */
+    private boolean leaderLeaseReadsEnabled;
+
+    /**
+     * Upper bound in milliseconds for the clock drift between the CP members
+     * during the leader election timeout. Raft leaders shorten their leases
+     * by this duration. It must be smaller than
+     * {@link #leaderElectionTimeoutInMillis}.
+     */
+    private long leaderLeaseClockDriftBoundInMillis = DEFAULT_LEADER_LEASE_CLOCK_DRIFT_BOUND_IN_MILLIS;
+
     public RaftAlgorithmConfig() {
     }
 
@@ -152,6 +181,8 @@ public class RaftAlgorithmConfig {
         this.uncommittedEntryCountToRejectNewAppends = config.uncommittedEntryCountToRejectNewAppends;
         this.maxMissedLeaderHeartbeatCount = config.maxMissedLeaderHeartbeatCount;
         this.appendRequestBackoffTimeoutInMillis = config.appendRequestBackoffTimeoutInMillis;
+        this.leaderLeaseReadsEnabled = config.leaderLeaseReadsEnabled;
+        this.leaderLeaseClockDriftBoundInMillis = config.leaderLeaseClockDriftBoundInMillis;
     }
 
     public long getLeaderElectionTimeoutInMillis() {
@@ -227,6 +258,26 @@ public class RaftAlgorithmConfig {
         return this;
     }
 
+    public boolean isLeaderLeaseReadsEnabled() {
+        return leaderLeaseReadsEnabled;
+    }
+
+    public RaftAlgorithmConfig setLeaderLeaseReadsEnabled(boolean leaderLeaseReadsEnabled) {
+        this.leaderLeaseReadsEnabled = leaderLeaseReadsEnabled;
+        return this;
+    }
+
+    public long getLeaderLeaseClockDriftBoundInMillis() {
+        return leaderLeaseClockDriftBoundInMillis;
+    }
+
+    public RaftAlgorithmConfig setLeaderLeaseClockDriftBoundInMillis(long leaderLeaseClockDriftBoundInMillis) {
+        checkNotNegative(leaderLeaseClockDriftBoundInMillis, "leader lease clock drift bound: "
+                + leaderLeaseClockDriftBoundInMillis + " must not be negative!");
+        this.leaderLeaseClockDriftBoundInMillis = leaderLeaseClockDriftBoundInMillis;
+        return this;
+    }
+
     @Override
     public String toString() {
         return "RaftAlgorithmConfig{" + "leaderElectionTimeoutInMillis=" + leaderElectionTimeoutInMillis
@@ -234,7 +285,9 @@ public class RaftAlgorithmConfig {
                 + maxMissedLeaderHeartbeatCount + ", appendRequestMaxEntryCount=" + appendRequestMaxEntryCount
                 + ", commitIndexAdvanceCountToSnapshot=" + commitIndexAdvanceCountToSnapshot
                 + ", uncommittedEntryCountToRejectNewAppends=" + uncommittedEntryCountToRejectNewAppends
-                + ", appendRequestBackoffTimeoutInMillis=" + appendRequestBackoffTimeoutInMillis + '}';
+                + ", appendRequestBackoffTimeoutInMillis=" + appendRequestBackoffTimeoutInMillis
+                + ", leaderLeaseReadsEnabled=" + leaderLeaseReadsEnabled
+                + ", leaderLeaseClockDriftBoundInMillis=" + leaderLeaseClockDriftBoundInMillis + '}';
     }
 
     @Override
@@ -252,13 +305,15 @@ public class RaftAlgorithmConfig {
                 && appendRequestMaxEntryCount == that.appendRequestMaxEntryCount
                 && commitIndexAdvanceCountToSnapshot == that.commitIndexAdvanceCountToSnapshot
                 && uncommittedEntryCountToRejectNewAppends == that.uncommittedEntryCountToRejectNewAppends
-                && appendRequestBackoffTimeoutInMillis == that.appendRequestBackoffTimeoutInMillis;
+                && appendRequestBackoffTimeoutInMillis == that.appendRequestBackoffTimeoutInMillis
+                && leaderLeaseReadsEnabled == that.leaderLeaseReadsEnabled
+                && leaderLeaseClockDriftBoundInMillis == that.leaderLeaseClockDriftBoundInMillis;
     }
 
     @Override
     public int hashCode() {
         return Objects.hash(leaderElectionTimeoutInMillis, leaderHeartbeatPeriodInMillis, maxMissedLeaderHeartbeatCount,
                 appendRequestMaxEntryCount, commitIndexAdvanceCountToSnapshot, uncommittedEntryCountToRejectNewAppends,
-                appendRequestBackoffTimeoutInMillis);
+                appendRequestBackoffTimeoutInMillis, leaderLeaseReadsEnabled, leaderLeaseClockDriftBoundInMillis);
     }
 }
@@ -25,6 +25,8 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.CP_METRIC
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.CP_METRIC_RAFT_NODE_LAST_APPLIED;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.CP_METRIC_RAFT_NODE_LAST_LOG_INDEX;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.CP_METRIC_RAFT_NODE_LAST_LOG_TERM;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.CP_METRIC_RAFT_NODE_LEASE_READS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.CP_METRIC_RAFT_NODE_QUORUM_READS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.CP_METRIC_RAFT_NODE_SNAPSHOT_INDEX;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.CP_METRIC_RAFT_NODE_TERM;
 
@@ -61,8 +63,16 @@ public class RaftNodeMetrics {
     @Probe(name = CP_METRIC_RAFT_NODE_AVAILABLE_LOG_CAPACITY)
     public final long availableLogCapacity;
 
+    @Probe(name = CP_METRIC_RAFT_NODE_LEASE_READS)
+    public final long leaseReads;
+
+    @Probe(name = CP_METRIC_RAFT_NODE_QUORUM_READS)
+    public final long quorumReads;
+
+    @SuppressWarnings("checkstyle:parameternumber")
     public RaftNodeMetrics(RaftRole role, int memberCount, int term, long commitIndex, long lastApplied,
-            long lastLogTerm, long snapshotIndex, long lastLogIndex, long availableLogCapacity) {
+            long lastLogTerm, long snapshotIndex, long lastLogIndex, long availableLogCapacity,
+            long leaseReads, long quorumReads) {
         this.role = role;
         this.memberCount = memberCount;
         this.term = term;
@@ -72,5 +82,7 @@ public class RaftNodeMetrics {
         this.snapshotIndex = snapshotIndex;
         this.lastLogIndex = lastLogIndex;
         this.availableLogCapacity = availableLogCapacity;
+        this.leaseReads = leaseReads;
+        this.quorumReads = quorumReads;
     }
 }
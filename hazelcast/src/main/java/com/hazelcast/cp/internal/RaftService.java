@@ -1535,7 +1535,8 @@ public class RaftService implements ManagedService, SnapshotAwareService<Metadat
                     RaftLog log = state.log();
                     RaftNodeMetrics metrics = new RaftNodeMetrics(state.role(), state.memberCount(), state.term(),
                             state.commitIndex(), state.lastApplied(), log.lastLogOrSnapshotTerm(), log.snapshotIndex(),
-                            log.lastLogOrSnapshotIndex(), log.availableCapacity());
+                            log.lastLogOrSnapshotIndex(), log.availableCapacity(), raftNode.leaseReadCount(),
+                            raftNode.quorumReadCount());
                     nodeMetrics.put(node.getGroupId(), metrics);
                 });
             }
@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cp.internal.persistence;
+
+import com.hazelcast.cluster.Address;
+import com.hazelcast.cp.CPMember;
+import com.hazelcast.cp.internal.CPMemberInfo;
+import com.hazelcast.cp.internal.RaftGroupId;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.IOException;
+import java.util.Collection;
+import java.util.UUID;
+
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.readRecordFile;
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.writeRecordFile;
+
+/**
+ * Persists the CP member metadata of the local member into files of its CP
+ * data directory. The files are replaced atomically, so a crash leaves
+ * either the previous or the new metadata.
+ * <p>
+ * The metadata is written without the serialization service, because the
+ * UUID of the local CP member is read before the serialization service is
+ * created, to start the member with the same UUID.
+ */
+public class FileCPMetadataStore implements CPMetadataStore {
+
+    static final String AP_MEMBER_FILE = "ap-member.bin";
+    static final String LOCAL_MEMBER_FILE = "local-member.bin";
+    static final String ACTIVE_MEMBERS_FILE = "active-members.bin";
+    static final String METADATA_GROUP_ID_FILE = "metadata-group-id.bin";
+
+    private final File dir;
+
+    public FileCPMetadataStore(File dir) {
+        this.dir = dir;
+    }
+
+    @Override
+    public synchronized boolean isMarkedAPMember() {
+        return new File(dir, AP_MEMBER_FILE).exists();
+    }
+
+    @Override
+    public synchronized boolean tryMarkAPMember() throws IOException {
+        if (containsLocalMemberFile()) {
+            return false;
+        }
+        write(AP_MEMBER_FILE, new byte[0]);
+        return true;
+    }
+
+    @Override
+    public synchronized boolean containsLocalMemberFile() {
+        return new File(dir, LOCAL_MEMBER_FILE).exists();
+    }
+
+    @Override
+    public synchronized void persistLocalCPMember(CPMember member) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        writeMember(out, member);
+        out.flush();
+        write(LOCAL_MEMBER_FILE, bytes.toByteArray());
+    }
+
+    @Override
+    public synchronized CPMember readLocalCPMember() throws IOException {
+        DataInputStream in = read(LOCAL_MEMBER_FILE);
+        return in != null ? readMember(in) : null;
+    }
+
+    @Override
+    public synchronized void persistActiveCPMembers(Collection<? extends CPMember> members, long commitIndex)
+            throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeLong(commitIndex);
+        out.writeInt(members.size());
+        for (CPMember member : members) {
+            writeMember(out, member);
+        }
+        out.flush();
+        write(ACTIVE_MEMBERS_FILE, bytes.toByteArray());
+    }
+
+    @Override
+    public synchronized long readActiveCPMembers(Collection<CPMember> members) throws IOException {
+        DataInputStream in = read(ACTIVE_MEMBERS_FILE);
+        if (in == null) {
+            return 0;
+        }
+        long commitIndex = in.readLong();
+        int count = in.readInt();
+        for (int i = 0; i < count; i++) {
+            members.add(readMember(in));
+        }
+        return commitIndex;
+    }
+
+    @Override
+    public synchronized void persistMetadataGroupId(RaftGroupId groupId) throws IOException {
+        write(METADATA_GROUP_ID_FILE, toBytes(groupId));
+    }
+
+    @Override
+    public synchronized RaftGroupId readMetadataGroupId() throws IOException {
+        byte[] bytes = readRecordFile(new File(dir, METADATA_GROUP_ID_FILE));
+        return bytes != null ? toGroupId(bytes) : null;
+    }
+
+    static byte[] toBytes(RaftGroupId groupId) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeUTF(groupId.getName());
+        out.writeLong(groupId.getSeed());
+        out.writeLong(groupId.getId());
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    static RaftGroupId toGroupId(byte[] bytes) throws IOException {
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(bytes));
+        return new RaftGroupId(in.readUTF(), in.readLong(), in.readLong());
+    }
+
+    private void write(String fileName, byte[] bytes) throws IOException {
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Could not create CP data directory: " + dir);
+        }
+        writeRecordFile(new File(dir, fileName), bytes);
+    }
+
+    private DataInputStream read(String fileName) throws IOException {
+        byte[] bytes = readRecordFile(new File(dir, fileName));
+        return bytes != null ? new DataInputStream(new ByteArrayInputStream(bytes)) : null;
+    }
+
+    private static void writeMember(DataOutputStream out, CPMember member) throws IOException {
+        UUID uuid = member.getUuid();
+        out.writeLong(uuid.getMostSignificantBits());
+        out.writeLong(uuid.getLeastSignificantBits());
+        out.writeUTF(member.getAddress().getHost());
+        out.writeInt(member.getAddress().getPort());
+    }
+
+    private static CPMember readMember(DataInputStream in) throws IOException {
+        UUID uuid = new UUID(in.readLong(), in.readLong());
+        Address address = new Address(in.readUTF(), in.readInt());
+        return new CPMemberInfo(uuid, address);
+    }
+}
@@ -0,0 +1,183 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cp.internal.persistence;
+
+import com.hazelcast.cluster.Address;
+import com.hazelcast.core.HazelcastException;
+import com.hazelcast.cp.CPMember;
+import com.hazelcast.cp.internal.CPMemberInfo;
+import com.hazelcast.cp.internal.MetadataRaftGroupManager;
+import com.hazelcast.cp.internal.RaftGroupId;
+import com.hazelcast.cp.internal.RaftService;
+import com.hazelcast.cp.internal.raft.impl.persistence.FileRaftStateLoader;
+import com.hazelcast.cp.internal.raft.impl.persistence.FileRaftStateStore;
+import com.hazelcast.cp.internal.raft.impl.persistence.LogFileStructure;
+import com.hazelcast.cp.internal.raft.impl.persistence.RaftStateStore;
+import com.hazelcast.cp.internal.raft.impl.persistence.RestoredRaftState;
+import com.hazelcast.instance.impl.Node;
+import com.hazelcast.logging.ILogger;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.cp.internal.persistence.FileCPMetadataStore.toBytes;
+import static com.hazelcast.cp.internal.persistence.FileCPMetadataStore.toGroupId;
+import static com.hazelcast.cp.internal.raft.impl.persistence.FileRaftStateStore.DEFAULT_MAX_SEGMENT_SIZE;
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.readRecordFile;
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.writeRecordFile;
+import static com.hazelcast.internal.nio.IOUtil.delete;
+
+/**
+ * Persists the CP state of the local member into the
+ * {@link com.hazelcast.config.cp.CPSubsystemConfig#getBaseDir() CP base directory}
+ * when {@link com.hazelcast.config.cp.CPSubsystemConfig#isPersistenceEnabled()
+ * CP persistence} is enabled.
+ * <p>
+ * The base directory can be shared by several members, each member keeps its
+ * state in a directory named after its address. The CP member metadata is kept
+ * by a {@link FileCPMetadataStore} in that directory, and each CP group gets a
+ * directory under {@value #GROUPS_DIR} with its group id and the
+ * {@link FileRaftStateStore} files of its Raft node.
+ * <p>
+ * {@link #restore(RaftService)} is called before the member joins the
+ * cluster. It restores the local CP member and the Raft nodes of its CP
+ * groups, so the member rejoins its CP groups with its previous identity.
+ * The member finds its state only when it is restarted with the same address.
+ */
+public class FileCPPersistenceService implements CPPersistenceService {
+
+    static final String GROUPS_DIR = "groups";
+
+    private static final String GROUP_ID_FILE = "group-id.bin";
+    private static final String RAFT_STATE_DIR = "raft";
+
+    private final Node node;
+    private final ILogger logger;
+    private final File dir;
+    private final File groupsDir;
+    private final FileCPMetadataStore metadataStore;
+
+    public FileCPPersistenceService(Node node) {
+        this.node = node;
+        this.logger = node.getLogger(getClass());
+        File baseDir = node.getConfig().getCPSubsystemConfig().getBaseDir().getAbsoluteFile();
+        Address address = node.getThisAddress();
+        this.dir = new File(baseDir, (address.getHost() + "-" + address.getPort()).replaceAll("[^\\w.-]", "_"));
+        this.groupsDir = new File(dir, GROUPS_DIR);
+        this.metadataStore = new FileCPMetadataStore(dir);
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public CPMetadataStore getCPMetadataStore() {
+        return metadataStore;
+    }
+
+    @Override
+    public RaftStateStore createRaftStateStore(@Nonnull RaftGroupId groupId, @Nullable LogFileStructure logFileStructure) {
+        File groupDir = groupDir(groupId);
+        try {
+            if (!groupDir.exists() && !groupDir.mkdirs()) {
+                throw new IOException("Could not create CP group directory: " + groupDir);
+            }
+            writeRecordFile(new File(groupDir, GROUP_ID_FILE), toBytes(groupId));
+        } catch (IOException e) {
+            throw new HazelcastException("Could not create the Raft state store of " + groupId, e);
+        }
+        return new FileRaftStateStore(new File(groupDir, RAFT_STATE_DIR), node.getSerializationService(),
+                logFileStructure, DEFAULT_MAX_SEGMENT_SIZE);
+    }
+
+    @Override
+    public void removeRaftStateStore(@Nonnull RaftGroupId groupId) {
+        delete(groupDir(groupId));
+    }
+
+    @Override
+    public void reset() {
+        delete(dir);
+    }
+
+    /**
+     * Restores the local CP member and the Raft nodes of its CP groups from
+     * the directory of the member. Does nothing if the local member hasn't
+     * been a CP member.
+     */
+    public void restore(RaftService raftService) {
+        try {
+            CPMemberInfo localMember = (CPMemberInfo) metadataStore.readLocalCPMember();
+            if (localMember == null) {
+                return;
+            }
+
+            MetadataRaftGroupManager metadataGroupManager = raftService.getMetadataGroupManager();
+            RaftGroupId metadataGroupId = metadataStore.readMetadataGroupId();
+            if (metadataGroupId != null) {
+                metadataGroupManager.restoreMetadataGroupId(metadataGroupId);
+            }
+            metadataGroupManager.restoreLocalCPMember(localMember);
+
+            long seed = metadataGroupManager.getMetadataGroupId().getSeed();
+            List<CPMember> activeMembers = new ArrayList<>();
+            long activeMembersCommitIndex = metadataStore.readActiveCPMembers(activeMembers);
+            if (!activeMembers.isEmpty()) {
+                raftService.updateInvocationManagerMembers(seed, activeMembersCommitIndex, activeMembers);
+            }
+
+            File[] groupDirs = groupsDir.listFiles(File::isDirectory);
+            if (groupDirs != null) {
+                for (File groupDir : groupDirs) {
+                    restoreRaftNode(raftService, groupDir, seed);
+                }
+            }
+            logger.info("Restored local CP member " + localMember + " from " + dir);
+        } catch (IOException e) {
+            throw new HazelcastException("Could not restore CP data from " + dir, e);
+        }
+    }
+
+    private void restoreRaftNode(RaftService raftService, File groupDir, long seed) throws IOException {
+        byte[] groupIdBytes = readRecordFile(new File(groupDir, GROUP_ID_FILE));
+        FileRaftStateLoader loader = new FileRaftStateLoader(new File(groupDir, RAFT_STATE_DIR),
+                node.getSerializationService());
+        if (groupIdBytes == null || !loader.hasState()) {
+            // the member stopped while creating the Raft node
+            delete(groupDir);
+            return;
+        }
+        RaftGroupId groupId = toGroupId(groupIdBytes);
+        if (groupId.getSeed() != seed) {
+            logger.warning("Deleting the Raft state of " + groupId + " since it is from another CP Subsystem seed");
+            delete(groupDir);
+            return;
+        }
+        RestoredRaftState restoredState = loader.load();
+        raftService.restoreRaftNode(groupId, restoredState, loader.logFileStructure());
+    }
+
+    private File groupDir(RaftGroupId groupId) {
+        return new File(groupsDir, groupId.getSeed() + "-" + groupId.getId());
+    }
+}
@@ -117,6 +117,8 @@ public final class RaftNodeImpl implements RaftNode {
     private final int commitIndexAdvanceCountToSnapshot;
     private final int maxMissedLeaderHeartbeatCount;
     private final long appendRequestBackoffTimeoutInMillis;
+    private final long leaderLeaseDurationInMillis;
+    private final long heartbeatTaskPeriodInMillis;
     private final int maxNumberOfLogsToKeepAfterSnapshot;
     private final Runnable appendRequestBackoffResetTask;
     private final Runnable flushTask;
@@ -124,6 +126,8 @@ public final class RaftNodeImpl implements RaftNode {
     private long lastAppendEntriesTimestamp;
     private boolean appendRequestBackoffResetTaskScheduled;
     private boolean flushTaskSubmitted;
+    private long leaseReadCount;
+    private long quorumReadCount;
     private volatile RaftNodeStatus status = INITIAL;
 
     @SuppressWarnings("checkstyle:executablestatementcount")
@@ -145,9 +149,15 @@ public final class RaftNodeImpl implements RaftNode {
         this.maxMissedLeaderHeartbeatCount = raftAlgorithmConfig.getMaxMissedLeaderHeartbeatCount();
         this.maxNumberOfLogsToKeepAfterSnapshot = (int) (commitIndexAdvanceCountToSnapshot * RATIO_TO_KEEP_LOGS_AFTER_SNAPSHOT);
         this.appendRequestBackoffTimeoutInMillis = raftAlgorithmConfig.getAppendRequestBackoffTimeoutInMillis();
+        this.leaderLeaseDurationInMillis = getLeaderLeaseDurationInMillis(raftAlgorithmConfig);
+        this.heartbeatTaskPeriodInMillis = getHeartbeatTaskPeriodInMillis(heartbeatPeriodInMillis, leaderLeaseDurationInMillis);
         int logCapacity = commitIndexAdvanceCountToSnapshot + maxUncommittedEntryCount + maxNumberOfLogsToKeepAfterSnapshot;
         this.state = newRaftState(groupId, localMember, members, logCapacity, stateStore);
         this.logger = getLogger(RaftNode.class);
+        if (raftAlgorithmConfig.isLeaderLeaseReadsEnabled() && leaderLeaseDurationInMillis == 0) {
+            logger.warning("Leader lease reads are disabled since the leader lease clock drift bound is not smaller than "
+                    + "the leader election timeout.");
+        }
         this.appendRequestBackoffResetTask = new AppendRequestBackoffResetTask();
         if (stateStore instanceof NopRaftStateStore) {
            this.flushTask = null;
@@ -174,9 +184,18 @@ public final class RaftNodeImpl implements RaftNode {
         this.maxMissedLeaderHeartbeatCount = config.getMaxMissedLeaderHeartbeatCount();
         this.maxNumberOfLogsToKeepAfterSnapshot = (int) (commitIndexAdvanceCountToSnapshot * RATIO_TO_KEEP_LOGS_AFTER_SNAPSHOT);
         this.appendRequestBackoffTimeoutInMillis = config.getAppendRequestBackoffTimeoutInMillis();
+        this.leaderLeaseDurationInMillis = getLeaderLeaseDurationInMillis(config);
+        this.heartbeatTaskPeriodInMillis = getHeartbeatTaskPeriodInMillis(heartbeatPeriodInMillis, leaderLeaseDurationInMillis);
         int logCapacity = commitIndexAdvanceCountToSnapshot + maxUncommittedEntryCount + maxNumberOfLogsToKeepAfterSnapshot;
         this.state = restoreRaftState(groupId, restoredState, logCapacity, stateStore);
+        // Before the restart, this node may have acknowledged append requests which the leader counts in its lease.
+        // Hence, it does not vote for another candidate until the leader election timeout passes after the restart.
+        this.lastAppendEntriesTimestamp = Clock.currentTimeMillis();
         this.logger = getLogger(RaftNode.class);
+        if (config.isLeaderLeaseReadsEnabled() && leaderLeaseDurationInMillis == 0) {
+            logger.warning("Leader lease reads are disabled since the leader lease clock drift bound is not smaller than "
+                    + "the leader election timeout.");
+        }
         this.appendRequestBackoffResetTask = new AppendRequestBackoffResetTask();
         if (stateStore instanceof NopRaftStateStore) {
             this.flushTask = null;
@@ -186,6 +205,33 @@ public final class RaftNodeImpl implements RaftNode {
         }
     }
 
+    /**
+     * Returns the duration of the leader lease, or {@code 0} if the leader
+     * lease reads are disabled. Followers do not vote for another candidate
+     * until the leader election timeout passes after receiving an append
+     * request, hence the lease is shortened only by the clock drift bound.
+     */
+    private static long getLeaderLeaseDurationInMillis(RaftAlgorithmConfig config) {
+        if (!config.isLeaderLeaseReadsEnabled()) {
+            return 0;
+        }
+
+        return Math.max(0, config.getLeaderElectionTimeoutInMillis() - config.getLeaderLeaseClockDriftBoundInMillis());
+    }
+
+    /**
+     * Returns the period of the heartbeat task. The leader lease is
+     * renewed by the heartbeats, so they are sent at least twice per lease
+     * duration when the leader lease reads are enabled.
+     */
+    private static long getHeartbeatTaskPeriodInMillis(long heartbeatPeriodInMillis, long leaderLeaseDurationInMillis) {
+        if (leaderLeaseDurationInMillis == 0) {
+            return heartbeatPeriodInMillis;
+        }
+
+        return Math.max(1, min(heartbeatPeriodInMillis, leaderLeaseDurationInMillis / 2));
+    }
+
     /**
      * Creates a new Raft node with an empty initial state.
      */
@@ -570,15 +616,8 @@ public final class RaftNodeImpl implements RaftNode {
             return false;
         }
 
-        long commitIndex = state.commitIndex();
-        RaftLog log = state.log();
-
         // If the leader has not yet marked an entry from its current term committed, it waits until it has done so. (§6.4)
-        // last committed entry is either in the last snapshot or still in the log
-        LogEntry lastCommittedEntry = commitIndex == log.snapshotIndex() ? log.snapshot() : log.getLogEntry(commitIndex);
-        assert lastCommittedEntry != null;
-
-        if (lastCommittedEntry.term() != state.term()) {
+        if (!isLastCommittedEntryOfCurrentTerm()) {
             return false;
         }
 
@@ -589,6 +628,72 @@ public final class RaftNodeImpl implements RaftNode {
         return queryState.queryCount() < maxUncommittedEntryCount;
     }
 
+    /**
+     * Returns true if a linearizable query can be executed locally by the
+     * leader, without a round-trip to the majority, since the leader holds
+     * a lease. This method can be invoked only when the local Raft node is
+     * the leader.
+     * <p>
+     * The leader holds a lease if
+     * <ul>
+     * <li>Leader lease reads are enabled.
+     * See {@link RaftAlgorithmConfig#isLeaderLeaseReadsEnabled()}.</li>
+     * <li>The leader has marked an entry from its current term committed.</li>
+     * <li>There is no leadership transfer initiated in the current term.</li>
+     * <li>The majority has acknowledged an append request sent within
+     * the lease duration. See {@link LeaderState#majorityLeaseTimestamp(int)}.</li>
+     * </ul>
+     */
+    public boolean canQueryWithLeaderLease() {
+        if (leaderLeaseDurationInMillis == 0 || isTerminatedOrSteppedDown()
+                || state.leadershipTransferState() != null || !isLastCommittedEntryOfCurrentTerm()) {
+            return false;
+        }
+
+        long leaseTimestamp = state.leaderState().majorityLeaseTimestamp(state.majority());
+        return Clock.currentTimeMillis() < leaseTimestamp + leaderLeaseDurationInMillis;
+    }
+
+    private boolean isLastCommittedEntryOfCurrentTerm() {
+        long commitIndex = state.commitIndex();
+        RaftLog log = state.log();
+
+        // last committed entry is either in the last snapshot or still in the log
+        LogEntry lastCommittedEntry = commitIndex == log.snapshotIndex() ? log.snapshot() : log.getLogEntry(commitIndex);
+        assert lastCommittedEntry != null;
+
+        return lastCommittedEntry.term() == state.term();
+    }
+
+    /**
+     * Counts a linearizable query served with the leader lease.
+     */
+    public void incrementLeaseReadCount() {
+        leaseReadCount++;
+    }
+
+    /**
+     * Counts a linearizable query served with a round-trip to the majority.
+     */
+    public void incrementQuorumReadCount() {
+        quorumReadCount++;
+    }
+
+    /**
+     * Returns the number of linearizable queries served with the leader lease.
+     */
+    public long leaseReadCount() {
+        return leaseReadCount;
+    }
+
+    /**
+     * Returns the number of linearizable queries served with a round-trip
+     * to the majority.
+     */
+    public long quorumReadCount() {
+        return quorumReadCount;
+    }
+
     /**
      * Returns true if the linearizable read optimization is enabled.
      */
@@ -608,7 +713,7 @@ public final class RaftNodeImpl implements RaftNode {
      */
     private void scheduleHeartbeat() {
         broadcastAppendRequest();
-        schedule(new HeartbeatTask(), heartbeatPeriodInMillis);
+        schedule(new HeartbeatTask(), heartbeatTaskPeriodInMillis);
     }
 
     public void send(PreVoteRequest request, RaftEndpoint target) {
@@ -737,7 +842,7 @@ public final class RaftNodeImpl implements RaftNode {
         }
 
         AppendRequest request = new AppendRequest(getLocalMember(), state.term(), prevEntryTerm, prevEntryIndex,
-                state.commitIndex(), entries, leaderState.queryRound());
+                state.commitIndex(), entries, leaderState.queryRound(), Clock.currentTimeMillis());
 
         if (logger.isFineEnabled()) {
             logger.fine("Sending " + request + " to " + follower + " with next index: " + nextIndex);
@@ -1346,7 +1451,7 @@ public final class RaftNodeImpl implements RaftNode {
     }
 
     /**
-     * Periodic heartbeat task, which is scheduled on leader only with {@link #heartbeatPeriodInMillis} delay,
+     * Periodic heartbeat task, which is scheduled on leader only with {@link #heartbeatTaskPeriodInMillis} delay,
      * and sends heartbeat messages (append-entries) if no append-entries request is sent
      * since {@link #lastAppendEntriesTimestamp}.
      */
@@ -1365,7 +1470,7 @@ public final class RaftNodeImpl implements RaftNode {
                     return;
                 }
 
-                if (lastAppendEntriesTimestamp < Clock.currentTimeMillis() - heartbeatPeriodInMillis) {
+                if (lastAppendEntriesTimestamp < Clock.currentTimeMillis() - heartbeatTaskPeriodInMillis) {
                     broadcastAppendRequest();
                 }
 
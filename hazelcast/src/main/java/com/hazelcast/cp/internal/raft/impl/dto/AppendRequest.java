@@ -46,13 +46,14 @@ public class AppendRequest implements IdentifiedDataSerializable {
     private long leaderCommitIndex;
     private LogEntry[] entries;
     private long queryRound;
+    private long timestamp;
 
     public AppendRequest() {
     }
 
     @SuppressFBWarnings("EI_EXPOSE_REP2")
     public AppendRequest(RaftEndpoint leader, int term, int prevLogTerm, long prevLogIndex, long leaderCommitIndex,
-            LogEntry[] entries, long queryRound) {
+            LogEntry[] entries, long queryRound, long timestamp) {
         this.leader = leader;
         this.term = term;
         this.prevLogTerm = prevLogTerm;
@@ -60,6 +61,7 @@ public class AppendRequest implements IdentifiedDataSerializable {
         this.leaderCommitIndex = leaderCommitIndex;
         this.entries = entries;
         this.queryRound = queryRound;
+        this.timestamp = timestamp;
     }
 
     public RaftEndpoint leader() {
@@ -95,6 +97,14 @@ public class AppendRequest implements IdentifiedDataSerializable {
         return queryRound;
     }
 
+    /**
+     * Returns the time the leader sent this request at, by the leader's
+     * clock. The follower echoes it in its {@link AppendSuccessResponse}.
+     */
+    public long timestamp() {
+        return timestamp;
+    }
+
     @Override
     public int getFactoryId() {
         return RaftDataSerializerHook.F_ID;
@@ -119,6 +129,7 @@ public class AppendRequest implements IdentifiedDataSerializable {
         }
 
         out.writeLong(queryRound);
+        out.writeLong(timestamp);
     }
 
     @Override
@@ -136,13 +147,14 @@ public class AppendRequest implements IdentifiedDataSerializable {
         }
 
         queryRound = in.readLong();
+        timestamp = in.readLong();
     }
 
     @Override
     public String toString() {
         return "AppendRequest{" + "leader=" + leader + ", term=" + term + ", prevLogTerm=" + prevLogTerm
                 + ", prevLogIndex=" + prevLogIndex + ", leaderCommitIndex=" + leaderCommitIndex + ", queryRound=" + queryRound
-                + ", entries=" + Arrays.toString(entries) + '}';
+                + ", timestamp=" + timestamp + ", entries=" + Arrays.toString(entries) + '}';
     }
 
 }
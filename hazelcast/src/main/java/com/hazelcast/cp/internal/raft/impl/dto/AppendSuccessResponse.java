@@ -40,15 +40,18 @@ public class AppendSuccessResponse implements IdentifiedDataSerializable {
     private int term;
     private long lastLogIndex;
     private long queryRound;
+    private long requestTimestamp;
 
     public AppendSuccessResponse() {
     }
 
-    public AppendSuccessResponse(RaftEndpoint follower, int term, long lastLogIndex, long queryRound) {
+    public AppendSuccessResponse(RaftEndpoint follower, int term, long lastLogIndex, long queryRound,
+                                 long requestTimestamp) {
         this.follower = follower;
         this.term = term;
         this.lastLogIndex = lastLogIndex;
         this.queryRound = queryRound;
+        this.requestTimestamp = requestTimestamp;
     }
 
     public RaftEndpoint follower() {
@@ -67,6 +70,15 @@ public class AppendSuccessResponse implements IdentifiedDataSerializable {
         return queryRound;
     }
 
+    /**
+     * Returns the {@link AppendRequest#timestamp()} of the acknowledged
+     * append request, or {@code 0} if the response does not acknowledge
+     * an append request.
+     */
+    public long requestTimestamp() {
+        return requestTimestamp;
+    }
+
     @Override
     public int getFactoryId() {
         return RaftDataSerializerHook.F_ID;
@@ -83,6 +95,7 @@ public class AppendSuccessResponse implements IdentifiedDataSerializable {
         out.writeObject(follower);
         out.writeLong(lastLogIndex);
         out.writeLong(queryRound);
+        out.writeLong(requestTimestamp);
     }
 
     @Override
@@ -91,12 +104,13 @@ public class AppendSuccessResponse implements IdentifiedDataSerializable {
         follower = in.readObject();
         lastLogIndex = in.readLong();
         queryRound = in.readLong();
+        requestTimestamp = in.readLong();
     }
 
     @Override
     public String toString() {
         return "AppendSuccessResponse{" + "follower=" + follower + ", term=" + term  + ", lastLogIndex="
-                + lastLogIndex + ", queryRound=" + queryRound + '}';
+                + lastLogIndex + ", queryRound=" + queryRound + ", requestTimestamp=" + requestTimestamp + '}';
     }
 
 }
@@ -86,6 +86,11 @@ public class AppendSuccessResponseHandlerTask extends AbstractResponseHandlerTas
         FollowerState followerState = leaderState.getFollowerState(follower);
         QueryState queryState = leaderState.queryState();
 
+        if (resp.term() == state.term()) {
+            // the follower has received an append request of the current term
+            followerState.appendSuccessResponseReceived(resp.requestTimestamp());
+        }
+
         if (queryState.tryAck(resp.queryRound(), follower)) {
             if (logger.isFineEnabled()) {
                 logger.fine("Ack from " + follower + " for query round: " + resp.queryRound());
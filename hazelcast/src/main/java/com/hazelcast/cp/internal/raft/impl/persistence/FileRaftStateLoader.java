@@ -0,0 +1,186 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cp.internal.raft.impl.persistence;
+
+import com.hazelcast.cp.internal.raft.impl.RaftEndpoint;
+import com.hazelcast.cp.internal.raft.impl.log.LogEntry;
+import com.hazelcast.cp.internal.raft.impl.log.SnapshotEntry;
+import com.hazelcast.internal.nio.BufferObjectDataInput;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.MEMBERS_FILE;
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.SEGMENT_PREFIX;
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.SEGMENT_SUFFIX;
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.SNAPSHOT_PREFIX;
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.SNAPSHOT_SUFFIX;
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.TERM_FILE;
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.listFiles;
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.map;
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.readRecord;
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.readRecordFile;
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.segmentFile;
+import static com.hazelcast.internal.nio.IOUtil.unmapQuietly;
+
+/**
+ * Restores the Raft state persisted by {@link FileRaftStateStore}.
+ * <p>
+ * The log segments are memory-mapped and read in the order of their
+ * indices, each one is unmapped as soon as its entries are read. The log ends at the first torn record or at the first gap in the
+ * indices, the store continues the log from there when it is created with
+ * the {@link #logFileStructure()} of the loaded log.
+ */
+public class FileRaftStateLoader implements RaftStateLoader {
+
+    private static final int INITIAL_OFFSETS_LENGTH = 1024;
+
+    private final File dir;
+    private final InternalSerializationService serializationService;
+
+    private LogFileStructure logFileStructure;
+
+    public FileRaftStateLoader(@Nonnull File dir, @Nonnull InternalSerializationService serializationService) {
+        this.dir = dir;
+        this.serializationService = serializationService;
+    }
+
+    /**
+     * Returns {@code true} if the directory contains the state of a Raft
+     * node, {@code false} if the node was stopped before it persisted its
+     * initial members.
+     */
+    public boolean hasState() {
+        return new File(dir, MEMBERS_FILE).exists();
+    }
+
+    @Nonnull
+    @Override
+    public RestoredRaftState load() throws IOException {
+        byte[] members = readRecordFile(new File(dir, MEMBERS_FILE));
+        if (members == null) {
+            throw new IOException("No Raft state in " + dir);
+        }
+        BufferObjectDataInput in = serializationService.createObjectDataInput(members);
+        RaftEndpoint localEndpoint = in.readObject();
+        int memberCount = in.readInt();
+        Collection<RaftEndpoint> initialMembers = new ArrayList<>(memberCount);
+        for (int i = 0; i < memberCount; i++) {
+            initialMembers.add(in.readObject());
+        }
+
+        int term = 0;
+        RaftEndpoint votedFor = null;
+        byte[] termRecord = readRecordFile(new File(dir, TERM_FILE));
+        if (termRecord != null) {
+            in = serializationService.createObjectDataInput(termRecord);
+            term = in.readInt();
+            votedFor = in.readObject();
+        }
+
+        SnapshotEntry snapshot = loadSnapshot();
+        LogEntry[] entries = loadEntries(snapshot != null ? snapshot.index() : 0);
+        return new RestoredRaftState(localEndpoint, initialMembers, term, votedFor, snapshot, entries);
+    }
+
+    /**
+     * Returns the structure of the last segment of the loaded log, to be
+     * passed to the {@link FileRaftStateStore} of the restored Raft node.
+     * Available after {@link #load()} returns.
+     */
+    @Nullable
+    public LogFileStructure logFileStructure() {
+        return logFileStructure;
+    }
+
+    private SnapshotEntry loadSnapshot() throws IOException {
+        // a newer snapshot can be torn if the member crashed while writing it
+        for (File file : listFiles(dir, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX).descendingMap().values()) {
+            MappedByteBuffer buffer = map(file);
+            byte[] bytes;
+            try {
+                bytes = readRecord(buffer);
+            } finally {
+                unmapQuietly(buffer);
+            }
+            if (bytes != null) {
+                return serializationService.toObject(new HeapData(bytes));
+            }
+        }
+        return null;
+    }
+
+    private LogEntry[] loadEntries(long snapshotIndex) throws IOException {
+        List<LogEntry> entries = new ArrayList<>();
+        long nextIndex = snapshotIndex + 1;
+        TreeMap<Long, File> segments = listFiles(dir, SEGMENT_PREFIX, SEGMENT_SUFFIX);
+        logFileStructure = new LogFileStructure(segmentFile(dir, nextIndex).getName(), new long[0], nextIndex);
+
+        for (Entry<Long, File> segment : segments.entrySet()) {
+            long firstIndex = segment.getKey();
+            if (firstIndex > nextIndex) {
+                // entries are missing
+                break;
+            }
+            MappedByteBuffer buffer = map(segment.getValue());
+            long[] offsets = new long[INITIAL_OFFSETS_LENGTH];
+            int count = 0;
+            boolean intact = true;
+            try {
+                for (int offset = 0; buffer.hasRemaining(); offset = buffer.position()) {
+                    byte[] bytes = readRecord(buffer);
+                    if (bytes == null) {
+                        intact = false;
+                        break;
+                    }
+                    LogEntry entry = serializationService.toObject(new HeapData(bytes));
+                    if (entry.index() != firstIndex + count) {
+                        intact = false;
+                        break;
+                    }
+                    if (count == offsets.length) {
+                        offsets = Arrays.copyOf(offsets, count * 2);
+                    }
+                    offsets[count++] = offset;
+                    if (entry.index() == nextIndex) {
+                        entries.add(entry);
+                        nextIndex++;
+                    }
+                }
+            } finally {
+                // the entries are deserialized from copies of the records
+                unmapQuietly(buffer);
+            }
+            logFileStructure = new LogFileStructure(segment.getValue().getName(), Arrays.copyOf(offsets, count), firstIndex);
+            if (!intact) {
+                break;
+            }
+        }
+        return entries.toArray(new LogEntry[0]);
+    }
+}
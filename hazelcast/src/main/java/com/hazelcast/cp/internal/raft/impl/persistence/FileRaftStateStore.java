@@ -0,0 +1,348 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cp.internal.raft.impl.persistence;
+
+import com.hazelcast.cp.internal.raft.impl.RaftEndpoint;
+import com.hazelcast.cp.internal.raft.impl.log.LogEntry;
+import com.hazelcast.cp.internal.raft.impl.log.SnapshotEntry;
+import com.hazelcast.internal.nio.BufferObjectDataOutput;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.EOFException;
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Map.Entry;
+import java.util.TreeMap;
+
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.MEMBERS_FILE;
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.RECORD_HEADER_SIZE;
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.SEGMENT_PREFIX;
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.SEGMENT_SUFFIX;
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.SNAPSHOT_PREFIX;
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.SNAPSHOT_SUFFIX;
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.TERM_FILE;
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.checksum;
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.forceDirectory;
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.listFiles;
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.recordOffsets;
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.segmentFile;
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.snapshotFile;
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.writeFully;
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.writeRecordFile;
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.IOUtil.closeResource;
+import static com.hazelcast.internal.nio.IOUtil.delete;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * Persists the state of a Raft node into a directory of its own, the files
+ * are described in {@link RaftStateFiles}.
+ * <p>
+ * The log entries are appended to the last segment file through a write
+ * buffer and become durable when {@link #flushLogs()} is called. The Raft
+ * node calls it once for all the entries appended since the previous flush,
+ * so a single fsync commits the whole batch. The initial members, the term
+ * and the snapshots replace their previous files atomically and are durable
+ * when the call returns.
+ * <p>
+ * The segments and the snapshots which precede a persisted snapshot are
+ * deleted on the next flush.
+ * <p>
+ * The store is not thread-safe, it is called only by the Raft node.
+ *
+ * @see FileRaftStateLoader
+ */
+public class FileRaftStateStore implements RaftStateStore {
+
+    /**
+     * Default size after which a new segment file is started
+     */
+    public static final int DEFAULT_MAX_SEGMENT_SIZE = 64 * 1024 * 1024;
+
+    private static final int WRITE_BUFFER_SIZE = 64 * 1024;
+    private static final int INITIAL_OFFSETS_LENGTH = 1024;
+
+    private final File dir;
+    private final InternalSerializationService serializationService;
+    private final LogFileStructure logFileStructure;
+    private final long maxSegmentSize;
+    private final ByteBuffer writeBuffer = ByteBuffer.allocate(WRITE_BUFFER_SIZE);
+    // first entry index -> file, for the segments before the tail segment
+    private final TreeMap<Long, File> segments = new TreeMap<>();
+
+    private File tailFile;
+    private FileChannel tailChannel;
+    private long tailFirstIndex;
+    private long[] tailOffsets = new long[INITIAL_OFFSETS_LENGTH];
+    private int tailEntryCount;
+    // includes the bytes in the write buffer
+    private long tailSize;
+    private long evictionSnapshotIndex;
+
+    /**
+     * @param dir                  the directory of the Raft node
+     * @param serializationService used to serialize the entries and endpoints
+     * @param logFileStructure     the structure of the restored log, as
+     *                             returned by {@link FileRaftStateLoader#logFileStructure()},
+     *                             or {@code null} to start with an empty
+     *                             directory
+     * @param maxSegmentSize       the size after which a new segment file is started
+     */
+    public FileRaftStateStore(
+            @Nonnull File dir,
+            @Nonnull InternalSerializationService serializationService,
+            @Nullable LogFileStructure logFileStructure,
+            long maxSegmentSize
+    ) {
+        this.dir = dir;
+        this.serializationService = serializationService;
+        this.logFileStructure = logFileStructure;
+        this.maxSegmentSize = checkPositive("maxSegmentSize", maxSegmentSize);
+    }
+
+    @Override
+    public void open() throws IOException {
+        if (!dir.exists() && !dir.mkdirs()) {
+            throw new IOException("Could not create Raft state directory: " + dir);
+        }
+        if (logFileStructure == null) {
+            // a new Raft node, the files of a previous node are stale
+            File[] files = dir.listFiles();
+            if (files != null) {
+                for (File file : files) {
+                    delete(file);
+                }
+            }
+            return;
+        }
+        segments.putAll(listFiles(dir, SEGMENT_PREFIX, SEGMENT_SUFFIX));
+        openTail(new File(dir, logFileStructure.filename()), logFileStructure.indexOfFirstTailEntry(),
+                logFileStructure.tailEntryOffsets());
+    }
+
+    @Override
+    public void persistInitialMembers(
+            @Nonnull RaftEndpoint localMember,
+            @Nonnull Collection<RaftEndpoint> initialMembers
+    ) throws IOException {
+        BufferObjectDataOutput out = serializationService.createObjectDataOutput();
+        out.writeObject(localMember);
+        out.writeInt(initialMembers.size());
+        for (RaftEndpoint member : initialMembers) {
+            out.writeObject(member);
+        }
+        writeRecordFile(new File(dir, MEMBERS_FILE), out.toByteArray());
+    }
+
+    @Override
+    public void persistTerm(int term, @Nullable RaftEndpoint votedFor) throws IOException {
+        BufferObjectDataOutput out = serializationService.createObjectDataOutput();
+        out.writeInt(term);
+        out.writeObject(votedFor);
+        writeRecordFile(new File(dir, TERM_FILE), out.toByteArray());
+    }
+
+    @Override
+    public void persistEntry(@Nonnull LogEntry entry) throws IOException {
+        if (tailChannel == null || tailSize >= maxSegmentSize || entry.index() != tailFirstIndex + tailEntryCount) {
+            // the index doesn't follow the tail after a snapshot was installed
+            rollSegment(entry.index());
+        }
+        byte[] bytes = serializationService.toBytes(entry);
+        if (tailEntryCount == tailOffsets.length) {
+            tailOffsets = Arrays.copyOf(tailOffsets, tailEntryCount * 2);
+        }
+        tailOffsets[tailEntryCount++] = tailSize;
+        tailSize += RECORD_HEADER_SIZE + bytes.length;
+
+        if (writeBuffer.remaining() < RECORD_HEADER_SIZE + bytes.length) {
+            drainWriteBuffer();
+        }
+        if (writeBuffer.remaining() >= RECORD_HEADER_SIZE + bytes.length) {
+            writeBuffer.putInt(bytes.length).putInt(checksum(bytes)).put(bytes);
+        } else {
+            writeFully(tailChannel, RaftStateFiles.record(bytes));
+        }
+    }
+
+    @Override
+    public void persistSnapshot(@Nonnull SnapshotEntry entry) throws IOException {
+        writeRecordFile(snapshotFile(dir, entry.index()), serializationService.toBytes(entry));
+        evictionSnapshotIndex = entry.index();
+    }
+
+    @Override
+    public void deleteEntriesFrom(long startIndexInclusive) throws IOException {
+        if (tailChannel == null) {
+            return;
+        }
+        drainWriteBuffer();
+        if (startIndexInclusive < tailFirstIndex) {
+            // the rolled back entries begin in a previous segment
+            closeTail(true);
+            Iterator<File> it = segments.tailMap(startIndexInclusive, true).values().iterator();
+            while (it.hasNext()) {
+                delete(it.next());
+                it.remove();
+            }
+            Entry<Long, File> last = segments.lastEntry();
+            if (last == null) {
+                return;
+            }
+            openTail(last.getValue(), last.getKey(), recordOffsets(last.getValue()));
+        }
+        int entryCount = (int) Math.max(0, startIndexInclusive - tailFirstIndex);
+        if (entryCount < tailEntryCount) {
+            truncateTail(entryCount, tailOffsets[entryCount]);
+        }
+    }
+
+    @Override
+    public void flushLogs() throws IOException {
+        if (tailChannel != null) {
+            drainWriteBuffer();
+            tailChannel.force(false);
+        }
+        if (evictionSnapshotIndex > 0) {
+            evictUntil(evictionSnapshotIndex);
+            evictionSnapshotIndex = 0;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (tailChannel != null) {
+            drainWriteBuffer();
+            tailChannel.force(false);
+            closeTail(false);
+        }
+    }
+
+    private void openTail(File file, long firstIndex, long[] offsets) throws IOException {
+        // the loader ignores the segments after a torn tail
+        Iterator<File> it = segments.tailMap(firstIndex, true).values().iterator();
+        while (it.hasNext()) {
+            File segment = it.next();
+            if (!segment.equals(file)) {
+                delete(segment);
+            }
+            it.remove();
+        }
+
+        tailFile = file;
+        tailChannel = FileChannel.open(file.toPath(), CREATE, READ, WRITE);
+        tailFirstIndex = firstIndex;
+        tailOffsets = Arrays.copyOf(offsets, Math.max(offsets.length, INITIAL_OFFSETS_LENGTH));
+        tailEntryCount = offsets.length;
+        long end = 0;
+        if (tailEntryCount > 0) {
+            long lastOffset = offsets[tailEntryCount - 1];
+            ByteBuffer length = ByteBuffer.allocate(INT_SIZE_IN_BYTES);
+            while (length.hasRemaining()) {
+                if (tailChannel.read(length, lastOffset + length.position()) < 0) {
+                    throw new EOFException("Unexpected end of Raft log segment: " + file);
+                }
+            }
+            end = lastOffset + RECORD_HEADER_SIZE + length.getInt(0);
+        }
+        // drop the torn record after the last intact one
+        tailChannel.truncate(end);
+        tailChannel.position(end);
+        tailSize = end;
+    }
+
+    private void rollSegment(long firstIndex) throws IOException {
+        if (tailChannel != null) {
+            drainWriteBuffer();
+            tailChannel.force(false);
+            closeTail(tailEntryCount == 0);
+        }
+        tailFile = segmentFile(dir, firstIndex);
+        tailChannel = FileChannel.open(tailFile.toPath(), CREATE, READ, WRITE, TRUNCATE_EXISTING);
+        tailFirstIndex = firstIndex;
+        tailEntryCount = 0;
+        tailSize = 0;
+        forceDirectory(dir);
+    }
+
+    private void closeTail(boolean deleteFile) throws IOException {
+        writeBuffer.clear();
+        closeResource(tailChannel);
+        tailChannel = null;
+        if (deleteFile) {
+            delete(tailFile);
+        } else {
+            segments.put(tailFirstIndex, tailFile);
+        }
+        tailFile = null;
+        tailEntryCount = 0;
+        tailSize = 0;
+    }
+
+    private void truncateTail(int entryCount, long size) throws IOException {
+        tailChannel.truncate(size);
+        tailChannel.position(size);
+        tailEntryCount = entryCount;
+        tailSize = size;
+    }
+
+    private void drainWriteBuffer() throws IOException {
+        writeBuffer.flip();
+        writeFully(tailChannel, writeBuffer);
+        writeBuffer.clear();
+    }
+
+    /**
+     * Deletes the segments whose entries are all included in the snapshot at
+     * the given index and the snapshots before it.
+     */
+    private void evictUntil(long snapshotIndex) throws IOException {
+        for (File snapshot : listFiles(dir, SNAPSHOT_PREFIX, SNAPSHOT_SUFFIX).headMap(snapshotIndex).values()) {
+            delete(snapshot);
+        }
+        long tailBound = tailChannel != null ? tailFirstIndex : Long.MAX_VALUE;
+        if (tailChannel != null && tailFirstIndex + tailEntryCount - 1 <= snapshotIndex) {
+            closeTail(true);
+        }
+        Iterator<Entry<Long, File>> it = segments.entrySet().iterator();
+        while (it.hasNext()) {
+            Entry<Long, File> segment = it.next();
+            // the first index of the next segment bounds the indices of this one
+            Long nextFirstIndex = segments.higherKey(segment.getKey());
+            if (nextFirstIndex == null) {
+                nextFirstIndex = tailBound;
+            }
+            if (nextFirstIndex - 1 > snapshotIndex) {
+                break;
+            }
+            delete(segment.getValue());
+            it.remove();
+        }
+        forceDirectory(dir);
+    }
+}
@@ -0,0 +1,219 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cp.internal.raft.impl.persistence;
+
+import com.hazelcast.internal.nio.IOUtil;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.util.Arrays;
+import java.util.TreeMap;
+import java.util.zip.CRC32;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.util.EmptyStatement.ignore;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.CREATE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.TRUNCATE_EXISTING;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * The files written by {@link FileRaftStateStore} into the directory of a
+ * Raft node:
+ * <ul>
+ *     <li>{@value #MEMBERS_FILE}: the local endpoint and the initial members,
+ *     <li>{@value #TERM_FILE}: the term and the endpoint voted for,
+ *     <li>{@code snapshot-<index>.bin}: the latest snapshot entry,
+ *     <li>{@code log-<index>.seg}: append-only segments of the log entries,
+ *     named after the index of their first entry.
+ * </ul>
+ * All the data is written in records of the data length, the CRC32 checksum
+ * and the data bytes. A record which is cut short or fails the checksum is
+ * the torn write of a crash and marks the end of a segment.
+ */
+public final class RaftStateFiles {
+
+    static final String MEMBERS_FILE = "members.bin";
+    static final String TERM_FILE = "term.bin";
+    static final String SNAPSHOT_PREFIX = "snapshot-";
+    static final String SNAPSHOT_SUFFIX = ".bin";
+    static final String SEGMENT_PREFIX = "log-";
+    static final String SEGMENT_SUFFIX = ".seg";
+    static final int RECORD_HEADER_SIZE = 2 * INT_SIZE_IN_BYTES;
+
+    private static final String TMP_SUFFIX = ".tmp";
+    private static final int INITIAL_OFFSETS_LENGTH = 64;
+
+    private RaftStateFiles() {
+    }
+
+    static File segmentFile(File dir, long firstIndex) {
+        return new File(dir, String.format("%s%020d%s", SEGMENT_PREFIX, firstIndex, SEGMENT_SUFFIX));
+    }
+
+    static File snapshotFile(File dir, long index) {
+        return new File(dir, String.format("%s%020d%s", SNAPSHOT_PREFIX, index, SNAPSHOT_SUFFIX));
+    }
+
+    /**
+     * Returns the files of the directory named {@code prefix<index>suffix}
+     * sorted by the index.
+     */
+    static TreeMap<Long, File> listFiles(File dir, String prefix, String suffix) {
+        TreeMap<Long, File> files = new TreeMap<>();
+        String[] names = dir.list();
+        if (names == null) {
+            return files;
+        }
+        for (String name : names) {
+            if (name.startsWith(prefix) && name.endsWith(suffix)) {
+                try {
+                    files.put(Long.parseLong(name.substring(prefix.length(), name.length() - suffix.length())),
+                            new File(dir, name));
+                } catch (NumberFormatException e) {
+                    // not written by the store
+                    ignore(e);
+                }
+            }
+        }
+        return files;
+    }
+
+    static int checksum(byte[] bytes) {
+        CRC32 crc = new CRC32();
+        crc.update(bytes, 0, bytes.length);
+        return (int) crc.getValue();
+    }
+
+    static ByteBuffer record(byte[] bytes) {
+        ByteBuffer record = ByteBuffer.allocate(RECORD_HEADER_SIZE + bytes.length);
+        record.putInt(bytes.length).putInt(checksum(bytes)).put(bytes);
+        record.flip();
+        return record;
+    }
+
+    /**
+     * Reads the record at the position of the buffer and moves the position
+     * after it.
+     *
+     * @return the data of the record or {@code null} if the record is torn
+     */
+    static byte[] readRecord(ByteBuffer buffer) {
+        if (buffer.remaining() < RECORD_HEADER_SIZE) {
+            return null;
+        }
+        int length = buffer.getInt();
+        int checksum = buffer.getInt();
+        if (length < 0 || buffer.remaining() < length) {
+            return null;
+        }
+        byte[] bytes = new byte[length];
+        buffer.get(bytes);
+        return checksum(bytes) == checksum ? bytes : null;
+    }
+
+    /**
+     * Reads the single record of the file.
+     *
+     * @return the data of the record or {@code null} if the file doesn't exist
+     * @throws IOException if the record is torn
+     */
+    public static byte[] readRecordFile(File file) throws IOException {
+        if (!file.exists()) {
+            return null;
+        }
+        MappedByteBuffer buffer = map(file);
+        byte[] bytes;
+        try {
+            bytes = readRecord(buffer);
+        } finally {
+            IOUtil.unmapQuietly(buffer);
+        }
+        if (bytes == null) {
+            throw new IOException("Corrupted Raft state file: " + file);
+        }
+        return bytes;
+    }
+
+    /**
+     * Returns the offsets of the intact records at the beginning of the file.
+     */
+    static long[] recordOffsets(File file) throws IOException {
+        MappedByteBuffer buffer = map(file);
+        try {
+            long[] offsets = new long[INITIAL_OFFSETS_LENGTH];
+            int count = 0;
+            for (int offset = 0; readRecord(buffer) != null; offset = buffer.position()) {
+                if (count == offsets.length) {
+                    offsets = Arrays.copyOf(offsets, count * 2);
+                }
+                offsets[count++] = offset;
+            }
+            return Arrays.copyOf(offsets, count);
+        } finally {
+            IOUtil.unmapQuietly(buffer);
+        }
+    }
+
+    /**
+     * Maps the whole file for reading. The caller unmaps the buffer with
+     * {@link IOUtil#unmapQuietly(MappedByteBuffer)} when it is done, so the
+     * file can be deleted or truncated without waiting for the GC.
+     */
+    static MappedByteBuffer map(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), READ)) {
+            return channel.map(READ_ONLY, 0, channel.size());
+        }
+    }
+
+    static void writeFully(FileChannel channel, ByteBuffer buffer) throws IOException {
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+    }
+
+    /**
+     * Replaces the file with a single record of the given data. The record is
+     * written into a temporary file which is then renamed, so a crash leaves
+     * either the previous or the new record in the file.
+     */
+    public static void writeRecordFile(File file, byte[] bytes) throws IOException {
+        File tmp = new File(file.getParentFile(), file.getName() + TMP_SUFFIX);
+        try (FileChannel channel = FileChannel.open(tmp.toPath(), CREATE, WRITE, TRUNCATE_EXISTING)) {
+            writeFully(channel, record(bytes));
+            channel.force(true);
+        }
+        IOUtil.rename(tmp, file);
+        forceDirectory(file.getParentFile());
+    }
+
+    /**
+     * Makes the created, renamed and deleted files of the directory durable.
+     */
+    static void forceDirectory(File dir) {
+        try (FileChannel channel = FileChannel.open(dir.toPath(), READ)) {
+            channel.force(true);
+        } catch (IOException e) {
+            // directories can't be opened on some platforms, e.g. on Windows
+            ignore(e);
+        }
+    }
+}
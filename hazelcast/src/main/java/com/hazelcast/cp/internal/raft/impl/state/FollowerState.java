@@ -31,6 +31,8 @@ import static java.lang.Math.min;
  * <li>{@code appendRequestBackoff}: a boolean flag indicating that leader is still
  * waiting for a response to the last sent append request</li>
  * </ul>
+ * It also keeps the latest send timestamp of the append requests acknowledged
+ * by the follower, which determines the leader lease granted by the follower.
  */
 public class FollowerState {
 
@@ -46,6 +48,8 @@ public class FollowerState {
 
     private long appendRequestAckTimestamp;
 
+    private long leaseTimestamp;
+
     FollowerState(long matchIndex, long nextIndex) {
         this.matchIndex = matchIndex;
         this.nextIndex = nextIndex;
@@ -133,9 +137,33 @@ public class FollowerState {
         return appendRequestAckTimestamp;
     }
 
+    /**
+     * Renews the lease granted by the follower on a successful append
+     * response. The follower has received the acknowledged append request
+     * after the leader sent it, hence the lease starts from the send
+     * timestamp echoed in the response. Several append requests can be in
+     * flight and their responses can be reordered, so the lease is renewed
+     * only from the send timestamp of the acknowledged request itself.
+     *
+     * @param requestTimestamp send timestamp of the acknowledged append
+     *                         request, or {@code 0} if not known
+     */
+    public void appendSuccessResponseReceived(long requestTimestamp) {
+        leaseTimestamp = Math.max(leaseTimestamp, requestTimestamp);
+    }
+
+    /**
+     * Returns the send timestamp of the last append request
+     * acknowledged by the follower, or {@code 0} if there is not any.
+     */
+    public long leaseTimestamp() {
+        return leaseTimestamp;
+    }
+
     @Override
     public String toString() {
         return "FollowerState{" + "matchIndex=" + matchIndex + ", nextIndex=" + nextIndex + ", backoffRound=" + backoffRound
-                + ", nextBackoffPower=" + nextBackoffPower + ", appendRequestAckTime=" + appendRequestAckTimestamp + '}';
+                + ", nextBackoffPower=" + nextBackoffPower + ", appendRequestAckTime=" + appendRequestAckTimestamp
+                + ", leaseTimestamp=" + leaseTimestamp + '}';
     }
 }
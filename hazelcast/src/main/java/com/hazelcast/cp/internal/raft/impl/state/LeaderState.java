@@ -35,6 +35,7 @@ public class LeaderState {
     private final Map<RaftEndpoint, FollowerState> followerStates = new HashMap<>();
     private final QueryState queryState = new QueryState();
     private long flushedLogIndex;
+    private boolean leaseRevoked;
 
     LeaderState(Collection<RaftEndpoint> remoteMembers, long lastLogIndex) {
         for (RaftEndpoint follower : remoteMembers) {
@@ -120,4 +121,37 @@ public class LeaderState {
         return ackTimes[ackTimes.length - majority];
     }
 
+    /**
+     * Returns the earliest lease timestamp of the majority nodes, that is,
+     * the time until which the majority has not voted for another candidate.
+     * Returns {@code 0} if the leader lease is revoked.
+     *
+     * @see FollowerState#leaseTimestamp()
+     */
+    public long majorityLeaseTimestamp(int majority) {
+        if (leaseRevoked) {
+            return 0;
+        }
+
+        long[] leaseTimes = new long[followerStates.size() + 1];
+        int i = 0;
+        leaseTimes[i] = Clock.currentTimeMillis();
+        for (FollowerState followerState : followerStates.values()) {
+            leaseTimes[++i] = followerState.leaseTimestamp();
+        }
+
+        Arrays.sort(leaseTimes);
+
+        return leaseTimes[leaseTimes.length - majority];
+    }
+
+    /**
+     * Revokes the leader lease for the rest of the leader's term. Followers
+     * can vote for another candidate before the lease ends, e.g. after
+     * a leadership transfer is initiated.
+     */
+    public void revokeLease() {
+        leaseRevoked = true;
+    }
+
 }
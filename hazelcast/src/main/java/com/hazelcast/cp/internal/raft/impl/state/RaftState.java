@@ -578,6 +578,10 @@ public final class RaftState {
     public boolean initLeadershipTransfer(RaftEndpoint targetEndpoint, InternalCompletableFuture resultFuture) {
         if (leadershipTransferState == null) {
             leadershipTransferState = new LeadershipTransferState(term, targetEndpoint, resultFuture);
+            if (leaderState != null) {
+                // the target endpoint is elected with disruptive votes, bypassing the leader stickiness
+                leaderState.revokeLease();
+            }
             return true;
         }
 
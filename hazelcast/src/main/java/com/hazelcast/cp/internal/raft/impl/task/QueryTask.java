@@ -110,12 +110,18 @@ public class QueryTask implements Runnable {
     }
 
     private void handleLinearizableRead() {
+        RaftState state = raftNode.state();
+        if (state.role() == LEADER && raftNode.canQueryWithLeaderLease()) {
+            handleLeaderLeaseRead();
+            return;
+        }
+
         if (!raftNode.isLinearizableReadOptimizationEnabled()) {
+            raftNode.incrementQuorumReadCount();
             new ReplicateTask(raftNode, operation, resultFuture).run();
             return;
         }
 
-        RaftState state = raftNode.state();
         if (state.role() != LEADER) {
             resultFuture.completeExceptionally(
                     new NotLeaderException(raftNode.getGroupId(), raftNode.getLocalMember(), state.leader()));
@@ -134,11 +140,21 @@ public class QueryTask implements Runnable {
             logger.fine("Adding query at commit index: " + commitIndex + ", query round: " + queryState.queryRound());
         }
 
+        raftNode.incrementQuorumReadCount();
         if (queryState.addQuery(commitIndex, operation, resultFuture) == 1) {
             raftNode.broadcastAppendRequest();
         }
     }
 
+    private void handleLeaderLeaseRead() {
+        if (logger.isFineEnabled()) {
+            logger.fine("Querying: " + operation + " with leader lease in term: " + raftNode.state().term());
+        }
+
+        raftNode.incrementLeaseReadCount();
+        raftNode.runQuery(operation, resultFuture);
+    }
+
     private boolean verifyOperation() {
         if (operation instanceof RaftGroupCmd) {
             resultFuture.completeExceptionally(new IllegalArgumentException("cannot run query: " + operation));
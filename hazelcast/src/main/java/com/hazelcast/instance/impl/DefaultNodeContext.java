@@ -45,6 +45,8 @@ import static com.hazelcast.internal.util.ThreadAffinity.newSystemThreadAffinity
 import static com.hazelcast.spi.properties.ClusterProperty.IO_BALANCER_INTERVAL_SECONDS;
 import static com.hazelcast.spi.properties.ClusterProperty.IO_INPUT_THREAD_COUNT;
 import static com.hazelcast.spi.properties.ClusterProperty.IO_OUTPUT_THREAD_COUNT;
+import static com.hazelcast.spi.properties.ClusterProperty.IO_WRITE_QUEUE_HIGH_WATERMARK;
+import static com.hazelcast.spi.properties.ClusterProperty.IO_WRITE_QUEUE_LOW_WATERMARK;
 import static com.hazelcast.spi.properties.ClusterProperty.IO_WRITE_THROUGH_ENABLED;
 import static java.util.Arrays.asList;
 import static java.util.Collections.unmodifiableList;
@@ -175,6 +177,8 @@ public class DefaultNodeContext implements NodeContext {
                         .outputThreadAffinity(newSystemThreadAffinity("hazelcast.io.output.thread.affinity"))
                         .balancerIntervalSeconds(props.getInteger(IO_BALANCER_INTERVAL_SECONDS))
                         .writeThroughEnabled(props.getBoolean(IO_WRITE_THROUGH_ENABLED))
+                        .writeQueueHighWatermark(props.getLong(IO_WRITE_QUEUE_HIGH_WATERMARK))
+                        .writeQueueLowWatermark(props.getLong(IO_WRITE_QUEUE_LOW_WATERMARK))
                         .concurrencyDetection(node.nodeEngine.getConcurrencyDetection())
         );
     }
@@ -34,7 +34,10 @@ import com.hazelcast.config.SymmetricEncryptionConfig;
 import com.hazelcast.config.cp.CPSubsystemConfig;
 import com.hazelcast.core.HazelcastInstanceAware;
 import com.hazelcast.core.HazelcastInstanceNotActiveException;
+import com.hazelcast.cp.CPMember;
+import com.hazelcast.cp.internal.RaftService;
 import com.hazelcast.cp.internal.persistence.CPPersistenceService;
+import com.hazelcast.cp.internal.persistence.FileCPPersistenceService;
 import com.hazelcast.cp.internal.persistence.NopCPPersistenceService;
 import com.hazelcast.hotrestart.HotRestartService;
 import com.hazelcast.instance.BuildInfo;
@@ -112,9 +115,11 @@ import com.hazelcast.version.Version;
 import com.hazelcast.wan.impl.WanReplicationService;
 import com.hazelcast.wan.impl.WanReplicationServiceImpl;
 
+import java.io.IOException;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.UUID;
 import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.function.Function;
 import java.util.function.Supplier;
@@ -126,6 +131,7 @@ import static com.hazelcast.config.InstanceTrackingConfig.InstanceTrackingProper
 import static com.hazelcast.config.InstanceTrackingConfig.InstanceTrackingProperties.PRODUCT;
 import static com.hazelcast.config.InstanceTrackingConfig.InstanceTrackingProperties.START_TIMESTAMP;
 import static com.hazelcast.config.InstanceTrackingConfig.InstanceTrackingProperties.VERSION;
+import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
 import static com.hazelcast.internal.util.InstanceTrackingUtil.writeInstanceTrackingFile;
 import static com.hazelcast.jet.impl.util.Util.JET_IS_DISABLED_MESSAGE;
 import static com.hazelcast.jet.impl.util.Util.checkJetIsEnabled;
@@ -151,6 +157,7 @@ public class DefaultNodeExtension implements NodeExtension, JetPacketConsumer {
     protected JetExtension jetExtension;
 
     private final MemoryStats memoryStats = new DefaultMemoryStats();
+    private final CPPersistenceService cpPersistenceService;
 
     public DefaultNodeExtension(Node node) {
         this.node = node;
@@ -159,6 +166,9 @@ public class DefaultNodeExtension implements NodeExtension, JetPacketConsumer {
         this.systemLogger = node.getLogger("com.hazelcast.system");
         checkSecurityAllowed();
         checkPersistenceAllowed();
+        CPSubsystemConfig cpSubsystemConfig = node.getConfig().getCPSubsystemConfig();
+        this.cpPersistenceService = cpSubsystemConfig != null && cpSubsystemConfig.isPersistenceEnabled()
+                ? new FileCPPersistenceService(node) : NopCPPersistenceService.INSTANCE;
         createAndSetPhoneHome();
 
         if (node.getConfig().getJetConfig().isEnabled()) {
@@ -173,13 +183,6 @@ public class DefaultNodeExtension implements NodeExtension, JetPacketConsumer {
                 throw new IllegalStateException("Hot Restart requires Hazelcast Enterprise Edition");
             }
         }
-
-        CPSubsystemConfig cpSubsystemConfig = node.getConfig().getCPSubsystemConfig();
-        if (cpSubsystemConfig != null && cpSubsystemConfig.isPersistenceEnabled()) {
-            if (!BuildInfoProvider.getBuildInfo().isEnterprise()) {
-                throw new IllegalStateException("CP persistence requires Hazelcast Enterprise Edition");
-            }
-        }
     }
 
     private void checkSecurityAllowed() {
@@ -279,6 +282,30 @@ public class DefaultNodeExtension implements NodeExtension, JetPacketConsumer {
         return "Hazelcast Platform";
     }
 
+    @Override
+    public UUID createMemberUuid() {
+        // a restarted CP member keeps its identity in its CP groups
+        if (cpPersistenceService.isEnabled()) {
+            try {
+                CPMember localCPMember = cpPersistenceService.getCPMetadataStore().readLocalCPMember();
+                if (localCPMember != null) {
+                    return localCPMember.getUuid();
+                }
+            } catch (IOException e) {
+                throw rethrow(e);
+            }
+        }
+        return NodeExtension.super.createMemberUuid();
+    }
+
+    @Override
+    public void beforeJoin() {
+        if (cpPersistenceService instanceof FileCPPersistenceService) {
+            RaftService raftService = node.getNodeEngine().getService(RaftService.SERVICE_NAME);
+            ((FileCPPersistenceService) cpPersistenceService).restore(raftService);
+        }
+    }
+
     @Override
     public void afterStart() {
         if (jetExtension != null) {
@@ -610,7 +637,7 @@ public class DefaultNodeExtension implements NodeExtension, JetPacketConsumer {
 
     @Override
     public CPPersistenceService getCPPersistenceService() {
-        return NopCPPersistenceService.INSTANCE;
+        return cpPersistenceService;
     }
 
     protected void createAndSetPhoneHome() {
@@ -2890,6 +2890,10 @@ public class MemberDomConfigProcessor extends AbstractDomConfigProcessor {
                 raftAlgorithmConfig.setUncommittedEntryCountToRejectNewAppends(Integer.parseInt(getTextContent(child)));
             } else if (matches("append-request-backoff-timeout-in-millis", nodeName)) {
                 raftAlgorithmConfig.setAppendRequestBackoffTimeoutInMillis(Long.parseLong(getTextContent(child)));
+            } else if (matches("leader-lease-reads-enabled", nodeName)) {
+                raftAlgorithmConfig.setLeaderLeaseReadsEnabled(getBooleanValue(getTextContent(child)));
+            } else if (matches("leader-lease-clock-drift-bound-in-millis", nodeName)) {
+                raftAlgorithmConfig.setLeaderLeaseClockDriftBoundInMillis(Long.parseLong(getTextContent(child)));
             }
         }
     }
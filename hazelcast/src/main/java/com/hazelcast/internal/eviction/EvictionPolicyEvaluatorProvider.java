@@ -16,10 +16,12 @@
 
 package com.hazelcast.internal.eviction;
 
+import com.hazelcast.config.EvictionConfig;
 import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.internal.eviction.impl.comparator.LFUEvictionPolicyComparator;
 import com.hazelcast.internal.eviction.impl.comparator.LRUEvictionPolicyComparator;
 import com.hazelcast.internal.eviction.impl.comparator.RandomEvictionPolicyComparator;
+import com.hazelcast.internal.eviction.impl.comparator.TinyLFUEvictionPolicyComparator;
 import com.hazelcast.internal.eviction.impl.evaluator.EvictionPolicyEvaluator;
 import com.hazelcast.internal.nio.ClassLoaderUtil;
 import com.hazelcast.spi.eviction.EvictionPolicyComparator;
@@ -84,10 +86,11 @@ public final class EvictionPolicyEvaluatorProvider {
         }
 
         // 3. As a last resort, try to pick an out-of-the-box comparator implementation
-        return pickOutOfTheBoxComparator(evictionConfig.getEvictionPolicy());
+        return pickOutOfTheBoxComparator(evictionConfig);
     }
 
-    private static EvictionPolicyComparator pickOutOfTheBoxComparator(EvictionPolicy evictionPolicy) {
+    private static EvictionPolicyComparator pickOutOfTheBoxComparator(EvictionConfiguration evictionConfig) {
+        EvictionPolicy evictionPolicy = evictionConfig.getEvictionPolicy();
         switch (evictionPolicy) {
             case LRU:
                 return LRUEvictionPolicyComparator.INSTANCE;
@@ -95,6 +98,11 @@ public final class EvictionPolicyEvaluatorProvider {
                 return LFUEvictionPolicyComparator.INSTANCE;
             case RANDOM:
                 return RandomEvictionPolicyComparator.INSTANCE;
+            case TINY_LFU:
+                // stateful, one instance per store
+                int expectedSize = evictionConfig instanceof EvictionConfig
+                        ? ((EvictionConfig) evictionConfig).getSize() : EvictionConfig.DEFAULT_MAX_ENTRY_COUNT;
+                return new TinyLFUEvictionPolicyComparator(expectedSize);
             case NONE:
                 return null;
             default:
@@ -0,0 +1,140 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.eviction.impl.comparator;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.hazelcast.internal.util.QuickMath.nextPowerOfTwo;
+
+/**
+ * Count-min sketch which estimates the access frequency of keys by their
+ * hash codes, used by {@link TinyLFUEvictionPolicyComparator}.
+ * <p>
+ * The counters take 4 bits and saturate at 15. A key is counted in 4
+ * counters of a single {@code long} for each of the 4 hash functions, its
+ * frequency is the minimum of the counters. The table has a {@code long}
+ * per expected key, so 8 bytes per key. After {@code 10 * tableLength}
+ * increments all the counters are halved, so the frequencies follow the
+ * recent accesses.
+ * <p>
+ * The sketch is thread-safe: the counters are incremented with a CAS on
+ * their {@code long} and the halving updates each {@code long} atomically,
+ * so concurrent increments are neither lost nor undo a halving.
+ */
+final class FrequencySketch {
+
+    static final int MIN_EXPECTED_SIZE = 16;
+    static final int MAX_EXPECTED_SIZE = 1 << 16;
+    static final int MAX_FREQUENCY = 15;
+
+    private static final long[] SEEDS = {
+            0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L,
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final long ONE_MASK = 0x1111111111111111L;
+    private static final int SAMPLE_SIZE_MULTIPLIER = 10;
+    private static final int HASH_COUNT = 4;
+    private static final int SPREAD_MULTIPLIER = 0x45d9f3b;
+    private static final int COUNTER_BITS = 4;
+    private static final int HALF_INT_BITS = 16;
+    private static final int HALF_LONG_BITS = 32;
+
+    private final AtomicLongArray table;
+    private final int tableMask;
+    private final int sampleSize;
+    private final AtomicInteger size = new AtomicInteger();
+
+    FrequencySketch(int expectedSize) {
+        int length = nextPowerOfTwo(Math.min(Math.max(expectedSize, MIN_EXPECTED_SIZE), MAX_EXPECTED_SIZE));
+        this.table = new AtomicLongArray(length);
+        this.tableMask = length - 1;
+        this.sampleSize = SAMPLE_SIZE_MULTIPLIER * length;
+    }
+
+    /**
+     * Returns the estimated number of accesses of the key with the given hash
+     * code, at most {@value #MAX_FREQUENCY}.
+     */
+    int frequency(int keyHash) {
+        int hash = spread(keyHash);
+        int start = (hash & (HASH_COUNT - 1)) * HASH_COUNT;
+        int frequency = MAX_FREQUENCY;
+        for (int i = 0; i < HASH_COUNT; i++) {
+            int shift = (start + i) * COUNTER_BITS;
+            int count = (int) ((table.get(indexOf(hash, i)) >>> shift) & MAX_FREQUENCY);
+            frequency = Math.min(frequency, count);
+        }
+        return frequency;
+    }
+
+    /**
+     * Counts an access of the key with the given hash code.
+     */
+    void increment(int keyHash) {
+        int hash = spread(keyHash);
+        int start = (hash & (HASH_COUNT - 1)) * HASH_COUNT;
+        boolean incremented = false;
+        for (int i = 0; i < HASH_COUNT; i++) {
+            incremented |= incrementAt(indexOf(hash, i), (start + i) * COUNTER_BITS);
+        }
+        // only one of the concurrent increments reaches the sample size
+        if (incremented && size.incrementAndGet() == sampleSize) {
+            reset();
+        }
+    }
+
+    private boolean incrementAt(int index, int shift) {
+        long mask = (long) MAX_FREQUENCY << shift;
+        while (true) {
+            long word = table.get(index);
+            if ((word & mask) == mask) {
+                return false;
+            }
+            if (table.compareAndSet(index, word, word + (1L << shift))) {
+                return true;
+            }
+        }
+    }
+
+    /**
+     * Halves all the counters.
+     */
+    private void reset() {
+        int oddCount = 0;
+        for (int i = 0; i < table.length(); i++) {
+            long word = table.getAndUpdate(i, w -> (w >>> 1) & RESET_MASK);
+            oddCount += Long.bitCount(word & ONE_MASK);
+        }
+        // the halving truncates the odd counters, the increments made
+        // meanwhile stay counted on top of the halved size
+        int halvedSize = (sampleSize >>> 1) - (oddCount >>> 2);
+        size.addAndGet(halvedSize - sampleSize);
+    }
+
+    private int indexOf(int hash, int i) {
+        long h = (hash + SEEDS[i]) * SEEDS[i];
+        h += h >>> HALF_LONG_BITS;
+        return (int) h & tableMask;
+    }
+
+    private static int spread(int hash) {
+        int h = ((hash >>> HALF_INT_BITS) ^ hash) * SPREAD_MULTIPLIER;
+        h = ((h >>> HALF_INT_BITS) ^ h) * SPREAD_MULTIPLIER;
+        return (h >>> HALF_INT_BITS) ^ h;
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.eviction.impl.comparator;
+
+import com.hazelcast.internal.serialization.SerializableByConvention;
+import com.hazelcast.internal.util.SampleableConcurrentHashMap.SamplingEntry;
+import com.hazelcast.spi.eviction.EvictableEntryView;
+import com.hazelcast.spi.eviction.EvictionPolicyComparator;
+
+/**
+ * {@link com.hazelcast.config.EvictionPolicy#TINY_LFU}
+ * policy based {@link EvictionPolicyComparator}.
+ * <p>
+ * The store of the entries reports every access of a key with {@link
+ * #recordAccess(Object)}, the comparator counts them in a {@link
+ * FrequencySketch}. Unlike the hits of a record, the counts survive the
+ * eviction of the key: a scan of keys which are used once can't evict the
+ * frequently used ones, while a key which is used again often gets ahead of
+ * the entries which are rarely used.
+ * <p>
+ * The sketch is allocated on the first comparison, so a store which never
+ * evicts pays only for a volatile read per access. Each store has its own
+ * instance, which can be used by several threads: the partitions of a map
+ * share the instance of the map, and a Near Cache is read by the user
+ * threads. The sketch updates its counters atomically, so accesses counted
+ * during the periodic halving are not lost.
+ */
+@SerializableByConvention
+public class TinyLFUEvictionPolicyComparator
+        implements EvictionPolicyComparator<Object, Object, EvictableEntryView<Object, Object>> {
+
+    private final int expectedSize;
+    private volatile FrequencySketch sketch;
+
+    /**
+     * @param expectedSize the expected number of entries of the store
+     */
+    public TinyLFUEvictionPolicyComparator(int expectedSize) {
+        this.expectedSize = expectedSize;
+    }
+
+    /**
+     * Counts an access of the key in the form it's stored in, e.g. as {@link
+     * com.hazelcast.internal.serialization.Data}.
+     */
+    public void recordAccess(Object key) {
+        FrequencySketch sketch = this.sketch;
+        if (sketch != null) {
+            sketch.increment(key.hashCode());
+        }
+    }
+
+    /**
+     * Returns the estimated access frequency of the key, 0 until the first
+     * comparison.
+     */
+    public int frequency(Object key) {
+        FrequencySketch sketch = this.sketch;
+        return sketch != null ? sketch.frequency(key.hashCode()) : 0;
+    }
+
+    @Override
+    public int compare(EvictableEntryView e1, EvictableEntryView e2) {
+        FrequencySketch sketch = sketch();
+        int result = Integer.compare(sketch.frequency(storedKey(e1).hashCode()),
+                sketch.frequency(storedKey(e2).hashCode()));
+        // if frequencies are same, we try to select least recently used entry to evict
+        return result == 0 ? Long.compare(e1.getLastAccessTime(), e2.getLastAccessTime()) : result;
+    }
+
+    private FrequencySketch sketch() {
+        FrequencySketch sketch = this.sketch;
+        if (sketch == null) {
+            synchronized (this) {
+                sketch = this.sketch;
+                if (sketch == null) {
+                    sketch = new FrequencySketch(expectedSize);
+                    this.sketch = sketch;
+                }
+            }
+        }
+        return sketch;
+    }
+
+    /**
+     * Returns the key without deserializing it, the sampled entries of the
+     * stores are {@link SamplingEntry sampling entries}.
+     */
+    private static Object storedKey(EvictableEntryView entry) {
+        return entry instanceof SamplingEntry ? ((SamplingEntry) entry).getEntryKey() : entry.getKey();
+    }
+
+    @Override
+    public String toString() {
+        return "TinyLFUEvictionPolicyComparator{expectedSize=" + expectedSize + "} ";
+    }
+}
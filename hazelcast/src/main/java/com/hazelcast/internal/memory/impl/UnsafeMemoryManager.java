@@ -0,0 +1,131 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.memory.impl;
+
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.MemoryManager;
+import com.hazelcast.memory.NativeOutOfMemoryError;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM;
+import static com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry.MEM_AVAILABLE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE;
+import static com.hazelcast.internal.memory.impl.UnsafeUtil.UNSAFE_AVAILABLE;
+
+/**
+ * {@link MemoryManager} which allocates blocks outside the Java heap through
+ * {@link sun.misc.Unsafe} and accesses them through the global
+ * {@link com.hazelcast.internal.memory.GlobalMemoryAccessorRegistry#MEM MEM} accessor.
+ * <p>
+ * There is no pooling: every allocation goes straight to the system allocator.
+ * The manager only keeps track of the number of bytes currently allocated, it is
+ * up to the owner to free every block before calling {@link #dispose()}.
+ */
+public final class UnsafeMemoryManager implements MemoryManager {
+
+    private final AtomicLong usedMemory = new AtomicLong();
+    private final Allocator malloc = new Allocator();
+
+    public UnsafeMemoryManager() {
+        if (!isAvailable()) {
+            throw new UnsupportedOperationException("Off-heap memory is not available on this JVM");
+        }
+    }
+
+    /**
+     * @return {@code true} if both {@link sun.misc.Unsafe} and the global memory
+     * accessor are available, so that an {@link UnsafeMemoryManager} can be created
+     */
+    public static boolean isAvailable() {
+        return UNSAFE_AVAILABLE && MEM_AVAILABLE;
+    }
+
+    @Override
+    public MemoryAllocator getAllocator() {
+        return malloc;
+    }
+
+    @Override
+    public MemoryAccessor getAccessor() {
+        return MEM;
+    }
+
+    /**
+     * @return number of bytes currently allocated through this manager
+     */
+    public long getUsedMemory() {
+        return usedMemory.get();
+    }
+
+    @Override
+    public void dispose() {
+        assert usedMemory.get() == 0 : "Disposing memory manager with " + usedMemory.get() + " bytes still allocated";
+    }
+
+    private final class Allocator implements MemoryAllocator {
+
+        @Override
+        public long allocate(long size) {
+            assert size > 0 : "UnsafeMemoryManager.allocate(" + size + ")";
+            long address;
+            try {
+                address = UNSAFE.allocateMemory(size);
+            } catch (OutOfMemoryError e) {
+                throw outOfMemory(size, e);
+            }
+            UNSAFE.setMemory(address, size, (byte) 0);
+            usedMemory.addAndGet(size);
+            return address;
+        }
+
+        @Override
+        public long reallocate(long address, long currentSize, long newSize) {
+            assert address != NULL_ADDRESS && newSize > 0
+                    : String.format("UnsafeMemoryManager.reallocate(%x, %,d, %,d)", address, currentSize, newSize);
+            long newAddress;
+            try {
+                newAddress = UNSAFE.reallocateMemory(address, newSize);
+            } catch (OutOfMemoryError e) {
+                throw outOfMemory(newSize, e);
+            }
+            if (newSize > currentSize) {
+                UNSAFE.setMemory(newAddress + currentSize, newSize - currentSize, (byte) 0);
+            }
+            usedMemory.addAndGet(newSize - currentSize);
+            return newAddress;
+        }
+
+        @Override
+        public void free(long address, long size) {
+            assert address != NULL_ADDRESS : "UnsafeMemoryManager.free(NULL_ADDRESS, " + size + ")";
+            UNSAFE.freeMemory(address);
+            usedMemory.addAndGet(-size);
+        }
+
+        @Override
+        public void dispose() {
+            UnsafeMemoryManager.this.dispose();
+        }
+
+        private NativeOutOfMemoryError outOfMemory(long size, OutOfMemoryError cause) {
+            return new NativeOutOfMemoryError("Cannot allocate " + size
+                    + " bytes of off-heap memory, currently allocated: " + usedMemory.get() + " bytes", cause);
+        }
+    }
+}
@@ -46,6 +46,7 @@ public final class MetricDescriptorConstants {
     public static final String CACHE_METRIC_AVERAGE_GET_TIME = "averageGetTime";
     public static final String CACHE_METRIC_AVERAGE_PUT_TIME = "averagePutTime";
     public static final String CACHE_METRIC_AVERAGE_REMOVAL_TIME = "averageRemovalTime";
+    public static final String CACHE_METRIC_EVICTION_TIME = "evictionTime";
     // ===[/CACHE]======================================================
 
     // ===[CLASS LOADING]===============================================
@@ -105,6 +106,8 @@ public final class MetricDescriptorConstants {
     public static final String CP_METRIC_RAFT_NODE_SNAPSHOT_INDEX = "snapshotIndex";
     public static final String CP_METRIC_RAFT_NODE_LAST_LOG_INDEX = "lastLogIndex";
     public static final String CP_METRIC_RAFT_NODE_AVAILABLE_LOG_CAPACITY = "availableLogCapacity";
+    public static final String CP_METRIC_RAFT_NODE_LEASE_READS = "leaseReads";
+    public static final String CP_METRIC_RAFT_NODE_QUORUM_READS = "quorumReads";
     public static final String CP_METRIC_RAFT_SERVICE_NODES = "nodes";
     public static final String CP_METRIC_RAFT_SERVICE_DESTROYED_GROUP_IDS = "destroyedGroupIds";
     public static final String CP_METRIC_RAFT_SERVICE_TERMINATED_RAFT_NODE_GROUP_IDS = "terminatedRaftNodeGroupIds";
@@ -123,6 +126,9 @@ public final class MetricDescriptorConstants {
     public static final String EVENT_METRIC_EVENT_SERVICE_EVENTS_PROCESSED = "eventsProcessed";
     public static final String EVENT_METRIC_EVENT_SERVICE_SEGMENT_LISTENER_COUNT = "listenerCount";
     public static final String EVENT_METRIC_EVENT_SERVICE_SEGMENT_PUBLICATION_COUNT = "publicationCount";
+    public static final String EVENT_METRIC_EVENT_SERVICE_BATCH_COUNT = "batchCount";
+    public static final String EVENT_METRIC_EVENT_SERVICE_BATCHED_EVENT_COUNT = "batchedEventCount";
+    public static final String EVENT_METRIC_EVENT_SERVICE_TOTAL_BATCH_FLUSH_LATENCY = "totalBatchFlushLatency";
     // ===[/EVENT]======================================================
 
     // ===[EXECUTOR]====================================================
@@ -198,11 +204,16 @@ public final class MetricDescriptorConstants {
     public static final String MAP_PREFIX_INDEX = "map.index";
     public static final String MAP_PREFIX_NEARCACHE = "map.nearcache";
     public static final String MAP_PREFIX_ENTRY_PROCESSOR_OFFLOADABLE_EXECUTOR = "map.entry.processor.offloadable.executor";
+    public static final String MAP_PREFIX_WRITE_BEHIND = "map.writeBehind";
     public static final String MAP_DISCRIMINATOR_NAME = "name";
     public static final String MAP_TAG_INDEX = "index";
     public static final String MAP_METRIC_LAST_ACCESS_TIME = "lastAccessTime";
     public static final String MAP_METRIC_LAST_UPDATE_TIME = "lastUpdateTime";
     public static final String MAP_METRIC_HITS = "hits";
+    public static final String MAP_METRIC_MISSES = "misses";
+    public static final String MAP_METRIC_HIT_RATIO = "hitRatio";
+    public static final String MAP_METRIC_EVICTION_COUNT = "evictionCount";
+    public static final String MAP_METRIC_EVICTION_TIME = "evictionTime";
     public static final String MAP_METRIC_NUMBER_OF_OTHER_OPERATIONS = "numberOfOtherOperations";
     public static final String MAP_METRIC_NUMBER_OF_EVENTS = "numberOfEvents";
     public static final String MAP_METRIC_GET_COUNT = "getCount";
@@ -247,6 +258,12 @@ public final class MetricDescriptorConstants {
             = "fullPartitionReplicationRecordsCount";
     public static final String MAP_METRIC_DIFF_PARTITION_REPLICATION_RECORDS_COUNT
             = "differentialPartitionReplicationRecordsCount";
+    public static final String MAP_METRIC_WRITE_BEHIND_QUEUE_LAG = "queueLag";
+    public static final String MAP_METRIC_WRITE_BEHIND_FLUSH_BATCH_SIZE = "flushBatchSize";
+    public static final String MAP_METRIC_WRITE_BEHIND_FLUSH_COUNT = "flushCount";
+    public static final String MAP_METRIC_WRITE_BEHIND_STORED_ENTRY_COUNT = "storedEntryCount";
+    public static final String MAP_METRIC_WRITE_BEHIND_FAILED_ENTRY_COUNT = "failedEntryCount";
+    public static final String MAP_METRIC_WRITE_BEHIND_TOTAL_STORE_LATENCY = "totalStoreLatency";
     // ===[/MAP]========================================================
 
     // ===[MEMORY]======================================================
@@ -282,6 +299,11 @@ public final class MetricDescriptorConstants {
     public static final String MIGRATION_METRIC_TOTAL_ELAPSED_MIGRATION_OPERATION_TIME = "totalElapsedMigrationOperationTime";
     public static final String MIGRATION_METRIC_TOTAL_ELAPSED_DESTINATION_COMMIT_TIME = "totalElapsedDestinationCommitTime";
     public static final String MIGRATION_METRIC_TOTAL_ELAPSED_MIGRATION_TIME = "totalElapsedMigrationTime";
+    public static final String MIGRATION_METRIC_TOTAL_SENT_CHUNKS = "totalSentChunks";
+    public static final String MIGRATION_METRIC_TOTAL_SENT_CHUNK_BYTES = "totalSentChunkBytes";
+    public static final String MIGRATION_METRIC_LAST_CHUNKED_MIGRATION_CHUNKS = "lastChunkedMigrationChunks";
+    public static final String MIGRATION_METRIC_LAST_CHUNKED_MIGRATION_BYTES = "lastChunkedMigrationBytes";
+    public static final String MIGRATION_METRIC_LAST_CHUNKED_MIGRATION_ELAPSED_TIME = "lastChunkedMigrationElapsedTime";
     // ===[/MIGRATION]==================================================
 
     // ===[MULTIMAP]====================================================
@@ -297,6 +319,8 @@ public final class MetricDescriptorConstants {
     public static final String NEARCACHE_METRIC_HITS = "hits";
     public static final String NEARCACHE_METRIC_MISSES = "misses";
     public static final String NEARCACHE_METRIC_EVICTIONS = "evictions";
+    public static final String NEARCACHE_METRIC_EVICTION_TIME = "evictionTime";
+    public static final String NEARCACHE_METRIC_HIT_RATIO = "hitRatio";
     public static final String NEARCACHE_METRIC_EXPIRATIONS = "expirations";
     public static final String NEARCACHE_METRIC_INVALIDATIONS = "invalidations";
     public static final String NEARCACHE_METRIC_INVALIDATION_REQUESTS = "invalidationRequests";
@@ -326,6 +350,8 @@ public final class MetricDescriptorConstants {
             "priorityWriteQueuePendingBytes";
     public static final String NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_IDLE_TIME_MILLIS = "idleTimeMillis";
     public static final String NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_SCHEDULED = "scheduled";
+    public static final String NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_WRITABLE = "writable";
+    public static final String NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_UNWRITABLE_COUNT = "unwritableCount";
     public static final String NETWORKING_METRIC_NIO_PIPELINE_PROCESS_COUNT = "processCount";
     public static final String NETWORKING_METRIC_NIO_PIPELINE_OWNER_ID = "ownerId";
     public static final String NETWORKING_METRIC_NIO_PIPELINE_STARTED_MIGRATIONS = "startedMigrations";
@@ -378,6 +404,9 @@ public final class MetricDescriptorConstants {
     public static final String OPERATION_METRIC_THREAD_COMPLETED_OPERATION_BATCH_COUNT = "completedOperationBatchCount";
     public static final String OPERATION_METRIC_PARTITION_OPERATION_THREAD_NORMAL_PENDING_COUNT = "normalPendingCount";
     public static final String OPERATION_METRIC_PARTITION_OPERATION_THREAD_PRIORITY_PENDING_COUNT = "priorityPendingCount";
+    public static final String OPERATION_METRIC_PARTITION_OPERATION_THREAD_DRAINED_BATCH_COUNT = "drainedBatchCount";
+    public static final String OPERATION_METRIC_PARTITION_OPERATION_THREAD_DRAINED_TASK_COUNT = "drainedTaskCount";
+    public static final String OPERATION_METRIC_PARTITION_OPERATION_THREAD_DRAINED_BATCH_SIZE = "drainedBatchSize.upTo";
     public static final String OPERATION_METRIC_PARKER_PARK_QUEUE_COUNT = "parkQueueCount";
     public static final String OPERATION_METRIC_PARKER_TOTAL_PARKED_OPERATION_COUNT = "totalParkedOperationCount";
     public static final String OPERATION_METRIC_INBOUND_RESPONSE_HANDLER_RESPONSE_QUEUE_SIZE = "responseQueueSize";
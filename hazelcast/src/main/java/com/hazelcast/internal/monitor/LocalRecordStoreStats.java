@@ -43,6 +43,29 @@ public interface LocalRecordStoreStats {
      */
     long getLastUpdateTime();
 
+    /**
+     * Returns the number of misses (reads of absent keys) of this partition.
+     * Misses are counted only on the owner and are not replicated.
+     *
+     * @return number of misses of this partition.
+     */
+    long getMisses();
+
+    /**
+     * Returns the number of entries evicted from this partition.
+     * Evictions are counted only on the owner and are not replicated.
+     *
+     * @return number of evictions of this partition.
+     */
+    long getEvictions();
+
+    /**
+     * Returns the time spent on evictions of this partition in nanoseconds.
+     *
+     * @return time spent on evictions of this partition in nanoseconds.
+     */
+    long getEvictionTimeNanos();
+
     /**
      * Increases the number of hits of the locally owned entries of this partition.
      */
@@ -58,6 +81,21 @@ public interface LocalRecordStoreStats {
      */
     void decreaseHits(long hits);
 
+    /**
+     * Increases the number of misses of this partition.
+     */
+    void increaseMisses();
+
+    /**
+     * Increases the number of evictions of this partition.
+     */
+    void increaseEvictions();
+
+    /**
+     * Adds the given duration in nanoseconds to the time spent on evictions of this partition.
+     */
+    void addEvictionTime(long nanos);
+
     /**
      * Sets the last access (read) time of the locally owned entries of this partition.
      */
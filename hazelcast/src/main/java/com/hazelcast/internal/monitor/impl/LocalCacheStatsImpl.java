@@ -17,6 +17,7 @@
 package com.hazelcast.internal.monitor.impl;
 
 import com.hazelcast.cache.CacheStatistics;
+import com.hazelcast.cache.impl.CacheStatisticsImpl;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.internal.monitor.LocalCacheStats;
 
@@ -32,10 +33,12 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.CACHE_MET
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.CACHE_METRIC_CACHE_PUTS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.CACHE_METRIC_CACHE_REMOVALS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.CACHE_METRIC_CREATION_TIME;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.CACHE_METRIC_EVICTION_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.CACHE_METRIC_LAST_ACCESS_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.CACHE_METRIC_LAST_UPDATE_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.CACHE_METRIC_OWNED_ENTRY_COUNT;
 import static com.hazelcast.internal.metrics.ProbeUnit.MS;
+import static com.hazelcast.internal.metrics.ProbeUnit.NS;
 import static com.hazelcast.internal.metrics.ProbeUnit.PERCENT;
 import static com.hazelcast.internal.metrics.ProbeUnit.US;
 
@@ -86,6 +89,8 @@ public class LocalCacheStatsImpl implements LocalCacheStats {
     private float averagePutTime;
     @Probe(name = CACHE_METRIC_AVERAGE_REMOVAL_TIME, unit = US)
     private float averageRemoveTime;
+    @Probe(name = CACHE_METRIC_EVICTION_TIME, unit = NS)
+    private long evictionTimeNanos;
 
     public LocalCacheStatsImpl() {
     }
@@ -106,6 +111,9 @@ public class LocalCacheStatsImpl implements LocalCacheStats {
         averageGetTime = cacheStatistics.getAverageGetTime();
         averagePutTime = cacheStatistics.getAveragePutTime();
         averageRemoveTime = cacheStatistics.getAverageRemoveTime();
+        if (cacheStatistics instanceof CacheStatisticsImpl) {
+            evictionTimeNanos = ((CacheStatisticsImpl) cacheStatistics).getCacheEvictionTimeTakenNanos();
+        }
     }
 
     @Override
@@ -163,6 +171,13 @@ public class LocalCacheStatsImpl implements LocalCacheStats {
         return cacheEvictions;
     }
 
+    /**
+     * Returns the time spent on evictions in nanoseconds.
+     */
+    public long getEvictionTimeNanos() {
+        return evictionTimeNanos;
+    }
+
     @Override
     public float getAverageGetTime() {
         return averageGetTime;
@@ -201,6 +216,7 @@ public class LocalCacheStatsImpl implements LocalCacheStats {
                 + ", averageGetTime=" + averageGetTime
                 + ", averagePutTime=" + averagePutTime
                 + ", averageRemoveTime=" + averageRemoveTime
+                + ", evictionTimeNanos=" + evictionTimeNanos
                 + '}';
     }
 }
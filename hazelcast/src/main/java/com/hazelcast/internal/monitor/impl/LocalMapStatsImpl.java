@@ -33,14 +33,18 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRI
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_BACKUP_ENTRY_MEMORY_COST;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_CREATION_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_DIRTY_ENTRY_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_EVICTION_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_EVICTION_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_GET_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_HEAP_COST;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_HITS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_HIT_RATIO;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_INDEXED_QUERY_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_LAST_ACCESS_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_LAST_UPDATE_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_LOCKED_ENTRY_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_MERKLE_TREES_COST;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_MISSES;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_NUMBER_OF_EVENTS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_NUMBER_OF_OTHER_OPERATIONS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_OWNED_ENTRY_COUNT;
@@ -59,6 +63,8 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRI
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_TOTAL_SET_LATENCY;
 import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
 import static com.hazelcast.internal.metrics.ProbeUnit.MS;
+import static com.hazelcast.internal.metrics.ProbeUnit.NS;
+import static com.hazelcast.internal.metrics.ProbeUnit.PERCENT;
 import static com.hazelcast.internal.util.ConcurrencyUtil.setMax;
 import static com.hazelcast.internal.util.TimeUtil.convertNanosToMillis;
 import static java.util.concurrent.atomic.AtomicLongFieldUpdater.newUpdater;
@@ -69,6 +75,8 @@ import static java.util.concurrent.atomic.AtomicLongFieldUpdater.newUpdater;
 @SuppressWarnings({"checkstyle:methodcount"})
 public class LocalMapStatsImpl implements LocalMapStats {
 
+    private static final double PERCENTAGE = 100.0;
+
     private static final AtomicLongFieldUpdater<LocalMapStatsImpl> LAST_ACCESS_TIME =
             newUpdater(LocalMapStatsImpl.class, "lastAccessTime");
     private static final AtomicLongFieldUpdater<LocalMapStatsImpl> LAST_UPDATE_TIME =
@@ -116,6 +124,12 @@ public class LocalMapStatsImpl implements LocalMapStats {
     private volatile long lastUpdateTime;
     @Probe(name = MAP_METRIC_HITS)
     private volatile long hits;
+    @Probe(name = MAP_METRIC_MISSES)
+    private volatile long misses;
+    @Probe(name = MAP_METRIC_EVICTION_COUNT)
+    private volatile long evictionCount;
+    @Probe(name = MAP_METRIC_EVICTION_TIME, unit = NS)
+    private volatile long evictionTimeNanos;
     @Probe(name = MAP_METRIC_NUMBER_OF_OTHER_OPERATIONS)
     private volatile long numberOfOtherOperations;
     @Probe(name = MAP_METRIC_NUMBER_OF_EVENTS)
@@ -264,6 +278,51 @@ public class LocalMapStatsImpl implements LocalMapStats {
         this.hits = hits;
     }
 
+    /**
+     * Returns the number of reads of absent keys of the locally owned entries.
+     */
+    public long getMisses() {
+        return misses;
+    }
+
+    public void setMisses(long misses) {
+        this.misses = misses;
+    }
+
+    /**
+     * Returns the percentage of the hits among all the reads of the locally
+     * owned entries.
+     */
+    @Probe(name = MAP_METRIC_HIT_RATIO, unit = PERCENT)
+    public double getHitRatio() {
+        long hits = this.hits;
+        long reads = hits + misses;
+        return reads == 0 ? 0 : hits * PERCENTAGE / reads;
+    }
+
+    /**
+     * Returns the number of entries evicted from the locally owned partitions.
+     */
+    public long getEvictionCount() {
+        return evictionCount;
+    }
+
+    public void setEvictionCount(long evictionCount) {
+        this.evictionCount = evictionCount;
+    }
+
+    /**
+     * Returns the time spent on evictions of the locally owned partitions
+     * in nanoseconds.
+     */
+    public long getEvictionTimeNanos() {
+        return evictionTimeNanos;
+    }
+
+    public void setEvictionTimeNanos(long evictionTimeNanos) {
+        this.evictionTimeNanos = evictionTimeNanos;
+    }
+
     @Override
     public long getLockedEntryCount() {
         return lockedEntryCount;
@@ -512,6 +571,9 @@ public class LocalMapStatsImpl implements LocalMapStats {
                 + "lastAccessTime=" + lastAccessTime
                 + ", lastUpdateTime=" + lastUpdateTime
                 + ", hits=" + hits
+                + ", misses=" + misses
+                + ", evictionCount=" + evictionCount
+                + ", evictionTime=" + convertNanosToMillis(evictionTimeNanos)
                 + ", numberOfOtherOperations=" + numberOfOtherOperations
                 + ", numberOfEvents=" + numberOfEvents
                 + ", getCount=" + getCount
@@ -30,6 +30,10 @@ public class LocalRecordStoreStatsImpl
     private long hits;
     private long lastAccess;
     private long lastUpdate;
+    // local to the owner, not serialized
+    private long misses;
+    private long evictions;
+    private long evictionTimeNanos;
 
     public void copyFrom(LocalRecordStoreStats stats) {
         this.hits = stats.getHits();
@@ -52,6 +56,21 @@ public class LocalRecordStoreStatsImpl
         return lastUpdate;
     }
 
+    @Override
+    public long getMisses() {
+        return misses;
+    }
+
+    @Override
+    public long getEvictions() {
+        return evictions;
+    }
+
+    @Override
+    public long getEvictionTimeNanos() {
+        return evictionTimeNanos;
+    }
+
     @Override
     public void increaseHits() {
         this.hits++;
@@ -67,6 +86,21 @@ public class LocalRecordStoreStatsImpl
         this.hits -= hits;
     }
 
+    @Override
+    public void increaseMisses() {
+        this.misses++;
+    }
+
+    @Override
+    public void increaseEvictions() {
+        this.evictions++;
+    }
+
+    @Override
+    public void addEvictionTime(long nanos) {
+        this.evictionTimeNanos += nanos;
+    }
+
     @Override
     public void setLastAccessTime(long time) {
         this.lastAccess = Math.max(this.lastAccess, time);
@@ -81,6 +115,9 @@ public class LocalRecordStoreStatsImpl
         this.hits = 0;
         this.lastAccess = 0;
         this.lastUpdate = 0;
+        this.misses = 0;
+        this.evictions = 0;
+        this.evictionTimeNanos = 0;
     }
 
     @Override
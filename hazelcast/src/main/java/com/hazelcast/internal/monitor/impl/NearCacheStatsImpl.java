@@ -23,8 +23,10 @@ import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_METRIC_CREATION_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_METRIC_EVICTIONS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_METRIC_EVICTION_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_METRIC_EXPIRATIONS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_METRIC_HITS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_METRIC_HIT_RATIO;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_METRIC_INVALIDATIONS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_METRIC_INVALIDATION_REQUESTS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_METRIC_LAST_PERSISTENCE_DURATION;
@@ -37,6 +39,8 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NEARCACHE_METRIC_PERSISTENCE_COUNT;
 import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
 import static com.hazelcast.internal.metrics.ProbeUnit.MS;
+import static com.hazelcast.internal.metrics.ProbeUnit.NS;
+import static com.hazelcast.internal.metrics.ProbeUnit.PERCENT;
 import static java.lang.String.format;
 import static java.util.concurrent.atomic.AtomicLongFieldUpdater.newUpdater;
 
@@ -55,6 +59,8 @@ public class NearCacheStatsImpl implements NearCacheStats {
             newUpdater(NearCacheStatsImpl.class, "misses");
     private static final AtomicLongFieldUpdater<NearCacheStatsImpl> EVICTIONS =
             newUpdater(NearCacheStatsImpl.class, "evictions");
+    private static final AtomicLongFieldUpdater<NearCacheStatsImpl> EVICTION_TIME_NANOS =
+            newUpdater(NearCacheStatsImpl.class, "evictionTimeNanos");
     private static final AtomicLongFieldUpdater<NearCacheStatsImpl> EXPIRATIONS =
             newUpdater(NearCacheStatsImpl.class, "expirations");
     private static final AtomicLongFieldUpdater<NearCacheStatsImpl> INVALIDATIONS =
@@ -76,6 +82,8 @@ public class NearCacheStatsImpl implements NearCacheStats {
     private volatile long misses;
     @Probe(name = NEARCACHE_METRIC_EVICTIONS)
     private volatile long evictions;
+    @Probe(name = NEARCACHE_METRIC_EVICTION_TIME, unit = NS)
+    private volatile long evictionTimeNanos;
     @Probe(name = NEARCACHE_METRIC_EXPIRATIONS)
     private volatile long expirations;
 
@@ -108,6 +116,7 @@ public class NearCacheStatsImpl implements NearCacheStats {
         hits = stats.hits;
         misses = stats.misses;
         evictions = stats.evictions;
+        evictionTimeNanos = stats.evictionTimeNanos;
         expirations = stats.expirations;
         invalidations = stats.invalidations;
         invalidationRequests = stats.invalidationRequests;
@@ -209,6 +218,27 @@ public class NearCacheStatsImpl implements NearCacheStats {
         EVICTIONS.incrementAndGet(this);
     }
 
+    /**
+     * Returns the total time spent in selecting and evicting entries.
+     */
+    public long getEvictionTimeNanos() {
+        return evictionTimeNanos;
+    }
+
+    public void addEvictionTime(long nanos) {
+        EVICTION_TIME_NANOS.addAndGet(this, nanos);
+    }
+
+    /**
+     * Returns the percentage of the hits among all the gets.
+     */
+    @Probe(name = NEARCACHE_METRIC_HIT_RATIO, unit = PERCENT)
+    public double getHitRatio() {
+        long hits = this.hits;
+        long gets = hits + misses;
+        return gets == 0 ? 0 : hits * PERCENTAGE / gets;
+    }
+
     @Override
     public long getExpirations() {
         return expirations;
@@ -305,6 +335,7 @@ public class NearCacheStatsImpl implements NearCacheStats {
                 + ", misses=" + misses
                 + ", ratio=" + format("%.1f%%", getRatio())
                 + ", evictions=" + evictions
+                + ", evictionTimeNanos=" + evictionTimeNanos
                 + ", expirations=" + expirations
                 + ", invalidations=" + invalidations
                 + ", invalidationRequests=" + invalidationRequests
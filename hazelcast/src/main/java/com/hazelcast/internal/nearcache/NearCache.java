@@ -58,6 +58,29 @@ public interface NearCache<K, V> extends InitializingObject {
             = new HazelcastProperty(PROP_EXPIRATION_TASK_PERIOD_SECONDS,
             DEFAULT_EXPIRATION_TASK_PERIOD_SECONDS);
 
+    /**
+     * Default number of threads loading the Near Cache preloader file
+     */
+    int DEFAULT_PRELOADER_LOAD_THREAD_COUNT = 4;
+
+    String PROP_PRELOADER_STORE_VALUES
+            = "hazelcast.internal.nearcache.preloader.store.values";
+
+    String PROP_PRELOADER_LOAD_THREAD_COUNT
+            = "hazelcast.internal.nearcache.preloader.load.thread.count";
+
+    /**
+     * If enabled, the preloader stores the values along with the keys, so the
+     * values which weren't invalidated in the meantime can be restored without
+     * fetching them again.
+     */
+    HazelcastProperty PRELOADER_STORE_VALUES
+            = new HazelcastProperty(PROP_PRELOADER_STORE_VALUES, false);
+
+    HazelcastProperty PRELOADER_LOAD_THREAD_COUNT
+            = new HazelcastProperty(PROP_PRELOADER_LOAD_THREAD_COUNT,
+            DEFAULT_PRELOADER_LOAD_THREAD_COUNT);
+
     /**
      * Indicates how a near cache is updated.
      */
@@ -134,6 +134,13 @@ public interface NearCacheRecord<V> extends Expirable, Evictable<V> {
      */
     void setInvalidationSequence(long sequence);
 
+    /**
+     * @return last known UUID of invalidation source
+     * at time of this records' creation, or {@code null}
+     * if invalidations are disabled for this Near Cache
+     */
+    UUID getUuid();
+
     /**
      * @param uuid last known UUID of invalidation
      *             source at time of this records' creation
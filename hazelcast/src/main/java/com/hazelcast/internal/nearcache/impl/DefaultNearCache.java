@@ -91,9 +91,11 @@ public class DefaultNearCache<K, V> implements NearCache<K, V> {
         }
         switch (inMemoryFormat) {
             case BINARY:
-                return new NearCacheDataRecordStore<K, V>(name, nearCacheConfig, serializationService, classLoader);
+                return new NearCacheDataRecordStore<K, V>(name, nearCacheConfig, serializationService, classLoader,
+                        properties);
             case OBJECT:
-                return new NearCacheObjectRecordStore<K, V>(name, nearCacheConfig, serializationService, classLoader);
+                return new NearCacheObjectRecordStore<K, V>(name, nearCacheConfig, serializationService, classLoader,
+                        properties);
             default:
                 throw new IllegalArgumentException("Invalid in memory format: " + inMemoryFormat);
         }
@@ -18,41 +18,70 @@ package com.hazelcast.internal.nearcache.impl.preloader;
 
 import com.hazelcast.config.NearCachePreloaderConfig;
 import com.hazelcast.internal.adapter.DataStructureAdapter;
+import com.hazelcast.internal.monitor.impl.NearCacheStatsImpl;
+import com.hazelcast.internal.nearcache.NearCacheRecord;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.internal.serialization.impl.HeapData;
 import com.hazelcast.internal.util.BufferingInputStream;
 import com.hazelcast.internal.util.Timer;
 import com.hazelcast.internal.util.collection.InflatableSet;
 import com.hazelcast.internal.util.collection.InflatableSet.Builder;
+import com.hazelcast.internal.util.executor.PoolExecutorThreadFactory;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.logging.Logger;
 import com.hazelcast.memory.MemoryUnit;
-import com.hazelcast.internal.monitor.impl.NearCacheStatsImpl;
-import com.hazelcast.internal.serialization.Data;
-import com.hazelcast.internal.serialization.SerializationService;
 
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
 import java.io.File;
-import java.io.FileInputStream;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
 import java.nio.channels.FileChannel;
+import java.util.ArrayList;
 import java.util.Iterator;
-
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.UUID;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static com.hazelcast.internal.nearcache.NearCacheRecord.READ_PERMITTED;
 import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
 import static com.hazelcast.internal.nio.Bits.readIntB;
-import static com.hazelcast.internal.nio.Bits.writeIntB;
 import static com.hazelcast.internal.nio.IOUtil.closeResource;
 import static com.hazelcast.internal.nio.IOUtil.deleteQuietly;
 import static com.hazelcast.internal.nio.IOUtil.getPath;
 import static com.hazelcast.internal.nio.IOUtil.readFullyOrNothing;
 import static com.hazelcast.internal.nio.IOUtil.rename;
 import static com.hazelcast.internal.nio.IOUtil.toFileName;
+import static com.hazelcast.internal.nio.IOUtil.unmapQuietly;
+import static com.hazelcast.internal.util.IterableUtil.map;
+import static com.hazelcast.internal.util.MapUtil.entry;
 import static com.hazelcast.internal.util.StringUtil.isNullOrEmpty;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static java.lang.String.format;
 import static java.nio.ByteBuffer.allocate;
+import static java.nio.channels.Channels.newInputStream;
+import static java.nio.channels.FileChannel.MapMode.READ_ONLY;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.util.concurrent.Executors.newFixedThreadPool;
 
 /**
  * Loads and stores the keys from a Near Cache into a file.
+ * <p>
+ * The keys are stored in chunks of a fixed number of entries, each of
+ * them prefixed with its size, so the loader can map the chunks into
+ * memory and load them in parallel. Optionally the values are stored as
+ * well, together with the partition UUID and invalidation sequence they
+ * were cached with. A stored value is restored only if no invalidation
+ * has been sent for its partition since, otherwise it's fetched again
+ * like the keys without a value.
  *
  * @param <K> type of the {@link com.hazelcast.internal.nearcache.NearCacheRecord} keys
  */
@@ -62,7 +91,36 @@ public class NearCachePreloader<K> {
      * File format for the file header.
      */
     private enum FileFormat {
-        INTERLEAVED_LENGTH_FIELD
+        /**
+         * The keys prefixed with their length, written by previous versions.
+         */
+        INTERLEAVED_LENGTH_FIELD,
+        /**
+         * Chunks of entries prefixed with the chunk length and entry count.
+         * An entry is a length-prefixed key followed by the length of the
+         * value, or {@link #NO_VALUE}. A stored value is followed by its
+         * partition ID, partition UUID and invalidation sequence.
+         */
+        CHUNKED_ENTRIES
+    }
+
+    /**
+     * Puts a value restored from the file into the Near Cache.
+     */
+    @FunctionalInterface
+    public interface StoredValueSink {
+
+        /**
+         * Puts the value into the Near Cache, if it's still fresh.
+         *
+         * @param keyData       the key of the entry
+         * @param valueData     the stored value of the entry
+         * @param partitionId   the partition ID of the key at the time of storing
+         * @param partitionUuid the partition UUID the value was cached with
+         * @param sequence      the invalidation sequence the value was cached with
+         * @return {@code true} if the value was put, {@code false} if it has to be fetched again
+         */
+        boolean putIfFresh(Data keyData, Data valueData, int partitionId, UUID partitionUuid, long sequence);
     }
 
     /**
@@ -70,6 +128,11 @@ public class NearCachePreloader<K> {
      */
     private static final int MAGIC_BYTES = 0xEA3CAC4E;
 
+    /**
+     * Size of the file header (magic bytes and file format).
+     */
+    private static final int HEADER_SIZE = 2 * INT_SIZE_IN_BYTES;
+
     /**
      * Base-2 logarithm of buffer size.
      */
@@ -84,26 +147,45 @@ public class NearCachePreloader<K> {
      */
     private static final int LOAD_BATCH_SIZE = 100;
 
+    /**
+     * Number of entries in a chunk, which is the unit of parallel loading.
+     */
+    private static final int CHUNK_ENTRY_COUNT = 10 * LOAD_BATCH_SIZE;
+
+    /**
+     * Value length written for an entry without a stored value.
+     */
+    private static final int NO_VALUE = -1;
+
     private final ILogger logger = Logger.getLogger(NearCachePreloader.class);
     private final byte[] tmpBytes = new byte[INT_SIZE_IN_BYTES];
 
     private final String nearCacheName;
     private final NearCacheStatsImpl nearCacheStats;
     private final SerializationService serializationService;
+    private final boolean storeValues;
+    private final int loadThreadCount;
 
     private final NearCachePreloaderLock lock;
     private final File storeFile;
     private final File tmpStoreFile;
 
-    private ByteBuffer buf;
     private int lastWrittenBytes;
     private int lastKeyCount;
 
     public NearCachePreloader(String nearCacheName, NearCachePreloaderConfig preloaderConfig,
                               NearCacheStatsImpl nearCacheStats, SerializationService serializationService) {
+        this(nearCacheName, preloaderConfig, nearCacheStats, serializationService, false, 1);
+    }
+
+    public NearCachePreloader(String nearCacheName, NearCachePreloaderConfig preloaderConfig,
+                              NearCacheStatsImpl nearCacheStats, SerializationService serializationService,
+                              boolean storeValues, int loadThreadCount) {
         this.nearCacheName = nearCacheName;
         this.nearCacheStats = nearCacheStats;
         this.serializationService = serializationService;
+        this.storeValues = storeValues;
+        this.loadThreadCount = max(1, loadThreadCount);
 
         String filename = getFilename(preloaderConfig.getDirectory(), nearCacheName);
         this.lock = new NearCachePreloaderLock(logger, filename + ".lock");
@@ -121,6 +203,18 @@ public class NearCachePreloader<K> {
      * @param adapter the {@link DataStructureAdapter} to load the values from
      */
     public void loadKeys(DataStructureAdapter<Object, ?> adapter) {
+        loadKeys(adapter, null);
+    }
+
+    /**
+     * Loads the values via a stored key file into the supplied {@link DataStructureAdapter}.
+     * The stored values are offered to the supplied {@link StoredValueSink} first, only the
+     * values it rejects are loaded from the {@link DataStructureAdapter}.
+     *
+     * @param adapter   the {@link DataStructureAdapter} to load the values from
+     * @param valueSink the {@link StoredValueSink} to restore the stored values, can be {@code null}
+     */
+    public void loadKeys(DataStructureAdapter<Object, ?> adapter, StoredValueSink valueSink) {
         if (!storeFile.exists()) {
             logger.info(format("Skipped loading keys of Near Cache %s since storage file doesn't exist (%s)", nearCacheName,
                     storeFile.getAbsolutePath()));
@@ -128,37 +222,47 @@ public class NearCachePreloader<K> {
         }
 
         long startedNanos = Timer.nanos();
-        BufferingInputStream bis = null;
+        FileChannel channel = null;
         try {
-            bis = new BufferingInputStream(new FileInputStream(storeFile), BUFFER_SIZE);
-            if (!checkHeader(bis)) {
+            channel = FileChannel.open(storeFile.toPath(), READ);
+            FileFormat fileFormat = checkHeader(channel);
+            if (fileFormat == null) {
                 return;
             }
 
-            int loadedKeys = loadKeySet(bis, adapter);
+            AtomicInteger restoredValues = new AtomicInteger();
+            int loadedKeys = fileFormat == FileFormat.INTERLEAVED_LENGTH_FIELD
+                    ? loadKeySet(channel, adapter)
+                    : loadChunks(channel, adapter, valueSink, restoredValues);
 
             long elapsedMillis = Timer.millisElapsed(startedNanos);
-            logger.info(format("Loaded %d keys of Near Cache %s in %d ms", loadedKeys, nearCacheName, elapsedMillis));
+            logger.info(format("Loaded %d keys of Near Cache %s in %d ms (%d values restored from storage file)",
+                    loadedKeys, nearCacheName, elapsedMillis, restoredValues.get()));
         } catch (Exception e) {
             logger.warning(format("Could not pre-load Near Cache %s (%s)", nearCacheName, storeFile.getAbsolutePath()), e);
         } finally {
-            closeResource(bis);
+            closeResource(channel);
         }
     }
 
-    private boolean checkHeader(BufferingInputStream bis) throws IOException {
-        int magicBytes = readInt(bis);
+    private FileFormat checkHeader(FileChannel channel) throws IOException {
+        ByteBuffer header = allocate(HEADER_SIZE);
+        if (!readFully(channel, header, 0)) {
+            logger.warning(format("Found invalid header for Near Cache %s (%s)", nearCacheName, storeFile.getAbsolutePath()));
+            return null;
+        }
+        int magicBytes = header.getInt(0);
         if (magicBytes != MAGIC_BYTES) {
             logger.warning(format("Found invalid header for Near Cache %s (%s)", nearCacheName, storeFile.getAbsolutePath()));
-            return false;
+            return null;
         }
-        int fileFormat = readInt(bis);
+        int fileFormat = header.getInt(INT_SIZE_IN_BYTES);
         if (fileFormat < 0 || fileFormat > FileFormat.values().length - 1) {
             logger.warning(format("Found invalid file format for Near Cache %s (%s)", nearCacheName,
                     storeFile.getAbsolutePath()));
-            return false;
+            return null;
         }
-        return true;
+        return FileFormat.values()[fileFormat];
     }
 
     /**
@@ -167,19 +271,33 @@ public class NearCachePreloader<K> {
      * @param iterator {@link Iterator} over the key set of a {@link com.hazelcast.internal.nearcache.NearCacheRecordStore}
      */
     public void storeKeys(Iterator<K> iterator) {
+        store(map(iterator, (K key) -> entry(key, (NearCacheRecord) null)));
+    }
+
+    /**
+     * Stores the Near Cache keys from the supplied iterator, along with the values
+     * if the preloader is configured to store them.
+     *
+     * @param iterator {@link Iterator} over the entry set of a
+     *                 {@link com.hazelcast.internal.nearcache.NearCacheRecordStore}
+     */
+    public void storeEntries(Iterator<? extends Entry<K, ? extends NearCacheRecord>> iterator) {
+        store(iterator);
+    }
+
+    private void store(Iterator<? extends Entry<K, ? extends NearCacheRecord>> iterator) {
         long startedNanos = Timer.nanos();
-        FileOutputStream fos = null;
+        DataOutputStream out = null;
         try {
-            buf = allocate(BUFFER_SIZE);
             lastWrittenBytes = 0;
             lastKeyCount = 0;
 
-            fos = new FileOutputStream(tmpStoreFile, false);
+            out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(tmpStoreFile, false), BUFFER_SIZE));
 
-            // write header and keys
-            writeInt(fos, MAGIC_BYTES);
-            writeInt(fos, FileFormat.INTERLEAVED_LENGTH_FIELD.ordinal());
-            writeKeySet(fos, fos.getChannel(), iterator);
+            // write header and entries
+            out.writeInt(MAGIC_BYTES);
+            out.writeInt(FileFormat.CHUNKED_ENTRIES.ordinal());
+            writeChunks(out, iterator);
 
             // cleanup if no keys have been written
             if (lastKeyCount == 0) {
@@ -188,8 +306,8 @@ public class NearCachePreloader<K> {
                 return;
             }
 
-            fos.flush();
-            closeResource(fos);
+            out.flush();
+            closeResource(out);
             rename(tmpStoreFile, storeFile);
 
             updatePersistenceStats(startedNanos);
@@ -198,7 +316,7 @@ public class NearCachePreloader<K> {
 
             nearCacheStats.addPersistenceFailure(e);
         } finally {
-            closeResource(fos);
+            closeResource(out);
             deleteQuietly(tmpStoreFile);
         }
     }
@@ -211,7 +329,8 @@ public class NearCachePreloader<K> {
                 MemoryUnit.BYTES.toKiloBytes(lastWrittenBytes)));
     }
 
-    private int loadKeySet(BufferingInputStream bis, DataStructureAdapter<Object, ?> adapter) throws IOException {
+    private int loadKeySet(FileChannel channel, DataStructureAdapter<Object, ?> adapter) throws IOException {
+        BufferingInputStream bis = new BufferingInputStream(newInputStream(channel.position(HEADER_SIZE)), BUFFER_SIZE);
         int loadedKeys = 0;
 
         Builder<Object> builder = InflatableSet.newBuilder(LOAD_BATCH_SIZE);
@@ -235,59 +354,184 @@ public class NearCachePreloader<K> {
         return loadedKeys;
     }
 
-    private void writeKeySet(FileOutputStream fos, FileChannel outChannel, Iterator<K> iterator) throws IOException {
-        while (iterator.hasNext()) {
-            K key = iterator.next();
-            Data dataKey = serializationService.toData(key);
-            if (dataKey != null) {
-                int dataSize = dataKey.totalSize();
-                writeInt(fos, dataSize);
-
-                int position = 0;
-                int remaining = dataSize;
-                while (remaining > 0) {
-                    int transferredCount = Math.min(BUFFER_SIZE - buf.position(), remaining);
-                    ensureBufHasRoom(fos, transferredCount);
-                    buf.put(dataKey.toByteArray(), position, transferredCount);
-                    position += transferredCount;
-                    remaining -= transferredCount;
-                }
+    /**
+     * Loads the chunks of the file in parallel. The {@code getAll()} batches of
+     * the chunks are issued concurrently, so they are served by all partition
+     * owners at the same time, instead of waiting for each batch in turn.
+     */
+    private int loadChunks(FileChannel channel, DataStructureAdapter<Object, ?> adapter, StoredValueSink valueSink,
+                           AtomicInteger restoredValues) throws Exception {
+        List<long[]> chunks = findChunks(channel);
+        if (chunks.isEmpty()) {
+            return 0;
+        }
+
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        ExecutorService executor = newFixedThreadPool(min(loadThreadCount, chunks.size()),
+                new PoolExecutorThreadFactory("hz.nearcache.preloader." + nearCacheName + ".thread-", classLoader));
+        try {
+            List<Future<Integer>> futures = new ArrayList<>(chunks.size());
+            for (long[] chunk : chunks) {
+                futures.add(executor.submit(() -> loadChunk(channel, chunk[0], chunk[1], adapter, valueSink, restoredValues)));
+            }
+            int loadedKeys = 0;
+            for (Future<Integer> future : futures) {
+                loadedKeys += future.get();
+            }
+            return loadedKeys;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Returns the position and size of each complete chunk of the file. Only the
+     * chunk headers are read, a truncated chunk at the end of the file is skipped.
+     */
+    private List<long[]> findChunks(FileChannel channel) throws IOException {
+        List<long[]> chunks = new ArrayList<>();
+        ByteBuffer chunkHeader = allocate(INT_SIZE_IN_BYTES);
+        long fileSize = channel.size();
+        long position = HEADER_SIZE;
+        while (readFully(channel, chunkHeader, position)) {
+            int chunkSize = chunkHeader.getInt(0);
+            long chunkPosition = position + INT_SIZE_IN_BYTES;
+            if (chunkSize < INT_SIZE_IN_BYTES || chunkPosition + chunkSize > fileSize) {
+                logger.warning(format("Found truncated storage file for Near Cache %s (%s)", nearCacheName,
+                        storeFile.getAbsolutePath()));
+                break;
+            }
+            chunks.add(new long[]{chunkPosition, chunkSize});
+            position = chunkPosition + chunkSize;
+        }
+        return chunks;
+    }
 
-                lastWrittenBytes += INT_SIZE_IN_BYTES + dataSize;
-                lastKeyCount++;
+    private int loadChunk(FileChannel channel, long position, long size, DataStructureAdapter<Object, ?> adapter,
+                          StoredValueSink valueSink, AtomicInteger restoredValues) throws IOException {
+        MappedByteBuffer buffer = channel.map(READ_ONLY, position, size);
+        try {
+            return loadEntries(buffer, adapter, valueSink, restoredValues);
+        } finally {
+            // the keys and values are copied out, so the mapping is released
+            // now rather than whenever the buffer is garbage collected
+            unmapQuietly(buffer);
+        }
+    }
+
+    private int loadEntries(ByteBuffer buffer, DataStructureAdapter<Object, ?> adapter, StoredValueSink valueSink,
+                            AtomicInteger restoredValues) {
+        int entryCount = buffer.getInt();
+
+        Builder<Object> builder = InflatableSet.newBuilder(LOAD_BATCH_SIZE);
+        for (int i = 0; i < entryCount; i++) {
+            Data key = readData(buffer, buffer.getInt());
+            int valueSize = buffer.getInt();
+            if (valueSize != NO_VALUE) {
+                Data value = readData(buffer, valueSize);
+                int partitionId = buffer.getInt();
+                UUID partitionUuid = new UUID(buffer.getLong(), buffer.getLong());
+                long sequence = buffer.getLong();
+                if (valueSink != null && valueSink.putIfFresh(key, value, partitionId, partitionUuid, sequence)) {
+                    restoredValues.incrementAndGet();
+                    continue;
+                }
+            }
+            builder.add(serializationService.toObject(key));
+            if (builder.size() == LOAD_BATCH_SIZE) {
+                adapter.getAll(builder.build());
+                builder = InflatableSet.newBuilder(LOAD_BATCH_SIZE);
             }
-            flushLocalBuffer(outChannel);
         }
+        if (builder.size() > 0) {
+            adapter.getAll(builder.build());
+        }
+        return entryCount;
     }
 
-    private int readInt(BufferingInputStream bis) throws IOException {
-        readFullyOrNothing(bis, tmpBytes);
-        return readIntB(tmpBytes, 0);
+    private void writeChunks(DataOutputStream out, Iterator<? extends Entry<K, ? extends NearCacheRecord>> iterator)
+            throws IOException {
+        ByteArrayOutputStream chunkBytes = new ByteArrayOutputStream(BUFFER_SIZE);
+        DataOutputStream chunk = new DataOutputStream(chunkBytes);
+        int chunkEntryCount = 0;
+        while (iterator.hasNext()) {
+            Entry<K, ? extends NearCacheRecord> entry = iterator.next();
+            Data dataKey = serializationService.toData(entry.getKey());
+            if (dataKey == null) {
+                continue;
+            }
+            writeData(chunk, dataKey);
+            writeValue(chunk, entry.getValue());
+            lastKeyCount++;
+
+            if (++chunkEntryCount == CHUNK_ENTRY_COUNT) {
+                writeChunk(out, chunkBytes, chunkEntryCount);
+                chunkEntryCount = 0;
+            }
+        }
+        if (chunkEntryCount > 0) {
+            writeChunk(out, chunkBytes, chunkEntryCount);
+        }
     }
 
-    private void writeInt(FileOutputStream fos, int dataSize) throws IOException {
-        ensureBufHasRoom(fos, INT_SIZE_IN_BYTES);
-        writeIntB(tmpBytes, 0, dataSize);
-        buf.put(tmpBytes);
+    private void writeChunk(DataOutputStream out, ByteArrayOutputStream chunkBytes, int chunkEntryCount)
+            throws IOException {
+        int chunkSize = INT_SIZE_IN_BYTES + chunkBytes.size();
+        out.writeInt(chunkSize);
+        out.writeInt(chunkEntryCount);
+        chunkBytes.writeTo(out);
+        chunkBytes.reset();
+
+        lastWrittenBytes += INT_SIZE_IN_BYTES + chunkSize;
     }
 
-    private void ensureBufHasRoom(FileOutputStream fos, int expectedSize) throws IOException {
-        if (buf.position() < BUFFER_SIZE - expectedSize) {
+    private void writeValue(DataOutputStream chunk, NearCacheRecord record) throws IOException {
+        Data dataValue = storeValues && record != null ? toStorableValue(record) : null;
+        if (dataValue == null) {
+            chunk.writeInt(NO_VALUE);
             return;
         }
-        fos.write(buf.array());
-        buf.position(0);
+        UUID partitionUuid = record.getUuid();
+        writeData(chunk, dataValue);
+        chunk.writeInt(record.getPartitionId());
+        chunk.writeLong(partitionUuid.getMostSignificantBits());
+        chunk.writeLong(partitionUuid.getLeastSignificantBits());
+        chunk.writeLong(record.getInvalidationSequence());
     }
 
-    private void flushLocalBuffer(FileChannel outChannel) throws IOException {
-        if (buf.position() == 0) {
-            return;
+    /**
+     * Returns the serialized value of the record, or {@code null} if the value
+     * can't be validated on load, or is being updated concurrently.
+     */
+    private Data toStorableValue(NearCacheRecord record) {
+        long reservationId = record.getReservationId();
+        if (reservationId != READ_PERMITTED || record.getUuid() == null || record.isCachedAsNull()) {
+            return null;
         }
-        buf.flip();
-        while (buf.hasRemaining()) {
-            outChannel.write(buf);
+        Data dataValue = serializationService.toData(record.getValue());
+        return record.getReservationId() == reservationId ? dataValue : null;
+    }
+
+    private static void writeData(DataOutputStream out, Data data) throws IOException {
+        out.writeInt(data.totalSize());
+        out.write(data.toByteArray());
+    }
+
+    private static Data readData(ByteBuffer buffer, int dataSize) {
+        byte[] payload = new byte[dataSize];
+        buffer.get(payload);
+        return new HeapData(payload);
+    }
+
+    private static boolean readFully(FileChannel channel, ByteBuffer buffer, long position) throws IOException {
+        buffer.clear();
+        while (buffer.hasRemaining()) {
+            int read = channel.read(buffer, position + buffer.position());
+            if (read < 0) {
+                return false;
+            }
         }
-        buf.clear();
+        return true;
     }
 
     private static String getFilename(String directory, String nearCacheName) {
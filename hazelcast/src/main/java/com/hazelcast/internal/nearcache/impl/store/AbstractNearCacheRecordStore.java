@@ -22,6 +22,7 @@ import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.internal.eviction.EvictionChecker;
 import com.hazelcast.internal.eviction.EvictionListener;
+import com.hazelcast.internal.eviction.impl.comparator.TinyLFUEvictionPolicyComparator;
 import com.hazelcast.internal.eviction.impl.evaluator.EvictionPolicyEvaluator;
 import com.hazelcast.internal.eviction.impl.strategy.sampling.SamplingEvictionStrategy;
 import com.hazelcast.internal.monitor.impl.NearCacheStatsImpl;
@@ -79,6 +80,8 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
     protected EvictionChecker evictionChecker;
     protected SamplingEvictionStrategy<KS, R, NCRM> evictionStrategy;
     protected EvictionPolicyEvaluator<KS, R> evictionPolicyEvaluator;
+    // non-null if the accesses of the keys are counted for eviction
+    protected TinyLFUEvictionPolicyComparator accessFrequencyComparator;
 
     protected volatile long reservationId;
     protected volatile StaleReadDetector staleReadDetector = ALWAYS_FRESH;
@@ -110,6 +113,10 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
         if (!evictionDisabled) {
             this.evictionStrategy = SamplingEvictionStrategy.INSTANCE;
             this.evictionPolicyEvaluator = getEvictionPolicyEvaluator(evictionConfig, classLoader);
+            if (evictionPolicyEvaluator.getEvictionPolicyComparator() instanceof TinyLFUEvictionPolicyComparator) {
+                this.accessFrequencyComparator =
+                        (TinyLFUEvictionPolicyComparator) evictionPolicyEvaluator.getEvictionPolicyComparator();
+            }
         }
     }
 
@@ -221,6 +228,10 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
     @Override
     public V get(K key) {
         checkAvailable();
+        if (accessFrequencyComparator != null) {
+            // misses are counted too, a frequently missed key is kept once cached
+            accessFrequencyComparator.recordAccess(key);
+        }
 
         R record = null;
         V value = null;
@@ -328,8 +339,12 @@ public abstract class AbstractNearCacheRecordStore<K, V, KS, R extends NearCache
             return false;
         }
 
-        EvictionChecker evictionChecker = withoutMaxSizeCheck ? null : this.evictionChecker;
-        evictionStrategy.evict(records, evictionPolicyEvaluator, evictionChecker, this);
+        if (!withoutMaxSizeCheck && !evictionChecker.isEvictionRequired()) {
+            return true;
+        }
+        long startNanos = System.nanoTime();
+        evictionStrategy.evict(records, evictionPolicyEvaluator, null, this);
+        nearCacheStats.addEvictionTime(System.nanoTime() - startNanos);
         return true;
     }
 
@@ -23,16 +23,26 @@ import com.hazelcast.config.NearCachePreloaderConfig;
 import com.hazelcast.internal.adapter.DataStructureAdapter;
 import com.hazelcast.internal.eviction.EvictionChecker;
 import com.hazelcast.internal.nearcache.NearCacheRecord;
+import com.hazelcast.internal.nearcache.impl.invalidation.MetaDataContainer;
+import com.hazelcast.internal.nearcache.impl.invalidation.StaleReadDetector;
 import com.hazelcast.internal.nearcache.impl.maxsize.EntryCountNearCacheEvictionChecker;
 import com.hazelcast.internal.nearcache.impl.preloader.NearCachePreloader;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.spi.properties.HazelcastProperties;
 
 import javax.annotation.Nullable;
 import java.util.Map;
+import java.util.Properties;
+import java.util.UUID;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
+import static com.hazelcast.internal.nearcache.NearCache.PRELOADER_LOAD_THREAD_COUNT;
+import static com.hazelcast.internal.nearcache.NearCache.PRELOADER_STORE_VALUES;
+import static com.hazelcast.internal.nearcache.NearCache.UpdateSemantic.READ_UPDATE;
+import static com.hazelcast.internal.nearcache.NearCacheRecord.NOT_RESERVED;
+import static com.hazelcast.internal.nearcache.impl.invalidation.StaleReadDetector.ALWAYS_FRESH;
 import static java.lang.String.format;
 
 /**
@@ -51,12 +61,21 @@ public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheReco
     private final BiFunction<? super K, ? super R, ? extends R> invalidatorFunction = createInvalidatorFunction();
 
     BaseHeapNearCacheRecordStore(String name, NearCacheConfig nearCacheConfig, SerializationService serializationService,
-                                 ClassLoader classLoader) {
+                                 ClassLoader classLoader, HazelcastProperties properties) {
         super(nearCacheConfig, serializationService, classLoader);
 
         NearCachePreloaderConfig preloaderConfig = nearCacheConfig.getPreloaderConfig();
         this.nearCachePreloader = preloaderConfig.isEnabled()
-                ? new NearCachePreloader<>(name, preloaderConfig, nearCacheStats, serializationService) : null;
+                ? createPreloader(name, preloaderConfig, properties) : null;
+    }
+
+    private NearCachePreloader<K> createPreloader(String name, NearCachePreloaderConfig preloaderConfig,
+                                                  HazelcastProperties properties) {
+        if (properties == null) {
+            properties = new HazelcastProperties((Properties) null);
+        }
+        return new NearCachePreloader<>(name, preloaderConfig, nearCacheStats, serializationService,
+                properties.getBoolean(PRELOADER_STORE_VALUES), properties.getInteger(PRELOADER_LOAD_THREAD_COUNT));
     }
 
     @Override
@@ -117,15 +136,40 @@ public abstract class BaseHeapNearCacheRecordStore<K, V, R extends NearCacheReco
     @Override
     public void loadKeys(DataStructureAdapter<Object, ?> adapter) {
         if (nearCachePreloader != null) {
-            nearCachePreloader.loadKeys(adapter);
+            nearCachePreloader.loadKeys(adapter, this::putStoredValue);
         }
     }
 
     @Override
     public void storeKeys() {
         if (nearCachePreloader != null) {
-            nearCachePreloader.storeKeys(records.keySet().iterator());
+            nearCachePreloader.storeEntries(records.entrySet().iterator());
+        }
+    }
+
+    /**
+     * Puts a value restored by the preloader, if no invalidation has been
+     * sent for its partition since the value was stored.
+     */
+    @SuppressWarnings("unchecked")
+    private boolean putStoredValue(Data keyData, Data valueData, int partitionId, UUID partitionUuid, long sequence) {
+        StaleReadDetector detector = staleReadDetector;
+        if (detector == ALWAYS_FRESH || detector.getPartitionId(keyData) != partitionId) {
+            return false;
+        }
+        MetaDataContainer metaDataContainer = detector.getMetaDataContainer(partitionId);
+        if (!partitionUuid.equals(metaDataContainer.getUuid()) || metaDataContainer.getSequence() != sequence) {
+            return false;
+        }
+
+        K key = nearCacheConfig.isSerializeKeys() ? (K) keyData : serializationService.toObject(keyData);
+        doEviction(false);
+        long reservationId = tryReserveForUpdate(key, keyData, READ_UPDATE);
+        if (reservationId == NOT_RESERVED) {
+            return false;
         }
+        tryPublishReserved(key, (V) valueData, reservationId, false);
+        return true;
     }
 
     @Override
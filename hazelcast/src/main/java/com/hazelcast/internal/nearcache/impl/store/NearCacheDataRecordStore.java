@@ -20,6 +20,7 @@ import com.hazelcast.config.NearCacheConfig;
 import com.hazelcast.internal.nearcache.impl.record.NearCacheDataRecord;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.spi.properties.HazelcastProperties;
 
 import static com.hazelcast.internal.nearcache.NearCacheRecord.TIME_NOT_SET;
 import static com.hazelcast.internal.nearcache.impl.record.AbstractNearCacheRecord.NUMBER_OF_BOOLEAN_FIELD_TYPES;
@@ -41,7 +42,15 @@ public class NearCacheDataRecordStore<K, V> extends BaseHeapNearCacheRecordStore
                                     NearCacheConfig nearCacheConfig,
                                     SerializationService serializationService,
                                     ClassLoader classLoader) {
-        super(name, nearCacheConfig, serializationService, classLoader);
+        this(name, nearCacheConfig, serializationService, classLoader, null);
+    }
+
+    public NearCacheDataRecordStore(String name,
+                                    NearCacheConfig nearCacheConfig,
+                                    SerializationService serializationService,
+                                    ClassLoader classLoader,
+                                    HazelcastProperties properties) {
+        super(name, nearCacheConfig, serializationService, classLoader, properties);
     }
 
     @Override
@@ -258,6 +258,22 @@ public interface Channel extends Closeable {
      */
     boolean write(OutboundFrame frame);
 
+    /**
+     * Checks if this Channel accepts more frames that aren't urgent.
+     *
+     * A Channel becomes unwritable when the number of bytes pending to be written
+     * reaches the configured high watermark, and writable again once it dropped
+     * to the low watermark. Frames written to an unwritable Channel are still
+     * queued; it is up to the caller to back off.
+     *
+     * This method is thread-safe.
+     *
+     * @return true if the channel is writable, false otherwise.
+     */
+    default boolean isWritable() {
+        return true;
+    }
+
     /**
      * Returns current count of bytes read from the Channel.
      * The read values might not reflect the most recent value.
@@ -80,6 +80,11 @@ public final class NioChannel extends AbstractChannel {
         return true;
     }
 
+    @Override
+    public boolean isWritable() {
+        return outboundPipeline.isWritable();
+    }
+
     @Override
     public long lastReadTimeMillis() {
         return inboundPipeline.lastReadTimeMillis();
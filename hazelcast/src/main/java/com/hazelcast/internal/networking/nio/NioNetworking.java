@@ -67,6 +67,7 @@ import static com.hazelcast.internal.nio.IOUtil.closeResource;
 import static com.hazelcast.internal.util.HashUtil.hashToIndex;
 import static com.hazelcast.internal.util.ThreadUtil.createThreadPoolName;
 import static com.hazelcast.internal.util.concurrent.BackoffIdleStrategy.createBackoffIdleStrategy;
+import static java.lang.Math.min;
 import static java.util.Collections.newSetFromMap;
 import static java.util.concurrent.Executors.newSingleThreadExecutor;
 import static java.util.concurrent.TimeUnit.SECONDS;
@@ -120,6 +121,8 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
     private volatile ExecutorService closeListenerExecutor;
     private final ConcurrencyDetection concurrencyDetection;
     private final boolean writeThroughEnabled;
+    private final long writeQueueHighWatermark;
+    private final long writeQueueLowWatermark;
     private final ThreadAffinity inputThreadAffinity;
     private volatile IOBalancer ioBalancer;
     private volatile NioThread[] inputThreads;
@@ -152,6 +155,10 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
         this.selectorWorkaroundTest = ctx.selectorWorkaroundTest;
         this.idleStrategy = ctx.idleStrategy;
         this.concurrencyDetection = ctx.concurrencyDetection;
+        this.writeQueueHighWatermark = ctx.writeQueueHighWatermark;
+        this.writeQueueLowWatermark = ctx.writeQueueLowWatermark > 0
+                ? min(ctx.writeQueueLowWatermark, ctx.writeQueueHighWatermark)
+                : ctx.writeQueueHighWatermark / 2;
         // selector mode SELECT_WITH_FIX requires that a single thread
         // accesses a selector & its selectionKeys. Selection key wake-up
         // and write through break this requirement, therefore must be
@@ -333,7 +340,9 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
                 ioBalancer,
                 concurrencyDetection,
                 writeThroughEnabled,
-                selectionKeyWakeupEnabled);
+                selectionKeyWakeupEnabled,
+                writeQueueHighWatermark,
+                writeQueueLowWatermark);
     }
 
     private NioInboundPipeline newInboundPipeline(NioChannel channel) {
@@ -503,6 +512,12 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
         // this is an optimization that can speed up low threaded setups
         private boolean writeThroughEnabled;
 
+        // the number of pending bytes in the write queue of a channel at which the
+        // channel becomes unwritable, and at which it becomes writable again.
+        // A high watermark of 0 or less disables the watermarks
+        private long writeQueueHighWatermark;
+        private long writeQueueLowWatermark;
+
         public Context() {
             String selectorModeString = SelectorMode.getConfiguredString();
             if (selectorModeString.startsWith(SELECT_NOW_STRING + ",")) {
@@ -520,6 +535,16 @@ public final class NioNetworking implements Networking, DynamicMetricsProvider {
             return this;
         }
 
+        public Context writeQueueHighWatermark(long writeQueueHighWatermark) {
+            this.writeQueueHighWatermark = writeQueueHighWatermark;
+            return this;
+        }
+
+        public Context writeQueueLowWatermark(long writeQueueLowWatermark) {
+            this.writeQueueLowWatermark = writeQueueLowWatermark;
+            return this;
+        }
+
         public Context concurrencyDetection(ConcurrencyDetection concurrencyDetection) {
             this.concurrencyDetection = concurrencyDetection;
             return this;
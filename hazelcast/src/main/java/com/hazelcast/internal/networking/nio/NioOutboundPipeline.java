@@ -25,6 +25,7 @@ import com.hazelcast.internal.networking.OutboundHandler;
 import com.hazelcast.internal.networking.OutboundPipeline;
 import com.hazelcast.internal.networking.nio.iobalancer.IOBalancer;
 import com.hazelcast.internal.util.ConcurrencyDetection;
+import com.hazelcast.internal.util.counters.MwCounter;
 import com.hazelcast.internal.util.counters.SwCounter;
 import com.hazelcast.logging.ILogger;
 
@@ -33,8 +34,6 @@ import java.nio.ByteBuffer;
 import java.nio.channels.CancelledKeyException;
 import java.nio.channels.SelectionKey;
 import java.util.Arrays;
-import java.util.Queue;
-import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Supplier;
 
@@ -45,9 +44,10 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKIN
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_PRIORITY_WRITE_QUEUE_PENDING_BYTES;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_PRIORITY_WRITE_QUEUE_SIZE;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_SCHEDULED;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_UNWRITABLE_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_WRITABLE;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_WRITE_QUEUE_PENDING_BYTES;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_WRITE_QUEUE_SIZE;
-import static com.hazelcast.internal.metrics.ProbeLevel.DEBUG;
 import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
 import static com.hazelcast.internal.metrics.ProbeUnit.MS;
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
@@ -56,6 +56,7 @@ import static com.hazelcast.internal.util.EmptyStatement.ignore;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
 import static com.hazelcast.internal.util.collection.ArrayUtils.append;
 import static com.hazelcast.internal.util.collection.ArrayUtils.replaceFirst;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
 import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
 import static java.lang.Math.max;
 import static java.lang.System.currentTimeMillis;
@@ -108,10 +109,10 @@ public final class NioOutboundPipeline
 
     @SuppressWarnings("checkstyle:visibilitymodifier")
     @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_WRITE_QUEUE_SIZE)
-    public final Queue<OutboundFrame> writeQueue = new ConcurrentLinkedQueue<>();
+    public final OutboundFrameQueue writeQueue = new OutboundFrameQueue();
     @SuppressWarnings("checkstyle:visibilitymodifier")
     @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_PRIORITY_WRITE_QUEUE_SIZE)
-    public final Queue<OutboundFrame> priorityWriteQueue = new ConcurrentLinkedQueue<>();
+    public final OutboundFrameQueue priorityWriteQueue = new OutboundFrameQueue();
 
     private OutboundHandler[] handlers = new OutboundHandler[0];
     private ByteBuffer sendBuffer;
@@ -123,8 +124,13 @@ public final class NioOutboundPipeline
     private final SwCounter normalFramesWritten = newSwCounter();
     @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_PRIORITY_FRAMES_WRITTEN)
     private final SwCounter priorityFramesWritten = newSwCounter();
+    @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_UNWRITABLE_COUNT)
+    private final MwCounter unwritableCount = newMwCounter();
 
     private volatile long lastWriteTime;
+    // false while the pending bytes in the write queue didn't drop to the low watermark
+    // after having reached the high watermark
+    private volatile boolean writable = true;
 
     private long bytesWrittenLastPublish;
     private long normalFramesWrittenLastPublish;
@@ -133,6 +139,8 @@ public final class NioOutboundPipeline
     private final ConcurrencyDetection concurrencyDetection;
     private final boolean writeThroughEnabled;
     private final boolean selectionKeyWakeupEnabled;
+    private final long highWatermark;
+    private final long lowWatermark;
 
     NioOutboundPipeline(NioChannel channel,
                         NioThread owner,
@@ -141,11 +149,15 @@ public final class NioOutboundPipeline
                         IOBalancer balancer,
                         ConcurrencyDetection concurrencyDetection,
                         boolean writeThroughEnabled,
-                        boolean selectionKeyWakeupEnabled) {
+                        boolean selectionKeyWakeupEnabled,
+                        long highWatermark,
+                        long lowWatermark) {
         super(channel, owner, errorHandler, OP_WRITE, logger, balancer);
         this.concurrencyDetection = concurrencyDetection;
         this.writeThroughEnabled = writeThroughEnabled;
         this.selectionKeyWakeupEnabled = selectionKeyWakeupEnabled;
+        this.highWatermark = highWatermark;
+        this.lowWatermark = lowWatermark;
     }
 
     @Override
@@ -170,22 +182,36 @@ public final class NioOutboundPipeline
         return lastWriteTime;
     }
 
-    @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_WRITE_QUEUE_PENDING_BYTES, level = DEBUG, unit = BYTES)
+    @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_WRITE_QUEUE_PENDING_BYTES, unit = BYTES)
     public long bytesPending() {
-        return bytesPending(writeQueue);
+        return writeQueue.bytes();
     }
 
-    @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_PRIORITY_WRITE_QUEUE_PENDING_BYTES, level = DEBUG, unit = BYTES)
+    @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_PRIORITY_WRITE_QUEUE_PENDING_BYTES, unit = BYTES)
     public long priorityBytesPending() {
-        return bytesPending(priorityWriteQueue);
+        return priorityWriteQueue.bytes();
     }
 
-    private long bytesPending(Queue<OutboundFrame> writeQueue) {
-        long bytesPending = 0;
-        for (OutboundFrame frame : writeQueue) {
-            bytesPending += frame.getFrameLength();
+    /**
+     * Checks if the write queue accepts more normal frames.
+     * <p>
+     * Once the pending bytes in the write queue reach the high watermark, the
+     * pipeline becomes unwritable and stays that way until the pending bytes
+     * dropped to the low watermark. Callers that can defer their frames, are
+     * expected to back off while the pipeline is unwritable; the pipeline
+     * itself never rejects a frame. Urgent frames are not subject to the
+     * watermarks.
+     *
+     * @return {@code true} if the write queue is below the watermarks or if
+     * the watermarks are disabled, {@code false} otherwise
+     */
+    public boolean isWritable() {
+        if (!writable && writeQueue.bytes() <= lowWatermark) {
+            // the check is repeated here and not only when taking frames from the queue;
+            // otherwise a write racing with the last take could leave an empty queue unwritable
+            writable = true;
         }
-        return bytesPending;
+        return writable;
     }
 
     @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_IDLE_TIME_MILLIS, unit = MS)
@@ -198,11 +224,20 @@ public final class NioOutboundPipeline
         return scheduled.get().ordinal();
     }
 
+    @Probe(name = NETWORKING_METRIC_NIO_OUTBOUND_PIPELINE_WRITABLE)
+    private long writable() {
+        return isWritable() ? 1 : 0;
+    }
+
     public void write(OutboundFrame frame) {
         if (frame.isUrgent()) {
             priorityWriteQueue.offer(frame);
         } else {
             writeQueue.offer(frame);
+            if (highWatermark > 0 && writable && writeQueue.bytes() >= highWatermark) {
+                writable = false;
+                unwritableCount.inc();
+            }
         }
 
         // take care of the scheduling.
@@ -290,6 +325,9 @@ public final class NioOutboundPipeline
             if (frame == null) {
                 return null;
             }
+            if (!writable) {
+                isWritable();
+            }
             normalFramesWritten.inc();
         } else {
             priorityFramesWritten.inc();
@@ -444,6 +482,7 @@ public final class NioOutboundPipeline
     void drainWriteQueues() {
         writeQueue.clear();
         priorityWriteQueue.clear();
+        writable = true;
     }
 
     long bytesWritten() {
@@ -0,0 +1,128 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.nio;
+
+import com.hazelcast.internal.networking.OutboundFrame;
+
+import java.util.AbstractQueue;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+
+/**
+ * A multi-producer write queue of {@link OutboundFrame} instances that keeps
+ * track of the number of frames and the number of bytes it contains.
+ * <p>
+ * A plain {@link ConcurrentLinkedQueue} needs to traverse all its nodes to
+ * determine its size, and determining the number of pending bytes requires
+ * the same traversal. Both are needed frequently: by the diagnostics, by the
+ * metrics and by the write queue backpressure of the {@link NioOutboundPipeline}.
+ * This queue maintains both totals incrementally so they can be read in constant
+ * time.
+ * <p>
+ * The totals are updated after the frame has been added to or removed from the
+ * underlying queue, so a concurrent reader can briefly observe values that lag
+ * behind the actual content. They never drift permanently, as long as frames
+ * are only removed through {@link #poll()} or {@link #clear()}; the iterator
+ * therefore doesn't support removal.
+ */
+public final class OutboundFrameQueue extends AbstractQueue<OutboundFrame> {
+
+    private final ConcurrentLinkedQueue<OutboundFrame> queue = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong bytes = new AtomicLong();
+
+    @Override
+    public boolean offer(OutboundFrame frame) {
+        checkNotNull(frame, "frame can't be null");
+
+        queue.offer(frame);
+        size.incrementAndGet();
+        bytes.addAndGet(frame.getFrameLength());
+        return true;
+    }
+
+    @Override
+    public OutboundFrame poll() {
+        OutboundFrame frame = queue.poll();
+        if (frame != null) {
+            size.decrementAndGet();
+            bytes.addAndGet(-frame.getFrameLength());
+        }
+        return frame;
+    }
+
+    @Override
+    public OutboundFrame peek() {
+        return queue.peek();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return queue.isEmpty();
+    }
+
+    @Override
+    public int size() {
+        return max(size.get());
+    }
+
+    /**
+     * Returns the total frame length of the frames in this queue.
+     *
+     * @return the number of pending bytes
+     */
+    public long bytes() {
+        return max(bytes.get());
+    }
+
+    @Override
+    public void clear() {
+        // polling keeps the counters consistent with frames that are offered concurrently
+        while (poll() != null) {
+            // no-op
+        }
+    }
+
+    @Override
+    public Iterator<OutboundFrame> iterator() {
+        Iterator<OutboundFrame> it = queue.iterator();
+        return new Iterator<OutboundFrame>() {
+            @Override
+            public boolean hasNext() {
+                return it.hasNext();
+            }
+
+            @Override
+            public OutboundFrame next() {
+                return it.next();
+            }
+        };
+    }
+
+    // the counters are updated after the queue, so they can temporarily be negative
+    private static int max(int value) {
+        return Math.max(value, 0);
+    }
+
+    private static long max(long value) {
+        return Math.max(value, 0);
+    }
+}
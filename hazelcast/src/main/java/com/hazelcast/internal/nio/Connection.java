@@ -129,6 +129,20 @@ public interface Connection {
         return write(frame);
     }
 
+    /**
+     * Checks if this connection accepts more frames that aren't urgent.
+     * <p>
+     * A connection becomes unwritable when too many bytes are pending to be
+     * written to it, see {@link com.hazelcast.internal.networking.Channel#isWritable()}.
+     * A frame written to an unwritable connection is still accepted; senders
+     * that can defer their frames should back off instead of writing.
+     *
+     * @return true if the connection is writable, false otherwise.
+     */
+    default boolean isWritable() {
+        return true;
+    }
+
     /**
      * Closes this connection.
      * <p>
@@ -96,6 +96,13 @@ public final class Packet extends HeapData implements OutboundFrame {
      */
     public static final int FLAG_JET_FLOW_CONTROL = 1 << 1;
 
+    // 3.c Event packet flags
+
+    /**
+     * Marks an Event packet as a batch of events
+     */
+    public static final int FLAG_EVENT_BATCH = 1 << 1;
+
     /**
      * Marks a packet as sent by a 4.x member
      */
@@ -295,7 +302,12 @@ public final class Packet extends HeapData implements OutboundFrame {
          * <p>
          * {@code ordinal = 2}
          */
-        EVENT,
+        EVENT {
+            @Override
+            public String describeFlags(char flags) {
+                return "[isBatch=" + isFlagRaised(flags, FLAG_EVENT_BATCH) + ']';
+            }
+        },
         /**
          * The type of a Jet packet.
          * <p>
@@ -0,0 +1,49 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.partition;
+
+import com.hazelcast.spi.impl.operationservice.Operation;
+
+/**
+ * Supplies the replication operations which migrate a replica fragment
+ * in bounded chunks, see {@link ChunkedMigrationAwareService}.
+ * <p>
+ * All the methods are called on the partition thread of the migrating
+ * partition, one chunk at a time: the next chunk is prepared only after
+ * the destination has applied the previous one.
+ */
+public interface ChunkSupplier {
+
+    /**
+     * @return {@code true} if there are more chunks to send
+     */
+    boolean hasNext();
+
+    /**
+     * Returns the replication operation of the next chunk. The operations
+     * are run on the destination in the order they're supplied.
+     *
+     * @return the replication operation of the next chunk
+     */
+    Operation next();
+
+    /**
+     * @return the number of bytes of the replicated data in the chunks
+     * supplied so far
+     */
+    long bytesSupplied();
+}
@@ -0,0 +1,55 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.partition;
+
+import com.hazelcast.internal.services.ServiceNamespace;
+import com.hazelcast.spi.properties.ClusterProperty;
+
+import javax.annotation.Nullable;
+
+/**
+ * {@code ChunkedMigrationAwareService} is an extension to the {@link FragmentedMigrationAwareService}
+ * which allows migration of a single replica fragment in multiple chunks of bounded size.
+ * <p>
+ * A fragment is sent in a single packet by default, its whole data is serialized at once both on the
+ * source and on the destination. When chunked migration is enabled by
+ * {@link ClusterProperty#PARTITION_CHUNKED_MIGRATION_ENABLED}, the source sends the replication
+ * operations supplied by a {@link ChunkSupplier} one by one, each in a separate migration operation,
+ * and the destination applies them incrementally. Other operations of the partition can run between
+ * the chunks.
+ * <p>
+ * Chunked migration is used only when fragmented migration is enabled and only for the migrations,
+ * anti-entropy still replicates the fragments in a single packet.
+ *
+ * @see FragmentedMigrationAwareService
+ */
+public interface ChunkedMigrationAwareService extends FragmentedMigrationAwareService {
+
+    /**
+     * Returns a supplier of the chunks which replicate the given namespace. This method is called on
+     * the partition thread of the migrating partition.
+     * <p>
+     * Returning null is allowed and means the service does not have anything to replicate for the namespace.
+     *
+     * @param event             replication event
+     * @param namespace         replica fragment namespace to replicate
+     * @param maxChunkSizeBytes the size of the replicated data above which a chunk is closed
+     * @return the chunk supplier or null if nothing will be replicated
+     */
+    @Nullable
+    ChunkSupplier newChunkSupplier(PartitionReplicationEvent event, ServiceNamespace namespace, int maxChunkSizeBytes);
+}
@@ -30,12 +30,18 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_ELAPSED_DESTINATION_COMMIT_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_ELAPSED_MIGRATION_OPERATION_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_ELAPSED_MIGRATION_TIME;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_LAST_CHUNKED_MIGRATION_BYTES;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_LAST_CHUNKED_MIGRATION_CHUNKS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_LAST_CHUNKED_MIGRATION_ELAPSED_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_LAST_REPARTITION_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_PLANNED_MIGRATIONS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_TOTAL_COMPLETED_MIGRATIONS;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_TOTAL_ELAPSED_DESTINATION_COMMIT_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_TOTAL_ELAPSED_MIGRATION_OPERATION_TIME;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_TOTAL_ELAPSED_MIGRATION_TIME;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_TOTAL_SENT_CHUNKS;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MIGRATION_METRIC_TOTAL_SENT_CHUNK_BYTES;
+import static com.hazelcast.internal.metrics.ProbeUnit.BYTES;
 import static com.hazelcast.internal.metrics.ProbeUnit.MS;
 import static com.hazelcast.internal.metrics.ProbeUnit.NS;
 
@@ -74,6 +80,23 @@ public class MigrationStats {
     @Probe(name = MIGRATION_METRIC_TOTAL_ELAPSED_MIGRATION_TIME, unit = NS)
     private final AtomicLong totalElapsedMigrationTime = new AtomicLong();
 
+    // the chunk stats are recorded by the migration sources, not by the master
+
+    @Probe(name = MIGRATION_METRIC_TOTAL_SENT_CHUNKS)
+    private final AtomicLong totalSentChunks = new AtomicLong();
+
+    @Probe(name = MIGRATION_METRIC_TOTAL_SENT_CHUNK_BYTES, unit = BYTES)
+    private final AtomicLong totalSentChunkBytes = new AtomicLong();
+
+    @Probe(name = MIGRATION_METRIC_LAST_CHUNKED_MIGRATION_CHUNKS)
+    private volatile int lastChunkedMigrationChunks;
+
+    @Probe(name = MIGRATION_METRIC_LAST_CHUNKED_MIGRATION_BYTES, unit = BYTES)
+    private volatile long lastChunkedMigrationBytes;
+
+    @Probe(name = MIGRATION_METRIC_LAST_CHUNKED_MIGRATION_ELAPSED_TIME, unit = NS)
+    private volatile long lastChunkedMigrationElapsedTime;
+
     /**
      * Marks start of new repartitioning.
      * Resets stats from previous repartitioning round.
@@ -108,6 +131,21 @@ public class MigrationStats {
         totalElapsedMigrationTime.addAndGet(time);
     }
 
+    /**
+     * Records a migration sent in chunks by this member.
+     *
+     * @param chunks       number of chunks sent
+     * @param bytes        size of the data in the chunks
+     * @param elapsedNanos time from the first chunk to the completion of the last one
+     */
+    public void recordChunkedMigration(int chunks, long bytes, long elapsedNanos) {
+        totalSentChunks.addAndGet(chunks);
+        totalSentChunkBytes.addAndGet(bytes);
+        lastChunkedMigrationChunks = chunks;
+        lastChunkedMigrationBytes = bytes;
+        lastChunkedMigrationElapsedTime = elapsedNanos;
+    }
+
     /**
      * Returns the last repartition time.
      */
@@ -191,6 +229,51 @@ public class MigrationStats {
         return TimeUnit.NANOSECONDS.toMillis(totalElapsedMigrationTime.get());
     }
 
+    /**
+     * Returns the total number of chunks sent by this member as the migration source since the beginning.
+     */
+    public long getTotalSentChunks() {
+        return totalSentChunks.get();
+    }
+
+    /**
+     * Returns the total size of the data in the chunks sent by this member as the migration source since the beginning.
+     */
+    public long getTotalSentChunkBytes() {
+        return totalSentChunkBytes.get();
+    }
+
+    /**
+     * Returns the number of chunks of the last migration sent in chunks by this member.
+     */
+    public int getLastChunkedMigrationChunks() {
+        return lastChunkedMigrationChunks;
+    }
+
+    /**
+     * Returns the size of the data of the last migration sent in chunks by this member.
+     */
+    public long getLastChunkedMigrationBytes() {
+        return lastChunkedMigrationBytes;
+    }
+
+    /**
+     * Returns the time from the first chunk to the completion of the last one of the last migration sent in chunks
+     * by this member, in nanoseconds.
+     */
+    public long getLastChunkedMigrationElapsedTime() {
+        return lastChunkedMigrationElapsedTime;
+    }
+
+    /**
+     * Returns the throughput of the last migration sent in chunks by this member, in bytes per second.
+     */
+    public long getLastChunkedMigrationThroughput() {
+        long bytes = lastChunkedMigrationBytes;
+        long elapsedNanos = lastChunkedMigrationElapsedTime;
+        return elapsedNanos > 0 ? (long) ((double) bytes * TimeUnit.SECONDS.toNanos(1) / elapsedNanos) : bytes;
+    }
+
     public MigrationState toMigrationState() {
         return new MigrationStateImpl(lastRepartitionTime.get(), plannedMigrations,
                 completedMigrations.get(), getElapsedMigrationTime());
@@ -210,7 +293,9 @@ public class MigrationStats {
                     .append(", elapsedDestinationCommitTime=").append(getElapsedDestinationCommitTime()).append("ms")
                     .append(", totalElapsedDestinationCommitTime=").append(getTotalElapsedDestinationCommitTime()).append("ms")
                     .append(", elapsedMigrationTime=").append(getElapsedMigrationTime()).append("ms")
-                    .append(", totalElapsedMigrationTime=").append(getTotalElapsedMigrationTime()).append("ms");
+                    .append(", totalElapsedMigrationTime=").append(getTotalElapsedMigrationTime()).append("ms")
+                    .append(", totalSentChunks=").append(getTotalSentChunks())
+                    .append(", totalSentChunkBytes=").append(getTotalSentChunkBytes());
         }
         return s.toString();
     }
@@ -18,6 +18,8 @@ package com.hazelcast.internal.partition.operation;
 
 import com.hazelcast.cluster.Address;
 import com.hazelcast.core.MemberLeftException;
+import com.hazelcast.internal.partition.ChunkSupplier;
+import com.hazelcast.internal.partition.ChunkedMigrationAwareService;
 import com.hazelcast.internal.partition.FragmentedMigrationAwareService;
 import com.hazelcast.internal.partition.InternalPartitionService;
 import com.hazelcast.internal.partition.MigrationEndpoint;
@@ -31,10 +33,12 @@ import com.hazelcast.internal.partition.ReplicaFragmentMigrationState;
 import com.hazelcast.internal.partition.impl.InternalPartitionServiceImpl;
 import com.hazelcast.internal.partition.impl.MigrationInterceptor.MigrationParticipant;
 import com.hazelcast.internal.partition.impl.MigrationManager;
+import com.hazelcast.internal.partition.impl.MigrationStats;
 import com.hazelcast.internal.partition.impl.PartitionDataSerializerHook;
 import com.hazelcast.internal.services.ServiceNamespace;
 import com.hazelcast.internal.util.ThreadUtil;
 import com.hazelcast.logging.ILogger;
+import com.hazelcast.memory.MemoryUnit;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.spi.impl.NodeEngine;
@@ -46,6 +50,7 @@ import com.hazelcast.spi.impl.operationservice.Offload;
 import com.hazelcast.spi.impl.operationservice.Operation;
 import com.hazelcast.spi.impl.operationservice.UrgentSystemOperation;
 import com.hazelcast.spi.impl.servicemanager.ServiceInfo;
+import com.hazelcast.spi.properties.HazelcastProperties;
 
 import java.io.IOException;
 import java.util.Collection;
@@ -58,9 +63,12 @@ import java.util.Map;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
 import java.util.function.BiConsumer;
 import java.util.logging.Level;
 
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_CHUNKED_MIGRATION_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_MIGRATION_CHUNK_SIZE_KB;
 import static java.util.Collections.emptySet;
 import static java.util.Collections.singleton;
 
@@ -69,11 +77,22 @@ import static java.util.Collections.singleton;
  * sending them to the destination. A response with a value equal to {@link Boolean#TRUE} indicates a successful migration.
  * It runs on the migration source and transfers the partition with multiple shots.
  * It divides the partition data into fragments and send a group of fragments within each shot.
+ * A fragment of a {@link ChunkedMigrationAwareService} is sent in multiple shots, one per chunk,
+ * if chunked migration is enabled.
  */
 public class MigrationRequestOperation extends BaseMigrationOperation {
 
     private boolean fragmentedMigrationEnabled;
     private transient ServiceNamespacesContext namespacesContext;
+    // 0 if chunked migration is disabled
+    private transient int maxChunkSizeBytes;
+    // the namespace being sent in chunks, set and cleared on the partition thread
+    private transient volatile ServiceNamespace chunkedNamespace;
+    // accessed only on the partition thread
+    private transient ChunkSupplier chunkSupplier;
+    private transient int sentChunks;
+    private transient long sentChunkBytes;
+    private transient long chunkedMigrationStartNanos;
 
     public MigrationRequestOperation() {
     }
@@ -101,6 +120,11 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
             try {
                 executeBeforeMigrations();
                 namespacesContext = new ServiceNamespacesContext(nodeEngine, getPartitionReplicationEvent());
+                HazelcastProperties properties = nodeEngine.getProperties();
+                if (properties.getBoolean(PARTITION_CHUNKED_MIGRATION_ENABLED)) {
+                    long chunkSizeBytes = MemoryUnit.KILOBYTES.toBytes(properties.getInteger(PARTITION_MIGRATION_CHUNK_SIZE_KB));
+                    maxChunkSizeBytes = (int) Math.min(Integer.MAX_VALUE, chunkSizeBytes);
+                }
                 invokeMigrationOperation(initialReplicaFragmentMigrationState(), true);
             } catch (Throwable e) {
                 logThrowable(e);
@@ -127,7 +151,7 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
     private void invokeMigrationOperation(ReplicaFragmentMigrationState migrationState, boolean firstFragment) {
         assert ThreadUtil.isRunningOnPartitionThread()
                 : "Migration operations must be invoked from a partition thread";
-        boolean lastFragment = !namespacesContext.hasNext();
+        boolean lastFragment = chunkedNamespace == null && !namespacesContext.hasNext();
         Operation operation = new MigrationOperation(migrationInfo,
                 firstFragment ? completedMigrations : Collections.emptyList(),
                 partitionStateVersion, migrationState, firstFragment, lastFragment);
@@ -167,10 +191,14 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
             }
 
             // replication operation preparation may have to happen on partition thread or not
-            ReplicaFragmentMigrationState migrationState = createNextReplicaFragmentMigrationState();
+            ReplicaFragmentMigrationState migrationState = chunkedNamespace == null
+                    ? createNextReplicaFragmentMigrationState() : null;
 
             // migration invocation must always happen on partition thread
-            if (migrationState != null) {
+            if (chunkedNamespace != null) {
+                // chunks are prepared on partition thread as well
+                getNodeEngine().getOperationService().execute(new InvokeChunkMigrationOps(getPartitionId()));
+            } else if (migrationState != null) {
                 // migration ops must be serialized and invoked from partition threads
                 getNodeEngine().getOperationService().execute(new InvokeMigrationOps(migrationState, getPartitionId()));
             } else {
@@ -209,6 +237,30 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
         }
     }
 
+    private final class InvokeChunkMigrationOps implements PartitionSpecificRunnable, UrgentSystemOperation {
+
+        private final int partitionId;
+
+        InvokeChunkMigrationOps(int partitionId) {
+            this.partitionId = partitionId;
+        }
+
+        @Override
+        public int getPartitionId() {
+            return partitionId;
+        }
+
+        @Override
+        public void run() {
+            try {
+                invokeMigrationOperation(createNextChunkMigrationState(), false);
+            } catch (Throwable t) {
+                logThrowable(t);
+                completeMigration(false);
+            }
+        }
+    }
+
     /**
      * Creates an empty {@code ReplicaFragmentMigrationState} to perform a ready-check on destination.
      * That way initial {@code MigrationOperation} will be empty and any failure or retry
@@ -235,9 +287,65 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
         if (namespace.equals(NonFragmentedServiceNamespace.INSTANCE)) {
             return createNonFragmentedReplicaFragmentMigrationState();
         }
+        if (isChunkedNamespace(namespace)) {
+            // the chunks will be prepared by InvokeChunkMigrationOps
+            chunkedNamespace = namespace;
+            return null;
+        }
         return createReplicaFragmentMigrationStateFor(namespace);
     }
 
+    private boolean isChunkedNamespace(ServiceNamespace namespace) {
+        if (maxChunkSizeBytes <= 0) {
+            return false;
+        }
+        Collection<String> serviceNames = namespacesContext.getServiceNames(namespace);
+        if (serviceNames.size() != 1) {
+            return false;
+        }
+        Object service = getNodeEngine().getService(serviceNames.iterator().next());
+        return service instanceof ChunkedMigrationAwareService;
+    }
+
+    /**
+     * Creates the migration state of the next chunk of {@link #chunkedNamespace}. The replica versions
+     * of the namespace are sent with the last chunk, so they're set only after all the chunks are applied.
+     */
+    private ReplicaFragmentMigrationState createNextChunkMigrationState() {
+        assert ThreadUtil.isRunningOnPartitionThread() : "Migration chunks must be prepared on a partition thread";
+
+        ServiceNamespace namespace = chunkedNamespace;
+        String serviceName = namespacesContext.getServiceNames(namespace).iterator().next();
+        ChunkSupplier supplier = chunkSupplier;
+        if (supplier == null) {
+            ChunkedMigrationAwareService service = getNodeEngine().getService(serviceName);
+            supplier = service.newChunkSupplier(getPartitionReplicationEvent(), namespace, maxChunkSizeBytes);
+            if (chunkedMigrationStartNanos == 0) {
+                chunkedMigrationStartNanos = System.nanoTime();
+            }
+        }
+
+        Collection<Operation> operations = emptySet();
+        if (supplier != null && supplier.hasNext()) {
+            Operation operation = supplier.next();
+            operation.setServiceName(serviceName);
+            operations = singleton(operation);
+            sentChunks++;
+        }
+
+        if (supplier != null && supplier.hasNext()) {
+            chunkSupplier = supplier;
+            return createReplicaFragmentMigrationState(emptySet(), operations);
+        }
+
+        if (supplier != null) {
+            sentChunkBytes += supplier.bytesSupplied();
+        }
+        chunkSupplier = null;
+        chunkedNamespace = null;
+        return createReplicaFragmentMigrationState(singleton(namespace), operations);
+    }
+
     private ReplicaFragmentMigrationState createNonFragmentedReplicaFragmentMigrationState() {
         PartitionReplicationEvent event = getPartitionReplicationEvent();
         Collection<Operation> operations = createNonFragmentedReplicationOperations(event);
@@ -292,11 +400,27 @@ public class MigrationRequestOperation extends BaseMigrationOperation {
     }
 
     private void completeMigration(boolean result) {
+        if (result && sentChunks > 0) {
+            recordChunkedMigration();
+        }
         success = result;
         onMigrationComplete();
         sendResponse(result);
     }
 
+    private void recordChunkedMigration() {
+        long elapsedNanos = System.nanoTime() - chunkedMigrationStartNanos;
+        InternalPartitionServiceImpl partitionService = getService();
+        MigrationStats stats = partitionService.getMigrationManager().getStats();
+        stats.recordChunkedMigration(sentChunks, sentChunkBytes, elapsedNanos);
+
+        ILogger logger = getLogger();
+        if (logger.isFineEnabled()) {
+            logger.fine("Sent " + sentChunks + " chunks of " + sentChunkBytes + " bytes in "
+                    + TimeUnit.NANOSECONDS.toMillis(elapsedNanos) + " ms for " + migrationInfo);
+        }
+    }
+
     private void logThrowable(Throwable t) {
         Throwable throwableToLog = t;
         if (throwableToLog instanceof ExecutionException) {
@@ -58,7 +58,7 @@ public class CompactStreamSerializer implements StreamSerializer<Object> {
     private final Map<Class, CompactSerializableRegistration> classToRegistrationMap = new ConcurrentHashMap<>();
     private final Map<String, CompactSerializableRegistration> typeNameToRegistrationMap = new ConcurrentHashMap<>();
     private final Map<Class, Schema> classToSchemaMap = new ConcurrentHashMap<>();
-    private final ReflectiveCompactSerializer reflectiveSerializer = new ReflectiveCompactSerializer();
+    private final MethodHandleCompactSerializer methodHandleSerializer = new MethodHandleCompactSerializer();
     private final SchemaService schemaService;
     private final ManagedContext managedContext;
     private final ClassLoader classLoader;
@@ -239,7 +239,7 @@ public class CompactStreamSerializer implements StreamSerializer<Object> {
             if (object instanceof Compactable) {
                 serializer = ((Compactable<?>) object).getCompactSerializer();
             } else {
-                serializer = reflectiveSerializer;
+                serializer = methodHandleSerializer;
             }
 
             return new CompactSerializableRegistration(aClass, aClass.getName(), serializer);
@@ -286,7 +286,7 @@ public class CompactStreamSerializer implements StreamSerializer<Object> {
             Class clazz = registry.element1;
             String typeName = registry.element2;
             CompactSerializer serializer = registry.element3;
-            serializer = serializer == null ? reflectiveSerializer : serializer;
+            serializer = serializer == null ? methodHandleSerializer : serializer;
             CompactSerializableRegistration registration = new CompactSerializableRegistration(clazz, typeName, serializer);
             classToRegistrationMap.put(clazz, registration);
             typeNameToRegistrationMap.put(typeName, registration);
@@ -308,7 +308,7 @@ public class CompactStreamSerializer implements StreamSerializer<Object> {
                     throw new IllegalArgumentException("Cannot create an instance of " + serializerClassName);
                 }
             } else {
-                serializer = reflectiveSerializer;
+                serializer = methodHandleSerializer;
             }
             Class clazz;
             try {
@@ -0,0 +1,440 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.nio.serialization.FieldKind;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+
+import javax.annotation.Nonnull;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Array;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Field;
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.hazelcast.nio.serialization.FieldKind.ARRAY_OF_BOOLEANS;
+import static com.hazelcast.nio.serialization.FieldKind.ARRAY_OF_BYTES;
+import static com.hazelcast.nio.serialization.FieldKind.ARRAY_OF_COMPACTS;
+import static com.hazelcast.nio.serialization.FieldKind.ARRAY_OF_DATES;
+import static com.hazelcast.nio.serialization.FieldKind.ARRAY_OF_DECIMALS;
+import static com.hazelcast.nio.serialization.FieldKind.ARRAY_OF_DOUBLES;
+import static com.hazelcast.nio.serialization.FieldKind.ARRAY_OF_FLOATS;
+import static com.hazelcast.nio.serialization.FieldKind.ARRAY_OF_INTS;
+import static com.hazelcast.nio.serialization.FieldKind.ARRAY_OF_LONGS;
+import static com.hazelcast.nio.serialization.FieldKind.ARRAY_OF_NULLABLE_BOOLEANS;
+import static com.hazelcast.nio.serialization.FieldKind.ARRAY_OF_NULLABLE_BYTES;
+import static com.hazelcast.nio.serialization.FieldKind.ARRAY_OF_NULLABLE_DOUBLES;
+import static com.hazelcast.nio.serialization.FieldKind.ARRAY_OF_NULLABLE_FLOATS;
+import static com.hazelcast.nio.serialization.FieldKind.ARRAY_OF_NULLABLE_INTS;
+import static com.hazelcast.nio.serialization.FieldKind.ARRAY_OF_NULLABLE_LONGS;
+import static com.hazelcast.nio.serialization.FieldKind.ARRAY_OF_NULLABLE_SHORTS;
+import static com.hazelcast.nio.serialization.FieldKind.ARRAY_OF_SHORTS;
+import static com.hazelcast.nio.serialization.FieldKind.ARRAY_OF_STRINGS;
+import static com.hazelcast.nio.serialization.FieldKind.ARRAY_OF_TIMES;
+import static com.hazelcast.nio.serialization.FieldKind.ARRAY_OF_TIMESTAMPS;
+import static com.hazelcast.nio.serialization.FieldKind.ARRAY_OF_TIMESTAMP_WITH_TIMEZONES;
+import static com.hazelcast.nio.serialization.FieldKind.BOOLEAN;
+import static com.hazelcast.nio.serialization.FieldKind.BYTE;
+import static com.hazelcast.nio.serialization.FieldKind.COMPACT;
+import static com.hazelcast.nio.serialization.FieldKind.DATE;
+import static com.hazelcast.nio.serialization.FieldKind.DECIMAL;
+import static com.hazelcast.nio.serialization.FieldKind.DOUBLE;
+import static com.hazelcast.nio.serialization.FieldKind.FLOAT;
+import static com.hazelcast.nio.serialization.FieldKind.INT;
+import static com.hazelcast.nio.serialization.FieldKind.LONG;
+import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_BOOLEAN;
+import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_BYTE;
+import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_DOUBLE;
+import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_FLOAT;
+import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_INT;
+import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_LONG;
+import static com.hazelcast.nio.serialization.FieldKind.NULLABLE_SHORT;
+import static com.hazelcast.nio.serialization.FieldKind.SHORT;
+import static com.hazelcast.nio.serialization.FieldKind.STRING;
+import static com.hazelcast.nio.serialization.FieldKind.TIME;
+import static com.hazelcast.nio.serialization.FieldKind.TIMESTAMP;
+import static com.hazelcast.nio.serialization.FieldKind.TIMESTAMP_WITH_TIMEZONE;
+import static java.lang.invoke.MethodHandles.filterArguments;
+import static java.lang.invoke.MethodHandles.filterReturnValue;
+import static java.lang.invoke.MethodHandles.insertArguments;
+import static java.lang.invoke.MethodType.methodType;
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Zero-config serializer for the Compact format that supports the same classes
+ * and fields as {@link ReflectiveCompactSerializer}, and produces the same binary,
+ * but doesn't go through {@link Field} for every field of every object.
+ * <p>
+ * When a class is seen for the first time, a {@link MethodHandle} chain is
+ * built for each of its fields: a writer chain that feeds the value of the field
+ * into the matching {@link CompactWriter} method and a reader chain that feeds
+ * the result of the matching {@link CompactReader} method into the field. The
+ * objects are created through a method handle for the empty constructor.
+ * <p>
+ * Which fields to read depends on the schema of the serialized data: a field
+ * is only read if the schema contains a field with the same name and a matching
+ * kind. This is resolved once per schema and the readers for the schema are
+ * cached, instead of being looked up for every field of every object.
+ * <p>
+ * The method handles are held in per-class arrays, not in constants, so the
+ * JIT compiler can't inline them and each field costs an indirect call. What
+ * is saved compared to the reflective serializer is the reflective
+ * construction of the objects and the schema lookups of every field of every
+ * read object, not the field accesses themselves. See {@code
+ * CompactSerializerBenchmark} for a comparison with the reflective and a
+ * hand-written serializer.
+ */
+public class MethodHandleCompactSerializer<T> implements CompactSerializer<T> {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+    private static final Map<Class<?>, Binding> BINDINGS = new HashMap<>();
+    private static final MethodHandle ENUM_AS_STRING;
+    private static final MethodHandle ENUM_FROM_STRING;
+    private static final MethodHandle ENUMS_AS_STRINGS;
+    private static final MethodHandle ENUMS_FROM_STRINGS;
+    private static final MethodHandle FIELD_SET;
+
+    static {
+        bind(boolean.class, "Boolean", BOOLEAN, NULLABLE_BOOLEAN);
+        bind(byte.class, "Byte", BYTE, NULLABLE_BYTE);
+        bind(short.class, "Short", SHORT, NULLABLE_SHORT);
+        bind(int.class, "Int", INT, NULLABLE_INT);
+        bind(long.class, "Long", LONG, NULLABLE_LONG);
+        bind(float.class, "Float", FLOAT, NULLABLE_FLOAT);
+        bind(double.class, "Double", DOUBLE, NULLABLE_DOUBLE);
+        bind(String.class, "String", STRING);
+        bind(BigDecimal.class, "Decimal", DECIMAL);
+        bind(LocalTime.class, "Time", TIME);
+        bind(LocalDate.class, "Date", DATE);
+        bind(LocalDateTime.class, "Timestamp", TIMESTAMP);
+        bind(OffsetDateTime.class, "TimestampWithTimezone", TIMESTAMP_WITH_TIMEZONE);
+        bind(Boolean.class, "NullableBoolean", BOOLEAN, NULLABLE_BOOLEAN);
+        bind(Byte.class, "NullableByte", BYTE, NULLABLE_BYTE);
+        bind(Short.class, "NullableShort", SHORT, NULLABLE_SHORT);
+        bind(Integer.class, "NullableInt", INT, NULLABLE_INT);
+        bind(Long.class, "NullableLong", LONG, NULLABLE_LONG);
+        bind(Float.class, "NullableFloat", FLOAT, NULLABLE_FLOAT);
+        bind(Double.class, "NullableDouble", DOUBLE, NULLABLE_DOUBLE);
+        bind(boolean[].class, "ArrayOfBooleans", ARRAY_OF_BOOLEANS, ARRAY_OF_NULLABLE_BOOLEANS);
+        bind(byte[].class, "ArrayOfBytes", ARRAY_OF_BYTES, ARRAY_OF_NULLABLE_BYTES);
+        bind(short[].class, "ArrayOfShorts", ARRAY_OF_SHORTS, ARRAY_OF_NULLABLE_SHORTS);
+        bind(int[].class, "ArrayOfInts", ARRAY_OF_INTS, ARRAY_OF_NULLABLE_INTS);
+        bind(long[].class, "ArrayOfLongs", ARRAY_OF_LONGS, ARRAY_OF_NULLABLE_LONGS);
+        bind(float[].class, "ArrayOfFloats", ARRAY_OF_FLOATS, ARRAY_OF_NULLABLE_FLOATS);
+        bind(double[].class, "ArrayOfDoubles", ARRAY_OF_DOUBLES, ARRAY_OF_NULLABLE_DOUBLES);
+        bind(Boolean[].class, "ArrayOfNullableBooleans", ARRAY_OF_BOOLEANS, ARRAY_OF_NULLABLE_BOOLEANS);
+        bind(Byte[].class, "ArrayOfNullableBytes", ARRAY_OF_BYTES, ARRAY_OF_NULLABLE_BYTES);
+        bind(Short[].class, "ArrayOfNullableShorts", ARRAY_OF_SHORTS, ARRAY_OF_NULLABLE_SHORTS);
+        bind(Integer[].class, "ArrayOfNullableInts", ARRAY_OF_INTS, ARRAY_OF_NULLABLE_INTS);
+        bind(Long[].class, "ArrayOfNullableLongs", ARRAY_OF_LONGS, ARRAY_OF_NULLABLE_LONGS);
+        bind(Float[].class, "ArrayOfNullableFloats", ARRAY_OF_FLOATS, ARRAY_OF_NULLABLE_FLOATS);
+        bind(Double[].class, "ArrayOfNullableDoubles", ARRAY_OF_DOUBLES, ARRAY_OF_NULLABLE_DOUBLES);
+        bind(String[].class, "ArrayOfStrings", ARRAY_OF_STRINGS);
+        bind(BigDecimal[].class, "ArrayOfDecimals", ARRAY_OF_DECIMALS);
+        bind(LocalTime[].class, "ArrayOfTimes", ARRAY_OF_TIMES);
+        bind(LocalDate[].class, "ArrayOfDates", ARRAY_OF_DATES);
+        bind(LocalDateTime[].class, "ArrayOfTimestamps", ARRAY_OF_TIMESTAMPS);
+        bind(OffsetDateTime[].class, "ArrayOfTimestampWithTimezones", ARRAY_OF_TIMESTAMP_WITH_TIMEZONES);
+        // the generic compact methods are erased to Object
+        bind(Object.class, "Compact", COMPACT);
+
+        try {
+            Class<?> self = MethodHandleCompactSerializer.class;
+            ENUM_AS_STRING = LOOKUP.findStatic(self, "enumAsString", methodType(String.class, Enum.class));
+            ENUM_FROM_STRING = LOOKUP.findStatic(self, "enumFromString", methodType(Enum.class, Class.class, String.class));
+            ENUMS_AS_STRINGS = LOOKUP.findStatic(self, "enumsAsStrings", methodType(String[].class, Enum[].class));
+            ENUMS_FROM_STRINGS = LOOKUP.findStatic(self, "enumsFromStrings",
+                    methodType(Enum[].class, Class.class, String[].class));
+            FIELD_SET = LOOKUP.findVirtual(Field.class, "set", methodType(void.class, Object.class, Object.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private final Map<Class, ClassAccessor> accessorCache = new ConcurrentHashMap<>();
+
+    @Override
+    public void write(@Nonnull CompactWriter writer, @Nonnull T object) {
+        ClassAccessor accessor = getOrCreateAccessor(object.getClass());
+        try {
+            for (MethodHandle fieldWriter : accessor.writers) {
+                fieldWriter.invokeExact(writer, (Object) object);
+            }
+        } catch (Throwable t) {
+            throw wrap(t);
+        }
+    }
+
+    @Nonnull
+    @Override
+    public T read(@Nonnull CompactReader reader) {
+        // We always fed DefaultCompactReader to this serializer.
+        DefaultCompactReader compactReader = (DefaultCompactReader) reader;
+        Class associatedClass = requireNonNull(compactReader.getAssociatedClass(),
+                "AssociatedClass is required for MethodHandleCompactSerializer");
+
+        ClassAccessor accessor = getOrCreateAccessor(associatedClass);
+        MethodHandle[] readers = accessor.readers(compactReader.getSchema());
+        Object object = accessor.newInstance();
+        try {
+            for (MethodHandle fieldReader : readers) {
+                fieldReader.invokeExact(object, reader);
+            }
+        } catch (Throwable t) {
+            throw wrap(t);
+        }
+        return (T) object;
+    }
+
+    private ClassAccessor getOrCreateAccessor(Class clazz) {
+        ClassAccessor accessor = accessorCache.get(clazz);
+        if (accessor == null) {
+            // created outside of computeIfAbsent since the empty constructor of the class is invoked.
+            // Racing threads create equivalent accessors.
+            accessor = new ClassAccessor(clazz);
+            accessorCache.put(clazz, accessor);
+        }
+        return accessor;
+    }
+
+    private static HazelcastSerializationException wrap(Throwable t) {
+        if (t instanceof Error) {
+            throw (Error) t;
+        }
+        return new HazelcastSerializationException(t);
+    }
+
+    private static void bind(Class<?> type, String methodSuffix, FieldKind... kinds) {
+        try {
+            MethodHandle writeMethod = LOOKUP.findVirtual(CompactWriter.class, "write" + methodSuffix,
+                    methodType(void.class, String.class, type));
+            MethodHandle readMethod = LOOKUP.findVirtual(CompactReader.class, "read" + methodSuffix,
+                    methodType(type, String.class));
+            BINDINGS.put(type, new Binding(type, writeMethod, readMethod, kinds));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private static FieldAccessor createFieldAccessor(Field field) throws ReflectiveOperationException {
+        field.setAccessible(true);
+        Class<?> type = field.getType();
+        String name = field.getName();
+        MethodHandle getter = LOOKUP.unreflectGetter(field);
+        MethodHandle setter = setter(field);
+
+        Binding binding = BINDINGS.get(type);
+        if (binding != null) {
+            return binding.accessor(name, getter, setter);
+        } else if (type.isEnum()) {
+            // enums are written as their name
+            getter = filterReturnValue(getter.asType(methodType(Enum.class, Object.class)), ENUM_AS_STRING);
+            setter = filterArguments(setter.asType(methodType(void.class, Object.class, Enum.class)),
+                    1, ENUM_FROM_STRING.bindTo(type));
+            return BINDINGS.get(String.class).accessor(name, getter, setter);
+        } else if (type.isArray() && type.getComponentType().isEnum()) {
+            getter = filterReturnValue(getter.asType(methodType(Enum[].class, Object.class)), ENUMS_AS_STRINGS);
+            setter = filterArguments(setter.asType(methodType(void.class, Object.class, Enum[].class)),
+                    1, ENUMS_FROM_STRINGS.bindTo(type.getComponentType()));
+            return BINDINGS.get(String[].class).accessor(name, getter, setter);
+        } else if (type.isArray()) {
+            MethodHandle writeMethod = LOOKUP.findVirtual(CompactWriter.class, "writeArrayOfCompacts",
+                    methodType(void.class, String.class, Object[].class));
+            MethodHandle readMethod = insertArguments(LOOKUP.findVirtual(CompactReader.class, "readArrayOfCompacts",
+                    methodType(Object[].class, String.class, Class.class)), 2, type.getComponentType());
+            return new Binding(Object[].class, writeMethod, readMethod, ARRAY_OF_COMPACTS).accessor(name, getter, setter);
+        } else {
+            return BINDINGS.get(Object.class).accessor(name, getter, setter);
+        }
+    }
+
+    private static MethodHandle setter(Field field) throws IllegalAccessException {
+        try {
+            return LOOKUP.unreflectSetter(field);
+        } catch (IllegalAccessException e) {
+            // final fields can't be set through a method handle on every JVM, but they can through the
+            // accessible field itself
+            return FIELD_SET.bindTo(field).asType(methodType(void.class, field.getDeclaringClass(), field.getType()));
+        }
+    }
+
+    private static String enumAsString(Enum value) {
+        return value == null ? null : value.name();
+    }
+
+    private static Enum enumFromString(Class type, String name) {
+        return name == null ? null : Enum.valueOf(type, name);
+    }
+
+    private static String[] enumsAsStrings(Enum[] values) {
+        if (values == null) {
+            return null;
+        }
+        String[] names = new String[values.length];
+        for (int i = 0; i < values.length; i++) {
+            names[i] = enumAsString(values[i]);
+        }
+        return names;
+    }
+
+    private static Enum[] enumsFromStrings(Class type, String[] names) {
+        if (names == null) {
+            return null;
+        }
+        Enum[] values = (Enum[]) Array.newInstance(type, names.length);
+        for (int i = 0; i < names.length; i++) {
+            values[i] = enumFromString(type, names[i]);
+        }
+        return values;
+    }
+
+    /**
+     * The {@link CompactWriter} and {@link CompactReader} methods for a field type.
+     */
+    private static final class Binding {
+        private final Class<?> type;
+        // (CompactWriter, String, type)void
+        private final MethodHandle writeMethod;
+        // (CompactReader, String)type
+        private final MethodHandle readMethod;
+        private final FieldKind[] kinds;
+
+        Binding(Class<?> type, MethodHandle writeMethod, MethodHandle readMethod, FieldKind... kinds) {
+            this.type = type;
+            this.writeMethod = writeMethod;
+            this.readMethod = readMethod;
+            this.kinds = kinds;
+        }
+
+        /**
+         * @param getter (declaringClass)type
+         * @param setter (declaringClass, type)void
+         */
+        FieldAccessor accessor(String name, MethodHandle getter, MethodHandle setter) {
+            getter = getter.asType(methodType(type, Object.class));
+            setter = setter.asType(methodType(void.class, Object.class, type));
+            // (CompactWriter, Object)void
+            MethodHandle writer = filterArguments(insertArguments(writeMethod, 1, name), 1, getter);
+            // (Object, CompactReader)void
+            MethodHandle reader = filterArguments(setter, 1, insertArguments(readMethod, 1, name));
+            return new FieldAccessor(name, kinds, writer, reader);
+        }
+    }
+
+    private static final class FieldAccessor {
+        private final String name;
+        private final FieldKind[] kinds;
+        private final MethodHandle writer;
+        private final MethodHandle reader;
+
+        FieldAccessor(String name, FieldKind[] kinds, MethodHandle writer, MethodHandle reader) {
+            this.name = name;
+            this.kinds = kinds;
+            this.writer = writer;
+            this.reader = reader;
+        }
+
+        boolean existsIn(Schema schema) {
+            FieldDescriptor fieldDescriptor = schema.getField(name);
+            if (fieldDescriptor == null) {
+                return false;
+            }
+            for (FieldKind kind : kinds) {
+                if (fieldDescriptor.getKind() == kind) {
+                    return true;
+                }
+            }
+            return false;
+        }
+    }
+
+    private static final class ClassAccessor {
+        private final Class clazz;
+        private final MethodHandle constructor;
+        private final FieldAccessor[] fields;
+        private final MethodHandle[] writers;
+        private final Map<Long, MethodHandle[]> readersBySchemaId = new ConcurrentHashMap<>();
+
+        ClassAccessor(Class clazz) {
+            this.clazz = clazz;
+            List<Field> allFields = ReflectiveCompactSerializer.getAllFields(new LinkedList<>(), clazz);
+            this.fields = new FieldAccessor[allFields.size()];
+            this.writers = new MethodHandle[allFields.size()];
+            try {
+                Constructor constructor = clazz.getDeclaredConstructor();
+                constructor.setAccessible(true);
+                this.constructor = LOOKUP.unreflectConstructor(constructor).asType(methodType(Object.class));
+            } catch (Exception e) {
+                throw new HazelcastSerializationException("Could not construct the class " + clazz, e);
+            }
+            // create an object to fail-fast on the write path if the class can't be constructed
+            newInstance();
+
+            int index = 0;
+            for (Field field : allFields) {
+                try {
+                    fields[index] = createFieldAccessor(field);
+                } catch (ReflectiveOperationException e) {
+                    throw new HazelcastSerializationException("Could not access the field " + field, e);
+                }
+                writers[index] = fields[index].writer;
+                index++;
+            }
+        }
+
+        Object newInstance() {
+            try {
+                return (Object) constructor.invokeExact();
+            } catch (Throwable t) {
+                if (t instanceof Error) {
+                    throw (Error) t;
+                }
+                throw new HazelcastSerializationException("Could not construct the class " + clazz, t);
+            }
+        }
+
+        MethodHandle[] readers(Schema schema) {
+            MethodHandle[] readers = readersBySchemaId.get(schema.getSchemaId());
+            if (readers == null) {
+                List<MethodHandle> existing = new ArrayList<>(fields.length);
+                for (FieldAccessor field : fields) {
+                    if (field.existsIn(schema)) {
+                        existing.add(field.reader);
+                    }
+                }
+                readers = existing.toArray(new MethodHandle[0]);
+                readersBySchemaId.put(schema.getSchemaId(), readers);
+            }
+            return readers;
+        }
+    }
+}
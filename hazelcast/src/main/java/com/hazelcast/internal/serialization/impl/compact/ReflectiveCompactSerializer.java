@@ -94,6 +94,9 @@ import static java.util.stream.Collectors.toList;
  * For any other class as the field type, it will work recursively and try to de/serialize a sub-class.
  * Thus, if any sub-fields does not have an accessible empty constructor, deserialization fails with
  * HazelcastSerializationException.
+ * <p>
+ * The zero-config case is served by {@link MethodHandleCompactSerializer}, which
+ * produces the same binary without reflective field access on every call.
  */
 public class ReflectiveCompactSerializer<T> implements CompactSerializer<T> {
 
@@ -168,7 +171,7 @@ public class ReflectiveCompactSerializer<T> implements CompactSerializer<T> {
         }
     }
 
-    private static List<Field> getAllFields(List<Field> fields, Class<?> type) {
+    static List<Field> getAllFields(List<Field> fields, Class<?> type) {
         fields.addAll(Arrays.stream(type.getDeclaredFields())
                 .filter(f -> !Modifier.isStatic(f.getModifiers()))
                 .filter(f -> !Modifier.isTransient(f.getModifiers()))
@@ -204,6 +204,11 @@ public class TcpServerConnection implements ServerConnection {
         return false;
     }
 
+    @Override
+    public boolean isWritable() {
+        return channel.isWritable();
+    }
+
     @Override
     public boolean equals(Object o) {
         if (this == o) {
@@ -16,6 +16,7 @@
 
 package com.hazelcast.internal.util;
 
+import com.hazelcast.spi.impl.operationexecutor.impl.GenericOperationThread;
 import com.hazelcast.spi.impl.operationexecutor.impl.PartitionOperationThread;
 
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
@@ -92,4 +93,8 @@ public final class ThreadUtil {
     public static boolean isRunningOnPartitionThread() {
         return Thread.currentThread() instanceof PartitionOperationThread;
     }
+
+    public static boolean isRunningOnGenericThread() {
+        return Thread.currentThread() instanceof GenericOperationThread;
+    }
 }
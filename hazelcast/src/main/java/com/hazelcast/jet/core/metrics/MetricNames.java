@@ -118,23 +118,67 @@ public final class MetricNames {
     public static final String LAST_FORWARDED_WM_LATENCY = "lastForwardedWmLatency";
 
     /**
-     * Tracks the total number of bytes written in the last snapshot
+     * Tracks the total number of bytes written in the last full snapshot
      * by a particular {@link Vertex}. The name of the vertex can be found
-     * in the {@link MetricTags#VERTEX} tag of the metric.
+     * in the {@link MetricTags#VERTEX} tag of the metric. Unless incremental
+     * snapshots are enabled, every snapshot is a full one.
      *
      * @since Jet 4.0
      */
     public static final String SNAPSHOT_BYTES = "snapshotBytes";
 
     /**
-     * Tracks the total number of keys written in the last snapshot
+     * Tracks the total number of keys written in the last full snapshot
      * by a particular {@link Vertex}. The name of the vertex can be found
-     * in the {@link MetricTags#VERTEX} tag of the metric.
+     * in the {@link MetricTags#VERTEX} tag of the metric. Unless incremental
+     * snapshots are enabled, every snapshot is a full one.
      *
      * @since Jet 4.0
      */
     public static final String SNAPSHOT_KEYS = "snapshotKeys";
 
+    /**
+     * Tracks the duration of writing the last full snapshot by a particular
+     * {@link Vertex}, from the first item of the snapshot received until all
+     * writes completed, in milliseconds. The name of the vertex can be found
+     * in the {@link MetricTags#VERTEX} tag of the metric.
+     *
+     * @since 5.1
+     */
+    public static final String SNAPSHOT_DURATION = "snapshotDuration";
+
+    /**
+     * Tracks the total number of bytes written in the last delta snapshot by
+     * a particular {@link Vertex}, that is the size of the entries changed
+     * since the previous snapshot to the same map. The name of the vertex can
+     * be found in the {@link MetricTags#VERTEX} tag of the metric.
+     *
+     * @see com.hazelcast.spi.properties.ClusterProperty#JET_INCREMENTAL_SNAPSHOT_FULL_INTERVAL
+     * @since 5.1
+     */
+    public static final String SNAPSHOT_DELTA_BYTES = "snapshotDeltaBytes";
+
+    /**
+     * Tracks the number of keys written in the last delta snapshot by a
+     * particular {@link Vertex}, that is the number of the entries changed
+     * since the previous snapshot to the same map. The name of the vertex can
+     * be found in the {@link MetricTags#VERTEX} tag of the metric.
+     *
+     * @see com.hazelcast.spi.properties.ClusterProperty#JET_INCREMENTAL_SNAPSHOT_FULL_INTERVAL
+     * @since 5.1
+     */
+    public static final String SNAPSHOT_DELTA_KEYS = "snapshotDeltaKeys";
+
+    /**
+     * Tracks the duration of writing the last delta snapshot by a particular
+     * {@link Vertex}, in milliseconds. The name of the vertex can be found in
+     * the {@link MetricTags#VERTEX} tag of the metric.
+     *
+     * @see com.hazelcast.spi.properties.ClusterProperty#JET_INCREMENTAL_SNAPSHOT_FULL_INTERVAL
+     * @since 5.1
+     */
+    public static final String SNAPSHOT_DELTA_DURATION = "snapshotDeltaDuration";
+
     /**
      * Tracks the start time of a given execution of a specific job.
      * The execution and the job can be identified based on the
@@ -193,6 +237,27 @@ public final class MetricNames {
      */
     public static final String DISTRIBUTED_BYTES_OUT = "distributedBytesOut";
 
+    /**
+     * Counts how many times a {@link Processor} of a particular {@link Vertex}
+     * moved its accumulated records to disk because it reached the max
+     * processor accumulated records limit. The vertex and the processor can
+     * be identified based on the {@link MetricTags#VERTEX} &
+     * {@link MetricTags#PROCESSOR} tags of the metric.
+     *
+     * @since 5.1
+     */
+    public static final String SPILL_COUNT = "spillCount";
+
+    /**
+     * Tracks the data volume (bytes) a {@link Processor} of a particular
+     * {@link Vertex} wrote to its spill files. The vertex and the processor
+     * can be identified based on the {@link MetricTags#VERTEX} &
+     * {@link MetricTags#PROCESSOR} tags of the metric.
+     *
+     * @since 5.1
+     */
+    public static final String SPILLED_BYTES = "spilledBytes";
+
     /**
      * Number of jobs submitted to the Jet cluster.
      * <p>
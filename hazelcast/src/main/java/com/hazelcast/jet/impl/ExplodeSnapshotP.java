@@ -25,23 +25,50 @@ import com.hazelcast.jet.impl.execution.BroadcastEntry;
 import com.hazelcast.jet.impl.execution.init.Contexts.ProcCtx;
 import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataKey;
 import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataValueTerminator;
+import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataValueTombstone;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 
+import static com.hazelcast.jet.Traversers.traverseIterable;
 import static com.hazelcast.jet.Util.entry;
 import static com.hazelcast.jet.impl.util.Util.uncheckCall;
 
+/**
+ * Explodes the snapshot chunks into the state entries and sends each to the
+ * ordinal of the vertex that saved it.
+ * <p>
+ * If the snapshot is a part of an incremental chain (that is, {@code
+ * vertexToFullSnapshotId} isn't empty), the map also contains the chunks of
+ * older snapshots of the chain. For each vertex, the chunks older than the
+ * last full state of the vertex are ignored. If the vertex saved deltas after
+ * its last full state, the entries are buffered and only the most recent
+ * value of each key is emitted in {@link #complete()}, tombstones excluded.
+ * Broadcast keys are saved to every snapshot, therefore only those of the
+ * restored snapshot are emitted.
+ */
 public class ExplodeSnapshotP extends AbstractProcessor {
 
     private final Map<String, FlatMapper<byte[], Object>> vertexToFlatMapper = new HashMap<>();
+    private final Map<String, Integer> vertexToOrdinal;
     private final long expectedSnapshotId;
+    private final Map<String, Long> vertexToFullSnapshotId;
+    private final Map<String, Map<Object, VersionedEntries>> vertexToBufferedEntries = new HashMap<>();
     private InternalSerializationService serializationService;
+    private Iterator<Entry<String, Map<Object, VersionedEntries>>> bufferedVertexIterator;
+    private Traverser<Object> bufferedTraverser;
+    private int bufferedOrdinal;
 
-    ExplodeSnapshotP(Map<String, Integer> vertexToOrdinal, long expectedSnapshotId) {
+    ExplodeSnapshotP(Map<String, Integer> vertexToOrdinal, long expectedSnapshotId,
+                     Map<String, Long> vertexToFullSnapshotId) {
+        this.vertexToOrdinal = vertexToOrdinal;
         this.expectedSnapshotId = expectedSnapshotId;
+        this.vertexToFullSnapshotId = vertexToFullSnapshotId;
         for (Entry<String, Integer> en : vertexToOrdinal.entrySet()) {
             Object oldValue = vertexToFlatMapper.put(en.getKey(), flatMapper(en.getValue(), this::traverser));
             assert oldValue == null : "Duplicate ordinal: " + en.getValue();
@@ -92,11 +119,81 @@ public class ExplodeSnapshotP extends AbstractProcessor {
             return true;
         }
         long snapshotId = castItem.getKey().snapshotId();
-        if (snapshotId != expectedSnapshotId) {
-            getLogger().warning("Data for unexpected snapshot ID encountered, ignoring. Expected="
-                    + expectedSnapshotId + ", found=" + snapshotId);
+        if (vertexToFullSnapshotId.isEmpty()) {
+            if (snapshotId != expectedSnapshotId) {
+                getLogger().warning("Data for unexpected snapshot ID encountered, ignoring. Expected="
+                        + expectedSnapshotId + ", found=" + snapshotId);
+                return true;
+            }
+            return flatMapper.tryProcess(castItem.getValue());
+        }
+        long fullSnapshotId = vertexToFullSnapshotId.getOrDefault(vertexName, expectedSnapshotId);
+        if (snapshotId > expectedSnapshotId || snapshotId < fullSnapshotId || castItem.getKey().isFullStateMarker()) {
+            // a newer failed snapshot, a part of the chain superseded by the full state or an empty marker chunk
             return true;
         }
-        return flatMapper.tryProcess(castItem.getValue());
+        if (fullSnapshotId == expectedSnapshotId) {
+            return flatMapper.tryProcess(castItem.getValue());
+        }
+        bufferDeltaChunk(vertexName, snapshotId, castItem.getValue());
+        return true;
+    }
+
+    private void bufferDeltaChunk(String vertexName, long snapshotId, byte[] chunk) {
+        Map<Object, VersionedEntries> bufferedEntries =
+                vertexToBufferedEntries.computeIfAbsent(vertexName, x -> new HashMap<>());
+        Traverser<Object> chunkTraverser = traverser(chunk);
+        for (Object item; (item = chunkTraverser.next()) != null; ) {
+            Entry<?, ?> entry = (Entry<?, ?>) item;
+            if (entry.getKey() instanceof BroadcastKey) {
+                if (snapshotId == expectedSnapshotId) {
+                    bufferedEntries.computeIfAbsent(entry.getKey(), x -> new VersionedEntries(snapshotId))
+                                   .entries.add(entry);
+                }
+                continue;
+            }
+            VersionedEntries versioned = bufferedEntries.get(entry.getKey());
+            if (versioned == null || versioned.snapshotId < snapshotId) {
+                versioned = new VersionedEntries(snapshotId);
+                bufferedEntries.put(entry.getKey(), versioned);
+            }
+            if (versioned.snapshotId == snapshotId) {
+                versioned.entries.add(entry);
+            }
+        }
+    }
+
+    @Override
+    public boolean complete() {
+        if (bufferedVertexIterator == null) {
+            bufferedVertexIterator = vertexToBufferedEntries.entrySet().iterator();
+        }
+        do {
+            if (bufferedTraverser != null && !emitFromTraverser(bufferedOrdinal, bufferedTraverser)) {
+                return false;
+            }
+            bufferedTraverser = null;
+            if (!bufferedVertexIterator.hasNext()) {
+                return true;
+            }
+            Entry<String, Map<Object, VersionedEntries>> vertexEntries = bufferedVertexIterator.next();
+            bufferedOrdinal = vertexToOrdinal.get(vertexEntries.getKey());
+            bufferedTraverser = traverseIterable(vertexEntries.getValue().values())
+                    .flatMap(versioned -> traverseIterable(versioned.entries))
+                    .filter(entry -> ((Entry<?, ?>) entry).getValue() != SnapshotDataValueTombstone.INSTANCE);
+        } while (true);
+    }
+
+    /**
+     * The entries for one key saved to the most recent snapshot in the chain.
+     * Broadcast keys can have multiple entries, others have just one.
+     */
+    private static final class VersionedEntries {
+        final long snapshotId;
+        final List<Object> entries = new ArrayList<>(1);
+
+        VersionedEntries(long snapshotId) {
+            this.snapshotId = snapshotId;
+        }
     }
 }
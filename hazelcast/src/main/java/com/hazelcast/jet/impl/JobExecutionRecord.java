@@ -57,6 +57,8 @@ public class JobExecutionRecord implements IdentifiedDataSerializable {
     private volatile long ongoingSnapshotId = NO_SNAPSHOT;
     private volatile long ongoingSnapshotStartTime = Long.MIN_VALUE;
     private volatile String exportedSnapshotMapName;
+    // not serialized, a new master always starts with a full snapshot
+    private volatile boolean ongoingSnapshotDelta;
     @Nullable
     private volatile String lastSnapshotFailure;
     @Nullable
@@ -121,10 +123,11 @@ public class JobExecutionRecord implements IdentifiedDataSerializable {
     @SuppressWarnings("NonAtomicOperationOnVolatileField")
     @SuppressFBWarnings(value = "VO_VOLATILE_INCREMENT",
             justification = "all updates to ongoingSnapshotId are synchronized")
-    public void startNewSnapshot(String exportedSnapshotMapName) {
+    public void startNewSnapshot(String exportedSnapshotMapName, boolean delta) {
         ongoingSnapshotId++;
         ongoingSnapshotStartTime = Clock.currentTimeMillis();
         this.exportedSnapshotMapName = exportedSnapshotMapName;
+        this.ongoingSnapshotDelta = delta;
     }
 
     public SnapshotStats ongoingSnapshotDone(
@@ -141,6 +144,7 @@ public class JobExecutionRecord implements IdentifiedDataSerializable {
             snapshotStats = res;
         }
         exportedSnapshotMapName = null;
+        ongoingSnapshotDelta = false;
         ongoingSnapshotStartTime = Long.MIN_VALUE;
         return res;
     }
@@ -163,9 +167,12 @@ public class JobExecutionRecord implements IdentifiedDataSerializable {
 
     /**
      * Returns the index of the data map into which the new snapshot will be
-     * written.
+     * written. A delta snapshot is appended to the current data map.
      */
     int ongoingDataMapIndex() {
+        if (ongoingSnapshotDelta) {
+            return dataMapIndex;
+        }
         assert dataMapIndex == 0 // we'll return 1
                 || dataMapIndex == 1 // we'll return 0
                 || dataMapIndex == -1 // we'll return 0
@@ -92,6 +92,7 @@ import static com.hazelcast.jet.core.processor.SourceProcessors.readMapP;
 import static com.hazelcast.jet.datamodel.Tuple2.tuple2;
 import static com.hazelcast.jet.impl.JobClassLoaderService.JobPhase.COORDINATOR;
 import static com.hazelcast.jet.impl.JobRepository.EXPORTED_SNAPSHOTS_PREFIX;
+import static com.hazelcast.jet.impl.SnapshotValidator.fullStateSnapshotIds;
 import static com.hazelcast.jet.impl.SnapshotValidator.validateSnapshot;
 import static com.hazelcast.jet.impl.TerminationMode.ActionAfterTerminate.RESTART;
 import static com.hazelcast.jet.impl.TerminationMode.ActionAfterTerminate.SUSPEND;
@@ -386,6 +387,7 @@ public class MasterJobContext {
         IMap<Object, Object> snapshotMap = mc.nodeEngine().getHazelcastInstance().getMap(mapName);
         long resolvedSnapshotId = validateSnapshot(
                 snapshotId, snapshotMap, mc.jobIdString(), snapshotName);
+        Map<String, Long> vertexToFullSnapshotId = fullStateSnapshotIds(resolvedSnapshotId, snapshotMap);
         logger.info(String.format(
                 "About to restore the state of %s from snapshot %d, mapName = %s",
                 mc.jobIdString(), resolvedSnapshotId, mapName));
@@ -395,7 +397,7 @@ public class MasterJobContext {
         Map<String, Integer> vertexToOrdinal = new HashMap<>();
         Vertex readSnapshotVertex = dag.newVertex(SNAPSHOT_VERTEX_PREFIX + "read", readMapP(mapName));
         Vertex explodeVertex = dag.newVertex(SNAPSHOT_VERTEX_PREFIX + "explode",
-                () -> new ExplodeSnapshotP(vertexToOrdinal, resolvedSnapshotId));
+                () -> new ExplodeSnapshotP(vertexToOrdinal, resolvedSnapshotId, vertexToFullSnapshotId));
         dag.edge(between(readSnapshotVertex, explodeVertex).isolated());
 
         int index = 0;
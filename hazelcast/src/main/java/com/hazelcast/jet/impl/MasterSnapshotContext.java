@@ -26,6 +26,7 @@ import com.hazelcast.jet.impl.execution.init.ExecutionPlan;
 import com.hazelcast.jet.impl.operation.SnapshotPhase1Operation;
 import com.hazelcast.jet.impl.operation.SnapshotPhase1Operation.SnapshotPhase1Result;
 import com.hazelcast.jet.impl.operation.SnapshotPhase2Operation;
+import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataKey;
 import com.hazelcast.jet.impl.util.LoggingUtil;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.map.IMap;
@@ -53,6 +54,7 @@ import static com.hazelcast.jet.impl.JobRepository.snapshotDataMapName;
 import static com.hazelcast.jet.impl.util.ExceptionUtil.withTryCatch;
 import static com.hazelcast.jet.impl.util.LoggingUtil.logFine;
 import static com.hazelcast.jet.impl.util.Util.jobNameAndExecutionId;
+import static com.hazelcast.spi.properties.ClusterProperty.JET_INCREMENTAL_SNAPSHOT_FULL_INTERVAL;
 import static java.util.concurrent.CompletableFuture.completedFuture;
 
 /**
@@ -60,6 +62,8 @@ import static java.util.concurrent.CompletableFuture.completedFuture;
  */
 class MasterSnapshotContext {
 
+    private static final long NO_DELTA_BASE = -1;
+
     @SuppressWarnings("WeakerAccess") // accessed from subclass in jet-enterprise
     final MasterContext mc;
     private final ILogger logger;
@@ -94,9 +98,46 @@ class MasterSnapshotContext {
      */
     private final Queue<Tuple3<String, Boolean, CompletableFuture<Void>>> snapshotQueue = new LinkedList<>();
 
+    /**
+     * Every N-th snapshot is a full one, the others are deltas. If it's 1,
+     * incremental snapshots are disabled.
+     * <p>
+     * A full snapshot is written to the other data map, as usual. The deltas
+     * following it are appended to the same map, forming a chain. When the
+     * next full snapshot succeeds, the map with the chain is cleared.
+     */
+    private final int incrementalSnapshotFullInterval;
+
+    /**
+     * The ID of the execution which wrote the full snapshot the chain in the
+     * current data map starts with, or {@link #NO_DELTA_BASE}. The deltas can
+     * be appended only by the same execution, because the processors track
+     * their changes in memory.
+     * <p>
+     * Accessed only in synchronized code.
+     */
+    private long chainExecutionId = NO_DELTA_BASE;
+
+    /**
+     * The number of deltas appended to the chain.
+     * <p>
+     * Accessed only in synchronized code.
+     */
+    private int chainDeltaCount;
+
+    /**
+     * The validation record of the last successful snapshot in the chain. It
+     * counts the chunks of all the snapshots in the chain.
+     * <p>
+     * Accessed only in synchronized code.
+     */
+    private SnapshotValidationRecord chainValidationRecord;
+
     MasterSnapshotContext(MasterContext masterContext, ILogger logger) {
         mc = masterContext;
         this.logger = logger;
+        this.incrementalSnapshotFullInterval = Math.max(1,
+                mc.nodeEngine().getProperties().getInteger(JET_INCREMENTAL_SNAPSHOT_FULL_INTERVAL));
     }
 
     @SuppressWarnings("SameParameterValue") // used by jet-enterprise
@@ -132,6 +173,8 @@ class MasterSnapshotContext {
             CompletableFuture<Void> future;
             mc.lock();
             long localExecutionId;
+            boolean isIncremental;
+            boolean isDelta;
             try {
                 if (mc.jobStatus() != RUNNING) {
                     logger.fine("Not beginning snapshot, " + mc.jobIdString() + " is not RUNNING, but " + mc.jobStatus());
@@ -155,8 +198,12 @@ class MasterSnapshotContext {
                 assert requestedSnapshot.f1() != null;
                 isTerminal = requestedSnapshot.f1();
                 future = requestedSnapshot.f2();
-                mc.jobExecutionRecord().startNewSnapshot(snapshotMapName);
                 localExecutionId = mc.executionId();
+                isIncremental = snapshotMapName == null && incrementalSnapshotFullInterval > 1;
+                isDelta = isIncremental
+                        && chainExecutionId == localExecutionId
+                        && chainDeltaCount < incrementalSnapshotFullInterval - 1;
+                mc.jobExecutionRecord().startNewSnapshot(snapshotMapName, isDelta);
             } finally {
                 mc.unlock();
             }
@@ -164,10 +211,14 @@ class MasterSnapshotContext {
             mc.writeJobExecutionRecord(false);
             long newSnapshotId = mc.jobExecutionRecord().ongoingSnapshotId();
             boolean isExport = snapshotMapName != null;
-            int snapshotFlags = SnapshotFlags.create(isTerminal, isExport);
+            int snapshotFlags = SnapshotFlags.create(isTerminal, isExport, isIncremental, isDelta);
             String finalMapName = isExport ? exportedSnapshotMapName(snapshotMapName)
                     : snapshotDataMapName(mc.jobId(), mc.jobExecutionRecord().ongoingDataMapIndex());
-            mc.nodeEngine().getHazelcastInstance().getMap(finalMapName).clear();
+            IMap<Object, Object> snapshotMap = mc.nodeEngine().getHazelcastInstance().getMap(finalMapName);
+            if (!isDelta) {
+                // a delta is appended to the chain, the validation record is replaced after it's written
+                snapshotMap.clear();
+            }
             logFine(logger, "Starting snapshot %d for %s, flags: %s, writing to: %s",
                     newSnapshotId, jobNameAndExecutionId(mc.jobName(), localExecutionId),
                     SnapshotFlags.toString(snapshotFlags), snapshotMapName);
@@ -277,31 +328,46 @@ class MasterSnapshotContext {
                     }
                 }
 
+                boolean isDelta = SnapshotFlags.isDelta(snapshotFlags);
                 IMap<Object, Object> snapshotMap = mc.nodeEngine().getHazelcastInstance().getMap(snapshotMapName);
-                try {
-                    SnapshotValidationRecord validationRecord = new SnapshotValidationRecord(snapshotId,
-                            mergedResult.getNumChunks(), mergedResult.getNumBytes(),
-                            mc.jobExecutionRecord().ongoingSnapshotStartTime(), mc.jobId(), mc.jobName(),
-                            mc.jobRecord().getDagJson());
-
-                    // The decision moment for exported snapshots: after this the snapshot is valid to be restored
-                    // from, however it will be not listed by JetInstance.getJobStateSnapshots unless the validation
-                    // record is inserted into the cache below
-                    Object oldValue = snapshotMap.put(SnapshotValidationRecord.KEY, validationRecord);
-
-                    if (snapshotMapName.startsWith(EXPORTED_SNAPSHOTS_PREFIX)) {
-                        String snapshotName = snapshotMapName.substring(EXPORTED_SNAPSHOTS_PREFIX.length());
-                        mc.jobRepository().cacheValidationRecord(snapshotName, validationRecord);
-                    }
-                    if (oldValue != null) {
-                        logger.severe("SnapshotValidationRecord overwritten after writing to '" + snapshotMapName
-                                + "' for " + mc.jobIdString() + ": snapshot data might be corrupted");
+                SnapshotValidationRecord validationRecord = null;
+                // a failed delta must not replace the validation record of the chain
+                if (!isDelta || mergedResult.getError() == null) {
+                    try {
+                        validationRecord = new SnapshotValidationRecord(snapshotId,
+                                mergedResult.getNumChunks() + (isDelta ? chainValidationRecord.numChunks() : 0),
+                                mergedResult.getNumBytes() + (isDelta ? chainValidationRecord.numBytes() : 0),
+                                mc.jobExecutionRecord().ongoingSnapshotStartTime(), mc.jobId(), mc.jobName(),
+                                mc.jobRecord().getDagJson());
+
+                        // The decision moment for exported snapshots: after this the snapshot is valid to be restored
+                        // from, however it will be not listed by JetInstance.getJobStateSnapshots unless the validation
+                        // record is inserted into the cache below
+                        Object oldValue = snapshotMap.put(SnapshotValidationRecord.KEY, validationRecord);
+
+                        if (snapshotMapName.startsWith(EXPORTED_SNAPSHOTS_PREFIX)) {
+                            String snapshotName = snapshotMapName.substring(EXPORTED_SNAPSHOTS_PREFIX.length());
+                            mc.jobRepository().cacheValidationRecord(snapshotName, validationRecord);
+                        }
+                        if (oldValue != null && !isDelta) {
+                            logger.severe("SnapshotValidationRecord overwritten after writing to '" + snapshotMapName
+                                    + "' for " + mc.jobIdString() + ": snapshot data might be corrupted");
+                        }
+                    } catch (Exception e) {
+                        mergedResult.merge(new SnapshotPhase1Result(0, 0, 0, e));
                     }
-                } catch (Exception e) {
-                    mergedResult.merge(new SnapshotPhase1Result(0, 0, 0, e));
                 }
 
                 isSuccess = mergedResult.getError() == null;
+                if (isSuccess && SnapshotFlags.isIncremental(snapshotFlags)) {
+                    if (!isDelta) {
+                        chainExecutionId = executionId;
+                        chainDeltaCount = 0;
+                    } else {
+                        chainDeltaCount++;
+                    }
+                    chainValidationRecord = validationRecord;
+                }
                 stats = mc.jobExecutionRecord().ongoingSnapshotDone(
                         mergedResult.getNumBytes(), mergedResult.getNumKeys(), mergedResult.getNumChunks(),
                         mergedResult.getError());
@@ -318,14 +384,19 @@ class MasterSnapshotContext {
                 if (!isSuccess) {
                     logger.warning(mc.jobIdString() + " snapshot " + snapshotId + " phase 1 failed on some " +
                             "member(s), one of the failures: " + mergedResult.getError());
-                    try {
-                        snapshotMap.clear();
-                    } catch (Exception e) {
-                        logger.warning(mc.jobIdString() + ": failed to clear snapshot map '" + snapshotMapName
-                                + "' after a failure", e);
+                    if (isDelta) {
+                        removeFailedDelta(snapshotMap, snapshotId);
+                    } else {
+                        try {
+                            snapshotMap.clear();
+                        } catch (Exception e) {
+                            logger.warning(mc.jobIdString() + ": failed to clear snapshot map '" + snapshotMapName
+                                    + "' after a failure", e);
+                        }
                     }
                 }
-                if (!SnapshotFlags.isExport(snapshotFlags)) {
+                // after a delta, the other map was already cleared after the full snapshot the chain starts with
+                if (!SnapshotFlags.isExport(snapshotFlags) && !isDelta) {
                     mc.jobRepository().clearSnapshotData(mc.jobId(), mc.jobExecutionRecord().ongoingDataMapIndex());
                 }
             } finally {
@@ -342,6 +413,24 @@ class MasterSnapshotContext {
         });
     }
 
+    /**
+     * Removes the chunks of a failed delta from the chain and restores the
+     * validation record of the chain. If it fails, the next snapshot will be
+     * a full one, but the chain stays valid to restore from: the chunks with
+     * a newer snapshot ID are ignored.
+     */
+    private void removeFailedDelta(IMap<Object, Object> snapshotMap, long snapshotId) {
+        try {
+            snapshotMap.removeAll(e -> e.getKey() instanceof SnapshotDataKey
+                    && ((SnapshotDataKey) e.getKey()).snapshotId() == snapshotId);
+            snapshotMap.put(SnapshotValidationRecord.KEY, chainValidationRecord);
+        } catch (Exception e) {
+            chainExecutionId = NO_DELTA_BASE;
+            logger.warning(mc.jobIdString() + ": failed to remove the failed delta snapshot " + snapshotId
+                    + " from snapshot map '" + snapshotMap.getName() + "'", e);
+        }
+    }
+
     /**
      * @param phase1Error error from the phase-1. Null if phase-1 was successful.
      * @param responses collected responses from the members
@@ -21,6 +21,10 @@ import com.hazelcast.jet.JetException;
 import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataKey;
 import com.hazelcast.map.IMap;
 
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+
 import static com.hazelcast.jet.impl.JobExecutionRecord.NO_SNAPSHOT;
 
 final class SnapshotValidator {
@@ -51,11 +55,13 @@ final class SnapshotValidator {
                     nameOrId, jobIdString));
         }
         if (validationRecord.numChunks() != snapshotMap.size() - 1) {
-            // fallback validation that counts using aggregate(), ignoring different snapshot IDs
+            // fallback validation that counts using aggregate(), ignoring newer snapshot IDs. The chunks
+            // of older snapshot IDs are a part of the incremental chain the validated snapshot is the tip of.
+            long validatedSnapshotId = validationRecord.snapshotId();
             long filteredCount = snapshotMap.aggregate(
                     Aggregators.count(),
                     e -> e.getKey() instanceof SnapshotDataKey
-                            && ((SnapshotDataKey) e.getKey()).snapshotId() == snapshotId);
+                            && ((SnapshotDataKey) e.getKey()).snapshotId() <= validatedSnapshotId);
             if (validationRecord.numChunks() != filteredCount) {
                 throw new JetException(String.format(
                         "State for %s in IMap '%s' is corrupted: it should have %,d entries, but has %,d",
@@ -69,4 +75,25 @@ final class SnapshotValidator {
         }
         return validationRecord.snapshotId();
     }
+
+    /**
+     * Returns the ID of the most recent snapshot each vertex saved its full
+     * state to in the incremental chain ending with the given snapshot. The
+     * map is empty if the snapshot isn't incremental.
+     *
+     * @param snapshotId the validated snapshot ID
+     * @param snapshotMap snapshot map to read
+     */
+    static Map<String, Long> fullStateSnapshotIds(long snapshotId, IMap<Object, Object> snapshotMap) {
+        Set<Object> markers = snapshotMap.keySet(
+                e -> e.getKey() instanceof SnapshotDataKey
+                        && ((SnapshotDataKey) e.getKey()).isFullStateMarker()
+                        && ((SnapshotDataKey) e.getKey()).snapshotId() <= snapshotId);
+        Map<String, Long> vertexToSnapshotId = new HashMap<>();
+        for (Object marker : markers) {
+            SnapshotDataKey key = (SnapshotDataKey) marker;
+            vertexToSnapshotId.merge(key.vertexName(), key.snapshotId(), Math::max);
+        }
+        return vertexToSnapshotId;
+    }
 }
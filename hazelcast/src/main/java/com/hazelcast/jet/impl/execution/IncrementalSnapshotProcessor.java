@@ -0,0 +1,48 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.execution;
+
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataValueTombstone;
+
+/**
+ * Implemented by processors which track the changes to their state, so that
+ * an incremental snapshot can save only the changes. The processors of a
+ * vertex save deltas only if all of them implement this interface.
+ * <p>
+ * The {@link #beginIncrementalSnapshot} method is called before {@link
+ * Processor#saveToSnapshot()} of an incremental snapshot. The processor
+ * starts tracking the changes when it's called for the first time, the
+ * first incremental snapshot of an execution is always a full one.
+ * <p>
+ * The changes saved to a snapshot are tracked until {@link
+ * Processor#snapshotCommitFinish(boolean)}: if the snapshot failed, they
+ * must be saved again to the next delta.
+ */
+public interface IncrementalSnapshotProcessor {
+
+    /**
+     * Called before the processor saves its state to an incremental snapshot.
+     * If {@code delta} is true, the processor should save only the entries
+     * changed since the previous successful snapshot, and save the {@link
+     * SnapshotDataValueTombstone#INSTANCE} value for the removed keys. The
+     * keys saved by multiple processors, e.g. the broadcast keys, must be
+     * saved to each delta. If {@code delta} is false, the processor saves its
+     * whole state.
+     */
+    void beginIncrementalSnapshot(boolean delta);
+}
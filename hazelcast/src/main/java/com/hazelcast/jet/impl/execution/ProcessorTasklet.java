@@ -136,6 +136,7 @@ public class ProcessorTasklet implements Tasklet {
     // draining more items from an input stream where a barrier has been reached.
     // Once a terminal snapshot barrier is reached, this is always true.
     private boolean waitForAllBarriers;
+    private boolean savingToSnapshot;
 
     private final AtomicLongArray receivedCounts;
     private final AtomicLongArray receivedBatches;
@@ -317,7 +318,12 @@ public class ProcessorTasklet implements Tasklet {
                 return;
 
             case SAVE_SNAPSHOT:
+                if (!savingToSnapshot) {
+                    savingToSnapshot = true;
+                    beginIncrementalSnapshot();
+                }
                 if (doWithClassLoader(context.classLoader(), () -> processor.saveToSnapshot())) {
+                    savingToSnapshot = false;
                     progTracker.madeProgress();
                     state = ssContext.isExportOnly() ? EMIT_BARRIER : SNAPSHOT_COMMIT_PREPARE;
                     stateMachineStep(); // recursion
@@ -459,6 +465,14 @@ public class ProcessorTasklet implements Tasklet {
         }
     }
 
+    private void beginIncrementalSnapshot() {
+        if (ssContext.isIncrementalSnapshot() && processor instanceof IncrementalSnapshotProcessor) {
+            IncrementalSnapshotProcessor incrementalProcessor = (IncrementalSnapshotProcessor) processor;
+            boolean delta = ssContext.isDeltaSnapshot();
+            doWithClassLoader(context.classLoader(), () -> incrementalProcessor.beginIncrementalSnapshot(delta));
+        }
+    }
+
     private void complete() {
         // check ssContext to see if a snapshot phase should be executed
         if (pendingSnapshotId1 == pendingSnapshotId2) {
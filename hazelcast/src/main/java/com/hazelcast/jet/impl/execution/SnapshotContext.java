@@ -173,6 +173,22 @@ public class SnapshotContext {
         return SnapshotFlags.isExportOnly(snapshotFlags);
     }
 
+    /**
+     * Returns true, if the current snapshot is written as one map record per
+     * state entry, see {@link SnapshotFlags#isIncremental}.
+     */
+    public boolean isIncrementalSnapshot() {
+        return SnapshotFlags.isIncremental(snapshotFlags);
+    }
+
+    /**
+     * Returns true, if only the entries changed since the previous snapshot to
+     * the same map should be written, see {@link SnapshotFlags#isDelta}.
+     */
+    public boolean isDeltaSnapshot() {
+        return SnapshotFlags.isDelta(snapshotFlags);
+    }
+
     boolean isLastPhase1Successful() {
         return lastPhase1Successful;
     }
@@ -32,6 +32,20 @@ public final class SnapshotFlags {
      */
     private static final int EXPORT = 2; // 0b10
 
+    /**
+     * If set, the snapshot is written as one map record per state entry,
+     * so that the next snapshots to the same map can be {@linkplain #DELTA
+     * deltas}.
+     */
+    private static final int INCREMENTAL = 4; // 0b100
+
+    /**
+     * If set, the snapshot map wasn't cleared and contains an incremental
+     * snapshot previously written by the same execution. Only the entries
+     * changed since then are written and the removed ones are deleted.
+     */
+    private static final int DELTA = 8; // 0b1000
+
     private SnapshotFlags() { }
 
     public static boolean isTerminal(int flags) {
@@ -42,6 +56,14 @@ public final class SnapshotFlags {
         return (flags & EXPORT) != 0;
     }
 
+    public static boolean isIncremental(int flags) {
+        return (flags & INCREMENTAL) != 0;
+    }
+
+    public static boolean isDelta(int flags) {
+        return (flags & DELTA) != 0;
+    }
+
     /**
      * If set, the {@link Processor#snapshotCommitPrepare()} and {@link
      * Processor#snapshotCommitFinish(boolean)} methods won't be called, only
@@ -56,10 +78,17 @@ public final class SnapshotFlags {
 
     public static String toString(int flags) {
         return "terminal=" + (isTerminal(flags) ? "yes" : "no")
-                + ",export=" + (isExport(flags) ? "yes" : "no");
+                + ",export=" + (isExport(flags) ? "yes" : "no")
+                + ",incremental=" + (isDelta(flags) ? "delta" : isIncremental(flags) ? "full" : "no");
     }
 
     public static int create(boolean isTerminal, boolean isExport) {
-        return (isTerminal ? TERMINAL : 0) | (isExport ? EXPORT : 0);
+        return create(isTerminal, isExport, false, false);
+    }
+
+    public static int create(boolean isTerminal, boolean isExport, boolean isIncremental, boolean isDelta) {
+        assert !isDelta || isIncremental : "a delta snapshot must be incremental";
+        return (isTerminal ? TERMINAL : 0) | (isExport ? EXPORT : 0)
+                | (isIncremental ? INCREMENTAL : 0) | (isDelta ? DELTA : 0);
     }
 }
@@ -35,14 +35,21 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.Predicate;
 
 import static com.hazelcast.jet.core.metrics.MetricNames.SNAPSHOT_BYTES;
+import static com.hazelcast.jet.core.metrics.MetricNames.SNAPSHOT_DELTA_BYTES;
+import static com.hazelcast.jet.core.metrics.MetricNames.SNAPSHOT_DELTA_DURATION;
+import static com.hazelcast.jet.core.metrics.MetricNames.SNAPSHOT_DELTA_KEYS;
+import static com.hazelcast.jet.core.metrics.MetricNames.SNAPSHOT_DURATION;
 import static com.hazelcast.jet.core.metrics.MetricNames.SNAPSHOT_KEYS;
 import static com.hazelcast.jet.impl.execution.StoreSnapshotTasklet.State.DONE;
 import static com.hazelcast.jet.impl.execution.StoreSnapshotTasklet.State.DRAIN;
 import static com.hazelcast.jet.impl.execution.StoreSnapshotTasklet.State.FLUSH;
 import static com.hazelcast.jet.impl.execution.StoreSnapshotTasklet.State.REACHED_BARRIER;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 
 public class StoreSnapshotTasklet implements Tasklet {
 
+    private static final long NOT_STARTED = -1;
+
     long pendingSnapshotId;
 
     private final SnapshotContext snapshotContext;
@@ -54,6 +61,10 @@ public class StoreSnapshotTasklet implements Tasklet {
     private final AsyncSnapshotWriter ssWriter;
     private final ProgressTracker progTracker = new ProgressTracker();
     private final AtomicReference<LongLongAccumulator> metrics = new AtomicReference<>(new LongLongAccumulator());
+    private final AtomicReference<LongLongAccumulator> deltaMetrics = new AtomicReference<>(new LongLongAccumulator());
+    private volatile long durationMillis;
+    private volatile long deltaDurationMillis;
+    private long snapshotStartNanos = NOT_STARTED;
     private State state = DRAIN;
     private boolean hasReachedBarrier;
     private Entry<Data, Data> pendingEntry;
@@ -133,9 +144,18 @@ public class StoreSnapshotTasklet implements Tasklet {
                 long bytes = ssWriter.getTotalPayloadBytes();
                 long keys = ssWriter.getTotalKeys();
                 long chunks = ssWriter.getTotalChunks();
+                long snapshotDurationMillis = snapshotStartNanos == NOT_STARTED
+                        ? 0 : NANOSECONDS.toMillis(System.nanoTime() - snapshotStartNanos);
+                if (snapshotContext.isDeltaSnapshot()) {
+                    deltaMetrics.set(new LongLongAccumulator(bytes, keys));
+                    deltaDurationMillis = snapshotDurationMillis;
+                } else {
+                    metrics.set(new LongLongAccumulator(bytes, keys));
+                    durationMillis = snapshotDurationMillis;
+                }
                 snapshotContext.phase1DoneForTasklet(bytes, keys, chunks);
-                metrics.set(new LongLongAccumulator(bytes, keys));
                 ssWriter.resetStats();
+                snapshotStartNanos = NOT_STARTED;
                 pendingSnapshotId++;
                 hasReachedBarrier = false;
                 state = DRAIN;
@@ -149,6 +169,9 @@ public class StoreSnapshotTasklet implements Tasklet {
     }
 
     private boolean addToInbox(Object o) {
+        if (snapshotStartNanos == NOT_STARTED) {
+            snapshotStartNanos = System.nanoTime();
+        }
         if (o instanceof SnapshotBarrier) {
             SnapshotBarrier barrier = (SnapshotBarrier) o;
             assert pendingSnapshotId == barrier.snapshotId() : "Unexpected barrier, expected was " +
@@ -170,6 +193,12 @@ public class StoreSnapshotTasklet implements Tasklet {
         LongLongAccumulator metricValues = metrics.get();
         context.collect(descriptor, SNAPSHOT_BYTES, ProbeLevel.INFO, ProbeUnit.COUNT, metricValues.get1());
         context.collect(descriptor, SNAPSHOT_KEYS, ProbeLevel.INFO, ProbeUnit.COUNT, metricValues.get2());
+        context.collect(descriptor, SNAPSHOT_DURATION, ProbeLevel.INFO, ProbeUnit.MS, durationMillis);
+
+        LongLongAccumulator deltaMetricValues = deltaMetrics.get();
+        context.collect(descriptor, SNAPSHOT_DELTA_BYTES, ProbeLevel.INFO, ProbeUnit.COUNT, deltaMetricValues.get1());
+        context.collect(descriptor, SNAPSHOT_DELTA_KEYS, ProbeLevel.INFO, ProbeUnit.COUNT, deltaMetricValues.get2());
+        context.collect(descriptor, SNAPSHOT_DELTA_DURATION, ProbeLevel.INFO, ProbeUnit.MS, deltaDurationMillis);
     }
 
     @Override
@@ -39,6 +39,7 @@ import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.spi.properties.HazelcastProperty;
 
 import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
@@ -49,6 +50,7 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadFactory;
@@ -60,6 +62,8 @@ import java.util.function.Consumer;
 
 import static com.hazelcast.internal.util.executor.ExecutorType.CACHED;
 import static com.hazelcast.jet.impl.util.Util.doWithClassLoader;
+import static com.hazelcast.spi.properties.ClusterProperty.JET_BLOCKING_VIRTUAL_THREADS_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.JET_COOPERATIVE_WORK_STEALING_ENABLED;
 import static com.hazelcast.spi.properties.ClusterProperty.JET_IDLE_COOPERATIVE_MAX_MICROSECONDS;
 import static com.hazelcast.spi.properties.ClusterProperty.JET_IDLE_COOPERATIVE_MIN_MICROSECONDS;
 import static com.hazelcast.spi.properties.ClusterProperty.JET_IDLE_NONCOOPERATIVE_MAX_MICROSECONDS;
@@ -72,6 +76,7 @@ import static com.hazelcast.jet.impl.util.Util.uncheckRun;
 import static java.lang.Thread.currentThread;
 import static java.util.Collections.emptyList;
 import static java.util.concurrent.Executors.newCachedThreadPool;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
 import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.stream.Collectors.partitioningBy;
 import static java.util.stream.Collectors.toList;
@@ -80,7 +85,7 @@ public class TaskletExecutionService {
 
     public static final String TASKLET_INIT_CLOSE_EXECUTOR_NAME = "jet:tasklet_initClose";
 
-    private final ExecutorService blockingTaskletExecutor = newCachedThreadPool(new BlockingTaskThreadFactory());
+    private final ExecutorService blockingTaskletExecutor;
     private final ExecutionService hzExecutionService;
     private final CooperativeWorker[] cooperativeWorkers;
     private final Thread[] cooperativeThreadPool;
@@ -93,6 +98,7 @@ public class TaskletExecutionService {
     private final Object lock = new Object();
     private final IdleStrategy idlerCooperative;
     private final IdleStrategy idlerNonCooperative;
+    private final boolean workStealingEnabled;
 
     public TaskletExecutionService(NodeEngineImpl nodeEngine, int threadCount, HazelcastProperties properties) {
         hzExecutionService = nodeEngine.getExecutionService();
@@ -109,6 +115,8 @@ public class TaskletExecutionService {
         idlerNonCooperative = createIdler(
             properties, JET_IDLE_NONCOOPERATIVE_MIN_MICROSECONDS, JET_IDLE_NONCOOPERATIVE_MAX_MICROSECONDS
         );
+        workStealingEnabled = properties.getBoolean(JET_COOPERATIVE_WORK_STEALING_ENABLED);
+        blockingTaskletExecutor = createBlockingTaskletExecutor(properties);
 
         Arrays.setAll(cooperativeWorkers, i -> new CooperativeWorker());
         Arrays.setAll(cooperativeThreadPool, i -> new Thread(cooperativeWorkers[i],
@@ -234,6 +242,23 @@ public class TaskletExecutionService {
         }
     }
 
+    /**
+     * Returns the difference between the highest and the lowest number of
+     * tasklets which made progress in the last iteration of a cooperative
+     * worker.
+     */
+    @Probe(name = "cooperativeWorkerImbalance")
+    int getCooperativeWorkerImbalance() {
+        int min = Integer.MAX_VALUE;
+        int max = 0;
+        for (CooperativeWorker worker : cooperativeWorkers) {
+            int busyTaskletCount = worker.busyTaskletCount;
+            min = Math.min(min, busyTaskletCount);
+            max = Math.max(max, busyTaskletCount);
+        }
+        return max - min;
+    }
+
     /**
      * Blocks until all workers terminate (cooperative & blocking).
      */
@@ -251,6 +276,59 @@ public class TaskletExecutionService {
         }
     }
 
+    private ExecutorService createBlockingTaskletExecutor(HazelcastProperties properties) {
+        if (properties.getBoolean(JET_BLOCKING_VIRTUAL_THREADS_ENABLED)) {
+            ExecutorService executor = newVirtualThreadPerTaskExecutor(
+                    String.format("hz.%s.jet.blocking.virtual-thread-", hzInstanceName));
+            if (executor != null) {
+                logger.info("Non-cooperative tasklets will run on virtual threads");
+                return executor;
+            }
+            logger.warning(String.format("The property %s is set, but the JVM doesn't support virtual threads."
+                    + " Non-cooperative tasklets will run on platform threads.",
+                    JET_BLOCKING_VIRTUAL_THREADS_ENABLED.getName()));
+        }
+        return newCachedThreadPool(new BlockingTaskThreadFactory());
+    }
+
+    /**
+     * Returns an executor starting a new virtual thread for each task, or
+     * {@code null} if the JVM doesn't support virtual threads. The virtual
+     * threads are cheap to create and aren't meant to be pooled.
+     */
+    @Nullable
+    private static ExecutorService newVirtualThreadPerTaskExecutor(String namePrefix) {
+        ThreadFactory factory = virtualThreadFactory(namePrefix);
+        if (factory == null) {
+            return null;
+        }
+        try {
+            return (ExecutorService) Executors.class.getMethod("newThreadPerTaskExecutor", ThreadFactory.class)
+                                                    .invoke(null, factory);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * Returns a factory of virtual threads named with the given prefix and a
+     * sequence number, or {@code null} if the JVM doesn't support virtual
+     * threads. The API is accessed reflectively, as the code must run on
+     * JVMs without it.
+     */
+    @Nullable
+    static ThreadFactory virtualThreadFactory(String namePrefix) {
+        try {
+            Class<?> builderClass = Class.forName("java.lang.Thread$Builder");
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            builder = builderClass.getMethod("name", String.class, long.class).invoke(builder, namePrefix, 0L);
+            return (ThreadFactory) builderClass.getMethod("factory").invoke(builder);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            // not available, or a preview feature not enabled
+            return null;
+        }
+    }
+
     private BackoffIdleStrategy createIdler(
         HazelcastProperties props, HazelcastProperty minProp, HazelcastProperty maxProp
     ) {
@@ -321,11 +399,32 @@ public class TaskletExecutionService {
 
     private final class CooperativeWorker implements Runnable {
         private static final int COOPERATIVE_LOGGING_THRESHOLD = 5;
+        private static final int STEAL_IDLE_ITERATIONS = 32;
+        private static final long STEAL_INTERVAL_MILLIS = 10;
 
         @Probe(name = "taskletCount")
         private final CopyOnWriteArrayList<TaskletTracker> trackers;
         @Probe(name = "iterationCount")
         private final Counter iterationCount = SwCounter.newSwCounter();
+        /**
+         * The number of tasklets which made progress in the last iteration.
+         */
+        @Probe(name = "busyTaskletCount")
+        private volatile int busyTaskletCount;
+        /**
+         * The number of tasklets this worker took over from other workers.
+         */
+        @Probe(name = "stolenTaskletCount")
+        private final Counter stolenTaskletCount = MwCounter.newMwCounter();
+
+        /**
+         * The idle worker which requested a tasklet from this worker.
+         */
+        private final AtomicReference<CooperativeWorker> stealRequest = new AtomicReference<>();
+        private int iterationBusyTaskletCount;
+        private TaskletTracker lastBusyTracker;
+        // guarded by this worker's monitor, no tasklet is handed over once set
+        private boolean terminated;
 
         private final ProgressTracker progressTracker = new ProgressTracker();
         // prevent lambda allocation on each iteration
@@ -352,9 +451,15 @@ public class TaskletExecutionService {
             while (!isShutdown) {
                 finestLogEnabled = logger.isFinestEnabled();
                 progressTracker.reset();
+                iterationBusyTaskletCount = 0;
+                lastBusyTracker = null;
                 // garbage-free iteration -- relies on implementation in COWArrayList that doesn't use an Iterator
                 trackers.forEach(runTasklet);
                 iterationCount.inc();
+                busyTaskletCount = iterationBusyTaskletCount;
+                if (workStealingEnabled) {
+                    handOverRequestedTasklet();
+                }
                 if (progressTracker.isMadeProgress()) {
                     idleCount = 0;
                 } else {
@@ -362,7 +467,7 @@ public class TaskletExecutionService {
                         newTaskletSemaphore.drainPermits();
                         if (trackers.isEmpty() && !isShutdown) {
                             try {
-                                newTaskletSemaphore.acquire();
+                                awaitNewTasklet();
                             } catch (InterruptedException e) {
                                 logger.severe("Cooperative worker interrupted", e);
                                 return;
@@ -370,9 +475,15 @@ public class TaskletExecutionService {
                         }
                     } else {
                         idlerLocal.idle(++idleCount);
+                        if (workStealingEnabled && idleCount % STEAL_IDLE_ITERATIONS == 0) {
+                            requestSteal();
+                        }
                     }
                 }
             }
+            synchronized (this) {
+                terminated = true;
+            }
             trackers.forEach(t -> t.executionTracker.taskletDone());
             trackers.clear();
         }
@@ -388,6 +499,9 @@ public class TaskletExecutionService {
                 final ProgressState result = t.tasklet.call();
                 if (result.isDone()) {
                     dismissTasklet(t);
+                } else if (result.isMadeProgress()) {
+                    iterationBusyTaskletCount++;
+                    lastBusyTracker = t;
                 }
                 progressTracker.mergeWith(result);
             } catch (Throwable e) {
@@ -415,6 +529,59 @@ public class TaskletExecutionService {
             }
         }
 
+        private void awaitNewTasklet() throws InterruptedException {
+            if (!workStealingEnabled) {
+                newTaskletSemaphore.acquire();
+                return;
+            }
+            // wake up periodically to look for a tasklet to steal
+            if (!newTaskletSemaphore.tryAcquire(STEAL_INTERVAL_MILLIS, MILLISECONDS)) {
+                requestSteal();
+            }
+        }
+
+        /**
+         * Asks the worker with the most tasklets making progress to hand one
+         * of them over to this worker. Only the workers with at least two such
+         * tasklets are asked, moving the only busy tasklet wouldn't help.
+         */
+        private void requestSteal() {
+            CooperativeWorker victim = null;
+            int victimBusyTaskletCount = 1;
+            for (CooperativeWorker worker : cooperativeWorkers) {
+                int count = worker.busyTaskletCount;
+                if (worker != this && count > victimBusyTaskletCount) {
+                    victim = worker;
+                    victimBusyTaskletCount = count;
+                }
+            }
+            if (victim != null) {
+                victim.stealRequest.compareAndSet(null, this);
+            }
+        }
+
+        /**
+         * Hands the last tasklet which made progress over to the worker which
+         * requested it. Called between the iterations, when no tasklet of this
+         * worker is running, so a tasklet is never called by two threads.
+         */
+        private void handOverRequestedTasklet() {
+            CooperativeWorker thief = stealRequest.getAndSet(null);
+            TaskletTracker t = lastBusyTracker;
+            if (thief == null || busyTaskletCount < 2 || t == null) {
+                return;
+            }
+            synchronized (thief) {
+                if (thief.terminated || !trackers.remove(t)) {
+                    return;
+                }
+                thief.trackers.add(t);
+            }
+            logFinest(logger, "Tasklet %s handed over to an idle worker", t.tasklet);
+            thief.stolenTaskletCount.inc();
+            thief.newTaskletSemaphore.release();
+        }
+
         private void dismissTasklet(TaskletTracker t) {
             logFinest(logger, "Tasklet %s is done", t.tasklet);
             t.executionTracker.taskletDone();
@@ -38,6 +38,7 @@ import com.hazelcast.jet.impl.execution.ConcurrentInboundEdgeStream;
 import com.hazelcast.jet.impl.execution.ConveyorCollector;
 import com.hazelcast.jet.impl.execution.ConveyorCollectorWithPartition;
 import com.hazelcast.jet.impl.execution.InboundEdgeStream;
+import com.hazelcast.jet.impl.execution.IncrementalSnapshotProcessor;
 import com.hazelcast.jet.impl.execution.OutboundCollector;
 import com.hazelcast.jet.impl.execution.OutboundEdgeStream;
 import com.hazelcast.jet.impl.execution.ProcessorTasklet;
@@ -205,7 +206,7 @@ public class ExecutionPlan implements IdentifiedDataSerializable {
                 StoreSnapshotTasklet ssTasklet = new StoreSnapshotTasklet(snapshotContext,
                         ConcurrentInboundEdgeStream.create(ssConveyor, 0, 0, true, jobPrefix + "/ssFrom", null),
                         new AsyncSnapshotWriterImpl(nodeEngine, snapshotContext, vertex.name(), memberIndex, memberCount,
-                                jobSerializationService),
+                                savesDeltas(processors), jobSerializationService),
                         storeSnapshotLogger, vertex.name(), higherPriorityVertices.contains(vertex.vertexId()));
                 tasklets.add(ssTasklet);
             }
@@ -267,6 +268,14 @@ public class ExecutionPlan implements IdentifiedDataSerializable {
         tasklets.addAll(allReceivers);
     }
 
+    /**
+     * Returns true, if all processors of a vertex save only the changes to
+     * their state to a delta snapshot.
+     */
+    private static boolean savesDeltas(Collection<? extends Processor> processors) {
+        return !processors.isEmpty() && processors.stream().allMatch(p -> p instanceof IncrementalSnapshotProcessor);
+    }
+
     public Map<Integer, Map<Integer, Map<Address, ReceiverTasklet>>> getReceiverMap() {
         return receiverMap;
     }
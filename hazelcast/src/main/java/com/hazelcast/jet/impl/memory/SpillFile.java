@@ -0,0 +1,192 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.util.counters.Counter;
+
+import javax.annotation.Nonnull;
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FileOutputStream;
+import java.io.IOException;
+
+import static com.hazelcast.internal.nio.IOUtil.closeResource;
+import static com.hazelcast.internal.nio.IOUtil.deleteQuietly;
+import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
+import static com.hazelcast.internal.util.Preconditions.checkState;
+
+/**
+ * A file of serialized items written by a processor when it spills its
+ * accumulated records. The items are appended until {@link #finishWriting()}
+ * is called and then they can be read back sequentially, any number of times.
+ * <p>
+ * Each item is stored as the length of its serialized form followed by the
+ * serialized bytes, a {@code null} item is stored as the length {@code -1}.
+ * Only a small buffer is kept in memory while writing or reading.
+ */
+public final class SpillFile {
+
+    private static final int BUFFER_SIZE = 1 << 13;
+    private static final int NULL_LENGTH = -1;
+
+    private final File file;
+    private final InternalSerializationService serializationService;
+    private final Counter spilledBytes;
+
+    private DataOutputStream out;
+    private long itemCount;
+
+    SpillFile(@Nonnull File file, @Nonnull InternalSerializationService serializationService,
+              @Nonnull Counter spilledBytes) {
+        this.file = file;
+        this.serializationService = serializationService;
+        this.spilledBytes = spilledBytes;
+        try {
+            this.out = new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file), BUFFER_SIZE));
+        } catch (IOException e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Appends the given item to the file.
+     */
+    public void write(Object item) {
+        checkState(out != null, "Spill file already finished");
+        Data data = serializationService.toData(item);
+        try {
+            if (data == null) {
+                out.writeInt(NULL_LENGTH);
+                spilledBytes.inc(Integer.BYTES);
+            } else {
+                byte[] bytes = data.toByteArray();
+                out.writeInt(bytes.length);
+                out.write(bytes);
+                spilledBytes.inc(Integer.BYTES + bytes.length);
+            }
+        } catch (IOException e) {
+            throw rethrow(e);
+        }
+        itemCount++;
+    }
+
+    /**
+     * Flushes the written items to disk, no more items can be written
+     * afterwards.
+     */
+    public void finishWriting() {
+        if (out == null) {
+            return;
+        }
+        try {
+            out.close();
+        } catch (IOException e) {
+            throw rethrow(e);
+        } finally {
+            out = null;
+        }
+    }
+
+    /**
+     * Returns the number of items written to the file.
+     */
+    public long itemCount() {
+        return itemCount;
+    }
+
+    /**
+     * Opens a reader of the written items. The writing must be {@linkplain
+     * #finishWriting() finished}.
+     */
+    @Nonnull
+    public Reader openReader() {
+        checkState(out == null, "Spill file not finished");
+        try {
+            return new Reader();
+        } catch (IOException e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Deletes the file from disk.
+     */
+    void delete() {
+        closeResource(out);
+        out = null;
+        deleteQuietly(file);
+    }
+
+    @Override
+    public String toString() {
+        return "SpillFile{file=" + file + ", itemCount=" + itemCount + '}';
+    }
+
+    /**
+     * Reads the items of a spill file in the order they were written.
+     */
+    public final class Reader implements Closeable {
+
+        private final DataInputStream in;
+        private long remaining = itemCount;
+
+        private Reader() throws IOException {
+            in = new DataInputStream(new BufferedInputStream(new FileInputStream(file), BUFFER_SIZE));
+        }
+
+        /**
+         * Returns {@code true} if there are more items to read.
+         */
+        public boolean hasNext() {
+            return remaining > 0;
+        }
+
+        /**
+         * Reads the next item, which may be {@code null} if a {@code null}
+         * item was written.
+         */
+        @SuppressWarnings("unchecked")
+        public <T> T next() {
+            checkState(remaining > 0, "No more items in the spill file");
+            remaining--;
+            try {
+                int length = in.readInt();
+                if (length == NULL_LENGTH) {
+                    return null;
+                }
+                byte[] bytes = new byte[length];
+                in.readFully(bytes);
+                return (T) serializationService.toObject(new HeapData(bytes));
+            } catch (IOException e) {
+                throw rethrow(e);
+            }
+        }
+
+        @Override
+        public void close() {
+            closeResource(in);
+        }
+    }
+}
@@ -0,0 +1,150 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.counters.Counter;
+import com.hazelcast.internal.util.counters.SwCounter;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.impl.execution.init.Contexts.ProcSupplierCtx;
+import com.hazelcast.spi.properties.HazelcastProperties;
+
+import javax.annotation.Nonnull;
+import javax.annotation.Nullable;
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
+import static com.hazelcast.jet.Util.idToString;
+import static com.hazelcast.spi.properties.ClusterProperty.JET_SPILL_DIRECTORY;
+import static com.hazelcast.spi.properties.ClusterProperty.JET_SPILL_ENABLED;
+
+/**
+ * Creates the spill files of a single processor and keeps track of the
+ * amount of spilled data.
+ * <p>
+ * The processors that accumulate their whole input use it to move their
+ * accumulated records to disk once they reach the max processor accumulated
+ * records limit. The spill files are deleted when the processor closes the
+ * manager, unless the processor deletes them earlier.
+ * <p>
+ * The manager isn't thread-safe, except for the metric getters.
+ *
+ * @see com.hazelcast.spi.properties.ClusterProperty#JET_SPILL_ENABLED
+ */
+public class SpillManager {
+
+    private final Path directory;
+    private final String filePrefix;
+    private final InternalSerializationService serializationService;
+    private final List<SpillFile> files = new ArrayList<>();
+    private final Counter spillCount = SwCounter.newSwCounter();
+    private final Counter spilledBytes = SwCounter.newSwCounter();
+
+    public SpillManager(
+            @Nonnull Path directory,
+            @Nonnull String filePrefix,
+            @Nonnull InternalSerializationService serializationService
+    ) {
+        this.directory = directory;
+        this.filePrefix = filePrefix;
+        this.serializationService = serializationService;
+    }
+
+    /**
+     * Returns the spill manager for the given processor or {@code null}, if
+     * spilling isn't enabled.
+     */
+    @Nullable
+    public static SpillManager create(@Nonnull Processor.Context context) {
+        if (!(context instanceof ProcSupplierCtx)) {
+            return null;
+        }
+        ProcSupplierCtx ctx = (ProcSupplierCtx) context;
+        HazelcastProperties properties = ctx.nodeEngine().getProperties();
+        if (!properties.getBoolean(JET_SPILL_ENABLED)) {
+            return null;
+        }
+        String directory = properties.getString(JET_SPILL_DIRECTORY);
+        if (directory == null || directory.isEmpty()) {
+            directory = System.getProperty("java.io.tmpdir");
+        }
+        String filePrefix = "jet-spill-" + idToString(context.jobId()) + "-" + context.globalProcessorIndex() + "-";
+        return new SpillManager(new File(directory).toPath(), filePrefix, ctx.serializationService());
+    }
+
+    /**
+     * Creates a new empty spill file.
+     */
+    @Nonnull
+    public SpillFile newFile() {
+        try {
+            Files.createDirectories(directory);
+            Path path = Files.createTempFile(directory, filePrefix, ".spill");
+            SpillFile file = new SpillFile(path.toFile(), serializationService, spilledBytes);
+            files.add(file);
+            return file;
+        } catch (IOException e) {
+            throw rethrow(e);
+        }
+    }
+
+    /**
+     * Deletes the given spill file, which was created by this manager, before
+     * the manager is closed.
+     */
+    public void deleteFile(@Nonnull SpillFile file) {
+        file.delete();
+        files.remove(file);
+    }
+
+    /**
+     * Records that the processor moved its accumulated records to disk.
+     */
+    public void recordSpill() {
+        spillCount.inc();
+    }
+
+    /**
+     * Returns how many times the processor moved its accumulated records to
+     * disk.
+     */
+    public long spillCount() {
+        return spillCount.get();
+    }
+
+    /**
+     * Returns the number of bytes written to the spill files.
+     */
+    public long spilledBytes() {
+        return spilledBytes.get();
+    }
+
+    /**
+     * Closes and deletes all the spill files created by this manager.
+     */
+    public void close() {
+        for (SpillFile file : files) {
+            file.delete();
+        }
+        files.clear();
+    }
+}
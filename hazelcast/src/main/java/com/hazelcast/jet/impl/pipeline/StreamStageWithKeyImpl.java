@@ -24,6 +24,8 @@ import com.hazelcast.jet.Traverser;
 import com.hazelcast.jet.core.ProcessorMetaSupplier;
 import com.hazelcast.jet.function.TriFunction;
 import com.hazelcast.jet.function.TriPredicate;
+import com.hazelcast.jet.impl.pipeline.transform.IntervalJoinTransform;
+import com.hazelcast.jet.pipeline.GeneralStage;
 import com.hazelcast.jet.pipeline.ServiceFactory;
 import com.hazelcast.jet.pipeline.StreamStage;
 import com.hazelcast.jet.pipeline.StreamStageWithKey;
@@ -33,6 +35,13 @@ import javax.annotation.Nonnull;
 import java.util.List;
 import java.util.concurrent.CompletableFuture;
 
+import static com.hazelcast.internal.util.Preconditions.checkTrue;
+import static com.hazelcast.jet.impl.pipeline.ComputeStageImplBase.ADAPT_TO_JET_EVENT;
+import static com.hazelcast.jet.impl.pipeline.ComputeStageImplBase.ensureJetEvents;
+import static com.hazelcast.jet.impl.util.Util.checkSerializable;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+
 public class StreamStageWithKeyImpl<T, K> extends StageWithGroupingBase<T, K> implements StreamStageWithKey<T, K> {
 
     StreamStageWithKeyImpl(
@@ -92,6 +101,31 @@ public class StreamStageWithKeyImpl<T, K> extends StageWithGroupingBase<T, K> im
         return attachFlatMapStateful(0, createFn, flatMapFn, null);
     }
 
+    @Nonnull @Override
+    @SuppressWarnings({"unchecked", "rawtypes"})
+    public <T1, R> StreamStage<R> intervalJoin(
+            @Nonnull StreamStageWithKey<T1, ? extends K> stage1,
+            long lowerBound,
+            long upperBound,
+            @Nonnull BiFunctionEx<? super T, ? super T1, ? extends R> mapToOutputFn
+    ) {
+        checkTrue(lowerBound <= upperBound, "lowerBound must not be greater than upperBound");
+        checkSerializable(mapToOutputFn, "mapToOutputFn");
+        ComputeStageImplBase computeStage1 = ((StageWithGroupingBase) stage1).computeStage;
+        ensureJetEvents(computeStage, "This pipeline stage");
+        ensureJetEvents(computeStage1, "stage1");
+        FunctionAdapter fnAdapter = ADAPT_TO_JET_EVENT;
+        return computeStage.attach(new IntervalJoinTransform(
+                        asList(computeStage.transform, computeStage1.transform),
+                        fnAdapter.adaptKeyFn(keyFn()),
+                        fnAdapter.adaptKeyFn(stage1.keyFn()),
+                        lowerBound,
+                        upperBound,
+                        mapToOutputFn),
+                singletonList((GeneralStage<?>) computeStage1),
+                fnAdapter);
+    }
+
     @Nonnull @Override
     public <S, R> StreamStage<R> mapUsingService(
             @Nonnull ServiceFactory<?, S> serviceFactory,
@@ -0,0 +1,96 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.pipeline.transform;
+
+import com.hazelcast.function.BiFunctionEx;
+import com.hazelcast.function.FunctionEx;
+import com.hazelcast.jet.impl.JetEvent;
+import com.hazelcast.jet.impl.pipeline.PipelineImpl.Context;
+import com.hazelcast.jet.impl.pipeline.Planner;
+import com.hazelcast.jet.impl.pipeline.Planner.PlannerVertex;
+import com.hazelcast.jet.impl.processor.IntervalJoinP;
+
+import javax.annotation.Nonnull;
+import java.util.List;
+
+import static com.hazelcast.jet.core.Vertex.LOCAL_PARALLELISM_USE_DEFAULT;
+import static java.lang.Math.max;
+import static java.util.Arrays.asList;
+
+public class IntervalJoinTransform<K, T0, T1, R> extends AbstractTransform {
+
+    private static final long serialVersionUID = 1L;
+    private static final int INTERVAL_TO_WM_STRIDE_RATIO = 10;
+
+    @Nonnull
+    private final FunctionEx<? super JetEvent<T0>, ? extends K> leftKeyFn;
+    @Nonnull
+    private final FunctionEx<? super JetEvent<T1>, ? extends K> rightKeyFn;
+    private final long lowerBound;
+    private final long upperBound;
+    @Nonnull
+    private final BiFunctionEx<? super T0, ? super T1, ? extends R> mapToOutputFn;
+
+    public IntervalJoinTransform(
+            @Nonnull List<Transform> upstream,
+            @Nonnull FunctionEx<? super JetEvent<T0>, ? extends K> leftKeyFn,
+            @Nonnull FunctionEx<? super JetEvent<T1>, ? extends K> rightKeyFn,
+            long lowerBound,
+            long upperBound,
+            @Nonnull BiFunctionEx<? super T0, ? super T1, ? extends R> mapToOutputFn
+    ) {
+        super("interval-join", upstream);
+        this.leftKeyFn = leftKeyFn;
+        this.rightKeyFn = rightKeyFn;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.mapToOutputFn = mapToOutputFn;
+    }
+
+    @Override
+    public long preferredWatermarkStride() {
+        // the buffered events are evicted when the watermark advances, there's
+        // no point in advancing it in steps much smaller than the interval
+        return max(1, upperBound / INTERVAL_TO_WM_STRIDE_RATIO - lowerBound / INTERVAL_TO_WM_STRIDE_RATIO);
+    }
+
+    //               ---------       ---------
+    //              | source0 |     | source1 |
+    //               ---------       ---------
+    //                   |              |
+    //              distributed    distributed
+    //              partitioned    partitioned
+    //                   \              /
+    //                    ---\    /-----
+    //                        v  v
+    //                   ---------------
+    //                  | IntervalJoinP |
+    //                   ---------------
+    @Override
+    public void addToDag(Planner p, Context context) {
+        determineLocalParallelism(LOCAL_PARALLELISM_USE_DEFAULT, context, false);
+        FunctionEx<? super JetEvent<T0>, ? extends K> leftKeyFn = this.leftKeyFn;
+        FunctionEx<? super JetEvent<T1>, ? extends K> rightKeyFn = this.rightKeyFn;
+        long lowerBound = this.lowerBound;
+        long upperBound = this.upperBound;
+        BiFunctionEx<? super T0, ? super T1, ? extends R> mapToOutputFn = this.mapToOutputFn;
+        PlannerVertex pv = p.addVertex(this, name(), determinedLocalParallelism(),
+                () -> new IntervalJoinP<>(leftKeyFn, rightKeyFn, lowerBound, upperBound, mapToOutputFn));
+        List<FunctionEx<?, ? extends K>> keyFns = asList(leftKeyFn, rightKeyFn);
+        p.addEdges(this, pv.v, (e, ord) -> e.distributed().partitioned(keyFns.get(ord)));
+    }
+}
@@ -17,22 +17,31 @@
 package com.hazelcast.jet.impl.processor;
 
 import com.hazelcast.function.FunctionEx;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.metrics.ProbeUnit;
 import com.hazelcast.jet.Traverser;
 import com.hazelcast.jet.aggregate.AggregateOperation;
 import com.hazelcast.jet.aggregate.AggregateOperation1;
 import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.metrics.MetricNames;
 import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+import com.hazelcast.jet.impl.memory.SpillFile;
+import com.hazelcast.jet.impl.memory.SpillManager;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayDeque;
+import java.util.Deque;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.Objects;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 
+import static com.hazelcast.internal.util.HashUtil.MurmurHash3_fmix;
 import static com.hazelcast.internal.util.Preconditions.checkTrue;
 import static java.util.Collections.singletonList;
 
@@ -41,17 +50,33 @@ import static java.util.Collections.singletonList;
  * aggregate operation on each group. The items may originate from one or
  * more inbound edges. The supplied aggregate operation must have as many
  * accumulation functions as there are inbound edges.
+ * <p>
+ * If {@linkplain com.hazelcast.spi.properties.ClusterProperty#JET_SPILL_ENABLED
+ * spilling} is enabled and the aggregate operation has a combine function,
+ * the processor writes its keys and accumulators to spill files, partitioned
+ * by the hash of the key, every time it reaches the max processor accumulated
+ * records limit. On completion it loads and emits the partitions one by one,
+ * combining the accumulators of the same key. A partition which still has too
+ * many keys is split again using another hash.
  */
 public class GroupP<K, A, R, OUT> extends AbstractProcessor {
 
+    private static final int SPILL_PARTITION_COUNT = 16;
+    private static final int MAX_SPILL_LEVEL = 4;
+    private static final int LEVEL_SEED = 0x9E3779B9;
+
     protected final Map<K, A> keyToAcc = new HashMap<>();
 
     private final List<FunctionEx<?, ? extends K>> groupKeyFns;
     private final AggregateOperation<A, R> aggrOp;
     private final BiFunction<? super K, ? super R, OUT> mapToOutputFn;
 
+    private final Deque<SpilledPartition> spilledPartitions = new ArrayDeque<>();
+
     private long maxEntries;
     private Traverser<OUT> resultTraverser;
+    private SpillManager spillManager;
+    private SpillFile[] spillFiles;
 
     public GroupP(
             @Nonnull List<FunctionEx<?, ? extends K>> groupKeyFns,
@@ -76,6 +101,9 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
     @Override
     protected void init(@Nonnull Processor.Context context) throws Exception {
         maxEntries = context.maxProcessorAccumulatedRecords();
+        if (aggrOp.combineFn() != null) {
+            spillManager = SpillManager.create(context);
+        }
     }
 
     @Override
@@ -83,25 +111,146 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
     protected boolean tryProcess(int ordinal, @Nonnull Object item) {
         Function<Object, ? extends K> keyFn = (Function<Object, ? extends K>) groupKeyFns.get(ordinal);
         K key = keyFn.apply(item);
-        A acc = keyToAcc.computeIfAbsent(key, k -> {
+        A acc = keyToAcc.get(key);
+        if (acc == null) {
             if (keyToAcc.size() == maxEntries) {
-                throw new AccumulationLimitExceededException();
+                if (spillManager == null) {
+                    throw new AccumulationLimitExceededException();
+                }
+                spill();
             }
-
-            return aggrOp.createFn().get();
-        });
+            acc = aggrOp.createFn().get();
+            keyToAcc.put(key, acc);
+        }
         aggrOp.accumulateFn(ordinal).accept(acc, item);
         return true;
     }
 
     @Override
     public boolean complete() {
-        if (resultTraverser == null) {
-            resultTraverser = new ResultTraverser()
-                    // reuse null filtering done by map()
-                    .map(e -> mapToOutputFn.apply(e.getKey(), aggrOp.finishFn().apply(e.getValue())));
+        if (spillFiles != null) {
+            // spill also the last keys, the partitions are then emitted one by one
+            if (!keyToAcc.isEmpty()) {
+                spill();
+            }
+            finish(spillFiles, 0);
+            spillFiles = null;
         }
-        return emitFromTraverser(resultTraverser);
+        do {
+            if (resultTraverser == null) {
+                resultTraverser = new ResultTraverser()
+                        // reuse null filtering done by map()
+                        .map(e -> mapToOutputFn.apply(e.getKey(), aggrOp.finishFn().apply(e.getValue())));
+            }
+            if (!emitFromTraverser(resultTraverser)) {
+                return false;
+            }
+            resultTraverser = null;
+        } while (loadSpilledPartition());
+        return true;
+    }
+
+    @Override
+    public void close() {
+        if (spillManager != null) {
+            spillManager.close();
+        }
+    }
+
+    @Probe(name = MetricNames.SPILL_COUNT)
+    private long spillCount() {
+        return spillManager == null ? 0 : spillManager.spillCount();
+    }
+
+    @Probe(name = MetricNames.SPILLED_BYTES, unit = ProbeUnit.BYTES)
+    private long spilledBytes() {
+        return spillManager == null ? 0 : spillManager.spilledBytes();
+    }
+
+    private void spill() {
+        if (spillFiles == null) {
+            spillFiles = newSpillFiles();
+        }
+        for (Entry<K, A> entry : keyToAcc.entrySet()) {
+            write(spillFiles, 0, entry.getKey(), entry.getValue());
+        }
+        keyToAcc.clear();
+        spillManager.recordSpill();
+    }
+
+    /**
+     * Loads the next spilled partition to {@link #keyToAcc}. If the partition
+     * has more keys than allowed, it's split into partitions of the next level
+     * and nothing is loaded.
+     *
+     * @return {@code false} if there are no more spilled partitions
+     */
+    private boolean loadSpilledPartition() {
+        SpilledPartition partition = spilledPartitions.poll();
+        if (partition == null) {
+            return false;
+        }
+        try (SpillFile.Reader reader = partition.file.openReader()) {
+            while (reader.hasNext()) {
+                K key = reader.next();
+                A acc = reader.next();
+                A existingAcc = keyToAcc.get(key);
+                if (existingAcc != null) {
+                    aggrOp.combineFn().accept(existingAcc, acc);
+                } else if (keyToAcc.size() < maxEntries) {
+                    keyToAcc.put(key, acc);
+                } else {
+                    split(partition.level + 1, key, acc, reader);
+                }
+            }
+        }
+        spillManager.deleteFile(partition.file);
+        return true;
+    }
+
+    private void split(int level, K key, A acc, SpillFile.Reader reader) {
+        if (level > MAX_SPILL_LEVEL) {
+            throw new AccumulationLimitExceededException();
+        }
+        SpillFile[] files = newSpillFiles();
+        for (Entry<K, A> entry : keyToAcc.entrySet()) {
+            write(files, level, entry.getKey(), entry.getValue());
+        }
+        keyToAcc.clear();
+        write(files, level, key, acc);
+        while (reader.hasNext()) {
+            write(files, level, reader.next(), reader.next());
+        }
+        finish(files, level);
+        spillManager.recordSpill();
+    }
+
+    private SpillFile[] newSpillFiles() {
+        SpillFile[] files = new SpillFile[SPILL_PARTITION_COUNT];
+        for (int i = 0; i < files.length; i++) {
+            files[i] = spillManager.newFile();
+        }
+        return files;
+    }
+
+    private void finish(SpillFile[] files, int level) {
+        for (SpillFile file : files) {
+            file.finishWriting();
+            if (file.itemCount() == 0) {
+                spillManager.deleteFile(file);
+            } else {
+                spilledPartitions.add(new SpilledPartition(file, level));
+            }
+        }
+    }
+
+    private static void write(SpillFile[] files, int level, Object key, Object acc) {
+        // each level uses different bits of the hash, so that the keys of
+        // a partition are spread across all partitions of the next level
+        int hash = MurmurHash3_fmix(Objects.hashCode(key) + level * LEVEL_SEED);
+        SpillFile file = files[hash & (SPILL_PARTITION_COUNT - 1)];
+        file.write(key);
+        file.write(acc);
     }
 
     private class ResultTraverser implements Traverser<Entry<K, A>> {
@@ -119,4 +268,14 @@ public class GroupP<K, A, R, OUT> extends AbstractProcessor {
             }
         }
     }
+
+    private static final class SpilledPartition {
+        private final SpillFile file;
+        private final int level;
+
+        SpilledPartition(SpillFile file, int level) {
+            this.file = file;
+            this.level = level;
+        }
+    }
 }
@@ -0,0 +1,320 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.Counter;
+import com.hazelcast.internal.util.counters.SwCounter;
+import com.hazelcast.jet.Traverser;
+import com.hazelcast.jet.Traversers;
+import com.hazelcast.jet.core.AbstractProcessor;
+import com.hazelcast.jet.core.BroadcastKey;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.Watermark;
+import com.hazelcast.jet.datamodel.Tuple2;
+import com.hazelcast.jet.impl.JetEvent;
+import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+
+import javax.annotation.Nonnull;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Map.Entry;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+import static com.hazelcast.jet.Util.entry;
+import static com.hazelcast.jet.core.BroadcastKey.broadcastKey;
+import static com.hazelcast.jet.datamodel.Tuple2.tuple2;
+import static com.hazelcast.jet.impl.JetEvent.jetEvent;
+import static com.hazelcast.jet.impl.util.Util.addClamped;
+import static com.hazelcast.jet.impl.util.Util.logLateEvent;
+import static com.hazelcast.jet.impl.util.Util.subtractClamped;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
+
+/**
+ * Joins two timestamped streams on a key. An event {@code e0} from the
+ * left input (ordinal 0) is joined with an event {@code e1} from the right
+ * input (ordinal 1) if they have equal keys and:
+ * <pre>
+ *     e0.timestamp + lowerBound <= e1.timestamp <= e0.timestamp + upperBound
+ * </pre>
+ * The output event has the timestamp of the later one of them.
+ * <p>
+ * The processor buffers the events of both inputs, separately for each key.
+ * When the watermark advances, it evicts the events that can no longer be
+ * joined with any event having a timestamp at or above the watermark. The
+ * watermark is the coalesced watermark of both inputs, therefore the events
+ * received behind it are late and are dropped.
+ *
+ * @param <K> type of the join key
+ * @param <T0> type of the left payload
+ * @param <T1> type of the right payload
+ * @param <R> type of the output payload
+ */
+public class IntervalJoinP<K, T0, T1, R> extends AbstractProcessor {
+
+    @Probe(name = "lateEventsDropped")
+    private final Counter lateEventsDropped = SwCounter.newSwCounter();
+
+    private final Function<? super JetEvent<T0>, ? extends K> leftKeyFn;
+    private final Function<? super JetEvent<T1>, ? extends K> rightKeyFn;
+    private final long lowerBound;
+    private final long upperBound;
+    private final BiFunction<? super T0, ? super T1, ? extends R> mapToOutputFn;
+
+    private final Map<K, Buffers<T0, T1>> keyToBuffers = new HashMap<>();
+    private final JoinTraverser leftTraverser = new JoinTraverser(true);
+    private final JoinTraverser rightTraverser = new JoinTraverser(false);
+    private final FlatMapper<JetEvent<T0>, JetEvent<R>> leftFlatMapper = flatMapper(this::joinLeft);
+    private final FlatMapper<JetEvent<T1>, JetEvent<R>> rightFlatMapper = flatMapper(this::joinRight);
+
+    private long currentWm = Long.MIN_VALUE;
+    private long bufferedEvents;
+    private long maxEntries;
+    private Traverser<? extends Entry<?, ?>> snapshotTraverser;
+
+    public IntervalJoinP(
+            @Nonnull Function<? super JetEvent<T0>, ? extends K> leftKeyFn,
+            @Nonnull Function<? super JetEvent<T1>, ? extends K> rightKeyFn,
+            long lowerBound,
+            long upperBound,
+            @Nonnull BiFunction<? super T0, ? super T1, ? extends R> mapToOutputFn
+    ) {
+        assert lowerBound <= upperBound : "lowerBound=" + lowerBound + ", upperBound=" + upperBound;
+        this.leftKeyFn = leftKeyFn;
+        this.rightKeyFn = rightKeyFn;
+        this.lowerBound = lowerBound;
+        this.upperBound = upperBound;
+        this.mapToOutputFn = mapToOutputFn;
+    }
+
+    @Override
+    protected void init(@Nonnull Processor.Context context) throws Exception {
+        maxEntries = context.maxProcessorAccumulatedRecords();
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected boolean tryProcess0(@Nonnull Object item) {
+        return leftFlatMapper.tryProcess((JetEvent<T0>) item);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected boolean tryProcess1(@Nonnull Object item) {
+        return rightFlatMapper.tryProcess((JetEvent<T1>) item);
+    }
+
+    @Nonnull
+    private Traverser<JetEvent<R>> joinLeft(JetEvent<T0> event) {
+        long timestamp = event.timestamp();
+        if (timestamp < currentWm) {
+            logLateEvent(getLogger(), currentWm, event);
+            lateEventsDropped.inc();
+            return Traversers.empty();
+        }
+        Buffers<T0, T1> buffers = keyToBuffers.computeIfAbsent(leftKeyFn.apply(event), k -> new Buffers<>());
+        // the right events that arrive later will be joined with this one, unless
+        // all of them are too late to be joined
+        if (timestamp >= leftEvictionLimit()) {
+            ensureCapacity();
+            buffers.left.add(event);
+        }
+        return leftTraverser.reset(event, buffers.right,
+                addClamped(timestamp, lowerBound), addClamped(timestamp, upperBound));
+    }
+
+    @Nonnull
+    private Traverser<JetEvent<R>> joinRight(JetEvent<T1> event) {
+        long timestamp = event.timestamp();
+        if (timestamp < currentWm) {
+            logLateEvent(getLogger(), currentWm, event);
+            lateEventsDropped.inc();
+            return Traversers.empty();
+        }
+        Buffers<T0, T1> buffers = keyToBuffers.computeIfAbsent(rightKeyFn.apply(event), k -> new Buffers<>());
+        if (timestamp >= rightEvictionLimit()) {
+            ensureCapacity();
+            buffers.right.add(event);
+        }
+        return rightTraverser.reset(event, buffers.left,
+                subtractClamped(timestamp, upperBound), subtractClamped(timestamp, lowerBound));
+    }
+
+    private void ensureCapacity() {
+        if (bufferedEvents == maxEntries) {
+            throw new AccumulationLimitExceededException();
+        }
+        bufferedEvents++;
+    }
+
+    /**
+     * Returns the timestamp below which the left events can't be joined with
+     * any right event that isn't late.
+     */
+    private long leftEvictionLimit() {
+        return subtractClamped(currentWm, upperBound);
+    }
+
+    /**
+     * Returns the timestamp below which the right events can't be joined
+     * with any left event that isn't late.
+     */
+    private long rightEvictionLimit() {
+        return addClamped(currentWm, lowerBound);
+    }
+
+    @Override
+    public boolean tryProcessWatermark(@Nonnull Watermark watermark) {
+        if (watermark.timestamp() > currentWm) {
+            currentWm = watermark.timestamp();
+            evict();
+        }
+        // all future output events will involve an input event that isn't late,
+        // therefore their timestamps won't be behind the watermark
+        return tryEmit(watermark);
+    }
+
+    private void evict() {
+        long leftLimit = leftEvictionLimit();
+        long rightLimit = rightEvictionLimit();
+        for (Iterator<Buffers<T0, T1>> it = keyToBuffers.values().iterator(); it.hasNext(); ) {
+            Buffers<T0, T1> buffers = it.next();
+            bufferedEvents -= evict(buffers.left, leftLimit) + evict(buffers.right, rightLimit);
+            if (buffers.left.isEmpty() && buffers.right.isEmpty()) {
+                it.remove();
+            }
+        }
+    }
+
+    /**
+     * Removes the events with a timestamp less than the given limit,
+     * preserving the order of the others. Returns the number of removed
+     * events.
+     */
+    private static <E extends JetEvent<?>> int evict(List<E> events, long limit) {
+        int size = events.size();
+        int retained = 0;
+        for (int i = 0; i < size; i++) {
+            E event = events.get(i);
+            if (event.timestamp() >= limit) {
+                events.set(retained++, event);
+            }
+        }
+        events.subList(retained, size).clear();
+        return size - retained;
+    }
+
+    @Override
+    public boolean complete() {
+        // the unbounded inputs complete only when the job is cancelled, and the
+        // events that are still buffered will never be joined with anything
+        return true;
+    }
+
+    private enum SnapshotKeys {
+        WATERMARK
+    }
+
+    @Override
+    public boolean saveToSnapshot() {
+        if (snapshotTraverser == null) {
+            snapshotTraverser = Traversers.traverseIterable(keyToBuffers.entrySet())
+                    .<Entry<?, ?>>map(e -> entry(e.getKey(), tuple2(e.getValue().left, e.getValue().right)))
+                    .append(entry(broadcastKey(SnapshotKeys.WATERMARK), currentWm))
+                    .onFirstNull(() -> snapshotTraverser = null);
+        }
+        return emitFromTraverserToSnapshot(snapshotTraverser);
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    protected void restoreFromSnapshot(@Nonnull Object key, @Nonnull Object value) {
+        if (key instanceof BroadcastKey) {
+            assert ((BroadcastKey<?>) key).key() == SnapshotKeys.WATERMARK : "Unexpected " + key;
+            long wm = (long) value;
+            currentWm = (currentWm == Long.MIN_VALUE) ? wm : min(currentWm, wm);
+        } else {
+            Tuple2<List<JetEvent<T0>>, List<JetEvent<T1>>> events = (Tuple2<List<JetEvent<T0>>, List<JetEvent<T1>>>) value;
+            Buffers<T0, T1> buffers = new Buffers<>();
+            buffers.left.addAll(events.f0());
+            buffers.right.addAll(events.f1());
+            bufferedEvents += buffers.left.size() + buffers.right.size();
+            Buffers<T0, T1> old = keyToBuffers.put((K) key, buffers);
+            assert old == null : "Duplicate key '" + key + '\'';
+        }
+    }
+
+    private static final class Buffers<T0, T1> {
+        private final List<JetEvent<T0>> left = new ArrayList<>();
+        private final List<JetEvent<T1>> right = new ArrayList<>();
+    }
+
+    /**
+     * Joins an event with the buffered events of the other input having a
+     * timestamp within the given range. Each input has its own instance,
+     * it's reused for all events.
+     */
+    private final class JoinTraverser implements Traverser<JetEvent<R>> {
+        private final boolean eventIsLeft;
+
+        private JetEvent<?> event;
+        private List<? extends JetEvent<?>> candidates;
+        private long fromTimestamp;
+        private long toTimestamp;
+        private int index;
+
+        JoinTraverser(boolean eventIsLeft) {
+            this.eventIsLeft = eventIsLeft;
+        }
+
+        JoinTraverser reset(
+                JetEvent<?> event, List<? extends JetEvent<?>> candidates, long fromTimestamp, long toTimestamp
+        ) {
+            this.event = event;
+            this.candidates = candidates;
+            this.fromTimestamp = fromTimestamp;
+            this.toTimestamp = toTimestamp;
+            this.index = 0;
+            return this;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public JetEvent<R> next() {
+            while (candidates != null && index < candidates.size()) {
+                JetEvent<?> other = candidates.get(index++);
+                if (other.timestamp() < fromTimestamp || other.timestamp() > toTimestamp) {
+                    continue;
+                }
+                R result = eventIsLeft
+                        ? mapToOutputFn.apply((T0) event.payload(), (T1) other.payload())
+                        : mapToOutputFn.apply((T0) other.payload(), (T1) event.payload());
+                if (result != null) {
+                    return jetEvent(max(event.timestamp(), other.timestamp()), result);
+                }
+            }
+            event = null;
+            candidates = null;
+            return null;
+        }
+    }
+}
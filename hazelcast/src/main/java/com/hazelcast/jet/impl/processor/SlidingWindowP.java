@@ -31,7 +31,9 @@ import com.hazelcast.jet.core.SlidingWindowPolicy;
 import com.hazelcast.jet.core.Watermark;
 import com.hazelcast.jet.core.function.KeyedWindowResultFunction;
 import com.hazelcast.jet.core.processor.Processors;
+import com.hazelcast.jet.impl.execution.IncrementalSnapshotProcessor;
 import com.hazelcast.jet.impl.execution.init.JetInitDataSerializerHook;
+import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataValueTombstone;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
@@ -41,10 +43,12 @@ import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
 import java.io.IOException;
 import java.util.HashMap;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
+import java.util.Set;
 import java.util.function.BiConsumer;
 import java.util.function.Function;
 import java.util.function.LongFunction;
@@ -76,7 +80,7 @@ import static java.util.concurrent.TimeUnit.NANOSECONDS;
  * @param <A> type of the frame accumulator object
  * @param <R> type of the finished result
  */
-public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
+public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor implements IncrementalSnapshotProcessor {
 
     // package-visible for testing
     final Long2ObjectHashMap<Map<K, A>> tsToKeyToAcc = new Long2ObjectHashMap<>();
@@ -128,6 +132,13 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
     // optimization that avoids a full scan over the entire keyset.
     private long topTs = Long.MIN_VALUE;
 
+    // The keys changed or removed since the previous incremental snapshot,
+    // null until the first one. The keys saved to the ongoing snapshot are
+    // kept until it's committed and merged back if it failed.
+    private Set<SnapshotKey> dirtyKeys;
+    private Set<SnapshotKey> savedDirtyKeys;
+    private boolean saveDelta;
+
     // values used temporarily during snapshot restore
     private long minRestoredNextWinToEmit = Long.MAX_VALUE;
     private long minRestoredFrameTs = Long.MAX_VALUE;
@@ -242,6 +253,9 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
                 .computeIfAbsent(key, createAccFunction);
         aggrOp.accumulateFn(ordinal).accept(acc, item);
         topTs = max(topTs, frameTs);
+        if (dirtyKeys != null) {
+            dirtyKeys.add(new SnapshotKey(frameTs, key));
+        }
         return true;
     }
 
@@ -261,10 +275,12 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
             return flushBuffers();
         }
         if (snapshotTraverser == null) {
-            snapshotTraverser = traverseIterable(tsToKeyToAcc.entrySet())
-                    .<Entry>flatMap(e -> traverseIterable(e.getValue().entrySet())
-                            .map(e2 -> entry(new SnapshotKey(e.getKey(), e2.getKey()), e2.getValue()))
-                    )
+            Traverser<Entry> stateTraverser = saveDelta
+                    ? traverseIterable(savedDirtyKeys).<Entry>map(k -> entry(k, accOrTombstone(k)))
+                    : traverseIterable(tsToKeyToAcc.entrySet())
+                            .<Entry>flatMap(e -> traverseIterable(e.getValue().entrySet())
+                                    .map(e2 -> entry(new SnapshotKey(e.getKey(), e2.getKey()), e2.getValue())));
+            snapshotTraverser = stateTraverser
                     .append(entry(broadcastKey(Keys.NEXT_WIN_TO_EMIT), nextWinToEmit))
                     .onFirstNull(() -> {
                         logFinest(getLogger(), "Saved nextWinToEmit: %s", nextWinToEmit);
@@ -274,6 +290,36 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
         return emitFromTraverserToSnapshot(snapshotTraverser);
     }
 
+    private Object accOrTombstone(SnapshotKey snapshotKey) {
+        Object acc = tsToKeyToAcc.getOrDefault(snapshotKey.timestamp, emptyMap()).get(snapshotKey.key);
+        return acc != null ? acc : SnapshotDataValueTombstone.INSTANCE;
+    }
+
+    @Override
+    public void beginIncrementalSnapshot(boolean delta) {
+        if (!isLastStage) {
+            // only the last stage saves its state
+            return;
+        }
+        if (delta && dirtyKeys == null) {
+            throw new JetException("Delta snapshot requested before a full incremental snapshot");
+        }
+        saveDelta = delta;
+        savedDirtyKeys = dirtyKeys != null ? dirtyKeys : new HashSet<>();
+        dirtyKeys = new HashSet<>();
+    }
+
+    @Override
+    public boolean snapshotCommitFinish(boolean success) {
+        if (savedDirtyKeys != null) {
+            if (!success) {
+                dirtyKeys.addAll(savedDirtyKeys);
+            }
+            savedDirtyKeys = null;
+        }
+        return true;
+    }
+
     @Override
     @SuppressWarnings("unchecked")
     protected void restoreFromSnapshot(@Nonnull Object key, @Nonnull Object value) {
@@ -435,6 +481,11 @@ public class SlidingWindowP<K, A, R, OUT> extends AbstractProcessor {
         long tsOfFrameToEvict = frameTs - winPolicy.windowSize() + winPolicy.frameSize();
         Map<K, A> evictedFrame = tsToKeyToAcc.remove(tsOfFrameToEvict);
         if (evictedFrame != null) {
+            if (dirtyKeys != null) {
+                for (K key : evictedFrame.keySet()) {
+                    dirtyKeys.add(new SnapshotKey(tsOfFrameToEvict, key));
+                }
+            }
             totalKeysInFrames.inc(-evictedFrame.size());
             totalFrames.inc(-1);
             if (!winPolicy.isTumbling() && aggrOp.deductFn() != null) {
@@ -16,38 +16,74 @@
 
 package com.hazelcast.jet.impl.processor;
 
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.metrics.ProbeUnit;
 import com.hazelcast.jet.Traverser;
 import com.hazelcast.jet.core.AbstractProcessor;
 import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.metrics.MetricNames;
 import com.hazelcast.jet.impl.memory.AccumulationLimitExceededException;
+import com.hazelcast.jet.impl.memory.SpillFile;
+import com.hazelcast.jet.impl.memory.SpillManager;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Comparator;
+import java.util.Deque;
+import java.util.List;
 import java.util.PriorityQueue;
 
+/**
+ * Batch processor that emits all its input items sorted by the supplied
+ * comparator.
+ * <p>
+ * If {@linkplain com.hazelcast.spi.properties.ClusterProperty#JET_SPILL_ENABLED
+ * spilling} is enabled, the processor writes the sorted items to a new spill
+ * file every time it reaches the max processor accumulated records limit. On
+ * completion it merges the sorted runs from the files with the items still in
+ * memory, reading a single item of each run at a time. At most {@value
+ * #MAX_MERGE_FAN_IN} runs are merged at once. If there are more, the oldest
+ * ones are first merged into longer runs, which are written to new files.
+ */
 public class SortP<T> extends AbstractProcessor {
 
+    /**
+     * The max number of runs merged at once, each of them keeps an open file
+     * and a read buffer during the merge.
+     */
+    public static final int MAX_MERGE_FAN_IN = 64;
+
+    private final Comparator<T> comparator;
     private final PriorityQueue<T> priorityQueue;
-    private final Traverser<T> resultTraverser;
+    private final Deque<SpillFile> runs = new ArrayDeque<>();
 
     private long maxItems;
+    private SpillManager spillManager;
+    private Traverser<T> resultTraverser;
 
+    @SuppressWarnings("unchecked")
     public SortP(@Nullable Comparator<T> comparator) {
-        this.priorityQueue = new PriorityQueue<>(comparator);
-        this.resultTraverser = priorityQueue::poll;
+        this.comparator = comparator != null ? comparator : (Comparator<T>) Comparator.naturalOrder();
+        this.priorityQueue = new PriorityQueue<>(this.comparator);
     }
 
     @Override
     protected void init(@Nonnull Processor.Context context) throws Exception {
         maxItems = context.maxProcessorAccumulatedRecords();
+        spillManager = SpillManager.create(context);
     }
 
     @Override
     @SuppressWarnings("unchecked")
     protected boolean tryProcess0(@Nonnull Object item) {
         if (priorityQueue.size() == maxItems) {
-            throw new AccumulationLimitExceededException();
+            if (spillManager == null) {
+                throw new AccumulationLimitExceededException();
+            }
+            spillRun();
         }
 
         priorityQueue.add((T) item);
@@ -56,6 +92,115 @@ public class SortP<T> extends AbstractProcessor {
 
     @Override
     public boolean complete() {
+        if (resultTraverser == null) {
+            if (runs.isEmpty()) {
+                resultTraverser = priorityQueue::poll;
+            } else {
+                mergeOldestRuns();
+                resultTraverser = mergeRuns(runs, true);
+            }
+        }
         return emitFromTraverser(resultTraverser);
     }
+
+    @Override
+    public void close() {
+        if (spillManager != null) {
+            spillManager.close();
+        }
+    }
+
+    @Probe(name = MetricNames.SPILL_COUNT)
+    private long spillCount() {
+        return spillManager == null ? 0 : spillManager.spillCount();
+    }
+
+    @Probe(name = MetricNames.SPILLED_BYTES, unit = ProbeUnit.BYTES)
+    private long spilledBytes() {
+        return spillManager == null ? 0 : spillManager.spilledBytes();
+    }
+
+    private void spillRun() {
+        SpillFile run = spillManager.newFile();
+        for (T item; (item = priorityQueue.poll()) != null; ) {
+            run.write(item);
+        }
+        run.finishWriting();
+        runs.add(run);
+        spillManager.recordSpill();
+    }
+
+    /**
+     * Merges the oldest runs into new ones until the remaining runs and the
+     * items in memory can be merged at once.
+     */
+    private void mergeOldestRuns() {
+        while (runs.size() >= MAX_MERGE_FAN_IN) {
+            List<SpillFile> merged = new ArrayList<>(MAX_MERGE_FAN_IN);
+            for (int i = 0; i < MAX_MERGE_FAN_IN; i++) {
+                merged.add(runs.poll());
+            }
+            SpillFile run = spillManager.newFile();
+            Traverser<T> traverser = mergeRuns(merged, false);
+            for (T item; (item = traverser.next()) != null; ) {
+                run.write(item);
+            }
+            run.finishWriting();
+            for (SpillFile file : merged) {
+                spillManager.deleteFile(file);
+            }
+            runs.add(run);
+        }
+    }
+
+    private Traverser<T> mergeRuns(Collection<SpillFile> files, boolean includeMemory) {
+        PriorityQueue<RunHead<T>> heads = new PriorityQueue<>(files.size() + 1,
+                (left, right) -> comparator.compare(left.item, right.item));
+        if (includeMemory) {
+            RunHead<T> memoryHead = new RunHead<>(priorityQueue::poll, null);
+            if (memoryHead.advance()) {
+                heads.add(memoryHead);
+            }
+        }
+        for (SpillFile run : files) {
+            SpillFile.Reader reader = run.openReader();
+            RunHead<T> head = new RunHead<>(() -> reader.hasNext() ? reader.next() : null, reader);
+            if (head.advance()) {
+                heads.add(head);
+            }
+        }
+        return () -> {
+            RunHead<T> head = heads.poll();
+            if (head == null) {
+                return null;
+            }
+            T item = head.item;
+            if (head.advance()) {
+                heads.add(head);
+            }
+            return item;
+        };
+    }
+
+    /**
+     * The smallest not yet emitted item of a sorted run.
+     */
+    private static final class RunHead<T> {
+        private final Traverser<T> run;
+        private final SpillFile.Reader reader;
+        private T item;
+
+        RunHead(Traverser<T> run, @Nullable SpillFile.Reader reader) {
+            this.run = run;
+            this.reader = reader;
+        }
+
+        boolean advance() {
+            item = run.next();
+            if (item == null && reader != null) {
+                reader.close();
+            }
+            return item != null;
+        }
+    }
 }
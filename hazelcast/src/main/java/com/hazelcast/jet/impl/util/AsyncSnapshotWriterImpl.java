@@ -48,6 +48,21 @@ import java.util.concurrent.atomic.AtomicReference;
 import java.util.function.BiConsumer;
 import java.util.function.Supplier;
 
+/**
+ * Writes the snapshot entries to the snapshot map in chunks: the entries
+ * are appended to a buffer per partition and each full buffer is put to the
+ * map as one value.
+ * <p>
+ * The chunks of a {@linkplain SnapshotContext#isDeltaSnapshot() delta}
+ * snapshot are added to the map next to the chunks of the previous snapshots
+ * it's based on. They contain only the entries which the processors saved as
+ * changed, the removed entries have the {@link SnapshotDataValueTombstone}
+ * value. If the processors of the vertex don't save deltas, the writer marks
+ * that the vertex saved its full state with an empty chunk, see {@link
+ * SnapshotDataKey#isFullStateMarker()}. The full state marker is written by
+ * each member to each {@linkplain SnapshotContext#isIncrementalSnapshot()
+ * incremental} snapshot which isn't a delta too.
+ */
 public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
 
     public static final int DEFAULT_CHUNK_SIZE = 128 * 1024;
@@ -67,8 +82,11 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
     private final boolean useBigEndian;
     private final SnapshotContext snapshotContext;
     private final String vertexName;
+    private final int memberIndex;
     private final int memberCount;
+    private final boolean savesDeltas;
     private IMap<SnapshotDataKey, Object> currentMap;
+    private boolean fullStateMarkerPending;
     private long currentSnapshotId;
     private final AtomicReference<Throwable> firstError = new AtomicReference<>();
     private final AtomicInteger numActiveFlushes = new AtomicInteger();
@@ -85,8 +103,10 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
                                    String vertexName,
                                    int memberIndex,
                                    int memberCount,
+                                   boolean savesDeltas,
                                    SerializationService serializationService) {
-        this(DEFAULT_CHUNK_SIZE, nodeEngine, snapshotContext, vertexName, memberIndex, memberCount, serializationService);
+        this(DEFAULT_CHUNK_SIZE, nodeEngine, snapshotContext, vertexName, memberIndex, memberCount, savesDeltas,
+                serializationService);
     }
 
     // for test
@@ -96,6 +116,7 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
                             String vertexName,
                             int memberIndex,
                             int memberCount,
+                            boolean savesDeltas,
                             SerializationService serializationService) {
         if (Integer.bitCount(chunkSize) != 1) {
             throw new IllegalArgumentException("chunkSize must be a power of two, but is " + chunkSize);
@@ -105,7 +126,9 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
         this.logger = nodeEngine.getLogger(getClass());
         this.snapshotContext = snapshotContext;
         this.vertexName = vertexName;
+        this.memberIndex = memberIndex;
         this.memberCount = memberCount;
+        this.savesDeltas = savesDeltas;
         currentSnapshotId = snapshotContext.currentSnapshotId();
 
         useBigEndian = !nodeEngine.getHazelcastInstance().getConfig().getSerializationConfig().isUseNativeByteOrder()
@@ -273,10 +296,39 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
             }
             currentMap = nodeEngine.getHazelcastInstance().getMap(mapName);
             this.currentSnapshotId = snapshotContext.currentSnapshotId();
+            fullStateMarkerPending = snapshotContext.isIncrementalSnapshot()
+                    && (!snapshotContext.isDeltaSnapshot() || !savesDeltas);
         }
         return true;
     }
 
+    /**
+     * Writes an empty chunk marking that this member saved the full state of
+     * the vertex to the current incremental snapshot.
+     */
+    @CheckReturnValue
+    private boolean putFullStateMarker() {
+        if (!Util.tryIncrement(numConcurrentAsyncOps, 1, JetServiceBackend.MAX_PARALLEL_ASYNC_OPS)) {
+            return false;
+        }
+        try {
+            byte[] data = new byte[serializedByteArrayHeader.length + valueTerminator.length];
+            System.arraycopy(serializedByteArrayHeader, 0, data, 0, serializedByteArrayHeader.length);
+            System.arraycopy(valueTerminator, 0, data, serializedByteArrayHeader.length, valueTerminator.length);
+            updateSerializedBytesLength(data);
+            SnapshotDataKey key = new SnapshotDataKey(partitionKeys[memberIndex % partitionKeys.length],
+                    currentSnapshotId, vertexName, SnapshotDataKey.fullStateMarkerSequence(memberIndex));
+            currentMap.putAsync(key, new HeapData(data)).toCompletableFuture().whenComplete(putResponseConsumer);
+            numActiveFlushes.incrementAndGet();
+            totalChunks++;
+        } catch (HazelcastInstanceNotActiveException ignored) {
+            numConcurrentAsyncOps.decrementAndGet();
+            return false;
+        }
+        fullStateMarkerPending = false;
+        return true;
+    }
+
     /**
      * Flush all partitions and reset current map. No further items can be
      * offered until new snapshot is seen in {@link #snapshotContext}.
@@ -296,6 +348,9 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
                 return false;
             }
         }
+        if (fullStateMarkerPending && !putFullStateMarker()) {
+            return false;
+        }
 
         // we're done
         currentMap = null;
@@ -360,6 +415,18 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
             return vertexName;
         }
 
+        /**
+         * Returns true, if the key is of an empty chunk marking that a member
+         * saved the full state of the vertex to an incremental snapshot.
+         */
+        public boolean isFullStateMarker() {
+            return sequence < 0;
+        }
+
+        static int fullStateMarkerSequence(int memberIndex) {
+            return -1 - memberIndex;
+        }
+
         @Override
         public String toString() {
             return "SnapshotDataKey{" +
@@ -443,6 +510,36 @@ public class AsyncSnapshotWriterImpl implements AsyncSnapshotWriter {
         }
     }
 
+    /**
+     * The value saved to a {@linkplain SnapshotContext#isDeltaSnapshot() delta
+     * snapshot} for a key removed from the state since the previous snapshot.
+     */
+    public static final class SnapshotDataValueTombstone implements IdentifiedDataSerializable {
+
+        public static final IdentifiedDataSerializable INSTANCE = new SnapshotDataValueTombstone();
+
+        private SnapshotDataValueTombstone() {
+        }
+
+        @Override
+        public int getFactoryId() {
+            return JetInitDataSerializerHook.FACTORY_ID;
+        }
+
+        @Override
+        public int getClassId() {
+            return JetInitDataSerializerHook.ASYNC_SNAPSHOT_WRITER_SNAPSHOT_DATA_VALUE_TOMBSTONE;
+        }
+
+        @Override
+        public void writeData(ObjectDataOutput out) {
+        }
+
+        @Override
+        public void readData(ObjectDataInput in) {
+        }
+    }
+
     /**
      * Non-synchronized variant of {@code java.io.ByteArrayOutputStream} with capacity limit.
      */
@@ -303,6 +303,60 @@ public interface StreamStageWithKey<T, K> extends GeneralStageWithKey<T, K> {
         }, (state, key, wm) -> null);
     }
 
+    /**
+     * Attaches a stage that joins this stage with the given stream stage on
+     * their grouping keys and event timestamps. An item {@code t} from this
+     * stage is joined with an item {@code t1} from {@code stage1} if their
+     * keys are equal and their timestamps satisfy:
+     * <pre>
+     *     t.timestamp + lowerBound <= t1.timestamp <= t.timestamp + upperBound
+     * </pre>
+     * For each such pair Jet emits the result of {@code mapToOutputFn}, with
+     * the timestamp of the later one of the two items. If the function
+     * returns {@code null}, it emits nothing.
+     * <p>
+     * This sample joins each order with the payments for it that arrive
+     * within ten minutes after the order:
+     * <pre>{@code
+     * StreamStage<Order> orders = ...
+     * StreamStage<Payment> payments = ...
+     * StreamStage<Tuple2<Order, Payment>> paidOrders = orders
+     *         .groupingKey(Order::getId)
+     *         .intervalJoin(
+     *                 payments.groupingKey(Payment::getOrderId),
+     *                 0, MINUTES.toMillis(10),
+     *                 Tuple2::tuple2);
+     * }</pre>
+     * Both stages must have timestamps. Jet keeps the items of both stages
+     * for each key, and evicts them once the watermark advances so far that
+     * they can't be joined with any item that isn't late. The late items are
+     * dropped. Therefore the state size is bounded by the number of items
+     * received within the interval and the allowed lag of the watermark.
+     * <p>
+     * This stage is fault-tolerant and saves its state to the snapshot.
+     *
+     * @param stage1        the stage to join with, with the grouping key of
+     *                      the same type
+     * @param lowerBound    the lower bound of the timestamp difference,
+     *                      inclusive. Can be negative
+     * @param upperBound    the upper bound of the timestamp difference,
+     *                      inclusive. Must not be less than {@code lowerBound}
+     * @param mapToOutputFn function that maps the joined items to the output
+     *                      item
+     * @param <T1> type of the items in {@code stage1}
+     * @param <R>  type of the output items
+     * @return the newly attached stage
+     *
+     * @since 5.1
+     */
+    @Nonnull
+    <T1, R> StreamStage<R> intervalJoin(
+            @Nonnull StreamStageWithKey<T1, ? extends K> stage1,
+            long lowerBound,
+            long upperBound,
+            @Nonnull BiFunctionEx<? super T, ? super T1, ? extends R> mapToOutputFn
+    );
+
     @Nonnull @Override
     default <V, R> StreamStage<R> mapUsingIMap(
             @Nonnull String mapName,
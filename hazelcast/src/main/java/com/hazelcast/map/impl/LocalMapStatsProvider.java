@@ -42,6 +42,7 @@ import com.hazelcast.nearcache.NearCacheStats;
 import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.InternalIndex;
 import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.wan.impl.merkletree.MerkleTree;
 
 import java.util.Collection;
 import java.util.HashMap;
@@ -211,6 +212,12 @@ public class LocalMapStatsProvider {
             } else {
                 addStatsOfBackupReplica(existingRecordStore, onDemandStats);
             }
+
+            MerkleTree merkleTree = existingRecordStore.getMerkleTree();
+            if (merkleTree != null) {
+                onDemandStats.incrementMerkleTreesCost(merkleTree.footprint());
+                onDemandStats.incrementHeapCost(merkleTree.footprint());
+            }
         }
         addStructureStats(mapName, onDemandStats);
     }
@@ -230,6 +237,9 @@ public class LocalMapStatsProvider {
         LocalRecordStoreStats stats = recordStore.getLocalRecordStoreStats();
 
         onDemandStats.incrementHits(stats.getHits());
+        onDemandStats.incrementMisses(stats.getMisses());
+        onDemandStats.incrementEvictions(stats.getEvictions());
+        onDemandStats.incrementEvictionTime(stats.getEvictionTimeNanos());
         onDemandStats.incrementDirtyEntryCount(recordStore.getMapDataStore().notFinishedOperationsCount());
         onDemandStats.incrementOwnedEntryMemoryCost(recordStore.getOwnedEntryCost());
         if (NATIVE != recordStore.getMapContainer().getMapConfig().getInMemoryFormat()) {
@@ -448,6 +458,9 @@ public class LocalMapStatsProvider {
 
         private int backupCount;
         private long hits;
+        private long misses;
+        private long evictions;
+        private long evictionTimeNanos;
         private long ownedEntryCount;
         private long backupEntryCount;
         private long ownedEntryMemoryCost;
@@ -468,6 +481,18 @@ public class LocalMapStatsProvider {
             this.hits += hits;
         }
 
+        public void incrementMisses(long misses) {
+            this.misses += misses;
+        }
+
+        public void incrementEvictions(long evictions) {
+            this.evictions += evictions;
+        }
+
+        public void incrementEvictionTime(long evictionTimeNanos) {
+            this.evictionTimeNanos += evictionTimeNanos;
+        }
+
         public void incrementOwnedEntryCount(long ownedEntryCount) {
             this.ownedEntryCount += ownedEntryCount;
         }
@@ -503,6 +528,9 @@ public class LocalMapStatsProvider {
         public LocalMapStatsImpl updateAndGet(LocalMapStatsImpl stats) {
             stats.setBackupCount(backupCount);
             stats.setHits(hits);
+            stats.setMisses(misses);
+            stats.setEvictionCount(evictions);
+            stats.setEvictionTimeNanos(evictionTimeNanos);
             stats.setOwnedEntryCount(ownedEntryCount);
             stats.setBackupEntryCount(backupEntryCount);
             stats.setOwnedEntryMemoryCost(ownedEntryMemoryCost);
@@ -26,6 +26,7 @@ import com.hazelcast.config.WanConsumerConfig;
 import com.hazelcast.config.WanReplicationConfig;
 import com.hazelcast.config.WanReplicationRef;
 import com.hazelcast.config.WanSyncConfig;
+import com.hazelcast.internal.eviction.impl.comparator.TinyLFUEvictionPolicyComparator;
 import com.hazelcast.internal.nio.ClassLoaderUtil;
 import com.hazelcast.internal.partition.IPartitionService;
 import com.hazelcast.internal.serialization.Data;
@@ -61,6 +62,7 @@ import com.hazelcast.spi.merge.SplitBrainMergePolicyProvider;
 import com.hazelcast.wan.impl.DelegatingWanScheme;
 import com.hazelcast.wan.impl.WanReplicationService;
 
+import javax.annotation.Nullable;
 import java.util.HashMap;
 import java.util.Map;
 import java.util.concurrent.atomic.AtomicInteger;
@@ -115,9 +117,12 @@ public class MapContainer {
 
     protected volatile MapConfig mapConfig;
     private volatile Evictor evictor;
+    private volatile TinyLFUEvictionPolicyComparator accessFrequencyComparator;
 
     private boolean persistWanReplicatedData;
 
+    private final boolean merkleTreeEnabled;
+
     private volatile boolean destroyed;
 
     /**
@@ -145,6 +150,7 @@ public class MapContainer {
                 serializationService, extractors);
         this.globalIndexes = shouldUseGlobalIndex() ? createIndexes(true) : null;
         this.mapStoreContext = createMapStoreContext(this);
+        this.merkleTreeEnabled = mapServiceContext.shouldEnableMerkleTree(mapConfig, true);
         initWanReplication(mapServiceContext.getNodeEngine());
     }
 
@@ -172,6 +178,14 @@ public class MapContainer {
                 .build();
     }
 
+    /**
+     * @return {@code true} if the record stores of this map maintain Merkle
+     * trees, so the replicas can be synchronized by their differences
+     */
+    public boolean isMerkleTreeEnabled() {
+        return merkleTreeEnabled;
+    }
+
     public AtomicLong getLastInvalidMergePolicyCheckTime() {
         return lastInvalidMergePolicyCheckTime;
     }
@@ -214,6 +228,8 @@ public class MapContainer {
         EvictionPolicyComparator evictionPolicyComparator
                 = getEvictionPolicyComparator(mapConfig.getEvictionConfig(), nodeEngine.getConfigClassLoader());
 
+        accessFrequencyComparator = evictionPolicyComparator instanceof TinyLFUEvictionPolicyComparator
+                ? (TinyLFUEvictionPolicyComparator) evictionPolicyComparator : null;
         evictor = evictionPolicyComparator != null
                 ? newEvictor(evictionPolicyComparator, nodeEngine.getProperties().getInteger(MAP_EVICTION_BATCH_SIZE),
                 nodeEngine.getPartitionService()) : NULL_EVICTOR;
@@ -418,6 +434,16 @@ public class MapContainer {
         return evictor;
     }
 
+    /**
+     * @return the comparator which has to be told about key accesses
+     * to rank the eviction candidates, or {@code null} if the configured
+     * eviction policy does not track access frequencies
+     */
+    @Nullable
+    public TinyLFUEvictionPolicyComparator getAccessFrequencyComparator() {
+        return accessFrequencyComparator;
+    }
+
     // only used for testing purposes
     public void setEvictor(Evictor evictor) {
         this.evictor = evictor;
@@ -16,9 +16,12 @@
 
 package com.hazelcast.map.impl;
 
+import com.hazelcast.cluster.Address;
 import com.hazelcast.config.CacheDeserializedValues;
+import com.hazelcast.internal.cluster.Versions;
 import com.hazelcast.internal.nearcache.impl.invalidation.MetaDataGenerator;
-import com.hazelcast.internal.partition.FragmentedMigrationAwareService;
+import com.hazelcast.internal.partition.ChunkSupplier;
+import com.hazelcast.internal.partition.ChunkedMigrationAwareService;
 import com.hazelcast.internal.partition.MigrationEndpoint;
 import com.hazelcast.internal.partition.OffloadedReplicationPreparation;
 import com.hazelcast.internal.partition.PartitionMigrationEvent;
@@ -28,6 +31,8 @@ import com.hazelcast.internal.services.ObjectNamespace;
 import com.hazelcast.internal.services.ServiceNamespace;
 import com.hazelcast.internal.util.Clock;
 import com.hazelcast.logging.ILogger;
+import com.hazelcast.map.impl.operation.GetMerkleTreeLeavesOperation;
+import com.hazelcast.map.impl.operation.MapChunkSupplier;
 import com.hazelcast.map.impl.operation.MapReplicationOperation;
 import com.hazelcast.map.impl.querycache.QueryCacheContext;
 import com.hazelcast.map.impl.querycache.publisher.PublisherContext;
@@ -39,24 +44,38 @@ import com.hazelcast.query.impl.Index;
 import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.InternalIndex;
 import com.hazelcast.query.impl.QueryableEntry;
+import com.hazelcast.spi.impl.InternalCompletableFuture;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.impl.PartitionSpecificRunnable;
 import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.impl.operationservice.OperationService;
+import com.hazelcast.spi.impl.operationservice.UrgentSystemOperation;
+import com.hazelcast.wan.impl.merkletree.MerkleTree;
+import com.hazelcast.wan.impl.merkletree.RemoteMerkleTreeView;
 
 import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.function.Predicate;
 
 import static com.hazelcast.config.CacheDeserializedValues.NEVER;
 import static com.hazelcast.internal.partition.MigrationEndpoint.DESTINATION;
 import static com.hazelcast.internal.partition.MigrationEndpoint.SOURCE;
+import static com.hazelcast.internal.util.ThreadUtil.isRunningOnGenericThread;
 import static com.hazelcast.map.impl.querycache.publisher.AccumulatorSweeper.flushAccumulator;
 import static com.hazelcast.map.impl.querycache.publisher.AccumulatorSweeper.removeAccumulator;
 import static com.hazelcast.map.impl.querycache.publisher.AccumulatorSweeper.sendEndOfSequenceEvents;
+import static com.hazelcast.wan.impl.merkletree.MerkleTreeUtil.compareTrees;
+import static com.hazelcast.wan.impl.merkletree.MerkleTreeUtil.createRemoteMerkleTreeView;
+import static com.hazelcast.wan.impl.merkletree.MerkleTreeUtil.getLeaves;
 
 /**
  * Defines migration behavior of map service.
  *
  * @see MapService
  */
-class MapMigrationAwareService implements FragmentedMigrationAwareService, OffloadedReplicationPreparation {
+class MapMigrationAwareService implements ChunkedMigrationAwareService, OffloadedReplicationPreparation {
 
     protected final PartitionContainer[] containers;
     protected final MapServiceContext mapServiceContext;
@@ -131,16 +150,145 @@ class MapMigrationAwareService implements FragmentedMigrationAwareService, Offlo
                                                  Collection<ServiceNamespace> namespaces) {
         assert assertAllKnownNamespaces(namespaces);
 
-        int partitionId = event.getPartitionId();
+        if (!isRunningOnGenericThread()) {
+            // either on the partition thread or on the async executor
+            // while the partition thread awaits the preparation
+            return newReplicationOperation(event, namespaces);
+        }
+
+        // the preparation is offloaded from the partition thread, the
+        // record stores and the Merkle trees are read on the partition
+        // thread and only the copied leaves are compared here
+        Map<String, int[]> remoteLeavesByMapName = isMerkleTreeSyncApplicable(event)
+                ? getRemoteMerkleTreeLeaves(event, namespaces)
+                : Collections.emptyMap();
+        PartitionThreadPreparation preparation = new PartitionThreadPreparation(event, namespaces,
+                remoteLeavesByMapName.keySet());
+        mapServiceContext.getNodeEngine().getOperationService().execute(preparation);
+        MapReplicationOperation operation = preparation.future.joinInternal();
+        if (!remoteLeavesByMapName.isEmpty()) {
+            operation.setMerkleTreeDiffByMapName(
+                    getMerkleTreeDiffByMapName(preparation.localLeavesByMapName, remoteLeavesByMapName));
+        }
+        return operation;
+    }
 
-        Operation operation = new MapReplicationOperation(containers[partitionId],
+    private MapReplicationOperation newReplicationOperation(PartitionReplicationEvent event,
+                                                            Collection<ServiceNamespace> namespaces) {
+        int partitionId = event.getPartitionId();
+        MapReplicationOperation operation = new MapReplicationOperation(containers[partitionId],
                 namespaces, partitionId, event.getReplicaIndex());
         operation.setService(mapServiceContext.getService());
         operation.setNodeEngine(mapServiceContext.getNodeEngine());
-
         return operation;
     }
 
+    /**
+     * Replication preparation is offloaded if any of the maps maintains a
+     * Merkle tree, since the Merkle trees of the replica are fetched then.
+     */
+    @Override
+    public boolean shouldOffload() {
+        for (MapContainer mapContainer : mapServiceContext.getMapContainers().values()) {
+            if (mapContainer.isMerkleTreeEnabled()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Merkle tree comparison is applicable for the synchronization of the
+     * backup replicas with their current owners only.
+     */
+    private boolean isMerkleTreeSyncApplicable(PartitionReplicationEvent event) {
+        NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
+        Address target = event.getTarget();
+        return event.getReplicaIndex() > 0
+                && target != null
+                && nodeEngine.getClusterService().getClusterVersion().isGreaterOrEqual(Versions.V5_1)
+                && target.equals(nodeEngine.getPartitionService().getPartition(event.getPartitionId())
+                .getReplicaAddress(event.getReplicaIndex()));
+    }
+
+    /**
+     * Fetches the leaves of the Merkle trees of the maps from the replica.
+     * This is a blocking call, so it must not be done on a partition thread.
+     *
+     * @return map name to the leaves of the replica's Merkle tree
+     */
+    private Map<String, int[]> getRemoteMerkleTreeLeaves(PartitionReplicationEvent event,
+                                                        Collection<ServiceNamespace> namespaces) {
+        int partitionId = event.getPartitionId();
+        OperationService operationService = mapServiceContext.getNodeEngine().getOperationService();
+        Map<String, int[]> leavesByMapName = new HashMap<>();
+        for (ServiceNamespace namespace : namespaces) {
+            String mapName = ((ObjectNamespace) namespace).getObjectName();
+            MapContainer mapContainer = mapServiceContext.getMapContainers().get(mapName);
+            if (mapContainer == null || !mapContainer.isMerkleTreeEnabled()) {
+                continue;
+            }
+
+            try {
+                Operation op = new GetMerkleTreeLeavesOperation(mapName)
+                        .setPartitionId(partitionId)
+                        .setReplicaIndex(event.getReplicaIndex());
+                int[] leaves = operationService.<int[]>invokeOnTarget(MapService.SERVICE_NAME, op, event.getTarget())
+                                               .joinInternal();
+                if (leaves != null) {
+                    leavesByMapName.put(mapName, leaves);
+                }
+            } catch (Exception e) {
+                if (logger.isFineEnabled()) {
+                    logger.fine("Could not fetch the Merkle tree of map " + mapName + " for partitionId=" + partitionId
+                            + " from " + event.getTarget() + ", replicating all entries", e);
+                }
+            }
+        }
+        return leavesByMapName;
+    }
+
+    /**
+     * Compares the copied leaves of the local Merkle trees with the leaves
+     * of the replica. The maps missing from the returned map are fully
+     * replicated.
+     *
+     * @return map name to the order/value pairs of the differing leaves
+     */
+    private static Map<String, int[]> getMerkleTreeDiffByMapName(Map<String, int[]> localLeavesByMapName,
+                                                                 Map<String, int[]> remoteLeavesByMapName) {
+        Map<String, int[]> diffByMapName = new HashMap<>();
+        for (Map.Entry<String, int[]> entry : localLeavesByMapName.entrySet()) {
+            int[] remoteLeaves = remoteLeavesByMapName.get(entry.getKey());
+            if (remoteLeaves == null || remoteLeaves.length != entry.getValue().length) {
+                continue;
+            }
+
+            RemoteMerkleTreeView localMerkleTree = createRemoteMerkleTreeView(entry.getValue());
+            Collection<Integer> diffLeafOrders = compareTrees(localMerkleTree, createRemoteMerkleTreeView(remoteLeaves));
+            int[] diffLeafOrderValuePairs = new int[diffLeafOrders.size() * 2];
+            int i = 0;
+            for (int leafOrder : diffLeafOrders) {
+                diffLeafOrderValuePairs[i++] = leafOrder;
+                diffLeafOrderValuePairs[i++] = localMerkleTree.getNodeHash(leafOrder);
+            }
+            diffByMapName.put(entry.getKey(), diffLeafOrderValuePairs);
+        }
+        return diffByMapName;
+    }
+
+    @Override
+    public ChunkSupplier newChunkSupplier(PartitionReplicationEvent event, ServiceNamespace namespace, int maxChunkSizeBytes) {
+        assert isKnownServiceNamespace(namespace) : namespace + " is not a MapService namespace!";
+
+        PartitionContainer container = containers[event.getPartitionId()];
+        RecordStore<Record> recordStore = container.getExistingRecordStore(((ObjectNamespace) namespace).getObjectName());
+        if (recordStore == null || recordStore.getMapContainer().getTotalBackupCount() < event.getReplicaIndex()) {
+            return null;
+        }
+        return new MapChunkSupplier(namespace, container, recordStore, event.getReplicaIndex(), maxChunkSizeBytes);
+    }
+
     boolean assertAllKnownNamespaces(Collection<ServiceNamespace> namespaces) {
         for (ServiceNamespace namespace : namespaces) {
             assert isKnownServiceNamespace(namespace) : namespace + " is not a MapService namespace!";
@@ -346,6 +494,49 @@ class MapMigrationAwareService implements FragmentedMigrationAwareService, Offlo
         }
     }
 
+    /**
+     * Creates the replication operation and copies the leaves of the
+     * Merkle trees on the partition thread, so that they are consistent
+     * with each other and not read while the partition is being updated.
+     */
+    private final class PartitionThreadPreparation implements PartitionSpecificRunnable, UrgentSystemOperation {
+
+        final InternalCompletableFuture<MapReplicationOperation> future = new InternalCompletableFuture<>();
+        final Map<String, int[]> localLeavesByMapName = new HashMap<>();
+
+        private final PartitionReplicationEvent event;
+        private final Collection<ServiceNamespace> namespaces;
+        private final Collection<String> merkleTreeMapNames;
+
+        PartitionThreadPreparation(PartitionReplicationEvent event, Collection<ServiceNamespace> namespaces,
+                                   Collection<String> merkleTreeMapNames) {
+            this.event = event;
+            this.namespaces = namespaces;
+            this.merkleTreeMapNames = merkleTreeMapNames;
+        }
+
+        @Override
+        public int getPartitionId() {
+            return event.getPartitionId();
+        }
+
+        @Override
+        public void run() {
+            try {
+                for (String mapName : merkleTreeMapNames) {
+                    RecordStore recordStore = containers[event.getPartitionId()].getExistingRecordStore(mapName);
+                    MerkleTree merkleTree = recordStore != null ? recordStore.getMerkleTree() : null;
+                    if (merkleTree != null) {
+                        localLeavesByMapName.put(mapName, getLeaves(merkleTree));
+                    }
+                }
+                future.complete(newReplicationOperation(event, namespaces));
+            } catch (Throwable t) {
+                future.completeExceptionally(t);
+            }
+        }
+    }
+
     private enum TargetIndexes {
         GLOBAL, NON_GLOBAL
     }
@@ -23,7 +23,8 @@ import com.hazelcast.internal.cluster.ClusterStateListener;
 import com.hazelcast.internal.metrics.DynamicMetricsProvider;
 import com.hazelcast.internal.metrics.MetricDescriptor;
 import com.hazelcast.internal.metrics.MetricsCollectionContext;
-import com.hazelcast.internal.partition.FragmentedMigrationAwareService;
+import com.hazelcast.internal.partition.ChunkSupplier;
+import com.hazelcast.internal.partition.ChunkedMigrationAwareService;
 import com.hazelcast.internal.partition.IPartitionLostEvent;
 import com.hazelcast.internal.partition.OffloadedReplicationPreparation;
 import com.hazelcast.internal.partition.PartitionAwareService;
@@ -47,6 +48,9 @@ import com.hazelcast.internal.services.TransactionalService;
 import com.hazelcast.internal.services.WanSupportingService;
 import com.hazelcast.map.LocalMapStats;
 import com.hazelcast.map.impl.event.MapEventPublishingService;
+import com.hazelcast.map.impl.mapstore.MapStoreManager;
+import com.hazelcast.map.impl.mapstore.writebehind.WriteBehindManager;
+import com.hazelcast.map.impl.mapstore.writebehind.WriteBehindStats;
 import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.nearcache.NearCacheStats;
 import com.hazelcast.query.LocalIndexStats;
@@ -73,6 +77,7 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFI
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_ENTRY_PROCESSOR_OFFLOADABLE_EXECUTOR;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_INDEX;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_NEARCACHE;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_PREFIX_WRITE_BEHIND;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_TAG_INDEX;
 
 /**
@@ -92,7 +97,7 @@ import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_TAG_I
  * @see MapServiceContext
  */
 @SuppressWarnings({"checkstyle:ClassFanOutComplexity", "checkstyle:MethodCount"})
-public class MapService implements ManagedService, FragmentedMigrationAwareService, TransactionalService, RemoteService,
+public class MapService implements ManagedService, ChunkedMigrationAwareService, TransactionalService, RemoteService,
                                    EventPublishingService<Object, ListenerAdapter>, PostJoinAwareService,
                                    SplitBrainHandlerService, WanSupportingService, StatisticsAwareService<LocalMapStats>,
                                    PartitionAwareService, ClientAwareService, SplitBrainProtectionAwareService,
@@ -164,6 +169,11 @@ public class MapService implements ManagedService, FragmentedMigrationAwareServi
         return migrationAwareService.prepareReplicationOperation(event, namespaces);
     }
 
+    @Override
+    public ChunkSupplier newChunkSupplier(PartitionReplicationEvent event, ServiceNamespace namespace, int maxChunkSizeBytes) {
+        return migrationAwareService.newChunkSupplier(event, namespace, maxChunkSizeBytes);
+    }
+
     @Override
     public void beforeMigration(PartitionMigrationEvent event) {
         migrationAwareService.beforeMigration(event);
@@ -325,6 +335,15 @@ public class MapService implements ManagedService, FragmentedMigrationAwareServi
                 context.collect(nearCacheDescriptor, nearCacheStats);
             }
 
+            // write-behind
+            WriteBehindStats writeBehindStats = getWriteBehindStatsOrNull(mapName);
+            if (writeBehindStats != null) {
+                MetricDescriptor writeBehindDescriptor = descriptor
+                        .copy()
+                        .withPrefix(MAP_PREFIX_WRITE_BEHIND)
+                        .withDiscriminator(MAP_DISCRIMINATOR_NAME, mapName);
+                context.collect(writeBehindDescriptor, writeBehindStats);
+            }
         }
         // stats of offloaded-entry-processor's executor
         ExecutorStats executorStats = mapServiceContext.getOffloadedEntryProcessorExecutorStats();
@@ -337,6 +356,16 @@ public class MapService implements ManagedService, FragmentedMigrationAwareServi
         });
     }
 
+    private WriteBehindStats getWriteBehindStatsOrNull(String mapName) {
+        MapContainer mapContainer = mapServiceContext.getMapContainers().get(mapName);
+        if (mapContainer == null) {
+            return null;
+        }
+        MapStoreManager mapStoreManager = mapContainer.getMapStoreContext().getMapStoreManager();
+        return mapStoreManager instanceof WriteBehindManager
+                ? ((WriteBehindManager) mapStoreManager).getWriteBehindStats() : null;
+    }
+
     @Override
     public boolean shouldOffload() {
         return migrationAwareService.shouldOffload();
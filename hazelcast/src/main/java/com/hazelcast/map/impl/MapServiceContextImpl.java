@@ -112,6 +112,7 @@ import static com.hazelcast.spi.impl.executionservice.ExecutionService.QUERY_EXE
 import static com.hazelcast.spi.impl.operationservice.Operation.GENERIC_PARTITION_ID;
 import static com.hazelcast.spi.properties.ClusterProperty.AGGREGATION_ACCUMULATION_PARALLEL_EVALUATION;
 import static com.hazelcast.spi.properties.ClusterProperty.INDEX_COPY_BEHAVIOR;
+import static com.hazelcast.spi.properties.ClusterProperty.INDEX_SORTED_BPLUS_TREE_ENABLED;
 import static com.hazelcast.spi.properties.ClusterProperty.OPERATION_CALL_TIMEOUT_MILLIS;
 import static com.hazelcast.spi.properties.ClusterProperty.QUERY_PREDICATE_PARALLEL_EVALUATION;
 import static java.lang.Thread.currentThread;
@@ -145,7 +146,7 @@ class MapServiceContextImpl implements MapServiceContext {
     private final PartitioningStrategyFactory partitioningStrategyFactory;
     private final NodeWideUsedCapacityCounter nodeWideUsedCapacityCounter;
     private final ConstructorFunction<String, MapContainer> mapConstructor;
-    private final IndexProvider indexProvider = new DefaultIndexProvider();
+    private final IndexProvider indexProvider;
     private final ContextMutexFactory contextMutexFactory = new ContextMutexFactory();
     private final ConcurrentMap<String, MapContainer> mapContainers = new ConcurrentHashMap<>();
     private final ExecutorStats offloadedExecutorStats = new ExecutorStats();
@@ -172,6 +173,7 @@ class MapServiceContextImpl implements MapServiceContext {
         this.mapEventPublisher = createMapEventPublisherSupport();
         this.eventJournal = createEventJournal();
         this.queryOptimizer = newOptimizer(nodeEngine.getProperties());
+        this.indexProvider = new DefaultIndexProvider(nodeEngine.getProperties().getBoolean(INDEX_SORTED_BPLUS_TREE_ENABLED));
         this.resultProcessorRegistry = createResultProcessorRegistry(serializationService);
         this.partitionScanRunner = createPartitionScanRunner();
         this.queryEngine = createMapQueryEngine();
@@ -894,6 +896,22 @@ class MapServiceContextImpl implements MapServiceContext {
         return nodeWideLoadedKeyLimiter;
     }
 
+    @Override
+    public boolean shouldEnableMerkleTree(MapConfig mapConfig, boolean log) {
+        if (!Boolean.TRUE.equals(mapConfig.getMerkleTreeConfig().getEnabled())) {
+            return false;
+        }
+        if (mapConfig.getInMemoryFormat() == InMemoryFormat.OBJECT) {
+            // the values can be mutated in place, so their old hashes can't be removed from the tree
+            if (log) {
+                logger.warning("Merkle tree of map " + mapConfig.getName() + " is not maintained since its in-memory format is "
+                        + InMemoryFormat.OBJECT);
+            }
+            return false;
+        }
+        return true;
+    }
+
     public NodeWideUsedCapacityCounter getNodeWideUsedCapacityCounter() {
         return nodeWideUsedCapacityCounter;
     }
@@ -115,6 +115,7 @@ public class EvictorImpl implements Evictor {
         Object value = recordStore.evict(dataKey, backup);
 
         if (value != null && !backup) {
+            recordStore.getStats().increaseEvictions();
             recordStore.doPostEvictionOperations(dataKey, value, expiryReason);
         }
     }
@@ -52,6 +52,11 @@ abstract class AbstractWriteBehindProcessor<T> implements WriteBehindProcessor<T
         this.writeCoalescing = mapStoreConfig.isWriteCoalescing();
     }
 
+    @Override
+    public int getWriteBatchSize() {
+        return writeBatchSize;
+    }
+
     protected Object toObject(Object obj) {
         return serializationService.toObject(obj);
     }
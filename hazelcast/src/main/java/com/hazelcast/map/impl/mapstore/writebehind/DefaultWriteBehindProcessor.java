@@ -59,10 +59,15 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
 
     @Override
     public Map<Integer, List<DelayedEntry>> process(List<DelayedEntry> delayedEntries) {
+        return process(delayedEntries, writeBatchSize);
+    }
+
+    @Override
+    public Map<Integer, List<DelayedEntry>> process(List<DelayedEntry> delayedEntries, int batchSize) {
         Map<Integer, List<DelayedEntry>> failMap;
         sort(delayedEntries);
-        if (writeBatchSize > 1) {
-            failMap = doStoreUsingBatchSize(delayedEntries);
+        if (batchSize > 1) {
+            failMap = doStoreUsingBatchSize(delayedEntries, batchSize);
         } else {
             failMap = processInternal(delayedEntries);
         }
@@ -274,16 +279,18 @@ class DefaultWriteBehindProcessor extends AbstractWriteBehindProcessor<DelayedEn
     }
 
     /**
-     * Store chunk by chunk using write batch size {@link #writeBatchSize}
+     * Store chunk by chunk using the supplied batch size
      *
      * @param sortedDelayedEntries entries to be stored.
+     * @param batchSize            maximum size of a chunk.
      * @return not-stored entries per partition.
      */
-    private Map<Integer, List<DelayedEntry>> doStoreUsingBatchSize(List<DelayedEntry> sortedDelayedEntries) {
+    private Map<Integer, List<DelayedEntry>> doStoreUsingBatchSize(List<DelayedEntry> sortedDelayedEntries,
+                                                                   int batchSize) {
         Map<Integer, List<DelayedEntry>> failsPerPartition = new HashMap<>();
         int page = 0;
         List<DelayedEntry> delayedEntryList;
-        while ((delayedEntryList = getBatchChunk(sortedDelayedEntries, writeBatchSize, page++)) != null) {
+        while ((delayedEntryList = getBatchChunk(sortedDelayedEntries, batchSize, page++)) != null) {
             Map<Integer, List<DelayedEntry>> fails = processInternal(delayedEntryList);
             Set<Map.Entry<Integer, List<DelayedEntry>>> entries = fails.entrySet();
             for (Map.Entry<Integer, List<DelayedEntry>> entry : entries) {
@@ -30,6 +30,7 @@ import com.hazelcast.internal.partition.IPartitionService;
 import com.hazelcast.spi.properties.ClusterProperty;
 import com.hazelcast.spi.properties.HazelcastProperties;
 import com.hazelcast.internal.util.Clock;
+import com.hazelcast.internal.util.Timer;
 
 import java.util.ArrayList;
 import java.util.Collection;
@@ -37,7 +38,12 @@ import java.util.List;
 import java.util.Map;
 
 import static com.hazelcast.internal.util.CollectionUtil.isEmpty;
+import static com.hazelcast.spi.impl.executionservice.ExecutionService.MAP_WRITE_BEHIND_EXECUTOR;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 import static java.lang.Thread.currentThread;
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
 import static java.util.concurrent.TimeUnit.SECONDS;
 
 /**
@@ -45,9 +51,34 @@ import static java.util.concurrent.TimeUnit.SECONDS;
  * That thread uses this runnable task to process write-behind-queues. This task collects entries from
  * write behind queues and passes them to {@link #writeBehindProcessor}.
  * <p>
- * Only one {@link StoreWorker} task is created for a map on a member.
+ * A map has {@link com.hazelcast.spi.properties.ClusterProperty#MAP_WRITE_BEHIND_FLUSHER_COUNT}
+ * {@link StoreWorker} tasks on a member, each of them processes the partitions whose ID modulo
+ * the number of workers equals its index. The workers adapt to the latency of the map store:
+ * <ul>
+ * <li>a run starts {@link #RUN_PERIOD_MILLIS} after the previous one started, or right after it
+ * ended if it took longer, so a slow store doesn't delay the next run by the whole period;</li>
+ * <li>the batch size is halved when a batch store call takes longer than
+ * {@link #TARGET_BATCH_LATENCY_MILLIS}, and doubled back up to the configured write batch size
+ * when it takes less than half of it.</li>
+ * </ul>
  */
 public class StoreWorker implements Runnable {
+
+    /**
+     * The period of the runs if they take less than that.
+     */
+    static final long RUN_PERIOD_MILLIS = SECONDS.toMillis(1);
+
+    /**
+     * The minimum delay between the end of a run and the start of the next one.
+     */
+    static final long MIN_RUN_DELAY_MILLIS = 10;
+
+    /**
+     * The preferred duration of a single batch store call.
+     */
+    static final long TARGET_BATCH_LATENCY_MILLIS = SECONDS.toMillis(1);
+
     private final String mapName;
     private final MapServiceContext mapServiceContext;
     private final IPartitionService partitionService;
@@ -59,6 +90,12 @@ public class StoreWorker implements Runnable {
     private final long backupDelayMillis;
     private final long writeDelayMillis;
     private final int partitionCount;
+    private final int workerIndex;
+    private final int workerCount;
+    private final int maxBatchSize;
+    private final boolean adaptiveBatchSize;
+    private final WriteBehindStats stats;
+    private int batchSize;
     /**
      * Entries are fetched from write-behind-queues according to highestStoreTime. If an entry
      * has a store-time which is smaller than or equal to the highestStoreTime, it will be processed.
@@ -69,6 +106,11 @@ public class StoreWorker implements Runnable {
     private volatile boolean running;
 
     public StoreWorker(MapStoreContext mapStoreContext, WriteBehindProcessor writeBehindProcessor) {
+        this(mapStoreContext, writeBehindProcessor, 0, 1, new WriteBehindStats(1));
+    }
+
+    public StoreWorker(MapStoreContext mapStoreContext, WriteBehindProcessor writeBehindProcessor,
+                       int workerIndex, int workerCount, WriteBehindStats stats) {
         this.mapName = mapStoreContext.getMapName();
         this.mapServiceContext = mapStoreContext.getMapServiceContext();
         NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
@@ -79,6 +121,13 @@ public class StoreWorker implements Runnable {
         this.lastHighestStoreTime = Clock.currentTimeMillis();
         this.writeDelayMillis = SECONDS.toMillis(getWriteDelaySeconds(mapStoreContext));
         this.partitionCount = partitionService.getPartitionCount();
+        this.workerIndex = workerIndex;
+        this.workerCount = workerCount;
+        this.stats = stats;
+        this.maxBatchSize = writeBehindProcessor.getWriteBatchSize();
+        // without write-coalescing the entries are stored one by one
+        this.adaptiveBatchSize = maxBatchSize > 1 && mapStoreContext.getMapStoreConfig().isWriteCoalescing();
+        this.batchSize = maxBatchSize;
     }
 
 
@@ -88,7 +137,7 @@ public class StoreWorker implements Runnable {
         }
 
         running = true;
-        schedule();
+        schedule(RUN_PERIOD_MILLIS);
     }
 
     public synchronized void stop() {
@@ -97,17 +146,19 @@ public class StoreWorker implements Runnable {
 
     @Override
     public void run() {
+        long startNanos = Timer.nanos();
         try {
             runInternal();
         } finally {
             if (running) {
-                schedule();
+                long elapsedMillis = Timer.millisElapsed(startNanos);
+                schedule(max(MIN_RUN_DELAY_MILLIS, RUN_PERIOD_MILLIS - elapsedMillis));
             }
         }
     }
 
-    private void schedule() {
-        executionService.schedule(this, 1, SECONDS);
+    private void schedule(long delayMillis) {
+        executionService.schedule(MAP_WRITE_BEHIND_EXECUTOR, this, delayMillis, MILLISECONDS);
     }
 
     private void runInternal() {
@@ -122,7 +173,7 @@ public class StoreWorker implements Runnable {
         List<DelayedEntry> ownersList = null;
         List<DelayedEntry> backupsList = null;
 
-        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+        for (int partitionId = workerIndex; partitionId < partitionCount; partitionId += workerCount) {
             if (currentThread().isInterrupted()) {
                 break;
             }
@@ -144,9 +195,9 @@ public class StoreWorker implements Runnable {
         }
 
         if (!isEmpty(ownersList)) {
-            Map<Integer, List<DelayedEntry>> failuresPerPartition = writeBehindProcessor.process(ownersList);
-            removeFinishedStoreOperationsFromQueues(mapName, ownersList);
-            reAddFailedStoreOperationsToQueues(mapName, failuresPerPartition);
+            store(ownersList, now);
+        } else {
+            stats.onIdle(workerIndex);
         }
 
         if (!isEmpty(backupsList)) {
@@ -157,6 +208,55 @@ public class StoreWorker implements Runnable {
 
     }
 
+    private void store(List<DelayedEntry> ownersList, long now) {
+        long queueLagMillis = now - getOldestStoreTime(ownersList);
+
+        long startNanos = Timer.nanos();
+        Map<Integer, List<DelayedEntry>> failuresPerPartition = writeBehindProcessor.process(ownersList, batchSize);
+        long elapsedNanos = Timer.nanosElapsed(startNanos);
+
+        removeFinishedStoreOperationsFromQueues(mapName, ownersList);
+        reAddFailedStoreOperationsToQueues(mapName, failuresPerPartition);
+
+        adaptBatchSize(ownersList.size(), elapsedNanos);
+        int failedEntries = countEntries(failuresPerPartition);
+        stats.onFlush(workerIndex, batchSize, max(0, queueLagMillis), ownersList.size() - failedEntries,
+                failedEntries, elapsedNanos);
+    }
+
+    /**
+     * Adapts the batch size to the observed latency of the batch store calls,
+     * keeping it between 1 and the configured write batch size.
+     */
+    private void adaptBatchSize(int entryCount, long elapsedNanos) {
+        if (!adaptiveBatchSize) {
+            return;
+        }
+        int batchCount = (entryCount + batchSize - 1) / batchSize;
+        long batchLatencyMillis = NANOSECONDS.toMillis(elapsedNanos / batchCount);
+        if (batchLatencyMillis > TARGET_BATCH_LATENCY_MILLIS) {
+            batchSize = max(1, batchSize / 2);
+        } else if (batchLatencyMillis < TARGET_BATCH_LATENCY_MILLIS / 2 && entryCount >= batchSize) {
+            batchSize = (int) min(maxBatchSize, 2L * batchSize);
+        }
+    }
+
+    private static long getOldestStoreTime(List<DelayedEntry> entries) {
+        long oldestStoreTime = Long.MAX_VALUE;
+        for (DelayedEntry entry : entries) {
+            oldestStoreTime = min(oldestStoreTime, entry.getStoreTime());
+        }
+        return oldestStoreTime;
+    }
+
+    private static int countEntries(Map<Integer, List<DelayedEntry>> entriesPerPartition) {
+        int count = 0;
+        for (List<DelayedEntry> entries : entriesPerPartition.values()) {
+            count += entries.size();
+        }
+        return count;
+    }
+
     private static List<DelayedEntry> initListIfNull(List<DelayedEntry> list, int capacity) {
         if (list == null) {
             list = new ArrayList<>(capacity);
@@ -188,7 +288,7 @@ public class StoreWorker implements Runnable {
     }
 
     private void notifyFlush() {
-        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+        for (int partitionId = workerIndex; partitionId < partitionCount; partitionId += workerCount) {
             RecordStore recordStore = getRecordStoreOrNull(mapName, partitionId);
             if (recordStore != null) {
                 WriteBehindStore mapDataStore = ((WriteBehindStore) recordStore.getMapDataStore());
@@ -286,6 +386,6 @@ public class StoreWorker implements Runnable {
 
     @Override
     public String toString() {
-        return "StoreWorker{" + "mapName='" + mapName + "'}";
+        return "StoreWorker{" + "mapName='" + mapName + "', workerIndex=" + workerIndex + '}';
     }
 }
@@ -24,8 +24,12 @@ import com.hazelcast.map.impl.mapstore.MapStoreContext;
 import com.hazelcast.map.impl.mapstore.MapStoreManager;
 import com.hazelcast.map.impl.mapstore.writebehind.entry.DelayedEntry;
 import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.spi.impl.NodeEngine;
 
 import static com.hazelcast.map.impl.mapstore.writebehind.WriteBehindProcessors.createWriteBehindProcessor;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_WRITE_BEHIND_FLUSHER_COUNT;
+import static java.lang.Math.max;
+import static java.lang.Math.min;
 
 /**
  * Write behind map store manager.
@@ -33,23 +37,38 @@ import static com.hazelcast.map.impl.mapstore.writebehind.WriteBehindProcessors.
 public class WriteBehindManager implements MapStoreManager {
 
     private final WriteBehindProcessor writeBehindProcessor;
-    private final StoreWorker storeWorker;
+    private final StoreWorker[] storeWorkers;
+    private final WriteBehindStats writeBehindStats;
     private final MapStoreContext mapStoreContext;
 
     public WriteBehindManager(MapStoreContext mapStoreContext) {
         this.mapStoreContext = mapStoreContext;
         this.writeBehindProcessor = newWriteBehindProcessor(mapStoreContext);
-        this.storeWorker = new StoreWorker(mapStoreContext, writeBehindProcessor);
+
+        int workerCount = getStoreWorkerCount(mapStoreContext);
+        this.writeBehindStats = new WriteBehindStats(workerCount);
+        this.storeWorkers = new StoreWorker[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            storeWorkers[i] = new StoreWorker(mapStoreContext, writeBehindProcessor, i, workerCount, writeBehindStats);
+        }
     }
 
     @Override
     public void start() {
-        storeWorker.start();
+        for (StoreWorker storeWorker : storeWorkers) {
+            storeWorker.start();
+        }
     }
 
     @Override
     public void stop() {
-        storeWorker.stop();
+        for (StoreWorker storeWorker : storeWorkers) {
+            storeWorker.stop();
+        }
+    }
+
+    public WriteBehindStats getWriteBehindStats() {
+        return writeBehindStats;
     }
 
     //todo get this via constructor function.
@@ -58,6 +77,13 @@ public class WriteBehindManager implements MapStoreManager {
         return MapDataStores.createWriteBehindStore(mapStoreContext, partitionId, writeBehindProcessor);
     }
 
+    private static int getStoreWorkerCount(MapStoreContext mapStoreContext) {
+        NodeEngine nodeEngine = mapStoreContext.getMapServiceContext().getNodeEngine();
+        int flusherCount = nodeEngine.getProperties().getInteger(MAP_WRITE_BEHIND_FLUSHER_COUNT);
+        int partitionCount = nodeEngine.getPartitionService().getPartitionCount();
+        return max(1, min(flusherCount, partitionCount));
+    }
+
     private WriteBehindProcessor newWriteBehindProcessor(final MapStoreContext mapStoreContext) {
         WriteBehindProcessor writeBehindProcessor = createWriteBehindProcessor(mapStoreContext);
         StoreListener<DelayedEntry> storeListener = new InternalStoreListener(mapStoreContext);
@@ -36,6 +36,23 @@ public interface WriteBehindProcessor<E> {
      */
     Map<Integer, List<E>> process(List<E> delayedEntries);
 
+    /**
+     * Process store operations using the supplied batch size instead of the
+     * configured one and returns failed operation per partition map.
+     *
+     * @param delayedEntries to be written to store.
+     * @param batchSize      maximum number of entries passed to a single batch store call.
+     * @return failed store operations per partition.
+     */
+    Map<Integer, List<E>> process(List<E> delayedEntries, int batchSize);
+
+    /**
+     * Returns the configured write batch size.
+     *
+     * @return the configured write batch size.
+     */
+    int getWriteBatchSize();
+
     void callAfterStoreListeners(Collection<E> entries);
 
     void callBeforeStoreListeners(Collection<E> entries);
@@ -0,0 +1,119 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore.writebehind;
+
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.counters.Counter;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_WRITE_BEHIND_FAILED_ENTRY_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_WRITE_BEHIND_FLUSH_BATCH_SIZE;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_WRITE_BEHIND_FLUSH_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_WRITE_BEHIND_QUEUE_LAG;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_WRITE_BEHIND_STORED_ENTRY_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.MAP_METRIC_WRITE_BEHIND_TOTAL_STORE_LATENCY;
+import static com.hazelcast.internal.metrics.ProbeUnit.MS;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Write-behind statistics of a map on this member, updated by all the
+ * {@link StoreWorker}s of the map.
+ */
+public class WriteBehindStats {
+
+    @Probe(name = MAP_METRIC_WRITE_BEHIND_FLUSH_COUNT)
+    private final Counter flushCount = newMwCounter();
+    @Probe(name = MAP_METRIC_WRITE_BEHIND_STORED_ENTRY_COUNT)
+    private final Counter storedEntryCount = newMwCounter();
+    @Probe(name = MAP_METRIC_WRITE_BEHIND_FAILED_ENTRY_COUNT)
+    private final Counter failedEntryCount = newMwCounter();
+    private final Counter totalStoreLatencyNanos = newMwCounter();
+
+    /**
+     * The current batch size of each worker, adapted after each flush.
+     */
+    private final AtomicLongArray flushBatchSizes;
+    /**
+     * How long the oldest entry stored by the last flush of each worker
+     * waited after its store time.
+     */
+    private final AtomicLongArray queueLags;
+
+    WriteBehindStats(int workerCount) {
+        this.flushBatchSizes = new AtomicLongArray(workerCount);
+        this.queueLags = new AtomicLongArray(workerCount);
+    }
+
+    void onFlush(int workerIndex, int nextBatchSize, long queueLagMillis, int storedEntries, int failedEntries,
+                 long storeLatencyNanos) {
+        flushBatchSizes.set(workerIndex, nextBatchSize);
+        queueLags.set(workerIndex, queueLagMillis);
+        flushCount.inc();
+        storedEntryCount.inc(storedEntries);
+        failedEntryCount.inc(failedEntries);
+        totalStoreLatencyNanos.inc(storeLatencyNanos);
+    }
+
+    void onIdle(int workerIndex) {
+        queueLags.set(workerIndex, 0);
+    }
+
+    /**
+     * Returns how long the oldest entry stored by the last flushes waited
+     * after its store time, the maximum of all workers.
+     */
+    @Probe(name = MAP_METRIC_WRITE_BEHIND_QUEUE_LAG, unit = MS)
+    public long getQueueLag() {
+        return max(queueLags);
+    }
+
+    /**
+     * Returns the maximum number of entries passed to a single batch store
+     * call, the maximum of the current batch sizes of all workers.
+     */
+    @Probe(name = MAP_METRIC_WRITE_BEHIND_FLUSH_BATCH_SIZE)
+    public long getFlushBatchSize() {
+        return max(flushBatchSizes);
+    }
+
+    @Probe(name = MAP_METRIC_WRITE_BEHIND_TOTAL_STORE_LATENCY, unit = MS)
+    public long getTotalStoreLatency() {
+        return NANOSECONDS.toMillis(totalStoreLatencyNanos.get());
+    }
+
+    public long getFlushCount() {
+        return flushCount.get();
+    }
+
+    public long getStoredEntryCount() {
+        return storedEntryCount.get();
+    }
+
+    public long getFailedEntryCount() {
+        return failedEntryCount.get();
+    }
+
+    private static long max(AtomicLongArray array) {
+        long max = 0;
+        for (int i = 0; i < array.length(); i++) {
+            max = Math.max(max, array.get(i));
+        }
+        return max;
+    }
+}
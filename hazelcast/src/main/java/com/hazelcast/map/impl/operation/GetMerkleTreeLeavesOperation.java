@@ -0,0 +1,101 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.internal.partition.MigrationCycleOperation;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.spi.impl.operationservice.ReadonlyOperation;
+import com.hazelcast.wan.impl.merkletree.MerkleTree;
+import com.hazelcast.wan.impl.merkletree.MerkleTreeUtil;
+
+import java.io.IOException;
+
+/**
+ * Returns the leaves of the Merkle tree of a map partition replica, or
+ * {@code null} if the replica has no Merkle tree. Used by the replica
+ * synchronization to replicate only the records of the differing leaves.
+ * <p>
+ * It is a {@link MigrationCycleOperation} since the replica
+ * synchronization marks the partition as migrating on the primary replica
+ * while preparing the replication.
+ */
+public class GetMerkleTreeLeavesOperation extends Operation
+        implements IdentifiedDataSerializable, ReadonlyOperation, MigrationCycleOperation {
+
+    private String mapName;
+    private transient int[] leaves;
+
+    public GetMerkleTreeLeavesOperation() {
+    }
+
+    public GetMerkleTreeLeavesOperation(String mapName) {
+        this.mapName = mapName;
+    }
+
+    @Override
+    public void run() {
+        MapService mapService = getService();
+        RecordStore recordStore = mapService.getMapServiceContext().getExistingRecordStore(getPartitionId(), mapName);
+        MerkleTree merkleTree = recordStore != null ? recordStore.getMerkleTree() : null;
+        if (merkleTree != null) {
+            leaves = MerkleTreeUtil.getLeaves(merkleTree);
+        }
+    }
+
+    @Override
+    public Object getResponse() {
+        return leaves;
+    }
+
+    @Override
+    public boolean validatesTarget() {
+        return false;
+    }
+
+    @Override
+    public String getServiceName() {
+        return MapService.SERVICE_NAME;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        super.writeInternal(out);
+        out.writeString(mapName);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        super.readInternal(in);
+        mapName = in.readString();
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return MapDataSerializerHook.MERKLE_TREE_LEAVES;
+    }
+}
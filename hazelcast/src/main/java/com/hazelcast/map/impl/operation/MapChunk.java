@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.internal.nio.IOUtil;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.util.Clock;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapDataSerializerHook;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.Records;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.map.impl.recordstore.expiry.ExpiryMetadata;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.query.impl.Indexes;
+import com.hazelcast.query.impl.InternalIndex;
+import com.hazelcast.spi.impl.operationservice.Operation;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Carries a chunk of the records of a map partition during a chunked
+ * migration, see {@link MapChunkSupplier}. The records are put into the
+ * record store which was reset by the preceding
+ * {@link MapReplicationOperation} of the same migration.
+ */
+public class MapChunk extends Operation implements IdentifiedDataSerializable {
+
+    private String mapName;
+    private int recordCount;
+    // records serialized on the source
+    private transient byte[] recordBytes;
+    // key, record and expiry metadata triplets deserialized on the destination
+    private transient List keyRecordExpiry;
+
+    public MapChunk() {
+    }
+
+    MapChunk(String mapName, int recordCount, byte[] recordBytes) {
+        this.mapName = mapName;
+        this.recordCount = recordCount;
+        this.recordBytes = recordBytes;
+    }
+
+    @Override
+    public void run() {
+        RecordStore recordStore = getRecordStore();
+        MapContainer mapContainer = recordStore.getMapContainer();
+        Indexes indexes = mapContainer.getIndexes(getPartitionId());
+        boolean populateIndexes = MapReplicationStateHolder.indexesMustBePopulated(indexes, this);
+
+        InternalIndex[] indexesSnapshot = null;
+        if (populateIndexes) {
+            indexesSnapshot = indexes.getIndexes();
+            Indexes.beginPartitionUpdate(indexesSnapshot);
+        }
+
+        MapReplicationStateHolder.forEachReplicatedRecord(this, keyRecordExpiry, mapContainer, recordStore,
+                populateIndexes, Clock.currentTimeMillis());
+
+        if (populateIndexes) {
+            Indexes.markPartitionAsIndexed(getPartitionId(), indexesSnapshot);
+        }
+    }
+
+    @Override
+    public void afterRun() throws Exception {
+        disposeDeferredBlocks();
+    }
+
+    @Override
+    public void onExecutionFailure(Throwable e) {
+        disposeDeferredBlocks();
+        super.onExecutionFailure(e);
+    }
+
+    private void disposeDeferredBlocks() {
+        MapService mapService = getService();
+        RecordStore recordStore = mapService.getMapServiceContext().getExistingRecordStore(getPartitionId(), mapName);
+        if (recordStore != null) {
+            recordStore.disposeDeferredBlocks();
+        }
+    }
+
+    private RecordStore getRecordStore() {
+        final boolean skipLoadingOnRecordStoreCreate = true;
+        MapService mapService = getService();
+        MapServiceContext mapServiceContext = mapService.getMapServiceContext();
+        return mapServiceContext.getRecordStore(getPartitionId(), mapName, skipLoadingOnRecordStoreCreate);
+    }
+
+    @Override
+    public String getServiceName() {
+        return MapService.SERVICE_NAME;
+    }
+
+    @Override
+    protected void writeInternal(ObjectDataOutput out) throws IOException {
+        out.writeString(mapName);
+        out.writeInt(recordCount);
+        out.write(recordBytes);
+    }
+
+    @Override
+    protected void readInternal(ObjectDataInput in) throws IOException {
+        mapName = in.readString();
+        recordCount = in.readInt();
+        keyRecordExpiry = new ArrayList<>(recordCount * 3);
+        for (int i = 0; i < recordCount; i++) {
+            Data dataKey = IOUtil.readData(in);
+            Record record = Records.readRecord(in);
+            ExpiryMetadata expiryMetadata = Records.readExpiry(in);
+
+            keyRecordExpiry.add(dataKey);
+            keyRecordExpiry.add(record);
+            keyRecordExpiry.add(expiryMetadata);
+        }
+    }
+
+    @Override
+    public int getFactoryId() {
+        return MapDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return MapDataSerializerHook.MAP_CHUNK;
+    }
+
+    @Override
+    public boolean requiresTenantContext() {
+        return true;
+    }
+}
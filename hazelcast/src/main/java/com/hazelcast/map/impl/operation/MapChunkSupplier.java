@@ -0,0 +1,174 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.operation;
+
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.monitor.impl.LocalReplicationStatsImpl;
+import com.hazelcast.internal.nio.BufferObjectDataOutput;
+import com.hazelcast.internal.nio.IOUtil;
+import com.hazelcast.internal.partition.ChunkSupplier;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.services.ServiceNamespace;
+import com.hazelcast.internal.util.ThreadUtil;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.PartitionContainer;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.record.Records;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.impl.operationservice.Operation;
+
+import java.io.IOException;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
+import static java.util.Collections.singleton;
+
+/**
+ * Supplies the state of a map partition in chunks during a migration.
+ * <p>
+ * The first chunk is a {@link MapReplicationOperation} without the records,
+ * it resets the record store and carries the index definitions, the
+ * write-behind and the Near Cache state. The records follow in
+ * {@link MapChunk} operations, each one is about {@code maxChunkSizeBytes}
+ * in serialized form, so the whole partition never has to be buffered at
+ * once on either member.
+ * <p>
+ * The partition is not mutated while it's migrating, so the records can be
+ * iterated across multiple calls.
+ */
+public class MapChunkSupplier implements ChunkSupplier {
+
+    private static final int KEY_BATCH_SIZE = 1000;
+    private static final int MIN_OUTPUT_SIZE = 1024;
+
+    private final ServiceNamespace namespace;
+    private final PartitionContainer container;
+    private final RecordStore<Record> recordStore;
+    private final int partitionId;
+    private final int replicaIndex;
+    private final int maxChunkSizeBytes;
+    private final MapService mapService;
+    private final NodeEngine nodeEngine;
+    private final InternalSerializationService ss;
+    private final LocalReplicationStatsImpl replicationStats;
+
+    private IterationPointer[] pointers = {new IterationPointer(Integer.MAX_VALUE, -1)};
+    private Iterator<Data> keys = Collections.emptyIterator();
+    private boolean replicationOperationSupplied;
+    private long bytesSupplied;
+
+    public MapChunkSupplier(ServiceNamespace namespace, PartitionContainer container, RecordStore<Record> recordStore,
+                            int replicaIndex, int maxChunkSizeBytes) {
+        MapContainer mapContainer = recordStore.getMapContainer();
+        this.namespace = namespace;
+        this.container = container;
+        this.recordStore = recordStore;
+        this.partitionId = container.getPartitionId();
+        this.replicaIndex = replicaIndex;
+        this.maxChunkSizeBytes = maxChunkSizeBytes;
+        this.mapService = container.getMapService();
+        this.nodeEngine = mapContainer.getMapServiceContext().getNodeEngine();
+        this.ss = (InternalSerializationService) nodeEngine.getSerializationService();
+        this.replicationStats = mapContainer.getMapServiceContext().getLocalMapStatsProvider()
+                .getLocalMapStatsImpl(recordStore.getName()).getReplicationStats();
+    }
+
+    @Override
+    public boolean hasNext() {
+        return !replicationOperationSupplied || nextKeys();
+    }
+
+    @Override
+    public Operation next() {
+        ThreadUtil.assertRunningOnPartitionThread();
+
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+
+        Operation operation;
+        if (!replicationOperationSupplied) {
+            replicationOperationSupplied = true;
+            operation = newReplicationOperation();
+        } else {
+            operation = newChunk();
+        }
+        operation.setPartitionId(partitionId).setReplicaIndex(replicaIndex);
+        operation.setService(mapService);
+        operation.setNodeEngine(nodeEngine);
+        return operation;
+    }
+
+    @Override
+    public long bytesSupplied() {
+        return bytesSupplied;
+    }
+
+    private Operation newReplicationOperation() {
+        MapReplicationOperation operation = new MapReplicationOperation(container, singleton(namespace),
+                partitionId, replicaIndex);
+        operation.mapReplicationStateHolder.setRecordsExcluded(true);
+        return operation;
+    }
+
+    private Operation newChunk() {
+        BufferObjectDataOutput out = ss.createObjectDataOutput(Math.min(maxChunkSizeBytes, MIN_OUTPUT_SIZE));
+        int recordCount = 0;
+        try {
+            while (out.position() < maxChunkSizeBytes && nextKeys()) {
+                Data dataKey = keys.next();
+                Record record = recordStore.getRecord(dataKey);
+                if (record == null) {
+                    // removed after the keys were fetched, e.g. expired
+                    continue;
+                }
+                IOUtil.writeData(out, dataKey);
+                Records.writeRecord(out, record, ss.toData(record.getValue()));
+                Records.writeExpiry(out, recordStore.getExpirySystem().getExpiryMetadata(dataKey));
+                recordCount++;
+            }
+        } catch (IOException e) {
+            throw rethrow(e);
+        }
+
+        byte[] recordBytes = out.toByteArray();
+        IOUtil.closeResource(out);
+        bytesSupplied += recordBytes.length;
+        replicationStats.incrementFullPartitionReplicationRecordsCount(recordCount);
+        return new MapChunk(recordStore.getName(), recordCount, recordBytes);
+    }
+
+    /**
+     * Fetches the next batch of keys if the current one is consumed.
+     *
+     * @return {@code true} if there are more keys to send
+     */
+    private boolean nextKeys() {
+        while (!keys.hasNext() && pointers[pointers.length - 1].getIndex() >= 0) {
+            MapKeysWithCursor cursor = recordStore.fetchKeys(pointers, KEY_BATCH_SIZE);
+            pointers = cursor.getIterationPointers();
+            keys = cursor.getBatch().iterator();
+        }
+        return keys.hasNext();
+    }
+}
@@ -30,6 +30,7 @@ import com.hazelcast.spi.impl.operationservice.Operation;
 
 import java.io.IOException;
 import java.util.Collection;
+import java.util.Map;
 
 /**
  * Replicates all IMap-states of this partition to a replica partition.
@@ -64,6 +65,16 @@ public class MapReplicationOperation extends Operation
         this.mapNearCacheStateHolder.prepare(container, namespaces, replicaIndex);
     }
 
+    /**
+     * Sets the differences of the Merkle trees of the replicated maps, only
+     * the records of the differing leaves are replicated for these maps.
+     *
+     * @param merkleTreeDiffByMapName map name to Merkle tree leaf order/value pairs
+     */
+    public void setMerkleTreeDiffByMapName(Map<String, int[]> merkleTreeDiffByMapName) {
+        mapReplicationStateHolder.setMerkleTreeDiffByMapName(merkleTreeDiffByMapName);
+    }
+
     @Override
     public void run() {
         try {
@@ -31,6 +31,7 @@ import com.hazelcast.internal.services.ServiceNamespace;
 import com.hazelcast.internal.util.Clock;
 import com.hazelcast.internal.util.ExceptionUtil;
 import com.hazelcast.internal.util.ThreadUtil;
+import com.hazelcast.internal.util.collection.IntHashSet;
 import com.hazelcast.map.impl.MapContainer;
 import com.hazelcast.map.impl.MapDataSerializerHook;
 import com.hazelcast.map.impl.MapService;
@@ -50,6 +51,9 @@ import com.hazelcast.query.impl.Index;
 import com.hazelcast.query.impl.Indexes;
 import com.hazelcast.query.impl.InternalIndex;
 import com.hazelcast.query.impl.MapIndexInfo;
+import com.hazelcast.spi.impl.operationservice.Operation;
+import com.hazelcast.wan.impl.merkletree.MerkleTree;
+import com.hazelcast.wan.impl.merkletree.MerkleTreeUtil;
 
 import java.io.IOException;
 import java.util.ArrayList;
@@ -98,6 +102,9 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable, Ve
     protected MapReplicationOperation operation;
     private Map<String, LocalRecordStoreStats> recordStoreStatsPerMapName;
 
+    // when set, the records are sent separately in MapChunk operations
+    private transient boolean recordsExcluded;
+
     /**
      * This constructor exists solely for instantiation by {@code MapDataSerializerHook}. The object is not ready to use
      * unless {@code operation} is set.
@@ -113,6 +120,10 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable, Ve
         this.operation = operation;
     }
 
+    void setRecordsExcluded(boolean recordsExcluded) {
+        this.recordsExcluded = recordsExcluded;
+    }
+
     void prepare(PartitionContainer container, Collection<ServiceNamespace> namespaces, int replicaIndex) {
         storesByMapName = createHashMap(namespaces.size());
         loaded = createHashMap(namespaces.size());
@@ -197,8 +208,12 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable, Ve
                     indexes.clearAll();
                 }
 
+                if (isDifferentialReplication) {
+                    removeRecordsOfDiffLeaves(recordStore, merkleTreeDiffByMapName.get(mapName));
+                }
+
                 long nowInMillis = Clock.currentTimeMillis();
-                forEachReplicatedRecord(keyRecordExpiry, mapContainer, recordStore,
+                forEachReplicatedRecord(operation, keyRecordExpiry, mapContainer, recordStore,
                         populateIndexes, nowInMillis);
 
 
@@ -218,11 +233,36 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable, Ve
         }
     }
 
-    private void forEachReplicatedRecord(List keyRecordExpiry,
-                                         MapContainer mapContainer,
-                                         RecordStore recordStore,
-                                         boolean populateIndexes, long nowInMillis) {
-        long ownedEntryCountOnThisNode = entryCountOnThisNode(mapContainer);
+    /**
+     * Removes the records of the leaves which differ from the leaves of the
+     * replicated Merkle tree, these records are replaced by the replicated
+     * ones.
+     */
+    private void removeRecordsOfDiffLeaves(RecordStore<Record> recordStore, int[] diffNodeOrderValuePairs) {
+        MerkleTree merkleTree = recordStore.getMerkleTree();
+        if (merkleTree == null || diffNodeOrderValuePairs.length == 0) {
+            return;
+        }
+
+        IntHashSet diffLeafOrders = MerkleTreeUtil.setOfNodeOrders(diffNodeOrderValuePairs);
+        int leafLevel = merkleTree.depth() - 1;
+        List<Data> keysToRemove = new ArrayList<>();
+        recordStore.forEach((dataKey, record) -> {
+            if (diffLeafOrders.contains(MerkleTreeUtil.getLeafOrderForHash(dataKey.hashCode(), leafLevel))) {
+                keysToRemove.add(dataKey);
+            }
+        }, operation.getReplicaIndex() != 0, true);
+
+        for (Data dataKey : keysToRemove) {
+            recordStore.removeReplicatedRecord(dataKey);
+        }
+    }
+
+    static void forEachReplicatedRecord(Operation operation, List keyRecordExpiry,
+                                        MapContainer mapContainer,
+                                        RecordStore recordStore,
+                                        boolean populateIndexes, long nowInMillis) {
+        long ownedEntryCountOnThisNode = entryCountOnThisNode(operation, mapContainer);
         EvictionConfig evictionConfig = mapContainer.getMapConfig().getEvictionConfig();
         boolean perNodeEvictionConfigured = mapContainer.getEvictor() != Evictor.NULL_EVICTOR
                 && evictionConfig.getMaxSizePolicy() == PER_NODE;
@@ -261,7 +301,7 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable, Ve
     }
 
     // owned or backup
-    private long entryCountOnThisNode(MapContainer mapContainer) {
+    private static long entryCountOnThisNode(Operation operation, MapContainer mapContainer) {
         int replicaIndex = operation.getReplicaIndex();
         long owned = 0;
         if (mapContainer.getEvictor() != Evictor.NULL_EVICTOR
@@ -357,11 +397,39 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable, Ve
 
     protected void writeDifferentialData(String mapName,
                                          RecordStore<Record> recordStore, ObjectDataOutput out) throws IOException {
-        throw new UnsupportedOperationException();
+        int[] diffNodeOrderValuePairs = merkleTreeDiffByMapName.get(mapName);
+        out.writeIntArray(diffNodeOrderValuePairs);
+
+        IntHashSet diffLeafOrders = MerkleTreeUtil.setOfNodeOrders(diffNodeOrderValuePairs);
+        int leafLevel = recordStore.getMerkleTree().depth() - 1;
+        List<Object> keyRecords = new ArrayList<>();
+        // No expiration should be done in forEach, since we serialize the collected records.
+        recordStore.forEach((dataKey, record) -> {
+            if (diffLeafOrders.contains(MerkleTreeUtil.getLeafOrderForHash(dataKey.hashCode(), leafLevel))) {
+                keyRecords.add(dataKey);
+                keyRecords.add(record);
+            }
+        }, operation.getReplicaIndex() != 0, true);
+
+        SerializationService ss = getSerializationService(recordStore.getMapContainer());
+        int numOfRecords = keyRecords.size() / 2;
+        out.writeInt(numOfRecords);
+        for (int i = 0; i < keyRecords.size(); i += 2) {
+            Data dataKey = (Data) keyRecords.get(i);
+            Record record = (Record) keyRecords.get(i + 1);
+            IOUtil.writeData(out, dataKey);
+            Records.writeRecord(out, record, ss.toData(record.getValue()));
+            Records.writeExpiry(out, recordStore.getExpirySystem().getExpiryMetadata(dataKey));
+        }
+        statsByMapName.get(mapName).incrementDiffPartitionReplicationRecordsCount(numOfRecords);
     }
 
     private void writeRecordStoreData(RecordStore<Record> recordStore, ObjectDataOutput out)
             throws IOException {
+        if (recordsExcluded) {
+            out.writeInt(0);
+            return;
+        }
         SerializationService ss = getSerializationService(recordStore.getMapContainer());
         out.writeInt(recordStore.size());
         // No expiration should be done in forEach, since we have serialized size before.
@@ -451,7 +519,7 @@ public class MapReplicationStateHolder implements IdentifiedDataSerializable, Ve
         return MapDataSerializerHook.MAP_REPLICATION_STATE_HOLDER;
     }
 
-    private static boolean indexesMustBePopulated(Indexes indexes, MapReplicationOperation operation) {
+    static boolean indexesMustBePopulated(Indexes indexes, Operation operation) {
         if (!indexes.haveAtLeastOneIndex()) {
             // no indexes to populate
             return false;
@@ -29,6 +29,7 @@ import com.hazelcast.map.impl.MapServiceContext;
 import com.hazelcast.map.impl.PartitionContainer;
 import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
 import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.ColumnarStore;
 import com.hazelcast.map.impl.recordstore.RecordStore;
 import com.hazelcast.query.Predicate;
 import com.hazelcast.query.impl.QueryableEntriesSegment;
@@ -86,6 +87,11 @@ public class PartitionScanRunner {
         Map.Entry<Integer, Map.Entry> nearestAnchorEntry =
                 pagingPredicate == null ? null : pagingPredicate.getNearestAnchorEntry();
 
+        if (result instanceof AggregationResult
+                && aggregateColumnar(recordStore, mapContainer, predicate, (AggregationResult) result)) {
+            return;
+        }
+
         recordStore.forEachAfterLoad(new BiConsumer<Data, Record>() {
             LazyMapEntry queryEntry = new LazyMapEntry();
 
@@ -117,6 +123,26 @@ public class PartitionScanRunner {
         result.orderAndLimit(pagingPredicate, nearestAnchorEntry);
     }
 
+    /**
+     * Runs the aggregation over the columnar copy of the values of the
+     * partition, if the map keeps one and the aggregation can run on it.
+     *
+     * @return {@code true} if the aggregation has been run, {@code false}
+     * if the entries need to be scanned
+     */
+    private boolean aggregateColumnar(RecordStore<Record> recordStore, MapContainer mapContainer,
+                                      Predicate predicate, AggregationResult result) {
+        ColumnarStore columnarStore = recordStore.getColumnarStore();
+        // expiration and custom attributes are only handled by the entry scan
+        if (columnarStore == null
+                || !recordStore.getExpirySystem().isEmpty()
+                || !mapContainer.getMapConfig().getAttributeConfigs().isEmpty()) {
+            return false;
+        }
+        recordStore.checkIfLoaded();
+        return columnarStore.aggregate(predicate, result.getAggregator());
+    }
+
     /**
      * Executes the predicate on a partition chunk. The offset in the partition
      * is defined by the {@code pointers} and the soft limit is defined by the
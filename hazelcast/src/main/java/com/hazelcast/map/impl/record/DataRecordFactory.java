@@ -59,15 +59,16 @@ public class DataRecordFactory implements RecordFactory<Data> {
         }
 
         if (hasEviction) {
-            if (mapConfig.getEvictionConfig().getEvictionPolicy() == EvictionPolicy.LRU) {
+            EvictionPolicy evictionPolicy = mapConfig.getEvictionConfig().getEvictionPolicy();
+            if (evictionPolicy == EvictionPolicy.LRU || evictionPolicy == EvictionPolicy.TINY_LFU) {
                 return new CachedSimpleRecordWithLRUEviction(valueData);
             }
 
-            if (mapConfig.getEvictionConfig().getEvictionPolicy() == EvictionPolicy.LFU) {
+            if (evictionPolicy == EvictionPolicy.LFU) {
                 return new CachedSimpleRecordWithLFUEviction(valueData);
             }
 
-            if (mapConfig.getEvictionConfig().getEvictionPolicy() == EvictionPolicy.RANDOM) {
+            if (evictionPolicy == EvictionPolicy.RANDOM) {
                 return new CachedSimpleRecord(valueData);
             }
 
@@ -84,15 +85,16 @@ public class DataRecordFactory implements RecordFactory<Data> {
         }
 
         if (hasEviction) {
-            if (mapConfig.getEvictionConfig().getEvictionPolicy() == EvictionPolicy.LRU) {
+            EvictionPolicy evictionPolicy = mapConfig.getEvictionConfig().getEvictionPolicy();
+            if (evictionPolicy == EvictionPolicy.LRU || evictionPolicy == EvictionPolicy.TINY_LFU) {
                 return new SimpleRecordWithLRUEviction<>(valueData);
             }
 
-            if (mapConfig.getEvictionConfig().getEvictionPolicy() == EvictionPolicy.LFU) {
+            if (evictionPolicy == EvictionPolicy.LFU) {
                 return new SimpleRecordWithLFUEviction<>(valueData);
             }
 
-            if (mapConfig.getEvictionConfig().getEvictionPolicy() == EvictionPolicy.RANDOM) {
+            if (evictionPolicy == EvictionPolicy.RANDOM) {
                 return new SimpleRecord<>(valueData);
             }
 
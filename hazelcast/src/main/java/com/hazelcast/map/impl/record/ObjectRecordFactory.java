@@ -55,15 +55,16 @@ public class ObjectRecordFactory implements RecordFactory<Object> {
         }
 
         if (hasEviction) {
-            if (mapConfig.getEvictionConfig().getEvictionPolicy() == EvictionPolicy.LRU) {
+            EvictionPolicy evictionPolicy = mapConfig.getEvictionConfig().getEvictionPolicy();
+            if (evictionPolicy == EvictionPolicy.LRU || evictionPolicy == EvictionPolicy.TINY_LFU) {
                 return new SimpleRecordWithLRUEviction<>(objectValue);
             }
 
-            if (mapConfig.getEvictionConfig().getEvictionPolicy() == EvictionPolicy.LFU) {
+            if (evictionPolicy == EvictionPolicy.LFU) {
                 return new SimpleRecordWithLFUEviction<>(objectValue);
             }
 
-            if (mapConfig.getEvictionConfig().getEvictionPolicy() == EvictionPolicy.RANDOM) {
+            if (evictionPolicy == EvictionPolicy.RANDOM) {
                 return new SimpleRecord<>(objectValue);
             }
 
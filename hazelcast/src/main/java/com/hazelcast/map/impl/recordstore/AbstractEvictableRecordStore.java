@@ -20,6 +20,7 @@ import com.hazelcast.cluster.Address;
 import com.hazelcast.core.EntryEventType;
 import com.hazelcast.core.EntryView;
 import com.hazelcast.internal.eviction.ExpiredKey;
+import com.hazelcast.internal.eviction.impl.comparator.TinyLFUEvictionPolicyComparator;
 import com.hazelcast.internal.nearcache.impl.invalidation.InvalidationQueue;
 import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.map.impl.MapContainer;
@@ -85,7 +86,9 @@ public abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
     @Override
     public void evictEntries(Data excludedKey) {
         if (shouldEvict()) {
+            long start = System.nanoTime();
             mapContainer.getEvictor().evict(this, excludedKey);
+            stats.addEvictionTime(System.nanoTime() - start);
         }
     }
 
@@ -166,11 +169,19 @@ public abstract class AbstractEvictableRecordStore extends AbstractRecordStore {
 
     @Override
     public void accessRecord(Data dataKey, Record record, long now) {
+        recordAccessFrequency(dataKey);
         record.onAccess(now);
         updateStatsOnGet(now);
         expirySystem.extendExpiryTime(dataKey, now);
     }
 
+    protected void recordAccessFrequency(Data dataKey) {
+        TinyLFUEvictionPolicyComparator comparator = mapContainer.getAccessFrequencyComparator();
+        if (comparator != null) {
+            comparator.recordAccess(dataKey);
+        }
+    }
+
     protected void mergeRecordExpiration(Data key, Record record,
                                          MapMergeTypes mergingEntry, long now) {
         mergeRecordExpiration(record, mergingEntry.getCreationTime(),
@@ -16,6 +16,7 @@
 
 package com.hazelcast.map.impl.recordstore;
 
+import com.hazelcast.config.ConfigPatternMatcher;
 import com.hazelcast.config.EventJournalConfig;
 import com.hazelcast.config.EvictionPolicy;
 import com.hazelcast.config.InMemoryFormat;
@@ -25,6 +26,7 @@ import com.hazelcast.internal.locksupport.LockSupportService;
 import com.hazelcast.internal.monitor.LocalRecordStoreStats;
 import com.hazelcast.internal.monitor.impl.LocalRecordStoreStatsImpl;
 import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
 import com.hazelcast.internal.serialization.SerializationService;
 import com.hazelcast.internal.util.Clock;
 import com.hazelcast.internal.util.comparators.ValueComparator;
@@ -40,10 +42,18 @@ import com.hazelcast.map.impl.record.Record;
 import com.hazelcast.map.impl.record.RecordFactory;
 import com.hazelcast.map.impl.record.RecordReaderWriter;
 import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.properties.HazelcastProperty;
 import com.hazelcast.wan.impl.CallerProvenance;
+import com.hazelcast.wan.impl.merkletree.MerkleTree;
 
 import javax.annotation.Nonnull;
 
+import static com.hazelcast.config.InMemoryFormat.NATIVE;
+import static com.hazelcast.internal.util.StringUtil.isNullOrEmptyAfterTrim;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_COLUMNAR_STORE_MAP_NAMES;
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_OFF_HEAP_STORAGE_MAP_NAMES;
+import static java.util.Collections.singletonList;
+
 /**
  * Contains record store common parts.
  */
@@ -64,6 +74,8 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
 
     protected Storage<Data, Record> storage;
     protected IndexingMutationObserver<Record> indexingObserver;
+    protected ColumnarStore columnarStore;
+    protected MerkleTreeMutationObserver merkleTreeObserver;
 
     protected AbstractRecordStore(MapContainer mapContainer, int partitionId) {
         this.name = mapContainer.getName();
@@ -105,12 +117,35 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
         // Add observer for indexing
         indexingObserver = new IndexingMutationObserver<>(this, serializationService);
         mutationObserver.add(indexingObserver);
+
+        // Add observer for the columnar copy of the values
+        if (inMemoryFormat != NATIVE && matchesMapNames(MAP_COLUMNAR_STORE_MAP_NAMES)) {
+            columnarStore = new ColumnarStore((InternalSerializationService) serializationService);
+            mutationObserver.add(columnarStore);
+        }
+
+        // Add observer for the Merkle tree compared by the replica synchronization
+        if (mapContainer.isMerkleTreeEnabled()) {
+            merkleTreeObserver = new MerkleTreeMutationObserver(serializationService,
+                    mapContainer.getMapConfig().getMerkleTreeConfig().getDepth());
+            mutationObserver.add(merkleTreeObserver);
+        }
     }
 
     public IndexingMutationObserver<Record> getIndexingObserver() {
         return indexingObserver;
     }
 
+    @Override
+    public ColumnarStore getColumnarStore() {
+        return columnarStore;
+    }
+
+    @Override
+    public MerkleTree getMerkleTree() {
+        return merkleTreeObserver != null ? merkleTreeObserver.getMerkleTree() : null;
+    }
+
     @Override
     public InMemoryFormat getInMemoryFormat() {
         return inMemoryFormat;
@@ -155,9 +190,36 @@ abstract class AbstractRecordStore implements RecordStore<Record> {
     }
 
     public Storage createStorage(RecordFactory recordFactory, InMemoryFormat memoryFormat) {
+        if (memoryFormat != NATIVE && isOffHeapStorageEnabled()) {
+            return new OffHeapStorage(memoryFormat, getExpirySystem(), serializationService);
+        }
         return new StorageImpl(memoryFormat, getExpirySystem(), serializationService);
     }
 
+    private boolean isOffHeapStorageEnabled() {
+        return OffHeapStorage.isSupported() && matchesMapNames(MAP_OFF_HEAP_STORAGE_MAP_NAMES);
+    }
+
+    /**
+     * Checks if the name of this map matches one of the comma-separated
+     * map name patterns of the given property.
+     */
+    private boolean matchesMapNames(HazelcastProperty property) {
+        NodeEngine nodeEngine = mapServiceContext.getNodeEngine();
+        String mapNames = nodeEngine.getProperties().getString(property);
+        if (isNullOrEmptyAfterTrim(mapNames)) {
+            return false;
+        }
+        ConfigPatternMatcher matcher = nodeEngine.getConfig().getConfigPatternMatcher();
+        for (String pattern : mapNames.split(",")) {
+            pattern = pattern.trim();
+            if (!pattern.isEmpty() && matcher.matches(singletonList(pattern), name) != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
     @Override
     public String getName() {
         return name;
@@ -0,0 +1,497 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.serialization.impl.compact.CompactGenericRecord;
+import com.hazelcast.internal.serialization.impl.compact.FieldDescriptor;
+import com.hazelcast.internal.serialization.impl.compact.Schema;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.nio.serialization.GenericRecord;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.columnar.Column;
+import com.hazelcast.query.impl.columnar.ColumnFilter;
+import com.hazelcast.query.impl.columnar.ColumnFilters;
+import com.hazelcast.query.impl.columnar.ColumnarAggregator;
+
+import javax.annotation.Nonnull;
+import java.io.IOException;
+import java.nio.ByteOrder;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+import static com.hazelcast.internal.nio.Bits.INT_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.readInt;
+import static com.hazelcast.internal.nio.Bits.readLong;
+import static com.hazelcast.internal.nio.Bits.readShort;
+import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
+
+/**
+ * Keeps a column oriented copy of the primitive fields of the
+ * {@link com.hazelcast.config.CompactSerializationConfig compact} values of a
+ * record store partition, so aggregations can run over primitive arrays in
+ * tight loops instead of navigating the serialized values entry by entry.
+ * <p>
+ * The store is maintained as a {@link MutationObserver}: every put, update,
+ * load and replication reads the primitive fields of the value directly from
+ * its serialized form at the offsets given by the schema, without decoding
+ * the rest of the value. Removals move the last row into the freed one, so
+ * the rows stay dense.
+ * Only the non-nullable primitive fields of a single schema are kept. As soon
+ * as a value with another schema, or a value which is not compact serialized,
+ * is stored, the store drops its columns and stops serving aggregations until
+ * the partition is empty again; the aggregations then run on the entries as
+ * usual.
+ * <p>
+ * Mutations happen on the partition thread, while aggregations may also run
+ * on the query threads, so the rows are guarded by a read-write lock. An
+ * aggregation takes the read lock for one chunk of rows at a time, so the
+ * partition thread is never blocked for longer than a chunk. While an
+ * aggregation is in progress the rows are not moved: removed rows are only
+ * marked as dead and skipped by the aggregations, and they are compacted by
+ * the first mutation after the aggregations finish. An aggregation sees the
+ * rows as they were when it reached their chunk and doesn't see the rows
+ * added after it started, similar to a weakly consistent iterator.
+ */
+public class ColumnarStore implements MutationObserver<Record> {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final Integer NO_ROW = -1;
+    private static final int BIT_SHIFT = 6;
+
+    private final InternalSerializationService serializationService;
+    private final boolean bigEndian;
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final AtomicInteger activeAggregations = new AtomicInteger();
+    private final Map<Data, Integer> rowsByKey = new HashMap<>();
+    private final Map<String, Column> columnsByName = new HashMap<>();
+
+    private Data[] keys = new Data[INITIAL_CAPACITY];
+    private long[] liveRows = new long[liveRowsLength(INITIAL_CAPACITY)];
+    private Column[] columns;
+    // the positions of the column fields in the serialized values
+    private int[] fieldPositions;
+    private int[] fieldBitOffsets;
+    private Schema schema;
+    private boolean disabled;
+    private int size;
+    private int deadRows;
+    // incremented every time the columns are dropped
+    private int columnsVersion;
+
+    public ColumnarStore(InternalSerializationService serializationService) {
+        this.serializationService = serializationService;
+        this.bigEndian = serializationService.getByteOrder() == ByteOrder.BIG_ENDIAN;
+    }
+
+    /**
+     * Runs the given aggregation over the selected rows.
+     *
+     * @param predicate  the predicate selecting the aggregated rows
+     * @param aggregator the aggregator to accumulate the rows into
+     * @return {@code true} if the aggregation has been run, {@code false}
+     * if the store can't run it and the entries need to be aggregated
+     * one by one instead
+     */
+    public boolean aggregate(Predicate predicate, Aggregator aggregator) {
+        if (!(aggregator instanceof ColumnarAggregator)) {
+            return false;
+        }
+        ColumnarAggregator columnarAggregator = (ColumnarAggregator) aggregator;
+
+        // keeps the rows in place until the aggregation is done
+        activeAggregations.incrementAndGet();
+        try {
+            Lock readLock = lock.readLock();
+            Column column = null;
+            ColumnFilter filter;
+            long[] scannedLiveRows;
+            int scannedSize;
+            int scannedColumnsVersion;
+            readLock.lock();
+            try {
+                if (disabled) {
+                    return false;
+                }
+                if (size == 0) {
+                    return true;
+                }
+
+                String attributePath = columnarAggregator.getAttributePath();
+                if (attributePath != null) {
+                    String columnName = ColumnFilters.toColumnName(attributePath);
+                    column = columnName == null ? null : columnsByName.get(columnName);
+                    if (column == null) {
+                        return false;
+                    }
+                }
+                if (!columnarAggregator.canAccumulate(column)) {
+                    return false;
+                }
+                filter = ColumnFilters.compile(predicate, columnsByName::get);
+                if (filter == null) {
+                    return false;
+                }
+                scannedLiveRows = liveRows;
+                scannedSize = size;
+                scannedColumnsVersion = columnsVersion;
+            } finally {
+                readLock.unlock();
+            }
+
+            accumulate(columnarAggregator, column, filter, scannedSize, scannedLiveRows, scannedColumnsVersion);
+            return true;
+        } finally {
+            activeAggregations.decrementAndGet();
+        }
+    }
+
+    private void accumulate(ColumnarAggregator aggregator, Column column, ColumnFilter filter,
+                            int scannedSize, long[] scannedLiveRows, int scannedColumnsVersion) {
+        Lock readLock = lock.readLock();
+        long[] selection = new long[Column.SELECTION_LENGTH];
+        for (int from = 0; from < scannedSize; from += Column.CHUNK_SIZE) {
+            int count = Math.min(Column.CHUNK_SIZE, scannedSize - from);
+            readLock.lock();
+            try {
+                // once the columns are dropped, the scanned ones aren't changed anymore
+                if (scannedColumnsVersion == columnsVersion) {
+                    scannedLiveRows = liveRows;
+                }
+                filter.select(from, count, selection);
+                retainLiveRows(scannedLiveRows, from, count, selection);
+                aggregator.accumulate(column, from, count, selection);
+            } finally {
+                readLock.unlock();
+            }
+        }
+    }
+
+    /**
+     * @return {@code true} if the values can't be kept in columns and
+     * aggregations need to run on the entries
+     */
+    public boolean isDisabled() {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return disabled;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    /**
+     * @return the number of rows in this store
+     */
+    public int size() {
+        Lock readLock = lock.readLock();
+        readLock.lock();
+        try {
+            return size - deadRows;
+        } finally {
+            readLock.unlock();
+        }
+    }
+
+    @Override
+    public void onPutRecord(@Nonnull Data key, Record record, Object oldValue, boolean backup) {
+        upsert(key, record.getValue());
+    }
+
+    @Override
+    public void onReplicationPutRecord(@Nonnull Data key, @Nonnull Record record, boolean populateIndex) {
+        upsert(key, record.getValue());
+    }
+
+    @Override
+    public void onUpdateRecord(@Nonnull Data key, @Nonnull Record record,
+                               Object oldValue, Object newValue, boolean backup) {
+        upsert(key, newValue);
+    }
+
+    @Override
+    public void onRemoveRecord(@Nonnull Data key, Record record) {
+        remove(key);
+    }
+
+    @Override
+    public void onEvictRecord(@Nonnull Data key, @Nonnull Record record) {
+        remove(key);
+    }
+
+    @Override
+    public void onLoadRecord(@Nonnull Data key, @Nonnull Record record, boolean backup) {
+        upsert(key, record.getValue());
+    }
+
+    @Override
+    public void onReset() {
+        clear();
+    }
+
+    @Override
+    public void onClear() {
+        clear();
+    }
+
+    @Override
+    public void onDestroy(boolean isDuringShutdown, boolean internal) {
+        clear();
+    }
+
+    private void upsert(Data key, Object value) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            compactIfNotAggregating();
+            Data data = disabled ? null : toCompactData(value);
+            if (data == null || schema != null && schema.getSchemaId() != readSchemaId(data)) {
+                if (!disabled) {
+                    disable();
+                }
+                rowsByKey.put(key, NO_ROW);
+                return;
+            }
+            if (schema == null) {
+                initColumns(readSchema(data));
+            }
+
+            Integer existingRow = rowsByKey.get(key);
+            int row;
+            if (existingRow == null) {
+                row = size;
+                ensureCapacity(size + 1);
+                keys[row] = key;
+                liveRows[row >>> BIT_SHIFT] |= 1L << row;
+                rowsByKey.put(key, row);
+                size++;
+            } else {
+                row = existingRow;
+            }
+            byte[] bytes = data.toByteArray();
+            for (int i = 0; i < columns.length; i++) {
+                write(columns[i], row, bytes, fieldPositions[i], fieldBitOffsets[i]);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void remove(Data key) {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            boolean aggregating = !compactIfNotAggregating();
+            Integer row = rowsByKey.remove(key);
+            if (row == null) {
+                return;
+            }
+            if (disabled) {
+                if (rowsByKey.isEmpty()) {
+                    disabled = false;
+                }
+                return;
+            }
+            if (aggregating) {
+                keys[row] = null;
+                liveRows[row >>> BIT_SHIFT] &= ~(1L << row);
+                deadRows++;
+            } else {
+                removeRow(row);
+            }
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    /**
+     * Removes the dead rows, unless an aggregation is in progress. Must be
+     * called with the write lock held.
+     *
+     * @return {@code true} if there are no dead rows left
+     */
+    private boolean compactIfNotAggregating() {
+        if (activeAggregations.get() > 0) {
+            return false;
+        }
+        if (deadRows > 0) {
+            // going backwards, the last row moved into a dead one is always live
+            for (int row = size - 1; row >= 0; row--) {
+                if ((liveRows[row >>> BIT_SHIFT] & (1L << row)) == 0) {
+                    removeRow(row);
+                }
+            }
+            deadRows = 0;
+        }
+        return true;
+    }
+
+    private void removeRow(int row) {
+        int last = --size;
+        if (row != last) {
+            Data lastKey = keys[last];
+            keys[row] = lastKey;
+            rowsByKey.put(lastKey, row);
+            liveRows[row >>> BIT_SHIFT] |= 1L << row;
+            for (Column column : columns) {
+                column.move(last, row);
+            }
+        }
+        keys[last] = null;
+        liveRows[last >>> BIT_SHIFT] &= ~(1L << last);
+    }
+
+    private void clear() {
+        Lock writeLock = lock.writeLock();
+        writeLock.lock();
+        try {
+            rowsByKey.clear();
+            dropColumns();
+            disabled = false;
+        } finally {
+            writeLock.unlock();
+        }
+    }
+
+    private void disable() {
+        // the keys are still tracked, so the store can be used again once the partition is empty
+        rowsByKey.replaceAll((key, row) -> NO_ROW);
+        dropColumns();
+        disabled = true;
+    }
+
+    private void dropColumns() {
+        // running aggregations keep scanning the dropped columns
+        columnsByName.clear();
+        keys = new Data[INITIAL_CAPACITY];
+        liveRows = new long[liveRowsLength(INITIAL_CAPACITY)];
+        columns = null;
+        fieldPositions = null;
+        fieldBitOffsets = null;
+        schema = null;
+        size = 0;
+        deadRows = 0;
+        columnsVersion++;
+    }
+
+    private Data toCompactData(Object value) {
+        Data data = serializationService.toData(value);
+        return data == null || !data.isCompact() ? null : data;
+    }
+
+    private long readSchemaId(Data data) {
+        return readLong(data.toByteArray(), HeapData.DATA_OFFSET, bigEndian);
+    }
+
+    private Schema readSchema(Data data) {
+        try {
+            GenericRecord record = serializationService.readAsInternalGenericRecord(data);
+            return ((CompactGenericRecord) record).getSchema();
+        } catch (IOException e) {
+            throw rethrow(e);
+        }
+    }
+
+    private void initColumns(Schema valueSchema) {
+        // the fixed-size fields follow the schema id, and the data length if there are variable-size fields
+        int dataStartPosition = HeapData.DATA_OFFSET + LONG_SIZE_IN_BYTES
+                + (valueSchema.getNumberOfVariableSizeFields() == 0 ? 0 : INT_SIZE_IN_BYTES);
+        List<Column> newColumns = new ArrayList<>();
+        List<FieldDescriptor> fields = new ArrayList<>();
+        for (FieldDescriptor field : valueSchema.getFields()) {
+            if (Column.isSupported(field.getKind())) {
+                Column column = new Column(field.getFieldName(), field.getKind(), keys.length);
+                newColumns.add(column);
+                fields.add(field);
+                columnsByName.put(column.getName(), column);
+            }
+        }
+        columns = newColumns.toArray(new Column[0]);
+        fieldPositions = new int[columns.length];
+        fieldBitOffsets = new int[columns.length];
+        for (int i = 0; i < columns.length; i++) {
+            fieldPositions[i] = dataStartPosition + fields.get(i).getOffset();
+            fieldBitOffsets[i] = fields.get(i).getBitOffset();
+        }
+        schema = valueSchema;
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (keys.length >= capacity) {
+            return;
+        }
+        int newCapacity = Math.max(capacity, keys.length << 1);
+        keys = Arrays.copyOf(keys, newCapacity);
+        liveRows = Arrays.copyOf(liveRows, liveRowsLength(newCapacity));
+        for (Column column : columns) {
+            column.ensureCapacity(newCapacity);
+        }
+    }
+
+    private static int liveRowsLength(int capacity) {
+        return (capacity + Long.SIZE - 1) >>> BIT_SHIFT;
+    }
+
+    private static void retainLiveRows(long[] liveRows, int from, int count, long[] selection) {
+        // the chunks start at a multiple of the word size
+        int firstWord = from >>> BIT_SHIFT;
+        int words = (count + Long.SIZE - 1) >>> BIT_SHIFT;
+        for (int i = 0; i < words; i++) {
+            selection[i] &= liveRows[firstWord + i];
+        }
+    }
+
+    private void write(Column column, int row, byte[] bytes, int position, int bitOffset) {
+        switch (column.getKind()) {
+            case BOOLEAN:
+                column.setLong(row, (bytes[position] >>> bitOffset) & 1);
+                break;
+            case BYTE:
+                column.setLong(row, bytes[position]);
+                break;
+            case SHORT:
+                column.setLong(row, readShort(bytes, position, bigEndian));
+                break;
+            case INT:
+                column.setLong(row, readInt(bytes, position, bigEndian));
+                break;
+            case LONG:
+                column.setLong(row, readLong(bytes, position, bigEndian));
+                break;
+            case FLOAT:
+                column.setDouble(row, Float.intBitsToFloat(readInt(bytes, position, bigEndian)));
+                break;
+            case DOUBLE:
+                column.setDouble(row, Double.longBitsToDouble(readLong(bytes, position, bigEndian)));
+                break;
+            default:
+                throw new IllegalStateException("Unexpected field kind: " + column.getKind());
+        }
+    }
+}
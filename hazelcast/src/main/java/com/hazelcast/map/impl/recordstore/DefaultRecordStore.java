@@ -653,7 +653,10 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
         Record record = getRecordOrNull(key, now, backup);
         if (record != null && touch) {
             accessRecord(key, record, now);
-        } else if (record == null && mapDataStore != EMPTY_MAP_DATA_STORE) {
+        } else if (record == null && touch && !backup) {
+            stats.increaseMisses();
+        }
+        if (record == null && mapDataStore != EMPTY_MAP_DATA_STORE) {
             record = loadRecordOrNull(key, backup, callerAddress);
             record = evictIfExpired(key, now, backup) ? null : record;
         }
@@ -925,6 +928,7 @@ public class DefaultRecordStore extends AbstractEvictableRecordStore {
                                   long maxIdle, long expiryTime, long now, UUID transactionId,
                                   EntryEventType entryEventType, boolean store,
                                   boolean backup) {
+        recordAccessFrequency(key);
         Record record = createRecord(newValue, now);
         if (mapDataStore != EMPTY_MAP_DATA_STORE && store) {
             putIntoMapStore(record, key, newValue, ttl, maxIdle, now, transactionId);
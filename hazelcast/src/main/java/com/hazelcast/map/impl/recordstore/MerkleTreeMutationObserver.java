@@ -0,0 +1,106 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.wan.impl.merkletree.ArrayMerkleTree;
+import com.hazelcast.wan.impl.merkletree.MerkleTree;
+
+import javax.annotation.Nonnull;
+
+/**
+ * Maintains a {@link MerkleTree} over the entries of a record store
+ * partition. The leaf of an entry is selected by the hash of its key and
+ * the entry contributes the combined hash of its serialized key and value,
+ * so the trees of two replicas of the partition match leaf by leaf if they
+ * hold the same entries.
+ * <p>
+ * Replicated records are added to the tree as new entries: the replication
+ * puts them either into a reset record store or into the leaves which were
+ * cleared before, see {@code MapReplicationStateHolder}.
+ */
+public class MerkleTreeMutationObserver implements MutationObserver<Record> {
+
+    private static final int HASH_MULTIPLIER = 31;
+
+    private final SerializationService serializationService;
+    private final MerkleTree merkleTree;
+
+    public MerkleTreeMutationObserver(SerializationService serializationService, int depth) {
+        this.serializationService = serializationService;
+        this.merkleTree = new ArrayMerkleTree(depth);
+    }
+
+    public MerkleTree getMerkleTree() {
+        return merkleTree;
+    }
+
+    @Override
+    public void onPutRecord(@Nonnull Data key, Record record, Object oldValue, boolean backup) {
+        // called for new records only, an old value of the key was removed from the tree before
+        merkleTree.updateAdd(key, entryHash(key, record.getValue()));
+    }
+
+    @Override
+    public void onReplicationPutRecord(@Nonnull Data key, @Nonnull Record record, boolean populateIndex) {
+        merkleTree.updateAdd(key, entryHash(key, record.getValue()));
+    }
+
+    @Override
+    public void onUpdateRecord(@Nonnull Data key, @Nonnull Record record,
+                               Object oldValue, Object newValue, boolean backup) {
+        merkleTree.updateReplace(key, entryHash(key, oldValue), entryHash(key, newValue));
+    }
+
+    @Override
+    public void onRemoveRecord(@Nonnull Data key, Record record) {
+        merkleTree.updateRemove(key, entryHash(key, record.getValue()));
+    }
+
+    @Override
+    public void onEvictRecord(@Nonnull Data key, @Nonnull Record record) {
+        merkleTree.updateRemove(key, entryHash(key, record.getValue()));
+    }
+
+    @Override
+    public void onLoadRecord(@Nonnull Data key, @Nonnull Record record, boolean backup) {
+        merkleTree.updateAdd(key, entryHash(key, record.getValue()));
+    }
+
+    @Override
+    public void onReset() {
+        merkleTree.clear();
+    }
+
+    @Override
+    public void onClear() {
+        merkleTree.clear();
+    }
+
+    @Override
+    public void onDestroy(boolean isDuringShutdown, boolean internal) {
+        merkleTree.clear();
+    }
+
+    private Integer entryHash(Data key, Object value) {
+        Data valueData = serializationService.toData(value);
+        int valueHash = valueData != null ? valueData.hashCode() : 0;
+        return HASH_MULTIPLIER * key.hashCode() + valueHash;
+    }
+}
@@ -0,0 +1,522 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.EntryView;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.memory.MemoryAccessor;
+import com.hazelcast.internal.memory.MemoryAllocator;
+import com.hazelcast.internal.memory.impl.UnsafeMemoryManager;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.util.ThreadLocalRandomProvider;
+import com.hazelcast.internal.util.hashslot.HashSlotArray8byteKey;
+import com.hazelcast.internal.util.hashslot.SlotAssignmentResult;
+import com.hazelcast.internal.util.hashslot.impl.HashSlotArray8byteKeyImpl;
+import com.hazelcast.map.impl.EntryCostEstimator;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+
+import javax.annotation.Nonnull;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.function.BiConsumer;
+
+import static com.hazelcast.config.InMemoryFormat.BINARY;
+import static com.hazelcast.internal.memory.MemoryAllocator.NULL_ADDRESS;
+import static com.hazelcast.internal.nio.Bits.LONG_SIZE_IN_BYTES;
+import static com.hazelcast.internal.nio.Bits.readLong;
+import static com.hazelcast.map.impl.OwnedEntryCostEstimatorFactory.createMapSizeEstimator;
+
+/**
+ * {@link Storage} implementation which keeps the serialized keys outside the
+ * Java heap.
+ * <p>
+ * Keys are copied into off-heap key blocks allocated from an {@link
+ * UnsafeMemoryManager} and are indexed by a {@link HashSlotArray8byteKey}
+ * which maps the 64-bit hash of a key to the head of a chain of key blocks
+ * sharing that hash. Each key block refers to a slot in an on-heap record
+ * table, so the only per-entry heap objects left are the {@link Record}s
+ * themselves: there are no hash-map nodes and no {@link HeapData} keys for
+ * the garbage collector to trace.
+ * <p>
+ * Key block layout:
+ * <pre>
+ *     +----------------+------------+-------------+-------------+
+ *     | next block (8) | slot (4)   | key len (4) | key bytes   |
+ *     +----------------+------------+-------------+-------------+
+ * </pre>
+ * Keys returned from this storage are on-heap copies of the stored key blocks.
+ * <p>
+ * Like {@link StorageImpl} the storage is confined to the partition thread,
+ * no locks are taken. Unlike it, the storage can't be read concurrently:
+ * a block could be freed while being read. The queries of the maps using
+ * this storage scan the partitions on the partition threads, the same as
+ * the {@link InMemoryFormat#NATIVE NATIVE} ones.
+ *
+ * @param <R> the value type to be put in this storage.
+ */
+@SuppressWarnings({"checkstyle:methodcount", "unchecked"})
+public class OffHeapStorage<R extends Record> implements Storage<Data, R> {
+
+    static final int NEXT_OFFSET = 0;
+    static final int SLOT_OFFSET = 8;
+    static final int KEY_LENGTH_OFFSET = 12;
+    static final int KEY_OFFSET = 16;
+
+    private static final int INITIAL_CAPACITY = 256;
+    private static final long UNASSIGNED_HASH = 0L;
+
+    private final SerializationService serializationService;
+    private final InMemoryFormat inMemoryFormat;
+    private final ExpirySystem expirySystem;
+    private final UnsafeMemoryManager memoryManager;
+    private final MemoryAllocator malloc;
+    private final MemoryAccessor mem;
+    private final HashSlotArray8byteKey index;
+
+    // slot -> record and slot -> key block address
+    private Object[] records = new Object[INITIAL_CAPACITY];
+    private long[] keyAddresses = new long[INITIAL_CAPACITY];
+    private int[] freeSlots = new int[INITIAL_CAPACITY];
+    private int freeSlotCount;
+    private int highestSlot;
+    private volatile int size;
+    private boolean destroyed;
+
+    // not final for testing purposes.
+    private EntryCostEstimator<Data, Record> entryCostEstimator;
+
+    OffHeapStorage(InMemoryFormat inMemoryFormat, ExpirySystem expirySystem,
+                   SerializationService serializationService) {
+        this.entryCostEstimator = createMapSizeEstimator(inMemoryFormat);
+        this.inMemoryFormat = inMemoryFormat;
+        this.expirySystem = expirySystem;
+        this.serializationService = serializationService;
+        this.memoryManager = new UnsafeMemoryManager();
+        this.malloc = memoryManager.getAllocator();
+        this.mem = memoryManager.getAccessor();
+        this.index = new HashSlotArray8byteKeyImpl(UNASSIGNED_HASH, memoryManager, LONG_SIZE_IN_BYTES);
+        this.index.gotoNew();
+    }
+
+    /**
+     * @return {@code true} if off-heap storage can be used on this JVM
+     */
+    public static boolean isSupported() {
+        return UnsafeMemoryManager.isAvailable();
+    }
+
+    /**
+     * @return number of off-heap bytes used by keys and the key index
+     */
+    public long getUsedOffHeapMemory() {
+        return memoryManager.getUsedMemory();
+    }
+
+    @Override
+    public void put(Data key, R record) {
+        if (destroyed) {
+            throw new IllegalStateException("Cannot put into a destroyed storage");
+        }
+        R previousRecord;
+        long keyAddress = findKeyBlock(key);
+        if (keyAddress != NULL_ADDRESS) {
+            int slot = mem.getInt(keyAddress + SLOT_OFFSET);
+            previousRecord = (R) records[slot];
+            records[slot] = record;
+        } else {
+            previousRecord = null;
+            insert(key, record);
+        }
+
+        if (previousRecord == null) {
+            updateCostEstimate(entryCostEstimator.calculateEntryCost(key, record));
+        } else {
+            updateCostEstimate(-entryCostEstimator.calculateValueCost(previousRecord));
+            updateCostEstimate(entryCostEstimator.calculateValueCost(record));
+        }
+    }
+
+    @Override
+    public void updateRecordValue(Data key, R record, Object value) {
+        updateCostEstimate(-entryCostEstimator.calculateValueCost(record));
+
+        record.setValue(inMemoryFormat == BINARY
+                ? serializationService.toData(value) : serializationService.toObject(value));
+
+        updateCostEstimate(entryCostEstimator.calculateValueCost(record));
+    }
+
+    @Override
+    public R get(Data key) {
+        long keyAddress = findKeyBlock(key);
+        return keyAddress == NULL_ADDRESS ? null : (R) records[mem.getInt(keyAddress + SLOT_OFFSET)];
+    }
+
+    @Override
+    public R getIfSameKey(Data key) {
+        throw new UnsupportedOperationException("OffHeapStorage#getIfSameKey");
+    }
+
+    @Override
+    public void removeRecord(Data dataKey, @Nonnull R record) {
+        if (remove(dataKey)) {
+            updateCostEstimate(-entryCostEstimator.calculateEntryCost(dataKey, record));
+        }
+    }
+
+    @Override
+    public boolean containsKey(Data key) {
+        return findKeyBlock(key) != NULL_ADDRESS;
+    }
+
+    @Override
+    public Iterator<Map.Entry<Data, R>> mutationTolerantIterator() {
+        return new SlotIterator();
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public void clear(boolean isDuringShutdown) {
+        if (!destroyed) {
+            freeAllKeyBlocks();
+        }
+
+        entryCostEstimator.reset();
+    }
+
+    @Override
+    public void destroy(boolean isDuringShutdown) {
+        if (destroyed) {
+            return;
+        }
+        freeAllKeyBlocks();
+        index.dispose();
+        memoryManager.dispose();
+        destroyed = true;
+
+        entryCostEstimator.reset();
+    }
+
+    @Override
+    public EntryCostEstimator getEntryCostEstimator() {
+        return entryCostEstimator;
+    }
+
+    @Override
+    public void setEntryCostEstimator(EntryCostEstimator entryCostEstimator) {
+        this.entryCostEstimator = entryCostEstimator;
+    }
+
+    @Override
+    public Iterable<EntryView> getRandomSamples(int sampleCount) {
+        if (sampleCount < 0) {
+            throw new IllegalArgumentException("Sample count cannot be a negative value.");
+        }
+        if (sampleCount == 0 || size == 0) {
+            return Collections.emptyList();
+        }
+
+        List<EntryView> samples = new ArrayList<>(sampleCount);
+        int slotCount = highestSlot;
+        if (slotCount == 0) {
+            return samples;
+        }
+        int firstSlot = ThreadLocalRandomProvider.get().nextInt(slotCount);
+        int slot = firstSlot;
+        do {
+            Object record = records[slot];
+            if (record != null) {
+                Data key = readKey(keyAddresses[slot]);
+                samples.add(new LazyEvictableEntryView<>(key, (R) record,
+                        expirySystem.getExpiryMetadata(key), serializationService));
+            }
+            slot = slot + 1 < slotCount ? slot + 1 : 0;
+        } while (samples.size() < sampleCount && slot != firstSlot);
+        return samples;
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * Slots never move, so a single pointer holding the next slot to visit
+     * is enough to resume the iteration. Slots are visited from the highest to
+     * the lowest one.
+     */
+    @Override
+    public MapKeysWithCursor fetchKeys(IterationPointer[] pointers, int size) {
+        List<Data> keys = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size, (key, record) -> keys.add(key));
+        return new MapKeysWithCursor(keys, newPointers);
+    }
+
+    @Override
+    public MapEntriesWithCursor fetchEntries(IterationPointer[] pointers, int size) {
+        List<Map.Entry<Data, Data>> entries = new ArrayList<>(size);
+        IterationPointer[] newPointers = fetchNext(pointers, size, (key, record) -> {
+            Data dataValue = serializationService.toData(record.getValue());
+            entries.add(new AbstractMap.SimpleEntry<>(key, dataValue));
+        });
+        return new MapEntriesWithCursor(entries, newPointers);
+    }
+
+    @Override
+    public Record extractRecordFromLazy(EntryView entryView) {
+        return ((LazyEvictableEntryView) entryView).getRecord();
+    }
+
+    @Override
+    public Data extractDataKeyFromLazy(EntryView entryView) {
+        return ((LazyEvictableEntryView) entryView).getDataKey();
+    }
+
+    @Override
+    public Data toBackingDataKeyFormat(Data key) {
+        return key;
+    }
+
+    protected void updateCostEstimate(long entrySize) {
+        entryCostEstimator.adjustEstimateBy(entrySize);
+    }
+
+    private IterationPointer[] fetchNext(IterationPointer[] pointers, int count,
+                                         BiConsumer<Data, R> consumer) {
+        IterationPointer lastPointer = pointers[pointers.length - 1];
+        int slotCount = highestSlot;
+        boolean iterationStarted = lastPointer.getSize() != -1;
+        int slot = iterationStarted && lastPointer.getIndex() < slotCount ? lastPointer.getIndex() : slotCount - 1;
+        int fetched = 0;
+        while (slot >= 0 && fetched < count) {
+            Object record = records[slot];
+            if (record != null) {
+                consumer.accept(readKey(keyAddresses[slot]), (R) record);
+                fetched++;
+            }
+            slot--;
+        }
+        return new IterationPointer[]{new IterationPointer(slot, slotCount)};
+    }
+
+    private void insert(Data key, R record) {
+        byte[] keyBytes = key.toByteArray();
+        long keyAddress = malloc.allocate(keyBlockSize(keyBytes.length));
+        SlotAssignmentResult assignment;
+        try {
+            assignment = index.ensure(hashOf(key));
+        } catch (RuntimeException | Error e) {
+            malloc.free(keyAddress, keyBlockSize(keyBytes.length));
+            throw e;
+        }
+        int slot = acquireSlot();
+        mem.putInt(keyAddress + SLOT_OFFSET, slot);
+        mem.putInt(keyAddress + KEY_LENGTH_OFFSET, keyBytes.length);
+        mem.copyFromByteArray(keyBytes, 0, keyAddress + KEY_OFFSET, keyBytes.length);
+
+        long chainHead = assignment.isNew() ? NULL_ADDRESS : mem.getLong(assignment.address());
+        mem.putLong(keyAddress + NEXT_OFFSET, chainHead);
+        mem.putLong(assignment.address(), keyAddress);
+
+        records[slot] = record;
+        keyAddresses[slot] = keyAddress;
+        size++;
+    }
+
+    private boolean remove(Data key) {
+        if (destroyed) {
+            return false;
+        }
+        long hash = hashOf(key);
+        long headAddress = index.get(hash);
+        if (headAddress == NULL_ADDRESS) {
+            return false;
+        }
+        byte[] keyBytes = key.toByteArray();
+        long previous = NULL_ADDRESS;
+        long current = mem.getLong(headAddress);
+        while (current != NULL_ADDRESS) {
+            long next = mem.getLong(current + NEXT_OFFSET);
+            if (keyEquals(current, keyBytes)) {
+                if (previous != NULL_ADDRESS) {
+                    mem.putLong(previous + NEXT_OFFSET, next);
+                } else if (next != NULL_ADDRESS) {
+                    mem.putLong(headAddress, next);
+                } else {
+                    index.remove(hash);
+                }
+                releaseSlot(mem.getInt(current + SLOT_OFFSET));
+                freeKeyBlock(current);
+                return true;
+            }
+            previous = current;
+            current = next;
+        }
+        return false;
+    }
+
+    private long findKeyBlock(Data key) {
+        if (destroyed) {
+            return NULL_ADDRESS;
+        }
+        long headAddress = index.get(hashOf(key));
+        if (headAddress == NULL_ADDRESS) {
+            return NULL_ADDRESS;
+        }
+        byte[] keyBytes = key.toByteArray();
+        long current = mem.getLong(headAddress);
+        while (current != NULL_ADDRESS) {
+            if (keyEquals(current, keyBytes)) {
+                return current;
+            }
+            current = mem.getLong(current + NEXT_OFFSET);
+        }
+        return NULL_ADDRESS;
+    }
+
+    private boolean keyEquals(long keyAddress, byte[] keyBytes) {
+        int length = mem.getInt(keyAddress + KEY_LENGTH_OFFSET);
+        if (length != keyBytes.length) {
+            return false;
+        }
+        long base = keyAddress + KEY_OFFSET;
+        boolean bigEndian = mem.isBigEndian();
+        int i = 0;
+        // key bytes start at an 8-byte aligned offset, so word-sized reads stay aligned
+        for (; i + LONG_SIZE_IN_BYTES <= length; i += LONG_SIZE_IN_BYTES) {
+            if (mem.getLong(base + i) != readLong(keyBytes, i, bigEndian)) {
+                return false;
+            }
+        }
+        for (; i < length; i++) {
+            if (mem.getByte(base + i) != keyBytes[i]) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private Data readKey(long keyAddress) {
+        int length = mem.getInt(keyAddress + KEY_LENGTH_OFFSET);
+        byte[] keyBytes = new byte[length];
+        mem.copyToByteArray(keyAddress + KEY_OFFSET, keyBytes, 0, length);
+        return new HeapData(keyBytes);
+    }
+
+    private void freeKeyBlock(long keyAddress) {
+        malloc.free(keyAddress, keyBlockSize(mem.getInt(keyAddress + KEY_LENGTH_OFFSET)));
+    }
+
+    private void freeAllKeyBlocks() {
+        for (int slot = 0; slot < highestSlot; slot++) {
+            if (records[slot] != null) {
+                freeKeyBlock(keyAddresses[slot]);
+            }
+        }
+        index.clear();
+        Arrays.fill(records, 0, highestSlot, null);
+        Arrays.fill(keyAddresses, 0, highestSlot, NULL_ADDRESS);
+        highestSlot = 0;
+        freeSlotCount = 0;
+        size = 0;
+    }
+
+    private int acquireSlot() {
+        if (freeSlotCount > 0) {
+            return freeSlots[--freeSlotCount];
+        }
+        if (highestSlot == records.length) {
+            int newCapacity = records.length << 1;
+            records = Arrays.copyOf(records, newCapacity);
+            keyAddresses = Arrays.copyOf(keyAddresses, newCapacity);
+        }
+        return highestSlot++;
+    }
+
+    private void releaseSlot(int slot) {
+        records[slot] = null;
+        keyAddresses[slot] = NULL_ADDRESS;
+        if (freeSlotCount == freeSlots.length) {
+            freeSlots = Arrays.copyOf(freeSlots, freeSlots.length << 1);
+        }
+        freeSlots[freeSlotCount++] = slot;
+        size--;
+    }
+
+    private static long keyBlockSize(int keyLength) {
+        return KEY_OFFSET + keyLength;
+    }
+
+    private static long hashOf(Data key) {
+        long hash = key.hash64();
+        return hash == UNASSIGNED_HASH ? UNASSIGNED_HASH + 1 : hash;
+    }
+
+    /**
+     * Walks the record table slot by slot. Slots never move, so the iterator
+     * tolerates the mutations of the storage done between its steps.
+     */
+    private final class SlotIterator implements Iterator<Map.Entry<Data, R>> {
+
+        private int slot;
+        private Map.Entry<Data, R> next;
+
+        @Override
+        public boolean hasNext() {
+            if (next != null) {
+                return true;
+            }
+            while (slot < highestSlot) {
+                int current = slot++;
+                Object record = records[current];
+                if (record != null) {
+                    next = new AbstractMap.SimpleImmutableEntry<>(readKey(keyAddresses[current]), (R) record);
+                    return true;
+                }
+            }
+            return false;
+        }
+
+        @Override
+        public Map.Entry<Data, R> next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<Data, R> entry = next;
+            next = null;
+            return entry;
+        }
+    }
+}
@@ -42,6 +42,7 @@ import com.hazelcast.spi.exception.RetryableHazelcastException;
 import com.hazelcast.spi.merge.SplitBrainMergePolicy;
 import com.hazelcast.spi.merge.SplitBrainMergeTypes.MapMergeTypes;
 import com.hazelcast.wan.impl.CallerProvenance;
+import com.hazelcast.wan.impl.merkletree.MerkleTree;
 
 import javax.annotation.Nonnull;
 import javax.annotation.Nullable;
@@ -59,6 +60,22 @@ public interface RecordStore<R extends Record> {
 
     ExpirySystem getExpirySystem();
 
+    /**
+     * @return the columnar copy of the values of this record store or
+     * {@code null} if the map doesn't keep one
+     */
+    default ColumnarStore getColumnarStore() {
+        return null;
+    }
+
+    /**
+     * @return the Merkle tree of the entries of this record store or
+     * {@code null} if the map doesn't maintain one
+     */
+    default MerkleTree getMerkleTree() {
+        return null;
+    }
+
     LocalRecordStoreStats getLocalRecordStoreStats();
 
     String getName();
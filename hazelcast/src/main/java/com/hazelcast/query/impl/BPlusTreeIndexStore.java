@@ -0,0 +1,521 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.core.TypeConverter;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.OrderedIndexStore.IteratorFromBatch;
+
+import java.util.Iterator;
+import java.util.NavigableMap;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.stream.Stream;
+
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static com.hazelcast.query.impl.OrderedIndexStore.DATA_COMPARATOR;
+import static java.util.Collections.emptyIterator;
+import static java.util.Collections.emptySet;
+
+/**
+ * Store indexes rankly in a {@link ComparableBPlusTree}.
+ * <p>
+ * A drop-in alternative to {@link OrderedIndexStore}: the attribute values
+ * are kept in wide B+-tree nodes instead of a {@link ConcurrentSkipListMap},
+ * which gives denser memory layout and cheaper range scans on large indexes.
+ * <p>
+ * The tree itself is not thread-safe, it is guarded by the global lock of the
+ * store: updates hold the write lock, while lookups and range scans hold the
+ * read lock. The lazy SQL iterators copy the matching tree entries in small
+ * batches, taking the read lock only for the duration of a copy, and resume
+ * each batch after the last returned value, so they never block writers for
+ * longer than a single batch and stay valid across node splits and merges.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+public class BPlusTreeIndexStore extends BaseSingleValueIndexStore {
+
+    static final int ITERATOR_BATCH_SIZE = 64;
+
+    private final ComparableBPlusTree<NavigableMap<Data, QueryableEntry>> recordTree = new ComparableBPlusTree<>();
+
+    private final IndexFunctor<Comparable, QueryableEntry> addFunctor;
+    private final IndexFunctor<Comparable, Data> removeFunctor;
+
+    private volatile SortedMap<Data, QueryableEntry> recordsWithNullValue;
+
+    public BPlusTreeIndexStore(IndexCopyBehavior copyOn) {
+        super(copyOn, true);
+        assert copyOn != null;
+        if (copyOn == IndexCopyBehavior.COPY_ON_WRITE) {
+            addFunctor = new CopyOnWriteAddFunctor();
+            removeFunctor = new CopyOnWriteRemoveFunctor();
+            recordsWithNullValue = new TreeMap<>(DATA_COMPARATOR);
+        } else {
+            addFunctor = new AddFunctor();
+            removeFunctor = new RemoveFunctor();
+            recordsWithNullValue = new ConcurrentSkipListMap<>(DATA_COMPARATOR);
+        }
+    }
+
+    @Override
+    Object insertInternal(Comparable value, QueryableEntry record) {
+        return addFunctor.invoke(value, record);
+    }
+
+    @Override
+    Object removeInternal(Comparable value, Data recordKey) {
+        return removeFunctor.invoke(value, recordKey);
+    }
+
+    @Override
+    public Comparable canonicalizeQueryArgumentScalar(Comparable value) {
+        // We still need to canonicalize query arguments for ordered indexes to
+        // support InPredicate queries.
+        return Comparables.canonicalizeForHashLookup(value);
+    }
+
+    @Override
+    public Comparable canonicalizeScalarForStorage(Comparable value) {
+        // Returning the original value since ordered indexes are not supporting
+        // hash lookups on their stored values, so there is no need in providing
+        // canonical representations.
+        return value;
+    }
+
+    @Override
+    public void clear() {
+        takeWriteLock();
+        try {
+            recordsWithNullValue.clear();
+            recordTree.clear();
+        } finally {
+            releaseWriteLock();
+        }
+    }
+
+    @Override
+    public boolean isEvaluateOnly() {
+        return false;
+    }
+
+    @Override
+    public boolean canEvaluate(Class<? extends Predicate> predicateClass) {
+        return false;
+    }
+
+    @Override
+    public Set<QueryableEntry> evaluate(Predicate predicate, TypeConverter converter) {
+        throw new UnsupportedOperationException();
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(boolean descending) {
+        return new IteratorFromBatch(getSqlRecordIteratorBatch(descending));
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(Comparable value) {
+        return new IteratorFromBatch(getSqlRecordIteratorBatch(value));
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(Comparison comparison, Comparable searchedValue, boolean descending) {
+        return new IteratorFromBatch(getSqlRecordIteratorBatch(comparison, searchedValue, descending));
+    }
+
+    @Override
+    public Iterator<QueryableEntry> getSqlRecordIterator(
+        Comparable from,
+        boolean fromInclusive,
+        Comparable to,
+        boolean toInclusive,
+        boolean descending
+    ) {
+        return new IteratorFromBatch(getSqlRecordIteratorBatch(from, fromInclusive, to, toInclusive, descending));
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(Comparable value) {
+        if (value == NULL) {
+            return Stream.of(new IndexKeyEntries(value, recordsWithNullValue.values().iterator())).iterator();
+        } else {
+            NavigableMap<Data, QueryableEntry> entries = getRecordsOf(value);
+
+            if (entries == null) {
+                return emptyIterator();
+            } else {
+                return Stream.of(new IndexKeyEntries(value, entries.values().iterator())).iterator();
+            }
+        }
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(boolean descending) {
+        return new RangeIterator(null, false, null, false, descending, true);
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(
+            Comparison comparison,
+            Comparable searchedValue,
+            boolean descending
+    ) {
+        switch (comparison) {
+            case LESS:
+                return new RangeIterator(null, false, searchedValue, false, descending, false);
+            case LESS_OR_EQUAL:
+                return new RangeIterator(null, false, searchedValue, true, descending, false);
+            case GREATER:
+                return new RangeIterator(searchedValue, false, null, false, descending, false);
+            case GREATER_OR_EQUAL:
+                return new RangeIterator(searchedValue, true, null, false, descending, false);
+            default:
+                throw new IllegalArgumentException("Unrecognized comparison: " + comparison);
+        }
+    }
+
+    @Override
+    public Iterator<IndexKeyEntries> getSqlRecordIteratorBatch(
+            Comparable from,
+            boolean fromInclusive,
+            Comparable to,
+            boolean toInclusive,
+            boolean descending
+    ) {
+        int order = Comparables.compare(from, to);
+
+        if (order == 0) {
+            if (!fromInclusive || !toInclusive) {
+                return emptyIterator();
+            }
+            return getSqlRecordIteratorBatch(from);
+        } else if (order > 0) {
+            return emptyIterator();
+        }
+
+        return new RangeIterator(from, fromInclusive, to, toInclusive, descending, false);
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable value) {
+        takeReadLock();
+        try {
+            if (value == NULL) {
+                return toSingleResultSet(recordsWithNullValue);
+            } else {
+                return toSingleResultSet(recordTree.get(value));
+            }
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Set<Comparable> values) {
+        takeReadLock();
+        try {
+            MultiResultSet results = createMultiResultSet();
+            for (Comparable value : values) {
+                SortedMap<Data, QueryableEntry> records;
+                if (value == NULL) {
+                    records = recordsWithNullValue;
+                } else {
+                    records = recordTree.get(value);
+                }
+                if (records != null) {
+                    copyToMultiResultSet(results, records);
+                }
+            }
+            return results;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparison comparison, Comparable searchedValue) {
+        switch (comparison) {
+            case LESS:
+                return getRecordsInRange(null, false, searchedValue, false);
+            case LESS_OR_EQUAL:
+                return getRecordsInRange(null, false, searchedValue, true);
+            case GREATER:
+                return getRecordsInRange(searchedValue, false, null, false);
+            case GREATER_OR_EQUAL:
+                return getRecordsInRange(searchedValue, true, null, false);
+            default:
+                throw new IllegalArgumentException("Unrecognized comparison: " + comparison);
+        }
+    }
+
+    @Override
+    public Set<QueryableEntry> getRecords(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive) {
+        int order = Comparables.compare(from, to);
+        if (order == 0) {
+            if (!fromInclusive || !toInclusive) {
+                return emptySet();
+            }
+            return getRecords(from);
+        } else if (order > 0) {
+            return emptySet();
+        }
+        return getRecordsInRange(from, fromInclusive, to, toInclusive);
+    }
+
+    private Set<QueryableEntry> getRecordsInRange(Comparable from, boolean fromInclusive, Comparable to,
+                                                  boolean toInclusive) {
+        takeReadLock();
+        try {
+            MultiResultSet results = createMultiResultSet();
+            recordTree.forEach(from, fromInclusive, to, toInclusive,
+                    (value, records) -> copyToMultiResultSet(results, records));
+            return results;
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    private NavigableMap<Data, QueryableEntry> getRecordsOf(Comparable value) {
+        takeReadLock();
+        try {
+            return recordTree.get(value);
+        } finally {
+            releaseReadLock();
+        }
+    }
+
+    /**
+     * Adds entry to the given index map without copying it.
+     * Needs to be invoked in a thread-safe way.
+     *
+     * @see IndexCopyBehavior
+     */
+    private class AddFunctor implements IndexFunctor<Comparable, QueryableEntry> {
+
+        @Override
+        public Object invoke(Comparable value, QueryableEntry entry) {
+            if (value == NULL) {
+                return recordsWithNullValue.put(entry.getKeyData(), entry);
+            } else {
+                NavigableMap<Data, QueryableEntry> records = recordTree.get(value);
+                if (records == null) {
+                    records = new ConcurrentSkipListMap<>(DATA_COMPARATOR);
+                    recordTree.put(value, records);
+                }
+                return records.put(entry.getKeyData(), entry);
+            }
+        }
+
+    }
+
+    /**
+     * Adds entry to the given index map copying it to secure exclusive access.
+     * Needs to be invoked in a thread-safe way.
+     *
+     * @see IndexCopyBehavior
+     */
+    private class CopyOnWriteAddFunctor implements IndexFunctor<Comparable, QueryableEntry> {
+
+        @Override
+        public Object invoke(Comparable value, QueryableEntry entry) {
+            Object oldValue;
+            if (value == NULL) {
+                TreeMap<Data, QueryableEntry> copy = new TreeMap<>(recordsWithNullValue);
+                oldValue = copy.put(entry.getKeyData(), entry);
+                recordsWithNullValue = copy;
+            } else {
+                NavigableMap<Data, QueryableEntry> records = recordTree.get(value);
+                if (records == null) {
+                    records = new TreeMap<>(DATA_COMPARATOR);
+                }
+
+                records = new TreeMap<>(records);
+                oldValue = records.put(entry.getKeyData(), entry);
+
+                recordTree.put(value, records);
+            }
+            return oldValue;
+        }
+
+    }
+
+    /**
+     * Removes entry from the given index map without copying it.
+     * Needs to be invoked in a thread-safe way.
+     *
+     * @see IndexCopyBehavior
+     */
+    private class RemoveFunctor implements IndexFunctor<Comparable, Data> {
+
+        @Override
+        public Object invoke(Comparable value, Data indexKey) {
+            Object oldValue;
+            if (value == NULL) {
+                oldValue = recordsWithNullValue.remove(indexKey);
+            } else {
+                NavigableMap<Data, QueryableEntry> records = recordTree.get(value);
+                if (records != null) {
+                    oldValue = records.remove(indexKey);
+                    if (records.isEmpty()) {
+                        recordTree.remove(value);
+                    }
+                } else {
+                    oldValue = null;
+                }
+            }
+
+            return oldValue;
+        }
+
+    }
+
+    /**
+     * Removes entry from the given index map copying it to secure exclusive access.
+     * Needs to be invoked in a thread-safe way.
+     *
+     * @see IndexCopyBehavior
+     */
+    private class CopyOnWriteRemoveFunctor implements IndexFunctor<Comparable, Data> {
+
+        @Override
+        public Object invoke(Comparable value, Data indexKey) {
+            Object oldValue;
+            if (value == NULL) {
+                TreeMap<Data, QueryableEntry> copy = new TreeMap<>(recordsWithNullValue);
+                oldValue = copy.remove(indexKey);
+                recordsWithNullValue = copy;
+            } else {
+                NavigableMap<Data, QueryableEntry> records = recordTree.get(value);
+                if (records != null) {
+                    records = new TreeMap<>(records);
+                    oldValue = records.remove(indexKey);
+
+                    if (records.isEmpty()) {
+                        recordTree.remove(value);
+                    } else {
+                        recordTree.put(value, records);
+                    }
+                } else {
+                    oldValue = null;
+                }
+            }
+
+            return oldValue;
+        }
+
+    }
+
+    /**
+     * Lazily iterates over the index values in the given range, copying them
+     * from the tree in batches of {@link #ITERATOR_BATCH_SIZE} entries.
+     * <p>
+     * The group of records with {@code null} values can be appended to the
+     * output: it goes first for the ascending order and last for the
+     * descending one.
+     */
+    private final class RangeIterator implements Iterator<IndexKeyEntries> {
+
+        private final Comparable[] keys = new Comparable[ITERATOR_BATCH_SIZE];
+        private final Object[] values = new Object[ITERATOR_BATCH_SIZE];
+        private final boolean descending;
+
+        private Comparable from;
+        private boolean fromInclusive;
+        private Comparable to;
+        private boolean toInclusive;
+
+        private boolean nullsPending;
+        private boolean exhausted;
+        private int position;
+        private int count;
+
+        private RangeIterator(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive,
+                              boolean descending, boolean includeNulls) {
+            this.from = from;
+            this.fromInclusive = fromInclusive;
+            this.to = to;
+            this.toInclusive = toInclusive;
+            this.descending = descending;
+            this.nullsPending = includeNulls;
+        }
+
+        @Override
+        public boolean hasNext() {
+            if (nullsPending && !descending) {
+                return true;
+            }
+            if (position < count) {
+                return true;
+            }
+            if (!exhausted) {
+                fetchBatch();
+                if (position < count) {
+                    return true;
+                }
+            }
+            return nullsPending;
+        }
+
+        @Override
+        public IndexKeyEntries next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            if (nullsPending && (!descending || exhausted && position >= count)) {
+                nullsPending = false;
+                return new IndexKeyEntries(null, recordsWithNullValue.values().iterator());
+            }
+
+            Comparable key = keys[position];
+            NavigableMap<Data, QueryableEntry> records = (NavigableMap<Data, QueryableEntry>) values[position];
+            keys[position] = null;
+            values[position++] = null;
+            Iterator<QueryableEntry> entries = descending
+                    ? records.descendingMap().values().iterator()
+                    : records.values().iterator();
+            return new IndexKeyEntries(key, entries);
+        }
+
+        private void fetchBatch() {
+            takeReadLock();
+            try {
+                count = recordTree.copyRange(from, fromInclusive, to, toInclusive, descending, keys, values);
+            } finally {
+                releaseReadLock();
+            }
+            position = 0;
+
+            if (count < keys.length) {
+                exhausted = true;
+            }
+            if (count > 0) {
+                // resume the next batch right after the last copied value
+                if (descending) {
+                    to = keys[count - 1];
+                    toInclusive = false;
+                } else {
+                    from = keys[count - 1];
+                    fromInclusive = false;
+                }
+            }
+        }
+    }
+}
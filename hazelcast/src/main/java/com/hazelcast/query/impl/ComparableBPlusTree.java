@@ -0,0 +1,495 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import java.util.Arrays;
+import java.util.function.BiConsumer;
+
+/**
+ * A B+-tree keyed by {@link Comparable}s ordered with {@link Comparables#COMPARATOR}.
+ * <p>
+ * Keys and values of a node are kept in plain arrays, so a lookup does a
+ * handful of binary searches over contiguous memory instead of chasing the
+ * per-key nodes of a skip list, and new keys only allocate when a node splits.
+ * Leaves are doubly linked to support range scans in both directions.
+ * <p>
+ * The tree is not thread-safe. Writers must be serialized and readers must
+ * not run concurrently with writers, see {@link BPlusTreeIndexStore} for the
+ * locking scheme used by the index.
+ *
+ * @param <V> the type of the values.
+ */
+@SuppressWarnings({"rawtypes", "unchecked"})
+final class ComparableBPlusTree<V> {
+
+    static final int DEFAULT_NODE_CAPACITY = 64;
+
+    private final int nodeCapacity;
+    private final int minNodeSize;
+
+    private Node root;
+    private int size;
+
+    // results of the recursive put/remove calls
+    private Object replacedValue;
+    private Comparable splitKey;
+    private Node splitNode;
+
+    ComparableBPlusTree() {
+        this(DEFAULT_NODE_CAPACITY);
+    }
+
+    ComparableBPlusTree(int nodeCapacity) {
+        assert nodeCapacity >= 4 : "Node capacity must be at least 4, but was " + nodeCapacity;
+        this.nodeCapacity = nodeCapacity;
+        this.minNodeSize = nodeCapacity / 4;
+        this.root = new Leaf(nodeCapacity);
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    void clear() {
+        root = new Leaf(nodeCapacity);
+        size = 0;
+    }
+
+    V get(Comparable key) {
+        Leaf leaf = findLeaf(key);
+        int index = leaf.indexOf(key);
+        return index >= 0 ? (V) leaf.values[index] : null;
+    }
+
+    /**
+     * Associates the given value with the given key.
+     *
+     * @return the value previously associated with the key or {@code null}
+     */
+    V put(Comparable key, V value) {
+        assert key != null && value != null;
+        replacedValue = null;
+        splitNode = null;
+
+        insert(root, key, value);
+        if (splitNode != null) {
+            Inner newRoot = new Inner(nodeCapacity);
+            newRoot.keys[0] = splitKey;
+            newRoot.children[0] = root;
+            newRoot.children[1] = splitNode;
+            newRoot.size = 1;
+            root = newRoot;
+            splitNode = null;
+            splitKey = null;
+        }
+
+        V result = (V) replacedValue;
+        replacedValue = null;
+        return result;
+    }
+
+    /**
+     * Removes the mapping of the given key.
+     *
+     * @return the value previously associated with the key or {@code null}
+     */
+    V remove(Comparable key) {
+        replacedValue = null;
+
+        delete(root, key);
+        if (root instanceof Inner && root.size == 0) {
+            root = ((Inner) root).children[0];
+        }
+
+        V result = (V) replacedValue;
+        replacedValue = null;
+        return result;
+    }
+
+    /**
+     * Visits the entries with keys in the given range in the ascending order.
+     * A {@code null} bound stands for an unbounded side of the range.
+     */
+    void forEach(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive,
+                 BiConsumer<Comparable, V> consumer) {
+        Leaf leaf = from == null ? leftmostLeaf() : findLeaf(from);
+        int index = from == null ? 0 : startIndexAscending(leaf, from, fromInclusive);
+        while (leaf != null) {
+            for (; index < leaf.size; ++index) {
+                Comparable key = leaf.keys[index];
+                if (to != null && isAfter(key, to, toInclusive)) {
+                    return;
+                }
+                consumer.accept(key, (V) leaf.values[index]);
+            }
+            leaf = leaf.next;
+            index = 0;
+        }
+    }
+
+    /**
+     * Copies up to {@code keys.length} entries with keys in the given range
+     * to the given arrays, in the ascending or descending order. A {@code null}
+     * bound stands for an unbounded side of the range.
+     * <p>
+     * A range scan may be resumed by passing the last copied key as the
+     * exclusive starting bound of the next call, so the scan survives any
+     * structural modification done between the calls.
+     *
+     * @return the number of copied entries, {@code 0} if the range is exhausted
+     */
+    @SuppressWarnings({"checkstyle:cyclomaticcomplexity", "checkstyle:npathcomplexity"})
+    int copyRange(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive, boolean descending,
+                  Comparable[] keys, Object[] values) {
+        int count = 0;
+        if (descending) {
+            Leaf leaf = to == null ? rightmostLeaf() : findLeaf(to);
+            int index = to == null ? leaf.size - 1 : startIndexDescending(leaf, to, toInclusive);
+            while (leaf != null && count < keys.length) {
+                if (index < 0) {
+                    leaf = leaf.prev;
+                    index = leaf == null ? -1 : leaf.size - 1;
+                    continue;
+                }
+                Comparable key = leaf.keys[index];
+                if (from != null && isBefore(key, from, fromInclusive)) {
+                    break;
+                }
+                keys[count] = key;
+                values[count++] = leaf.values[index--];
+            }
+        } else {
+            Leaf leaf = from == null ? leftmostLeaf() : findLeaf(from);
+            int index = from == null ? 0 : startIndexAscending(leaf, from, fromInclusive);
+            while (leaf != null && count < keys.length) {
+                if (index >= leaf.size) {
+                    leaf = leaf.next;
+                    index = 0;
+                    continue;
+                }
+                Comparable key = leaf.keys[index];
+                if (to != null && isAfter(key, to, toInclusive)) {
+                    break;
+                }
+                keys[count] = key;
+                values[count++] = leaf.values[index++];
+            }
+        }
+        return count;
+    }
+
+    /**
+     * @return the height of the tree, a tree with a single leaf has height 1.
+     */
+    int height() {
+        int height = 1;
+        for (Node node = root; node instanceof Inner; node = ((Inner) node).children[0]) {
+            height++;
+        }
+        return height;
+    }
+
+    private static boolean isAfter(Comparable key, Comparable to, boolean toInclusive) {
+        int order = Comparables.compare(key, to);
+        return order > 0 || order == 0 && !toInclusive;
+    }
+
+    private static boolean isBefore(Comparable key, Comparable from, boolean fromInclusive) {
+        int order = Comparables.compare(key, from);
+        return order < 0 || order == 0 && !fromInclusive;
+    }
+
+    private static int startIndexAscending(Leaf leaf, Comparable from, boolean fromInclusive) {
+        int index = leaf.indexOf(from);
+        if (index >= 0) {
+            return fromInclusive ? index : index + 1;
+        }
+        return -index - 1;
+    }
+
+    private static int startIndexDescending(Leaf leaf, Comparable to, boolean toInclusive) {
+        int index = leaf.indexOf(to);
+        if (index >= 0) {
+            return toInclusive ? index : index - 1;
+        }
+        return -index - 2;
+    }
+
+    private Leaf findLeaf(Comparable key) {
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            node = inner.children[inner.childIndexOf(key)];
+        }
+        return (Leaf) node;
+    }
+
+    private Leaf leftmostLeaf() {
+        Node node = root;
+        while (node instanceof Inner) {
+            node = ((Inner) node).children[0];
+        }
+        return (Leaf) node;
+    }
+
+    private Leaf rightmostLeaf() {
+        Node node = root;
+        while (node instanceof Inner) {
+            Inner inner = (Inner) node;
+            node = inner.children[inner.size];
+        }
+        return (Leaf) node;
+    }
+
+    private void insert(Node node, Comparable key, Object value) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int index = leaf.indexOf(key);
+            if (index >= 0) {
+                replacedValue = leaf.values[index];
+                leaf.values[index] = value;
+                return;
+            }
+            leaf.insertAt(-index - 1, key, value);
+            size++;
+            if (leaf.size > nodeCapacity) {
+                splitLeaf(leaf);
+            }
+            return;
+        }
+
+        Inner inner = (Inner) node;
+        int childIndex = inner.childIndexOf(key);
+        insert(inner.children[childIndex], key, value);
+        if (splitNode != null) {
+            inner.insertChildAt(childIndex, splitKey, splitNode);
+            splitNode = null;
+            splitKey = null;
+            if (inner.size > nodeCapacity) {
+                splitInner(inner);
+            }
+        }
+    }
+
+    private void splitLeaf(Leaf leaf) {
+        int mid = leaf.size >>> 1;
+        Leaf right = new Leaf(nodeCapacity);
+        int rightSize = leaf.size - mid;
+        System.arraycopy(leaf.keys, mid, right.keys, 0, rightSize);
+        System.arraycopy(leaf.values, mid, right.values, 0, rightSize);
+        Arrays.fill(leaf.keys, mid, leaf.size, null);
+        Arrays.fill(leaf.values, mid, leaf.size, null);
+        right.size = rightSize;
+        leaf.size = mid;
+
+        right.next = leaf.next;
+        right.prev = leaf;
+        if (leaf.next != null) {
+            leaf.next.prev = right;
+        }
+        leaf.next = right;
+
+        splitKey = right.keys[0];
+        splitNode = right;
+    }
+
+    private void splitInner(Inner inner) {
+        int mid = inner.size >>> 1;
+        Inner right = new Inner(nodeCapacity);
+        int rightSize = inner.size - mid - 1;
+        System.arraycopy(inner.keys, mid + 1, right.keys, 0, rightSize);
+        System.arraycopy(inner.children, mid + 1, right.children, 0, rightSize + 1);
+        right.size = rightSize;
+
+        splitKey = inner.keys[mid];
+        splitNode = right;
+
+        Arrays.fill(inner.keys, mid, inner.size, null);
+        Arrays.fill(inner.children, mid + 1, inner.size + 1, null);
+        inner.size = mid;
+    }
+
+    private void delete(Node node, Comparable key) {
+        if (node instanceof Leaf) {
+            Leaf leaf = (Leaf) node;
+            int index = leaf.indexOf(key);
+            if (index >= 0) {
+                replacedValue = leaf.values[index];
+                leaf.removeAt(index);
+                size--;
+            }
+            return;
+        }
+
+        Inner inner = (Inner) node;
+        int childIndex = inner.childIndexOf(key);
+        Node child = inner.children[childIndex];
+        delete(child, key);
+        if (replacedValue != null && child.size < minNodeSize) {
+            rebalance(inner, childIndex);
+        }
+    }
+
+    /**
+     * Merges an underflowing child with one of its siblings if their
+     * contents fit into a single node. Underflowing nodes which cannot be
+     * merged are left as they are, which keeps the tree valid at the cost of
+     * a lower fill factor.
+     */
+    private void rebalance(Inner parent, int childIndex) {
+        if (childIndex > 0 && canMerge(parent, childIndex - 1)) {
+            merge(parent, childIndex - 1);
+        } else if (childIndex < parent.size && canMerge(parent, childIndex)) {
+            merge(parent, childIndex);
+        }
+    }
+
+    private boolean canMerge(Inner parent, int leftIndex) {
+        Node left = parent.children[leftIndex];
+        Node right = parent.children[leftIndex + 1];
+        if (left instanceof Leaf) {
+            return left.size + right.size <= nodeCapacity;
+        }
+        // the separator moves down into the merged inner node
+        return left.size + right.size + 1 <= nodeCapacity;
+    }
+
+    private void merge(Inner parent, int leftIndex) {
+        Node left = parent.children[leftIndex];
+        Node right = parent.children[leftIndex + 1];
+        if (left instanceof Leaf) {
+            Leaf leftLeaf = (Leaf) left;
+            Leaf rightLeaf = (Leaf) right;
+            System.arraycopy(rightLeaf.keys, 0, leftLeaf.keys, leftLeaf.size, rightLeaf.size);
+            System.arraycopy(rightLeaf.values, 0, leftLeaf.values, leftLeaf.size, rightLeaf.size);
+            leftLeaf.size += rightLeaf.size;
+            leftLeaf.next = rightLeaf.next;
+            if (rightLeaf.next != null) {
+                rightLeaf.next.prev = leftLeaf;
+            }
+        } else {
+            Inner leftInner = (Inner) left;
+            Inner rightInner = (Inner) right;
+            leftInner.keys[leftInner.size] = parent.keys[leftIndex];
+            System.arraycopy(rightInner.keys, 0, leftInner.keys, leftInner.size + 1, rightInner.size);
+            System.arraycopy(rightInner.children, 0, leftInner.children, leftInner.size + 1, rightInner.size + 1);
+            leftInner.size += rightInner.size + 1;
+        }
+        parent.removeChildAt(leftIndex);
+    }
+
+    private abstract static class Node {
+
+        final Comparable[] keys;
+        int size;
+
+        Node(int nodeCapacity) {
+            // one extra slot lets a node overflow before it is split
+            this.keys = new Comparable[nodeCapacity + 1];
+        }
+
+        final int indexOf(Comparable key) {
+            int low = 0;
+            int high = size - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int order = Comparables.compare(keys[mid], key);
+                if (order < 0) {
+                    low = mid + 1;
+                } else if (order > 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+    }
+
+    private static final class Leaf extends Node {
+
+        final Object[] values;
+        Leaf next;
+        Leaf prev;
+
+        Leaf(int nodeCapacity) {
+            super(nodeCapacity);
+            this.values = new Object[nodeCapacity + 1];
+        }
+
+        void insertAt(int index, Comparable key, Object value) {
+            System.arraycopy(keys, index, keys, index + 1, size - index);
+            System.arraycopy(values, index, values, index + 1, size - index);
+            keys[index] = key;
+            values[index] = value;
+            size++;
+        }
+
+        void removeAt(int index) {
+            int tail = size - index - 1;
+            System.arraycopy(keys, index + 1, keys, index, tail);
+            System.arraycopy(values, index + 1, values, index, tail);
+            size--;
+            keys[size] = null;
+            values[size] = null;
+        }
+    }
+
+    /**
+     * An inner node with {@code size} separator keys and {@code size + 1}
+     * children. The child at index {@code i + 1} holds the keys greater than
+     * or equal to the separator at index {@code i}.
+     */
+    private static final class Inner extends Node {
+
+        final Node[] children;
+
+        Inner(int nodeCapacity) {
+            super(nodeCapacity);
+            this.children = new Node[nodeCapacity + 2];
+        }
+
+        int childIndexOf(Comparable key) {
+            int index = indexOf(key);
+            return index >= 0 ? index + 1 : -index - 1;
+        }
+
+        void insertChildAt(int childIndex, Comparable separator, Node rightChild) {
+            System.arraycopy(keys, childIndex, keys, childIndex + 1, size - childIndex);
+            System.arraycopy(children, childIndex + 1, children, childIndex + 2, size - childIndex);
+            keys[childIndex] = separator;
+            children[childIndex + 1] = rightChild;
+            size++;
+        }
+
+        /**
+         * Removes the separator at the given index together with the child
+         * to the right of it.
+         */
+        void removeChildAt(int separatorIndex) {
+            System.arraycopy(keys, separatorIndex + 1, keys, separatorIndex, size - separatorIndex - 1);
+            System.arraycopy(children, separatorIndex + 2, children, separatorIndex + 1, size - separatorIndex - 1);
+            size--;
+            keys[size] = null;
+            children[size + 1] = null;
+        }
+    }
+}
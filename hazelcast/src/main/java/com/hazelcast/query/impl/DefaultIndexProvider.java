@@ -25,6 +25,21 @@ import com.hazelcast.query.impl.getters.Extractors;
  * Provides on-heap indexes.
  */
 public class DefaultIndexProvider implements IndexProvider {
+
+    private final boolean bPlusTreeSortedIndexes;
+
+    public DefaultIndexProvider() {
+        this(false);
+    }
+
+    /**
+     * @param bPlusTreeSortedIndexes {@code true} to back the sorted indexes
+     *                               with a {@link BPlusTreeIndexStore}
+     */
+    public DefaultIndexProvider(boolean bPlusTreeSortedIndexes) {
+        this.bPlusTreeSortedIndexes = bPlusTreeSortedIndexes;
+    }
+
     @Override
     public InternalIndex createIndex(
             IndexConfig config,
@@ -33,6 +48,9 @@ public class DefaultIndexProvider implements IndexProvider {
             IndexCopyBehavior copyBehavior,
             PerIndexStats stats,
             int partitionCount) {
+        if (bPlusTreeSortedIndexes) {
+            return new BPlusTreeIndexImpl(config, ss, extractors, copyBehavior, stats, partitionCount);
+        }
         return new IndexImpl(config, ss, extractors, copyBehavior, stats, partitionCount);
     }
 }
@@ -0,0 +1,321 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.columnar;
+
+import com.hazelcast.nio.serialization.FieldKind;
+import com.hazelcast.query.impl.AttributeType;
+
+import java.util.Arrays;
+
+/**
+ * The values of a single primitive field of all rows of a columnar store.
+ * <p>
+ * Boolean and integral fields are kept widened to {@code long}, floating point
+ * fields widened to {@code double}. Both conversions are exact, so filters and
+ * aggregations see the same values they would see on the deserialized objects.
+ * <p>
+ * Rows of a chunk are selected by a bitmask: bit {@code i} of the selection
+ * refers to row {@code from + i}. Chunks contain at most {@link #CHUNK_SIZE} rows.
+ * <p>
+ * The class is not thread-safe; the owner of the column is responsible for
+ * guarding the column against concurrent mutations.
+ */
+public final class Column {
+
+    /**
+     * The maximum number of rows processed at once by filters and aggregators.
+     */
+    public static final int CHUNK_SIZE = 1024;
+
+    /**
+     * The number of {@code long} words needed by the selection of a chunk.
+     */
+    public static final int SELECTION_LENGTH = CHUNK_SIZE / Long.SIZE;
+
+    private static final int BIT_SHIFT = 6;
+
+    private final String name;
+    private final FieldKind kind;
+    private final boolean floatingPoint;
+    private long[] longs;
+    private double[] doubles;
+
+    public Column(String name, FieldKind kind, int capacity) {
+        if (!isSupported(kind)) {
+            throw new IllegalArgumentException("Unsupported field kind: " + kind);
+        }
+        this.name = name;
+        this.kind = kind;
+        this.floatingPoint = kind == FieldKind.FLOAT || kind == FieldKind.DOUBLE;
+        if (floatingPoint) {
+            this.doubles = new double[capacity];
+        } else {
+            this.longs = new long[capacity];
+        }
+    }
+
+    /**
+     * Checks if values of the given field kind can be stored in a column.
+     * Only non-nullable primitive kinds are supported.
+     */
+    public static boolean isSupported(FieldKind kind) {
+        switch (kind) {
+            case BOOLEAN:
+            case BYTE:
+            case SHORT:
+            case INT:
+            case LONG:
+            case FLOAT:
+            case DOUBLE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    public String getName() {
+        return name;
+    }
+
+    public FieldKind getKind() {
+        return kind;
+    }
+
+    /**
+     * @return {@code true} if the values are kept as {@code double}s,
+     * {@code false} if they are kept as {@code long}s
+     */
+    public boolean isFloatingPoint() {
+        return floatingPoint;
+    }
+
+    /**
+     * @return {@code true} if the column holds {@code byte}, {@code short},
+     * {@code int} or {@code long} values
+     */
+    public boolean isIntegral() {
+        return !floatingPoint && kind != FieldKind.BOOLEAN;
+    }
+
+    /**
+     * Returns the attribute type of the deserialized values of this column,
+     * which decides how predicate operands are converted before comparison.
+     */
+    public AttributeType getAttributeType() {
+        switch (kind) {
+            case BOOLEAN:
+                return AttributeType.BOOLEAN;
+            case BYTE:
+                return AttributeType.BYTE;
+            case SHORT:
+                return AttributeType.SHORT;
+            case INT:
+                return AttributeType.INTEGER;
+            case LONG:
+                return AttributeType.LONG;
+            case FLOAT:
+                return AttributeType.FLOAT;
+            case DOUBLE:
+                return AttributeType.DOUBLE;
+            default:
+                throw new IllegalStateException("Unexpected field kind: " + kind);
+        }
+    }
+
+    /**
+     * Returns the class of the deserialized values of this column.
+     */
+    Class<?> getValueClass() {
+        switch (kind) {
+            case BOOLEAN:
+                return Boolean.class;
+            case BYTE:
+                return Byte.class;
+            case SHORT:
+                return Short.class;
+            case INT:
+                return Integer.class;
+            case LONG:
+                return Long.class;
+            case FLOAT:
+                return Float.class;
+            case DOUBLE:
+                return Double.class;
+            default:
+                throw new IllegalStateException("Unexpected field kind: " + kind);
+        }
+    }
+
+    public long getLong(int row) {
+        return longs[row];
+    }
+
+    public double getDouble(int row) {
+        return doubles[row];
+    }
+
+    public void setLong(int row, long value) {
+        longs[row] = value;
+    }
+
+    public void setDouble(int row, double value) {
+        doubles[row] = value;
+    }
+
+    /**
+     * Copies the value of row {@code from} to row {@code to}.
+     */
+    public void move(int from, int to) {
+        if (floatingPoint) {
+            doubles[to] = doubles[from];
+        } else {
+            longs[to] = longs[from];
+        }
+    }
+
+    /**
+     * Makes sure the column can hold at least {@code capacity} rows.
+     */
+    public void ensureCapacity(int capacity) {
+        if (floatingPoint) {
+            if (doubles.length < capacity) {
+                doubles = Arrays.copyOf(doubles, capacity);
+            }
+        } else if (longs.length < capacity) {
+            longs = Arrays.copyOf(longs, capacity);
+        }
+    }
+
+    /**
+     * Selects the rows of the chunk whose {@code long} value lies in the given
+     * inclusive range.
+     */
+    void selectLongRange(int from, int count, long[] selection, long min, long max) {
+        long[] values = longs;
+        for (int i = 0; i < count; i++) {
+            long value = values[from + i];
+            if (value >= min && value <= max) {
+                selection[i >>> BIT_SHIFT] |= 1L << i;
+            }
+        }
+    }
+
+    /**
+     * Selects the rows of the chunk whose {@code long} value differs from the
+     * given one.
+     */
+    void selectLongNotEqual(int from, int count, long[] selection, long excluded) {
+        long[] values = longs;
+        for (int i = 0; i < count; i++) {
+            if (values[from + i] != excluded) {
+                selection[i >>> BIT_SHIFT] |= 1L << i;
+            }
+        }
+    }
+
+    /**
+     * Selects the rows of the chunk whose {@code double} value lies in the given
+     * range. The values are ordered as by {@link Double#compare}, which is the
+     * ordering predicates use for deserialized {@link Double} and {@link Float}
+     * values.
+     */
+    void selectDoubleRange(int from, int count, long[] selection,
+                           double min, boolean minInclusive, double max, boolean maxInclusive) {
+        double[] values = doubles;
+        int minOrder = minInclusive ? 0 : 1;
+        int maxOrder = maxInclusive ? 0 : -1;
+        for (int i = 0; i < count; i++) {
+            double value = values[from + i];
+            if (Double.compare(value, min) >= minOrder && Double.compare(value, max) <= maxOrder) {
+                selection[i >>> BIT_SHIFT] |= 1L << i;
+            }
+        }
+    }
+
+    /**
+     * Selects the rows of the chunk whose {@code double} value differs from the
+     * given one, as defined by {@link Double#equals}.
+     */
+    void selectDoubleNotEqual(int from, int count, long[] selection, double excluded) {
+        double[] values = doubles;
+        for (int i = 0; i < count; i++) {
+            if (Double.compare(values[from + i], excluded) != 0) {
+                selection[i >>> BIT_SHIFT] |= 1L << i;
+            }
+        }
+    }
+
+    /**
+     * Returns the sum of the selected {@code long} values of the chunk.
+     */
+    public long sumLongs(int from, int count, long[] selection) {
+        long[] values = longs;
+        long sum = 0;
+        for (int word = 0, words = words(count); word < words; word++) {
+            long bits = selection[word];
+            int base = from + (word << BIT_SHIFT);
+            if (bits == -1L) {
+                for (int i = base; i < base + Long.SIZE; i++) {
+                    sum += values[i];
+                }
+            } else {
+                while (bits != 0) {
+                    sum += values[base + Long.numberOfTrailingZeros(bits)];
+                    bits &= bits - 1;
+                }
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Adds the selected values of the chunk, converted to {@code double}, to the
+     * given sum one by one, in row order.
+     */
+    public double sumDoubles(int from, int count, long[] selection, double sum) {
+        for (int word = 0, words = words(count); word < words; word++) {
+            long bits = selection[word];
+            int base = from + (word << BIT_SHIFT);
+            while (bits != 0) {
+                int row = base + Long.numberOfTrailingZeros(bits);
+                sum += floatingPoint ? doubles[row] : (double) longs[row];
+                bits &= bits - 1;
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Returns the number of selected rows of a chunk of {@code count} rows.
+     */
+    public static int countSelected(int count, long[] selection) {
+        int selected = 0;
+        for (int word = 0, words = words(count); word < words; word++) {
+            selected += Long.bitCount(selection[word]);
+        }
+        return selected;
+    }
+
+    static int words(int count) {
+        return (count + Long.SIZE - 1) >>> BIT_SHIFT;
+    }
+
+    @Override
+    public String toString() {
+        return "Column{name='" + name + "', kind=" + kind + '}';
+    }
+}
@@ -0,0 +1,37 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.columnar;
+
+/**
+ * A predicate compiled to run over a chunk of column rows at once.
+ *
+ * @see ColumnFilters#compile
+ */
+@FunctionalInterface
+public interface ColumnFilter {
+
+    /**
+     * Computes the selection of the rows {@code [from, from + count)}. Bit
+     * {@code i} of the selection is set if row {@code from + i} matches the
+     * filter, bits at or above {@code count} are cleared.
+     *
+     * @param from      the first row of the chunk
+     * @param count     the number of rows in the chunk, at most {@link Column#CHUNK_SIZE}
+     * @param selection the selection to overwrite, at least {@link Column#SELECTION_LENGTH} long
+     */
+    void select(int from, int count, long[] selection);
+}
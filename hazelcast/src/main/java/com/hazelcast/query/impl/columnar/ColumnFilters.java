@@ -0,0 +1,299 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.columnar;
+
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.impl.predicates.AndPredicate;
+import com.hazelcast.query.impl.predicates.BetweenPredicate;
+import com.hazelcast.query.impl.predicates.BoundedRangePredicate;
+import com.hazelcast.query.impl.predicates.EqualPredicate;
+import com.hazelcast.query.impl.predicates.FalsePredicate;
+import com.hazelcast.query.impl.predicates.GreaterLessPredicate;
+import com.hazelcast.query.impl.predicates.NotEqualPredicate;
+import com.hazelcast.query.impl.predicates.NotPredicate;
+import com.hazelcast.query.impl.predicates.OrPredicate;
+import com.hazelcast.query.impl.predicates.RangePredicate;
+import com.hazelcast.query.impl.predicates.SqlPredicate;
+import com.hazelcast.query.impl.predicates.TruePredicate;
+
+import java.util.Arrays;
+import java.util.function.Function;
+
+import static com.hazelcast.query.QueryConstants.KEY_ATTRIBUTE_NAME;
+import static com.hazelcast.query.QueryConstants.THIS_ATTRIBUTE_NAME;
+import static com.hazelcast.query.impl.IndexUtils.canonicalizeAttribute;
+import static com.hazelcast.query.impl.columnar.Column.words;
+import static com.hazelcast.query.impl.predicates.PredicateUtils.isNull;
+
+/**
+ * Compiles predicates to {@link ColumnFilter column filters}.
+ * <p>
+ * Only predicates whose result on the columns is guaranteed to be the same as
+ * the result of {@link Predicate#apply} on the deserialized entries are
+ * compiled: equality, inequality and range comparisons of top-level value
+ * attributes with operands that convert to the exact type of the attribute,
+ * and conjunctions, disjunctions and negations of those. For everything else
+ * {@link #compile} returns {@code null} and the caller is expected to fall back
+ * to the entry by entry evaluation.
+ */
+public final class ColumnFilters {
+
+    private static final ColumnFilter TRUE = (from, count, selection) -> {
+        int words = words(count);
+        Arrays.fill(selection, 0, words, -1L);
+        clearTail(count, selection);
+    };
+
+    private static final ColumnFilter FALSE = (from, count, selection) -> Arrays.fill(selection, 0, words(count), 0L);
+
+    private ColumnFilters() {
+    }
+
+    /**
+     * Returns the name of the column that holds the values of the given
+     * attribute or {@code null} if the attribute is not a top-level attribute
+     * of the map value.
+     */
+    public static String toColumnName(String attribute) {
+        if (attribute == null) {
+            return null;
+        }
+        String name = canonicalizeAttribute(attribute);
+        if (name.isEmpty()
+                || name.indexOf('.') >= 0
+                || name.indexOf('[') >= 0
+                || name.startsWith(KEY_ATTRIBUTE_NAME.value())
+                || name.equals(THIS_ATTRIBUTE_NAME.value())) {
+            return null;
+        }
+        return name;
+    }
+
+    /**
+     * Compiles the given predicate.
+     * <p>
+     * The returned filter keeps intermediary selections, so it can't be used
+     * by multiple threads concurrently.
+     *
+     * @param predicate the predicate to compile
+     * @param columns   resolves column names to columns, returns {@code null}
+     *                  for unknown names
+     * @return the compiled filter or {@code null} if the predicate can't be
+     * evaluated on the columns
+     */
+    @SuppressWarnings({"checkstyle:cyclomaticcomplexity", "checkstyle:returncount"})
+    public static ColumnFilter compile(Predicate predicate, Function<String, Column> columns) {
+        if (predicate instanceof TruePredicate) {
+            return TRUE;
+        }
+        if (predicate instanceof FalsePredicate) {
+            return FALSE;
+        }
+        if (predicate instanceof SqlPredicate) {
+            return compile(((SqlPredicate) predicate).getPredicate(), columns);
+        }
+        if (predicate instanceof AndPredicate) {
+            return compileAll(((AndPredicate) predicate).getPredicates(), columns, true);
+        }
+        if (predicate instanceof OrPredicate) {
+            return compileAll(((OrPredicate) predicate).getPredicates(), columns, false);
+        }
+        if (predicate instanceof NotPredicate) {
+            ColumnFilter filter = compile(((NotPredicate) predicate).getPredicate(), columns);
+            return filter == null ? null : not(filter);
+        }
+        Class<?> predicateClass = predicate == null ? null : predicate.getClass();
+        if (predicateClass == EqualPredicate.class
+                || predicateClass == GreaterLessPredicate.class
+                || predicateClass == BetweenPredicate.class
+                || predicateClass == BoundedRangePredicate.class) {
+            RangePredicate range = (RangePredicate) predicate;
+            // comparisons with null are left to the entry by entry evaluation
+            if (isNull(range.getFrom()) && isNull(range.getTo())) {
+                return null;
+            }
+            Column column = column(range.getAttribute(), columns);
+            return column == null ? null : range(column, range);
+        }
+        if (predicateClass == NotEqualPredicate.class) {
+            NotEqualPredicate notEqual = (NotEqualPredicate) predicate;
+            Column column = column(notEqual.getAttribute(), columns);
+            return column == null ? null : notEqual(column, notEqual.getValue());
+        }
+        return null;
+    }
+
+    private static Column column(String attribute, Function<String, Column> columns) {
+        String name = toColumnName(attribute);
+        return name == null ? null : columns.apply(name);
+    }
+
+    private static ColumnFilter compileAll(Predicate[] predicates, Function<String, Column> columns, boolean and) {
+        if (predicates.length == 0) {
+            return and ? TRUE : FALSE;
+        }
+        ColumnFilter[] filters = new ColumnFilter[predicates.length];
+        for (int i = 0; i < predicates.length; i++) {
+            filters[i] = compile(predicates[i], columns);
+            if (filters[i] == null) {
+                return null;
+            }
+        }
+        if (filters.length == 1) {
+            return filters[0];
+        }
+        long[] scratch = new long[Column.SELECTION_LENGTH];
+        return (from, count, selection) -> {
+            int words = words(count);
+            filters[0].select(from, count, selection);
+            for (int i = 1; i < filters.length; i++) {
+                filters[i].select(from, count, scratch);
+                for (int word = 0; word < words; word++) {
+                    selection[word] = and ? selection[word] & scratch[word] : selection[word] | scratch[word];
+                }
+            }
+        };
+    }
+
+    private static ColumnFilter not(ColumnFilter filter) {
+        return (from, count, selection) -> {
+            filter.select(from, count, selection);
+            for (int word = 0, words = words(count); word < words; word++) {
+                selection[word] = ~selection[word];
+            }
+            clearTail(count, selection);
+        };
+    }
+
+    private static ColumnFilter range(Column column, RangePredicate range) {
+        Comparable from = null;
+        Comparable to = null;
+        if (!isNull(range.getFrom())) {
+            from = convert(column, range.getFrom());
+            if (from == null) {
+                return null;
+            }
+        }
+        if (!isNull(range.getTo())) {
+            to = convert(column, range.getTo());
+            if (to == null) {
+                return null;
+            }
+        }
+
+        if (column.isFloatingPoint()) {
+            // NaN is the greatest value in the ordering of Double.compare
+            double min = from == null ? Double.NEGATIVE_INFINITY : ((Number) from).doubleValue();
+            double max = to == null ? Double.NaN : ((Number) to).doubleValue();
+            boolean minInclusive = from == null || range.isFromInclusive();
+            boolean maxInclusive = to == null || range.isToInclusive();
+            return (start, count, selection) -> {
+                Arrays.fill(selection, 0, words(count), 0L);
+                column.selectDoubleRange(start, count, selection, min, minInclusive, max, maxInclusive);
+            };
+        }
+
+        long min = Long.MIN_VALUE;
+        long max = Long.MAX_VALUE;
+        if (from != null) {
+            min = toLong(from);
+            if (!range.isFromInclusive()) {
+                if (min == Long.MAX_VALUE) {
+                    return FALSE;
+                }
+                min++;
+            }
+        }
+        if (to != null) {
+            max = toLong(to);
+            if (!range.isToInclusive()) {
+                if (max == Long.MIN_VALUE) {
+                    return FALSE;
+                }
+                max--;
+            }
+        }
+        if (min > max) {
+            return FALSE;
+        }
+        long inclusiveMin = min;
+        long inclusiveMax = max;
+        return (start, count, selection) -> {
+            Arrays.fill(selection, 0, words(count), 0L);
+            column.selectLongRange(start, count, selection, inclusiveMin, inclusiveMax);
+        };
+    }
+
+    private static ColumnFilter notEqual(Column column, Comparable operand) {
+        if (isNull(operand)) {
+            return null;
+        }
+        Comparable value = convert(column, operand);
+        if (value == null) {
+            return null;
+        }
+        if (column.isFloatingPoint()) {
+            double excluded = ((Number) value).doubleValue();
+            return (from, count, selection) -> {
+                Arrays.fill(selection, 0, words(count), 0L);
+                column.selectDoubleNotEqual(from, count, selection, excluded);
+            };
+        }
+        long excluded = toLong(value);
+        return (from, count, selection) -> {
+            Arrays.fill(selection, 0, words(count), 0L);
+            column.selectLongNotEqual(from, count, selection, excluded);
+        };
+    }
+
+    /**
+     * Converts the operand the way predicates convert it before comparing it
+     * with a deserialized attribute value. Returns {@code null} if the
+     * converted operand doesn't have the exact type of the column values: the
+     * predicates would then compare numbers of different types, which isn't
+     * supported on columns.
+     */
+    @SuppressWarnings("checkstyle:illegalcatch")
+    private static Comparable convert(Column column, Comparable operand) {
+        Class<?> valueClass = column.getValueClass();
+        if (operand.getClass() == valueClass) {
+            return operand;
+        }
+        Comparable converted;
+        try {
+            converted = column.getAttributeType().getConverter().convert(operand);
+        } catch (RuntimeException e) {
+            // let the entry by entry evaluation report the failure
+            return null;
+        }
+        return converted != null && converted.getClass() == valueClass ? converted : null;
+    }
+
+    private static long toLong(Comparable value) {
+        if (value instanceof Boolean) {
+            return (Boolean) value ? 1 : 0;
+        }
+        return ((Number) value).longValue();
+    }
+
+    private static void clearTail(int count, long[] selection) {
+        int remainder = count & (Long.SIZE - 1);
+        if (remainder != 0) {
+            selection[count >>> 6] &= (1L << remainder) - 1;
+        }
+    }
+}
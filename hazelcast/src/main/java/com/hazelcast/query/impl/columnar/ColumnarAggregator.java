@@ -0,0 +1,53 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.columnar;
+
+import com.hazelcast.aggregation.Aggregator;
+
+import javax.annotation.Nullable;
+
+/**
+ * An {@link Aggregator} that is able to accumulate the selected rows of a
+ * column chunk at once, instead of accumulating the entries one by one.
+ */
+public interface ColumnarAggregator {
+
+    /**
+     * @return the attribute path of the aggregated values, or {@code null} if
+     * the aggregator accumulates whole entries
+     */
+    String getAttributePath();
+
+    /**
+     * Checks if the accumulation of the given column produces exactly the same
+     * result as the accumulation of the corresponding entries would.
+     *
+     * @param column the column of the attribute path, or {@code null} if the
+     *               attribute path is {@code null}
+     */
+    boolean canAccumulate(@Nullable Column column);
+
+    /**
+     * Accumulates the selected rows of a column chunk.
+     *
+     * @param column    the column accepted by {@link #canAccumulate}
+     * @param from      the first row of the chunk
+     * @param size      the number of rows in the chunk
+     * @param selection the selection of the chunk, see {@link ColumnFilter#select}
+     */
+    void accumulate(@Nullable Column column, int from, int size, long[] selection);
+}
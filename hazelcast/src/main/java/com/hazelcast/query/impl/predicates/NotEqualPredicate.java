@@ -47,6 +47,10 @@ public class NotEqualPredicate extends AbstractPredicate implements NegatablePre
         this.value = value;
     }
 
+    public String getAttribute() {
+        return attributeName;
+    }
+
     public Comparable getValue() {
         return value;
     }
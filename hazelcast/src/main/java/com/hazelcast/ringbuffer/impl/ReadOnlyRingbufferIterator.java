@@ -22,10 +22,10 @@ import java.util.Iterator;
  * Read-only iterator over items in a provided {@link com.hazelcast.ringbuffer.impl.Ringbuffer}.
  */
 public class ReadOnlyRingbufferIterator<E> implements Iterator<E> {
-    private final ArrayRingbuffer<E> ringbuffer;
+    private final Ringbuffer<E> ringbuffer;
     private long sequence;
 
-    ReadOnlyRingbufferIterator(ArrayRingbuffer<E> ringbuffer) {
+    ReadOnlyRingbufferIterator(Ringbuffer<E> ringbuffer) {
         this.ringbuffer = ringbuffer;
         this.sequence = ringbuffer.headSequence();
     }
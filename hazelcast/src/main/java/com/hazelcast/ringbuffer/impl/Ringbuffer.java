@@ -177,6 +177,13 @@ public interface Ringbuffer<E> extends Iterable<E> {
      */
     void clear();
 
+    /**
+     * Releases the resources of the ringbuffer, e.g. the files storing its
+     * items. The ringbuffer must not be used afterwards.
+     */
+    default void destroy() {
+    }
+
     /**
      * Returns the array representing this ringbuffer.
      * Items at the beginning of this array may be newer than items at the end
@@ -19,6 +19,8 @@ package com.hazelcast.ringbuffer.impl;
 import com.hazelcast.config.InMemoryFormat;
 import com.hazelcast.config.RingbufferConfig;
 import com.hazelcast.core.HazelcastException;
+import com.hazelcast.core.ManagedContext;
+import com.hazelcast.instance.impl.Node;
 import com.hazelcast.internal.nio.IOUtil;
 import com.hazelcast.nio.ObjectDataInput;
 import com.hazelcast.nio.ObjectDataOutput;
@@ -27,11 +29,14 @@ import com.hazelcast.nio.serialization.HazelcastSerializationException;
 import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
 import com.hazelcast.ringbuffer.StaleSequenceException;
 import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.impl.SerializationServiceSupport;
 import com.hazelcast.spi.impl.operationservice.Notifier;
+import com.hazelcast.internal.services.NodeAware;
 import com.hazelcast.internal.services.ObjectNamespace;
 import com.hazelcast.spi.impl.operationservice.WaitNotifyKey;
 import com.hazelcast.internal.serialization.SerializationService;
 
+import javax.annotation.Nullable;
 import java.io.IOException;
 
 import static com.hazelcast.config.InMemoryFormat.BINARY;
@@ -119,7 +124,8 @@ public class RingbufferContainer<T, E> implements IdentifiedDataSerializable, No
         this(namespace, partitionId);
 
         this.inMemoryFormat = config.getInMemoryFormat();
-        this.ringbuffer = new ArrayRingbuffer<E>(config.getCapacity());
+        TieredRingbuffer<E> tieredRingbuffer = TieredRingbuffer.create(config, nodeEngine);
+        this.ringbuffer = tieredRingbuffer != null ? tieredRingbuffer : new ArrayRingbuffer<E>(config.getCapacity());
 
         final long ttlMs = SECONDS.toMillis(config.getTimeToLiveSeconds());
         if (ttlMs != TTL_DISABLED) {
@@ -141,9 +147,22 @@ public class RingbufferContainer<T, E> implements IdentifiedDataSerializable, No
     public void init(RingbufferConfig config, NodeEngine nodeEngine) {
         this.config = config;
         this.serializationService = nodeEngine.getSerializationService();
+        initTieredRingbuffer(nodeEngine);
         initRingbufferStore(nodeEngine.getConfigClassLoader());
     }
 
+    // a replicated container is read into an array ringbuffer, move its items to the tiered ringbuffer if enabled
+    private void initTieredRingbuffer(NodeEngine nodeEngine) {
+        if (ringbuffer instanceof TieredRingbuffer) {
+            return;
+        }
+        TieredRingbuffer<E> tieredRingbuffer = TieredRingbuffer.create(config, nodeEngine);
+        if (tieredRingbuffer != null) {
+            tieredRingbuffer.copyFrom(ringbuffer);
+            ringbuffer = tieredRingbuffer;
+        }
+    }
+
     private void initRingbufferStore(ClassLoader configClassLoader) {
         this.store = RingbufferStoreWrapper.create(namespace,
                 config.getRingbufferStoreConfig(),
@@ -424,6 +443,16 @@ public class RingbufferContainer<T, E> implements IdentifiedDataSerializable, No
         if (expirationPolicy != null) {
             expirationPolicy.cleanup(ringbuffer);
         }
+        if (ringbuffer instanceof TieredRingbuffer) {
+            ((TieredRingbuffer<E>) ringbuffer).moveExpiredToDisk();
+        }
+    }
+
+    /**
+     * Releases the resources of the ringbuffer when the container is removed.
+     */
+    public void destroy() {
+        ringbuffer.destroy();
     }
 
     public boolean isStaleSequence(long sequence) {
@@ -621,7 +650,12 @@ public class RingbufferContainer<T, E> implements IdentifiedDataSerializable, No
         final long ttlMs = in.readLong();
         inMemoryFormat = values()[in.readInt()];
 
-        ringbuffer = new ArrayRingbuffer(capacity);
+        // the items are read into the tiered ringbuffer right away, so the items moved to disk aren't kept in memory
+        NodeEngine nodeEngine = getNodeEngine(in);
+        TieredRingbuffer<E> tieredRingbuffer = nodeEngine != null
+                ? TieredRingbuffer.create(capacity, inMemoryFormat, nodeEngine)
+                : null;
+        ringbuffer = tieredRingbuffer != null ? tieredRingbuffer : new ArrayRingbuffer(capacity);
         ringbuffer.setTailSequence(tailSequence);
         ringbuffer.setHeadSequence(headSequence);
 
@@ -645,6 +679,24 @@ public class RingbufferContainer<T, E> implements IdentifiedDataSerializable, No
         }
     }
 
+    /**
+     * Returns the node engine of the member reading the given input or
+     * {@code null}, if the input isn't read by a member.
+     */
+    @Nullable
+    private static NodeEngine getNodeEngine(ObjectDataInput in) {
+        if (!(in instanceof SerializationServiceSupport)) {
+            return null;
+        }
+        ManagedContext managedContext = ((SerializationServiceSupport) in).getSerializationService().getManagedContext();
+        if (managedContext == null) {
+            return null;
+        }
+        NodeCapture nodeCapture = new NodeCapture();
+        managedContext.initialize(nodeCapture);
+        return nodeCapture.node != null ? nodeCapture.node.getNodeEngine() : null;
+    }
+
     /**
      * Returns the ringbuffer containing the actual items.
      */
@@ -689,4 +741,14 @@ public class RingbufferContainer<T, E> implements IdentifiedDataSerializable, No
             expirationPolicy.clear();
         }
     }
+
+    private static final class NodeCapture implements NodeAware {
+
+        private Node node;
+
+        @Override
+        public void setNode(Node node) {
+            this.node = node;
+        }
+    }
 }
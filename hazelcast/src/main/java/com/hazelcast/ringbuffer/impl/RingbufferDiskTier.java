@@ -0,0 +1,253 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.internal.nio.Bits;
+import com.hazelcast.internal.nio.IOUtil;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.hazelcast.internal.util.ExceptionUtil.rethrow;
+import static java.nio.channels.FileChannel.MapMode.READ_WRITE;
+import static java.nio.file.StandardOpenOption.READ;
+import static java.nio.file.StandardOpenOption.WRITE;
+
+/**
+ * The disk tier of a {@link TieredRingbuffer}. Stores the items of
+ * consecutive sequences in append-only, memory-mapped segment files.
+ * <p>
+ * The segment files are created in a directory of their own, which is
+ * created when the first item is stored. A segment is unmapped and deleted
+ * when all its items are removed, without waiting for the garbage collector
+ * to release the mapping. Like the ringbuffer, the disk tier isn't
+ * thread-safe.
+ */
+final class RingbufferDiskTier {
+
+    private static final int NULL_LENGTH = -1;
+
+    private final Path parentDirectory;
+    private final int segmentSize;
+    private final List<Segment> segments = new ArrayList<>();
+    private Path directory;
+    private long nextSequence;
+
+    RingbufferDiskTier(Path parentDirectory, int segmentSize) {
+        this.parentDirectory = parentDirectory;
+        this.segmentSize = segmentSize;
+    }
+
+    /**
+     * Appends the item with the given sequence. If the sequence doesn't
+     * follow the last stored sequence, the items not preceding it are
+     * removed first.
+     */
+    void append(long sequence, Data item) {
+        if (!segments.isEmpty() && sequence != nextSequence) {
+            removeFrom(sequence);
+        }
+        if (segments.isEmpty()) {
+            nextSequence = sequence;
+        }
+
+        byte[] bytes = item != null ? item.toByteArray() : null;
+        int length = Bits.INT_SIZE_IN_BYTES + (bytes != null ? bytes.length : 0);
+        Segment segment = segments.isEmpty() ? null : segments.get(segments.size() - 1);
+        if (segment == null || segment.remaining() < length) {
+            segment = newSegment(sequence, Math.max(segmentSize, length));
+            segments.add(segment);
+        }
+        segment.append(bytes);
+        nextSequence++;
+    }
+
+    /**
+     * Reads the item with the given sequence, which must be stored.
+     */
+    Data read(long sequence) {
+        return segments.get(segmentIndex(sequence)).read(sequence);
+    }
+
+    /**
+     * Returns the first stored sequence.
+     */
+    long firstSequence() {
+        return segments.isEmpty() ? nextSequence : segments.get(0).firstSequence;
+    }
+
+    /**
+     * Returns the sequence following the last stored one.
+     */
+    long nextSequence() {
+        return nextSequence;
+    }
+
+    /**
+     * Deletes the segments containing only the items preceding the given
+     * sequence.
+     */
+    void removeBefore(long sequence) {
+        int count = 0;
+        while (count < segments.size() && segments.get(count).nextSequence() <= sequence) {
+            segments.get(count++).delete();
+        }
+        segments.subList(0, count).clear();
+    }
+
+    /**
+     * Removes all the items.
+     */
+    void clear() {
+        for (Segment segment : segments) {
+            segment.delete();
+        }
+        segments.clear();
+    }
+
+    /**
+     * Removes all the items and deletes the directory of the segment files.
+     */
+    void destroy() {
+        clear();
+        if (directory != null) {
+            IOUtil.deleteQuietly(directory.toFile());
+            directory = null;
+        }
+    }
+
+    // removes the items from the given sequence on, all of them if it's not stored
+    private void removeFrom(long sequence) {
+        if (sequence <= firstSequence() || sequence > nextSequence) {
+            clear();
+            return;
+        }
+        int index = segmentIndex(sequence);
+        Segment segment = segments.get(index);
+        int removeFrom = index + 1;
+        if (sequence == segment.firstSequence) {
+            removeFrom = index;
+        } else {
+            segment.truncate(sequence);
+        }
+        for (int i = removeFrom; i < segments.size(); i++) {
+            segments.get(i).delete();
+        }
+        segments.subList(removeFrom, segments.size()).clear();
+        nextSequence = sequence;
+    }
+
+    private int segmentIndex(long sequence) {
+        int low = 0;
+        int high = segments.size() - 1;
+        while (low < high) {
+            int mid = (low + high + 1) >>> 1;
+            if (segments.get(mid).firstSequence <= sequence) {
+                low = mid;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return low;
+    }
+
+    private Segment newSegment(long firstSequence, int size) {
+        try {
+            if (directory == null) {
+                Files.createDirectories(parentDirectory);
+                directory = Files.createTempDirectory(parentDirectory, "ringbuffer-");
+            }
+            Path path = Files.createTempFile(directory, "segment-" + firstSequence + "-", ".rb");
+            try (FileChannel channel = FileChannel.open(path, READ, WRITE)) {
+                return new Segment(firstSequence, path.toFile(), channel.map(READ_WRITE, 0, size));
+            }
+        } catch (IOException e) {
+            throw rethrow(e);
+        }
+    }
+
+    private static final class Segment {
+
+        private static final int INITIAL_OFFSETS_LENGTH = 64;
+
+        private final long firstSequence;
+        private final File file;
+        private final MappedByteBuffer buffer;
+        private int[] offsets = new int[INITIAL_OFFSETS_LENGTH];
+        private int count;
+
+        Segment(long firstSequence, File file, MappedByteBuffer buffer) {
+            this.firstSequence = firstSequence;
+            this.file = file;
+            this.buffer = buffer;
+        }
+
+        long nextSequence() {
+            return firstSequence + count;
+        }
+
+        int remaining() {
+            return buffer.remaining();
+        }
+
+        void append(byte[] bytes) {
+            if (count == offsets.length) {
+                offsets = Arrays.copyOf(offsets, count * 2);
+            }
+            offsets[count++] = buffer.position();
+            if (bytes == null) {
+                buffer.putInt(NULL_LENGTH);
+            } else {
+                buffer.putInt(bytes.length);
+                buffer.put(bytes);
+            }
+        }
+
+        Data read(long sequence) {
+            int offset = offsets[(int) (sequence - firstSequence)];
+            int length = buffer.getInt(offset);
+            if (length == NULL_LENGTH) {
+                return null;
+            }
+            byte[] bytes = new byte[length];
+            ByteBuffer source = buffer.duplicate();
+            source.position(offset + Bits.INT_SIZE_IN_BYTES);
+            source.get(bytes);
+            return new HeapData(bytes);
+        }
+
+        void truncate(long sequence) {
+            count = (int) (sequence - firstSequence);
+            buffer.position(offsets[count]);
+        }
+
+        void delete() {
+            IOUtil.unmapQuietly(buffer);
+            IOUtil.deleteQuietly(file);
+        }
+    }
+}
@@ -0,0 +1,364 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.RingbufferConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.ringbuffer.StaleSequenceException;
+import com.hazelcast.spi.impl.NodeEngine;
+import com.hazelcast.spi.properties.HazelcastProperties;
+
+import javax.annotation.Nullable;
+import java.io.File;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.Iterator;
+
+import static com.hazelcast.internal.util.Clock.currentTimeMillis;
+import static com.hazelcast.spi.properties.ClusterProperty.RINGBUFFER_TIERED_MEMORY_CAPACITY;
+import static com.hazelcast.spi.properties.ClusterProperty.RINGBUFFER_TIERED_MEMORY_TTL_SECONDS;
+import static com.hazelcast.spi.properties.ClusterProperty.RINGBUFFER_TIERED_SEGMENT_SIZE;
+import static com.hazelcast.spi.properties.ClusterProperty.RINGBUFFER_TIERED_STORAGE_DIRECTORY;
+import static com.hazelcast.spi.properties.ClusterProperty.RINGBUFFER_TIERED_STORAGE_ENABLED;
+
+/**
+ * A ringbuffer keeping the newest items in memory and the older items on
+ * local disk, in a {@link RingbufferDiskTier}.
+ * <p>
+ * An item is moved to disk when the memory tier is full or when it has been
+ * in memory for longer than the memory time-to-live. The items are stored
+ * on disk serialized and deserialized again when they are read, so reading
+ * the items on disk returns equal, but not the same instances.
+ * <p>
+ * Like the {@link ArrayRingbuffer}, the tiered ringbuffer isn't thread-safe
+ * since it's only accessed by the partition thread.
+ *
+ * @param <E> the type of the data stored in the ringbuffer
+ * @see com.hazelcast.spi.properties.ClusterProperty#RINGBUFFER_TIERED_STORAGE_ENABLED
+ */
+public class TieredRingbuffer<E> implements Ringbuffer<E> {
+
+    private final long capacity;
+    private final E[] memoryItems;
+    private final long[] memoryInsertionTimesMs;
+    private final long memoryTtlMs;
+    private final RingbufferDiskTier disk;
+    private final SerializationService serializationService;
+    private final boolean binary;
+
+    private long tailSequence = -1;
+    private long headSequence = tailSequence + 1;
+    /**
+     * The sequence of the oldest item in memory. The items preceding it are
+     * on disk.
+     */
+    private long memoryHeadSequence = headSequence;
+
+    @SuppressWarnings("unchecked")
+    TieredRingbuffer(long capacity, int memoryCapacity, long memoryTtlMs, RingbufferDiskTier disk,
+                     SerializationService serializationService, InMemoryFormat inMemoryFormat) {
+        this.capacity = capacity;
+        this.memoryItems = (E[]) new Object[memoryCapacity];
+        this.memoryTtlMs = memoryTtlMs;
+        this.memoryInsertionTimesMs = memoryTtlMs > 0 ? new long[memoryCapacity] : null;
+        this.disk = disk;
+        this.serializationService = serializationService;
+        this.binary = inMemoryFormat == InMemoryFormat.BINARY;
+    }
+
+    /**
+     * Returns a new tiered ringbuffer for the given config or {@code null},
+     * if the tiered storage isn't enabled or all the items of the ringbuffer
+     * fit in the memory tier.
+     */
+    @Nullable
+    static <E> TieredRingbuffer<E> create(RingbufferConfig config, NodeEngine nodeEngine) {
+        return create(config.getCapacity(), config.getInMemoryFormat(), nodeEngine);
+    }
+
+    /**
+     * Returns a new tiered ringbuffer with the given capacity and in-memory
+     * format or {@code null}, if the tiered storage isn't enabled or all the
+     * items of the ringbuffer fit in the memory tier.
+     */
+    @Nullable
+    static <E> TieredRingbuffer<E> create(int capacity, InMemoryFormat inMemoryFormat, NodeEngine nodeEngine) {
+        HazelcastProperties properties = nodeEngine.getProperties();
+        int memoryCapacity = properties.getInteger(RINGBUFFER_TIERED_MEMORY_CAPACITY);
+        if (!properties.getBoolean(RINGBUFFER_TIERED_STORAGE_ENABLED) || capacity <= memoryCapacity) {
+            return null;
+        }
+        String directory = properties.getString(RINGBUFFER_TIERED_STORAGE_DIRECTORY);
+        if (directory == null || directory.isEmpty()) {
+            directory = System.getProperty("java.io.tmpdir");
+        }
+        Path path = new File(directory).toPath();
+        RingbufferDiskTier disk = new RingbufferDiskTier(path, properties.getInteger(RINGBUFFER_TIERED_SEGMENT_SIZE));
+        return new TieredRingbuffer<>(capacity, memoryCapacity,
+                properties.getMillis(RINGBUFFER_TIERED_MEMORY_TTL_SECONDS), disk,
+                nodeEngine.getSerializationService(), inMemoryFormat);
+    }
+
+    /**
+     * Adds all the items of the given ringbuffer to this empty ringbuffer,
+     * keeping their sequences.
+     */
+    void copyFrom(Ringbuffer<E> source) {
+        long tail = source.tailSequence();
+        long head = Math.max(source.headSequence(), tail - capacity + 1);
+        setTailSequence(head - 1);
+        setHeadSequence(head);
+        for (long seq = head; seq <= tail; seq++) {
+            add(source.read(seq));
+        }
+    }
+
+    @Override
+    public long tailSequence() {
+        return tailSequence;
+    }
+
+    @Override
+    public long peekNextTailSequence() {
+        return tailSequence + 1;
+    }
+
+    @Override
+    public void setTailSequence(long sequence) {
+        if (sequence > tailSequence) {
+            makeRoomFor(sequence);
+        } else {
+            memoryHeadSequence = Math.min(memoryHeadSequence, sequence + 1);
+        }
+        this.tailSequence = sequence;
+    }
+
+    @Override
+    public long headSequence() {
+        return headSequence;
+    }
+
+    @Override
+    public void setHeadSequence(long sequence) {
+        this.headSequence = sequence;
+        while (memoryHeadSequence < sequence && memoryHeadSequence <= tailSequence) {
+            memoryItems[toIndex(memoryHeadSequence++)] = null;
+        }
+        memoryHeadSequence = Math.max(memoryHeadSequence, sequence);
+        disk.removeBefore(sequence);
+    }
+
+    @Override
+    public long getCapacity() {
+        return capacity;
+    }
+
+    @Override
+    public long size() {
+        return tailSequence - headSequence + 1;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public long add(E item) {
+        long sequence = tailSequence + 1;
+        makeRoomFor(sequence);
+        tailSequence = sequence;
+        if (tailSequence - capacity == headSequence) {
+            setHeadSequence(headSequence + 1);
+        }
+        setInMemory(sequence, item);
+        return sequence;
+    }
+
+    @Override
+    public E read(long sequence) {
+        checkReadSequence(sequence);
+        if (sequence >= memoryHeadSequence) {
+            return memoryItems[toIndex(sequence)];
+        }
+        if (sequence < disk.firstSequence() || sequence >= disk.nextSequence()) {
+            // a sequence skipped when the tail was moved, there is no item
+            return null;
+        }
+        return fromData(disk.read(sequence));
+    }
+
+    @Override
+    public void checkBlockableReadSequence(long readSequence) {
+        if (readSequence > tailSequence + 1) {
+            throw new IllegalArgumentException("sequence:" + readSequence
+                    + " is too large. The current tailSequence is:" + tailSequence);
+        }
+
+        if (readSequence < headSequence) {
+            throw new StaleSequenceException("sequence:" + readSequence
+                    + " is too small. The current headSequence is:" + headSequence
+                    + " tailSequence is:" + tailSequence, headSequence);
+        }
+    }
+
+    @Override
+    public void checkReadSequence(long sequence) {
+        if (sequence > tailSequence) {
+            throw new IllegalArgumentException("sequence:" + sequence
+                    + " is too large. The current tailSequence is:" + tailSequence);
+        }
+
+        if (sequence < headSequence) {
+            throw new StaleSequenceException("sequence:" + sequence
+                    + " is too small. The current headSequence is:" + headSequence
+                    + " tailSequence is:" + tailSequence, headSequence);
+        }
+    }
+
+    /**
+     * Sets the item at the given sequence. The items on disk can't be
+     * replaced, except for being set to {@code null} when they expire: such
+     * items are removed from disk only when the head passes them. An item
+     * preceding the items in memory can only be set after the last item on
+     * disk, which allows filling the ringbuffer in the order of the sequences
+     * after moving its head and tail, for example when it's replicated.
+     */
+    @Override
+    public void set(long seq, E data) {
+        if (seq > tailSequence) {
+            makeRoomFor(seq);
+            memoryHeadSequence = Math.min(memoryHeadSequence, seq);
+        } else if (seq < memoryHeadSequence) {
+            if (data == null) {
+                return;
+            }
+            if (disk.firstSequence() < disk.nextSequence() && seq < disk.nextSequence()) {
+                throw new IllegalStateException("The item with sequence " + seq
+                        + " is stored on disk and can't be replaced");
+            }
+            appendToDisk(seq, toData(data));
+            return;
+        }
+        setInMemory(seq, data);
+    }
+
+    /**
+     * Moves the items which have been in memory for longer than the memory
+     * time-to-live to disk.
+     */
+    void moveExpiredToDisk() {
+        if (memoryInsertionTimesMs == null) {
+            return;
+        }
+        long expiredInsertionTimeMs = currentTimeMillis() - memoryTtlMs;
+        while (memoryHeadSequence <= tailSequence
+                && memoryInsertionTimesMs[toIndex(memoryHeadSequence)] <= expiredInsertionTimeMs) {
+            moveMemoryHeadToDisk();
+        }
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(memoryItems, null);
+        disk.clear();
+        tailSequence = -1;
+        headSequence = tailSequence + 1;
+        memoryHeadSequence = headSequence;
+    }
+
+    @Override
+    public void destroy() {
+        Arrays.fill(memoryItems, null);
+        disk.destroy();
+    }
+
+    @Override
+    public Iterator<E> iterator() {
+        return new ReadOnlyRingbufferIterator<>(this);
+    }
+
+    /**
+     * Returns an array with all the items, including the ones on disk, at the
+     * indexes of an {@link ArrayRingbuffer} with the same capacity. This reads
+     * all the items on disk into memory, so the items should rather be read
+     * one by one, for example by the {@link #iterator()}.
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public E[] getItems() {
+        E[] items = (E[]) new Object[Math.toIntExact(capacity)];
+        for (long seq = headSequence; seq <= tailSequence; seq++) {
+            items[(int) (seq % capacity)] = read(seq);
+        }
+        return items;
+    }
+
+    // moves the items to disk, which would be overwritten by the item with the given sequence
+    private void makeRoomFor(long sequence) {
+        long newMemoryHeadSequence = sequence - memoryItems.length + 1;
+        // only the items in the ringbuffer are moved, the sequences can jump
+        long lastSequenceToMove = Math.min(newMemoryHeadSequence - 1, tailSequence);
+        memoryHeadSequence = Math.max(memoryHeadSequence, headSequence);
+        while (memoryHeadSequence <= lastSequenceToMove) {
+            moveMemoryHeadToDisk();
+        }
+        memoryHeadSequence = Math.max(memoryHeadSequence, newMemoryHeadSequence);
+    }
+
+    private void moveMemoryHeadToDisk() {
+        long sequence = memoryHeadSequence++;
+        int index = toIndex(sequence);
+        if (sequence >= headSequence && sequence <= tailSequence) {
+            appendToDisk(sequence, toData(memoryItems[index]));
+        }
+        memoryItems[index] = null;
+    }
+
+    private void appendToDisk(long sequence, Data item) {
+        // the sequences skipped when the tail was moved are stored as nulls,
+        // so the items on disk stay contiguous
+        for (long seq = Math.max(disk.nextSequence(), headSequence);
+             disk.firstSequence() < disk.nextSequence() && seq < sequence; seq++) {
+            disk.append(seq, null);
+        }
+        disk.append(sequence, item);
+    }
+
+    private void setInMemory(long sequence, E item) {
+        int index = toIndex(sequence);
+        memoryItems[index] = item;
+        if (memoryInsertionTimesMs != null) {
+            memoryInsertionTimesMs[index] = currentTimeMillis();
+        }
+    }
+
+    private int toIndex(long sequence) {
+        return (int) (sequence % memoryItems.length);
+    }
+
+    private Data toData(E item) {
+        return binary || item == null ? (Data) item : serializationService.toData(item);
+    }
+
+    @SuppressWarnings("unchecked")
+    private E fromData(Data data) {
+        return binary ? (E) data : serializationService.toObject(data);
+    }
+}
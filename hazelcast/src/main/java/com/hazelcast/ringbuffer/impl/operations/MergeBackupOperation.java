@@ -57,6 +57,7 @@ public class MergeBackupOperation extends AbstractRingBufferOperation implements
             service.destroyDistributedObject(name);
         } else {
             final RingbufferContainer existingContainer = getRingBufferContainer();
+            existingContainer.clear();
             existingContainer.setHeadSequence(ringbuffer.headSequence());
             existingContainer.setTailSequence(ringbuffer.tailSequence());
 
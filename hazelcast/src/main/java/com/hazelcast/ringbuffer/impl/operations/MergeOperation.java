@@ -119,6 +119,9 @@ public class MergeOperation extends Operation
             if (existingContainer == null) {
                 RingbufferConfig config = getRingbufferConfig(ringbufferService, namespace);
                 existingContainer = ringbufferService.getOrCreateContainer(getPartitionId(), namespace, config);
+            } else if (existingValue != null && resultData == existingValue.getRawValue()) {
+                // the existing items are kept, they are read from the existing ringbuffer
+                return existingContainer.getRingbuffer();
             }
             setRingbufferData(resultData, existingContainer);
             return existingContainer.getRingbuffer();
@@ -144,6 +147,8 @@ public class MergeOperation extends Operation
         boolean storeEnabled = toContainer.getStore().isEnabled();
         Data[] storeItems = storeEnabled ? new Data[fromMergeData.size()] : null;
 
+        // the items on disk of a tiered ringbuffer can't be replaced, only added in order
+        toContainer.clear();
         toContainer.setHeadSequence(fromMergeData.getHeadSequence());
         toContainer.setTailSequence(fromMergeData.getTailSequence());
 
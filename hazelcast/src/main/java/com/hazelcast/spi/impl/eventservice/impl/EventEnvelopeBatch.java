@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.eventservice.impl;
+
+import com.hazelcast.internal.nio.IOUtil;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.nio.ObjectDataInput;
+import com.hazelcast.nio.ObjectDataOutput;
+import com.hazelcast.nio.serialization.IdentifiedDataSerializable;
+import com.hazelcast.spi.impl.SpiDataSerializerHook;
+
+import java.io.IOException;
+
+/**
+ * A batch of serialized {@link EventEnvelope}s sent to the same member in a
+ * single packet, together with the order key of each event. The events are
+ * in the order in which they were published.
+ * <p>
+ * The envelopes are kept serialized, so the batch can be unpacked cheaply on
+ * the thread receiving the packet, while the envelopes are deserialized by
+ * the event threads.
+ */
+public final class EventEnvelopeBatch implements IdentifiedDataSerializable {
+
+    private Data[] envelopes;
+    private int[] orderKeys;
+
+    public EventEnvelopeBatch() {
+    }
+
+    EventEnvelopeBatch(Data[] envelopes, int[] orderKeys) {
+        assert envelopes.length == orderKeys.length;
+        this.envelopes = envelopes;
+        this.orderKeys = orderKeys;
+    }
+
+    public int size() {
+        return envelopes.length;
+    }
+
+    public Data getEnvelope(int index) {
+        return envelopes[index];
+    }
+
+    public int getOrderKey(int index) {
+        return orderKeys[index];
+    }
+
+    @Override
+    public int getFactoryId() {
+        return SpiDataSerializerHook.F_ID;
+    }
+
+    @Override
+    public int getClassId() {
+        return SpiDataSerializerHook.EVENT_ENVELOPE_BATCH;
+    }
+
+    @Override
+    public void writeData(ObjectDataOutput out) throws IOException {
+        out.writeInt(envelopes.length);
+        for (int i = 0; i < envelopes.length; i++) {
+            out.writeInt(orderKeys[i]);
+            IOUtil.writeData(out, envelopes[i]);
+        }
+    }
+
+    @Override
+    public void readData(ObjectDataInput in) throws IOException {
+        int size = in.readInt();
+        envelopes = new Data[size];
+        orderKeys = new int[size];
+        for (int i = 0; i < size; i++) {
+            orderKeys[i] = in.readInt();
+            envelopes[i] = IOUtil.readData(in);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "EventEnvelopeBatch{size=" + envelopes.length + '}';
+    }
+}
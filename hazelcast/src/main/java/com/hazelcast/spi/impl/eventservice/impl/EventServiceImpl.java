@@ -60,6 +60,7 @@ import java.util.function.Supplier;
 import java.util.logging.Level;
 
 import static com.hazelcast.instance.EndpointQualifier.MEMBER;
+import static com.hazelcast.internal.cluster.Versions.V5_1;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.EVENT_DISCRIMINATOR_SERVICE;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.EVENT_METRIC_EVENT_SERVICE_EVENTS_PROCESSED;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.EVENT_METRIC_EVENT_SERVICE_EVENT_QUEUE_SIZE;
@@ -78,6 +79,8 @@ import static com.hazelcast.internal.util.Preconditions.checkNotNull;
 import static com.hazelcast.internal.util.ThreadUtil.createThreadName;
 import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
 import static com.hazelcast.spi.impl.InternalCompletableFuture.newCompletedFuture;
+import static com.hazelcast.spi.properties.ClusterProperty.EVENT_BATCH_MAX_SIZE;
+import static com.hazelcast.spi.properties.ClusterProperty.EVENT_BATCH_WINDOW_MICROS;
 import static com.hazelcast.spi.properties.ClusterProperty.EVENT_QUEUE_CAPACITY;
 import static com.hazelcast.spi.properties.ClusterProperty.EVENT_QUEUE_TIMEOUT_MILLIS;
 import static com.hazelcast.spi.properties.ClusterProperty.EVENT_SYNC_TIMEOUT_MILLIS;
@@ -92,6 +95,9 @@ import static java.util.concurrent.TimeUnit.MILLISECONDS;
  * and don't wait for the response. The exception to this is that every {@link #eventSyncFrequency} remote
  * event is sent as an operation and we wait for it to be submitted to the remote queue.
  * <p>
+ * If {@link com.hazelcast.spi.properties.ClusterProperty#EVENT_BATCH_WINDOW_MICROS} is set, the asynchronous
+ * remote events sent to the same member are batched by a {@link RemoteEventBatcher} and sent in a single packet.
+ * <p>
  * This implementation keeps registrations grouped into {@link EventServiceSegment}s. Each segment is
  * responsible for a single service (e.g. map service, cluster service, proxy service).
  * <p>
@@ -178,6 +184,8 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
 
     private final InternalSerializationService serializationService;
     private final int eventSyncFrequency;
+    /** Batches the asynchronous remote events, {@code null} if the events are not batched */
+    private final RemoteEventBatcher remoteEventBatcher;
 
     public EventServiceImpl(NodeEngineImpl nodeEngine) {
         this.nodeEngine = nodeEngine;
@@ -196,6 +204,12 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
                 eventThreadCount,
                 eventQueueCapacity);
         this.segments = new ConcurrentHashMap<>();
+
+        long batchWindowNanos = hazelcastProperties.getNanos(EVENT_BATCH_WINDOW_MICROS);
+        this.remoteEventBatcher = batchWindowNanos > 0
+                ? new RemoteEventBatcher(this, serializationService, batchWindowNanos,
+                        hazelcastProperties.getInteger(EVENT_BATCH_MAX_SIZE))
+                : null;
     }
 
 
@@ -214,6 +228,9 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
     @Override
     public void provideStaticMetrics(MetricsRegistry registry) {
         registry.registerStaticMetrics(this, EVENT_PREFIX);
+        if (remoteEventBatcher != null) {
+            registry.registerStaticMetrics(remoteEventBatcher, EVENT_PREFIX);
+        }
     }
 
     @Override
@@ -561,7 +578,10 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
      * A synchronous event means that we send the event as an {@link SendEventOperation} and in case of failure
      * we increase the failure count and log the failure (see {@link EventProcessor})
      * Otherwise, we send an asynchronous event. This means that we don't wait to see if the processing failed with an
-     * exception (see {@link RemoteEventProcessor})
+     * exception (see {@link RemoteEventProcessor}). If the events are batched and all members support batches, the
+     * asynchronous event is added to the batch of the subscriber and the pending batch is sent before a synchronous event.
+     * The batch and the {@link SendEventOperation} are sent on the same connection, so the receiver dispatches the batched
+     * events before the synchronous event.
      */
     private void sendEvent(Address subscriber, EventEnvelope eventEnvelope, int orderKey) {
         String serviceName = eventEnvelope.getServiceName();
@@ -569,6 +589,9 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
         boolean sync = segment.incrementPublish() % eventSyncFrequency == 0;
 
         if (sync) {
+            if (remoteEventBatcher != null) {
+                remoteEventBatcher.flush(subscriber);
+            }
             SendEventOperation op = new SendEventOperation(eventEnvelope, orderKey);
             Future f = nodeEngine.getOperationService()
                     .createInvocationBuilder(serviceName, op, subscriber)
@@ -581,15 +604,21 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
                     logger.finest("Sync event delivery failed. Event: " + eventEnvelope, e);
                 }
             }
+        } else if (remoteEventBatcher != null && nodeEngine.getClusterService().getClusterVersion().isGreaterOrEqual(V5_1)) {
+            remoteEventBatcher.send(subscriber, eventEnvelope, orderKey);
         } else {
             Packet packet = new Packet(serializationService.toBytes(eventEnvelope), orderKey)
                     .setPacketType(Packet.Type.EVENT);
+            transmit(packet, subscriber);
+        }
+    }
 
-            ServerConnectionManager cm = nodeEngine.getNode().getServer().getConnectionManager(MEMBER);
-            if (!cm.transmit(packet, subscriber)) {
-                if (nodeEngine.isRunning()) {
-                    logFailure("Failed to send event packet to: %s, connection might not be alive.", subscriber);
-                }
+    /** Sends the event packet to the {@code subscriber}, logging the failure if it can't be sent */
+    void transmit(Packet packet, Address subscriber) {
+        ServerConnectionManager cm = nodeEngine.getNode().getServer().getConnectionManager(MEMBER);
+        if (!cm.transmit(packet, subscriber)) {
+            if (nodeEngine.isRunning()) {
+                logFailure("Failed to send event packet to: %s, connection might not be alive.", subscriber);
             }
         }
     }
@@ -623,6 +652,11 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
         return segment;
     }
 
+    // used in tests
+    RemoteEventBatcher getRemoteEventBatcher() {
+        return remoteEventBatcher;
+    }
+
     /** Returns {@code true} if the subscriber of the registration is this node */
     boolean isLocal(EventRegistration reg) {
         return nodeEngine.getThisAddress().equals(reg.getSubscriber());
@@ -662,6 +696,10 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
      */
     @Override
     public void accept(Packet packet) {
+        if (packet.isFlagRaised(Packet.FLAG_EVENT_BATCH)) {
+            executeBatch(packet);
+            return;
+        }
         try {
             eventExecutor.execute(new RemoteEventProcessor(this, packet));
         } catch (RejectedExecutionException e) {
@@ -675,6 +713,38 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
         }
     }
 
+    /**
+     * Dispatches the events of a batch received from a remote member, each on the thread defined by its order key. The
+     * batch is unpacked on the thread receiving the packet, so the events are queued in the order in which they were
+     * sent, before any event received later. The envelopes of the events are deserialized by the event threads.
+     * If the execution of some events is rejected, the rejection count is increased by the number of the rejected events
+     * and a single failure is logged for the batch.
+     *
+     * @param packet the packet of the received batch
+     * @see RemoteEventBatcher
+     */
+    private void executeBatch(Packet packet) {
+        EventEnvelopeBatch batch = serializationService.toObject(packet);
+        int rejected = 0;
+        for (int i = 0; i < batch.size(); i++) {
+            try {
+                eventExecutor.execute(new RemoteEventProcessor(this, batch.getEnvelope(i), batch.getOrderKey(i)));
+            } catch (RejectedExecutionException e) {
+                rejected++;
+            }
+        }
+        if (rejected > 0) {
+            rejectedCount.inc(rejected);
+
+            if (eventExecutor.isLive()) {
+                Connection conn = packet.getConn();
+                String endpoint = conn.getRemoteAddress() != null ? conn.getRemoteAddress().toString() : conn.toString();
+                logFailure("EventQueue overloaded! Failed to process %d of %d batched events sent from: %s",
+                        rejected, batch.size(), endpoint);
+            }
+        }
+    }
+
     @Override
     public Operation getPreJoinOperation() {
         // pre-join operations are only sent by master member
@@ -703,6 +773,9 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
     }
 
     public void shutdown() {
+        if (remoteEventBatcher != null) {
+            remoteEventBatcher.shutdown();
+        }
         logger.finest("Stopping event executor...");
         eventExecutor.shutdown();
         for (EventServiceSegment segment : segments.values()) {
@@ -716,6 +789,9 @@ public class EventServiceImpl implements EventService, StaticMetricsProvider {
         for (EventServiceSegment segment : segments.values()) {
             segment.onMemberLeft(address);
         }
+        if (remoteEventBatcher != null) {
+            remoteEventBatcher.onMemberLeft(address);
+        }
     }
 
     /**
@@ -0,0 +1,287 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.eventservice.impl;
+
+import com.hazelcast.cluster.Address;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.util.concurrent.MPSCQueue;
+import com.hazelcast.internal.util.counters.MwCounter;
+import com.hazelcast.internal.util.executor.HazelcastManagedThread;
+
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.EVENT_METRIC_EVENT_SERVICE_BATCHED_EVENT_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.EVENT_METRIC_EVENT_SERVICE_BATCH_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.EVENT_METRIC_EVENT_SERVICE_TOTAL_BATCH_FLUSH_LATENCY;
+import static com.hazelcast.internal.metrics.ProbeUnit.MS;
+import static com.hazelcast.internal.util.EmptyStatement.ignore;
+import static com.hazelcast.internal.util.ThreadUtil.createThreadName;
+import static com.hazelcast.internal.util.counters.MwCounter.newMwCounter;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Batches the asynchronous remote events sent to the same member. The events
+ * are sent in {@link EventEnvelopeBatch} packets when the batch reaches the
+ * maximum size or at the end of the batching window, whichever comes first.
+ * <p>
+ * The events of a subscriber are collected in a lock-free multi-producer
+ * single-consumer queue. A batch is sent by the thread owning it, which can
+ * be the publishing thread filling the batch, the flush thread at the end of
+ * the window or a thread sending a synchronous event. The owner sends the
+ * events in the order in which they were queued.
+ * <p>
+ * The receiver dispatches the events of a batch using their own order keys
+ * on the thread receiving the packet, in the same way it dispatches single
+ * events. This preserves the ordering of the events with the same order key,
+ * also relative to the synchronous events sent after the batch.
+ *
+ * @see com.hazelcast.spi.properties.ClusterProperty#EVENT_BATCH_WINDOW_MICROS
+ */
+class RemoteEventBatcher {
+
+    private final MwCounter batchCount = newMwCounter();
+    private final MwCounter batchedEventCount = newMwCounter();
+    private final MwCounter totalBatchFlushLatencyNanos = newMwCounter();
+
+    private final EventServiceImpl eventService;
+    private final InternalSerializationService serializationService;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ConcurrentMap<Address, Batch> batches = new ConcurrentHashMap<>();
+    private final BlockingQueue<ScheduledFlush> scheduledFlushes = new LinkedBlockingQueue<>();
+    private final AtomicBoolean started = new AtomicBoolean();
+    private final FlushThread flushThread;
+    private volatile boolean live = true;
+
+    RemoteEventBatcher(EventServiceImpl eventService, InternalSerializationService serializationService,
+                       long windowNanos, int maxBatchSize) {
+        this.eventService = eventService;
+        this.serializationService = serializationService;
+        this.windowNanos = windowNanos;
+        this.maxBatchSize = maxBatchSize;
+        this.flushThread = new FlushThread(
+                createThreadName(eventService.nodeEngine.getHazelcastInstance().getName(), "event-batcher"));
+    }
+
+    /**
+     * Adds the event to the batch of the given subscriber. The batch is sent
+     * immediately if it reached the maximum size and no other thread is
+     * sending it.
+     */
+    void send(Address subscriber, EventEnvelope envelope, int orderKey) {
+        if (!started.get() && started.compareAndSet(false, true)) {
+            flushThread.start();
+        }
+
+        Batch batch = batches.computeIfAbsent(subscriber, Batch::new);
+        batch.events.offer(new PendingEvent(envelope, orderKey));
+        int size = batch.size.incrementAndGet();
+        if (size == 1) {
+            batch.firstEventNanos = System.nanoTime();
+        }
+        if (size >= maxBatchSize) {
+            if (batch.tryAcquire()) {
+                try {
+                    flush(batch);
+                } finally {
+                    batch.release();
+                }
+            }
+        } else if (size == 1) {
+            scheduleFlush(batch);
+        }
+    }
+
+    /**
+     * Sends the pending events to the given subscriber. If another thread is
+     * sending the batch, waits until it's done, so all the events added
+     * before are sent when this method returns.
+     */
+    void flush(Address subscriber) {
+        Batch batch = batches.get(subscriber);
+        if (batch == null) {
+            return;
+        }
+        while (!batch.tryAcquire()) {
+            Thread.yield();
+        }
+        try {
+            flush(batch);
+        } finally {
+            batch.release();
+        }
+    }
+
+    void onMemberLeft(Address address) {
+        batches.remove(address);
+    }
+
+    void shutdown() {
+        live = false;
+        flushThread.interrupt();
+    }
+
+    @Probe(name = EVENT_METRIC_EVENT_SERVICE_BATCH_COUNT)
+    long getBatchCount() {
+        return batchCount.get();
+    }
+
+    @Probe(name = EVENT_METRIC_EVENT_SERVICE_BATCHED_EVENT_COUNT)
+    long getBatchedEventCount() {
+        return batchedEventCount.get();
+    }
+
+    /**
+     * Returns the total time the batched events waited for the batch to be
+     * sent, measured from the first event of each batch.
+     */
+    @Probe(name = EVENT_METRIC_EVENT_SERVICE_TOTAL_BATCH_FLUSH_LATENCY, unit = MS)
+    private long getTotalBatchFlushLatency() {
+        return NANOSECONDS.toMillis(totalBatchFlushLatencyNanos.get());
+    }
+
+    private void scheduleFlush(Batch batch) {
+        scheduledFlushes.offer(new ScheduledFlush(batch, batch.firstEventNanos + windowNanos));
+    }
+
+    // must be called by the owner of the batch, sends the events queued so far in packets of the maximum batch size
+    private void flush(Batch batch) {
+        int pending = batch.size.get();
+        if (pending == 0) {
+            return;
+        }
+        long firstEventNanos = batch.firstEventNanos;
+        Data[] envelopes = new Data[Math.min(pending, maxBatchSize)];
+        int[] orderKeys = new int[envelopes.length];
+        int count = 0;
+        for (int i = 0; i < pending; i++) {
+            PendingEvent event = batch.events.poll();
+            envelopes[count] = serializationService.toData(event.envelope);
+            orderKeys[count] = event.orderKey;
+            if (++count == envelopes.length) {
+                transmit(batch.subscriber, envelopes, orderKeys, firstEventNanos);
+                envelopes = new Data[Math.min(pending - i - 1, maxBatchSize)];
+                orderKeys = new int[envelopes.length];
+                count = 0;
+            }
+        }
+
+        // the events queued while sending are sent by the next flush
+        if (batch.size.addAndGet(-pending) > 0) {
+            batch.firstEventNanos = System.nanoTime();
+            scheduleFlush(batch);
+        }
+    }
+
+    private void transmit(Address subscriber, Data[] envelopes, int[] orderKeys, long firstEventNanos) {
+        EventEnvelopeBatch envelopeBatch = new EventEnvelopeBatch(envelopes, orderKeys);
+        Packet packet = new Packet(serializationService.toBytes(envelopeBatch))
+                .setPacketType(Packet.Type.EVENT)
+                .raiseFlags(Packet.FLAG_EVENT_BATCH);
+        eventService.transmit(packet, subscriber);
+
+        batchCount.inc();
+        batchedEventCount.inc(envelopes.length);
+        totalBatchFlushLatencyNanos.inc(System.nanoTime() - firstEventNanos);
+    }
+
+    private static final class Batch {
+        private final Address subscriber;
+        /** Polled only by the owner of the batch */
+        private final MPSCQueue<PendingEvent> events = new MPSCQueue<>(null);
+        /** The number of queued events, incremented after the event is queued */
+        private final AtomicInteger size = new AtomicInteger();
+        private final AtomicBoolean owned = new AtomicBoolean();
+        private volatile long firstEventNanos;
+
+        Batch(Address subscriber) {
+            this.subscriber = subscriber;
+        }
+
+        boolean tryAcquire() {
+            return !owned.get() && owned.compareAndSet(false, true);
+        }
+
+        void release() {
+            owned.set(false);
+        }
+    }
+
+    private static final class PendingEvent {
+        private final EventEnvelope envelope;
+        private final int orderKey;
+
+        PendingEvent(EventEnvelope envelope, int orderKey) {
+            this.envelope = envelope;
+            this.orderKey = orderKey;
+        }
+    }
+
+    private static final class ScheduledFlush {
+        private final Batch batch;
+        private final long deadlineNanos;
+
+        ScheduledFlush(Batch batch, long deadlineNanos) {
+            this.batch = batch;
+            this.deadlineNanos = deadlineNanos;
+        }
+    }
+
+    private class FlushThread extends HazelcastManagedThread {
+
+        FlushThread(String name) {
+            super(name);
+            setDaemon(true);
+        }
+
+        @Override
+        public void executeRun() {
+            while (live) {
+                try {
+                    ScheduledFlush scheduledFlush = scheduledFlushes.take();
+                    // the flushes are scheduled in the order of their deadlines
+                    long remainingNanos;
+                    while ((remainingNanos = scheduledFlush.deadlineNanos - System.nanoTime()) > 0) {
+                        LockSupport.parkNanos(remainingNanos);
+                    }
+                    // if another thread owns the batch, it schedules a flush of the events it doesn't send
+                    Batch batch = scheduledFlush.batch;
+                    if (batch.tryAcquire()) {
+                        try {
+                            flush(batch);
+                        } finally {
+                            batch.release();
+                        }
+                    }
+                } catch (InterruptedException e) {
+                    ignore(e);
+                } catch (Throwable t) {
+                    eventService.logger.severe(t);
+                }
+            }
+        }
+    }
+}
@@ -18,6 +18,7 @@ package com.hazelcast.spi.impl.eventservice.impl;
 
 import com.hazelcast.cluster.Address;
 import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.serialization.Data;
 import com.hazelcast.replicatedmap.ReplicatedMapCantBeCreatedOnLiteMemberException;
 import com.hazelcast.internal.util.executor.StripedRunnable;
 
@@ -27,24 +28,29 @@ import static com.hazelcast.internal.util.EmptyStatement.ignore;
  * An extension of the {@link EventProcessor} which logs and swallows any exception while processing the event.
  * The {@link #orderKey} for this processor is equal to the packet partition ID. This means that when running
  * inside a {@link com.hazelcast.internal.util.executor.StripedExecutor}, all events for the same partition ID will be ordered.
+ * The events of an {@link EventEnvelopeBatch} are processed by processors created for each event with its own order key.
  *
  * @see EventServiceImpl#sendEvent(Address, EventEnvelope, int)
  */
 public class RemoteEventProcessor extends EventProcessor implements StripedRunnable {
 
     private final EventServiceImpl eventService;
-    private final Packet packet;
+    private final Data envelopeData;
 
     public RemoteEventProcessor(EventServiceImpl eventService, Packet packet) {
-        super(eventService, null, packet.getPartitionId());
+        this(eventService, packet, packet.getPartitionId());
+    }
+
+    RemoteEventProcessor(EventServiceImpl eventService, Data envelopeData, int orderKey) {
+        super(eventService, null, orderKey);
         this.eventService = eventService;
-        this.packet = packet;
+        this.envelopeData = envelopeData;
     }
 
     @Override
     public void run() {
         try {
-            EventEnvelope eventEnvelope = eventService.nodeEngine.toObject(packet);
+            EventEnvelope eventEnvelope = eventService.nodeEngine.toObject(envelopeData);
             process(eventEnvelope);
         } catch (ReplicatedMapCantBeCreatedOnLiteMemberException e) {
             // this happens when there is a lite member in the cluster
@@ -57,7 +57,7 @@ public class RingbufferMergingValueImpl
 
     @Override
     public RingbufferMergeData getValue() {
-        final RingbufferMergeData deserializedValues = new RingbufferMergeData(value.getItems().length);
+        final RingbufferMergeData deserializedValues = new RingbufferMergeData(value.getCapacity());
         deserializedValues.setHeadSequence(value.getHeadSequence());
         deserializedValues.setTailSequence(value.getTailSequence());
 
@@ -83,7 +83,7 @@ public class RingbufferMergingValueImpl
     public void writeData(ObjectDataOutput out) throws IOException {
         out.writeLong(value.getTailSequence());
         out.writeLong(value.getHeadSequence());
-        out.writeInt(value.getItems().length);
+        out.writeInt(value.getCapacity());
         for (long seq = value.getHeadSequence(); seq <= value.getTailSequence(); seq++) {
             writeObject(out, value.read(seq));
         }
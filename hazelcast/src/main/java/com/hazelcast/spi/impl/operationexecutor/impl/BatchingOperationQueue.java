@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.internal.metrics.LongProbeFunction;
+import com.hazelcast.internal.metrics.MetricDescriptor;
+import com.hazelcast.internal.metrics.MetricsRegistry;
+import com.hazelcast.internal.metrics.Probe;
+import com.hazelcast.internal.util.concurrent.IdleStrategy;
+import com.hazelcast.internal.util.concurrent.MPSCQueue;
+import com.hazelcast.internal.util.counters.SwCounter;
+
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_PARTITION_OPERATION_THREAD_DRAINED_BATCH_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_PARTITION_OPERATION_THREAD_DRAINED_BATCH_SIZE;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_PARTITION_OPERATION_THREAD_DRAINED_TASK_COUNT;
+import static com.hazelcast.internal.metrics.ProbeLevel.INFO;
+import static com.hazelcast.internal.metrics.ProbeUnit.COUNT;
+import static com.hazelcast.internal.util.Preconditions.checkNotNull;
+import static com.hazelcast.internal.util.Preconditions.checkPositive;
+import static com.hazelcast.internal.util.QuickMath.log2;
+import static com.hazelcast.internal.util.counters.SwCounter.newSwCounter;
+import static com.hazelcast.spi.impl.operationexecutor.impl.OperationQueueImpl.TRIGGER_TASK;
+
+/**
+ * An {@link OperationQueue} for a single consumer which drains the normal
+ * tasks in batches.
+ * <p>
+ * Both the normal and the priority tasks are kept in {@link MPSCQueue}s, so
+ * producers never take a lock. When the consumer runs out of normal tasks it
+ * blocks for the next one and then moves everything that is pending, up to
+ * the batch size, into a consumer-local array. The following takes are served
+ * from that array without touching the shared queue at all.
+ * <p>
+ * The priority semantics are the same as in the {@link OperationQueueImpl}:
+ * the priority queue is checked before every normal task, including the ones
+ * already drained into the batch, and a {@link OperationQueueImpl#TRIGGER_TASK}
+ * is put in the normal queue for every priority task to wake up a blocked
+ * consumer.
+ * <p>
+ * The sizes of the drained batches are recorded in a histogram with
+ * power-of-two buckets which is exposed through the metrics.
+ * <p>
+ * Since there can only be a single consumer, this queue can't be used by the
+ * {@link GenericOperationThread}s.
+ */
+public final class BatchingOperationQueue implements OperationQueue {
+
+    private final MPSCQueue<Object> normalQueue;
+    private final MPSCQueue<Object> priorityQueue;
+
+    // the batch is only accessed by the consumer thread
+    private final Object[] batch;
+    private int batchIndex;
+    private int batchLength;
+
+    // the counters are updated by the consumer thread and read by the MetricsRegistry
+    @Probe(name = OPERATION_METRIC_PARTITION_OPERATION_THREAD_DRAINED_BATCH_COUNT)
+    private final SwCounter drainedBatchCount = newSwCounter();
+    @Probe(name = OPERATION_METRIC_PARTITION_OPERATION_THREAD_DRAINED_TASK_COUNT)
+    private final SwCounter drainedTaskCount = newSwCounter();
+    private final SwCounter[] batchSizeHistogram;
+
+    /**
+     * @param batchSize    the maximum number of normal tasks drained at once
+     * @param idleStrategy the idle strategy of the consumer. If {@code null},
+     *                     the consumer will block when there are no tasks.
+     */
+    public BatchingOperationQueue(int batchSize, IdleStrategy idleStrategy) {
+        checkPositive("batchSize", batchSize);
+        this.normalQueue = new MPSCQueue<>(idleStrategy);
+        this.priorityQueue = new MPSCQueue<>(null);
+        this.batch = new Object[batchSize];
+        this.batchSizeHistogram = new SwCounter[log2(batchSize) + 1];
+        for (int i = 0; i < batchSizeHistogram.length; i++) {
+            batchSizeHistogram[i] = newSwCounter();
+        }
+    }
+
+    /**
+     * Sets the consumer thread. It is woken up when a task is added while
+     * it is blocked on an empty queue.
+     *
+     * @see MPSCQueue#setConsumerThread(Thread)
+     */
+    public void setConsumerThread(Thread consumerThread) {
+        normalQueue.setConsumerThread(consumerThread);
+    }
+
+    /**
+     * {@inheritDoc}
+     * <p>
+     * The tasks which are already drained into the current batch are counted
+     * as well. They are read without synchronization, so the value is a best
+     * effort one.
+     */
+    @Override
+    public int normalSize() {
+        return normalQueue.size() + Math.max(batchLength - batchIndex, 0);
+    }
+
+    @Override
+    public int prioritySize() {
+        return priorityQueue.size();
+    }
+
+    @Override
+    public int size() {
+        return normalSize() + prioritySize();
+    }
+
+    @Override
+    public void add(Object task, boolean priority) {
+        checkNotNull(task, "task can't be null");
+
+        if (priority) {
+            priorityQueue.add(task);
+            normalQueue.add(TRIGGER_TASK);
+        } else {
+            normalQueue.add(task);
+        }
+    }
+
+    @Override
+    public Object take(boolean priorityOnly) throws InterruptedException {
+        if (priorityOnly) {
+            throw new UnsupportedOperationException("BatchingOperationQueue can't be used by priority threads");
+        }
+
+        for (; ; ) {
+            Object priorityItem = priorityQueue.poll();
+            if (priorityItem != null) {
+                return priorityItem;
+            }
+
+            if (batchIndex == batchLength) {
+                drainBatch();
+            }
+
+            Object normalItem = batch[batchIndex];
+            batch[batchIndex++] = null;
+            if (normalItem == TRIGGER_TASK) {
+                continue;
+            }
+
+            return normalItem;
+        }
+    }
+
+    private void drainBatch() throws InterruptedException {
+        // reset first, so a failed take leaves an empty batch behind
+        batchIndex = 0;
+        batchLength = 0;
+
+        Object[] batch = this.batch;
+        batch[0] = normalQueue.take();
+        int length = 1;
+        for (Object item; length < batch.length && (item = normalQueue.poll()) != null; ) {
+            batch[length++] = item;
+        }
+        batchLength = length;
+
+        drainedBatchCount.inc();
+        drainedTaskCount.inc(length);
+        batchSizeHistogram[bucketIndex(length)].inc();
+    }
+
+    /**
+     * Returns the histogram bucket for the given batch size. The bucket
+     * {@code i} holds the batch sizes in the {@code [2^i, 2^(i+1))} range.
+     */
+    static int bucketIndex(int batchSize) {
+        return log2(batchSize);
+    }
+
+    /**
+     * Returns the number of drained batches with a size in the given
+     * histogram bucket.
+     *
+     * @see #bucketIndex(int)
+     */
+    long batchSizeCount(int bucketIndex) {
+        return batchSizeHistogram[bucketIndex].get();
+    }
+
+    int batchSizeBucketCount() {
+        return batchSizeHistogram.length;
+    }
+
+    /**
+     * Registers the drain counters and the batch size histogram of this
+     * queue. Every histogram bucket is registered as a separate metric named
+     * after the upper bound of the bucket, e.g. {@code drainedBatchSize.upTo7}.
+     */
+    void provideStaticMetrics(MetricsRegistry registry, MetricDescriptor descriptor) {
+        registry.registerStaticMetrics(descriptor.copy(), this);
+        for (int i = 0; i < batchSizeHistogram.length; i++) {
+            SwCounter bucket = batchSizeHistogram[i];
+            long upperBound = Math.min((1L << (i + 1)) - 1, batch.length);
+            registry.registerStaticProbe(this, descriptor.copy(),
+                    OPERATION_METRIC_PARTITION_OPERATION_THREAD_DRAINED_BATCH_SIZE + upperBound, INFO, COUNT,
+                    (LongProbeFunction<BatchingOperationQueue>) queue -> bucket.get());
+        }
+    }
+}
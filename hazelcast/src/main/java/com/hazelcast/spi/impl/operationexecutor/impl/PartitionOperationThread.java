@@ -17,13 +17,17 @@
 package com.hazelcast.spi.impl.operationexecutor.impl;
 
 import com.hazelcast.instance.impl.NodeExtension;
+import com.hazelcast.internal.metrics.MetricDescriptor;
+import com.hazelcast.internal.metrics.MetricsRegistry;
 import com.hazelcast.internal.metrics.Probe;
 import com.hazelcast.logging.ILogger;
 import com.hazelcast.spi.impl.operationexecutor.OperationRunner;
 import edu.umd.cs.findbugs.annotations.SuppressFBWarnings;
 
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_DISCRIMINATOR_THREAD;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_PARTITION_OPERATION_THREAD_NORMAL_PENDING_COUNT;
 import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_METRIC_PARTITION_OPERATION_THREAD_PRIORITY_PENDING_COUNT;
+import static com.hazelcast.internal.metrics.MetricDescriptorConstants.OPERATION_PREFIX_THREAD;
 
 /**
  * An {@link OperationThread} that executes Operations for a particular partition,
@@ -63,4 +67,16 @@ public final class PartitionOperationThread extends OperationThread {
     int normalPendingCount() {
         return queue.normalSize();
     }
+
+    @Override
+    public void provideStaticMetrics(MetricsRegistry registry) {
+        super.provideStaticMetrics(registry);
+        if (queue instanceof BatchingOperationQueue) {
+            MetricDescriptor descriptor = registry
+                    .newMetricDescriptor()
+                    .withPrefix(OPERATION_PREFIX_THREAD)
+                    .withDiscriminator(OPERATION_DISCRIMINATOR_THREAD, getName());
+            ((BatchingOperationQueue) queue).provideStaticMetrics(registry, descriptor);
+        }
+    }
 }
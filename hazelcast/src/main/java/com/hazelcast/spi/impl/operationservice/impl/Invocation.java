@@ -608,7 +608,7 @@ public abstract class Invocation<T> extends BaseInvocation implements OperationR
         this.connection = connection;
         boolean write;
         if (connection != null) {
-            write = context.outboundOperationHandler.send(op, connection);
+            write = context.outboundOperationHandler.trySend(op, connection);
         } else {
             write = context.outboundOperationHandler.send(op, targetAddress);
         }
@@ -623,6 +623,10 @@ public abstract class Invocation<T> extends BaseInvocation implements OperationR
             return "Packet not sent to -> " + targetAddress + ", there is no available connection";
         }
 
+        if (!connection.isWritable()) {
+            return "Packet not sent to -> " + targetAddress + " over " + connection + ", the write queue is full";
+        }
+
         return "Packet not sent to -> " + targetAddress + " over " + connection;
     }
 
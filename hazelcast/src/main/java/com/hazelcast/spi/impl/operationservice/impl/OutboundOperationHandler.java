@@ -59,6 +59,26 @@ public class OutboundOperationHandler {
         return connection.write(packet);
     }
 
+    /**
+     * Sends the operation over the connection, unless the operation isn't urgent
+     * and the connection is unwritable because too many bytes are pending in its
+     * write queue. This way a slow member pushes back on the senders instead
+     * of letting the write queue grow without bounds.
+     * <p>
+     * Only senders that retry a rejected operation, like invocations do, should
+     * use this method. Fire and forget senders should use {@link #send(Operation, ServerConnection)}.
+     *
+     * @return {@code true} if the operation was written, {@code false} if the
+     * connection is unwritable or not alive
+     * @see ServerConnection#isWritable()
+     */
+    public boolean trySend(Operation op, ServerConnection connection) {
+        if (!op.isUrgent() && !connection.isWritable()) {
+            return false;
+        }
+        return send(op, connection);
+    }
+
     private Packet toPacket(Operation op) {
         byte[] bytes = serializationService.toBytes(op);
         int partitionId = op.getPartitionId();
@@ -33,6 +33,11 @@ import java.util.Iterator;
 public class RingbufferMergeData implements Iterable<Object> {
 
     private Object[] items;
+    /**
+     * The ringbuffer the items are read from until they are modified, so the
+     * items of a ringbuffer which are only read aren't copied.
+     */
+    private Ringbuffer<Object> ringbuffer;
     private long tailSequence = -1;
     private long headSequence = tailSequence + 1;
 
@@ -42,7 +47,7 @@ public class RingbufferMergeData implements Iterable<Object> {
     }
 
     public RingbufferMergeData(Ringbuffer<Object> ringbuffer) {
-        this.items = ringbuffer.getItems();
+        this.ringbuffer = ringbuffer;
         this.headSequence = ringbuffer.headSequence();
         this.tailSequence = ringbuffer.tailSequence();
     }
@@ -105,7 +110,7 @@ public class RingbufferMergeData implements Iterable<Object> {
      * @return the capacity
      */
     public int getCapacity() {
-        return items.length;
+        return items != null ? items.length : (int) ringbuffer.getCapacity();
     }
 
     /**
@@ -140,6 +145,7 @@ public class RingbufferMergeData implements Iterable<Object> {
      * @return the sequence of the added item
      */
     public long add(Object item) {
+        copyItems();
         tailSequence++;
 
         if (tailSequence - items.length == headSequence) {
@@ -165,7 +171,7 @@ public class RingbufferMergeData implements Iterable<Object> {
     @SuppressWarnings("unchecked")
     public <E> E read(long sequence) {
         checkReadSequence(sequence);
-        return (E) items[toIndex(sequence)];
+        return items != null ? (E) items[toIndex(sequence)] : (E) ringbuffer.read(sequence);
     }
 
     /**
@@ -175,6 +181,7 @@ public class RingbufferMergeData implements Iterable<Object> {
      * @param data the data to be set
      */
     public void set(long seq, Object data) {
+        copyItems();
         items[toIndex(seq)] = data;
     }
 
@@ -182,7 +189,12 @@ public class RingbufferMergeData implements Iterable<Object> {
      * Clears the data in the ringbuffer.
      */
     public void clear() {
-        Arrays.fill(items, null);
+        if (items != null) {
+            Arrays.fill(items, null);
+        } else {
+            items = new Object[getCapacity()];
+            ringbuffer = null;
+        }
         tailSequence = -1;
         headSequence = tailSequence + 1;
     }
@@ -200,6 +212,14 @@ public class RingbufferMergeData implements Iterable<Object> {
         }
     }
 
+    // copies the items of the ringbuffer before they are modified
+    private void copyItems() {
+        if (items == null) {
+            items = ringbuffer.getItems();
+            ringbuffer = null;
+        }
+    }
+
     private int toIndex(long sequence) {
         return (int) (sequence % items.length);
     }
@@ -211,9 +231,13 @@ public class RingbufferMergeData implements Iterable<Object> {
      * items at the end of this array. This means that this array is not sorted
      * by sequence ID and the index of the item in this array must be calculated
      * using the sequence and the modulo of the array.
+     * <p>
+     * If the items are read from a ringbuffer, they are copied to the array
+     * first, so the items should rather be read by the {@link #iterator()}.
      */
     @SuppressFBWarnings("EI_EXPOSE_REP")
     public Object[] getItems() {
+        copyItems();
         return items;
     }
 
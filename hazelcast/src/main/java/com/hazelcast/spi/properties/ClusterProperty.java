@@ -302,6 +302,29 @@ public final class ClusterProperty {
     public static final HazelcastProperty IO_WRITE_THROUGH_ENABLED
             = new HazelcastProperty("hazelcast.io.write.through", true);
 
+    /**
+     * The number of bytes pending in the write queue of a connection at which
+     * the connection stops accepting new operations. Operations that aren't
+     * urgent and that are sent over such a connection are retried until
+     * the write queue has drained to {@link #IO_WRITE_QUEUE_LOW_WATERMARK}.
+     * Without this limit, the write queue towards a slow member can grow until
+     * this member runs out of memory.
+     * <p>
+     * The default is 0, which disables the write queue backpressure.
+     */
+    public static final HazelcastProperty IO_WRITE_QUEUE_HIGH_WATERMARK
+            = new HazelcastProperty("hazelcast.io.write.queue.high.watermark", 0);
+
+    /**
+     * The number of bytes pending in the write queue of a connection at which
+     * a connection that reached {@link #IO_WRITE_QUEUE_HIGH_WATERMARK} accepts
+     * new operations again.
+     * <p>
+     * The default is 0, which means half of the high watermark.
+     */
+    public static final HazelcastProperty IO_WRITE_QUEUE_LOW_WATERMARK
+            = new HazelcastProperty("hazelcast.io.write.queue.low.watermark", 0);
+
     /**
      * Property needed for concurrency detection so that write through can be
      * done correctly.
@@ -439,6 +462,26 @@ public final class ClusterProperty {
     public static final HazelcastProperty PARTITION_FRAGMENTED_MIGRATION_ENABLED
             = new HazelcastProperty("hazelcast.partition.migration.fragments.enabled", true);
 
+    /**
+     * When enabled, a large replica fragment, e.g. the records of a map in a
+     * partition, is migrated in multiple chunks instead of a single packet.
+     * The destination applies the chunks one by one, so neither the source nor
+     * the destination holds the whole fragment in serialized form and other
+     * partition operations can run between the chunks. Takes effect only if
+     * {@link #PARTITION_FRAGMENTED_MIGRATION_ENABLED fragmented migration} is
+     * enabled and only for the data structures which support it.
+     */
+    public static final HazelcastProperty PARTITION_CHUNKED_MIGRATION_ENABLED
+            = new HazelcastProperty("hazelcast.partition.migration.chunks.enabled", false);
+
+    /**
+     * Size of the data in kilobytes above which a migration chunk is closed.
+     * The memory needed to migrate a partition is bounded by about twice this
+     * size on both members, a chunk may exceed it by the size of a single entry.
+     */
+    public static final HazelcastProperty PARTITION_MIGRATION_CHUNK_SIZE_KB
+            = new HazelcastProperty("hazelcast.partition.migration.chunk.size.kb", 16 * 1024);
+
     /**
      * The time that a newly-appointed master node waits before forming a cluster.
      * Once a cluster is being started, a newly-appointed master node may receive
@@ -1040,6 +1083,17 @@ public final class ClusterProperty {
     public static final HazelcastProperty INDEX_COPY_BEHAVIOR
             = new HazelcastProperty("hazelcast.index.copy.behavior", IndexCopyBehavior.COPY_ON_READ.toString());
 
+    /**
+     * Enables the B+-tree based store for on-heap {@code SORTED} indexes.
+     * <p>
+     * By default the sorted indexes keep the indexed attribute values in a
+     * skip list. The B+-tree store keeps them in wide array-backed nodes
+     * instead, which reduces the memory footprint of large indexes and speeds
+     * up range scans. Ignored in NATIVE in-memory-format.
+     */
+    public static final HazelcastProperty INDEX_SORTED_BPLUS_TREE_ENABLED
+            = new HazelcastProperty("hazelcast.index.sorted.bplustree.enabled", false);
+
     /**
      * The number of threads that the client engine has available for processing
      * requests that are related to the query engine.
@@ -1188,6 +1242,57 @@ public final class ClusterProperty {
     public static final HazelcastProperty MAP_WRITE_BEHIND_QUEUE_CAPACITY
             = new HazelcastProperty("hazelcast.map.write.behind.queue.capacity", 50000);
 
+    /**
+     * Number of write-behind flushers per map on a member. Each flusher owns a
+     * disjoint subset of the partitions and stores their due entries
+     * independently of the other flushers, so a slow {@link com.hazelcast.map.MapStore}
+     * is called concurrently instead of one batch after another.
+     * <p>
+     * The flushers run on the {@code hz:map-write-behind} executor, its pool
+     * size can be configured with an {@link com.hazelcast.config.ExecutorConfig}
+     * of the same name.
+     */
+    public static final HazelcastProperty MAP_WRITE_BEHIND_FLUSHER_COUNT
+            = new HazelcastProperty("hazelcast.map.write.behind.flusher.count", 1);
+
+    /**
+     * Enables the off-heap record storage for {@link com.hazelcast.config.InMemoryFormat#BINARY BINARY}
+     * and {@link com.hazelcast.config.InMemoryFormat#OBJECT OBJECT} maps whose names match one of the
+     * comma-separated map name patterns of this property. Patterns may contain a single {@code *}
+     * wildcard, e.g. {@code "analytics-*,sessions"}.
+     * <p>
+     * Keys of matching maps are kept outside the Java heap and indexed by an off-heap
+     * hash table, which lowers the number of objects the garbage collector has to trace
+     * per entry. The storage is only used if the JVM provides off-heap memory access,
+     * otherwise the default on-heap storage is used.
+     * <p>
+     * Default: empty, no map uses the off-heap record storage
+     */
+    public static final HazelcastProperty MAP_OFF_HEAP_STORAGE_MAP_NAMES
+            = new HazelcastProperty("hazelcast.map.offheap.storage.map.names", "");
+
+    /**
+     * Enables the columnar copy of the values of the maps whose names match one
+     * of the comma-separated map name patterns of this property. Patterns may
+     * contain a single {@code *} wildcard, e.g. {@code "analytics-*,orders"}.
+     * <p>
+     * Each partition of a matching map keeps the non-nullable primitive fields
+     * of its {@link com.hazelcast.config.CompactSerializationConfig compact}
+     * values in primitive arrays, one per field. Aggregations like
+     * {@code Aggregators.longSum()}, {@code Aggregators.doubleAvg()} or
+     * {@code Aggregators.count()} filtered by equality and range predicates on
+     * those fields then run over the arrays instead of the serialized values.
+     * The copy costs memory and a field extraction on every update; it is only
+     * used while all values of a partition share a single schema, otherwise the
+     * aggregations run on the entries as usual. Maps with the
+     * {@link com.hazelcast.config.InMemoryFormat#NATIVE NATIVE} in-memory format
+     * are not supported.
+     * <p>
+     * Default: empty, no map keeps a columnar copy of its values
+     */
+    public static final HazelcastProperty MAP_COLUMNAR_STORE_MAP_NAMES
+            = new HazelcastProperty("hazelcast.map.columnar.store.map.names", "");
+
     /*
      * INVOCATION / OPERATION SYSTEM PROPERTIES
      */
@@ -1482,6 +1587,117 @@ public final class ClusterProperty {
     public static final HazelcastProperty EVENT_SYNC_TIMEOUT_MILLIS
             = new HazelcastProperty("hazelcast.event.sync.timeout.millis", 5000, MILLISECONDS);
 
+    /**
+     * The time window in microseconds for batching remote events. Events sent
+     * to the same member within the window are sent together in a single
+     * packet, which reduces the number of packets when many events are
+     * published to remote listeners. The ordering of the events of the same
+     * listener registration is preserved.
+     * <p>
+     * The default value is 0, meaning each remote event is sent in its own
+     * packet. The events are batched only when the cluster version is 5.1 or
+     * newer, so a cluster being upgraded keeps sending single events until
+     * all members are upgraded.
+     *
+     * @see #EVENT_BATCH_MAX_SIZE
+     * @since 5.1
+     */
+    public static final HazelcastProperty EVENT_BATCH_WINDOW_MICROS
+            = new HazelcastProperty("hazelcast.event.batch.window.micros", 0, MICROSECONDS);
+
+    /**
+     * The maximum number of remote events sent to a member in a single batch.
+     * A batch is sent as soon as it reaches this size, without waiting for the
+     * end of the {@linkplain #EVENT_BATCH_WINDOW_MICROS batching window}.
+     *
+     * @since 5.1
+     */
+    public static final HazelcastProperty EVENT_BATCH_MAX_SIZE
+            = new HazelcastProperty("hazelcast.event.batch.max.size", 128);
+
+    /**
+     * Enables sharing the ringbuffer reads of the reliable topic listeners
+     * registered on the same member. The listeners reading from the same
+     * sequence wait on a single read operation, so a topic with many
+     * listeners keeping up with the publishers has one outstanding read per
+     * member instead of one per listener. The sequence tracking and message
+     * loss detection of each {@link com.hazelcast.topic.ReliableMessageListener}
+     * is not affected.
+     *
+     * @since 5.1
+     */
+    public static final HazelcastProperty RELIABLE_TOPIC_SHARED_READ_ENABLED
+            = new HazelcastProperty("hazelcast.reliabletopic.shared.read.enabled", false);
+
+    /**
+     * Enables the tiered storage of the ringbuffers, including the event
+     * journals of maps and caches. A ringbuffer with a capacity larger than
+     * the {@link #RINGBUFFER_TIERED_MEMORY_CAPACITY} keeps only its newest
+     * items in memory and moves the older items to append-only, memory-mapped
+     * segment files in the {@link #RINGBUFFER_TIERED_STORAGE_DIRECTORY}. The
+     * items are read from the right tier transparently, so the capacity of a
+     * ringbuffer isn't limited by the heap.
+     * <p>
+     * The capacity and the time-to-live of the ringbuffer config apply to all
+     * the items, the ones on disk included. The files aren't used to recover
+     * the items after a restart, they are deleted when the ringbuffer is
+     * destroyed or migrated away from the member.
+     * <p>
+     * The default value is {@code false}.
+     *
+     * @since 5.1
+     */
+    public static final HazelcastProperty RINGBUFFER_TIERED_STORAGE_ENABLED
+            = new HazelcastProperty("hazelcast.ringbuffer.tiered.storage.enabled", false);
+
+    /**
+     * The directory in which the tiered ringbuffers create their segment
+     * files, see {@link #RINGBUFFER_TIERED_STORAGE_ENABLED}.
+     * <p>
+     * The default value is empty, which means the temporary-file directory
+     * of the JVM, the {@code java.io.tmpdir} system property.
+     *
+     * @since 5.1
+     */
+    public static final HazelcastProperty RINGBUFFER_TIERED_STORAGE_DIRECTORY
+            = new HazelcastProperty("hazelcast.ringbuffer.tiered.storage.directory", "");
+
+    /**
+     * The number of the newest items each partition of a tiered ringbuffer
+     * keeps in memory, see {@link #RINGBUFFER_TIERED_STORAGE_ENABLED}. The
+     * ringbuffers with a capacity not larger than this keep all their items
+     * in memory.
+     *
+     * @since 5.1
+     */
+    public static final HazelcastProperty RINGBUFFER_TIERED_MEMORY_CAPACITY
+            = new HazelcastProperty("hazelcast.ringbuffer.tiered.memory.capacity", 10000);
+
+    /**
+     * The maximum time in seconds an item of a tiered ringbuffer stays in
+     * memory, see {@link #RINGBUFFER_TIERED_STORAGE_ENABLED}. Older items are
+     * moved to disk even if the memory tier isn't full. The item is still
+     * readable until it expires by the time-to-live of the ringbuffer config.
+     * <p>
+     * The default value is {@code 0}, which means the items are moved to disk
+     * only when the memory tier is full.
+     *
+     * @since 5.1
+     */
+    public static final HazelcastProperty RINGBUFFER_TIERED_MEMORY_TTL_SECONDS
+            = new HazelcastProperty("hazelcast.ringbuffer.tiered.memory.ttl.seconds", 0, SECONDS);
+
+    /**
+     * The size in bytes of the segment files of the tiered ringbuffers, see
+     * {@link #RINGBUFFER_TIERED_STORAGE_ENABLED}. A segment file is deleted
+     * when all its items are removed from the ringbuffer. An item larger than
+     * the segment size is stored in a segment file of its own.
+     *
+     * @since 5.1
+     */
+    public static final HazelcastProperty RINGBUFFER_TIERED_SEGMENT_SIZE
+            = new HazelcastProperty("hazelcast.ringbuffer.tiered.segment.size", 16 * 1024 * 1024);
+
     /**
      * Enable or disable the sending of phone home data to Hazelcast’s phone home
      * server.
@@ -1719,6 +1935,44 @@ public final class ClusterProperty {
         = new HazelcastProperty("hazelcast.jet.idle.noncooperative.max.microseconds", 5000, MICROSECONDS)
             .setDeprecatedName("jet.idle.noncooperative.max.microseconds");
 
+    /**
+     * Enables work stealing between the cooperative worker threads. The
+     * cooperative tasklets are assigned to the workers round-robin when a
+     * job starts. If enabled, an idle worker takes over a tasklet from the
+     * worker with the most tasklets making progress, so that a skewed job
+     * doesn't keep one thread busy while the others idle. A tasklet is
+     * handed over only between its calls, it's never called by two threads
+     * concurrently.
+     * <p>
+     * With work stealing enabled, a cooperative tasklet can move to another
+     * worker thread while the job runs. The processors must not rely on
+     * thread affinity or keep state in {@code ThreadLocal}s between calls.
+     * <p>
+     * The default is {@code false}.
+     *
+     * @since 5.1
+     */
+    public static final HazelcastProperty JET_COOPERATIVE_WORK_STEALING_ENABLED
+            = new HazelcastProperty("hazelcast.jet.cooperative.work.stealing.enabled", false);
+
+    /**
+     * Runs the non-cooperative tasklets on virtual threads instead of
+     * platform threads, if the JVM supports virtual threads. A virtual thread
+     * releases its carrier thread when it blocks, so jobs with a high local
+     * parallelism of blocking processors don't create as many OS threads.
+     * The idle strategy of the non-cooperative workers is the same.
+     * <p>
+     * A virtual thread blocked inside a {@code synchronized} block or a native
+     * call still occupies its carrier thread. If the JVM doesn't support
+     * virtual threads, a warning is logged and platform threads are used.
+     * <p>
+     * The default is {@code false}.
+     *
+     * @since 5.1
+     */
+    public static final HazelcastProperty JET_BLOCKING_VIRTUAL_THREADS_ENABLED
+            = new HazelcastProperty("hazelcast.jet.blocking.virtual.threads.enabled", false);
+
     /**
      * The directory containing jars, that can be used to specify custom classpath for
      * a stage in a pipeline.
@@ -1729,6 +1983,75 @@ public final class ClusterProperty {
     public static final HazelcastProperty PROCESSOR_CUSTOM_LIB_DIR
             = new HazelcastProperty("hazelcast.jet.custom.lib.dir", "custom-lib");
 
+    /**
+     * Enables spilling to local disk in the batch processors that accumulate
+     * their whole input, that is in the grouping, aggregating and sorting
+     * processors. When a processor reaches the {@linkplain
+     * com.hazelcast.jet.config.JobConfig#setMaxProcessorAccumulatedRecords
+     * max processor accumulated records} limit, it writes the accumulated
+     * records to files in the {@link #JET_SPILL_DIRECTORY} and merges them
+     * back when the input is complete, instead of failing the job.
+     * <p>
+     * The spilled records are serialized, so the items, the grouping keys and
+     * the accumulators must be serializable.
+     * <p>
+     * The default value is {@code false}.
+     *
+     * @since 5.1
+     */
+    public static final HazelcastProperty JET_SPILL_ENABLED
+            = new HazelcastProperty("hazelcast.jet.spill.enabled", false);
+
+    /**
+     * The directory in which the processors create their spill files, see
+     * {@link #JET_SPILL_ENABLED}. The files are deleted when the processor
+     * completes.
+     * <p>
+     * The default value is empty, which means the temporary-file directory
+     * of the JVM, the {@code java.io.tmpdir} system property.
+     *
+     * @since 5.1
+     */
+    public static final HazelcastProperty JET_SPILL_DIRECTORY
+            = new HazelcastProperty("hazelcast.jet.spill.directory", "");
+
+    /**
+     * Enables incremental snapshots of the fault-tolerant Jet jobs and sets
+     * how often a full snapshot is written. Every N-th snapshot is a full
+     * one written to the other snapshot map, as usual. The snapshots between
+     * are deltas appended to the map of the previous snapshot: they contain
+     * only the entries changed since the previous snapshot and tombstones for
+     * the removed ones, written in chunks. After the next full snapshot
+     * succeeds, the map with the deltas is cleared.
+     * <p>
+     * The processors track their changes themselves; currently only the
+     * sliding window aggregations do it, other processors save their whole
+     * state to every snapshot. A job restart or a master change starts with a
+     * full snapshot. Exported snapshots are always full.
+     * <p>
+     * The default value is {@code 1}, which means every snapshot is a full
+     * one written in chunks, that is incremental snapshots are disabled.
+     *
+     * @since 5.1
+     */
+    public static final HazelcastProperty JET_INCREMENTAL_SNAPSHOT_FULL_INTERVAL
+            = new HazelcastProperty("hazelcast.jet.snapshot.incremental.full.interval", 1);
+
+    /**
+     * Enables compilation of SQL filters and projections to bytecode. When
+     * enabled, each member compiles the filter and the projection of a scan,
+     * filter or project vertex into a single class when the job starts,
+     * instead of evaluating the expression tree for every row. Numeric and
+     * boolean expressions are evaluated on primitive values, while the
+     * unsupported functions are still evaluated by the interpreter.
+     * <p>
+     * The default value is {@code false}.
+     *
+     * @since 5.1
+     */
+    public static final HazelcastProperty SQL_CODEGEN_ENABLED
+            = new HazelcastProperty("hazelcast.sql.codegen.enabled", false);
+
     /**
      * Controls whether cluster emojis can be used in log messages. This is just a hint for components calling the logging.
      *
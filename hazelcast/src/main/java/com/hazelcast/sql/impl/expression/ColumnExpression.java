@@ -80,6 +80,10 @@ public final class ColumnExpression<T> implements Expression<T>, IdentifiedDataS
         return lazyValue.deserialize(context.getSerializationService());
     }
 
+    public int getIndex() {
+        return index;
+    }
+
     @Override
     public QueryDataType getType() {
         return type;
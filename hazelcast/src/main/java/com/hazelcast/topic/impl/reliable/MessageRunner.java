@@ -28,7 +28,9 @@ import com.hazelcast.topic.Message;
 import com.hazelcast.topic.MessageListener;
 import com.hazelcast.topic.ReliableMessageListener;
 
+import javax.annotation.Nullable;
 import java.util.UUID;
+import java.util.concurrent.CompletionStage;
 import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
 import java.util.function.BiConsumer;
@@ -39,7 +41,8 @@ import java.util.function.BiConsumer;
  * that are read is pushed into the {@link MessageListener}.
  * It is a self-perpetuating stream of async calls.
  * <p>
- * The runner keeps track of the sequence.
+ * The runner keeps track of the sequence. If a {@link SharedTopicReader} is
+ * given, the reads are shared with the other runners of the topic.
  */
 public abstract class MessageRunner<E> implements BiConsumer<ReadResultSet<ReliableTopicMessage>, Throwable> {
 
@@ -53,6 +56,7 @@ public abstract class MessageRunner<E> implements BiConsumer<ReadResultSet<Relia
     private final UUID id;
     private final Executor executor;
     private final int batchSize;
+    private final SharedTopicReader sharedReader;
     private volatile boolean cancelled;
 
     public MessageRunner(UUID id,
@@ -64,6 +68,19 @@ public abstract class MessageRunner<E> implements BiConsumer<ReadResultSet<Relia
                          Executor executor,
                          ConcurrentMap<UUID, MessageRunner<E>> runnersMap,
                          ILogger logger) {
+        this(id, listener, ringbuffer, topicName, batchSize, serializationService, executor, runnersMap, logger, null);
+    }
+
+    public MessageRunner(UUID id,
+                         ReliableMessageListener<E> listener,
+                         Ringbuffer<ReliableTopicMessage> ringbuffer,
+                         String topicName,
+                         int batchSize,
+                         SerializationService serializationService,
+                         Executor executor,
+                         ConcurrentMap<UUID, MessageRunner<E>> runnersMap,
+                         ILogger logger,
+                         @Nullable SharedTopicReader sharedReader) {
         this.id = id;
         this.listener = listener;
         this.ringbuffer = ringbuffer;
@@ -73,6 +90,7 @@ public abstract class MessageRunner<E> implements BiConsumer<ReadResultSet<Relia
         this.batchSize = batchSize;
         this.executor = executor;
         this.runnersMap = runnersMap;
+        this.sharedReader = sharedReader;
 
         // we are going to listen to next publication. We don't care about what already has been published.
         long initialSequence = listener.retrieveInitialSequence();
@@ -86,8 +104,10 @@ public abstract class MessageRunner<E> implements BiConsumer<ReadResultSet<Relia
         if (cancelled) {
             return;
         }
-        ringbuffer.readManyAsync(sequence, 1, batchSize, null)
-                  .whenCompleteAsync(this, executor);
+        CompletionStage<ReadResultSet<ReliableTopicMessage>> read = sharedReader != null
+                ? sharedReader.read(sequence)
+                : ringbuffer.readManyAsync(sequence, 1, batchSize, null);
+        read.whenCompleteAsync(this, executor);
     }
 
     @Override
@@ -35,7 +35,7 @@ public class ReliableMessageRunner<E> extends MessageRunner<E> {
                           Executor executor, ILogger logger, ClusterService clusterService,
                           ReliableTopicProxy<E> proxy) {
         super(id, listener, proxy.ringbuffer, proxy.getName(), proxy.topicConfig.getReadBatchSize(),
-                serializationService, executor, proxy.runnersMap, logger);
+                serializationService, executor, proxy.runnersMap, logger, proxy.sharedReader);
         this.clusterService = clusterService;
         this.proxy = proxy;
     }
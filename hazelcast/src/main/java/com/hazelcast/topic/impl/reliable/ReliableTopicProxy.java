@@ -54,6 +54,7 @@ import static com.hazelcast.internal.util.Preconditions.checkNoNullInside;
 import static com.hazelcast.internal.util.Preconditions.checkNotNull;
 import static com.hazelcast.ringbuffer.impl.RingbufferService.TOPIC_RB_PREFIX;
 import static com.hazelcast.spi.impl.executionservice.ExecutionService.ASYNC_EXECUTOR;
+import static com.hazelcast.spi.properties.ClusterProperty.RELIABLE_TOPIC_SHARED_READ_ENABLED;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
 
 
@@ -81,6 +82,11 @@ public class ReliableTopicProxy<E> extends AbstractDistributedObject<ReliableTop
     final LocalTopicStatsImpl localTopicStats;
     final ReliableTopicConfig topicConfig;
     final TopicOverloadPolicy overloadPolicy;
+    /**
+     * Shares the ringbuffer reads of the listeners, {@code null} if each
+     * listener reads on its own.
+     */
+    final SharedTopicReader sharedReader;
 
     private final NodeEngine nodeEngine;
     private final Address thisAddress;
@@ -98,6 +104,9 @@ public class ReliableTopicProxy<E> extends AbstractDistributedObject<ReliableTop
         this.thisAddress = nodeEngine.getThisAddress();
         this.overloadPolicy = topicConfig.getTopicOverloadPolicy();
         this.localTopicStats = service.getLocalTopicStats(name);
+        this.sharedReader = nodeEngine.getProperties().getBoolean(RELIABLE_TOPIC_SHARED_READ_ENABLED)
+                ? new SharedTopicReader(ringbuffer, topicConfig.getReadBatchSize())
+                : null;
 
         for (ListenerConfig listenerConfig : topicConfig.getMessageListenerConfigs()) {
             addMessageListener(listenerConfig);
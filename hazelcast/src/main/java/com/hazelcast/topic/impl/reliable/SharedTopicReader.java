@@ -0,0 +1,79 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.topic.impl.reliable;
+
+import com.hazelcast.ringbuffer.ReadResultSet;
+import com.hazelcast.ringbuffer.Ringbuffer;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Shares the ringbuffer reads of all {@link MessageRunner}s of a reliable
+ * topic on this member or client.
+ * <p>
+ * The runners reading from the same sequence get the same read result, so
+ * when all the listeners are keeping up with the publishers there is only a
+ * single outstanding read operation for the topic instead of one for each
+ * listener, and the items are sent only once. The result contains the
+ * serialized items, so each listener still receives its own deserialized
+ * copy of the message.
+ */
+public class SharedTopicReader {
+
+    private final Ringbuffer<ReliableTopicMessage> ringbuffer;
+    private final int batchSize;
+    private final ConcurrentMap<Long, CompletableFuture<ReadResultSet<ReliableTopicMessage>>> pendingReads
+            = new ConcurrentHashMap<>();
+
+    public SharedTopicReader(Ringbuffer<ReliableTopicMessage> ringbuffer, int batchSize) {
+        this.ringbuffer = ringbuffer;
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Reads a batch of at least one item starting from the given sequence. If
+     * a read from the same sequence is in progress, its result is returned.
+     */
+    public CompletionStage<ReadResultSet<ReliableTopicMessage>> read(long sequence) {
+        CompletableFuture<ReadResultSet<ReliableTopicMessage>> read = pendingReads.get(sequence);
+        if (read != null) {
+            return read;
+        }
+        CompletableFuture<ReadResultSet<ReliableTopicMessage>> newRead = new CompletableFuture<>();
+        read = pendingReads.putIfAbsent(sequence, newRead);
+        if (read != null) {
+            return read;
+        }
+        ringbuffer.readManyAsync(sequence, 1, batchSize, null).whenComplete((result, throwable) -> {
+            pendingReads.remove(sequence, newRead);
+            if (throwable != null) {
+                newRead.completeExceptionally(throwable);
+            } else {
+                newRead.complete(result);
+            }
+        });
+        return newRead;
+    }
+
+    // used in tests
+    int pendingReadCount() {
+        return pendingReads.size();
+    }
+}
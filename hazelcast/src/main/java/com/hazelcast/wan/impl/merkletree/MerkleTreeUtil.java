@@ -378,6 +378,36 @@ public final class MerkleTreeUtil {
         return new RemoteMerkleTreeView(leaves, depth);
     }
 
+    /**
+     * Returns the hashes of the leaves of a Merkle tree
+     *
+     * @param merkleTreeView The Merkle tree which leaves to be returned
+     * @return the hashes of the leaves from left to right
+     */
+    public static int[] getLeaves(MerkleTreeView merkleTreeView) {
+        int leafLevel = merkleTreeView.depth() - 1;
+        int numberOfLeaves = getNodesOnLevel(leafLevel);
+        int leftMostLeaf = getLeftMostNodeOrderOnLevel(leafLevel);
+
+        int[] leaves = new int[numberOfLeaves];
+        for (int i = 0; i < numberOfLeaves; i++) {
+            leaves[i] = merkleTreeView.getNodeHash(leftMostLeaf + i);
+        }
+        return leaves;
+    }
+
+    /**
+     * Creates a {@link RemoteMerkleTreeView} from the hashes of the leaves
+     * of a Merkle tree, as returned by {@link #getLeaves(MerkleTreeView)}
+     *
+     * @param leaves The hashes of the leaves
+     * @return the view representing the remote Merkle tree
+     */
+    public static RemoteMerkleTreeView createRemoteMerkleTreeView(int[] leaves) {
+        int depth = QuickMath.log2(leaves.length << 1);
+        return new RemoteMerkleTreeView(leaves, depth);
+    }
+
     /**
      * @param merkleTreeOrderValuePairs an array of {@code [nodeOrder, hashValue]} pairs
      * @return set of given Merkle tree node orders
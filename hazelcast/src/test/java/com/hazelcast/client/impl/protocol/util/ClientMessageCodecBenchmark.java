@@ -0,0 +1,124 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.protocol.util;
+
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.codec.MapGetCodec;
+import com.hazelcast.client.impl.protocol.codec.MapPutCodec;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.impl.HeapData;
+import com.hazelcast.internal.util.counters.SwCounter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Measures the request/response round-trips of {@link MapPutCodec} and
+ * {@link MapGetCodec} through the {@link ClientMessageEncoder} and {@link
+ * ClientMessageDecoder}, as they're done on the client and the member. Run
+ * it with the GC profiler to see the allocation per operation.
+ */
+@State(Scope.Thread)
+public class ClientMessageCodecBenchmark {
+
+    private static final String MAP_NAME = "map";
+    private static final long THREAD_ID = 1;
+
+    @Param({"100", "10000"})
+    public int valueSize;
+
+    private Data key;
+    private Data value;
+    private ByteBuffer buffer;
+    private ClientMessageEncoder encoder;
+    private ClientMessageDecoder decoder;
+    private ClientMessage pending;
+    private ClientMessage decoded;
+
+    @Setup
+    public void setup() {
+        key = new HeapData(new byte[32]);
+        value = new HeapData(new byte[valueSize]);
+
+        buffer = ByteBuffer.allocate(2 * valueSize + 1024);
+        buffer.flip();
+
+        encoder = new ClientMessageEncoder();
+        encoder.src(() -> {
+            ClientMessage message = pending;
+            pending = null;
+            return message;
+        });
+        encoder.dst(buffer);
+
+        decoder = new ClientMessageDecoder(null, message -> decoded = message, null);
+        decoder.setNormalPacketsRead(SwCounter.newSwCounter());
+        decoder.src(buffer);
+    }
+
+    @Benchmark
+    public Data mapPut() {
+        ClientMessage request = transfer(MapPutCodec.encodeRequest(MAP_NAME, key, value, THREAD_ID, -1));
+        MapPutCodec.RequestParameters parameters = MapPutCodec.decodeRequest(request);
+        return MapPutCodec.decodeResponse(transfer(MapPutCodec.encodeResponse(parameters.value)));
+    }
+
+    @Benchmark
+    public Data mapGet() {
+        ClientMessage request = transfer(MapGetCodec.encodeRequest(MAP_NAME, key, THREAD_ID));
+        MapGetCodec.RequestParameters parameters = MapGetCodec.decodeRequest(request);
+        return MapGetCodec.decodeResponse(transfer(MapGetCodec.encodeResponse(value)));
+    }
+
+    private ClientMessage transfer(ClientMessage message) {
+        pending = message;
+        encoder.onWrite();
+        // the decoder flips the buffer for reading
+        buffer.position(buffer.limit());
+        decoder.onRead();
+        // leave the buffer empty in read mode, as the encoder expects
+        buffer.flip();
+        return decoded;
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        // @formatter:off
+        Options opt = new OptionsBuilder()
+                .include(ClientMessageCodecBenchmark.class.getSimpleName())
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(1))
+                .measurementIterations(10)
+                .measurementTime(TimeValue.seconds(1))
+                .forks(1)
+                .threads(1)
+                .addProfiler(GCProfiler.class)
+                .build();
+        // @formatter:on
+
+        new Runner(opt).run();
+    }
+}
@@ -20,6 +20,7 @@ import com.hazelcast.client.impl.protocol.ClientMessage;
 import com.hazelcast.client.impl.protocol.ClientMessage.Frame;
 import com.hazelcast.client.impl.protocol.codec.ClientAuthenticationCodec;
 import com.hazelcast.client.impl.protocol.codec.MapAddEntryListenerCodec;
+import com.hazelcast.client.impl.protocol.codec.MapGetCodec;
 import com.hazelcast.client.impl.protocol.codec.MapPutCodec;
 import com.hazelcast.cluster.Address;
 import com.hazelcast.cluster.Member;
@@ -40,10 +41,12 @@ import org.junit.runner.RunWith;
 import javax.annotation.Nullable;
 import java.net.UnknownHostException;
 import java.nio.ByteBuffer;
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Iterator;
 import java.util.LinkedList;
 import java.util.List;
+import java.util.Queue;
 import java.util.Random;
 import java.util.UUID;
 import java.util.concurrent.atomic.AtomicReference;
@@ -54,6 +57,7 @@ import static com.hazelcast.client.impl.protocol.util.ClientMessageSplitter.getF
 import static com.hazelcast.internal.networking.HandlerStatus.CLEAN;
 import static org.junit.Assert.assertArrayEquals;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -341,6 +345,37 @@ public class ClientMessageEncoderDecoderTest extends HazelcastTestSupport {
         }
     }
 
+    @Test
+    public void testConsecutiveMessagesWithEmptyFrames() {
+        Queue<ClientMessage> messages = new LinkedList<>();
+        messages.add(MapGetCodec.encodeResponse(null));
+        messages.add(MapPutCodec.encodeRequest("map", randomData(), randomData(), 5, 10));
+        messages.add(MapGetCodec.encodeResponse(null));
+
+        ClientMessageEncoder encoder = new ClientMessageEncoder();
+        encoder.src(messages::poll);
+
+        ByteBuffer buffer = ByteBuffer.allocate(1000);
+        buffer.flip();
+        encoder.dst(buffer);
+
+        assertEquals(CLEAN, encoder.onWrite());
+
+        List<ClientMessage> resultingMessages = new ArrayList<>();
+        ClientMessageDecoder decoder = new ClientMessageDecoder(null, resultingMessages::add, null);
+        decoder.setNormalPacketsRead(SwCounter.newSwCounter());
+
+        buffer.position(buffer.limit());
+
+        decoder.src(buffer);
+        decoder.onRead();
+
+        assertEquals(3, resultingMessages.size());
+        assertNull(MapGetCodec.decodeResponse(resultingMessages.get(0)));
+        assertEquals("map", MapPutCodec.decodeRequest(resultingMessages.get(1)).name);
+        assertNull(MapGetCodec.decodeResponse(resultingMessages.get(2)));
+    }
+
     private ClientMessage createMessage(int frameLength, int frameCount) {
         ClientMessage message = ClientMessage.createForEncode();
 
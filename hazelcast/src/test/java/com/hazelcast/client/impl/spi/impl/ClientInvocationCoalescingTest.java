@@ -0,0 +1,86 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.spi.impl;
+
+import com.hazelcast.client.HazelcastClient;
+import com.hazelcast.client.config.ClientConfig;
+import com.hazelcast.core.Hazelcast;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletionStage;
+
+import static com.hazelcast.client.properties.ClientProperty.INVOCATION_COALESCING_WINDOW_MICROS;
+import static org.junit.Assert.assertEquals;
+
+/**
+ * Runs on the real network: the mock network hands the client messages to
+ * the member as they are, so the coalesced requests would not be read back
+ * separately.
+ */
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class ClientInvocationCoalescingTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    @After
+    public void tearDown() {
+        HazelcastClient.shutdownAll();
+        Hazelcast.shutdownAll();
+    }
+
+    @Test
+    public void testConcurrentOperations_withCoalescing() {
+        HazelcastInstance member1 = Hazelcast.newHazelcastInstance(smallInstanceConfig());
+        HazelcastInstance member2 = Hazelcast.newHazelcastInstance(smallInstanceConfig());
+        assertClusterSizeEventually(2, member1, member2);
+        ClientConfig clientConfig = new ClientConfig();
+        clientConfig.setProperty(INVOCATION_COALESCING_WINDOW_MICROS.getName(), "100");
+        HazelcastInstance client = HazelcastClient.newHazelcastClient(clientConfig);
+        String mapName = randomMapName();
+        IMap<Integer, Integer> map = client.getMap(mapName);
+
+        List<CompletionStage<Integer>> puts = new ArrayList<>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            puts.add(map.putAsync(i, i));
+        }
+        for (CompletionStage<Integer> put : puts) {
+            put.toCompletableFuture().join();
+        }
+
+        IMap<Integer, Integer> memberMap = member1.getMap(mapName);
+        assertEquals(ENTRY_COUNT, memberMap.size());
+        List<CompletionStage<Integer>> gets = new ArrayList<>();
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            gets.add(map.getAsync(i));
+        }
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(i, (int) gets.get(i).toCompletableFuture().join());
+            assertEquals(i, (int) memberMap.get(i));
+        }
+    }
+}
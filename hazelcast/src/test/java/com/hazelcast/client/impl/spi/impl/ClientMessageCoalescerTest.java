@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.client.impl.spi.impl;
+
+import com.hazelcast.client.impl.connection.ClientConnection;
+import com.hazelcast.client.impl.protocol.ClientMessage;
+import com.hazelcast.client.impl.protocol.ClientMessageReader;
+import com.hazelcast.client.impl.protocol.ClientMessageWriter;
+import com.hazelcast.client.impl.protocol.codec.ClientPingCodec;
+import com.hazelcast.client.impl.protocol.codec.MapGetCodec;
+import com.hazelcast.client.impl.protocol.codec.MapSetCodec;
+import com.hazelcast.internal.networking.OutboundFrame;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+
+import static java.util.Arrays.asList;
+import static java.util.concurrent.TimeUnit.SECONDS;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ClientMessageCoalescerTest extends HazelcastTestSupport {
+
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+    @Test
+    public void testConcurrentRequestsToSameConnection_shareOneWrite() throws Exception {
+        ClientInvocationServiceImpl invocationService = mock(ClientInvocationServiceImpl.class);
+        ClientConnection connection = mock(ClientConnection.class);
+        when(connection.write(any())).thenReturn(true);
+        when(connection.isAlive()).thenReturn(true);
+        ClientMessageCoalescer coalescer = new ClientMessageCoalescer(invocationService, "client", SECONDS.toNanos(1));
+        coalescer.start();
+        try {
+            int requestCount = 8;
+            CountDownLatch startLatch = new CountDownLatch(1);
+            List<Thread> threads = new ArrayList<>();
+            for (int i = 0; i < requestCount; i++) {
+                ClientMessage ping = ClientPingCodec.encodeRequest();
+                ping.setCorrelationId(i);
+                ClientInvocation invocation = mock(ClientInvocation.class);
+                when(invocation.getClientMessage()).thenReturn(ping);
+                Thread thread = new Thread(() -> {
+                    assertOpenEventually(startLatch);
+                    coalescer.write(invocation, connection);
+                });
+                thread.start();
+                threads.add(thread);
+            }
+            startLatch.countDown();
+            for (Thread thread : threads) {
+                thread.join();
+            }
+
+            verify(invocationService, timeout(ASSERT_TRUE_EVENTUALLY_TIMEOUT * 1000L).times(requestCount))
+                    .onWrite(any(), any(), eq(connection), eq(true));
+            ArgumentCaptor<OutboundFrame> written = ArgumentCaptor.forClass(OutboundFrame.class);
+            verify(connection, times(1)).write(written.capture());
+            Set<Long> correlationIds = new HashSet<>();
+            for (ClientMessage message : readAll(write((ClientMessage) written.getValue()))) {
+                correlationIds.add(message.getCorrelationId());
+            }
+            assertEquals(requestCount, correlationIds.size());
+        } finally {
+            coalescer.shutdown();
+        }
+    }
+
+    @Test
+    public void testCoalesce_messagesReadBackSeparately() {
+        ClientMessage get = MapGetCodec.encodeRequest("map", serializationService.toData("key"), 1);
+        get.setCorrelationId(1);
+        ClientMessage ping = ClientPingCodec.encodeRequest();
+        ping.setCorrelationId(2);
+        ClientMessage set = MapSetCodec.encodeRequest("map", serializationService.toData("key"),
+                serializationService.toData("value"), 1, -1);
+        set.setCorrelationId(3);
+        set.setPartitionId(7);
+
+        List<ClientMessage> messages = readAll(write(ClientMessageCoalescer.coalesce(asList(get, ping, set))));
+
+        assertEquals(3, messages.size());
+        assertEquals(1, messages.get(0).getCorrelationId());
+        assertEquals(MapGetCodec.REQUEST_MESSAGE_TYPE, messages.get(0).getMessageType());
+        assertEquals("map", MapGetCodec.decodeRequest(messages.get(0)).name);
+        assertEquals(2, messages.get(1).getCorrelationId());
+        assertEquals(ClientPingCodec.REQUEST_MESSAGE_TYPE, messages.get(1).getMessageType());
+        assertEquals(3, messages.get(2).getCorrelationId());
+        assertEquals(7, messages.get(2).getPartitionId());
+        assertEquals("value", serializationService.toObject(MapSetCodec.decodeRequest(messages.get(2)).value));
+    }
+
+    @Test
+    public void testCoalesce_doesNotModifyMessages() {
+        ClientMessage ping1 = ClientPingCodec.encodeRequest();
+        ClientMessage ping2 = ClientPingCodec.encodeRequest();
+        int frameLength = ping1.getFrameLength();
+
+        ClientMessageCoalescer.coalesce(asList(ping1, ping2));
+
+        assertEquals(frameLength, ping1.getFrameLength());
+        assertFalse(ClientMessage.isFlagSet(ping1.getStartFrame().flags, ClientMessage.IS_FINAL_FLAG));
+    }
+
+    private static ByteBuffer write(ClientMessage message) {
+        ByteBuffer buffer = ByteBuffer.allocate(message.getFrameLength());
+        assertTrue(new ClientMessageWriter().writeTo(buffer, message));
+        buffer.flip();
+        return buffer;
+    }
+
+    private static List<ClientMessage> readAll(ByteBuffer buffer) {
+        List<ClientMessage> messages = new ArrayList<>();
+        ClientMessageReader reader = new ClientMessageReader(-1);
+        while (buffer.hasRemaining()) {
+            assertTrue(reader.readFrom(buffer, true));
+            messages.add(reader.getClientMessage());
+            reader.reset();
+        }
+        return messages;
+    }
+}
@@ -238,6 +238,12 @@ class TestClientRegistry {
             return true;
         }
 
+        @Override
+        public boolean isWritable() {
+            // there is no channel, so no write queue to apply backpressure on
+            return true;
+        }
+
         @Override
         public Address getInitAddress() {
             return remoteAddress;
@@ -1956,7 +1956,9 @@ public class ConfigXmlGeneratorTest extends HazelcastTestSupport {
                 .setAppendRequestMaxEntryCount(25)
                 .setAppendRequestMaxEntryCount(250)
                 .setUncommittedEntryCountToRejectNewAppends(75)
-                .setAppendRequestBackoffTimeoutInMillis(50);
+                .setAppendRequestBackoffTimeoutInMillis(50)
+                .setLeaderLeaseReadsEnabled(true)
+                .setLeaderLeaseClockDriftBoundInMillis(200);
 
         config.getCPSubsystemConfig()
                 .addSemaphoreConfig(new SemaphoreConfig("sem1", true, 1))
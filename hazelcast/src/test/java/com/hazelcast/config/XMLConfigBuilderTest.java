@@ -3439,6 +3439,8 @@ public class XMLConfigBuilderTest extends AbstractConfigBuilderTest {
                 + "    <commit-index-advance-count-to-snapshot>250</commit-index-advance-count-to-snapshot>\n"
                 + "    <uncommitted-entry-count-to-reject-new-appends>75</uncommitted-entry-count-to-reject-new-appends>\n"
                 + "    <append-request-backoff-timeout-in-millis>50</append-request-backoff-timeout-in-millis>\n"
+                + "    <leader-lease-reads-enabled>true</leader-lease-reads-enabled>\n"
+                + "    <leader-lease-clock-drift-bound-in-millis>200</leader-lease-clock-drift-bound-in-millis>\n"
                 + "  </raft-algorithm>\n"
                 + "  <semaphores>\n"
                 + "    <semaphore>\n"
@@ -3483,6 +3485,8 @@ public class XMLConfigBuilderTest extends AbstractConfigBuilderTest {
         assertEquals(250, raftAlgorithmConfig.getCommitIndexAdvanceCountToSnapshot());
         assertEquals(75, raftAlgorithmConfig.getUncommittedEntryCountToRejectNewAppends());
         assertEquals(50, raftAlgorithmConfig.getAppendRequestBackoffTimeoutInMillis());
+        assertTrue(raftAlgorithmConfig.isLeaderLeaseReadsEnabled());
+        assertEquals(200, raftAlgorithmConfig.getLeaderLeaseClockDriftBoundInMillis());
         SemaphoreConfig semaphoreConfig1 = cpSubsystemConfig.findSemaphoreConfig("sem1");
         SemaphoreConfig semaphoreConfig2 = cpSubsystemConfig.findSemaphoreConfig("sem2");
         assertNotNull(semaphoreConfig1);
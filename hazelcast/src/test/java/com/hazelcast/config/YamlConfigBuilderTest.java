@@ -3724,6 +3724,8 @@ public class YamlConfigBuilderTest
                 + "      commit-index-advance-count-to-snapshot: 250\n"
                 + "      uncommitted-entry-count-to-reject-new-appends: 75\n"
                 + "      append-request-backoff-timeout-in-millis: 50\n"
+                + "      leader-lease-reads-enabled: true\n"
+                + "      leader-lease-clock-drift-bound-in-millis: 200\n"
                 + "    semaphores:\n"
                 + "      sem1:\n"
                 + "        jdk-compatible: true\n"
@@ -3755,6 +3757,8 @@ public class YamlConfigBuilderTest
         assertEquals(250, raftAlgorithmConfig.getCommitIndexAdvanceCountToSnapshot());
         assertEquals(75, raftAlgorithmConfig.getUncommittedEntryCountToRejectNewAppends());
         assertEquals(50, raftAlgorithmConfig.getAppendRequestBackoffTimeoutInMillis());
+        assertTrue(raftAlgorithmConfig.isLeaderLeaseReadsEnabled());
+        assertEquals(200, raftAlgorithmConfig.getLeaderLeaseClockDriftBoundInMillis());
         SemaphoreConfig semaphoreConfig1 = cpSubsystemConfig.findSemaphoreConfig("sem1");
         SemaphoreConfig semaphoreConfig2 = cpSubsystemConfig.findSemaphoreConfig("sem2");
         assertNotNull(semaphoreConfig1);
@@ -0,0 +1,97 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cp.internal.persistence;
+
+import com.hazelcast.cluster.Address;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.cp.CPGroupId;
+import com.hazelcast.cp.CPMember;
+import com.hazelcast.cp.IAtomicLong;
+import com.hazelcast.cp.internal.HazelcastRaftTestSupport;
+import com.hazelcast.cp.internal.datastructures.atomiclong.proxy.AtomicLongProxy;
+import com.hazelcast.cp.internal.raft.impl.RaftNodeImpl;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+
+import static com.hazelcast.cp.internal.raft.impl.RaftUtil.getCommitIndex;
+import static com.hazelcast.cp.internal.raft.impl.RaftUtil.getLastLogOrSnapshotEntry;
+import static com.hazelcast.cp.internal.raft.impl.RaftUtil.getTerm;
+import static com.hazelcast.test.Accessors.getAddress;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class FileCPPersistenceServiceTest extends HazelcastRaftTestSupport {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private File baseDir;
+
+    @Before
+    public void setUp() throws Exception {
+        baseDir = tempFolder.newFolder();
+    }
+
+    @Override
+    protected Config createConfig(int cpNodeCount, int groupSize) {
+        Config config = super.createConfig(cpNodeCount, groupSize);
+        config.getCPSubsystemConfig().setPersistenceEnabled(true).setBaseDir(baseDir);
+        return config;
+    }
+
+    @Test
+    public void testRestartedMemberRestoresCPState() {
+        HazelcastInstance[] instances = newInstances(3);
+        IAtomicLong counter = instances[0].getCPSubsystem().getAtomicLong("counter");
+        counter.addAndGet(5);
+        CPGroupId groupId = ((AtomicLongProxy) counter).getGroupId();
+
+        HazelcastInstance crashed = instances[2];
+        Address address = getAddress(crashed);
+        CPMember cpMember = crashed.getCPSubsystem().getLocalCPMember();
+        RaftNodeImpl raftNode = getRaftNode(crashed, groupId);
+        long lastLogIndex = getLastLogOrSnapshotEntry(raftNode).index();
+        int term = getTerm(raftNode);
+        crashed.getLifecycleService().terminate();
+
+        counter.incrementAndGet();
+
+        HazelcastInstance restarted = factory.newHazelcastInstance(address, createConfig(3, 3));
+
+        assertEquals(cpMember, restarted.getCPSubsystem().getLocalCPMember());
+        RaftNodeImpl restoredNode = getRaftNode(restarted, groupId);
+        assertNotNull(restoredNode);
+        assertTrue(getLastLogOrSnapshotEntry(restoredNode).index() >= lastLogIndex);
+        assertTrue(getTerm(restoredNode) >= term);
+
+        RaftNodeImpl leaderNode = getRaftNode(instances[0], groupId);
+        assertTrueEventually(() -> assertEquals(getCommitIndex(leaderNode), getCommitIndex(restoredNode)));
+        assertEquals(6, restarted.getCPSubsystem().getAtomicLong("counter").get());
+    }
+}
@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cp.internal.raft.impl;
+
+import com.hazelcast.config.cp.RaftAlgorithmConfig;
+import com.hazelcast.cp.internal.raft.impl.dataservice.ApplyRaftRunnable;
+import com.hazelcast.cp.internal.raft.impl.dataservice.QueryRaftRunnable;
+import com.hazelcast.cp.internal.raft.impl.dto.AppendRequest;
+import com.hazelcast.cp.internal.raft.impl.dto.AppendSuccessResponse;
+import com.hazelcast.cp.internal.raft.impl.testing.LocalRaftGroup;
+import com.hazelcast.cp.internal.raft.impl.testing.LocalRaftGroup.LocalRaftGroupBuilder;
+import com.hazelcast.spi.impl.InternalCompletableFuture;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import static com.hazelcast.cp.internal.raft.QueryPolicy.LINEARIZABLE;
+import static com.hazelcast.cp.internal.raft.impl.RaftUtil.getLeaderQueryRound;
+import static com.hazelcast.cp.internal.raft.impl.RaftUtil.getLeaseReadCount;
+import static com.hazelcast.cp.internal.raft.impl.RaftUtil.getQuorumReadCount;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class LeaderLeaseQueryTest extends HazelcastTestSupport {
+
+    private static final long LEADER_ELECTION_TIMEOUT_MILLIS = 2000;
+    private static final long CLOCK_DRIFT_BOUND_MILLIS = 500;
+
+    private LocalRaftGroup group;
+
+    @After
+    public void destroy() {
+        if (group != null) {
+            group.destroy();
+        }
+    }
+
+    @Test(timeout = 300_000)
+    public void when_leaderHoldsLease_then_linearizableQueryIsServedLocally() throws Exception {
+        group = newGroup(true);
+        group.start();
+
+        RaftNodeImpl leader = group.waitUntilLeaderElected();
+        leader.replicate(new ApplyRaftRunnable("value1")).get();
+        long queryRound = getLeaderQueryRound(leader);
+
+        Object o = leader.query(new QueryRaftRunnable(), LINEARIZABLE).get();
+
+        assertEquals("value1", o);
+        assertEquals(1, getLeaseReadCount(leader));
+        assertEquals(0, getQuorumReadCount(leader));
+        assertEquals(queryRound, getLeaderQueryRound(leader));
+    }
+
+    @Test(timeout = 300_000)
+    public void when_leaderLeaseExpires_then_linearizableQueryIsServedWithQuorum() throws Exception {
+        group = newGroup(true);
+        group.start();
+
+        RaftNodeImpl leader = group.waitUntilLeaderElected();
+        leader.replicate(new ApplyRaftRunnable("value1")).get();
+
+        group.dropMessagesToAll(leader.getLocalMember(), AppendRequest.class);
+        sleepMillis((int) (LEADER_ELECTION_TIMEOUT_MILLIS - CLOCK_DRIFT_BOUND_MILLIS) + 500);
+
+        InternalCompletableFuture queryFuture = leader.query(new QueryRaftRunnable(), LINEARIZABLE);
+        sleepMillis(500);
+        assertFalse(queryFuture.isDone());
+
+        group.resetAllRulesFrom(leader.getLocalMember());
+
+        assertEquals("value1", queryFuture.get());
+        assertEquals(0, getLeaseReadCount(leader));
+        assertEquals(1, getQuorumReadCount(leader));
+    }
+
+    @Test(timeout = 300_000)
+    public void when_appendResponsesAreDelayed_then_leaseIsNotRenewedWithLaterRequests() throws Exception {
+        group = newGroup(true);
+        group.start();
+
+        RaftNodeImpl leader = group.waitUntilLeaderElected();
+        leader.replicate(new ApplyRaftRunnable("value1")).get();
+
+        // The followers keep receiving the heartbeats, but the leader receives only
+        // the first response of each follower again and again, as if the responses
+        // of the later heartbeats were delayed behind it.
+        Map<RaftEndpoint, AppendSuccessResponse> firstResponses = new ConcurrentHashMap<>();
+        RaftEndpoint[] followers = group.getFollowerEndpoints();
+        for (RaftEndpoint follower : followers) {
+            group.alterMessagesToMember(follower, leader.getLocalMember(), message -> {
+                if (message instanceof AppendSuccessResponse) {
+                    return firstResponses.computeIfAbsent(follower, f -> (AppendSuccessResponse) message);
+                }
+                return message;
+            });
+        }
+        assertTrueEventually(() -> assertEquals(followers.length, firstResponses.size()));
+
+        sleepMillis((int) (LEADER_ELECTION_TIMEOUT_MILLIS - CLOCK_DRIFT_BOUND_MILLIS) + 500);
+
+        InternalCompletableFuture queryFuture = leader.query(new QueryRaftRunnable(), LINEARIZABLE);
+        sleepMillis(500);
+        assertFalse(queryFuture.isDone());
+
+        for (RaftEndpoint follower : followers) {
+            group.resetAllRulesFrom(follower);
+        }
+
+        assertEquals("value1", queryFuture.get());
+        assertEquals(0, getLeaseReadCount(leader));
+        assertEquals(1, getQuorumReadCount(leader));
+    }
+
+    @Test(timeout = 300_000)
+    public void when_leaderLeaseReadsDisabled_then_linearizableQueryIsServedWithQuorum() throws Exception {
+        group = newGroup(false);
+        group.start();
+
+        RaftNodeImpl leader = group.waitUntilLeaderElected();
+        leader.replicate(new ApplyRaftRunnable("value1")).get();
+
+        Object o = leader.query(new QueryRaftRunnable(), LINEARIZABLE).get();
+
+        assertEquals("value1", o);
+        assertEquals(0, getLeaseReadCount(leader));
+        assertEquals(1, getQuorumReadCount(leader));
+    }
+
+    private LocalRaftGroup newGroup(boolean leaderLeaseReadsEnabled) {
+        RaftAlgorithmConfig config = new RaftAlgorithmConfig()
+                .setLeaderElectionTimeoutInMillis(LEADER_ELECTION_TIMEOUT_MILLIS)
+                .setLeaderLeaseReadsEnabled(leaderLeaseReadsEnabled)
+                .setLeaderLeaseClockDriftBoundInMillis(CLOCK_DRIFT_BOUND_MILLIS);
+        return new LocalRaftGroupBuilder(5, config).setAppendNopEntryOnLeaderElection(true).build();
+    }
+}
@@ -21,6 +21,7 @@ import com.hazelcast.cp.internal.raft.impl.dataservice.ApplyRaftRunnable;
 import com.hazelcast.cp.internal.raft.impl.dataservice.RaftDataService;
 import com.hazelcast.cp.internal.raft.impl.dto.AppendRequest;
 import com.hazelcast.cp.internal.raft.impl.dto.PreVoteRequest;
+import com.hazelcast.cp.internal.raft.impl.dto.PreVoteResponse;
 import com.hazelcast.cp.internal.raft.impl.log.LogEntry;
 import com.hazelcast.cp.internal.raft.impl.log.SnapshotEntry;
 import com.hazelcast.cp.internal.raft.impl.persistence.RaftStateStore;
@@ -43,12 +44,14 @@ import java.util.Arrays;
 import java.util.HashSet;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static com.hazelcast.cp.internal.raft.MembershipChangeMode.REMOVE;
 import static com.hazelcast.cp.internal.raft.impl.RaftUtil.getCommitIndex;
 import static com.hazelcast.cp.internal.raft.impl.RaftUtil.getCommittedGroupMembers;
 import static com.hazelcast.cp.internal.raft.impl.RaftUtil.getLastApplied;
 import static com.hazelcast.cp.internal.raft.impl.RaftUtil.getLastGroupMembers;
+import static com.hazelcast.cp.internal.raft.impl.RaftUtil.getLastLogOrSnapshotEntry;
 import static com.hazelcast.cp.internal.raft.impl.RaftUtil.getLeaderMember;
 import static com.hazelcast.cp.internal.raft.impl.RaftUtil.getRaftStateStore;
 import static com.hazelcast.cp.internal.raft.impl.RaftUtil.getRestoredState;
@@ -57,6 +60,7 @@ import static com.hazelcast.cp.internal.raft.impl.RaftUtil.getTerm;
 import static java.util.concurrent.TimeUnit.SECONDS;
 import static org.hamcrest.Matchers.arrayWithSize;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
 import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertSame;
@@ -360,6 +364,49 @@ public class PersistenceTest extends HazelcastTestSupport {
         });
     }
 
+    @Test
+    public void when_followerIsRestarted_then_itRejectsVotesUntilLeaderElectionTimeoutPasses() throws Exception {
+        group = new LocalRaftGroupBuilder(3).setRaftStateStoreFactory(RAFT_STATE_STORE_FACTORY).build();
+        group.start();
+
+        RaftNodeImpl leader = group.waitUntilLeaderElected();
+        leader.replicate(new ApplyRaftRunnable("val")).get();
+        RaftNodeImpl[] followers = group.getNodesExcept(leader.getLocalMember());
+        RaftNodeImpl candidate = followers[0];
+        RaftEndpoint terminatedEndpoint = followers[1].getLocalMember();
+        InMemoryRaftStateStore stateStore = getRaftStateStore(followers[1]);
+        RestoredRaftState terminatedState = stateStore.toRestoredRaftState();
+
+        group.terminateNode(terminatedEndpoint);
+        // the restarted follower does not hear from the leader
+        group.dropMessagesToMember(leader.getLocalMember(), terminatedEndpoint, AppendRequest.class);
+        long restartTime = System.currentTimeMillis();
+        RaftNodeImpl restartedNode = group.createNewRaftNode(terminatedState, stateStore);
+
+        AtomicReference<PreVoteResponse> response = new AtomicReference<>();
+        group.alterMessagesToMember(terminatedEndpoint, candidate.getLocalMember(), message -> {
+            if (message instanceof PreVoteResponse) {
+                response.set((PreVoteResponse) message);
+            }
+            return message;
+        });
+        LogEntry lastEntry = getLastLogOrSnapshotEntry(candidate);
+        PreVoteRequest request = new PreVoteRequest(candidate.getLocalMember(), getTerm(candidate) + 1, lastEntry.term(),
+                lastEntry.index());
+
+        restartedNode.handlePreVoteRequest(request);
+        assertTrueEventually(() -> assertNotNull(response.get()));
+        long electionTimeout = restartedNode.getLeaderElectionTimeoutInMillis();
+        if (System.currentTimeMillis() - restartTime < electionTimeout) {
+            assertFalse(response.get().granted());
+        }
+
+        sleepAtLeastMillis(electionTimeout);
+        response.set(null);
+        restartedNode.handlePreVoteRequest(request);
+        assertTrueEventually(() -> assertTrue(response.get() != null && response.get().granted()));
+    }
+
     @Test
     public void when_followerIsRestarted_then_itRestoresItsRaftState() throws ExecutionException, InterruptedException {
         group = new LocalRaftGroupBuilder(3).setRaftStateStoreFactory(RAFT_STATE_STORE_FACTORY).build();
@@ -96,6 +96,18 @@ public class RaftUtil {
         return readRaftState(leader, task);
     }
 
+    public static long getLeaseReadCount(RaftNodeImpl node) {
+        Callable<Long> task = node::leaseReadCount;
+
+        return readRaftState(node, task);
+    }
+
+    public static long getQuorumReadCount(RaftNodeImpl node) {
+        Callable<Long> task = node::quorumReadCount;
+
+        return readRaftState(node, task);
+    }
+
     public static RaftNodeStatus getStatus(RaftNodeImpl node) {
         Callable<RaftNodeStatus> task = node::getStatus;
 
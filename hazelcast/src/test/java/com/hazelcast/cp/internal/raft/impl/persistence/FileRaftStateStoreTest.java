@@ -0,0 +1,215 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.cp.internal.raft.impl.persistence;
+
+import com.hazelcast.cp.internal.raft.impl.RaftEndpoint;
+import com.hazelcast.cp.internal.raft.impl.log.LogEntry;
+import com.hazelcast.cp.internal.raft.impl.log.SnapshotEntry;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.List;
+
+import static com.hazelcast.cp.internal.raft.impl.RaftUtil.newRaftMember;
+import static com.hazelcast.cp.internal.raft.impl.persistence.FileRaftStateStore.DEFAULT_MAX_SEGMENT_SIZE;
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.SEGMENT_PREFIX;
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.SEGMENT_SUFFIX;
+import static com.hazelcast.cp.internal.raft.impl.persistence.RaftStateFiles.listFiles;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class FileRaftStateStoreTest {
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    private final InternalSerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+    private final RaftEndpoint localMember = newRaftMember(5000);
+    private final List<RaftEndpoint> initialMembers = Arrays.asList(localMember, newRaftMember(5001), newRaftMember(5002));
+
+    private File dir;
+    private FileRaftStateStore store;
+
+    @Before
+    public void setup() throws IOException {
+        dir = tempFolder.newFolder();
+    }
+
+    @After
+    public void tearDown() throws IOException {
+        if (store != null) {
+            store.close();
+        }
+        serializationService.dispose();
+    }
+
+    @Test
+    public void when_stateIsPersisted_then_stateIsRestored() throws IOException {
+        openStore(null, DEFAULT_MAX_SEGMENT_SIZE);
+        store.persistTerm(3, initialMembers.get(1));
+        persistEntries(1, 10, 3);
+        store.flushLogs();
+        store.close();
+
+        RestoredRaftState restored = load();
+
+        assertEquals(localMember, restored.localEndpoint());
+        assertEquals(initialMembers, restored.initialMembers());
+        assertEquals(3, restored.term());
+        assertEquals(initialMembers.get(1), restored.votedFor());
+        assertNull(restored.snapshot());
+        assertEntries(restored.entries(), 1, 10);
+    }
+
+    @Test
+    public void when_snapshotIsPersisted_then_precedingSegmentsAreDeleted() throws IOException {
+        openStore(null, 1);
+        persistEntries(1, 10, 1);
+        store.persistSnapshot(new SnapshotEntry(1, 5, "snapshot", 0, initialMembers));
+        store.flushLogs();
+        store.close();
+
+        RestoredRaftState restored = load();
+
+        assertNotNull(restored.snapshot());
+        assertEquals(5, restored.snapshot().index());
+        assertEquals("snapshot", restored.snapshot().operation());
+        assertEntries(restored.entries(), 6, 10);
+        assertEquals(5, listFiles(dir, SEGMENT_PREFIX, SEGMENT_SUFFIX).size());
+    }
+
+    @Test
+    public void when_installedSnapshotIsAheadOfLog_then_logContinuesAfterSnapshot() throws IOException {
+        openStore(null, DEFAULT_MAX_SEGMENT_SIZE);
+        persistEntries(1, 3, 1);
+        store.flushLogs();
+        store.persistSnapshot(new SnapshotEntry(2, 100, "snapshot", 0, initialMembers));
+        store.flushLogs();
+        persistEntries(101, 102, 2);
+        store.flushLogs();
+        store.close();
+
+        RestoredRaftState restored = load();
+
+        assertEquals(100, restored.snapshot().index());
+        assertEntries(restored.entries(), 101, 102);
+    }
+
+    @Test
+    public void when_entriesAreDeletedAcrossSegments_then_logIsTruncated() throws IOException {
+        openStore(null, 1);
+        persistEntries(1, 10, 1);
+        store.flushLogs();
+        store.deleteEntriesFrom(4);
+        persistEntries(4, 5, 2);
+        store.flushLogs();
+        store.close();
+
+        LogEntry[] entries = load().entries();
+
+        assertEntries(entries, 1, 5);
+        assertEquals(1, entries[2].term());
+        assertEquals(2, entries[3].term());
+    }
+
+    @Test
+    public void when_entriesAreDeletedInTailSegment_then_logIsTruncated() throws IOException {
+        openStore(null, DEFAULT_MAX_SEGMENT_SIZE);
+        persistEntries(1, 10, 1);
+        store.deleteEntriesFrom(8);
+        store.flushLogs();
+        store.close();
+
+        assertEntries(load().entries(), 1, 7);
+    }
+
+    @Test
+    public void when_tailRecordIsTorn_then_restoredStoreContinuesBeforeIt() throws IOException {
+        openStore(null, DEFAULT_MAX_SEGMENT_SIZE);
+        persistEntries(1, 5, 1);
+        store.flushLogs();
+        store.close();
+        File segment = listFiles(dir, SEGMENT_PREFIX, SEGMENT_SUFFIX).lastEntry().getValue();
+        try (FileOutputStream out = new FileOutputStream(segment, true)) {
+            out.write(new byte[]{0, 0, 1, 0, 42});
+        }
+
+        FileRaftStateLoader loader = new FileRaftStateLoader(dir, serializationService);
+        assertEntries(loader.load().entries(), 1, 5);
+
+        openStore(loader.logFileStructure(), DEFAULT_MAX_SEGMENT_SIZE);
+        persistEntries(6, 7, 1);
+        store.flushLogs();
+        store.close();
+
+        assertEntries(load().entries(), 1, 7);
+    }
+
+    @Test
+    public void when_newStoreIsOpened_then_previousStateIsDeleted() throws IOException {
+        openStore(null, DEFAULT_MAX_SEGMENT_SIZE);
+        persistEntries(1, 5, 1);
+        store.flushLogs();
+        store.close();
+
+        openStore(null, DEFAULT_MAX_SEGMENT_SIZE);
+        store.close();
+
+        assertEntries(load().entries(), 1, 0);
+    }
+
+    private void openStore(LogFileStructure logFileStructure, long maxSegmentSize) throws IOException {
+        store = new FileRaftStateStore(dir, serializationService, logFileStructure, maxSegmentSize);
+        store.open();
+        store.persistInitialMembers(localMember, initialMembers);
+    }
+
+    private void persistEntries(long fromIndex, long toIndex, int term) throws IOException {
+        for (long index = fromIndex; index <= toIndex; index++) {
+            store.persistEntry(new LogEntry(term, index, "op" + index));
+        }
+    }
+
+    private RestoredRaftState load() throws IOException {
+        return new FileRaftStateLoader(dir, serializationService).load();
+    }
+
+    private static void assertEntries(LogEntry[] entries, long fromIndex, long toIndex) {
+        assertEquals(toIndex - fromIndex + 1, entries.length);
+        for (int i = 0; i < entries.length; i++) {
+            assertEquals(fromIndex + i, entries[i].index());
+            assertEquals("op" + (fromIndex + i), entries[i].operation());
+        }
+    }
+}
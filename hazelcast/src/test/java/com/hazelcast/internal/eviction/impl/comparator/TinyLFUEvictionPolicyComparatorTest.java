@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.eviction.impl.comparator;
+
+import com.hazelcast.spi.eviction.EvictableEntryView;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.CountDownLatch;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class TinyLFUEvictionPolicyComparatorTest {
+
+    private final TinyLFUEvictionPolicyComparator comparator = new TinyLFUEvictionPolicyComparator(1000);
+
+    @Test
+    public void accesses_are_not_counted_before_first_comparison() {
+        comparator.recordAccess("key");
+
+        assertEquals(0, comparator.frequency("key"));
+    }
+
+    @Test
+    public void frequently_used_key_is_not_selected_before_scanned_keys() {
+        TestEntryView hot = new TestEntryView("hot", 1);
+        comparator.compare(hot, hot);
+        for (int i = 0; i < 5; i++) {
+            comparator.recordAccess("hot");
+        }
+        // a scan touches each key once and more recently than the hot key
+        for (int i = 0; i < 100; i++) {
+            String key = "scanned-" + i;
+            comparator.recordAccess(key);
+
+            assertTrue(comparator.compare(hot, new TestEntryView(key, 10 + i)) > 0);
+        }
+    }
+
+    @Test
+    public void least_recently_used_entry_is_selected_when_frequencies_are_same() {
+        TestEntryView older = new TestEntryView("key1", 1);
+        TestEntryView newer = new TestEntryView("key2", 2);
+
+        assertTrue(comparator.compare(older, newer) < 0);
+        assertTrue(comparator.compare(newer, older) > 0);
+    }
+
+    @Test
+    public void sketch_counts_saturate() {
+        FrequencySketch sketch = new FrequencySketch(FrequencySketch.MIN_EXPECTED_SIZE);
+        for (int i = 0; i < 2 * FrequencySketch.MAX_FREQUENCY; i++) {
+            sketch.increment(42);
+        }
+
+        assertEquals(FrequencySketch.MAX_FREQUENCY, sketch.frequency(42));
+    }
+
+    @Test
+    public void sketch_counts_are_halved_after_sample_size_increments() {
+        FrequencySketch sketch = new FrequencySketch(FrequencySketch.MIN_EXPECTED_SIZE);
+        for (int i = 0; i < FrequencySketch.MAX_FREQUENCY; i++) {
+            sketch.increment(42);
+        }
+        for (int i = 0; i < 10 * FrequencySketch.MIN_EXPECTED_SIZE; i++) {
+            sketch.increment(1000 + i);
+        }
+
+        assertTrue(sketch.frequency(42) < FrequencySketch.MAX_FREQUENCY);
+    }
+
+    @Test
+    public void sketch_counts_concurrent_increments() throws InterruptedException {
+        FrequencySketch sketch = new FrequencySketch(FrequencySketch.MIN_EXPECTED_SIZE);
+        int threadCount = 4;
+        int incrementsPerThread = 3;
+        CountDownLatch start = new CountDownLatch(1);
+        Thread[] threads = new Thread[threadCount];
+        for (int i = 0; i < threadCount; i++) {
+            threads[i] = new Thread(() -> {
+                try {
+                    start.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                }
+                for (int j = 0; j < incrementsPerThread; j++) {
+                    sketch.increment(42);
+                }
+            });
+            threads[i].start();
+        }
+        start.countDown();
+        for (Thread thread : threads) {
+            thread.join();
+        }
+
+        assertEquals(threadCount * incrementsPerThread, sketch.frequency(42));
+    }
+
+    private static class TestEntryView implements EvictableEntryView<Object, Object> {
+
+        private final Object key;
+        private final long lastAccessTime;
+
+        TestEntryView(Object key, long lastAccessTime) {
+            this.key = key;
+            this.lastAccessTime = lastAccessTime;
+        }
+
+        @Override
+        public Object getKey() {
+            return key;
+        }
+
+        @Override
+        public Object getValue() {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public long getCreationTime() {
+            return 0;
+        }
+
+        @Override
+        public long getLastAccessTime() {
+            return lastAccessTime;
+        }
+
+        @Override
+        public long getHits() {
+            throw new UnsupportedOperationException();
+        }
+    }
+}
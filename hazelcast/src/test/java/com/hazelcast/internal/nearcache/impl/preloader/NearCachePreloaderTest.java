@@ -0,0 +1,160 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.nearcache.impl.preloader;
+
+import com.hazelcast.config.NearCachePreloaderConfig;
+import com.hazelcast.internal.adapter.DataStructureAdapter;
+import com.hazelcast.internal.monitor.impl.NearCacheStatsImpl;
+import com.hazelcast.internal.nearcache.NearCacheRecord;
+import com.hazelcast.internal.nearcache.impl.record.NearCacheDataRecord;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static com.hazelcast.internal.nio.IOUtil.deleteQuietly;
+import static com.hazelcast.internal.nio.IOUtil.toFileName;
+import static com.hazelcast.internal.util.UuidUtil.newUnsecureUUID;
+import static java.util.Collections.emptyMap;
+import static java.util.concurrent.ConcurrentHashMap.newKeySet;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.ArgumentMatchers.anySet;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NearCachePreloaderTest extends HazelcastTestSupport {
+
+    private static final int KEY_COUNT = 2500;
+    private static final int PARTITION_ID = 1;
+    private static final long SEQUENCE = 5;
+
+    private final UUID partitionUuid = newUnsecureUUID();
+    private final SerializationService serializationService = new DefaultSerializationServiceBuilder().build();
+    private final Set<Object> fetchedKeys = newKeySet();
+    private final Set<Object> restoredKeys = newKeySet();
+
+    private String nearCacheName;
+    private DataStructureAdapter<Object, ?> adapter;
+
+    @Before
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        nearCacheName = randomName();
+        adapter = mock(DataStructureAdapter.class);
+        when(adapter.getAll(anySet())).thenAnswer(invocation -> {
+            fetchedKeys.addAll(invocation.<Collection<Object>>getArgument(0));
+            return emptyMap();
+        });
+    }
+
+    @After
+    public void tearDown() {
+        String filename = toFileName("nearCache-" + nearCacheName + ".store");
+        deleteQuietly(new File(filename));
+        deleteQuietly(new File(filename + ".lock"));
+    }
+
+    @Test
+    public void when_valuesStored_then_freshValuesRestored() {
+        storeEntries(true);
+
+        NearCachePreloader<Integer> preloader = createPreloader(true);
+        preloader.loadKeys(adapter, (keyData, valueData, partitionId, uuid, sequence) -> {
+            assertEquals(PARTITION_ID, partitionId);
+            assertEquals(partitionUuid, uuid);
+            assertEquals(SEQUENCE, sequence);
+            int key = serializationService.toObject(keyData);
+            assertEquals("value-" + key, serializationService.toObject(valueData));
+            if (key % 2 == 0) {
+                restoredKeys.add(key);
+                return true;
+            }
+            return false;
+        });
+        preloader.destroy();
+
+        assertEquals(KEY_COUNT / 2, restoredKeys.size());
+        assertEquals(KEY_COUNT / 2, fetchedKeys.size());
+        for (int i = 0; i < KEY_COUNT; i++) {
+            assertTrue("Key " + i + " was neither restored nor fetched",
+                    restoredKeys.contains(i) ^ fetchedKeys.contains(i));
+        }
+    }
+
+    @Test
+    public void when_valuesNotStored_then_allKeysFetched() {
+        storeEntries(false);
+
+        NearCachePreloader<Integer> preloader = createPreloader(false);
+        preloader.loadKeys(adapter, (keyData, valueData, partitionId, uuid, sequence) -> restoredKeys.add(keyData));
+        preloader.destroy();
+
+        assertTrue(restoredKeys.isEmpty());
+        assertEquals(KEY_COUNT, fetchedKeys.size());
+    }
+
+    @Test
+    public void when_keysStored_then_allKeysFetched() {
+        NearCachePreloader<Integer> preloader = createPreloader(true);
+        Map<Integer, NearCacheRecord> entries = createEntries();
+        preloader.storeKeys(entries.keySet().iterator());
+        preloader.loadKeys(adapter);
+        preloader.destroy();
+
+        assertEquals(entries.keySet(), fetchedKeys);
+    }
+
+    private void storeEntries(boolean storeValues) {
+        NearCachePreloader<Integer> preloader = createPreloader(storeValues);
+        preloader.storeEntries(createEntries().entrySet().iterator());
+        preloader.destroy();
+    }
+
+    private Map<Integer, NearCacheRecord> createEntries() {
+        Map<Integer, NearCacheRecord> entries = new HashMap<>();
+        for (int i = 0; i < KEY_COUNT; i++) {
+            NearCacheDataRecord record = new NearCacheDataRecord(serializationService.toData("value-" + i), 0, 0);
+            record.setPartitionId(PARTITION_ID);
+            record.setUuid(partitionUuid);
+            record.setInvalidationSequence(SEQUENCE);
+            entries.put(i, record);
+        }
+        return entries;
+    }
+
+    private NearCachePreloader<Integer> createPreloader(boolean storeValues) {
+        return new NearCachePreloader<>(nearCacheName, new NearCachePreloaderConfig(), new NearCacheStatsImpl(),
+                serializationService, storeValues, 4);
+    }
+}
@@ -0,0 +1,156 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.nio;
+
+import com.hazelcast.internal.networking.ChannelErrorHandler;
+import com.hazelcast.internal.networking.ChannelInitializer;
+import com.hazelcast.internal.networking.nio.iobalancer.IOBalancer;
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.internal.util.ConcurrencyDetection;
+import com.hazelcast.logging.ILogger;
+import com.hazelcast.logging.Logger;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.io.IOException;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.Executor;
+
+import static com.hazelcast.internal.nio.IOUtil.closeResource;
+import static com.hazelcast.internal.nio.Packet.FLAG_URGENT;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.mockito.Mockito.mock;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class NioOutboundPipelineWatermarkTest extends HazelcastTestSupport {
+
+    private static final int PAYLOAD_SIZE = 100;
+
+    private final ILogger logger = Logger.getLogger(NioOutboundPipelineWatermarkTest.class);
+    private SocketChannel socketChannel;
+    private NioThread owner;
+    private NioChannel channel;
+    private long frameLength;
+
+    @Before
+    public void setup() throws IOException {
+        socketChannel = SocketChannel.open();
+        owner = new NioThread("out", logger, mock(ChannelErrorHandler.class));
+        channel = new NioChannel(socketChannel, true, mock(ChannelInitializer.class), mock(Executor.class));
+        frameLength = newPacket().getFrameLength();
+    }
+
+    @After
+    public void tearDown() {
+        closeResource(socketChannel);
+        closeResource(owner.getSelector());
+    }
+
+    @Test
+    public void bytesPending() {
+        // a pipeline that isn't started, stays scheduled and doesn't write the frames
+        NioOutboundPipeline pipeline = newPipeline(0, 0);
+
+        pipeline.write(newPacket());
+        pipeline.write(newPacket());
+        pipeline.write(newPacket().raiseFlags(FLAG_URGENT));
+
+        assertEquals(3, pipeline.totalFramesPending());
+        assertEquals(2 * frameLength, pipeline.bytesPending());
+        assertEquals(frameLength, pipeline.priorityBytesPending());
+
+        pipeline.get();
+        pipeline.get();
+
+        assertEquals(1, pipeline.totalFramesPending());
+        assertEquals(frameLength, pipeline.bytesPending());
+        assertEquals(0, pipeline.priorityBytesPending());
+    }
+
+    @Test
+    public void whenWatermarksDisabled_thenAlwaysWritable() {
+        NioOutboundPipeline pipeline = newPipeline(0, 0);
+
+        for (int k = 0; k < 100; k++) {
+            pipeline.write(newPacket());
+        }
+
+        assertTrue(pipeline.isWritable());
+    }
+
+    @Test
+    public void whenHighWatermarkReached_thenUnwritableUntilLowWatermark() {
+        NioOutboundPipeline pipeline = newPipeline(4 * frameLength, 2 * frameLength);
+
+        for (int k = 0; k < 3; k++) {
+            pipeline.write(newPacket());
+            assertTrue(pipeline.isWritable());
+        }
+        pipeline.write(newPacket());
+        assertFalse(pipeline.isWritable());
+
+        // between the watermarks the pipeline stays unwritable
+        pipeline.get();
+        assertFalse(pipeline.isWritable());
+
+        pipeline.get();
+        assertTrue(pipeline.isWritable());
+    }
+
+    @Test
+    public void whenUrgentFrames_thenWatermarksIgnored() {
+        NioOutboundPipeline pipeline = newPipeline(4 * frameLength, 2 * frameLength);
+
+        for (int k = 0; k < 10; k++) {
+            pipeline.write(newPacket().raiseFlags(FLAG_URGENT));
+        }
+
+        assertTrue(pipeline.isWritable());
+    }
+
+    @Test
+    public void whenWriteQueuesDrained_thenWritable() {
+        NioOutboundPipeline pipeline = newPipeline(2 * frameLength, frameLength);
+        pipeline.write(newPacket());
+        pipeline.write(newPacket());
+        assertFalse(pipeline.isWritable());
+
+        pipeline.drainWriteQueues();
+
+        assertTrue(pipeline.isWritable());
+        assertEquals(0, pipeline.bytesPending());
+    }
+
+    private NioOutboundPipeline newPipeline(long highWatermark, long lowWatermark) {
+        return new NioOutboundPipeline(channel, owner, mock(ChannelErrorHandler.class), logger, mock(IOBalancer.class),
+                ConcurrencyDetection.createDisabled(), false, false, highWatermark, lowWatermark);
+    }
+
+    private static Packet newPacket() {
+        return new Packet(new byte[PAYLOAD_SIZE]);
+    }
+}
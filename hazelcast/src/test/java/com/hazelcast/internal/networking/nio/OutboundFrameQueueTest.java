@@ -0,0 +1,139 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.networking.nio;
+
+import com.hazelcast.internal.nio.Packet;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Iterator;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Future;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OutboundFrameQueueTest extends HazelcastTestSupport {
+
+    private final OutboundFrameQueue queue = new OutboundFrameQueue();
+
+    @Test
+    public void offerAndPoll_updatesSizeAndBytes() {
+        Packet packet1 = new Packet(new byte[10]);
+        Packet packet2 = new Packet(new byte[20]);
+
+        queue.offer(packet1);
+        queue.offer(packet2);
+
+        assertEquals(2, queue.size());
+        assertEquals(packet1.getFrameLength() + packet2.getFrameLength(), queue.bytes());
+
+        assertSame(packet1, queue.poll());
+        assertEquals(1, queue.size());
+        assertEquals(packet2.getFrameLength(), queue.bytes());
+
+        assertSame(packet2, queue.poll());
+        assertNull(queue.poll());
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+        assertEquals(0, queue.bytes());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void offer_whenNull() {
+        queue.offer(null);
+    }
+
+    @Test
+    public void clear_resetsSizeAndBytes() {
+        for (int k = 0; k < 100; k++) {
+            queue.offer(new Packet(new byte[k]));
+        }
+
+        queue.clear();
+
+        assertTrue(queue.isEmpty());
+        assertEquals(0, queue.size());
+        assertEquals(0, queue.bytes());
+    }
+
+    @Test
+    public void iterator_returnsFramesInOrder() {
+        Packet packet1 = new Packet(new byte[10]);
+        Packet packet2 = new Packet(new byte[20]);
+        queue.offer(packet1);
+        queue.offer(packet2);
+
+        Iterator<?> it = queue.iterator();
+
+        assertSame(packet1, it.next());
+        assertSame(packet2, it.next());
+        assertFalse(it.hasNext());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void iterator_remove() {
+        queue.offer(new Packet(new byte[10]));
+
+        Iterator<?> it = queue.iterator();
+        it.next();
+        it.remove();
+    }
+
+    @Test
+    public void concurrentOfferAndPoll() throws Exception {
+        int producerCount = 4;
+        int framesPerProducer = 10000;
+        Packet packet = new Packet(new byte[16]);
+        CountDownLatch startLatch = new CountDownLatch(1);
+
+        Future[] producers = new Future[producerCount];
+        for (int k = 0; k < producerCount; k++) {
+            producers[k] = spawn(() -> {
+                startLatch.await();
+                for (int i = 0; i < framesPerProducer; i++) {
+                    queue.offer(packet);
+                }
+                return null;
+            });
+        }
+        startLatch.countDown();
+
+        int polled = 0;
+        while (polled < producerCount * framesPerProducer) {
+            if (queue.poll() != null) {
+                polled++;
+            }
+        }
+        for (Future producer : producers) {
+            assertCompletesEventually(producer);
+        }
+
+        assertEquals(0, queue.size());
+        assertEquals(0, queue.bytes());
+    }
+}
@@ -0,0 +1,130 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact;
+
+import com.hazelcast.config.CompactSerializationConfig;
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.nio.serialization.HazelcastSerializationException;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import example.serialization.EmployeeDTO;
+import example.serialization.HiringStatus;
+import example.serialization.MainDTO;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.internal.serialization.impl.compact.CompactTestUtil.createMainDTO;
+import static com.hazelcast.nio.serialization.GenericRecordBuilder.compact;
+import static example.serialization.HiringStatus.HIRING;
+import static example.serialization.HiringStatus.NOT_HIRING;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MethodHandleCompactSerializerTest {
+
+    private final SchemaService schemaService = CompactTestUtil.createInMemorySchemaService();
+
+    @Test
+    public void testSameBinaryAsReflectiveSerializer() {
+        SerializationService reflective = createSerializationService(MainDTO.class, new ReflectiveCompactSerializer<>());
+        SerializationService methodHandle = createSerializationService(MainDTO.class, new MethodHandleCompactSerializer<>());
+        MainDTO expected = createMainDTO();
+
+        Data data = methodHandle.toData(expected);
+
+        assertArrayEquals(reflective.toData(expected).toByteArray(), data.toByteArray());
+        assertEquals(expected, reflective.toObject(data));
+        assertEquals(expected, methodHandle.toObject(data));
+    }
+
+    @Test
+    public void testEnumsAndCompactArrays() {
+        SerializationService serializationService = createSerializationService(EnumsDTO.class,
+                new MethodHandleCompactSerializer<>());
+        EnumsDTO expected = new EnumsDTO();
+        expected.status = NOT_HIRING;
+        expected.statuses = new HiringStatus[]{HIRING, null, NOT_HIRING};
+        expected.employees = new EmployeeDTO[]{new EmployeeDTO(30, 1), null};
+
+        EnumsDTO actual = serializationService.toObject(serializationService.toData(expected));
+
+        assertEquals(NOT_HIRING, actual.status);
+        assertNull(actual.nullStatus);
+        assertArrayEquals(expected.statuses, actual.statuses);
+        assertEquals(HiringStatus[].class, actual.statuses.getClass());
+        assertArrayEquals(expected.employees, actual.employees);
+        assertEquals(EmployeeDTO[].class, actual.employees.getClass());
+    }
+
+    @Test
+    public void testFieldsMissingFromSchemaAreSkipped() {
+        SerializationService serializationService = createSerializationService(EmployeeDTO.class,
+                new MethodHandleCompactSerializer<>());
+        // written by another version of the class, without id and with an extra field
+        Data data = serializationService.toData(compact(EmployeeDTO.class.getName())
+                .setInt("age", 30)
+                .setString("rank", "senior")
+                .build());
+
+        EmployeeDTO actual = serializationService.toObject(data);
+
+        assertEquals(30, actual.getAge());
+        assertEquals(0, actual.getId());
+    }
+
+    @Test(expected = HazelcastSerializationException.class)
+    public void testClassWithoutEmptyConstructor() {
+        SerializationService serializationService = createSerializationService(NoEmptyConstructorDTO.class,
+                new MethodHandleCompactSerializer<>());
+
+        serializationService.toData(new NoEmptyConstructorDTO(1));
+    }
+
+    private <T> SerializationService createSerializationService(Class<T> clazz, CompactSerializer<T> serializer) {
+        CompactSerializationConfig compactSerializationConfig = new CompactSerializationConfig()
+                .setEnabled(true)
+                .register(clazz, clazz.getName(), serializer);
+        return new DefaultSerializationServiceBuilder()
+                .setSchemaService(schemaService)
+                .setConfig(new SerializationConfig().setCompactSerializationConfig(compactSerializationConfig))
+                .build();
+    }
+
+    public static class EnumsDTO {
+        HiringStatus status;
+        HiringStatus nullStatus;
+        HiringStatus[] statuses;
+        EmployeeDTO[] employees;
+    }
+
+    public static class NoEmptyConstructorDTO {
+        int value;
+
+        public NoEmptyConstructorDTO(int value) {
+            this.value = value;
+        }
+    }
+}
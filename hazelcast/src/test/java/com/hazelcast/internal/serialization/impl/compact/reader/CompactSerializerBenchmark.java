@@ -0,0 +1,161 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.internal.serialization.impl.compact.reader;
+
+import com.hazelcast.config.CompactSerializationConfig;
+import com.hazelcast.config.SerializationConfig;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.internal.serialization.impl.compact.CompactTestUtil;
+import com.hazelcast.internal.serialization.impl.compact.MethodHandleCompactSerializer;
+import com.hazelcast.internal.serialization.impl.compact.ReflectiveCompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactReader;
+import com.hazelcast.nio.serialization.compact.CompactSerializer;
+import com.hazelcast.nio.serialization.compact.CompactWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import org.openjdk.jmh.runner.options.TimeValue;
+import org.openjdk.jmh.runner.options.VerboseMode;
+
+import javax.annotation.Nonnull;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the zero-config compact serializers with a hand-written one.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+public class CompactSerializerBenchmark {
+
+    @Param({"handWritten", "reflective", "methodHandle"})
+    public String serializer;
+
+    private InternalSerializationService ss;
+    private Order order;
+    private Data data;
+
+    @Setup
+    public void setup() {
+        SerializationConfig serializationConfig = new SerializationConfig();
+        serializationConfig.setCompactSerializationConfig(new CompactSerializationConfig().setEnabled(true)
+                .register(Order.class, "order", createSerializer()));
+        ss = new DefaultSerializationServiceBuilder()
+                .setConfig(serializationConfig)
+                .setSchemaService(CompactTestUtil.createInMemorySchemaService())
+                .build();
+
+        order = new Order();
+        order.id = 1234567890L;
+        order.customerId = 42;
+        order.quantity = 3;
+        order.price = 99.95;
+        order.express = true;
+        order.discount = 10;
+        order.status = "SHIPPED";
+        order.items = new long[]{1, 2, 3, 4, 5};
+        data = ss.toData(order);
+    }
+
+    private CompactSerializer<Order> createSerializer() {
+        switch (serializer) {
+            case "handWritten":
+                return new OrderSerializer();
+            case "reflective":
+                return new ReflectiveCompactSerializer<>();
+            case "methodHandle":
+                return new MethodHandleCompactSerializer<>();
+            default:
+                throw new IllegalArgumentException(serializer);
+        }
+    }
+
+    @Benchmark
+    public Data serialize() {
+        return ss.toData(order);
+    }
+
+    @Benchmark
+    public Object deserialize() {
+        return ss.toObject(data);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options opt = new OptionsBuilder()
+                .include(CompactSerializerBenchmark.class.getSimpleName())
+                .warmupIterations(5)
+                .warmupTime(TimeValue.seconds(2))
+                .measurementIterations(5)
+                .measurementTime(TimeValue.seconds(2))
+                .verbosity(VerboseMode.NORMAL)
+                .forks(1)
+                .build();
+
+        new Runner(opt).run();
+    }
+
+    public static class Order {
+        long id;
+        int customerId;
+        int quantity;
+        double price;
+        boolean express;
+        Integer discount;
+        String status;
+        long[] items;
+    }
+
+    public static class OrderSerializer implements CompactSerializer<Order> {
+        @Nonnull
+        @Override
+        public Order read(@Nonnull CompactReader reader) {
+            Order order = new Order();
+            order.id = reader.readLong("id");
+            order.customerId = reader.readInt("customerId");
+            order.quantity = reader.readInt("quantity");
+            order.price = reader.readDouble("price");
+            order.express = reader.readBoolean("express");
+            order.discount = reader.readNullableInt("discount");
+            order.status = reader.readString("status");
+            order.items = reader.readArrayOfLongs("items");
+            return order;
+        }
+
+        @Override
+        public void write(@Nonnull CompactWriter writer, @Nonnull Order order) {
+            writer.writeLong("id", order.id);
+            writer.writeInt("customerId", order.customerId);
+            writer.writeInt("quantity", order.quantity);
+            writer.writeDouble("price", order.price);
+            writer.writeBoolean("express", order.express);
+            writer.writeNullableInt("discount", order.discount);
+            writer.writeString("status", order.status);
+            writer.writeArrayOfLongs("items", order.items);
+        }
+    }
+}
@@ -39,6 +39,7 @@ import org.junit.rules.ExpectedException;
 import org.junit.runner.RunWith;
 
 import javax.annotation.Nonnull;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Properties;
 import java.util.concurrent.CancellationException;
@@ -57,6 +58,8 @@ import static com.hazelcast.jet.impl.util.ExceptionUtil.sneakyThrow;
 import static com.hazelcast.jet.impl.util.ProgressState.DONE;
 import static com.hazelcast.jet.impl.util.ProgressState.MADE_PROGRESS;
 import static com.hazelcast.jet.impl.util.ProgressState.NO_PROGRESS;
+import static com.hazelcast.spi.properties.ClusterProperty.JET_BLOCKING_VIRTUAL_THREADS_ENABLED;
+import static com.hazelcast.spi.properties.ClusterProperty.JET_COOPERATIVE_WORK_STEALING_ENABLED;
 import static java.util.Arrays.asList;
 import static java.util.Collections.singletonList;
 import static java.util.concurrent.TimeUnit.MILLISECONDS;
@@ -64,11 +67,15 @@ import static java.util.stream.Collectors.toList;
 import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertNotEquals;
+import static org.junit.Assert.assertNotNull;
 import static org.junit.Assert.assertTrue;
 import static org.junit.Assert.fail;
+import static org.junit.Assume.assumeTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @RunWith(HazelcastParallelClassRunner.class)
@@ -89,6 +96,21 @@ public class TaskletExecutionServiceTest extends JetTestSupport {
     @Before
     public void before() {
         executor = Executors.newCachedThreadPool();
+        tes = newTaskletExecutionService(new Properties());
+        classLoaderMock = mock(ClassLoader.class);
+    }
+
+    @After
+    public void after() {
+        tes.shutdown();
+        executor.shutdown();
+    }
+
+    private TaskletExecutionService newTaskletExecutionService(Properties properties) {
+        return newTaskletExecutionService(properties, Logger.getLogger(TaskletExecutionService.class));
+    }
+
+    private TaskletExecutionService newTaskletExecutionService(Properties properties, ILogger logger) {
         NodeEngineImpl neMock = mock(NodeEngineImpl.class);
 
         HazelcastInstance hzMock = mock(HazelcastInstance.class);
@@ -102,21 +124,12 @@ public class TaskletExecutionServiceTest extends JetTestSupport {
 
         LoggingService loggingService = mock(LoggingService.class);
         when(neMock.getLoggingService()).thenReturn(loggingService);
-        when(loggingService.getLogger(TaskletExecutionService.class))
-               .thenReturn(Logger.getLogger(TaskletExecutionService.class));
+        when(loggingService.getLogger(TaskletExecutionService.class)).thenReturn(logger);
 
         MetricsRegistryImpl metricsRegistry = new MetricsRegistryImpl(mock(ILogger.class), ProbeLevel.INFO);
         when(neMock.getMetricsRegistry()).thenReturn(metricsRegistry);
 
-        HazelcastProperties properties = new HazelcastProperties(new Properties());
-        tes = new TaskletExecutionService(neMock, THREAD_COUNT, properties);
-        classLoaderMock = mock(ClassLoader.class);
-    }
-
-    @After
-    public void after() {
-        tes.shutdown();
-        executor.shutdown();
+        return new TaskletExecutionService(neMock, THREAD_COUNT, new HazelcastProperties(properties));
     }
 
     @Test
@@ -232,6 +245,74 @@ public class TaskletExecutionServiceTest extends JetTestSupport {
         tasklets.forEach(MockTasklet::assertDone);
     }
 
+    @Test
+    public void when_workStealingEnabledAndBusyTaskletsOnOneWorker_then_busyTaskletHandedOver() {
+        // Given
+        tes.shutdown();
+        Properties properties = new Properties();
+        properties.setProperty(JET_COOPERATIVE_WORK_STEALING_ENABLED.getName(), "true");
+        tes = newTaskletExecutionService(properties);
+        // the tasklets are assigned round-robin, both busy tasklets go to the first worker
+        BusyTasklet busy1 = new BusyTasklet();
+        BusyTasklet busy2 = new BusyTasklet();
+        List<Tasklet> tasklets = new ArrayList<>();
+        tasklets.add(busy1);
+        for (int i = 1; i < THREAD_COUNT; i++) {
+            tasklets.add(new MockTasklet());
+        }
+        tasklets.add(busy2);
+
+        // When
+        CompletableFuture<Void> f = tes.beginExecute(tasklets, cancellationFuture, classLoaderMock);
+
+        // Then
+        assertTrueEventually(() -> {
+            assertNotNull(busy1.lastThread);
+            assertNotNull(busy2.lastThread);
+            assertNotEquals(busy1.lastThread, busy2.lastThread);
+        });
+        busy1.done = true;
+        busy2.done = true;
+        f.join();
+    }
+
+    @Test
+    public void when_virtualThreadsEnabledAndSupported_then_blockingTaskletRunsOnVirtualThread() {
+        assumeTrue("The JVM doesn't support virtual threads",
+                TaskletExecutionService.virtualThreadFactory("test") != null);
+
+        // Given
+        tes.shutdown();
+        tes = newTaskletExecutionService(virtualThreadsEnabled(), Logger.getLogger(TaskletExecutionService.class));
+        ThreadRecordingTasklet t = new ThreadRecordingTasklet();
+
+        // When
+        executeAndJoin(singletonList(t));
+
+        // Then
+        assertTrue("Tasklet didn't run on a virtual thread: " + t.thread, isVirtual(t.thread));
+    }
+
+    @Test
+    public void when_virtualThreadsEnabledAndNotSupported_then_blockingTaskletRunsOnPlatformThread() {
+        assumeTrue("The JVM supports virtual threads",
+                TaskletExecutionService.virtualThreadFactory("test") == null);
+
+        // Given
+        tes.shutdown();
+        ILogger logger = mock(ILogger.class);
+        tes = newTaskletExecutionService(virtualThreadsEnabled(), logger);
+        ThreadRecordingTasklet t = new ThreadRecordingTasklet();
+
+        // When
+        executeAndJoin(singletonList(t));
+
+        // Then
+        assertFalse(isVirtual(t.thread));
+        assertTrue(t.thread.getName().startsWith("hz.test-hz-instance.jet.blocking.thread-"));
+        verify(logger).warning(contains(JET_BLOCKING_VIRTUAL_THREADS_ENABLED.getName()));
+    }
+
     @Test
     public void when_nonBlockingTaskletIsCancelled_then_completesEarly() throws Exception {
         // Given
@@ -381,7 +462,22 @@ public class TaskletExecutionServiceTest extends JetTestSupport {
         }
     }
 
-    private void executeAndJoin(List<MockTasklet> tasklets) {
+    private static Properties virtualThreadsEnabled() {
+        Properties properties = new Properties();
+        properties.setProperty(JET_BLOCKING_VIRTUAL_THREADS_ENABLED.getName(), "true");
+        return properties;
+    }
+
+    private static boolean isVirtual(Thread thread) {
+        try {
+            return (boolean) Thread.class.getMethod("isVirtual").invoke(thread);
+        } catch (ReflectiveOperationException e) {
+            // a JVM without virtual threads
+            return false;
+        }
+    }
+
+    private void executeAndJoin(List<? extends Tasklet> tasklets) {
         CompletableFuture<Void> f = tes.beginExecute(tasklets, cancellationFuture, classLoaderMock);
         f.join();
     }
@@ -491,6 +587,36 @@ public class TaskletExecutionServiceTest extends JetTestSupport {
         }
     }
 
+    private static class ThreadRecordingTasklet implements Tasklet {
+
+        volatile Thread thread;
+
+        @Override
+        public boolean isCooperative() {
+            return false;
+        }
+
+        @Nonnull
+        @Override
+        public ProgressState call() {
+            thread = Thread.currentThread();
+            return DONE;
+        }
+    }
+
+    private static class BusyTasklet implements Tasklet {
+
+        volatile Thread lastThread;
+        volatile boolean done;
+
+        @Nonnull
+        @Override
+        public ProgressState call() {
+            lastThread = Thread.currentThread();
+            return done ? DONE : MADE_PROGRESS;
+        }
+    }
+
     private static class TaskletAssertingThreadLocal implements Tasklet {
 
         private static ThreadLocal<Integer> threadLocal = ThreadLocal.withInitial(() -> 0);
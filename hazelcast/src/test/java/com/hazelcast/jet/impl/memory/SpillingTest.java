@@ -0,0 +1,158 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.memory;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.internal.nio.IOUtil;
+import com.hazelcast.jet.SimpleTestInClusterSupport;
+import com.hazelcast.jet.aggregate.AggregateOperation;
+import com.hazelcast.jet.aggregate.AggregateOperation1;
+import com.hazelcast.jet.pipeline.Pipeline;
+import com.hazelcast.jet.pipeline.test.TestSources;
+import com.hazelcast.spi.properties.ClusterProperty;
+import org.junit.AfterClass;
+import org.junit.BeforeClass;
+import org.junit.Test;
+
+import java.io.File;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map.Entry;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+import static com.hazelcast.jet.Util.entry;
+import static com.hazelcast.jet.aggregate.AggregateOperations.counting;
+import static com.hazelcast.jet.aggregate.AggregateOperations.summingLong;
+import static com.hazelcast.jet.impl.processor.SortP.MAX_MERGE_FAN_IN;
+import static com.hazelcast.jet.pipeline.Sinks.noop;
+import static com.hazelcast.jet.pipeline.test.AssertionSinks.assertAnyOrder;
+import static com.hazelcast.jet.pipeline.test.AssertionSinks.assertOrdered;
+import static java.util.Collections.singletonList;
+import static java.util.stream.Collectors.toList;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.Assert.assertArrayEquals;
+
+public class SpillingTest extends SimpleTestInClusterSupport {
+
+    private static final int MAX_PROCESSOR_ACCUMULATED_RECORDS = 5;
+    private static final int ITEM_COUNT = 2_000;
+
+    private static File spillDirectory;
+
+    @BeforeClass
+    public static void setUpClass() throws Exception {
+        spillDirectory = Files.createTempDirectory("jet-spill-test").toFile();
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.JET_SPILL_ENABLED.getName(), "true")
+                .setProperty(ClusterProperty.JET_SPILL_DIRECTORY.getName(), spillDirectory.getAbsolutePath());
+        config.getJetConfig()
+                .setCooperativeThreadCount(1)
+                .setMaxProcessorAccumulatedRecords(MAX_PROCESSOR_ACCUMULATED_RECORDS);
+
+        initialize(1, config);
+    }
+
+    @AfterClass
+    public static void tearDownClass() {
+        IOUtil.delete(spillDirectory);
+    }
+
+    @Test
+    public void when_maxAccumulatedRecordsCountIsExceededWhileGrouping_then_spills() {
+        int keyCount = 200;
+        Pipeline pipeline = Pipeline.create();
+        pipeline.readFrom(TestSources.items(shuffled(ITEM_COUNT)))
+                .groupingKey(i -> i % keyCount)
+                .aggregate(counting())
+                .writeTo(assertAnyOrder(cardinalities(keyCount, (long) ITEM_COUNT / keyCount)));
+
+        instance().getJet().newJob(pipeline).join();
+
+        assertSpillFilesDeleted();
+    }
+
+    @Test
+    public void when_maxAccumulatedRecordsCountIsExceededWhileAggregating_then_succeeds() {
+        Pipeline pipeline = Pipeline.create();
+        pipeline.readFrom(TestSources.items(shuffled(ITEM_COUNT)))
+                .aggregate(summingLong(i -> i))
+                .writeTo(assertOrdered(singletonList((long) ITEM_COUNT * (ITEM_COUNT - 1) / 2)));
+
+        instance().getJet().newJob(pipeline).join();
+    }
+
+    @Test
+    public void when_maxAccumulatedRecordsCountIsExceededWhileSorting_then_spills() {
+        Pipeline pipeline = Pipeline.create();
+        pipeline.readFrom(TestSources.items(shuffled(ITEM_COUNT)))
+                .sort()
+                .writeTo(assertOrdered(IntStream.range(0, ITEM_COUNT).boxed().collect(toList())));
+
+        instance().getJet().newJob(pipeline).join();
+
+        assertSpillFilesDeleted();
+    }
+
+    @Test
+    public void when_sortSpillsMoreRunsThanMergeFanIn_then_mergesInPasses() {
+        // enough runs for the runs merged in the first pass to be merged again
+        int itemCount = MAX_MERGE_FAN_IN * MAX_MERGE_FAN_IN * MAX_PROCESSOR_ACCUMULATED_RECORDS + 1;
+        Pipeline pipeline = Pipeline.create();
+        pipeline.readFrom(TestSources.items(shuffled(itemCount)))
+                .sort()
+                .writeTo(assertOrdered(IntStream.range(0, itemCount).boxed().collect(toList())));
+
+        instance().getJet().newJob(pipeline).join();
+
+        assertSpillFilesDeleted();
+    }
+
+    @Test
+    public void when_aggregateOperationCannotCombine_then_throws() {
+        AggregateOperation1<Integer, long[], Long> notCombinable = AggregateOperation
+                .withCreate(() -> new long[1])
+                .<Integer>andAccumulate((acc, i) -> acc[0]++)
+                .andExportFinish(acc -> acc[0]);
+
+        Pipeline pipeline = Pipeline.create();
+        pipeline.readFrom(TestSources.items(shuffled(ITEM_COUNT)))
+                .groupingKey(i -> i)
+                .aggregate(notCombinable)
+                .writeTo(noop());
+
+        assertThatThrownBy(() -> instance().getJet().newJob(pipeline).join())
+                .hasMessageContaining("Exception thrown to prevent an OutOfMemoryError on this Hazelcast instance");
+    }
+
+    private static void assertSpillFilesDeleted() {
+        assertArrayEquals(new String[0], spillDirectory.list());
+    }
+
+    private static Collection<Integer> shuffled(int numberOfItems) {
+        List<Integer> items = new ArrayList<>(IntStream.range(0, numberOfItems).boxed().collect(toList()));
+        Collections.shuffle(items, new Random(42));
+        return items;
+    }
+
+    private static Collection<Entry<Integer, Long>> cardinalities(int numberOfKeys, long cardinality) {
+        return IntStream.range(0, numberOfKeys).mapToObj(i -> entry(i, cardinality)).collect(toList());
+    }
+}
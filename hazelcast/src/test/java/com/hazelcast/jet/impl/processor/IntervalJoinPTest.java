@@ -0,0 +1,147 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.jet.impl.processor;
+
+import com.hazelcast.function.SupplierEx;
+import com.hazelcast.jet.core.Processor;
+import com.hazelcast.jet.core.test.TestSupport;
+import com.hazelcast.jet.impl.JetEvent;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Map.Entry;
+
+import static com.hazelcast.jet.Util.entry;
+import static com.hazelcast.jet.core.JetTestSupport.wm;
+import static com.hazelcast.jet.impl.JetEvent.jetEvent;
+import static java.util.Arrays.asList;
+import static java.util.Collections.singletonList;
+
+@Category({QuickTest.class, ParallelJVMTest.class})
+@RunWith(HazelcastParallelClassRunner.class)
+public class IntervalJoinPTest {
+
+    private static final int[] LEFT_FIRST = {0, 1};
+    private static final int[] RIGHT_FIRST = {1, 0};
+
+    @Test
+    public void when_rightAfterLeft_then_joinedWithinInterval() {
+        TestSupport.verifyProcessor(supplier(0, 10))
+                   .inputs(asList(
+                           asList(
+                                   event(10, "a", "L1"),
+                                   event(20, "b", "L2")),
+                           asList(
+                                   event(12, "a", "R1"),
+                                   event(30, "a", "R2"),
+                                   event(25, "b", "R3"),
+                                   event(15, "c", "R4"))
+                   ), LEFT_FIRST)
+                   .expectOutput(asList(
+                           jetEvent(12, "L1-R1"),
+                           jetEvent(25, "L2-R3")));
+    }
+
+    @Test
+    public void when_leftAfterRight_then_joinedWithinInterval() {
+        TestSupport.verifyProcessor(supplier(-5, 0))
+                   .inputs(asList(
+                           singletonList(
+                                   event(8, "a", "L1")),
+                           asList(
+                                   event(5, "a", "R1"),
+                                   event(1, "a", "R2"),
+                                   event(8, "a", "R3"),
+                                   event(9, "a", "R4"))
+                   ), RIGHT_FIRST)
+                   .expectOutput(asList(
+                           jetEvent(8, "L1-R1"),
+                           jetEvent(8, "L1-R3")));
+    }
+
+    @Test
+    public void when_mapToOutputFnReturnsNull_then_filteredOut() {
+        SupplierEx<Processor> supplier = () -> new IntervalJoinP<String, Entry<String, String>, Entry<String, String>, String>(
+                e -> e.payload().getKey(),
+                e -> e.payload().getKey(),
+                0,
+                10,
+                (l, r) -> r.getValue().equals("R1") ? null : l.getValue() + '-' + r.getValue());
+
+        TestSupport.verifyProcessor(supplier)
+                   .inputs(asList(
+                           singletonList(
+                                   event(10, "a", "L1")),
+                           asList(
+                                   event(11, "a", "R1"),
+                                   event(12, "a", "R2"))
+                   ), LEFT_FIRST)
+                   .expectOutput(singletonList(
+                           jetEvent(12, "L1-R2")));
+    }
+
+    @Test
+    public void when_eventsBehindWatermark_then_dropped() {
+        TestSupport.verifyProcessor(supplier(0, 10))
+                   .inputs(asList(
+                           asList(
+                                   event(10, "a", "L1"),
+                                   wm(15)),
+                           asList(
+                                   event(12, "a", "R1"),
+                                   event(16, "a", "R2"))
+                   ), LEFT_FIRST)
+                   .expectOutput(asList(
+                           wm(15),
+                           jetEvent(16, "L1-R2")));
+    }
+
+    @Test
+    public void when_watermarkAdvances_then_eventsEvictedOnlyWhenNotJoinable() {
+        TestSupport.verifyProcessor(supplier(0, 10))
+                   .inputs(asList(
+                           asList(
+                                   event(10, "a", "L1"),
+                                   event(14, "a", "L2"),
+                                   wm(21)),
+                           asList(
+                                   event(21, "a", "R1"),
+                                   event(24, "a", "R2"))
+                   ), LEFT_FIRST)
+                   .expectOutput(asList(
+                           wm(21),
+                           jetEvent(21, "L2-R1"),
+                           jetEvent(24, "L2-R2")));
+    }
+
+    private static SupplierEx<Processor> supplier(long lowerBound, long upperBound) {
+        return () -> new IntervalJoinP<String, Entry<String, String>, Entry<String, String>, String>(
+                e -> e.payload().getKey(),
+                e -> e.payload().getKey(),
+                lowerBound,
+                upperBound,
+                (l, r) -> l.getValue() + '-' + r.getValue());
+    }
+
+    private static JetEvent<Entry<String, String>> event(long timestamp, String key, String value) {
+        return jetEvent(timestamp, entry(key, value));
+    }
+}
@@ -31,6 +31,7 @@ import com.hazelcast.jet.impl.execution.SnapshotContext;
 import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.CustomByteArrayOutputStream;
 import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataKey;
 import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataValueTerminator;
+import com.hazelcast.jet.impl.util.AsyncSnapshotWriterImpl.SnapshotDataValueTombstone;
 import com.hazelcast.map.IMap;
 import com.hazelcast.spi.impl.NodeEngineImpl;
 import com.hazelcast.test.HazelcastParallelClassRunner;
@@ -49,6 +50,8 @@ import org.junit.runner.RunWith;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.Serializable;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Map.Entry;
 import java.util.stream.Stream;
 
@@ -58,6 +61,7 @@ import static java.util.Collections.nCopies;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Stream.generate;
 import static junit.framework.TestCase.assertEquals;
+import static junit.framework.TestCase.assertNull;
 import static junit.framework.TestCase.assertTrue;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertThat;
@@ -96,7 +100,7 @@ public class AsyncSnapshotWriterImplTest extends JetTestSupport {
         snapshotContext = mock(SnapshotContext.class);
         when(snapshotContext.currentMapName()).thenReturn("map1");
         when(snapshotContext.currentSnapshotId()).thenReturn(0L);
-        writer = new AsyncSnapshotWriterImpl(128, nodeEngine, snapshotContext, "vertex", 0, 1,
+        writer = new AsyncSnapshotWriterImpl(128, nodeEngine, snapshotContext, "vertex", 0, 1, false,
                 nodeEngine.getSerializationService());
         when(snapshotContext.currentSnapshotId()).thenReturn(1L); // simulates starting new snapshot
         map = instance.getMap("map1");
@@ -105,6 +109,8 @@ public class AsyncSnapshotWriterImplTest extends JetTestSupport {
 
     @After
     public void after() {
+        // a new snapshot, not to overwrite the full state markers of the test
+        when(snapshotContext.currentSnapshotId()).thenReturn(Long.MAX_VALUE);
         assertTrue(writer.flushAndResetMap());
         assertTrueEventually(() -> assertFalse(uncheckCall(() -> writer.hasPendingAsyncOps())));
         assertTrue(writer.isEmpty());
@@ -114,7 +120,7 @@ public class AsyncSnapshotWriterImplTest extends JetTestSupport {
     public void test_flushingAtEdgeCases() {
         for (int i = 64; i < 196; i++) {
             when(snapshotContext.currentMapName()).thenReturn(randomMapName());
-            writer = new AsyncSnapshotWriterImpl(128, nodeEngine, snapshotContext, "vertex", 0, 1,
+            writer = new AsyncSnapshotWriterImpl(128, nodeEngine, snapshotContext, "vertex", 0, 1, false,
                     nodeEngine.getSerializationService());
             try {
                 assertTrue(writer.offer(entry(serialize("k"), serialize(String.join("", nCopies(i, "a"))))));
@@ -294,6 +300,61 @@ public class AsyncSnapshotWriterImplTest extends JetTestSupport {
         Assert.assertEquals("bar", in.readObject());
     }
 
+    @Test
+    public void when_fullIncrementalSnapshot_then_fullStateMarkerWritten() {
+        // When
+        when(snapshotContext.isIncrementalSnapshot()).thenReturn(true);
+        assertTrue(writer.offer(entry(serialize("k1"), serialize("v1"))));
+        assertTrue(writer.flushAndResetMap());
+
+        // Then
+        assertEquals(2, writer.getTotalChunks());
+        assertTrueEventually(() -> {
+            assertEquals(mapOf("k1", "v1"), readSnapshotMap(1));
+            assertEquals(1, countFullStateMarkers(1));
+        }, 3);
+    }
+
+    @Test
+    public void when_deltaSnapshot_then_chunksAddedWithNewSnapshotId() {
+        // Given
+        writer = new AsyncSnapshotWriterImpl(128, nodeEngine, snapshotContext, "vertex", 0, 1, true,
+                nodeEngine.getSerializationService());
+        when(snapshotContext.isIncrementalSnapshot()).thenReturn(true);
+        assertTrue(writer.offer(entry(serialize("k1"), serialize("v1"))));
+        assertTrue(writer.offer(entry(serialize("k2"), serialize("v2"))));
+        assertTrue(writer.flushAndResetMap());
+        assertTrueEventually(() -> assertFalse(writer.hasPendingAsyncOps()));
+
+        // When
+        when(snapshotContext.currentSnapshotId()).thenReturn(2L);
+        when(snapshotContext.isDeltaSnapshot()).thenReturn(true);
+        assertTrue(writer.offer(entry(serialize("k1"), serialize("v1-changed"))));
+        assertTrue(writer.offer(entry(serialize("k2"), serializationService.toData(SnapshotDataValueTombstone.INSTANCE))));
+        assertTrue(writer.flushAndResetMap());
+
+        // Then
+        assertTrueEventually(() -> {
+            assertEquals(mapOf("k1", "v1", "k2", "v2"), readSnapshotMap(1));
+            assertEquals(mapOf("k1", "v1-changed", "k2", SnapshotDataValueTombstone.INSTANCE), readSnapshotMap(2));
+            assertEquals(1, countFullStateMarkers(1));
+            assertEquals(0, countFullStateMarkers(2));
+        }, 3);
+        assertNull(writer.getError());
+    }
+
+    @Test
+    public void when_deltaSnapshotAndVertexDoesNotSaveDeltas_then_fullStateMarkerWritten() {
+        // When
+        when(snapshotContext.isIncrementalSnapshot()).thenReturn(true);
+        when(snapshotContext.isDeltaSnapshot()).thenReturn(true);
+        assertTrue(writer.offer(entry(serialize("k"), serialize("v"))));
+        assertTrue(writer.flushAndResetMap());
+
+        // Then
+        assertTrueEventually(() -> assertEquals(1, countFullStateMarkers(1)), 3);
+    }
+
     @Test
     public void when_noItemsAndNoCurrentMap_then_flushAndResetReturnsFalse() {
         when(snapshotContext.currentMapName()).thenReturn(null);
@@ -309,6 +370,34 @@ public class AsyncSnapshotWriterImplTest extends JetTestSupport {
                 assertEquals(entryLengthWithTerminator, map.get(mapKey).length), 3);
     }
 
+    private Map<String, Object> readSnapshotMap(long snapshotId) throws IOException {
+        Map<String, Object> entries = new HashMap<>();
+        for (Entry<SnapshotDataKey, byte[]> chunk : map.entrySet()) {
+            if (chunk.getKey().snapshotId() != snapshotId) {
+                continue;
+            }
+            BufferObjectDataInput in = serializationService.createObjectDataInput(chunk.getValue());
+            for (Object key; (key = in.readObject()) != SnapshotDataValueTerminator.INSTANCE; ) {
+                entries.put((String) key, in.readObject());
+            }
+        }
+        return entries;
+    }
+
+    private long countFullStateMarkers(long snapshotId) {
+        return map.keySet().stream()
+                  .filter(key -> key.snapshotId() == snapshotId && key.isFullStateMarker())
+                  .count();
+    }
+
+    private static Map<String, Object> mapOf(Object... keysAndValues) {
+        Map<String, Object> result = new HashMap<>();
+        for (int i = 0; i < keysAndValues.length; i += 2) {
+            result.put((String) keysAndValues[i], keysAndValues[i + 1]);
+        }
+        return result;
+    }
+
     private int serializedLength(Entry<Data, Data> entry) {
         return entry.getKey().totalSize() + entry.getValue().totalSize() - 8;
     }
@@ -1372,6 +1372,60 @@ public class StreamStageTest extends PipelineStreamTestSupport {
                 }).build());
     }
 
+    @Test
+    @SuppressWarnings("unchecked")
+    public void intervalJoin() {
+        // Given
+        List<Integer> input = sequence(itemCount);
+        int keyCount = 10;
+        long lowerBound = -3;
+        long upperBound = 25;
+
+        // When
+        StreamStage<Tuple2<Integer, Integer>> joined = streamStageFromList(input)
+                .groupingKey(i -> i % keyCount)
+                .intervalJoin(
+                        streamStageFromList(input).groupingKey(i -> i % keyCount),
+                        lowerBound,
+                        upperBound,
+                        Tuple2::tuple2);
+
+        // Then
+        joined.writeTo(sink);
+        execute();
+        BiFunction<Integer, Integer, String> formatFn = (i0, i1) -> String.format("(%04d, %04d)", i0, i1);
+        // sinkList: tuple2(0, 0), tuple2(0, 10), tuple2(0, 20), tuple2(1, 1), ...
+        assertEquals(
+                streamToString(
+                        input.stream().flatMap(i0 -> input.stream()
+                                .filter(i1 -> i1 % keyCount == i0 % keyCount
+                                        && i1 - i0 >= lowerBound && i1 - i0 <= upperBound)
+                                .map(i1 -> formatFn.apply(i0, i1))),
+                        identity()),
+                streamToString(
+                        sinkList.stream().map(t2 -> (Tuple2<Integer, Integer>) t2),
+                        t2 -> formatFn.apply(t2.f0(), t2.f1()))
+        );
+    }
+
+    @Test
+    public void when_intervalJoinNonTimestamped_then_error() {
+        // Given
+        StreamStageWithKey<SimpleEvent, Long> timestamped = p.readFrom(TestSources.itemStream(1))
+                                                             .withIngestionTimestamps()
+                                                             .groupingKey(SimpleEvent::sequence);
+        StreamStageWithKey<SimpleEvent, Long> nonTimestamped = p.readFrom(TestSources.itemStream(1))
+                                                                .withoutTimestamps()
+                                                                .groupingKey(SimpleEvent::sequence);
+
+        // Then
+        exception.expect(IllegalStateException.class);
+        exception.expectMessage("stage1 is missing a timestamp definition");
+
+        // When
+        timestamped.intervalJoin(nonTimestamped, 0, 1, Tuple2::tuple2);
+    }
+
     @Test
     public void apply() {
         // Given
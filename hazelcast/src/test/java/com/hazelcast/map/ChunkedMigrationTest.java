@@ -0,0 +1,111 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexConfig;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.partition.impl.InternalPartitionServiceImpl;
+import com.hazelcast.internal.partition.impl.MigrationStats;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static com.hazelcast.test.Accessors.getPartitionService;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ChunkedMigrationTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 5000;
+    private static final String PADDING = "0123456789012345678901234567890123456789";
+
+    @Test
+    public void testMigration_whenAddingInstances() {
+        String name = randomMapName();
+        Config config = newConfig();
+        config.getMapConfig(name).addIndexConfig(new IndexConfig(IndexType.SORTED, "this"));
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(3);
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+
+        IMap<Integer, String> map = instance1.getMap(name);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, valueOf(i));
+        }
+
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+        HazelcastInstance instance3 = factory.newHazelcastInstance(config);
+        waitAllForSafeState(instance1, instance2, instance3);
+
+        assertTrue(getMigrationStats(instance1).getTotalSentChunks() > 0);
+        assertTrue(getMigrationStats(instance1).getTotalSentChunkBytes() > 0);
+        assertMapContents(instance3.getMap(name));
+        assertEquals(ENTRY_COUNT, instance3.getMap(name).keySet(Predicates.greaterEqual("this", "")).size());
+    }
+
+    @Test
+    public void testBackupsAreIntact_afterChunkedMigration() {
+        String name = randomMapName();
+        Config config = newConfig();
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+
+        IMap<Integer, String> map = instance1.getMap(name);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, valueOf(i));
+        }
+
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+        waitAllForSafeState(instance1, instance2);
+        instance1.getLifecycleService().terminate();
+
+        assertMapContents(instance2.getMap(name));
+    }
+
+    private static Config newConfig() {
+        return smallInstanceConfig()
+                .setProperty(ClusterProperty.PARTITION_COUNT.getName(), "11")
+                .setProperty(ClusterProperty.PARTITION_CHUNKED_MIGRATION_ENABLED.getName(), "true")
+                .setProperty(ClusterProperty.PARTITION_MIGRATION_CHUNK_SIZE_KB.getName(), "1");
+    }
+
+    private static void assertMapContents(IMap<Integer, String> map) {
+        assertEquals(ENTRY_COUNT, map.size());
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            assertEquals(valueOf(i), map.get(i));
+        }
+    }
+
+    private static MigrationStats getMigrationStats(HazelcastInstance instance) {
+        InternalPartitionServiceImpl partitionService = (InternalPartitionServiceImpl) getPartitionService(instance);
+        return partitionService.getMigrationManager().getStats();
+    }
+
+    private static String valueOf(int i) {
+        return "value-" + i + "-" + PADDING;
+    }
+}
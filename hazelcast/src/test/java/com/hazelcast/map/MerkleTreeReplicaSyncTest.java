@@ -0,0 +1,170 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.partition.impl.InternalPartitionServiceImpl;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.RecordStore;
+import com.hazelcast.partition.LocalReplicationStats;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static com.hazelcast.test.Accessors.getPartitionService;
+import static com.hazelcast.test.Accessors.getSerializationService;
+import static java.util.Collections.singleton;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class MerkleTreeReplicaSyncTest extends HazelcastTestSupport {
+
+    private static final int ENTRY_COUNT = 1000;
+
+    @Test
+    public void testBackupReplicaSync_replicatesOnlyDifferingLeaves() {
+        String name = randomMapName();
+        Config config = newConfig(name, InMemoryFormat.BINARY);
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+
+        IMap<Integer, Integer> map = instance1.getMap(name);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+        waitAllForSafeState(instance1, instance2);
+
+        int key = 0;
+        int partitionId = getPartitionService(instance1).getPartitionId(key);
+        boolean ownedByInstance1 = getPartitionService(instance1).isPartitionOwner(partitionId);
+        HazelcastInstance primary = ownedByInstance1 ? instance1 : instance2;
+        HazelcastInstance backup = ownedByInstance1 ? instance2 : instance1;
+        RecordStore primaryRecordStore = getRecordStore(primary, name, partitionId);
+        RecordStore backupRecordStore = getRecordStore(backup, name, partitionId);
+        Data dataKey = getSerializationService(primary).toData(key);
+
+        backupRecordStore.removeReplicatedRecord(dataKey);
+        assertNull(backupRecordStore.getRecord(dataKey));
+
+        InternalPartitionServiceImpl partitionService = (InternalPartitionServiceImpl) getPartitionService(backup);
+        partitionService.getReplicaManager()
+                .triggerPartitionReplicaSync(partitionId, singleton(MapService.getObjectNamespace(name)), 1);
+
+        assertTrueEventually(() -> assertNotNull(backupRecordStore.getRecord(dataKey)));
+        assertEquals(primaryRecordStore.size(), backupRecordStore.size());
+
+        LocalReplicationStats stats = primary.getMap(name).getLocalMapStats().getReplicationStats();
+        assertTrue(stats.getDifferentialReplicationRecordCount() > 0);
+        assertTrue(stats.getDifferentialReplicationRecordCount() < primaryRecordStore.size());
+    }
+
+    @Test
+    public void testBackupReplicaSync_withConcurrentWrites() throws Exception {
+        String name = randomMapName();
+        Config config = newConfig(name, InMemoryFormat.BINARY);
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance instance1 = factory.newHazelcastInstance(config);
+        HazelcastInstance instance2 = factory.newHazelcastInstance(config);
+
+        IMap<Integer, Integer> map = instance1.getMap(name);
+        for (int i = 0; i < ENTRY_COUNT; i++) {
+            map.put(i, i);
+        }
+        waitAllForSafeState(instance1, instance2);
+
+        int partitionId = getPartitionService(instance1).getPartitionId(0);
+        boolean ownedByInstance1 = getPartitionService(instance1).isPartitionOwner(partitionId);
+        HazelcastInstance primary = ownedByInstance1 ? instance1 : instance2;
+        HazelcastInstance backup = ownedByInstance1 ? instance2 : instance1;
+        RecordStore<Record> primaryRecordStore = getRecordStore(primary, name, partitionId);
+        RecordStore<Record> backupRecordStore = getRecordStore(backup, name, partitionId);
+
+        AtomicBoolean stop = new AtomicBoolean();
+        Future<?> writer = spawn(() -> {
+            for (int round = 1; !stop.get(); round++) {
+                for (int i = 0; i < ENTRY_COUNT; i++) {
+                    map.put(i, i + round);
+                }
+            }
+        });
+
+        InternalPartitionServiceImpl partitionService = (InternalPartitionServiceImpl) getPartitionService(backup);
+        for (int i = 0; i < 10; i++) {
+            partitionService.getReplicaManager()
+                    .triggerPartitionReplicaSync(partitionId, singleton(MapService.getObjectNamespace(name)), 1);
+            sleepMillis(50);
+        }
+        stop.set(true);
+        writer.get();
+        waitAllForSafeState(instance1, instance2);
+
+        assertEquals(primaryRecordStore.size(), backupRecordStore.size());
+        primaryRecordStore.forEach((dataKey, record) -> {
+            Record backupRecord = backupRecordStore.getRecord(dataKey);
+            assertNotNull(backupRecord);
+            assertEquals(record.getValue(), backupRecord.getValue());
+        }, false);
+    }
+
+    @Test
+    public void testMerkleTreeNotMaintained_whenObjectInMemoryFormat() {
+        String name = randomMapName();
+        HazelcastInstance instance = createHazelcastInstance(newConfig(name, InMemoryFormat.OBJECT));
+
+        instance.getMap(name).put(1, 1);
+
+        int partitionId = getPartitionService(instance).getPartitionId(1);
+        assertNull(getRecordStore(instance, name, partitionId).getMerkleTree());
+    }
+
+    private static Config newConfig(String name, InMemoryFormat inMemoryFormat) {
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.PARTITION_COUNT.getName(), "11");
+        config.getMapConfig(name)
+              .setInMemoryFormat(inMemoryFormat)
+              .getMerkleTreeConfig()
+              .setEnabled(true)
+              .setDepth(10);
+        return config;
+    }
+
+    private static RecordStore getRecordStore(HazelcastInstance instance, String name, int partitionId) {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        MapServiceContext mapServiceContext = mapService.getMapServiceContext();
+        return mapServiceContext.getRecordStore(partitionId, name);
+    }
+}
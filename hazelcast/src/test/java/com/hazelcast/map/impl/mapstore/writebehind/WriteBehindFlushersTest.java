@@ -0,0 +1,113 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.mapstore.writebehind;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.MapStoreConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.MapStore;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.mapstore.MapStoreManager;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.Map;
+
+import static com.hazelcast.spi.properties.ClusterProperty.MAP_WRITE_BEHIND_FLUSHER_COUNT;
+import static com.hazelcast.spi.properties.ClusterProperty.PARTITION_COUNT;
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class WriteBehindFlushersTest extends HazelcastTestSupport {
+
+    @Test
+    public void when_multipleFlushers_then_allEntriesStored() {
+        MapStoreWithCounter<Integer, Integer> mapStore = new MapStoreWithCounter<>();
+        String mapName = randomMapName();
+        HazelcastInstance instance = createHazelcastInstance(getConfig(mapName, mapStore, 4, 10));
+        IMap<Integer, Integer> map = instance.getMap(mapName);
+
+        int numberOfItems = 1000;
+        for (int i = 0; i < numberOfItems; i++) {
+            map.put(i, i);
+        }
+
+        WriteBehindStats stats = getWriteBehindStats(instance, mapName);
+        assertTrueEventually(() -> {
+            assertEquals(numberOfItems, mapStore.store.size());
+            assertEquals(numberOfItems, stats.getStoredEntryCount());
+        });
+        assertEquals(0, stats.getFailedEntryCount());
+        assertTrue(stats.getFlushCount() > 0);
+    }
+
+    @Test
+    public void when_batchStoreSlow_then_batchSizeDecreased() {
+        int writeBatchSize = 100;
+        MapStoreWithCounter<Integer, Integer> mapStore = new MapStoreWithCounter<Integer, Integer>() {
+            @Override
+            public void storeAll(Map<Integer, Integer> map) {
+                sleepMillis((int) StoreWorker.TARGET_BATCH_LATENCY_MILLIS + 100);
+                super.storeAll(map);
+            }
+        };
+        String mapName = randomMapName();
+        HazelcastInstance instance = createHazelcastInstance(getConfig(mapName, mapStore, 1, writeBatchSize));
+        IMap<Integer, Integer> map = instance.getMap(mapName);
+
+        WriteBehindStats stats = getWriteBehindStats(instance, mapName);
+        assertEquals(0, stats.getFlushBatchSize());
+        for (int i = 0; i < writeBatchSize; i++) {
+            map.put(i, i);
+        }
+
+        assertTrueEventually(() -> {
+            assertEquals(writeBatchSize, mapStore.store.size());
+            assertTrue(stats.getFlushBatchSize() < writeBatchSize);
+        });
+    }
+
+    private static Config getConfig(String mapName, MapStore<Integer, Integer> mapStore, int flusherCount,
+                                    int writeBatchSize) {
+        Config config = smallInstanceConfig()
+                .setProperty(PARTITION_COUNT.getName(), "8")
+                .setProperty(MAP_WRITE_BEHIND_FLUSHER_COUNT.getName(), String.valueOf(flusherCount));
+        config.getMapConfig(mapName)
+              .setMapStoreConfig(new MapStoreConfig()
+                      .setEnabled(true)
+                      .setImplementation(mapStore)
+                      .setWriteDelaySeconds(1)
+                      .setWriteBatchSize(writeBatchSize));
+        return config;
+    }
+
+    private static WriteBehindStats getWriteBehindStats(HazelcastInstance instance, String mapName) {
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        MapStoreManager mapStoreManager = mapService.getMapServiceContext().getMapContainer(mapName)
+                                                    .getMapStoreContext().getMapStoreManager();
+        return ((WriteBehindManager) mapStoreManager).getWriteBehindStats();
+    }
+}
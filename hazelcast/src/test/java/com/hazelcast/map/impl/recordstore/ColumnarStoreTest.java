@@ -0,0 +1,218 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.aggregation.Aggregator;
+import com.hazelcast.aggregation.Aggregators;
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.MapServiceContext;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static java.util.Arrays.asList;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ColumnarStoreTest extends HazelcastTestSupport {
+
+    private static final int ENTRIES = 1000;
+
+    private HazelcastInstance instance;
+    private IMap<Integer, Object> columnarMap;
+    private IMap<Integer, Object> map;
+
+    @Before
+    public void setUp() {
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.MAP_COLUMNAR_STORE_MAP_NAMES.getName(), "columnar-*");
+        config.getSerializationConfig().getCompactSerializationConfig().setEnabled(true);
+        instance = createHazelcastInstance(config);
+        columnarMap = instance.getMap("columnar-trades");
+        map = instance.getMap("trades");
+
+        for (int i = 0; i < ENTRIES; i++) {
+            Trade trade = new Trade(i % 100, i * 10L, i * 0.25, i % 3 == 0);
+            columnarMap.put(i, trade);
+            map.put(i, trade);
+        }
+        for (int i = 0; i < ENTRIES; i += 7) {
+            columnarMap.remove(i);
+            map.remove(i);
+        }
+        for (int i = 1; i < ENTRIES; i += 5) {
+            Trade trade = new Trade(i % 10, -i, i * 0.5, true);
+            columnarMap.set(i, trade);
+            map.set(i, trade);
+        }
+    }
+
+    @Test
+    public void testAggregationsMatchEntryScan() {
+        List<Predicate<Integer, Object>> predicates = asList(
+                Predicates.alwaysTrue(),
+                Predicates.greaterThan("quantity", 50),
+                Predicates.between("amount", 100L, 5000L),
+                Predicates.and(Predicates.equal("buy", true), Predicates.lessEqual("price", 100.5)),
+                Predicates.or(Predicates.equal("quantity", 3), Predicates.lessThan("amount", 0L)),
+                Predicates.not(Predicates.equal("buy", true)),
+                Predicates.notEqual("quantity", 3),
+                Predicates.sql("quantity >= 10 and buy = false"));
+
+        for (Predicate<Integer, Object> predicate : predicates) {
+            assertSameAggregation(Aggregators.count(), predicate);
+            assertSameAggregation(Aggregators.count("quantity"), predicate);
+            assertSameAggregation(Aggregators.integerSum("quantity"), predicate);
+            assertSameAggregation(Aggregators.longSum("amount"), predicate);
+            assertSameAggregation(Aggregators.fixedPointSum("quantity"), predicate);
+            assertSameAggregation(Aggregators.doubleSum("price"), predicate);
+            assertSameAggregation(Aggregators.floatingPointSum("amount"), predicate);
+            assertSameAggregation(Aggregators.integerAvg("quantity"), predicate);
+            assertSameAggregation(Aggregators.longAvg("amount"), predicate);
+            assertSameAggregation(Aggregators.doubleAvg("price"), predicate);
+            assertSameAggregation(Aggregators.numberAvg("quantity"), predicate);
+        }
+
+        int rows = 0;
+        for (ColumnarStore store : getColumnarStores("columnar-trades")) {
+            assertFalse(store.isDisabled());
+            rows += store.size();
+        }
+        assertEquals(columnarMap.size(), rows);
+    }
+
+    @Test
+    public void testAggregationsWhileMutating() throws Exception {
+        AtomicBoolean stop = new AtomicBoolean();
+        Future<?> aggregations = spawn(() -> {
+            while (!stop.get()) {
+                columnarMap.aggregate(Aggregators.longSum("amount"), Predicates.greaterThan("quantity", 10));
+            }
+        });
+
+        for (int i = 0; i < ENTRIES; i += 3) {
+            columnarMap.remove(i);
+            map.remove(i);
+        }
+        for (int i = 0; i < ENTRIES; i += 2) {
+            Trade trade = new Trade(i % 20, i, i * 0.1, false);
+            columnarMap.set(i, trade);
+            map.set(i, trade);
+        }
+        stop.set(true);
+        aggregations.get();
+
+        assertSameAggregation(Aggregators.count(), Predicates.alwaysTrue());
+        assertSameAggregation(Aggregators.longSum("amount"), Predicates.greaterThan("quantity", 10));
+        int rows = 0;
+        for (ColumnarStore store : getColumnarStores("columnar-trades")) {
+            rows += store.size();
+        }
+        assertEquals(columnarMap.size(), rows);
+    }
+
+    @Test
+    public void testAggregationsNotSupportedByColumns() {
+        assertSameAggregation(Aggregators.integerMax("quantity"), Predicates.alwaysTrue());
+        assertSameAggregation(Aggregators.count(), Predicates.in("quantity", 1, 2, 3));
+        assertSameAggregation(Aggregators.count(), Predicates.equal("quantity", 3.5));
+        assertSameAggregation(Aggregators.longSum("quantity"), Predicates.greaterThan("__key", 100));
+    }
+
+    @Test
+    public void testStoreDisabledByValueOfAnotherType() {
+        for (int i = 0; i < ENTRIES; i++) {
+            columnarMap.set(i, i);
+            map.set(i, i);
+        }
+
+        assertSameAggregation(Aggregators.count(), Predicates.alwaysTrue());
+        for (ColumnarStore store : getColumnarStores("columnar-trades")) {
+            assertTrue(store.isDisabled());
+        }
+
+        columnarMap.clear();
+        for (ColumnarStore store : getColumnarStores("columnar-trades")) {
+            assertFalse(store.isDisabled());
+            assertEquals(0, store.size());
+        }
+    }
+
+    @Test
+    public void testNotSelectedMapHasNoStore() {
+        for (ColumnarStore store : getColumnarStores("trades")) {
+            assertNull(store);
+        }
+    }
+
+    private <R> void assertSameAggregation(Aggregator<Object, R> aggregator, Predicate<Integer, Object> predicate) {
+        assertEquals(aggregator + " " + predicate,
+                map.aggregate(aggregator, predicate), columnarMap.aggregate(aggregator, predicate));
+    }
+
+    private List<ColumnarStore> getColumnarStores(String mapName) {
+        MapService service = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        MapServiceContext mapServiceContext = service.getMapServiceContext();
+        List<ColumnarStore> stores = new ArrayList<>();
+        int partitionCount = instance.getPartitionService().getPartitions().size();
+        for (int partitionId = 0; partitionId < partitionCount; partitionId++) {
+            RecordStore recordStore = mapServiceContext.getPartitionContainer(partitionId).getExistingRecordStore(mapName);
+            if (recordStore != null) {
+                stores.add(recordStore.getColumnarStore());
+            }
+        }
+        return stores;
+    }
+
+    public static class Trade {
+        int quantity;
+        long amount;
+        double price;
+        boolean buy;
+
+        public Trade() {
+        }
+
+        Trade(int quantity, long amount, double price, boolean buy) {
+            this.quantity = quantity;
+            this.amount = amount;
+            this.price = price;
+            this.buy = buy;
+        }
+    }
+}
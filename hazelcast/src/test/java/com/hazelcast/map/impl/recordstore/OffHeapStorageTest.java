@@ -0,0 +1,237 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.map.impl.recordstore;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.config.MapConfig;
+import com.hazelcast.core.EntryView;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.iteration.IterationPointer;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.SerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapContainer;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.map.impl.iterator.MapEntriesWithCursor;
+import com.hazelcast.map.impl.iterator.MapKeysWithCursor;
+import com.hazelcast.map.impl.record.DataRecordFactory;
+import com.hazelcast.map.impl.record.Record;
+import com.hazelcast.map.impl.recordstore.expiry.ExpirySystem;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.After;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assume.assumeTrue;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class OffHeapStorageTest extends HazelcastTestSupport {
+
+    private SerializationService serializationService;
+    private DataRecordFactory recordFactory;
+    private OffHeapStorage<Record> storage;
+
+    @Before
+    public void setUp() {
+        assumeTrue(OffHeapStorage.isSupported());
+
+        serializationService = new DefaultSerializationServiceBuilder().build();
+        MapContainer mapContainer = mock(MapContainer.class);
+        when(mapContainer.getMapConfig()).thenReturn(new MapConfig());
+        recordFactory = new DataRecordFactory(mapContainer, serializationService);
+        storage = new OffHeapStorage<>(InMemoryFormat.BINARY, mock(ExpirySystem.class), serializationService);
+    }
+
+    @After
+    public void tearDown() {
+        if (storage != null) {
+            storage.clear(false);
+            storage.destroy(false);
+        }
+    }
+
+    @Test
+    public void test_putAndGet() {
+        Record record = newRecord(1);
+        storage.put(toData(1), record);
+
+        assertSame(record, storage.get(toData(1)));
+        assertTrue(storage.containsKey(toData(1)));
+        assertFalse(storage.containsKey(toData(2)));
+        assertEquals(1, storage.size());
+    }
+
+    @Test
+    public void test_put_replacesRecordOfExistingKey() {
+        storage.put(toData(1), newRecord(1));
+        Record record = newRecord(2);
+        storage.put(toData(1), record);
+
+        assertSame(record, storage.get(toData(1)));
+        assertEquals(1, storage.size());
+    }
+
+    @Test
+    public void test_removeRecord() {
+        for (int i = 0; i < 1000; i++) {
+            storage.put(toData(i), newRecord(i));
+        }
+        for (int i = 0; i < 1000; i += 2) {
+            Data key = toData(i);
+            storage.removeRecord(key, storage.get(key));
+        }
+
+        assertEquals(500, storage.size());
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(i % 2 != 0, storage.containsKey(toData(i)));
+        }
+    }
+
+    @Test
+    public void test_clear_releasesOffHeapKeys() {
+        long emptyFootprint = storage.getUsedOffHeapMemory();
+        for (int i = 0; i < 100; i++) {
+            storage.put(toData("key-" + i), newRecord(i));
+        }
+        assertTrue(storage.getUsedOffHeapMemory() > emptyFootprint);
+
+        storage.clear(false);
+
+        assertTrue(storage.isEmpty());
+        assertNull(storage.get(toData("key-1")));
+        assertEquals(emptyFootprint, storage.getUsedOffHeapMemory());
+    }
+
+    @Test
+    public void test_mutationTolerantIterator() {
+        for (int i = 0; i < 100; i++) {
+            storage.put(toData(i), newRecord(i));
+        }
+
+        Set<Object> keys = new HashSet<>();
+        Iterator<Map.Entry<Data, Record>> iterator = storage.mutationTolerantIterator();
+        while (iterator.hasNext()) {
+            Map.Entry<Data, Record> entry = iterator.next();
+            keys.add(serializationService.toObject(entry.getKey()));
+            storage.removeRecord(entry.getKey(), entry.getValue());
+        }
+
+        assertEquals(100, keys.size());
+        assertTrue(storage.isEmpty());
+    }
+
+    @Test
+    public void test_getRandomSamples() {
+        for (int i = 0; i < 100; i++) {
+            storage.put(toData(i), newRecord(i));
+        }
+
+        int sampleCount = 0;
+        for (EntryView sample : storage.getRandomSamples(15)) {
+            Data key = storage.extractDataKeyFromLazy(sample);
+            assertSame(storage.get(key), storage.extractRecordFromLazy(sample));
+            sampleCount++;
+        }
+        assertEquals(15, sampleCount);
+    }
+
+    @Test
+    public void test_fetchKeysAndEntries() {
+        for (int i = 0; i < 100; i++) {
+            storage.put(toData(i), newRecord(i));
+        }
+
+        Set<Data> keys = new HashSet<>();
+        IterationPointer[] pointers = {new IterationPointer(Integer.MAX_VALUE, -1)};
+        do {
+            MapKeysWithCursor cursor = storage.fetchKeys(pointers, 7);
+            keys.addAll(cursor.getBatch());
+            pointers = cursor.getIterationPointers();
+        } while (pointers[pointers.length - 1].getIndex() >= 0);
+        assertEquals(100, keys.size());
+
+        MapEntriesWithCursor entries = storage.fetchEntries(new IterationPointer[]{new IterationPointer(Integer.MAX_VALUE, -1)},
+                200);
+        assertEquals(100, entries.getBatch().size());
+        for (Map.Entry<Data, Data> entry : entries.getBatch()) {
+            int key = serializationService.toObject(entry.getKey());
+            int value = serializationService.toObject(entry.getValue());
+            assertEquals(key + 1000, value);
+        }
+    }
+
+    @Test
+    public void test_selectedMapUsesOffHeapStorage() {
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.MAP_OFF_HEAP_STORAGE_MAP_NAMES.getName(), "offheap-*")
+                .addMapConfig(new MapConfig("offheap-*").setBackupCount(0));
+        HazelcastInstance instance = createHazelcastInstance(config);
+
+        IMap<Integer, Integer> offHeapMap = instance.getMap("offheap-map");
+        IMap<Integer, Integer> onHeapMap = instance.getMap("onheap-map");
+        for (int i = 0; i < 1000; i++) {
+            offHeapMap.put(i, i);
+            onHeapMap.put(i, i);
+        }
+        offHeapMap.remove(0);
+
+        assertEquals(999, offHeapMap.size());
+        assertEquals(500, offHeapMap.keySet(Predicates.sql("this >= 500")).size());
+        assertEquals(Integer.valueOf(42), offHeapMap.get(42));
+        assertInstanceOf(OffHeapStorage.class, getStorage(instance, "offheap-map"));
+        assertInstanceOf(StorageImpl.class, getStorage(instance, "onheap-map"));
+    }
+
+    private static Storage getStorage(HazelcastInstance instance, String mapName) {
+        MapService service = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        return service.getMapServiceContext()
+                .getPartitionContainer(instance.getPartitionService().getPartition(42).getPartitionId())
+                .getExistingRecordStore(mapName)
+                .getStorage();
+    }
+
+    private Record newRecord(int value) {
+        return recordFactory.newRecord(value + 1000);
+    }
+
+    private Data toData(Object object) {
+        return serializationService.toData(object);
+    }
+}
@@ -31,6 +31,7 @@ import org.openjdk.jmh.annotations.Fork;
 import org.openjdk.jmh.annotations.Measurement;
 import org.openjdk.jmh.annotations.Mode;
 import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -38,21 +39,34 @@ import org.openjdk.jmh.annotations.TearDown;
 import org.openjdk.jmh.annotations.Warmup;
 
 import java.io.IOException;
+import java.util.HashMap;
+import java.util.Map;
 import java.util.concurrent.TimeUnit;
 
+import static com.hazelcast.spi.properties.ClusterProperty.INDEX_SORTED_BPLUS_TREE_ENABLED;
+
 @BenchmarkMode(Mode.AverageTime)
 @OutputTimeUnit(TimeUnit.MILLISECONDS)
 @State(Scope.Benchmark)
-@Fork(value = 1, warmups = 0)
+@Fork(value = 1, warmups = 0, jvmArgsAppend = "-Xmx16g")
 @Warmup(iterations = 5)
 @Measurement(iterations = 10)
 public class CompositeIndexesBenchmark {
 
+    private static final int BATCH_SIZE = 10_000;
+
+    @Param({"false", "true"})
+    public boolean bPlusTreeSortedIndexes;
+
+    @Param({"100000", "10000000"})
+    public int entryCount;
+
     IMap<Integer, Pojo> map;
 
     @Setup
     public void setup() {
         Config config = new Config();
+        config.setProperty(INDEX_SORTED_BPLUS_TREE_ENABLED.getName(), Boolean.toString(bPlusTreeSortedIndexes));
         MapConfig mapConfig = config.getMapConfig("map");
 
         mapConfig.addIndexConfig(new IndexConfig(IndexType.HASH, "f1"));
@@ -64,9 +78,15 @@ public class CompositeIndexesBenchmark {
         mapConfig.addIndexConfig(new IndexConfig(IndexType.SORTED, "f7", "f8"));
 
         this.map = Hazelcast.newHazelcastInstance(config).getMap("map");
-        for (int i = 0; i < 100000; ++i) {
-            this.map.put(i, new Pojo(0, i, 0, i, 0, i % 100, 0, i % 100));
+        Map<Integer, Pojo> batch = new HashMap<>();
+        for (int i = 0; i < entryCount; ++i) {
+            batch.put(i, new Pojo(0, i, 0, i, 0, i % 100, 0, i % 100));
+            if (batch.size() == BATCH_SIZE) {
+                this.map.putAll(batch);
+                batch.clear();
+            }
         }
+        this.map.putAll(batch);
     }
 
     @TearDown
@@ -94,6 +114,11 @@ public class CompositeIndexesBenchmark {
         map.values(Predicates.sql("f7 = 0 and f8 < 1"));
     }
 
+    @Benchmark
+    public void benchmarkSortedRangeScan() {
+        map.values(Predicates.between("f6", 10, 60));
+    }
+
     public static class Pojo implements DataSerializable {
 
         private int f1;
@@ -0,0 +1,159 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.IndexType;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.monitor.impl.IndexOperationStats;
+import com.hazelcast.internal.serialization.Data;
+import com.hazelcast.internal.serialization.InternalSerializationService;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.impl.MapService;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.query.impl.getters.Extractors;
+import com.hazelcast.spi.properties.ClusterProperty;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static com.hazelcast.query.impl.AbstractIndex.NULL;
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class BPlusTreeIndexStoreTest extends HazelcastTestSupport {
+
+    private final InternalSerializationService ss = new DefaultSerializationServiceBuilder().build();
+    private final Extractors extractors = Extractors.newBuilder(ss).build();
+
+    @Test
+    public void testMatchesOrderedIndexStore_copyOnRead() {
+        testMatchesOrderedIndexStore(IndexCopyBehavior.COPY_ON_READ);
+    }
+
+    @Test
+    public void testMatchesOrderedIndexStore_copyOnWrite() {
+        testMatchesOrderedIndexStore(IndexCopyBehavior.COPY_ON_WRITE);
+    }
+
+    @Test
+    public void testMatchesOrderedIndexStore_never() {
+        testMatchesOrderedIndexStore(IndexCopyBehavior.NEVER);
+    }
+
+    @Test
+    public void testSortedIndexUsesBPlusTreeStore() {
+        Config config = smallInstanceConfig()
+                .setProperty(ClusterProperty.INDEX_SORTED_BPLUS_TREE_ENABLED.getName(), "true");
+        HazelcastInstance instance = createHazelcastInstance(config);
+        IMap<Integer, Integer> map = instance.getMap("map");
+        map.addIndex(IndexType.SORTED, "this");
+        for (int i = 0; i < 1000; i++) {
+            map.put(i, i);
+        }
+
+        assertEquals(100, map.keySet(Predicates.between("this", 100, 199)).size());
+        assertEquals(10, map.keySet(Predicates.lessThan("this", 10)).size());
+        assertEquals(3, map.keySet(Predicates.in("this", 1, 2L, 3.0)).size());
+
+        MapService mapService = getNodeEngineImpl(instance).getService(MapService.SERVICE_NAME);
+        Indexes indexes = mapService.getMapServiceContext().getMapContainer("map").getIndexes();
+        assertInstanceOf(BPlusTreeIndexImpl.class, indexes.getIndexes()[0]);
+    }
+
+    private void testMatchesOrderedIndexStore(IndexCopyBehavior copyBehavior) {
+        BPlusTreeIndexStore store = new BPlusTreeIndexStore(copyBehavior);
+        OrderedIndexStore expected = new OrderedIndexStore(copyBehavior);
+
+        Random random = new Random(42);
+        Integer[] values = new Integer[2000];
+        boolean[] indexed = new boolean[values.length];
+        for (int i = 0; i < 5000; i++) {
+            int key = random.nextInt(values.length);
+            if (indexed[key] && random.nextInt(5) == 0) {
+                CachedQueryEntry entry = new CachedQueryEntry(ss, ss.toData(key), values[key], extractors);
+                store.remove(values[key], entry, IndexOperationStats.EMPTY);
+                expected.remove(values[key], entry, IndexOperationStats.EMPTY);
+                indexed[key] = false;
+            } else {
+                Integer value = random.nextInt(10) == 0 ? null : random.nextInt(300);
+                CachedQueryEntry entry = new CachedQueryEntry(ss, ss.toData(key), value, extractors);
+                if (indexed[key]) {
+                    store.update(values[key], value, entry, entry, IndexOperationStats.EMPTY);
+                    expected.update(values[key], value, entry, entry, IndexOperationStats.EMPTY);
+                } else {
+                    store.insert(value, entry, entry, IndexOperationStats.EMPTY);
+                    expected.insert(value, entry, entry, IndexOperationStats.EMPTY);
+                }
+                values[key] = value;
+                indexed[key] = true;
+            }
+        }
+
+        assertEquals(keySet(expected.getRecords(NULL)), keySet(store.getRecords(NULL)));
+        assertEquals(keys(expected.getSqlRecordIterator(false)), keys(store.getSqlRecordIterator(false)));
+        assertEquals(keys(expected.getSqlRecordIterator(true)), keys(store.getSqlRecordIterator(true)));
+
+        for (int i = 0; i < 100; i++) {
+            int from = random.nextInt(320) - 10;
+            int to = from + random.nextInt(50);
+            boolean fromInclusive = random.nextBoolean();
+            boolean toInclusive = random.nextBoolean();
+            boolean descending = random.nextBoolean();
+            Comparison comparison = Comparison.values()[random.nextInt(Comparison.values().length)];
+
+            assertEquals(keySet(expected.getRecords(from)), keySet(store.getRecords(from)));
+            assertEquals(keySet(expected.getRecords(from, fromInclusive, to, toInclusive)),
+                    keySet(store.getRecords(from, fromInclusive, to, toInclusive)));
+            assertEquals(keySet(expected.getRecords(comparison, from)), keySet(store.getRecords(comparison, from)));
+
+            assertEquals(keys(expected.getSqlRecordIterator(from)), keys(store.getSqlRecordIterator(from)));
+            assertEquals(keys(expected.getSqlRecordIterator(from, fromInclusive, to, toInclusive, descending)),
+                    keys(store.getSqlRecordIterator(from, fromInclusive, to, toInclusive, descending)));
+            assertEquals(keys(expected.getSqlRecordIterator(comparison, from, descending)),
+                    keys(store.getSqlRecordIterator(comparison, from, descending)));
+        }
+    }
+
+    private static List<Data> keys(Iterator<QueryableEntry> iterator) {
+        List<Data> keys = new ArrayList<>();
+        iterator.forEachRemaining(entry -> keys.add(entry.getKeyData()));
+        return keys;
+    }
+
+    private static Set<Data> keySet(Set<QueryableEntry> entries) {
+        Set<Data> keys = new HashSet<>();
+        for (QueryableEntry entry : entries) {
+            keys.add(entry.getKeyData());
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl;
+
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.Random;
+import java.util.TreeMap;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+@SuppressWarnings("rawtypes")
+public class ComparableBPlusTreeTest {
+
+    private final ComparableBPlusTree<String> tree = new ComparableBPlusTree<>(4);
+
+    @Test
+    public void testPutGetRemove() {
+        assertNull(tree.put(1, "a"));
+        assertEquals("a", tree.put(1, "b"));
+        assertEquals("b", tree.get(1));
+        assertEquals(1, tree.size());
+
+        assertEquals("b", tree.remove(1));
+        assertNull(tree.remove(1));
+        assertNull(tree.get(1));
+        assertTrue(tree.isEmpty());
+    }
+
+    @Test
+    public void testMixedNumericTypes() {
+        tree.put(1, "int");
+        tree.put(2L, "long");
+        tree.put(1.5, "double");
+
+        assertEquals("int", tree.get(1L));
+        assertEquals("long", tree.get(2.0));
+        assertEquals(Arrays.asList("int", "double", "long"), range(null, false, null, false, false));
+    }
+
+    @Test
+    public void testSplitsAndMerges() {
+        for (int i = 0; i < 1000; i++) {
+            tree.put(i, Integer.toString(i));
+        }
+        assertTrue(tree.height() > 3);
+
+        for (int i = 0; i < 1000; i++) {
+            assertEquals(Integer.toString(i), tree.remove(i));
+        }
+        assertTrue(tree.isEmpty());
+        assertEquals(1, tree.height());
+    }
+
+    @Test
+    public void testRangesMatchTreeMap() {
+        NavigableMap<Comparable, String> expected = new TreeMap<>(Comparables.COMPARATOR);
+        Random random = new Random(42);
+        for (int i = 0; i < 10000; i++) {
+            int key = random.nextInt(500);
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key), tree.remove(key));
+            } else {
+                String value = Integer.toString(i);
+                assertEquals(expected.put(key, value), tree.put(key, value));
+            }
+        }
+        assertEquals(expected.size(), tree.size());
+
+        for (int i = 0; i < 200; i++) {
+            int from = random.nextInt(550) - 25;
+            int to = from + random.nextInt(100);
+            boolean fromInclusive = random.nextBoolean();
+            boolean toInclusive = random.nextBoolean();
+
+            NavigableMap<Comparable, String> subMap = expected.subMap(from, fromInclusive, to, toInclusive);
+            assertEquals(new ArrayList<>(subMap.values()), range(from, fromInclusive, to, toInclusive, false));
+            assertEquals(new ArrayList<>(subMap.descendingMap().values()),
+                    range(from, fromInclusive, to, toInclusive, true));
+        }
+        assertEquals(new ArrayList<>(expected.headMap(100, false).values()), range(null, false, 100, false, false));
+        assertEquals(new ArrayList<>(expected.tailMap(100, true).descendingMap().values()),
+                range(100, true, null, false, true));
+    }
+
+    @Test
+    public void testForEach() {
+        for (int i = 0; i < 100; i++) {
+            tree.put(i, Integer.toString(i));
+        }
+
+        List<Comparable> keys = new ArrayList<>();
+        tree.forEach(10, false, 20, true, (key, value) -> keys.add(key));
+
+        assertEquals(10, keys.size());
+        assertEquals(11, keys.get(0));
+        assertEquals(20, keys.get(9));
+    }
+
+    /**
+     * Reads the range in batches of 3 entries, resuming every batch after
+     * the last returned key, as the index store iterators do.
+     */
+    private List<String> range(Comparable from, boolean fromInclusive, Comparable to, boolean toInclusive,
+                               boolean descending) {
+        List<String> result = new ArrayList<>();
+        Comparable[] keys = new Comparable[3];
+        Object[] values = new Object[3];
+        int count;
+        do {
+            count = tree.copyRange(from, fromInclusive, to, toInclusive, descending, keys, values);
+            for (int i = 0; i < count; i++) {
+                result.add((String) values[i]);
+            }
+            if (count > 0) {
+                if (descending) {
+                    to = keys[count - 1];
+                    toInclusive = false;
+                } else {
+                    from = keys[count - 1];
+                    fromInclusive = false;
+                }
+            }
+        } while (count == keys.length);
+        return result;
+    }
+}
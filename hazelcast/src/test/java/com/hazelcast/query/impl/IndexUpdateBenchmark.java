@@ -26,6 +26,7 @@ import com.hazelcast.core.Hazelcast;
 import com.hazelcast.core.HazelcastInstance;
 import com.hazelcast.map.IMap;
 import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.Param;
 import org.openjdk.jmh.annotations.Scope;
 import org.openjdk.jmh.annotations.Setup;
 import org.openjdk.jmh.annotations.State;
@@ -37,20 +38,30 @@ import org.openjdk.jmh.runner.options.Options;
 import org.openjdk.jmh.runner.options.OptionsBuilder;
 import org.openjdk.jmh.runner.options.TimeValue;
 
+import java.util.HashMap;
+import java.util.Map;
 import java.util.Random;
 
 import static com.hazelcast.config.BitmapIndexOptions.UniqueKeyTransformation.RAW;
+import static com.hazelcast.spi.properties.ClusterProperty.INDEX_SORTED_BPLUS_TREE_ENABLED;
 
 @State(Scope.Benchmark)
 public class IndexUpdateBenchmark {
 
-    private static final int KEY_RANGE = 1_000;
+    private static final int BATCH_SIZE = 10_000;
 
     private final Random random = new Random(303);
 
+    @Param({"false", "true"})
+    public boolean bPlusTreeSortedIndexes;
+
+    @Param({"1000", "10000000"})
+    public int keyRange;
+
     private HazelcastInstance instance;
     private IMap<Integer, Integer> noIndexes;
     private IMap<Integer, Integer> singleIndex;
+    private IMap<Integer, Integer> sortedIndex;
     private IMap<Integer, Integer> multipleIndexes;
 
     @Setup
@@ -59,6 +70,7 @@ public class IndexUpdateBenchmark {
         CacheDeserializedValues cacheDeserializedValues = CacheDeserializedValues.NEVER;
 
         Config config = new Config();
+        config.setProperty(INDEX_SORTED_BPLUS_TREE_ENABLED.getName(), Boolean.toString(bPlusTreeSortedIndexes));
 
         MapConfig noIndexesConfig = config.getMapConfig("noIndexes");
         noIndexesConfig.setInMemoryFormat(inMemoryFormat);
@@ -69,6 +81,11 @@ public class IndexUpdateBenchmark {
         singleIndexConfig.setCacheDeserializedValues(cacheDeserializedValues);
         singleIndexConfig.addIndexConfig(new IndexConfig(IndexType.HASH, "this"));
 
+        MapConfig sortedIndexConfig = config.getMapConfig("sortedIndex");
+        sortedIndexConfig.setInMemoryFormat(inMemoryFormat);
+        sortedIndexConfig.setCacheDeserializedValues(cacheDeserializedValues);
+        sortedIndexConfig.addIndexConfig(new IndexConfig(IndexType.SORTED, "this"));
+
         MapConfig multipleIndexesConfig = config.getMapConfig("multipleIndexes");
         multipleIndexesConfig.setInMemoryFormat(inMemoryFormat);
         multipleIndexesConfig.setCacheDeserializedValues(cacheDeserializedValues);
@@ -81,7 +98,27 @@ public class IndexUpdateBenchmark {
         instance = Hazelcast.newHazelcastInstance(config);
         noIndexes = instance.getMap("noIndexes");
         singleIndex = instance.getMap("singleIndex");
+        sortedIndex = instance.getMap("sortedIndex");
         multipleIndexes = instance.getMap("multipleIndexes");
+
+        // the puts and removes are balanced, so the maps settle at about half
+        // of the key range, start them there
+        prefill(noIndexes);
+        prefill(singleIndex);
+        prefill(sortedIndex);
+        prefill(multipleIndexes);
+    }
+
+    private void prefill(IMap<Integer, Integer> map) {
+        Map<Integer, Integer> batch = new HashMap<>();
+        for (int key = 0; key < keyRange; key += 2) {
+            batch.put(key, random.nextInt());
+            if (batch.size() == BATCH_SIZE) {
+                map.putAll(batch);
+                batch.clear();
+            }
+        }
+        map.putAll(batch);
     }
 
     @TearDown
@@ -92,27 +129,36 @@ public class IndexUpdateBenchmark {
     @Benchmark
     public void noIndexes() {
         if (random.nextBoolean()) {
-            noIndexes.put(random.nextInt(KEY_RANGE), random.nextInt());
+            noIndexes.put(random.nextInt(keyRange), random.nextInt());
         } else {
-            noIndexes.remove(random.nextInt(KEY_RANGE));
+            noIndexes.remove(random.nextInt(keyRange));
         }
     }
 
     @Benchmark
     public void singleIndex() {
         if (random.nextBoolean()) {
-            singleIndex.put(random.nextInt(KEY_RANGE), random.nextInt());
+            singleIndex.put(random.nextInt(keyRange), random.nextInt());
+        } else {
+            singleIndex.remove(random.nextInt(keyRange));
+        }
+    }
+
+    @Benchmark
+    public void sortedIndex() {
+        if (random.nextBoolean()) {
+            sortedIndex.put(random.nextInt(keyRange), random.nextInt());
         } else {
-            singleIndex.remove(random.nextInt(KEY_RANGE));
+            sortedIndex.remove(random.nextInt(keyRange));
         }
     }
 
     @Benchmark
     public void multipleIndexes() {
         if (random.nextBoolean()) {
-            multipleIndexes.put(random.nextInt(KEY_RANGE), random.nextInt());
+            multipleIndexes.put(random.nextInt(keyRange), random.nextInt());
         } else {
-            multipleIndexes.remove(random.nextInt(KEY_RANGE));
+            multipleIndexes.remove(random.nextInt(keyRange));
         }
     }
 
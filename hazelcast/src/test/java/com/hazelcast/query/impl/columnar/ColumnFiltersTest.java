@@ -0,0 +1,171 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.query.impl.columnar;
+
+import com.hazelcast.nio.serialization.FieldKind;
+import com.hazelcast.query.Predicate;
+import com.hazelcast.query.Predicates;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.IntPredicate;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ColumnFiltersTest {
+
+    // spans multiple chunks and ends with a partial word
+    private static final int ROWS = 2 * Column.CHUNK_SIZE + 100;
+
+    private final Map<String, Column> columns = new HashMap<>();
+
+    @Before
+    public void setUp() {
+        Column quantity = new Column("quantity", FieldKind.INT, ROWS);
+        Column price = new Column("price", FieldKind.DOUBLE, ROWS);
+        Column buy = new Column("buy", FieldKind.BOOLEAN, ROWS);
+        for (int row = 0; row < ROWS; row++) {
+            quantity.setLong(row, row % 100);
+            price.setDouble(row, row * 0.5);
+            buy.setLong(row, row % 2);
+        }
+        columns.put(quantity.getName(), quantity);
+        columns.put(price.getName(), price);
+        columns.put(buy.getName(), buy);
+    }
+
+    @Test
+    public void testTrue() {
+        assertSelects(Predicates.alwaysTrue(), row -> true);
+    }
+
+    @Test
+    public void testFalse() {
+        assertSelects(Predicates.alwaysFalse(), row -> false);
+    }
+
+    @Test
+    public void testEqual() {
+        assertSelects(Predicates.equal("quantity", 42), row -> row % 100 == 42);
+        assertSelects(Predicates.equal("this.quantity", 42), row -> row % 100 == 42);
+        assertSelects(Predicates.equal("buy", true), row -> row % 2 == 1);
+    }
+
+    @Test
+    public void testNotEqual() {
+        assertSelects(Predicates.notEqual("quantity", 42), row -> row % 100 != 42);
+        assertSelects(Predicates.notEqual("price", 10.5), row -> row != 21);
+    }
+
+    @Test
+    public void testGreaterLess() {
+        assertSelects(Predicates.greaterThan("quantity", 90), row -> row % 100 > 90);
+        assertSelects(Predicates.greaterEqual("quantity", 90), row -> row % 100 >= 90);
+        assertSelects(Predicates.lessThan("price", 100.0), row -> row * 0.5 < 100);
+        assertSelects(Predicates.lessEqual("price", 100.0), row -> row * 0.5 <= 100);
+    }
+
+    @Test
+    public void testBetween() {
+        assertSelects(Predicates.between("quantity", 10, 20), row -> row % 100 >= 10 && row % 100 <= 20);
+        assertSelects(Predicates.between("price", 10.0, 20.0), row -> row * 0.5 >= 10 && row * 0.5 <= 20);
+    }
+
+    @Test
+    public void testBoundaries() {
+        assertSelects(Predicates.greaterThan("quantity", Integer.MAX_VALUE), row -> false);
+        assertSelects(Predicates.lessThan("quantity", Integer.MIN_VALUE), row -> false);
+        assertSelects(Predicates.between("quantity", 20, 10), row -> false);
+    }
+
+    @Test
+    public void testCompound() {
+        assertSelects(Predicates.and(Predicates.equal("buy", true), Predicates.lessThan("quantity", 10)),
+                row -> row % 2 == 1 && row % 100 < 10);
+        assertSelects(Predicates.or(Predicates.equal("quantity", 1), Predicates.greaterThan("price", 1000.0)),
+                row -> row % 100 == 1 || row * 0.5 > 1000);
+        assertSelects(Predicates.not(Predicates.lessThan("quantity", 10)), row -> row % 100 >= 10);
+    }
+
+    @Test
+    public void testSql() {
+        assertSelects(Predicates.sql("quantity >= 10 and buy = false"), row -> row % 100 >= 10 && row % 2 == 0);
+    }
+
+    @Test
+    public void testOperandConversion() {
+        assertSelects(Predicates.equal("quantity", 42L), row -> row % 100 == 42);
+        assertSelects(Predicates.equal("quantity", "42"), row -> row % 100 == 42);
+        assertSelects(Predicates.greaterThan("price", 1000), row -> row * 0.5 > 1000);
+    }
+
+    @Test
+    public void testNotCompiled() {
+        // the operand can't be converted to an int exactly
+        assertNull(compile(Predicates.equal("quantity", 42.5)));
+        assertNull(compile(Predicates.equal("quantity", null)));
+        assertNull(compile(Predicates.equal("missing", 1)));
+        assertNull(compile(Predicates.equal("nested.quantity", 1)));
+        assertNull(compile(Predicates.equal("__key", 1)));
+        assertNull(compile(Predicates.in("quantity", 1, 2)));
+        assertNull(compile(Predicates.and(Predicates.equal("quantity", 1), Predicates.like("name", "a%"))));
+    }
+
+    private ColumnFilter compile(Predicate predicate) {
+        return ColumnFilters.compile(predicate, columns::get);
+    }
+
+    private void assertSelects(Predicate predicate, IntPredicate expected) {
+        ColumnFilter filter = compile(predicate);
+
+        List<Integer> expectedRows = new ArrayList<>();
+        List<Integer> actualRows = new ArrayList<>();
+        long[] selection = new long[Column.SELECTION_LENGTH];
+        for (int from = 0; from < ROWS; from += Column.CHUNK_SIZE) {
+            int count = Math.min(Column.CHUNK_SIZE, ROWS - from);
+            // garbage from the previous chunk must be overwritten
+            Arrays.fill(selection, -1L);
+            filter.select(from, count, selection);
+            for (int i = 0; i < Column.SELECTION_LENGTH * Long.SIZE; i++) {
+                if ((selection[i >>> 6] & (1L << i)) != 0 && i < count) {
+                    actualRows.add(from + i);
+                } else if (i < Column.words(count) * Long.SIZE) {
+                    assertEquals("bit " + i + " of a chunk of " + count, 0, selection[i >>> 6] & (1L << i));
+                }
+            }
+            for (int row = from; row < from + count; row++) {
+                if (expected.test(row)) {
+                    expectedRows.add(row);
+                }
+            }
+        }
+        assertEquals(expectedRows, actualRows);
+    }
+}
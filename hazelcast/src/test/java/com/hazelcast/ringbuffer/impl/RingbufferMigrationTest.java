@@ -19,6 +19,8 @@ package com.hazelcast.ringbuffer.impl;
 import com.hazelcast.config.Config;
 import com.hazelcast.config.RingbufferConfig;
 import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.internal.services.ObjectNamespace;
+import com.hazelcast.ringbuffer.Ringbuffer;
 import com.hazelcast.spi.properties.ClusterProperty;
 import com.hazelcast.test.HazelcastParallelClassRunner;
 import com.hazelcast.test.HazelcastTestSupport;
@@ -26,11 +28,17 @@ import com.hazelcast.test.TestHazelcastInstanceFactory;
 import com.hazelcast.test.annotation.ParallelJVMTest;
 import com.hazelcast.test.annotation.QuickTest;
 import org.junit.Before;
+import org.junit.Rule;
 import org.junit.Test;
 import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 
+import static com.hazelcast.ringbuffer.impl.RingbufferService.getRingbufferNamespace;
+import static com.hazelcast.test.Accessors.getNodeEngineImpl;
+import static java.util.Arrays.asList;
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
 
 @RunWith(HazelcastParallelClassRunner.class)
 @Category({QuickTest.class, ParallelJVMTest.class})
@@ -38,6 +46,10 @@ public class RingbufferMigrationTest extends HazelcastTestSupport {
 
     public static final int CAPACITY = 100;
     public static final String BOUNCING_TEST_PARTITION_COUNT = "10";
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
     private TestHazelcastInstanceFactory instanceFactory;
 
     @Before
@@ -72,4 +84,54 @@ public class RingbufferMigrationTest extends HazelcastTestSupport {
         assertEquals(oldTailSeq, hz2.getRingbuffer(ringbufferName).tailSequence());
         assertEquals(oldHeadSeq, hz2.getRingbuffer(ringbufferName).headSequence());
     }
+
+    @Test
+    public void testTieredStorage() throws Exception {
+        final String ringbufferName = "ringbuffer";
+        final Config config = new Config()
+                .addRingBufferConfig(new RingbufferConfig(ringbufferName).setCapacity(CAPACITY).setTimeToLiveSeconds(0));
+        config.setProperty(ClusterProperty.PARTITION_COUNT.getName(), BOUNCING_TEST_PARTITION_COUNT);
+        config.setProperty(ClusterProperty.RINGBUFFER_TIERED_STORAGE_ENABLED.getName(), "true");
+        config.setProperty(ClusterProperty.RINGBUFFER_TIERED_STORAGE_DIRECTORY.getName(),
+                tempFolder.newFolder().getAbsolutePath());
+        config.setProperty(ClusterProperty.RINGBUFFER_TIERED_MEMORY_CAPACITY.getName(), "10");
+        HazelcastInstance hz1 = instanceFactory.newHazelcastInstance(config);
+
+        for (int k = 0; k < 3 * CAPACITY; k++) {
+            hz1.getRingbuffer(ringbufferName).add(k);
+        }
+
+        HazelcastInstance hz2 = instanceFactory.newHazelcastInstance(config);
+        HazelcastInstance hz3 = instanceFactory.newHazelcastInstance(config);
+        assertClusterSizeEventually(3, hz2);
+        waitAllForSafeState(hz1, hz2, hz3);
+
+        // the owner and the backup replica keep the older items on disk
+        int tieredReplicaCount = 0;
+        for (HazelcastInstance hz : asList(hz1, hz2, hz3)) {
+            RingbufferContainer container = getContainerOrNull(hz, ringbufferName);
+            if (container != null) {
+                assertTrue(container.getRingbuffer() instanceof TieredRingbuffer);
+                tieredReplicaCount++;
+            }
+        }
+        assertEquals(2, tieredReplicaCount);
+
+        hz1.shutdown();
+        assertClusterSizeEventually(2, hz2);
+        waitAllForSafeState(hz2, hz3);
+
+        Ringbuffer<Integer> ringbuffer = hz2.getRingbuffer(ringbufferName);
+        assertEquals(2 * CAPACITY, ringbuffer.headSequence());
+        assertEquals(3 * CAPACITY - 1, ringbuffer.tailSequence());
+        for (long seq = ringbuffer.headSequence(); seq <= ringbuffer.tailSequence(); seq++) {
+            assertEquals(seq, (long) ringbuffer.readOne(seq));
+        }
+    }
+
+    private static RingbufferContainer getContainerOrNull(HazelcastInstance hz, String ringbufferName) {
+        RingbufferService service = getNodeEngineImpl(hz).getService(RingbufferService.SERVICE_NAME);
+        ObjectNamespace namespace = getRingbufferNamespace(ringbufferName);
+        return service.getContainerOrNull(service.getRingbufferPartitionId(ringbufferName), namespace);
+    }
 }
@@ -0,0 +1,179 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.ringbuffer.impl;
+
+import com.hazelcast.config.InMemoryFormat;
+import com.hazelcast.internal.serialization.impl.DefaultSerializationServiceBuilder;
+import com.hazelcast.ringbuffer.StaleSequenceException;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+
+import java.io.File;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class TieredRingbufferTest {
+
+    private static final int CAPACITY = 10;
+    private static final int MEMORY_CAPACITY = 4;
+
+    @Rule
+    public TemporaryFolder tempFolder = new TemporaryFolder();
+
+    @Test
+    public void testReadFromBothTiers() throws Exception {
+        TieredRingbuffer<String> rb = newRingbuffer(tempFolder.newFolder());
+        for (int i = 0; i < CAPACITY; i++) {
+            rb.add("item" + i);
+        }
+
+        assertEquals(0, rb.headSequence());
+        assertEquals(CAPACITY - 1, rb.tailSequence());
+        for (int i = 0; i < CAPACITY; i++) {
+            assertEquals("item" + i, rb.read(i));
+        }
+    }
+
+    @Test
+    public void testHeadAdvancesWhenFull() throws Exception {
+        TieredRingbuffer<String> rb = newRingbuffer(tempFolder.newFolder());
+        int itemCount = CAPACITY + 5;
+        for (int i = 0; i < itemCount; i++) {
+            rb.add("item" + i);
+        }
+
+        assertEquals(itemCount - CAPACITY, rb.headSequence());
+        assertEquals(itemCount - 1, rb.tailSequence());
+        assertEquals(CAPACITY, rb.size());
+        for (long seq = rb.headSequence(); seq <= rb.tailSequence(); seq++) {
+            assertEquals("item" + seq, rb.read(seq));
+        }
+    }
+
+    @Test(expected = StaleSequenceException.class)
+    public void testReadStaleSequenceThrowsException() throws Exception {
+        TieredRingbuffer<String> rb = newRingbuffer(tempFolder.newFolder());
+        for (int i = 0; i < CAPACITY + 1; i++) {
+            rb.add("item" + i);
+        }
+        rb.read(rb.headSequence() - 1);
+    }
+
+    @Test
+    public void testSetTailSequence_skippedSequencesReadAsNull() throws Exception {
+        TieredRingbuffer<String> rb = newRingbuffer(tempFolder.newFolder());
+        rb.add("item0");
+        rb.set(5, "item5");
+        rb.setTailSequence(5);
+        for (int i = 6; i < CAPACITY; i++) {
+            rb.add("item" + i);
+        }
+
+        assertEquals("item0", rb.read(0));
+        assertNull(rb.read(1));
+        assertEquals("item5", rb.read(5));
+        assertEquals("item9", rb.read(9));
+    }
+
+    @Test
+    public void testCopyFrom() throws Exception {
+        ArrayRingbuffer<String> source = new ArrayRingbuffer<>(CAPACITY);
+        for (int i = 0; i < CAPACITY + 3; i++) {
+            source.add("item" + i);
+        }
+        TieredRingbuffer<String> rb = newRingbuffer(tempFolder.newFolder());
+
+        rb.copyFrom(source);
+
+        assertEquals(source.headSequence(), rb.headSequence());
+        assertEquals(source.tailSequence(), rb.tailSequence());
+        assertArrayEquals(source.getItems(), rb.getItems());
+    }
+
+    @Test
+    public void testSetInOrderAfterMovingHeadAndTail() throws Exception {
+        TieredRingbuffer<String> rb = newRingbuffer(tempFolder.newFolder());
+        long head = 3;
+        long tail = head + CAPACITY - 1;
+        rb.setTailSequence(tail);
+        rb.setHeadSequence(head);
+
+        for (long seq = head; seq <= tail; seq++) {
+            rb.set(seq, "item" + seq);
+        }
+
+        assertEquals(head, rb.headSequence());
+        assertEquals(tail, rb.tailSequence());
+        for (long seq = head; seq <= tail; seq++) {
+            assertEquals("item" + seq, rb.read(seq));
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testSet_itemOnDisk_throwsException() throws Exception {
+        TieredRingbuffer<String> rb = newRingbuffer(tempFolder.newFolder());
+        for (int i = 0; i < CAPACITY; i++) {
+            rb.add("item" + i);
+        }
+
+        rb.set(0, "replacement");
+    }
+
+    @Test
+    public void testClear() throws Exception {
+        TieredRingbuffer<String> rb = newRingbuffer(tempFolder.newFolder());
+        for (int i = 0; i < CAPACITY; i++) {
+            rb.add("item" + i);
+        }
+
+        rb.clear();
+
+        assertEquals(0, rb.size());
+        assertEquals(0, rb.add("item"));
+        assertEquals("item", rb.read(0));
+    }
+
+    @Test
+    public void testDestroy_deletesSegmentFiles() throws Exception {
+        File directory = tempFolder.newFolder();
+        TieredRingbuffer<String> rb = newRingbuffer(directory);
+        for (int i = 0; i < CAPACITY; i++) {
+            rb.add("item" + i);
+        }
+        assertEquals(1, directory.list().length);
+
+        rb.destroy();
+
+        assertEquals(0, directory.list().length);
+    }
+
+    private static TieredRingbuffer<String> newRingbuffer(File directory) {
+        RingbufferDiskTier disk = new RingbufferDiskTier(directory.toPath(), 1024);
+        return new TieredRingbuffer<>(CAPACITY, MEMORY_CAPACITY, 0, disk,
+                new DefaultSerializationServiceBuilder().build(), InMemoryFormat.OBJECT);
+    }
+}
@@ -0,0 +1,81 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.eventservice.impl;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.map.IMap;
+import com.hazelcast.map.listener.EntryUpdatedListener;
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.OverridePropertyRule;
+import com.hazelcast.test.TestHazelcastInstanceFactory;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static com.hazelcast.spi.impl.eventservice.impl.EventServiceImpl.EVENT_SYNC_FREQUENCY_PROP;
+import static com.hazelcast.spi.properties.ClusterProperty.EVENT_BATCH_MAX_SIZE;
+import static com.hazelcast.spi.properties.ClusterProperty.EVENT_BATCH_WINDOW_MICROS;
+import static com.hazelcast.test.OverridePropertyRule.set;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class RemoteEventBatchingSyncEventTest extends HazelcastTestSupport {
+
+    @Rule
+    public final OverridePropertyRule overrideEventSyncFrequencyRule = set(EVENT_SYNC_FREQUENCY_PROP, "7");
+
+    @Test
+    public void when_syncEventsInterleaved_then_remoteEventsDeliveredInOrder() {
+        TestHazelcastInstanceFactory factory = createHazelcastInstanceFactory(2);
+        HazelcastInstance publisher = factory.newHazelcastInstance(getConfig());
+        HazelcastInstance subscriber = factory.newHazelcastInstance(getConfig());
+        String key = generateKeyOwnedBy(publisher);
+
+        List<Integer> values = Collections.synchronizedList(new ArrayList<>());
+        IMap<String, Integer> subscriberMap = subscriber.getMap("map");
+        subscriberMap.addEntryListener((EntryUpdatedListener<String, Integer>) event -> values.add(event.getValue()), true);
+
+        IMap<String, Integer> publisherMap = publisher.getMap("map");
+        int updateCount = 1000;
+        publisherMap.set(key, 0);
+        for (int i = 1; i <= updateCount; i++) {
+            publisherMap.set(key, i);
+        }
+
+        assertTrueEventually(() -> assertEquals(updateCount, values.size()));
+        for (int i = 0; i < updateCount; i++) {
+            assertEquals(i + 1, (int) values.get(i));
+        }
+    }
+
+    @Override
+    protected Config getConfig() {
+        // a long window, so the synchronous events overtake the batches unless the batches are sent before them
+        return smallInstanceConfig()
+                .setProperty(EVENT_BATCH_WINDOW_MICROS.getName(), "50000")
+                .setProperty(EVENT_BATCH_MAX_SIZE.getName(), "64");
+    }
+}
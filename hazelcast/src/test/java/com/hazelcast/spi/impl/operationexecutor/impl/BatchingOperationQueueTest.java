@@ -0,0 +1,148 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.spi.impl.operationexecutor.impl;
+
+import com.hazelcast.test.HazelcastSerialClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+
+@RunWith(HazelcastSerialClassRunner.class)
+@Category(QuickTest.class)
+public class BatchingOperationQueueTest extends HazelcastTestSupport {
+
+    private static final int BATCH_SIZE = 4;
+
+    private BatchingOperationQueue operationQueue;
+
+    @Before
+    public void setup() {
+        operationQueue = new BatchingOperationQueue(BATCH_SIZE, null);
+        operationQueue.setConsumerThread(Thread.currentThread());
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void add_whenNull() {
+        operationQueue.add(null, false);
+    }
+
+    @Test
+    public void add_whenPriority() {
+        operationQueue.add("task", true);
+
+        assertEquals(1, operationQueue.prioritySize());
+        assertEquals(1, operationQueue.normalSize());
+        assertEquals(2, operationQueue.size());
+    }
+
+    @Test(expected = UnsupportedOperationException.class)
+    public void take_whenPriorityOnly() throws InterruptedException {
+        operationQueue.take(true);
+    }
+
+    @Test
+    public void take_whenRegularItemsAvailable_thenDrainedInBatches() throws InterruptedException {
+        for (int i = 0; i < 10; i++) {
+            operationQueue.add("task" + i, false);
+        }
+
+        for (int i = 0; i < 10; i++) {
+            assertSame("task" + i, operationQueue.take(false));
+            assertEquals(9 - i, operationQueue.normalSize());
+        }
+
+        // 10 tasks are drained as batches of 4, 4 and 2
+        assertEquals(2, operationQueue.batchSizeCount(BatchingOperationQueue.bucketIndex(4)));
+        assertEquals(1, operationQueue.batchSizeCount(BatchingOperationQueue.bucketIndex(2)));
+        assertEquals(0, operationQueue.batchSizeCount(BatchingOperationQueue.bucketIndex(1)));
+    }
+
+    @Test
+    public void take_priorityIsRetrievedBeforeDrainedRegularItems() throws InterruptedException {
+        operationQueue.add("normal1", false);
+        operationQueue.add("normal2", false);
+        operationQueue.add("normal3", false);
+
+        // drains all three normal tasks into the batch
+        assertSame("normal1", operationQueue.take(false));
+
+        operationQueue.add("priority1", true);
+        operationQueue.add("priority2", true);
+
+        assertSame("priority1", operationQueue.take(false));
+        assertSame("priority2", operationQueue.take(false));
+        assertSame("normal2", operationQueue.take(false));
+        assertSame("normal3", operationQueue.take(false));
+
+        // only the trigger tasks of the priority tasks are left
+        assertEquals(0, operationQueue.prioritySize());
+        assertEquals(2, operationQueue.normalSize());
+    }
+
+    @Test
+    public void take_whenManyPrecedingTriggerTasks() throws InterruptedException {
+        operationQueue.add("task1", true);
+        operationQueue.add("task2", true);
+        operationQueue.add("task3", true);
+        operationQueue.add("task4", false);
+
+        assertSame("task1", operationQueue.take(false));
+        assertSame("task2", operationQueue.take(false));
+        assertSame("task3", operationQueue.take(false));
+        assertSame("task4", operationQueue.take(false));
+
+        assertEquals(0, operationQueue.size());
+    }
+
+    @Test
+    public void take_whenNoItemAvailable_thenBlockTillItemAvailable() throws InterruptedException {
+        spawn(() -> {
+            sleepSeconds(2);
+            operationQueue.add("task", false);
+        });
+
+        assertSame("task", operationQueue.take(false));
+        assertEquals(0, operationQueue.size());
+    }
+
+    @Test
+    public void take_whenNoItemAvailable_thenPriorityItemWakesUp() throws InterruptedException {
+        spawn(() -> {
+            sleepSeconds(2);
+            operationQueue.add("priority", true);
+        });
+
+        assertSame("priority", operationQueue.take(false));
+        assertEquals(0, operationQueue.prioritySize());
+    }
+
+    @Test
+    public void bucketIndex() {
+        assertEquals(0, BatchingOperationQueue.bucketIndex(1));
+        assertEquals(1, BatchingOperationQueue.bucketIndex(2));
+        assertEquals(1, BatchingOperationQueue.bucketIndex(3));
+        assertEquals(2, BatchingOperationQueue.bucketIndex(4));
+        assertEquals(6, BatchingOperationQueue.bucketIndex(100));
+        assertEquals(3, operationQueue.batchSizeBucketCount());
+    }
+}
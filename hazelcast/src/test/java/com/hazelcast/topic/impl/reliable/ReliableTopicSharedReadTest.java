@@ -0,0 +1,102 @@
+/*
+ * Copyright (c) 2008-2021, Hazelcast, Inc. All Rights Reserved.
+ *
+ * Licensed under the Apache License, Version 2.0 (the "License");
+ * you may not use this file except in compliance with the License.
+ * You may obtain a copy of the License at
+ *
+ * http://www.apache.org/licenses/LICENSE-2.0
+ *
+ * Unless required by applicable law or agreed to in writing, software
+ * distributed under the License is distributed on an "AS IS" BASIS,
+ * WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+ * See the License for the specific language governing permissions and
+ * limitations under the License.
+ */
+
+package com.hazelcast.topic.impl.reliable;
+
+import com.hazelcast.config.Config;
+import com.hazelcast.config.RingbufferConfig;
+import com.hazelcast.core.HazelcastInstance;
+import com.hazelcast.test.HazelcastParallelClassRunner;
+import com.hazelcast.test.HazelcastTestSupport;
+import com.hazelcast.test.annotation.ParallelJVMTest;
+import com.hazelcast.test.annotation.QuickTest;
+import org.junit.Before;
+import org.junit.Test;
+import org.junit.experimental.categories.Category;
+import org.junit.runner.RunWith;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static com.hazelcast.spi.properties.ClusterProperty.RELIABLE_TOPIC_SHARED_READ_ENABLED;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(HazelcastParallelClassRunner.class)
+@Category({QuickTest.class, ParallelJVMTest.class})
+public class ReliableTopicSharedReadTest extends HazelcastTestSupport {
+
+    private static final String RELIABLE_TOPIC_NAME = "foo";
+    private static final int CAPACITY = 100;
+
+    private ReliableTopicProxy<String> topic;
+
+    @Before
+    public void setup() {
+        Config config = smallInstanceConfig()
+                .setProperty(RELIABLE_TOPIC_SHARED_READ_ENABLED.getName(), "true")
+                .addRingBufferConfig(new RingbufferConfig(RELIABLE_TOPIC_NAME).setCapacity(CAPACITY));
+        HazelcastInstance instance = createHazelcastInstance(config);
+        topic = (ReliableTopicProxy<String>) instance.<String>getReliableTopic(RELIABLE_TOPIC_NAME);
+    }
+
+    @Test
+    public void when_manyListeners_then_singlePendingRead() {
+        List<ReliableMessageListenerMock> listeners = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            ReliableMessageListenerMock listener = new ReliableMessageListenerMock();
+            listeners.add(listener);
+            topic.addMessageListener(listener);
+        }
+        assertNotNull(topic.sharedReader);
+        assertTrueEventually(() -> assertEquals(1, topic.sharedReader.pendingReadCount()));
+
+        List<String> expected = new ArrayList<>();
+        for (int i = 0; i < 50; i++) {
+            expected.add("item" + i);
+            topic.publish("item" + i);
+        }
+
+        assertTrueEventually(() -> {
+            for (ReliableMessageListenerMock listener : listeners) {
+                assertEquals(expected, listener.objects);
+                assertEquals(49, listener.storedSequence);
+            }
+        });
+        assertTrueEventually(() -> assertEquals(1, topic.sharedReader.pendingReadCount()));
+    }
+
+    @Test
+    public void when_listenerLagsBehind_then_lossDetected() {
+        ReliableMessageListenerMock upToDateListener = new ReliableMessageListenerMock();
+        topic.addMessageListener(upToDateListener);
+        for (int i = 0; i < CAPACITY + 10; i++) {
+            topic.publish("item" + i);
+        }
+
+        ReliableMessageListenerMock lostListener = new ReliableMessageListenerMock();
+        lostListener.initialSequence = 0;
+        lostListener.isLossTolerant = false;
+        topic.addMessageListener(lostListener);
+
+        assertTrueEventually(() -> {
+            assertEquals(CAPACITY + 10, upToDateListener.objects.size());
+            assertEquals(1, topic.runnersMap.size());
+        });
+        assertTrue(lostListener.objects.isEmpty());
+    }
+}